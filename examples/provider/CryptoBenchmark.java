@@ -5,6 +5,7 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.security.Provider;
 import java.security.SecureRandom;
 import java.security.Security;
@@ -25,6 +26,10 @@ import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 import java.security.Signature;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.wolfssl.provider.jce.WolfCryptProvider;
 import com.wolfssl.wolfcrypt.FeatureDetect;
@@ -56,6 +61,8 @@ public class CryptoBenchmark {
     private static final String BENCHMARK_DH = "dh";
     private static final String BENCHMARK_ECDH = "ecdh";
     private static final String BENCHMARK_PBKDF2 = "pbkdf2";
+    private static final String BENCHMARK_PBKDF2_MT = "pbkdf2-mt";
+    private static final String BENCHMARK_BYTEBUFFER = "bytebuffer";
     private static final String BENCHMARK_DIGEST = "digest";
     private static final String BENCHMARK_SIGNATURE = "signature";
     private static final String BENCHMARK_KEYGEN = "keygen";
@@ -84,6 +91,10 @@ public class CryptoBenchmark {
           "  ecdh       - Elliptic Curve Diffie-Hellman benchmarks");
         System.out.println(
           "  pbkdf2     - PBKDF2 key derivation function benchmarks");
+        System.out.println(
+          "  pbkdf2-mt  - Multi-threaded PBKDF2 scaling benchmarks");
+        System.out.println(
+          "  bytebuffer - Cipher heap vs direct ByteBuffer benchmarks");
         System.out.println("  digest     - Message digest (hash) benchmarks");
         System.out.println("  signature  - Digital signature benchmarks");
         System.out.println("  keygen     - Key generator benchmarks");
@@ -1108,6 +1119,198 @@ public class CryptoBenchmark {
           throughput));
     }
 
+    /* Multi-threaded PBKDF2 benchmark, runs the same derivation from
+     * increasing numbers of threads (each with its own SecretKeyFactory)
+     * and reports aggregate throughput and scaling relative to one thread */
+    private static void runPBKDF2ThreadedBenchmark(final String algorithm,
+      final String providerName) throws Exception {
+        final int iterationCount = 10000;
+        final int keyLength = 32;
+        final char[] password =
+          "wolfCryptBenchmarkTestPassword".toCharArray();
+        final byte[] salt = new byte[16];
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        double singleThreadOps = 0;
+        /* Normalize BC upper case name so delta table rows line up */
+        String displayName = algorithm.replace("WITHHMAC", "WithHmac");
+
+        new SecureRandom().nextBytes(salt);
+
+        /* Make sure provider supports algorithm before spawning threads */
+        try {
+            SecretKeyFactory.getInstance(algorithm, providerName);
+        } catch (Exception e) {
+            System.out.printf(" %-40s  Not supported by provider %s%n",
+              algorithm, providerName);
+            return;
+        }
+
+        /* Double thread count each run, always including a run with
+         * exactly maxThreads */
+        for (int threads = 1; threads <= maxThreads;
+             threads = (threads < maxThreads && threads * 2 > maxThreads) ?
+                 maxThreads : threads * 2) {
+            final int numThreads = threads;
+            final long[] opsPerThread = new long[numThreads];
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            final CountDownLatch doneLatch = new CountDownLatch(numThreads);
+            final AtomicInteger errors = new AtomicInteger(0);
+            ExecutorService service = Executors.newFixedThreadPool(numThreads);
+
+            for (int t = 0; t < numThreads; t++) {
+                final int idx = t;
+                service.submit(new Runnable() {
+                    @Override public void run() {
+                        try {
+                            SecretKeyFactory skf =
+                              SecretKeyFactory.getInstance(algorithm,
+                                providerName);
+                            PBEKeySpec spec = new PBEKeySpec(password, salt,
+                              iterationCount, keyLength * 8);
+
+                            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                                skf.generateSecret(spec);
+                            }
+
+                            startLatch.await();
+                            long ops = 0;
+                            long start = System.nanoTime();
+                            long minTimeNano =
+                              TEST_MIN_TIME_SECONDS * 1_000_000_000L;
+                            do {
+                                skf.generateSecret(spec);
+                                ops++;
+                            } while ((System.nanoTime() - start) <
+                              minTimeNano);
+                            opsPerThread[idx] = ops;
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        } finally {
+                            doneLatch.countDown();
+                        }
+                    }
+                });
+            }
+
+            long startTime = System.nanoTime();
+            startLatch.countDown();
+            doneLatch.await();
+            double elapsedTime =
+              (System.nanoTime() - startTime) / 1_000_000_000.0;
+            service.shutdown();
+
+            if (errors.get() != 0) {
+                System.out.printf(" %-40s  Error in %d thread(s)%n",
+                  algorithm + " (" + providerName + ")", errors.get());
+                return;
+            }
+
+            long totalOps = 0;
+            for (long ops : opsPerThread) {
+                totalOps += ops;
+            }
+            double opsPerSec = totalOps / elapsedTime;
+            if (numThreads == 1) {
+                singleThreadOps = opsPerSec;
+            }
+            double scaling = (singleThreadOps > 0) ?
+              (opsPerSec / singleThreadOps) : 0;
+
+            String operation = String.format("%s %d thread%s", displayName,
+              numThreads, (numThreads == 1) ? "" : "s");
+            System.out.printf(
+              " %-40s %8d ops took %.3f sec, %10.3f ops/sec, %5.2fx%n",
+              operation + " (" + providerName + ")", totalOps, elapsedTime,
+              opsPerSec, scaling);
+
+            results.add(new BenchmarkResult(providerName, operation,
+              opsPerSec));
+        }
+    }
+
+    /* Single ByteBuffer encrypt operation used by runByteBufferBenchmark(),
+     * rewinds buffers for the next call */
+    private static void byteBufferEncrypt(Cipher cipher, SecretKey key,
+      byte[] ivBytes, SecureRandom secureRandom, ByteBuffer in,
+      ByteBuffer out) throws Exception {
+        String mode = cipher.getAlgorithm().split("/")[1];
+
+        if (mode.equals("ECB")) {
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+        } else if (mode.equals("GCM")) {
+            /* GCM needs a fresh IV per encryption */
+            secureRandom.nextBytes(ivBytes);
+            cipher.init(Cipher.ENCRYPT_MODE, key,
+              new GCMParameterSpec(GCM_TAG_LENGTH, ivBytes));
+        } else {
+            cipher.init(Cipher.ENCRYPT_MODE, key,
+              new IvParameterSpec(ivBytes));
+        }
+        cipher.doFinal(in, out);
+        in.rewind();
+        out.clear();
+    }
+
+    /* Cipher doFinal(ByteBuffer, ByteBuffer) benchmark, compares heap
+     * buffers against direct buffers for the same transformation */
+    private static void runByteBufferBenchmark(String cipherName,
+      String providerName) throws Exception {
+        SecretKey key = new SecretKeySpec(STATIC_AES_KEY, "AES");
+        byte[] ivBytes = new byte[AES_BLOCK_SIZE];
+        SecureRandom secureRandom = new SecureRandom();
+        Cipher cipher;
+
+        try {
+            cipher = Cipher.getInstance(cipherName, providerName);
+        } catch (Exception e) {
+            System.out.printf(" %-40s  Not supported by provider %s%n",
+              cipherName, providerName);
+            return;
+        }
+
+        if (cipherName.contains("/GCM/")) {
+            ivBytes = new byte[12];
+        }
+
+        for (int direct = 0; direct <= 1; direct++) {
+            ByteBuffer in = (direct == 1) ?
+              ByteBuffer.allocateDirect(DATA_SIZE) :
+              ByteBuffer.allocate(DATA_SIZE);
+            ByteBuffer out = (direct == 1) ?
+              ByteBuffer.allocateDirect(DATA_SIZE + AES_BLOCK_SIZE) :
+              ByteBuffer.allocate(DATA_SIZE + AES_BLOCK_SIZE);
+            in.put(generateTestData(DATA_SIZE));
+            in.flip();
+
+            long ops = 0;
+            long startTime;
+            double elapsedTime;
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                byteBufferEncrypt(cipher, key, ivBytes, secureRandom, in, out);
+            }
+
+            startTime = System.nanoTime();
+            do {
+                byteBufferEncrypt(cipher, key, ivBytes, secureRandom, in, out);
+                ops++;
+                elapsedTime = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            } while (elapsedTime < TEST_MIN_TIME_SECONDS);
+
+            double dataSizeMiB = (DATA_SIZE * ops) / (1024.0 * 1024.0);
+            double throughput = dataSizeMiB / elapsedTime;
+            String operation = cipherName +
+              ((direct == 1) ? " direct" : " heap");
+
+            System.out.printf(" %-40s  %8.3f MiB took %.3f sec, %8.3f MiB/s%n",
+              operation + " (" + providerName + ")", dataSizeMiB, elapsedTime,
+              throughput);
+
+            results.add(new BenchmarkResult(providerName, operation,
+              throughput));
+        }
+    }
+
     /* MessageDigest benchmark */
     private static void runMessageDigestBenchmark(String algorithm,
       String providerName) throws Exception {
@@ -1891,6 +2094,8 @@ public class CryptoBenchmark {
                     arg.equals(BENCHMARK_DH) ||
                     arg.equals(BENCHMARK_ECDH) ||
                     arg.equals(BENCHMARK_PBKDF2) ||
+                    arg.equals(BENCHMARK_PBKDF2_MT) ||
+                    arg.equals(BENCHMARK_BYTEBUFFER) ||
                     arg.equals(BENCHMARK_DIGEST) ||
                     arg.equals(BENCHMARK_SIGNATURE) ||
                     arg.equals(BENCHMARK_KEYGEN) ||
@@ -2176,6 +2381,61 @@ public class CryptoBenchmark {
                 }
             }
 
+            /* Run multi-threaded PBKDF2 scaling benchmarks */
+            if (shouldRunBenchmark(BENCHMARK_PBKDF2_MT, benchmarkToRun)) {
+                System.out.println("\n-----------------------------------------"
+                  + "------------------------------------");
+                System.out.println("Multi-threaded PBKDF2 Benchmark Results");
+                System.out.println("-------------------------------------------"
+                  + "----------------------------------\n");
+
+                for (Provider provider : providers) {
+                    setupProvidersForTest(provider);
+                    System.out.println("\n" + provider.getName() + ":");
+                    String algorithm = "PBKDF2WithHmacSHA256";
+                    if (provider.getName().equals("BC")) {
+                        algorithm = "PBKDF2WITHHMACSHA256";
+                    }
+                    try {
+                        runPBKDF2ThreadedBenchmark(algorithm,
+                          provider.getName());
+                    } catch (Exception e) {
+                        System.out.printf(" %-40s  Error: %s%n",
+                            algorithm + " (" + provider.getName() + ")",
+                            e.getMessage());
+                    }
+                }
+            }
+
+            /* Run heap vs direct ByteBuffer Cipher benchmarks */
+            if (shouldRunBenchmark(BENCHMARK_BYTEBUFFER, benchmarkToRun)) {
+                System.out.println("\n-----------------------------------------"
+                  + "------------------------------------");
+                System.out.println("Cipher ByteBuffer Benchmark Results");
+                System.out.println("-------------------------------------------"
+                  + "----------------------------------\n");
+
+                String[] bufferCiphers = {
+                  "AES/CBC/NoPadding", "AES/ECB/NoPadding",
+                  "AES/CTR/NoPadding", "AES/GCM/NoPadding"
+                };
+
+                for (Provider provider : providers) {
+                    setupProvidersForTest(provider);
+                    System.out.println("\n" + provider.getName() + ":");
+                    for (String cipherName : bufferCiphers) {
+                        try {
+                            runByteBufferBenchmark(cipherName,
+                              provider.getName());
+                        } catch (Exception e) {
+                            System.out.printf(" %-40s  Error: %s%n",
+                                cipherName + " (" + provider.getName() + ")",
+                                e.getMessage());
+                        }
+                    }
+                }
+            }
+
             /* Run MessageDigest benchmarks with clean provider setup */
             if (shouldRunBenchmark(BENCHMARK_DIGEST, benchmarkToRun)) {
                 System.out.println("\n-----------------------------------------"
@@ -0,0 +1,46 @@
+#!/bin/bash
+
+# Run wolfJCE JMH benchmarks once per thread count, writing one JSON result
+# file per run so results can be diffed between releases.
+#
+# Usage:
+#   ./jmh/run-benchmarks.sh [extra JMH options]
+#
+# Environment:
+#   THREADS      space separated list of thread counts (default "1 4")
+#   RESULTS_DIR  directory for JSON results (default jmh/results)
+#
+# Examples:
+#   ./jmh/run-benchmarks.sh CipherBenchmark -p provider=wolfJCE
+#   THREADS="1 2 8" ./jmh/run-benchmarks.sh -p bufferType=direct
+
+SCRIPT_DIR=$(CDPATH= cd -- "$(dirname -- "$0")" && pwd) || exit 1
+LIB_DIR="$SCRIPT_DIR/../lib"
+JAR="$SCRIPT_DIR/target/benchmarks.jar"
+
+THREADS="${THREADS:-1 4}"
+RESULTS_DIR="${RESULTS_DIR:-$SCRIPT_DIR/results}"
+
+if [ ! -f "$JAR" ]; then
+  echo "Error: $JAR not found, build with 'mvn package' in $SCRIPT_DIR"
+  exit 1
+fi
+
+if [ -z "$JAVA_HOME" ]; then
+  JAVA=java
+else
+  JAVA="$JAVA_HOME/bin/java"
+fi
+
+mkdir -p "$RESULTS_DIR" || exit 1
+
+export LD_LIBRARY_PATH="$LIB_DIR:$LD_LIBRARY_PATH"
+export DYLD_LIBRARY_PATH="$LIB_DIR:$DYLD_LIBRARY_PATH"
+
+for t in $THREADS; do
+  echo "Running benchmarks with $t thread(s)"
+  "$JAVA" -Djava.library.path="$LIB_DIR" -jar "$JAR" \
+    -t "$t" -rf json -rff "$RESULTS_DIR/jmh-t$t.json" "$@" || exit 1
+done
+
+echo "Results written to $RESULTS_DIR"
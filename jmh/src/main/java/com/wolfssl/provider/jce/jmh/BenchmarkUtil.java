@@ -0,0 +1,166 @@
+/* BenchmarkUtil.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.nio.ByteBuffer;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Random;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+
+/**
+ * Helper methods shared by wolfJCE JMH benchmarks.
+ */
+final class BenchmarkUtil {
+
+    /** Provider parameter value selecting wolfJCE */
+    static final String WOLFJCE = "wolfJCE";
+
+    /** Provider parameter value selecting the first non-wolfJCE provider
+     * that supports the algorithm (ex: SunJCE, SunEC, SunRsaSign) */
+    static final String JDK = "JDK";
+
+    /** Buffer type parameter value, use byte[] API */
+    static final String ARRAY = "array";
+
+    /** Buffer type parameter value, use heap ByteBuffer API */
+    static final String HEAP = "heap";
+
+    /** Buffer type parameter value, use direct ByteBuffer API */
+    static final String DIRECT = "direct";
+
+    /**
+     * Engine lookup used to check if a provider supports an algorithm,
+     * typically a getInstance() call.
+     */
+    interface ProviderCheck {
+        void check(Provider p) throws Exception;
+    }
+
+    private BenchmarkUtil() {
+    }
+
+    /**
+     * Install wolfJCE at the end of the provider list if not already
+     * installed. Benchmarks always request a provider explicitly, so
+     * position does not matter and JDK providers are not displaced.
+     */
+    static synchronized void installProvider() {
+        if (Security.getProvider(WOLFJCE) == null) {
+            Security.addProvider(new WolfCryptProvider());
+        }
+    }
+
+    /**
+     * Resolve provider benchmark parameter to a Provider object.
+     *
+     * @param name "wolfJCE", "JDK", or name of any installed provider
+     * @param check engine lookup that throws if a provider does not
+     *        support the benchmarked algorithm
+     *
+     * @return Provider supporting the algorithm
+     *
+     * @throws IllegalStateException if no matching provider supports the
+     *         algorithm, which JMH reports as a failed benchmark
+     */
+    static Provider getProvider(String name, ProviderCheck check) {
+
+        installProvider();
+
+        if (JDK.equals(name)) {
+            for (Provider p : Security.getProviders()) {
+                if (WOLFJCE.equals(p.getName())) {
+                    continue;
+                }
+                try {
+                    check.check(p);
+                    return p;
+                } catch (Exception e) {
+                    /* try next provider */
+                }
+            }
+            throw new IllegalStateException(
+                "No JDK provider supports this benchmark");
+        }
+
+        Provider p = Security.getProvider(name);
+        if (p == null) {
+            throw new IllegalStateException(
+                "Provider not installed: " + name);
+        }
+        try {
+            check.check(p);
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                "Provider " + name + " does not support this benchmark: " +
+                e.getMessage(), e);
+        }
+
+        return p;
+    }
+
+    /**
+     * Generate array of pseudo random bytes. Benchmark input does not need
+     * to be cryptographically random, a fixed seed keeps runs comparable.
+     *
+     * @param len number of bytes
+     *
+     * @return new byte array
+     */
+    static byte[] randomBytes(int len) {
+        byte[] out = new byte[len];
+        new Random(len).nextBytes(out);
+        return out;
+    }
+
+    /**
+     * Allocate ByteBuffer of given buffer type parameter.
+     *
+     * @param bufferType "heap" or "direct", "array" returns a heap buffer
+     * @param size buffer capacity
+     *
+     * @return new ByteBuffer
+     */
+    static ByteBuffer allocate(String bufferType, int size) {
+        if (DIRECT.equals(bufferType)) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        return ByteBuffer.allocate(size);
+    }
+
+    /**
+     * Allocate ByteBuffer of given buffer type parameter holding data,
+     * with position 0 and limit data.length.
+     *
+     * @param bufferType "heap" or "direct"
+     * @param data buffer contents
+     *
+     * @return new ByteBuffer
+     */
+    static ByteBuffer wrap(String bufferType, byte[] data) {
+        ByteBuffer buf = allocate(bufferType, data.length);
+        buf.put(data);
+        buf.flip();
+        return buf;
+    }
+}
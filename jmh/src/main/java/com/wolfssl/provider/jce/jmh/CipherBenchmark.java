@@ -0,0 +1,183 @@
+/* CipherBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.nio.ByteBuffer;
+import java.security.Provider;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Symmetric Cipher encrypt/decrypt throughput.
+ *
+ * keySize applies to AES, DESede always uses a three key (192-bit) key.
+ * AES-GCM encryption is re-initialized with a new IV before each operation
+ * since providers reject IV reuse, so GCM encrypt results include init().
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CipherBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"AES/CBC/NoPadding", "AES/CBC/PKCS5Padding", "AES/ECB/NoPadding",
+            "AES/CTR/NoPadding", "AES/OFB/NoPadding", "AES/GCM/NoPadding",
+            "DESede/CBC/NoPadding"})
+    public String transformation;
+
+    @Param({"128", "256"})
+    public int keySize;
+
+    @Param({"1024", "16384"})
+    public int messageSize;
+
+    @Param({"array", "heap", "direct"})
+    public String bufferType;
+
+    private Cipher encCipher;
+    private Cipher decCipher;
+    private SecretKeySpec key;
+    private boolean gcm;
+    private boolean useArray;
+    private byte[] iv;
+    private long ivCounter = 0;
+
+    private byte[] plain;
+    private byte[] cipherText;
+    private byte[] out;
+    private ByteBuffer plainBuf;
+    private ByteBuffer cipherBuf;
+    private ByteBuffer outBuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        String[] parts = transformation.split("/");
+        boolean des3 = parts[0].equals("DESede");
+        AlgorithmParameterSpec spec = null;
+
+        Provider p = BenchmarkUtil.getProvider(provider,
+            prov -> Cipher.getInstance(transformation, prov));
+
+        key = new SecretKeySpec(
+            BenchmarkUtil.randomBytes(des3 ? 24 : keySize / 8), parts[0]);
+        gcm = parts[1].equals("GCM");
+        useArray = BenchmarkUtil.ARRAY.equals(bufferType);
+
+        if (gcm) {
+            iv = new byte[12];
+            spec = new GCMParameterSpec(128, iv);
+        }
+        else if (!parts[1].equals("ECB")) {
+            iv = BenchmarkUtil.randomBytes(des3 ? 8 : 16);
+            spec = new IvParameterSpec(iv);
+        }
+
+        encCipher = Cipher.getInstance(transformation, p);
+        decCipher = Cipher.getInstance(transformation, p);
+
+        plain = BenchmarkUtil.randomBytes(messageSize);
+
+        /* Ciphertext for decrypt(), GCM decrypt may reuse this IV */
+        encCipher.init(Cipher.ENCRYPT_MODE, key, spec);
+        cipherText = encCipher.doFinal(plain);
+        decCipher.init(Cipher.DECRYPT_MODE, key, spec);
+
+        out = new byte[Math.max(encCipher.getOutputSize(plain.length),
+            cipherText.length) + 16];
+        plainBuf = BenchmarkUtil.wrap(bufferType, plain);
+        cipherBuf = BenchmarkUtil.wrap(bufferType, cipherText);
+        outBuf = BenchmarkUtil.allocate(bufferType, out.length);
+
+        if (gcm) {
+            nextGcmIv();
+        }
+        else {
+            encCipher.init(Cipher.ENCRYPT_MODE, key, spec);
+        }
+    }
+
+    /* Re-initialize GCM encrypt Cipher with a new, never used IV */
+    private void nextGcmIv() throws Exception {
+        ivCounter++;
+        for (int i = 0; i < 8; i++) {
+            iv[4 + i] = (byte)(ivCounter >>> (56 - (i * 8)));
+        }
+        encCipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+    }
+
+    @Benchmark
+    public int encrypt() throws Exception {
+
+        int ret;
+
+        if (useArray) {
+            ret = encCipher.doFinal(plain, 0, plain.length, out, 0);
+        }
+        else {
+            plainBuf.rewind();
+            outBuf.clear();
+            ret = encCipher.doFinal(plainBuf, outBuf);
+        }
+
+        if (gcm) {
+            nextGcmIv();
+        }
+
+        return ret;
+    }
+
+    @Benchmark
+    public int decrypt() throws Exception {
+
+        if (useArray) {
+            return decCipher.doFinal(cipherText, 0, cipherText.length,
+                out, 0);
+        }
+
+        cipherBuf.rewind();
+        outBuf.clear();
+        return decCipher.doFinal(cipherBuf, outBuf);
+    }
+}
@@ -0,0 +1,106 @@
+/* DhBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.KeyAgreement;
+import javax.crypto.interfaces.DHPublicKey;
+import javax.crypto.spec.DHParameterSpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Diffie-Hellman key agreement and key generation.
+ *
+ * Group parameters of keySize bits are taken once from a JDK
+ * KeyPairGenerator (which uses pre-computed safe prime groups) and
+ * shared by all providers, so parameter generation is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DhBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"2048", "3072"})
+    public int keySize;
+
+    private KeyPairGenerator kpg;
+    private KeyPair pair;
+    private KeyPair peer;
+    private KeyAgreement ka;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider jdkProv = BenchmarkUtil.getProvider(BenchmarkUtil.JDK,
+            prov -> KeyPairGenerator.getInstance("DH", prov));
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("DH", prov));
+        Provider kaProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyAgreement.getInstance("DH", prov));
+
+        KeyPairGenerator paramGen =
+            KeyPairGenerator.getInstance("DH", jdkProv);
+        paramGen.initialize(keySize);
+        DHParameterSpec params =
+            ((DHPublicKey)paramGen.generateKeyPair().getPublic()).getParams();
+
+        kpg = KeyPairGenerator.getInstance("DH", kpgProv);
+        kpg.initialize(params);
+        pair = kpg.generateKeyPair();
+        peer = kpg.generateKeyPair();
+
+        ka = KeyAgreement.getInstance("DH", kaProv);
+    }
+
+    @Benchmark
+    public byte[] keyAgreement() throws Exception {
+        ka.init(pair.getPrivate());
+        ka.doPhase(peer.getPublic(), true);
+        return ka.generateSecret();
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
@@ -0,0 +1,132 @@
+/* EcBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.KeyAgreement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ECDSA sign and verify, ECDH key agreement and EC key generation.
+ *
+ * keySize selects the NIST curve (secp256r1, secp384r1, secp521r1).
+ * Signatures use the matching SHA-2 digest (SHA-256, SHA-384, SHA-512)
+ * over messageSize bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EcBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"256", "384", "521"})
+    public int keySize;
+
+    @Param({"1024"})
+    public int messageSize;
+
+    private KeyPairGenerator kpg;
+    private KeyPair pair;
+    private KeyPair peer;
+    private Signature signer;
+    private Signature verifier;
+    private KeyAgreement ka;
+    private byte[] data;
+    private byte[] signature;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        final String sigAlg = (keySize == 256) ? "SHA256withECDSA" :
+            (keySize == 384) ? "SHA384withECDSA" : "SHA512withECDSA";
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("EC", prov));
+        Provider sigProv = BenchmarkUtil.getProvider(provider,
+            prov -> Signature.getInstance(sigAlg, prov));
+        Provider kaProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyAgreement.getInstance("ECDH", prov));
+
+        kpg = KeyPairGenerator.getInstance("EC", kpgProv);
+        kpg.initialize(new ECGenParameterSpec("secp" + keySize + "r1"));
+        pair = kpg.generateKeyPair();
+        peer = kpg.generateKeyPair();
+
+        data = BenchmarkUtil.randomBytes(messageSize);
+
+        signer = Signature.getInstance(sigAlg, sigProv);
+        signer.initSign(pair.getPrivate());
+        verifier = Signature.getInstance(sigAlg, sigProv);
+        verifier.initVerify(pair.getPublic());
+
+        signer.update(data);
+        signature = signer.sign();
+
+        ka = KeyAgreement.getInstance("ECDH", kaProv);
+    }
+
+    @Benchmark
+    public byte[] sign() throws Exception {
+        signer.update(data);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+
+    @Benchmark
+    public byte[] keyAgreement() throws Exception {
+        ka.init(pair.getPrivate());
+        ka.doPhase(peer.getPublic(), true);
+        return ka.generateSecret();
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
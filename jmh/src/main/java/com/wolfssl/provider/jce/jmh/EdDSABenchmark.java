@@ -0,0 +1,108 @@
+/* EdDSABenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ed25519 sign, verify and key generation.
+ *
+ * sign() and verify() reuse one Signature object and key across calls,
+ * as TLS and token signing code typically does. JDK providers offer
+ * EdDSA starting with JDK 15.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdDSABenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"32", "1024", "16384"})
+    public int size;
+
+    private KeyPairGenerator kpg;
+    private KeyPair pair;
+    private Signature signer;
+    private Signature verifier;
+    private byte[] data;
+    private byte[] sig;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("Ed25519", prov));
+        Provider sigProv = BenchmarkUtil.getProvider(provider,
+            prov -> Signature.getInstance("Ed25519", prov));
+
+        kpg = KeyPairGenerator.getInstance("Ed25519", kpgProv);
+        pair = kpg.generateKeyPair();
+        data = BenchmarkUtil.randomBytes(size);
+
+        signer = Signature.getInstance("Ed25519", sigProv);
+        signer.initSign(pair.getPrivate());
+        verifier = Signature.getInstance("Ed25519", sigProv);
+        verifier.initVerify(pair.getPublic());
+
+        signer.update(data);
+        sig = signer.sign();
+    }
+
+    @Benchmark
+    public byte[] sign() throws Exception {
+        signer.update(data);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        verifier.update(data);
+        return verifier.verify(sig);
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
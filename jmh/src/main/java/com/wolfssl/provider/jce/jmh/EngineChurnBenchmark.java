@@ -0,0 +1,143 @@
+/* EngineChurnBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Engine object churn: every operation creates a new Cipher, Signature,
+ * MessageDigest or Mac with getInstance(), uses it once and drops it.
+ *
+ * Throughput here includes object creation and the GC cost of reclaiming
+ * engines and their native wolfCrypt structs. Run with GC logging to
+ * compare reference processing and pause times, see jmh/README.md.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineChurnBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"64"})
+    public int messageSize;
+
+    private Provider cipherProv;
+    private Provider sigProv;
+    private Provider mdProv;
+    private Provider macProv;
+    private SecretKeySpec aesKey;
+    private SecretKeySpec hmacKey;
+    private KeyPair pair;
+    private byte[] data;
+    private byte[] iv;
+    private long ivCounter = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        cipherProv = BenchmarkUtil.getProvider(provider,
+            prov -> Cipher.getInstance("AES/GCM/NoPadding", prov));
+        sigProv = BenchmarkUtil.getProvider(provider,
+            prov -> Signature.getInstance("SHA256withECDSA", prov));
+        mdProv = BenchmarkUtil.getProvider(provider,
+            prov -> MessageDigest.getInstance("SHA-256", prov));
+        macProv = BenchmarkUtil.getProvider(provider,
+            prov -> Mac.getInstance("HmacSHA256", prov));
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("EC", prov));
+
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC", kpgProv);
+        kpg.initialize(new ECGenParameterSpec("secp256r1"));
+        pair = kpg.generateKeyPair();
+
+        aesKey = new SecretKeySpec(BenchmarkUtil.randomBytes(16), "AES");
+        hmacKey = new SecretKeySpec(BenchmarkUtil.randomBytes(32),
+            "HmacSHA256");
+        data = BenchmarkUtil.randomBytes(messageSize);
+        iv = new byte[12];
+    }
+
+    /* Unique IV per encryption, GCM must not reuse key and IV */
+    private GCMParameterSpec nextIv() {
+        long c = ++ivCounter;
+        for (int i = 0; i < 8; i++) {
+            iv[11 - i] = (byte)(c >>> (i * 8));
+        }
+        return new GCMParameterSpec(128, iv);
+    }
+
+    @Benchmark
+    public byte[] cipher() throws Exception {
+        Cipher c = Cipher.getInstance("AES/GCM/NoPadding", cipherProv);
+        c.init(Cipher.ENCRYPT_MODE, aesKey, nextIv());
+        return c.doFinal(data);
+    }
+
+    @Benchmark
+    public byte[] signature() throws Exception {
+        Signature s = Signature.getInstance("SHA256withECDSA", sigProv);
+        s.initSign(pair.getPrivate());
+        s.update(data);
+        return s.sign();
+    }
+
+    @Benchmark
+    public byte[] messageDigest() throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256", mdProv);
+        return md.digest(data);
+    }
+
+    @Benchmark
+    public byte[] mac() throws Exception {
+        Mac m = Mac.getInstance("HmacSHA256", macProv);
+        m.init(hmacKey);
+        return m.doFinal(data);
+    }
+}
@@ -0,0 +1,164 @@
+/* FileDigestBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wolfssl.wolfcrypt.FileDigest;
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.Sha512;
+
+/**
+ * Digest of a large file, memory mapped with wolfCrypt FileDigest versus
+ * read through a DigestInputStream.
+ *
+ * The file is created once per trial and deleted afterwards, so the
+ * fileSize parameter needs that much free space in java.io.tmpdir. Warmup
+ * iterations also bring the file into the page cache, so results measure
+ * hashing and copy overhead rather than disk speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileDigestBenchmark {
+
+    /* Block size used to write the file and for DigestInputStream reads */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"SHA-256", "SHA-512"})
+    public String algorithm;
+
+    /** File size in MiB */
+    @Param({"1024", "10240"})
+    public int fileSize;
+
+    private File file;
+    private MessageDigest md;
+    private com.wolfssl.wolfcrypt.MessageDigest wolfMd;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider p = BenchmarkUtil.getProvider(provider,
+            prov -> MessageDigest.getInstance(algorithm, prov));
+        md = MessageDigest.getInstance(algorithm, p);
+
+        if ("SHA-256".equals(algorithm)) {
+            wolfMd = new Sha256();
+        }
+        else {
+            wolfMd = new Sha512();
+        }
+
+        byte[] block = BenchmarkUtil.randomBytes(BLOCK_SIZE);
+        file = File.createTempFile("wolfjce-jmh", ".bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            long blocks = (fileSize * 1024L * 1024L) / BLOCK_SIZE;
+            for (long i = 0; i < blocks; i++) {
+                out.write(block);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        wolfMd.releaseNativeStruct();
+        file.delete();
+    }
+
+    /**
+     * Read file into heap arrays through DigestInputStream, provider
+     * MessageDigest.
+     */
+    @Benchmark
+    public byte[] digestInputStream() throws Exception {
+
+        byte[] buf = new byte[BLOCK_SIZE];
+
+        try (InputStream in = new DigestInputStream(
+                new FileInputStream(file), md)) {
+            while (in.read(buf) != -1) {
+                /* digest updated by stream */
+            }
+        }
+
+        return md.digest();
+    }
+
+    /**
+     * Map file and pass MappedByteBuffer windows to provider
+     * MessageDigest.update(ByteBuffer).
+     */
+    @Benchmark
+    public byte[] mappedMessageDigest() throws Exception {
+
+        try (FileChannel ch = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            long size = ch.size();
+            for (long pos = 0; pos < size;
+                 pos += FileDigest.DEFAULT_WINDOW_SIZE) {
+                md.update(ch.map(FileChannel.MapMode.READ_ONLY, pos,
+                    Math.min(FileDigest.DEFAULT_WINDOW_SIZE, size - pos)));
+            }
+        }
+
+        return md.digest();
+    }
+
+    /**
+     * wolfCrypt FileDigest, native wolfCrypt reads mapped file directly.
+     * Independent of provider parameter.
+     */
+    @Benchmark
+    public byte[] wolfCryptFileDigest() throws Exception {
+        return FileDigest.digest(wolfMd, file.toPath());
+    }
+}
@@ -0,0 +1,213 @@
+/* GetInstanceBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.AlgorithmParameterGenerator;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.Signature;
+import java.security.cert.CertPathBuilder;
+import java.security.cert.CertPathValidator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Engine getInstance() latency.
+ *
+ * allServices() creates one engine object for every service of the
+ * selected type offered by the provider, so together the type parameter
+ * values cover every service registered by WolfCryptProvider. With the
+ * "JDK" provider, all services of that type from all other installed
+ * providers are used. Results are average time per full pass over the
+ * service list, with the number of services printed during setup.
+ *
+ * cipher() measures a single Cipher.getInstance() call for one
+ * transformation, which is on the per-request path of many applications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetInstanceBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @State(Scope.Thread)
+    public static class Services {
+
+        @Param({"Cipher", "MessageDigest", "Mac", "Signature",
+                "KeyPairGenerator", "KeyAgreement", "KeyFactory",
+                "KeyGenerator", "SecretKeyFactory", "SecureRandom",
+                "AlgorithmParameters", "AlgorithmParameterGenerator",
+                "KeyStore", "CertPathValidator", "CertPathBuilder", "KEM"})
+        public String type;
+
+        List<Provider> providers = new ArrayList<Provider>();
+        List<String> algorithms = new ArrayList<String>();
+
+        @Setup(Level.Trial)
+        public void setup(GetInstanceBenchmark bench) {
+
+            String provider = bench.provider;
+
+            BenchmarkUtil.installProvider();
+
+            for (Provider p : Security.getProviders()) {
+                boolean isWolf = BenchmarkUtil.WOLFJCE.equals(p.getName());
+                if (BenchmarkUtil.WOLFJCE.equals(provider) != isWolf) {
+                    continue;
+                }
+                for (Provider.Service s : p.getServices()) {
+                    if (!s.getType().equals(type)) {
+                        continue;
+                    }
+                    /* Skip services that cannot be created at all, ex:
+                     * algorithm compiled out of native library */
+                    try {
+                        getInstance(type, s.getAlgorithm(), p);
+                    } catch (Exception e) {
+                        continue;
+                    }
+                    providers.add(p);
+                    algorithms.add(s.getAlgorithm());
+                }
+            }
+
+            if (algorithms.isEmpty()) {
+                throw new IllegalStateException(
+                    "No " + type + " services for provider " + provider);
+            }
+
+            System.out.println("\n" + provider + " " + type + " services: " +
+                algorithms.size());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CipherState {
+
+        @Param({"AES/GCM/NoPadding"})
+        public String transformation;
+
+        Provider p;
+
+        @Setup(Level.Trial)
+        public void setup(GetInstanceBenchmark bench) {
+            p = BenchmarkUtil.getProvider(bench.provider,
+                prov -> Cipher.getInstance(transformation, prov));
+        }
+    }
+
+    /**
+     * Call engine class getInstance() for given service type.
+     *
+     * @param type service type
+     * @param alg algorithm name
+     * @param p provider
+     *
+     * @return engine object
+     *
+     * @throws Exception if getInstance() fails
+     */
+    static Object getInstance(String type, String alg, Provider p)
+        throws Exception {
+
+        switch (type) {
+            case "Cipher":
+                return Cipher.getInstance(alg, p);
+            case "MessageDigest":
+                return MessageDigest.getInstance(alg, p);
+            case "Mac":
+                return Mac.getInstance(alg, p);
+            case "Signature":
+                return Signature.getInstance(alg, p);
+            case "KeyPairGenerator":
+                return KeyPairGenerator.getInstance(alg, p);
+            case "KeyAgreement":
+                return KeyAgreement.getInstance(alg, p);
+            case "KeyFactory":
+                return KeyFactory.getInstance(alg, p);
+            case "KeyGenerator":
+                return KeyGenerator.getInstance(alg, p);
+            case "SecretKeyFactory":
+                return SecretKeyFactory.getInstance(alg, p);
+            case "SecureRandom":
+                return SecureRandom.getInstance(alg, p);
+            case "AlgorithmParameters":
+                return AlgorithmParameters.getInstance(alg, p);
+            case "AlgorithmParameterGenerator":
+                return AlgorithmParameterGenerator.getInstance(alg, p);
+            case "KeyStore":
+                return KeyStore.getInstance(alg, p);
+            case "CertPathValidator":
+                return CertPathValidator.getInstance(alg, p);
+            case "CertPathBuilder":
+                return CertPathBuilder.getInstance(alg, p);
+            default:
+                /* No engine class available on Java 8 (ex: KEM), create
+                 * SPI object through the Provider.Service directly */
+                return p.getService(type, alg).newInstance(null);
+        }
+    }
+
+    @Benchmark
+    public void allServices(Services s, Blackhole bh) throws Exception {
+        for (int i = 0; i < s.algorithms.size(); i++) {
+            bh.consume(getInstance(s.type, s.algorithms.get(i),
+                s.providers.get(i)));
+        }
+    }
+
+    @Benchmark
+    public Cipher cipher(CipherState s) throws Exception {
+        return Cipher.getInstance(s.transformation, s.p);
+    }
+}
@@ -0,0 +1,107 @@
+/* MacBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.nio.ByteBuffer;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mac update + doFinal throughput.
+ *
+ * HMAC algorithms use a key of keySize bits, AESCMAC uses keySize as the
+ * AES key size. AESCMAC is not offered by JDK providers, so that
+ * combination fails setup and is reported as such by JMH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MacBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"HmacSHA1", "HmacSHA256", "HmacSHA384", "HmacSHA512",
+            "HmacSHA3-256", "AESCMAC"})
+    public String algorithm;
+
+    @Param({"256"})
+    public int keySize;
+
+    @Param({"64", "1024", "16384"})
+    public int messageSize;
+
+    @Param({"array", "heap", "direct"})
+    public String bufferType;
+
+    private Mac mac;
+    private boolean useArray;
+    private byte[] data;
+    private ByteBuffer dataBuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider p = BenchmarkUtil.getProvider(provider,
+            prov -> Mac.getInstance(algorithm, prov));
+
+        mac = Mac.getInstance(algorithm, p);
+        mac.init(new SecretKeySpec(BenchmarkUtil.randomBytes(keySize / 8),
+            algorithm.startsWith("AES") ? "AES" : algorithm));
+
+        useArray = BenchmarkUtil.ARRAY.equals(bufferType);
+        data = BenchmarkUtil.randomBytes(messageSize);
+        dataBuf = BenchmarkUtil.wrap(bufferType, data);
+    }
+
+    @Benchmark
+    public byte[] mac() {
+
+        if (useArray) {
+            mac.update(data);
+        }
+        else {
+            dataBuf.rewind();
+            mac.update(dataBuf);
+        }
+
+        return mac.doFinal();
+    }
+}
@@ -0,0 +1,96 @@
+/* MessageDigestBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MessageDigest update + digest throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageDigestBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"MD5", "SHA-1", "SHA-224", "SHA-256", "SHA-384", "SHA-512",
+            "SHA3-256", "SHA3-512"})
+    public String algorithm;
+
+    @Param({"64", "1024", "16384"})
+    public int messageSize;
+
+    @Param({"array", "heap", "direct"})
+    public String bufferType;
+
+    private MessageDigest md;
+    private boolean useArray;
+    private byte[] data;
+    private ByteBuffer dataBuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider p = BenchmarkUtil.getProvider(provider,
+            prov -> MessageDigest.getInstance(algorithm, prov));
+
+        md = MessageDigest.getInstance(algorithm, p);
+        useArray = BenchmarkUtil.ARRAY.equals(bufferType);
+        data = BenchmarkUtil.randomBytes(messageSize);
+        dataBuf = BenchmarkUtil.wrap(bufferType, data);
+    }
+
+    @Benchmark
+    public byte[] digest() {
+
+        if (useArray) {
+            md.update(data);
+        }
+        else {
+            dataBuf.rewind();
+            md.update(dataBuf);
+        }
+
+        return md.digest();
+    }
+}
@@ -0,0 +1,110 @@
+/* MlDsaBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ML-DSA (FIPS 204) sign, verify and key generation.
+ *
+ * JDK providers offer ML-DSA starting with JDK 24, on older JDKs the
+ * "JDK" provider combinations fail setup and are reported as such by JMH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MlDsaBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"ML-DSA-44", "ML-DSA-65", "ML-DSA-87"})
+    public String algorithm;
+
+    @Param({"1024"})
+    public int messageSize;
+
+    private KeyPairGenerator kpg;
+    private Signature signer;
+    private Signature verifier;
+    private byte[] data;
+    private byte[] signature;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance(algorithm, prov));
+        Provider sigProv = BenchmarkUtil.getProvider(provider,
+            prov -> Signature.getInstance(algorithm, prov));
+
+        kpg = KeyPairGenerator.getInstance(algorithm, kpgProv);
+        KeyPair pair = kpg.generateKeyPair();
+
+        data = BenchmarkUtil.randomBytes(messageSize);
+
+        signer = Signature.getInstance(algorithm, sigProv);
+        signer.initSign(pair.getPrivate());
+        verifier = Signature.getInstance(algorithm, sigProv);
+        verifier.initVerify(pair.getPublic());
+
+        signer.update(data);
+        signature = signer.sign();
+    }
+
+    @Benchmark
+    public byte[] sign() throws Exception {
+        signer.update(data);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
@@ -0,0 +1,121 @@
+/* MlKemBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.lang.reflect.Method;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ML-KEM (FIPS 203) encapsulate and decapsulate with a static key, as done
+ * by a server holding one long-lived key.
+ *
+ * The javax.crypto.KEM API is only present on JDK 21+, and this module
+ * targets Java 8, so KEM objects are called through reflection. The
+ * Encapsulator and Decapsulator are shared by all benchmark threads, which
+ * the KEM API allows. JDK providers offer ML-KEM starting with JDK 24.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MlKemBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"ML-KEM-512", "ML-KEM-768", "ML-KEM-1024"})
+    public String algorithm;
+
+    private Object encapsulator;
+    private Object decapsulator;
+    private Method encapsulateMethod;
+    private Method decapsulateMethod;
+    private byte[] encapsulation;
+
+    private static Object kemGetInstance(String alg, Provider p)
+        throws Exception {
+
+        Class<?> kemCls = Class.forName("javax.crypto.KEM");
+        return kemCls.getMethod("getInstance", String.class, Provider.class)
+            .invoke(null, alg, p);
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance(algorithm, prov));
+        Provider kemProv = BenchmarkUtil.getProvider(provider,
+            prov -> kemGetInstance(algorithm, prov));
+
+        KeyPair pair = KeyPairGenerator.getInstance(algorithm, kpgProv)
+            .generateKeyPair();
+        Object kem = kemGetInstance(algorithm, kemProv);
+
+        Class<?> kemCls = Class.forName("javax.crypto.KEM");
+        Class<?> encCls = Class.forName("javax.crypto.KEM$Encapsulator");
+        Class<?> decCls = Class.forName("javax.crypto.KEM$Decapsulator");
+        Class<?> encapsulatedCls =
+            Class.forName("javax.crypto.KEM$Encapsulated");
+
+        encapsulator = kemCls.getMethod("newEncapsulator", PublicKey.class)
+            .invoke(kem, pair.getPublic());
+        decapsulator = kemCls.getMethod("newDecapsulator", PrivateKey.class)
+            .invoke(kem, pair.getPrivate());
+        encapsulateMethod = encCls.getMethod("encapsulate");
+        decapsulateMethod = decCls.getMethod("decapsulate", byte[].class);
+
+        Object encapsulated = encapsulateMethod.invoke(encapsulator);
+        encapsulation = (byte[])encapsulatedCls.getMethod("encapsulation")
+            .invoke(encapsulated);
+    }
+
+    @Benchmark
+    public Object encapsulate() throws Exception {
+        return encapsulateMethod.invoke(encapsulator);
+    }
+
+    @Benchmark
+    public Object decapsulate() throws Exception {
+        return decapsulateMethod.invoke(decapsulator, (Object)encapsulation);
+    }
+}
@@ -0,0 +1,142 @@
+/* RsaBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RSA sign, verify, encrypt, decrypt and key generation.
+ *
+ * Signatures use SHA256withRSA over messageSize bytes, encryption uses
+ * RSA/ECB/PKCS1Padding over a 32 byte input. Each engine type is resolved
+ * separately, so with the "JDK" provider signatures and key generation
+ * typically come from SunRsaSign and encryption from SunJCE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsaBenchmark {
+
+    private static final String SIG_ALG = "SHA256withRSA";
+    private static final String CIPHER_ALG = "RSA/ECB/PKCS1Padding";
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"2048", "3072", "4096"})
+    public int keySize;
+
+    @Param({"1024"})
+    public int messageSize;
+
+    private KeyPairGenerator kpg;
+    private KeyPair pair;
+    private Signature signer;
+    private Signature verifier;
+    private Cipher encCipher;
+    private Cipher decCipher;
+    private byte[] data;
+    private byte[] signature;
+    private byte[] secret;
+    private byte[] encrypted;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("RSA", prov));
+        Provider sigProv = BenchmarkUtil.getProvider(provider,
+            prov -> Signature.getInstance(SIG_ALG, prov));
+        Provider cipherProv = BenchmarkUtil.getProvider(provider,
+            prov -> Cipher.getInstance(CIPHER_ALG, prov));
+
+        kpg = KeyPairGenerator.getInstance("RSA", kpgProv);
+        kpg.initialize(keySize);
+        pair = kpg.generateKeyPair();
+
+        data = BenchmarkUtil.randomBytes(messageSize);
+        secret = BenchmarkUtil.randomBytes(32);
+
+        signer = Signature.getInstance(SIG_ALG, sigProv);
+        signer.initSign(pair.getPrivate());
+        verifier = Signature.getInstance(SIG_ALG, sigProv);
+        verifier.initVerify(pair.getPublic());
+
+        signer.update(data);
+        signature = signer.sign();
+
+        encCipher = Cipher.getInstance(CIPHER_ALG, cipherProv);
+        encCipher.init(Cipher.ENCRYPT_MODE, pair.getPublic());
+        decCipher = Cipher.getInstance(CIPHER_ALG, cipherProv);
+        decCipher.init(Cipher.DECRYPT_MODE, pair.getPrivate());
+
+        encrypted = encCipher.doFinal(secret);
+    }
+
+    @Benchmark
+    public byte[] sign() throws Exception {
+        signer.update(data);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+
+    @Benchmark
+    public byte[] encrypt() throws Exception {
+        return encCipher.doFinal(secret);
+    }
+
+    @Benchmark
+    public byte[] decrypt() throws Exception {
+        return decCipher.doFinal(encrypted);
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
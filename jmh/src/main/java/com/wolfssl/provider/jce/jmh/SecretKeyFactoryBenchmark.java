@@ -0,0 +1,84 @@
+/* SecretKeyFactoryBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PBKDF2 SecretKeyFactory generateSecret() throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecretKeyFactoryBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    @Param({"PBKDF2WithHmacSHA256", "PBKDF2WithHmacSHA512"})
+    public String algorithm;
+
+    @Param({"256"})
+    public int keySize;
+
+    @Param({"10000"})
+    public int iterations;
+
+    private SecretKeyFactory skf;
+    private PBEKeySpec spec;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider p = BenchmarkUtil.getProvider(provider,
+            prov -> SecretKeyFactory.getInstance(algorithm, prov));
+
+        skf = SecretKeyFactory.getInstance(algorithm, p);
+        spec = new PBEKeySpec("wolfSSL benchmark password".toCharArray(),
+            BenchmarkUtil.randomBytes(16), iterations, keySize);
+    }
+
+    @Benchmark
+    public SecretKey generateSecret() throws Exception {
+        return skf.generateSecret(spec);
+    }
+}
@@ -0,0 +1,105 @@
+/* ThreadConfinedBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.MessageDigest;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * wolfJCE SHA-256 and HMAC-SHA256 throughput on small inputs, with
+ * default thread safe engines ("shared") and thread confined engines
+ * ("confined") created with the "wolfjce.engine.threadConfined" Security
+ * property set.
+ *
+ * Per call locking cost is constant, so the difference between modes is
+ * largest on tiny inputs and shrinks as size grows. Thread scoped state
+ * is set up on the benchmark thread, so confined engines are owned by the
+ * thread using them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadConfinedBenchmark {
+
+    @Param({"shared", "confined"})
+    public String mode;
+
+    @Param({"16", "1024"})
+    public int size;
+
+    private MessageDigest md;
+    private Mac mac;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        BenchmarkUtil.installProvider();
+
+        /* Property is read at engine creation, confined engines keep
+         * their mode after it is changed */
+        synchronized (ThreadConfinedBenchmark.class) {
+            Security.setProperty("wolfjce.engine.threadConfined",
+                String.valueOf("confined".equals(mode)));
+
+            md = MessageDigest.getInstance("SHA-256", BenchmarkUtil.WOLFJCE);
+            mac = Mac.getInstance("HmacSHA256", BenchmarkUtil.WOLFJCE);
+
+            Security.setProperty("wolfjce.engine.threadConfined", "false");
+        }
+
+        mac.init(new SecretKeySpec(BenchmarkUtil.randomBytes(32),
+            "HmacSHA256"));
+        data = BenchmarkUtil.randomBytes(size);
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        md.update(data);
+        return md.digest();
+    }
+
+    @Benchmark
+    public byte[] hmacSha256() {
+        mac.update(data);
+        return mac.doFinal();
+    }
+}
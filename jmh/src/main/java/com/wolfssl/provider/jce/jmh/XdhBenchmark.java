@@ -0,0 +1,93 @@
+/* XdhBenchmark.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.jmh;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.KeyAgreement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * X25519 key agreement and key generation.
+ *
+ * keyAgreement() runs init(), doPhase() and generateSecret() with the
+ * same private key each time, which is how TLS servers with a static
+ * key and resumed handshakes use it. JDK providers offer XDH starting
+ * with JDK 11.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XdhBenchmark {
+
+    @Param({"wolfJCE", "JDK"})
+    public String provider;
+
+    private KeyPairGenerator kpg;
+    private KeyPair pair;
+    private KeyPair peer;
+    private KeyAgreement ka;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        Provider kpgProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyPairGenerator.getInstance("X25519", prov));
+        Provider kaProv = BenchmarkUtil.getProvider(provider,
+            prov -> KeyAgreement.getInstance("X25519", prov));
+
+        kpg = KeyPairGenerator.getInstance("X25519", kpgProv);
+        pair = kpg.generateKeyPair();
+        peer = kpg.generateKeyPair();
+
+        ka = KeyAgreement.getInstance("X25519", kaProv);
+    }
+
+    @Benchmark
+    public byte[] keyAgreement() throws Exception {
+        ka.init(pair.getPrivate());
+        ka.doPhase(peer.getPublic(), true);
+        return ka.generateSecret();
+    }
+
+    @Benchmark
+    public KeyPair generateKeyPair() {
+        return kpg.generateKeyPair();
+    }
+}
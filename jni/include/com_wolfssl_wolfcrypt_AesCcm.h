@@ -17,6 +17,14 @@ extern "C" {
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_mallocNativeStruct_1internal
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesCcm
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_AesCcm
  * Method:    wc_AesInit
@@ -57,6 +65,30 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmEncrypt
 JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmDecrypt
   (JNIEnv *, jobject, jbyteArray, jbyteArray, jbyteArray, jbyteArray);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesCcm
+ * Method:    wc_AesCcmStreamInit
+ * Signature: (Z[BIJ[B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamInit
+  (JNIEnv *, jobject, jboolean, jbyteArray, jint, jlong, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesCcm
+ * Method:    wc_AesCcmStreamUpdate
+ * Signature: (Z[BII)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamUpdate
+  (JNIEnv *, jobject, jboolean, jbyteArray, jint, jint);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesCcm
+ * Method:    wc_AesCcmStreamFinal
+ * Signature: (Z[B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamFinal
+  (JNIEnv *, jobject, jboolean, jbyteArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -17,6 +17,14 @@ extern "C" {
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_mallocNativeStruct_1internal
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_AesGcm
  * Method:    wc_AesInit
@@ -57,6 +65,70 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncrypt
 JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecrypt
   (JNIEnv *, jobject, jbyteArray, jbyteArray, jbyteArray, jbyteArray);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmEncryptInit
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptInit
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmEncryptUpdate
+ * Signature: ([BII[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptUpdate
+  (JNIEnv *, jobject, jbyteArray, jint, jint, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmEncryptFinal
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptFinal
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmDecryptInit
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptInit
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmDecryptUpdate
+ * Signature: ([BII[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptUpdate
+  (JNIEnv *, jobject, jbyteArray, jint, jint, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmDecryptFinal
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptFinal
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmEncryptDirect
+ * Signature: (Ljava/nio/ByteBuffer;IILjava/nio/ByteBuffer;I[B[B[B)I
+ */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptDirect
+  (JNIEnv *, jobject, jobject, jint, jint, jobject, jint, jbyteArray, jbyteArray, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_AesGcm
+ * Method:    wc_AesGcmDecryptDirect
+ * Signature: (Ljava/nio/ByteBuffer;IILjava/nio/ByteBuffer;I[B[B[B)I
+ */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptDirect
+  (JNIEnv *, jobject, jobject, jint, jint, jobject, jint, jbyteArray, jbyteArray, jbyteArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -0,0 +1,93 @@
+/* DO NOT EDIT THIS FILE - it is machine generated */
+#include <jni.h>
+/* Header for class com_wolfssl_wolfcrypt_ChaCha20Poly1305 */
+
+#ifndef _Included_com_wolfssl_wolfcrypt_ChaCha20Poly1305
+#define _Included_com_wolfssl_wolfcrypt_ChaCha20Poly1305
+#ifdef __cplusplus
+extern "C" {
+#endif
+#undef com_wolfssl_wolfcrypt_ChaCha20Poly1305_NULL
+#define com_wolfssl_wolfcrypt_ChaCha20Poly1305_NULL 0LL
+#undef com_wolfssl_wolfcrypt_ChaCha20Poly1305_KEY_SIZE
+#define com_wolfssl_wolfcrypt_ChaCha20Poly1305_KEY_SIZE 32L
+#undef com_wolfssl_wolfcrypt_ChaCha20Poly1305_NONCE_SIZE
+#define com_wolfssl_wolfcrypt_ChaCha20Poly1305_NONCE_SIZE 12L
+#undef com_wolfssl_wolfcrypt_ChaCha20Poly1305_TAG_SIZE
+#define com_wolfssl_wolfcrypt_ChaCha20Poly1305_TAG_SIZE 16L
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    mallocNativeStruct_internal
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_mallocNativeStruct_1internal
+  (JNIEnv *, jobject);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305Free
+ * Signature: ()V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Free
+  (JNIEnv *, jobject);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305SetKey
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305SetKey
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305_Encrypt
+ * Signature: ([B[B[B[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Encrypt
+  (JNIEnv *, jobject, jbyteArray, jbyteArray, jbyteArray, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305_Decrypt
+ * Signature: ([B[B[B[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Decrypt
+  (JNIEnv *, jobject, jbyteArray, jbyteArray, jbyteArray, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305Direct
+ * Signature: (Ljava/nio/ByteBuffer;IILjava/nio/ByteBuffer;I[B[B[BZ)I
+ */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Direct
+  (JNIEnv *, jobject, jobject, jint, jint, jobject, jint, jbyteArray, jbyteArray, jbyteArray, jboolean);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305_Init
+ * Signature: ([BZ)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Init
+  (JNIEnv *, jobject, jbyteArray, jboolean);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305Update
+ * Signature: ([BII[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Update
+  (JNIEnv *, jobject, jbyteArray, jint, jint, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_ChaCha20Poly1305
+ * Method:    wc_ChaCha20Poly1305_Final
+ * Signature: ([BZ)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Final
+  (JNIEnv *, jobject, jbyteArray, jboolean);
+
+#ifdef __cplusplus
+}
+#endif
+#endif
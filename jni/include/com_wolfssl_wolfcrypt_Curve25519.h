@@ -11,6 +11,10 @@ extern "C" {
 #define com_wolfssl_wolfcrypt_Curve25519_NULL 0LL
 #undef com_wolfssl_wolfcrypt_Curve25519_CURVE25519_KEY_SIZE
 #define com_wolfssl_wolfcrypt_Curve25519_CURVE25519_KEY_SIZE 32L
+#undef com_wolfssl_wolfcrypt_Curve25519_LITTLE_ENDIAN
+#define com_wolfssl_wolfcrypt_Curve25519_LITTLE_ENDIAN 0L
+#undef com_wolfssl_wolfcrypt_Curve25519_BIG_ENDIAN
+#define com_wolfssl_wolfcrypt_Curve25519_BIG_ENDIAN 1L
 /*
  * Class:     com_wolfssl_wolfcrypt_Curve25519
  * Method:    mallocNativeStruct
@@ -19,6 +23,14 @@ extern "C" {
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_mallocNativeStruct
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_Curve25519
  * Method:    wc_curve25519_init
@@ -107,6 +119,46 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve2551
 JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1export_1public
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    wc_curve25519_import_private_ex
+ * Signature: ([BI)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1import_1private_1ex
+  (JNIEnv *, jobject, jbyteArray, jint);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    wc_curve25519_import_public_ex
+ * Signature: ([BI)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1import_1public_1ex
+  (JNIEnv *, jobject, jbyteArray, jint);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    wc_curve25519_export_private_ex
+ * Signature: (I)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1export_1private_1ex
+  (JNIEnv *, jobject, jint);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    wc_curve25519_export_public_ex
+ * Signature: (I)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1export_1public_1ex
+  (JNIEnv *, jobject, jint);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Curve25519
+ * Method:    wc_curve25519_shared_secret_raw
+ * Signature: ([BI)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1shared_1secret_1raw
+  (JNIEnv *, jobject, jbyteArray, jint);
+
 #ifdef __cplusplus
 }
 #endif
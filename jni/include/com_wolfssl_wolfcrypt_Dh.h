@@ -35,6 +35,14 @@ JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_Dh_dhMinSize
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Dh_mallocNativeStruct_1internal
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Dh
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Dh_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_Dh
  * Method:    wc_InitDhKey
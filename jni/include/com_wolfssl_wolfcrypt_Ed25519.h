@@ -13,6 +13,14 @@ extern "C" {
 #define com_wolfssl_wolfcrypt_Ed25519_ED25519_KEY_SIZE 32L
 #undef com_wolfssl_wolfcrypt_Ed25519_ED25519_SIG_SIZE
 #define com_wolfssl_wolfcrypt_Ed25519_ED25519_SIG_SIZE 64L
+#undef com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519
+#define com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519 0L
+#undef com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519_CTX
+#define com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519_CTX 1L
+#undef com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519_PH
+#define com_wolfssl_wolfcrypt_Ed25519_TYPE_ED25519_PH 2L
+#undef com_wolfssl_wolfcrypt_Ed25519_ED25519_MAX_CTX_LEN
+#define com_wolfssl_wolfcrypt_Ed25519_ED25519_MAX_CTX_LEN 255L
 /*
  * Class:     com_wolfssl_wolfcrypt_Ed25519
  * Method:    mallocNativeStruct
@@ -21,6 +29,14 @@ extern "C" {
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_mallocNativeStruct
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Ed25519
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_Ed25519
  * Method:    wc_ed25519_init
@@ -93,6 +109,14 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1sig
 JNIEXPORT jboolean JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verify_1msg
   (JNIEnv *, jobject, jbyteArray, jbyteArray);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Ed25519
+ * Method:    wc_ed25519_verify_msg_batch
+ * Signature: ([Lcom/wolfssl/wolfcrypt/Ed25519;[[B[[B[Z)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verify_1msg_1batch
+  (JNIEnv *, jclass, jobjectArray, jobjectArray, jobjectArray, jbooleanArray);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_Ed25519
  * Method:    wc_ed25519_export_private
@@ -117,6 +141,30 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1exp
 JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1export_1public
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Ed25519
+ * Method:    wc_ed25519_import_private_make_public
+ * Signature: ([B)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1import_1private_1make_1public
+  (JNIEnv *, jobject, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Ed25519
+ * Method:    wc_ed25519_sign_msg_ex
+ * Signature: ([BIII[B)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1sign_1msg_1ex
+  (JNIEnv *, jobject, jbyteArray, jint, jint, jint, jbyteArray);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_Ed25519
+ * Method:    wc_ed25519_verify_msg_ex
+ * Signature: ([B[BIII[B)Z
+ */
+JNIEXPORT jboolean JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verify_1msg_1ex
+  (JNIEnv *, jobject, jbyteArray, jbyteArray, jint, jint, jint, jbyteArray);
+
 #ifdef __cplusplus
 }
 #endif
@@ -33,6 +33,14 @@ extern "C" {
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_mallocNativeStruct
   (JNIEnv *, jobject);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_MlDsa
+ * Method:    freeNativeStruct
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_freeNativeStruct
+  (JNIEnv *, jclass, jlong);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_MlDsa
  * Method:    wc_dilithium_init
@@ -89,6 +97,14 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1sig
 JNIEXPORT jboolean JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1verify_1ctx_1msg
   (JNIEnv *, jobject, jbyteArray, jbyteArray, jbyteArray);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_MlDsa
+ * Method:    wc_dilithium_verify_ctx_msg_batch
+ * Signature: ([Lcom/wolfssl/wolfcrypt/MlDsa;[[B[B[[B[Z)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1verify_1ctx_1msg_1batch
+  (JNIEnv *, jclass, jobjectArray, jobjectArray, jbyteArray, jobjectArray, jbooleanArray);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_MlDsa
  * Method:    wc_dilithium_export_public
@@ -15,7 +15,23 @@ extern "C" {
  * Signature: (J)V
  */
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_xfree
-  (JNIEnv *, jobject, jlong);
+  (JNIEnv *, jclass, jlong);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_NativeStruct
+ * Method:    getNativeAllocCount
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_getNativeAllocCount
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     com_wolfssl_wolfcrypt_NativeStruct
+ * Method:    getNativeReuseCount
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_getNativeReuseCount
+  (JNIEnv *, jclass);
 
 #ifdef __cplusplus
 }
@@ -69,6 +69,14 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha256_native_1final_1internal
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha256_native_1final_1internal___3B
   (JNIEnv *, jobject, jbyteArray);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Sha256
+ * Method:    native_digest_many_internal
+ * Signature: ([Ljava/lang/Object;[I[III[BI)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha256_native_1digest_1many_1internal
+  (JNIEnv *, jclass, jobjectArray, jintArray, jintArray, jint, jint, jbyteArray, jint);
+
 #ifdef __cplusplus
 }
 #endif
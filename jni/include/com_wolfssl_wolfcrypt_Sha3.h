@@ -81,6 +81,14 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha3_native_1final_1internal__
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha3_native_1final_1internal___3BI
   (JNIEnv *, jobject, jbyteArray, jint);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_Sha3
+ * Method:    native_digest_many_internal
+ * Signature: ([Ljava/lang/Object;[I[III[BII)V
+ */
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha3_native_1digest_1many_1internal
+  (JNIEnv *, jclass, jobjectArray, jintArray, jintArray, jint, jint, jbyteArray, jint, jint);
+
 #ifdef __cplusplus
 }
 #endif
@@ -205,6 +205,14 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_WolfCrypt_wcPubKeyPemToD
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_WolfCrypt_nativeSetIOTimeout
   (JNIEnv *, jclass, jint);
 
+/*
+ * Class:     com_wolfssl_wolfcrypt_WolfCrypt
+ * Method:    nativeDirectBuffersOverlap
+ * Signature: (Ljava/nio/ByteBuffer;IILjava/nio/ByteBuffer;II)I
+ */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfCrypt_nativeDirectBuffersOverlap
+  (JNIEnv *, jclass, jobject, jint, jint, jobject, jint, jint);
+
 /*
  * Class:     com_wolfssl_wolfcrypt_WolfCrypt
  * Method:    CrlEnabled
@@ -26,6 +26,9 @@
 extern "C" {
 #endif
 
+void* nativeStructAlloc(size_t sz);
+void nativeStructFree(void* ptr);
+
 void* getNativeStruct(JNIEnv* env, jobject this);
 
 void setByteArrayMember(
@@ -36,6 +36,209 @@
 /* #define WOLFCRYPT_JNI_DEBUG_ON */
 #include <wolfcrypt_jni_debug.h>
 
+/* Streaming AES-CCM is implemented here over the AES block cipher, since
+ * native wolfCrypt only offers one-shot AES-CCM. Needs either AES-ECB or
+ * direct AES block access. Not used in FIPS builds, where only the
+ * validated one-shot wc_AesCcmEncrypt()/wc_AesCcmDecrypt() may be used. */
+#if !defined(NO_AES) && defined(HAVE_AESCCM) && !defined(HAVE_FIPS) && \
+    (defined(HAVE_AES_ECB) || defined(WOLFSSL_AES_DIRECT))
+    #define WOLFCRYPTJNI_AESCCM_STREAM
+#endif
+
+#ifndef NO_AES
+/* Native struct behind AesCcm objects. Aes must stay the first member,
+ * one-shot functions cast the native pointer directly to Aes*. Other
+ * members hold the state of a streaming operation started by
+ * wc_AesCcmStreamInit(). */
+typedef struct AesCcmJni {
+    Aes aes;
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+    byte mac[AES_BLOCK_SIZE];     /* CBC-MAC state */
+    byte macBuf[AES_BLOCK_SIZE];  /* partial block not yet in CBC-MAC */
+    byte ctr[AES_BLOCK_SIZE];     /* next CTR counter block */
+    byte ks[AES_BLOCK_SIZE];      /* current key stream block */
+    byte s0[AES_BLOCK_SIZE];      /* encrypted counter 0, masks tag */
+    word64 left;                  /* payload bytes still expected */
+    word32 macBufSz;              /* bytes used in macBuf */
+    word32 ksUsed;                /* bytes of ks already used */
+    word32 tagSz;                 /* auth tag size */
+    word32 lenSz;                 /* size of CCM length field (L) */
+    int streamDir;                /* 0 none, 1 encrypt, 2 decrypt */
+#endif
+} AesCcmJni;
+#endif /* !NO_AES */
+
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+
+#define CCM_STREAM_NONE    0
+#define CCM_STREAM_ENCRYPT 1
+#define CCM_STREAM_DECRYPT 2
+
+/* Counter blocks encrypted per native AES call in ccmCtrXor() */
+#define CCM_CTR_BATCH 16
+
+/* Zeroize streaming state, leaves Aes key schedule untouched */
+static void ccmStreamClear(AesCcmJni* ccm)
+{
+    byte* start = ccm->mac;
+    word32 sz = (word32)(sizeof(AesCcmJni) - (word32)(start - (byte*)ccm));
+
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(start, sz);
+#else
+    XMEMSET(start, 0, sz);
+#endif
+}
+
+/* Encrypt whole AES blocks with the CCM key, in may equal out */
+static int ccmEncryptBlocks(Aes* aes, byte* out, const byte* in, word32 sz)
+{
+#ifdef HAVE_AES_ECB
+    return wc_AesEcbEncrypt(aes, out, in, sz);
+#else
+    int ret = 0;
+    word32 i;
+
+    for (i = 0; i < sz && ret == 0; i += AES_BLOCK_SIZE) {
+        ret = wc_AesEncryptDirect(aes, out + i, in + i);
+    }
+
+    return ret;
+#endif
+}
+
+/* Add data to CBC-MAC, keeping a trailing partial block buffered */
+static int ccmMacUpdate(AesCcmJni* ccm, const byte* in, word32 sz)
+{
+    int ret = 0;
+    word32 i, n;
+
+    if (ccm->macBufSz > 0) {
+        n = AES_BLOCK_SIZE - ccm->macBufSz;
+        if (n > sz) {
+            n = sz;
+        }
+        XMEMCPY(ccm->macBuf + ccm->macBufSz, in, n);
+        ccm->macBufSz += n;
+        in += n;
+        sz -= n;
+
+        if (ccm->macBufSz < AES_BLOCK_SIZE) {
+            return 0;
+        }
+        for (i = 0; i < AES_BLOCK_SIZE; i++) {
+            ccm->mac[i] ^= ccm->macBuf[i];
+        }
+        ret = ccmEncryptBlocks(&ccm->aes, ccm->mac, ccm->mac,
+            AES_BLOCK_SIZE);
+        ccm->macBufSz = 0;
+    }
+
+    while (ret == 0 && sz >= AES_BLOCK_SIZE) {
+        for (i = 0; i < AES_BLOCK_SIZE; i++) {
+            ccm->mac[i] ^= in[i];
+        }
+        ret = ccmEncryptBlocks(&ccm->aes, ccm->mac, ccm->mac,
+            AES_BLOCK_SIZE);
+        in += AES_BLOCK_SIZE;
+        sz -= AES_BLOCK_SIZE;
+    }
+
+    if (ret == 0 && sz > 0) {
+        XMEMCPY(ccm->macBuf, in, sz);
+        ccm->macBufSz = sz;
+    }
+
+    return ret;
+}
+
+/* Zero pad buffered partial block and add it to CBC-MAC */
+static int ccmMacFlush(AesCcmJni* ccm)
+{
+    word32 i;
+
+    if (ccm->macBufSz == 0) {
+        return 0;
+    }
+    for (i = 0; i < ccm->macBufSz; i++) {
+        ccm->mac[i] ^= ccm->macBuf[i];
+    }
+    ccm->macBufSz = 0;
+
+    return ccmEncryptBlocks(&ccm->aes, ccm->mac, ccm->mac, AES_BLOCK_SIZE);
+}
+
+/* Increment counter field, the last lenSz bytes of counter block */
+static void ccmCtrInc(byte* ctr, word32 lenSz)
+{
+    word32 i;
+
+    for (i = 0; i < lenSz; i++) {
+        if (++ctr[AES_BLOCK_SIZE - 1 - i] != 0) {
+            break;
+        }
+    }
+}
+
+/* XOR data with CTR key stream, in may equal out */
+static int ccmCtrXor(AesCcmJni* ccm, byte* out, const byte* in, word32 sz)
+{
+    int ret = 0;
+    word32 i, n;
+    byte ctrs[CCM_CTR_BATCH * AES_BLOCK_SIZE];
+
+    /* Use up key stream left from previous call */
+    while (sz > 0 && ccm->ksUsed < AES_BLOCK_SIZE) {
+        *out++ = *in++ ^ ccm->ks[ccm->ksUsed++];
+        sz--;
+    }
+
+    /* Whole blocks, several counter blocks per AES call */
+    while (ret == 0 && sz >= AES_BLOCK_SIZE) {
+        n = sz / AES_BLOCK_SIZE;
+        if (n > CCM_CTR_BATCH) {
+            n = CCM_CTR_BATCH;
+        }
+        for (i = 0; i < n; i++) {
+            XMEMCPY(ctrs + (i * AES_BLOCK_SIZE), ccm->ctr, AES_BLOCK_SIZE);
+            ccmCtrInc(ccm->ctr, ccm->lenSz);
+        }
+        ret = ccmEncryptBlocks(&ccm->aes, ctrs, ctrs, n * AES_BLOCK_SIZE);
+        if (ret == 0) {
+            n *= AES_BLOCK_SIZE;
+            for (i = 0; i < n; i++) {
+                out[i] = in[i] ^ ctrs[i];
+            }
+            out += n;
+            in += n;
+            sz -= n;
+        }
+    }
+
+    /* Partial block, keep rest of key stream for next call */
+    if (ret == 0 && sz > 0) {
+        ret = ccmEncryptBlocks(&ccm->aes, ccm->ks, ccm->ctr, AES_BLOCK_SIZE);
+        ccmCtrInc(ccm->ctr, ccm->lenSz);
+        ccm->ksUsed = 0;
+        while (ret == 0 && sz > 0) {
+            *out++ = *in++ ^ ccm->ks[ccm->ksUsed++];
+            sz--;
+        }
+    }
+
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(ctrs, sizeof(ctrs));
+#else
+    XMEMSET(ctrs, 0, sizeof(ctrs));
+#endif
+
+    return ret;
+}
+
+#endif /* WOLFCRYPTJNI_AESCCM_STREAM */
+
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_mallocNativeStruct_1internal
   (JNIEnv* env, jobject this)
 {
@@ -43,12 +246,13 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_mallocNativeStruct_1in
     Aes* aes = NULL;
     (void)this;
 
-    aes = (Aes*)XMALLOC(sizeof(Aes), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    /* Allocate AesCcmJni, starts with Aes, to hold streaming state */
+    aes = (Aes*)nativeStructAlloc(sizeof(AesCcmJni));
     if (aes == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Aes object");
     }
     else {
-        XMEMSET(aes, 0, sizeof(Aes));
+        XMEMSET(aes, 0, sizeof(AesCcmJni));
     }
 
     LogStr("new AesCcm() = %p\n", aes);
@@ -61,6 +265,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_mallocNativeStruct_1in
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifndef NO_AES
+    Aes* aes = (Aes*)(uintptr_t)ptr;
+
+    LogStr("AesCcm freeNativeStruct(aes=%p)\n", aes);
+
+    if (aes != NULL) {
+        wc_AesFree(aes);
+        nativeStructFree(aes);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesInit
   (JNIEnv* env, jobject this)
 {
@@ -102,6 +327,20 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesFree
 
     wc_AesFree(aes);
 
+    /* Zeroize expanded key schedule before the struct is freed, contexts
+     * may be long lived in the JCE AES key cache */
+    if (aes != NULL) {
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(aes, sizeof(Aes));
+    #else
+        XMEMSET(aes, 0, sizeof(Aes));
+    #endif
+    }
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+    ccmStreamClear((AesCcmJni*)aes);
+#endif
+
     LogStr("wc_AesFree(aes=%p)\n", aes);
 #else
     (void)this;
@@ -414,3 +653,332 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmDecrypt
 #endif
 }
 
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamInit
+  (JNIEnv* env, jobject this, jboolean encrypt, jbyteArray nonceArr, jint authTagSz, jlong dataLen, jbyteArray authInArr)
+{
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+    int ret = 0;
+    AesCcmJni* ccm = NULL;
+    byte* nonce = NULL;
+    byte* authIn = NULL;
+    word32 nonceSz = 0;
+    word32 authInSz = 0;
+    word32 lenSz = 0;
+    word32 hdrSz = 0;
+    word32 i = 0;
+    word64 len = 0;
+    byte hdr[AES_BLOCK_SIZE];
+
+    ccm = (AesCcmJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    nonce = getByteArray(env, nonceArr);
+    nonceSz = getByteArrayLength(env, nonceArr);
+    authIn = getByteArray(env, authInArr);
+    authInSz = getByteArrayLength(env, authInArr);
+
+    if (ccm == NULL || nonce == NULL || nonceSz < 7 || nonceSz > 13 ||
+        authTagSz < 4 || authTagSz > AES_BLOCK_SIZE ||
+        (authTagSz % 2) != 0 || dataLen < 0 ||
+        (authInSz > 0 && authIn == NULL)) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        ccmStreamClear(ccm);
+
+        /* Message length must fit in length field of L bytes */
+        lenSz = AES_BLOCK_SIZE - 1 - nonceSz;
+        if (lenSz < 8 && ((word64)dataLen >> (8 * lenSz)) != 0) {
+            ret = BAD_FUNC_ARG;
+        }
+    }
+
+    if (ret == 0) {
+        /* B0 = flags || nonce || message length, RFC 3610 section 2.2 */
+        XMEMSET(hdr, 0, sizeof(hdr));
+        hdr[0] = (byte)(((authInSz > 0) ? 0x40 : 0x00) |
+                        (((authTagSz - 2) / 2) << 3) | (lenSz - 1));
+        XMEMCPY(hdr + 1, nonce, nonceSz);
+        len = (word64)dataLen;
+        for (i = 0; i < lenSz; i++) {
+            hdr[AES_BLOCK_SIZE - 1 - i] = (byte)(len & 0xFF);
+            len >>= 8;
+        }
+        ret = ccmEncryptBlocks(&ccm->aes, ccm->mac, hdr, AES_BLOCK_SIZE);
+    }
+
+    if (ret == 0 && authInSz > 0) {
+        /* Encoded AAD length followed by AAD, zero padded */
+        if (authInSz < 0xFF00) {
+            hdr[0] = (byte)(authInSz >> 8);
+            hdr[1] = (byte)(authInSz);
+            hdrSz = 2;
+        }
+        else {
+            hdr[0] = 0xFF;
+            hdr[1] = 0xFE;
+            hdr[2] = (byte)(authInSz >> 24);
+            hdr[3] = (byte)(authInSz >> 16);
+            hdr[4] = (byte)(authInSz >> 8);
+            hdr[5] = (byte)(authInSz);
+            hdrSz = 6;
+        }
+        ret = ccmMacUpdate(ccm, hdr, hdrSz);
+        if (ret == 0) {
+            ret = ccmMacUpdate(ccm, authIn, authInSz);
+        }
+        if (ret == 0) {
+            ret = ccmMacFlush(ccm);
+        }
+    }
+
+    if (ret == 0) {
+        /* A0 = flags || nonce || 0, encrypted to mask the tag. Payload
+         * starts at counter 1. */
+        XMEMSET(ccm->ctr, 0, AES_BLOCK_SIZE);
+        ccm->ctr[0] = (byte)(lenSz - 1);
+        XMEMCPY(ccm->ctr + 1, nonce, nonceSz);
+        ret = ccmEncryptBlocks(&ccm->aes, ccm->s0, ccm->ctr, AES_BLOCK_SIZE);
+        ccmCtrInc(ccm->ctr, lenSz);
+    }
+
+    if (ret == 0) {
+        ccm->left = (word64)dataLen;
+        ccm->ksUsed = AES_BLOCK_SIZE;
+        ccm->tagSz = (word32)authTagSz;
+        ccm->lenSz = lenSz;
+        ccm->streamDir = (encrypt == JNI_TRUE) ?
+            CCM_STREAM_ENCRYPT : CCM_STREAM_DECRYPT;
+    }
+    else if (ccm != NULL) {
+        ccmStreamClear(ccm);
+    }
+
+    releaseByteArray(env, nonceArr, nonce, JNI_ABORT);
+    releaseByteArray(env, authInArr, authIn, JNI_ABORT);
+
+    LogStr("wc_AesCcmStreamInit(aes = %p, encrypt = %d, nonceSz = %d, "
+           "authTagSz = %d, authInSz = %d) = %d\n", ccm, encrypt, nonceSz,
+           authTagSz, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+#else
+    (void)this;
+    (void)encrypt;
+    (void)nonceArr;
+    (void)authTagSz;
+    (void)dataLen;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamUpdate
+  (JNIEnv* env, jobject this, jboolean encrypt, jbyteArray inputArr, jint offset, jint length)
+{
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+    int ret = 0;
+    AesCcmJni* ccm = NULL;
+    word32 inLen = 0;
+    word32 done = 0;
+    word32 n = 0;
+    jbyteArray outArr = NULL;
+    byte buf[4096];
+
+    ccm = (AesCcmJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return NULL;
+    }
+
+    inLen = getByteArrayLength(env, inputArr);
+
+    if (ccm == NULL || offset < 0 || length < 0 ||
+        (length > 0 && inputArr == NULL) ||
+        (word32)length > inLen || (word32)offset > inLen - (word32)length) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (ccm->streamDir != ((encrypt == JNI_TRUE) ?
+             CCM_STREAM_ENCRYPT : CCM_STREAM_DECRYPT)) {
+        ret = BAD_STATE_E;
+    }
+    else if ((word64)length > ccm->left) {
+        /* More data than declared at init */
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        outArr = (*env)->NewByteArray(env, length);
+        if (outArr == NULL) {
+            ret = MEMORY_E;
+        }
+    }
+
+    /* Process in stack sized pieces, input is read before output of the
+     * same piece is written, so input and output never alias here */
+    while (ret == 0 && done < (word32)length) {
+        n = (word32)length - done;
+        if (n > sizeof(buf)) {
+            n = sizeof(buf);
+        }
+        (*env)->GetByteArrayRegion(env, inputArr, offset + done, n,
+            (jbyte*)buf);
+
+        if (encrypt == JNI_TRUE) {
+            ret = ccmMacUpdate(ccm, buf, n);
+            if (ret == 0) {
+                ret = ccmCtrXor(ccm, buf, buf, n);
+            }
+        }
+        else {
+            ret = ccmCtrXor(ccm, buf, buf, n);
+            if (ret == 0) {
+                ret = ccmMacUpdate(ccm, buf, n);
+            }
+        }
+
+        if (ret == 0) {
+            (*env)->SetByteArrayRegion(env, outArr, done, n, (jbyte*)buf);
+            if ((*env)->ExceptionOccurred(env)) {
+                (*env)->ExceptionDescribe(env);
+                (*env)->ExceptionClear(env);
+                ret = -1;
+            }
+        }
+        done += n;
+    }
+
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(buf, sizeof(buf));
+#else
+    XMEMSET(buf, 0, sizeof(buf));
+#endif
+
+    if (ret == 0) {
+        ccm->left -= (word64)length;
+    }
+    else {
+        /* Stream state is unusable after a failure */
+        if (ccm != NULL && ret != BAD_STATE_E) {
+            ccmStreamClear(ccm);
+        }
+        if (outArr != NULL) {
+            (*env)->DeleteLocalRef(env, outArr);
+            outArr = NULL;
+        }
+    }
+
+    LogStr("wc_AesCcmStreamUpdate(aes = %p, encrypt = %d, length = %d) "
+           "= %d\n", ccm, encrypt, length, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return NULL;
+    }
+
+    return outArr;
+#else
+    (void)this;
+    (void)encrypt;
+    (void)inputArr;
+    (void)offset;
+    (void)length;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesCcm_wc_1AesCcmStreamFinal
+  (JNIEnv* env, jobject this, jboolean encrypt, jbyteArray authTagArr)
+{
+#ifdef WOLFCRYPTJNI_AESCCM_STREAM
+    int ret = 0;
+    AesCcmJni* ccm = NULL;
+    word32 tagSz = 0;
+    word32 i = 0;
+    byte diff = 0;
+    byte tag[AES_BLOCK_SIZE];
+    byte expected[AES_BLOCK_SIZE];
+
+    ccm = (AesCcmJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    tagSz = getByteArrayLength(env, authTagArr);
+
+    if (ccm == NULL || authTagArr == NULL) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (ccm->streamDir != ((encrypt == JNI_TRUE) ?
+             CCM_STREAM_ENCRYPT : CCM_STREAM_DECRYPT)) {
+        ret = BAD_STATE_E;
+    }
+    else if (ccm->left != 0) {
+        /* Less data than declared at init */
+        ret = BAD_STATE_E;
+    }
+    else if (tagSz != ccm->tagSz) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        ret = ccmMacFlush(ccm);
+    }
+
+    if (ret == 0) {
+        for (i = 0; i < tagSz; i++) {
+            tag[i] = ccm->mac[i] ^ ccm->s0[i];
+        }
+
+        if (encrypt == JNI_TRUE) {
+            (*env)->SetByteArrayRegion(env, authTagArr, 0, tagSz,
+                (jbyte*)tag);
+        }
+        else {
+            (*env)->GetByteArrayRegion(env, authTagArr, 0, tagSz,
+                (jbyte*)expected);
+            /* Constant time compare */
+            for (i = 0; i < tagSz; i++) {
+                diff |= (byte)(tag[i] ^ expected[i]);
+            }
+            if (diff != 0) {
+                ret = AES_CCM_AUTH_E;
+            }
+        }
+    }
+
+    /* Operation is finished or failed, either way state is dropped */
+    if (ccm != NULL) {
+        ccmStreamClear(ccm);
+    }
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(tag, sizeof(tag));
+#else
+    XMEMSET(tag, 0, sizeof(tag));
+#endif
+
+    LogStr("wc_AesCcmStreamFinal(aes = %p, encrypt = %d, tagSz = %d) = %d\n",
+           ccm, encrypt, tagSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+#else
+    (void)this;
+    (void)encrypt;
+    (void)authTagArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
@@ -43,7 +43,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCmac_mallocNativeStruct_1i
 #ifdef WOLFSSL_CMAC
     Cmac* cmac = NULL;
 
-    cmac = (Cmac*)XMALLOC(sizeof(Cmac), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    cmac = (Cmac*)nativeStructAlloc(sizeof(Cmac));
     if (cmac == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Cmac object");
         return (jlong)0;
@@ -41,7 +41,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCtr_mallocNativeStruct_1in
 #if !defined(NO_AES) && defined(WOLFSSL_AES_COUNTER)
     Aes* aes = NULL;
 
-    aes = (Aes*)XMALLOC(sizeof(Aes), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    aes = (Aes*)nativeStructAlloc(sizeof(Aes));
     if (aes == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate AesCtr object");
     }
@@ -58,7 +58,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesCts_mallocNativeStruct_1in
     !defined(WOLFSSL_NO_OPENSSL_AES_LOW_LEVEL_API)
     AesCtsCtx* ctx = NULL;
 
-    ctx = (AesCtsCtx*)XMALLOC(sizeof(AesCtsCtx), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    ctx = (AesCtsCtx*)nativeStructAlloc(sizeof(AesCtsCtx));
     if (ctx == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate AesCts object");
     }
@@ -43,7 +43,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_mallocNativeStruct_1in
     Aes* aes = NULL;
     (void)this;
 
-    aes = (Aes*)XMALLOC(sizeof(Aes), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    aes = (Aes*)nativeStructAlloc(sizeof(Aes));
     if (aes == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Aes object");
     }
@@ -61,6 +61,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_mallocNativeStruct_1in
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifndef NO_AES
+    Aes* aes = (Aes*)(uintptr_t)ptr;
+
+    LogStr("AesGcm freeNativeStruct(aes=%p)\n", aes);
+
+    if (aes != NULL) {
+        wc_AesFree(aes);
+        nativeStructFree(aes);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesInit
   (JNIEnv* env, jobject this)
 {
@@ -102,6 +123,17 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesFree
 
     wc_AesFree(aes);
 
+    /* Zeroize expanded key schedule and GHASH tables before the struct
+     * is freed, contexts may be long lived in the JCE AES key cache */
+    if (aes != NULL) {
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(aes, sizeof(Aes));
+    #else
+        XMEMSET(aes, 0, sizeof(Aes));
+    #endif
+    }
+
     LogStr("wc_AesFree(aes=%p)\n", aes);
 #else
     (void)this;
@@ -440,3 +472,560 @@ JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecrypt
 #endif
 }
 
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptInit
+  (JNIEnv* env, jobject this, jbyteArray ivArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && \
+    defined(WOLFSSL_AESGCM_STREAM) && \
+    !(defined(HAVE_FIPS) && FIPS_VERSION_GT(5,0) && \
+      !defined(WC_FIPS_AESGCM_ONE_SHOT_EXT_IV_ALLOWED))
+    int ret = 0;
+    Aes* aes = NULL;
+    const byte* iv = NULL;
+    word32 ivSz = 0;
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    if (ivArr != NULL) {
+        iv = (const byte*)(*env)->GetByteArrayElements(env, ivArr, NULL);
+        ivSz = (*env)->GetArrayLength(env, ivArr);
+    }
+
+    if (aes == NULL || iv == NULL || ivSz == 0) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* Key already set with wc_AesGcmSetKey(), pass NULL key */
+        ret = wc_AesGcmEncryptInit(aes, NULL, 0, iv, ivSz);
+    }
+
+    if (ivArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, ivArr, (jbyte*)iv, JNI_ABORT);
+    }
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_AesGcmEncryptInit(aes = %p, ivSz = %d) = %d\n",
+        aes, ivSz, ret);
+#else
+    /* wolfSSL FIPS builds that do not allow an external IV for AES-GCM
+     * encrypt also do not allow it for streaming, callers fall back to
+     * one-shot encrypt in that case */
+    (void)this;
+    (void)ivArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptInit
+  (JNIEnv* env, jobject this, jbyteArray ivArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+    int ret = 0;
+    Aes* aes = NULL;
+    const byte* iv = NULL;
+    word32 ivSz = 0;
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    if (ivArr != NULL) {
+        iv = (const byte*)(*env)->GetByteArrayElements(env, ivArr, NULL);
+        ivSz = (*env)->GetArrayLength(env, ivArr);
+    }
+
+    if (aes == NULL || iv == NULL || ivSz == 0) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* Key already set with wc_AesGcmSetKey(), pass NULL key */
+        ret = wc_AesGcmDecryptInit(aes, NULL, 0, iv, ivSz);
+    }
+
+    if (ivArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, ivArr, (jbyte*)iv, JNI_ABORT);
+    }
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_AesGcmDecryptInit(aes = %p, ivSz = %d) = %d\n",
+        aes, ivSz, ret);
+#else
+    (void)this;
+    (void)ivArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+/* Shared helper for streaming AES-GCM encrypt and decrypt update.
+ * Processes inLen bytes of inputArr starting at inOff, plus optional AAD,
+ * returning a new jbyteArray holding inLen bytes of output. */
+static jbyteArray AesGcmStreamUpdate(JNIEnv* env, jobject this,
+    jbyteArray inputArr, jint inOff, jint inLen, jbyteArray authInArr,
+    int encrypt)
+{
+    int ret = 0;
+    Aes* aes = NULL;
+    byte* in = NULL;
+    const byte* authIn = NULL;
+    word32 inArrLen = 0;
+    word32 authInSz = 0;
+    byte* out = NULL;
+    jbyteArray outArr = NULL;
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return NULL;
+    }
+
+    if (inputArr != NULL) {
+        in = (byte*)(*env)->GetByteArrayElements(env, inputArr, NULL);
+        inArrLen = (*env)->GetArrayLength(env, inputArr);
+    }
+    if (authInArr != NULL) {
+        authIn = (const byte*)(*env)->GetByteArrayElements(env,
+            authInArr, NULL);
+        authInSz = (*env)->GetArrayLength(env, authInArr);
+    }
+
+    if (aes == NULL || inOff < 0 || inLen < 0 ||
+        (inLen > 0 && in == NULL) ||
+        ((jlong)inOff + (jlong)inLen) > (jlong)inArrLen ||
+        ((authInSz > 0) && (authIn == NULL))) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0 && inLen > 0) {
+        out = (byte*)XMALLOC(inLen, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+        if (out == NULL) {
+            ret = MEMORY_E;
+        }
+        else {
+            XMEMSET(out, 0, inLen);
+        }
+    }
+
+    if (ret == 0) {
+        if (encrypt) {
+            ret = wc_AesGcmEncryptUpdate(aes, out,
+                (in == NULL) ? NULL : in + inOff, (word32)inLen,
+                authIn, authInSz);
+        }
+        else {
+            ret = wc_AesGcmDecryptUpdate(aes, out,
+                (in == NULL) ? NULL : in + inOff, (word32)inLen,
+                authIn, authInSz);
+        }
+    }
+
+    /* Create new jbyteArray to return output */
+    if (ret == 0) {
+        outArr = (*env)->NewByteArray(env, inLen);
+        if (outArr == NULL) {
+            ret = MEMORY_E;
+        }
+        else if (inLen > 0) {
+            (*env)->SetByteArrayRegion(env, outArr, 0, inLen, (jbyte*)out);
+            if ((*env)->ExceptionOccurred(env)) {
+                (*env)->ExceptionDescribe(env);
+                (*env)->ExceptionClear(env);
+                (*env)->DeleteLocalRef(env, outArr);
+                outArr = NULL;
+                ret = -1;
+            }
+        }
+    }
+
+    /* Release all byte arrays without changing original arrays */
+    if (inputArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, inputArr, (jbyte*)in,
+            JNI_ABORT);
+    }
+    if (authInArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, authInArr, (jbyte*)authIn,
+            JNI_ABORT);
+    }
+
+    if (out != NULL) {
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(out, inLen);
+    #else
+        XMEMSET(out, 0, inLen);
+    #endif
+        XFREE(out, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    }
+
+    LogStr("wc_AesGcm%sUpdate(aes = %p, inLen = %d, authInSz = %d) = %d\n",
+        encrypt ? "Encrypt" : "Decrypt", aes, inLen, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return NULL;
+    }
+
+    return outArr;
+}
+#endif /* !NO_AES && HAVE_AESGCM && WOLFSSL_AESGCM_STREAM */
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptUpdate
+  (JNIEnv* env, jobject this, jbyteArray inputArr, jint inOff, jint inLen,
+   jbyteArray authInArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+    return AesGcmStreamUpdate(env, this, inputArr, inOff, inLen,
+        authInArr, 1);
+#else
+    (void)this;
+    (void)inputArr;
+    (void)inOff;
+    (void)inLen;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptUpdate
+  (JNIEnv* env, jobject this, jbyteArray inputArr, jint inOff, jint inLen,
+   jbyteArray authInArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+    return AesGcmStreamUpdate(env, this, inputArr, inOff, inLen,
+        authInArr, 0);
+#else
+    (void)this;
+    (void)inputArr;
+    (void)inOff;
+    (void)inLen;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptFinal
+  (JNIEnv* env, jobject this, jbyteArray authTagArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+    int ret = 0;
+    Aes* aes = NULL;
+    byte* authTag = NULL;
+    word32 authTagSz = 0;
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    if (authTagArr != NULL) {
+        authTag = (byte*)(*env)->GetByteArrayElements(env, authTagArr, NULL);
+        authTagSz = (*env)->GetArrayLength(env, authTagArr);
+    }
+
+    if (aes == NULL || authTag == NULL || authTagSz == 0 ||
+        authTagSz > AES_BLOCK_SIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        ret = wc_AesGcmEncryptFinal(aes, authTag, authTagSz);
+    }
+
+    /* Commit authTag changes back to original Java array on success. */
+    if (authTagArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, authTagArr, (jbyte*)authTag,
+            (ret == 0) ? 0 : JNI_ABORT);
+    }
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_AesGcmEncryptFinal(aes = %p, authTagSz = %d) = %d\n",
+        aes, authTagSz, ret);
+#else
+    (void)this;
+    (void)authTagArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptFinal
+  (JNIEnv* env, jobject this, jbyteArray authTagArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM) && defined(WOLFSSL_AESGCM_STREAM)
+    int ret = 0;
+    Aes* aes = NULL;
+    const byte* authTag = NULL;
+    word32 authTagSz = 0;
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    if (authTagArr != NULL) {
+        authTag = (const byte*)(*env)->GetByteArrayElements(env,
+            authTagArr, NULL);
+        authTagSz = (*env)->GetArrayLength(env, authTagArr);
+    }
+
+    if (aes == NULL || authTag == NULL || authTagSz == 0 ||
+        authTagSz > AES_BLOCK_SIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        ret = wc_AesGcmDecryptFinal(aes, authTag, authTagSz);
+    }
+
+    if (authTagArr != NULL) {
+        (*env)->ReleaseByteArrayElements(env, authTagArr, (jbyte*)authTag,
+            JNI_ABORT);
+    }
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_AesGcmDecryptFinal(aes = %p, authTagSz = %d) = %d\n",
+        aes, authTagSz, ret);
+#else
+    (void)this;
+    (void)authTagArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+#if !defined(NO_AES) && defined(HAVE_AESGCM)
+/* Shared helper for one-shot AES-GCM encrypt and decrypt operating directly
+ * on direct ByteBuffer memory, avoiding intermediate native and Java array
+ * copies. Input and output may be the same memory (in-place), if they
+ * otherwise overlap a temporary output buffer is used. Returns number of
+ * bytes written to output, or throws WolfCryptException on error. */
+static jint AesGcmDirect(JNIEnv* env, jobject this,
+    jobject inBuf, jint inOff, jint inLen,
+    jobject outBuf, jint outOff, jbyteArray ivArr, jbyteArray authTagArr,
+    jbyteArray authInArr, int encrypt)
+{
+    int ret = 0;
+    Aes* aes = NULL;
+    byte* in = NULL;
+    byte* out = NULL;
+    byte* tmpOut = NULL;
+    byte* dst = NULL;
+    const byte* iv = NULL;
+    byte* authTag = NULL;
+    const byte* authIn = NULL;
+    word32 ivSz = 0;
+    word32 authTagSz = 0;
+    word32 authInSz = 0;
+
+#if defined(HAVE_FIPS) && FIPS_VERSION_GT(5,0) && \
+    !defined(WC_FIPS_AESGCM_ONE_SHOT_EXT_IV_ALLOWED)
+    byte ivOut[GCM_NONCE_MAX_SZ];
+#endif
+
+    aes = (Aes*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return 0;
+    }
+
+    in  = getDirectBufferAddress(env, inBuf);
+    out = getDirectBufferAddress(env, outBuf);
+
+    if (aes == NULL || inOff < 0 || inLen < 0 || outOff < 0 ||
+        (inLen > 0 && (in == NULL || out == NULL))) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (inLen > 0 &&
+             (((jlong)inOff + (jlong)inLen) >
+                 getDirectBufferLimit(env, inBuf) ||
+              ((jlong)outOff + (jlong)inLen) >
+                 getDirectBufferLimit(env, outBuf))) {
+        ret = BUFFER_E; /* buffer overflow check */
+    }
+
+    if (ret == 0) {
+        if (ivArr != NULL) {
+            iv = (const byte*)(*env)->GetByteArrayElements(env, ivArr, NULL);
+            ivSz = (*env)->GetArrayLength(env, ivArr);
+        }
+        if (authTagArr != NULL) {
+            authTag = (byte*)(*env)->GetByteArrayElements(env,
+                authTagArr, NULL);
+            authTagSz = (*env)->GetArrayLength(env, authTagArr);
+        }
+        if (authInArr != NULL) {
+            authIn = (const byte*)(*env)->GetByteArrayElements(env,
+                authInArr, NULL);
+            authInSz = (*env)->GetArrayLength(env, authInArr);
+        }
+
+        if (iv == NULL || ivSz == 0 || authTag == NULL || authTagSz == 0 ||
+            authTagSz > AES_BLOCK_SIZE ||
+            ((authInSz > 0) && (authIn == NULL))) {
+            ret = BAD_FUNC_ARG;
+        }
+    }
+
+    if (ret == 0 && inLen > 0) {
+        in += inOff;
+        out += outOff;
+        dst = out;
+
+        /* Exact in-place operation is supported natively, partially
+         * overlapping regions are not */
+        if ((in != out) && (in < out + inLen) && (out < in + inLen)) {
+            tmpOut = (byte*)XMALLOC(inLen, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+            if (tmpOut == NULL) {
+                ret = MEMORY_E;
+            }
+            else {
+                dst = tmpOut;
+            }
+        }
+    }
+
+    if (ret == 0) {
+        if (encrypt) {
+#if defined(HAVE_FIPS) && FIPS_VERSION_GT(5,0) && \
+    !defined(WC_FIPS_AESGCM_ONE_SHOT_EXT_IV_ALLOWED)
+            if (ivSz > GCM_NONCE_MAX_SZ) {
+                /* IV larger than ivOut, and not supported by FIPS */
+                ret = BAD_FUNC_ARG;
+            }
+            else {
+                ret = wc_AesGcmSetExtIV(aes, iv, ivSz);
+                if (ret == 0) {
+                    ret = wc_AesGcmEncrypt_ex(aes, dst, in, (word32)inLen,
+                        ivOut, ivSz, authTag, authTagSz, authIn, authInSz);
+                }
+            }
+#else
+            ret = wc_AesGcmEncrypt(aes, dst, in, (word32)inLen, iv, ivSz,
+                authTag, authTagSz, authIn, authInSz);
+#endif
+        }
+        else {
+            ret = wc_AesGcmDecrypt(aes, dst, in, (word32)inLen, iv, ivSz,
+                authTag, authTagSz, authIn, authInSz);
+        }
+
+        if (ret == 0 && tmpOut != NULL) {
+            XMEMCPY(out, tmpOut, inLen);
+        }
+        else if (ret != 0 && !encrypt && inLen > 0 && tmpOut == NULL) {
+            /* Do not leave unauthenticated plaintext in output */
+        #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+            !defined(WOLFSSL_NO_FORCE_ZERO)
+            wc_ForceZero(out, inLen);
+        #else
+            XMEMSET(out, 0, inLen);
+        #endif
+        }
+    }
+
+    /* Commit authTag changes back to original Java array on encrypt
+     * success, release all other arrays without changes */
+    if (authTagArr != NULL && authTag != NULL) {
+        (*env)->ReleaseByteArrayElements(env, authTagArr, (jbyte*)authTag,
+            (encrypt && ret == 0) ? 0 : JNI_ABORT);
+    }
+    if (ivArr != NULL && iv != NULL) {
+        (*env)->ReleaseByteArrayElements(env, ivArr, (jbyte*)iv, JNI_ABORT);
+    }
+    if (authInArr != NULL && authIn != NULL) {
+        (*env)->ReleaseByteArrayElements(env, authInArr, (jbyte*)authIn,
+            JNI_ABORT);
+    }
+
+    if (tmpOut != NULL) {
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(tmpOut, inLen);
+    #else
+        XMEMSET(tmpOut, 0, inLen);
+    #endif
+        XFREE(tmpOut, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    }
+
+    LogStr("wc_AesGcm%s direct(aes = %p, inLen = %d, ivSz = %d, "
+            "authTagSz = %d, authInSz = %d) = %d\n",
+            encrypt ? "Encrypt" : "Decrypt", aes, inLen, ivSz,
+            authTagSz, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return 0;
+    }
+
+    return inLen;
+}
+#endif /* !NO_AES && HAVE_AESGCM */
+
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmEncryptDirect
+  (JNIEnv* env, jobject this, jobject inBuf, jint inOff, jint inLen,
+   jobject outBuf, jint outOff, jbyteArray ivArr, jbyteArray authTagArr,
+   jbyteArray authInArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM)
+    return AesGcmDirect(env, this, inBuf, inOff, inLen, outBuf, outOff,
+        ivArr, authTagArr, authInArr, 1);
+#else
+    (void)this;
+    (void)inBuf;
+    (void)inOff;
+    (void)inLen;
+    (void)outBuf;
+    (void)outOff;
+    (void)ivArr;
+    (void)authTagArr;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return 0;
+#endif
+}
+
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_AesGcm_wc_1AesGcmDecryptDirect
+  (JNIEnv* env, jobject this, jobject inBuf, jint inOff, jint inLen,
+   jobject outBuf, jint outOff, jbyteArray ivArr, jbyteArray authTagArr,
+   jbyteArray authInArr)
+{
+#if !defined(NO_AES) && defined(HAVE_AESGCM)
+    return AesGcmDirect(env, this, inBuf, inOff, inLen, outBuf, outOff,
+        ivArr, authTagArr, authInArr, 0);
+#else
+    (void)this;
+    (void)inBuf;
+    (void)inOff;
+    (void)inLen;
+    (void)outBuf;
+    (void)outOff;
+    (void)ivArr;
+    (void)authTagArr;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return 0;
+#endif
+}
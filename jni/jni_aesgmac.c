@@ -42,7 +42,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_AesGmac_mallocNativeStruct_1i
 #ifdef HAVE_AESGCM
     Gmac* gmac = NULL;
 
-    gmac = (Gmac*)XMALLOC(sizeof(Gmac), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    gmac = (Gmac*)nativeStructAlloc(sizeof(Gmac));
     if (gmac == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Gmac object");
         return (jlong)0;
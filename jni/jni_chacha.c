@@ -46,7 +46,7 @@ Java_com_wolfssl_wolfcrypt_Chacha_mallocNativeStruct(
 #ifdef HAVE_CHACHA
     ChaCha* chacha = NULL;
 
-    chacha = (ChaCha*)XMALLOC(sizeof(ChaCha), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    chacha = (ChaCha*)nativeStructAlloc(sizeof(ChaCha));
     if (chacha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate ChaCha object");
     }
@@ -0,0 +1,670 @@
+/* jni_chacha20poly1305.c
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+#include <stdint.h>
+
+#ifdef WOLFSSL_USER_SETTINGS
+    #include <wolfssl/wolfcrypt/settings.h>
+#elif !defined(__ANDROID__)
+    #include <wolfssl/options.h>
+#endif
+#include <wolfssl/version.h>
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    #include <wolfssl/wolfcrypt/chacha20_poly1305.h>
+#endif
+#include <wolfssl/wolfcrypt/error-crypt.h>
+#include <wolfssl/wolfcrypt/memory.h>
+
+#include <com_wolfssl_wolfcrypt_ChaCha20Poly1305.h>
+#include <wolfcrypt_jni_NativeStruct.h>
+#include <wolfcrypt_jni_error.h>
+
+/* #define WOLFCRYPT_JNI_DEBUG_ON */
+#include <wolfcrypt_jni_debug.h>
+
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+
+/* Native struct behind ChaCha20Poly1305 objects. wolfCrypt takes the key
+ * at wc_ChaCha20Poly1305_Init() time for each message, so it is kept here
+ * next to the streaming AEAD state instead of in Java. */
+typedef struct ChaChaPolyJni {
+    ChaChaPoly_Aead aead;
+    byte key[CHACHA20_POLY1305_AEAD_KEYSIZE];
+    int keySet;
+    int streamDir;      /* 0 none, 1 encrypt, 2 decrypt */
+} ChaChaPolyJni;
+
+#define CCP_STREAM_NONE    0
+#define CCP_STREAM_ENCRYPT 1
+#define CCP_STREAM_DECRYPT 2
+
+static void ccpZero(void* mem, word32 sz)
+{
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(mem, sz);
+#else
+    XMEMSET(mem, 0, sz);
+#endif
+}
+
+#endif /* HAVE_CHACHA && HAVE_POLY1305 */
+
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_mallocNativeStruct_1internal
+  (JNIEnv* env, jobject this)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    ChaChaPolyJni* ccp = NULL;
+    (void)this;
+
+    ccp = (ChaChaPolyJni*)nativeStructAlloc(sizeof(ChaChaPolyJni));
+    if (ccp == NULL) {
+        throwOutOfMemoryException(env,
+            "Failed to allocate ChaCha20Poly1305 object");
+    }
+    else {
+        XMEMSET(ccp, 0, sizeof(ChaChaPolyJni));
+    }
+
+    LogStr("new ChaCha20Poly1305() = %p\n", ccp);
+
+    return (jlong)(uintptr_t)ccp;
+#else
+    (void)this;
+    throwNotCompiledInException(env);
+    return (jlong)0;
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Free
+  (JNIEnv* env, jobject this)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    ChaChaPolyJni* ccp = NULL;
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    /* No native free API, zeroize key and AEAD state before release */
+    if (ccp != NULL) {
+        ccpZero(ccp, sizeof(ChaChaPolyJni));
+    }
+
+    LogStr("ChaCha20Poly1305 free(ccp=%p)\n", ccp);
+#else
+    (void)this;
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305SetKey
+  (JNIEnv* env, jobject this, jbyteArray keyArr)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* key = NULL;
+    word32 keySz = 0;
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    key = getByteArray(env, keyArr);
+    keySz = getByteArrayLength(env, keyArr);
+
+    if (ccp == NULL || key == NULL ||
+        keySz != CHACHA20_POLY1305_AEAD_KEYSIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* Abandon any streaming operation using the old key */
+        ccpZero(&ccp->aead, sizeof(ccp->aead));
+        ccp->streamDir = CCP_STREAM_NONE;
+        XMEMCPY(ccp->key, key, CHACHA20_POLY1305_AEAD_KEYSIZE);
+        ccp->keySet = 1;
+    }
+
+    releaseByteArray(env, keyArr, key, JNI_ABORT);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("ChaCha20Poly1305 setKey(ccp=%p) = %d\n", ccp, ret);
+#else
+    (void)this;
+    (void)keyArr;
+    throwNotCompiledInException(env);
+#endif
+}
+
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+/* Shared helper for one-shot byte array encrypt and decrypt. Returns new
+ * jbyteArray holding output, same length as input. */
+static jbyteArray ChaChaPolyOneShot(JNIEnv* env, jobject this,
+    jbyteArray inputArr, jbyteArray ivArr, jbyteArray authTagArr,
+    jbyteArray authInArr, int encrypt)
+{
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* in = NULL;
+    byte* iv = NULL;
+    byte* authTag = NULL;
+    byte* authIn = NULL;
+    word32 inSz = 0;
+    word32 ivSz = 0;
+    word32 authTagSz = 0;
+    word32 authInSz = 0;
+    byte* out = NULL;
+    byte empty[1];
+    jbyteArray outArr = NULL;
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return NULL;
+    }
+
+    in = getByteArray(env, inputArr);
+    inSz = getByteArrayLength(env, inputArr);
+    iv = getByteArray(env, ivArr);
+    ivSz = getByteArrayLength(env, ivArr);
+    authTag = getByteArray(env, authTagArr);
+    authTagSz = getByteArrayLength(env, authTagArr);
+    authIn = getByteArray(env, authInArr);
+    authInSz = getByteArrayLength(env, authInArr);
+
+    if (ccp == NULL || !ccp->keySet || (inSz > 0 && in == NULL) ||
+        iv == NULL || ivSz != CHACHA20_POLY1305_AEAD_IV_SIZE ||
+        authTag == NULL ||
+        authTagSz != CHACHA20_POLY1305_AEAD_AUTHTAG_SIZE ||
+        (authInSz > 0 && authIn == NULL)) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0 && inSz > 0) {
+        out = (byte*)XMALLOC(inSz, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+        if (out == NULL) {
+            ret = MEMORY_E;
+        }
+    }
+
+    if (ret == 0) {
+        /* wolfCrypt rejects NULL data pointers, even for zero length */
+        if (encrypt) {
+            ret = wc_ChaCha20Poly1305_Encrypt(ccp->key, iv,
+                authIn, authInSz, (inSz > 0) ? in : empty, inSz,
+                (inSz > 0) ? out : empty, authTag);
+        }
+        else {
+            ret = wc_ChaCha20Poly1305_Decrypt(ccp->key, iv,
+                authIn, authInSz, (inSz > 0) ? in : empty, inSz,
+                authTag, (inSz > 0) ? out : empty);
+        }
+    }
+
+    if (ret == 0) {
+        outArr = (*env)->NewByteArray(env, inSz);
+        if (outArr == NULL) {
+            ret = MEMORY_E;
+        }
+        else if (inSz > 0) {
+            (*env)->SetByteArrayRegion(env, outArr, 0, inSz, (jbyte*)out);
+            if ((*env)->ExceptionOccurred(env)) {
+                (*env)->ExceptionDescribe(env);
+                (*env)->ExceptionClear(env);
+                (*env)->DeleteLocalRef(env, outArr);
+                outArr = NULL;
+                ret = -1;
+            }
+        }
+    }
+
+    /* Commit authTag back to Java array on encrypt success only */
+    releaseByteArray(env, authTagArr, authTag,
+        (encrypt && ret == 0) ? 0 : JNI_ABORT);
+    releaseByteArray(env, inputArr, in, JNI_ABORT);
+    releaseByteArray(env, ivArr, iv, JNI_ABORT);
+    releaseByteArray(env, authInArr, authIn, JNI_ABORT);
+
+    if (out != NULL) {
+        ccpZero(out, inSz);
+        XFREE(out, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    }
+
+    LogStr("wc_ChaCha20Poly1305_%s(ccp = %p, inSz = %d, authInSz = %d) "
+        "= %d\n", encrypt ? "Encrypt" : "Decrypt", ccp, inSz, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return NULL;
+    }
+
+    return outArr;
+}
+#endif /* HAVE_CHACHA && HAVE_POLY1305 */
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Encrypt
+  (JNIEnv* env, jobject this, jbyteArray inputArr, jbyteArray ivArr,
+   jbyteArray authTagArr, jbyteArray authInArr)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    return ChaChaPolyOneShot(env, this, inputArr, ivArr, authTagArr,
+        authInArr, 1);
+#else
+    (void)this;
+    (void)inputArr;
+    (void)ivArr;
+    (void)authTagArr;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Decrypt
+  (JNIEnv* env, jobject this, jbyteArray inputArr, jbyteArray ivArr,
+   jbyteArray authTagArr, jbyteArray authInArr)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    return ChaChaPolyOneShot(env, this, inputArr, ivArr, authTagArr,
+        authInArr, 0);
+#else
+    (void)this;
+    (void)inputArr;
+    (void)ivArr;
+    (void)authTagArr;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+/* ChaCha20-Poly1305 encrypt or decrypt over direct ByteBuffer memory
+ * without intermediate copies. Input and output may be the same memory
+ * (in-place), if they otherwise overlap a temporary output buffer is used.
+ * Returns number of bytes written to output, or throws WolfCryptException
+ * on error. */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Direct
+  (JNIEnv* env, jobject this, jobject inBuf, jint inOff, jint inLen,
+   jobject outBuf, jint outOff, jbyteArray ivArr, jbyteArray authTagArr,
+   jbyteArray authInArr, jboolean encrypt)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* in = NULL;
+    byte* out = NULL;
+    byte* tmpOut = NULL;
+    byte* dst = NULL;
+    byte* iv = NULL;
+    byte* authTag = NULL;
+    byte* authIn = NULL;
+    word32 ivSz = 0;
+    word32 authTagSz = 0;
+    word32 authInSz = 0;
+    byte empty[1];
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return 0;
+    }
+
+    in  = getDirectBufferAddress(env, inBuf);
+    out = getDirectBufferAddress(env, outBuf);
+
+    if (ccp == NULL || !ccp->keySet || inOff < 0 || inLen < 0 ||
+        outOff < 0 || (inLen > 0 && (in == NULL || out == NULL))) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (inLen > 0 &&
+             (((jlong)inOff + (jlong)inLen) >
+                 getDirectBufferLimit(env, inBuf) ||
+              ((jlong)outOff + (jlong)inLen) >
+                 getDirectBufferLimit(env, outBuf))) {
+        ret = BUFFER_E; /* buffer overflow check */
+    }
+
+    if (ret == 0) {
+        iv = getByteArray(env, ivArr);
+        ivSz = getByteArrayLength(env, ivArr);
+        authTag = getByteArray(env, authTagArr);
+        authTagSz = getByteArrayLength(env, authTagArr);
+        authIn = getByteArray(env, authInArr);
+        authInSz = getByteArrayLength(env, authInArr);
+
+        if (iv == NULL || ivSz != CHACHA20_POLY1305_AEAD_IV_SIZE ||
+            authTag == NULL ||
+            authTagSz != CHACHA20_POLY1305_AEAD_AUTHTAG_SIZE ||
+            (authInSz > 0 && authIn == NULL)) {
+            ret = BAD_FUNC_ARG;
+        }
+    }
+
+    if (ret == 0) {
+        if (inLen > 0) {
+            in += inOff;
+            out += outOff;
+            dst = out;
+
+            /* Exact in-place operation is supported natively, partially
+             * overlapping regions are not */
+            if ((in != out) && (in < out + inLen) && (out < in + inLen)) {
+                tmpOut = (byte*)XMALLOC(inLen, NULL,
+                    DYNAMIC_TYPE_TMP_BUFFER);
+                if (tmpOut == NULL) {
+                    ret = MEMORY_E;
+                }
+                else {
+                    dst = tmpOut;
+                }
+            }
+        }
+        else {
+            /* wolfCrypt rejects NULL data pointers, even for zero length */
+            in = empty;
+            dst = empty;
+        }
+    }
+
+    if (ret == 0) {
+        if (encrypt == JNI_TRUE) {
+            ret = wc_ChaCha20Poly1305_Encrypt(ccp->key, iv, authIn,
+                authInSz, in, (word32)inLen, dst, authTag);
+        }
+        else {
+            ret = wc_ChaCha20Poly1305_Decrypt(ccp->key, iv, authIn,
+                authInSz, in, (word32)inLen, authTag, dst);
+        }
+
+        if (ret == 0 && tmpOut != NULL) {
+            XMEMCPY(out, tmpOut, inLen);
+        }
+        else if (ret != 0 && encrypt != JNI_TRUE && inLen > 0 &&
+                 tmpOut == NULL) {
+            /* Do not leave unauthenticated plaintext in output */
+            ccpZero(out, (word32)inLen);
+        }
+    }
+
+    /* Commit authTag back to Java array on encrypt success only */
+    releaseByteArray(env, authTagArr, authTag,
+        (encrypt == JNI_TRUE && ret == 0) ? 0 : JNI_ABORT);
+    releaseByteArray(env, ivArr, iv, JNI_ABORT);
+    releaseByteArray(env, authInArr, authIn, JNI_ABORT);
+
+    if (tmpOut != NULL) {
+        ccpZero(tmpOut, (word32)inLen);
+        XFREE(tmpOut, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    }
+
+    LogStr("wc_ChaCha20Poly1305_%s direct(ccp = %p, inLen = %d, "
+        "authInSz = %d) = %d\n", (encrypt == JNI_TRUE) ? "Encrypt" :
+        "Decrypt", ccp, inLen, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return 0;
+    }
+
+    return inLen;
+#else
+    (void)this;
+    (void)inBuf;
+    (void)inOff;
+    (void)inLen;
+    (void)outBuf;
+    (void)outOff;
+    (void)ivArr;
+    (void)authTagArr;
+    (void)authInArr;
+    (void)encrypt;
+    throwNotCompiledInException(env);
+    return 0;
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Init
+  (JNIEnv* env, jobject this, jbyteArray ivArr, jboolean encrypt)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* iv = NULL;
+    word32 ivSz = 0;
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    iv = getByteArray(env, ivArr);
+    ivSz = getByteArrayLength(env, ivArr);
+
+    if (ccp == NULL || !ccp->keySet || iv == NULL ||
+        ivSz != CHACHA20_POLY1305_AEAD_IV_SIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        ret = wc_ChaCha20Poly1305_Init(&ccp->aead, ccp->key, iv,
+            (encrypt == JNI_TRUE) ? CHACHA20_POLY1305_AEAD_ENCRYPT :
+                                    CHACHA20_POLY1305_AEAD_DECRYPT);
+    }
+
+    if (ccp != NULL) {
+        if (ret == 0) {
+            ccp->streamDir = (encrypt == JNI_TRUE) ?
+                CCP_STREAM_ENCRYPT : CCP_STREAM_DECRYPT;
+        }
+        else {
+            ccpZero(&ccp->aead, sizeof(ccp->aead));
+            ccp->streamDir = CCP_STREAM_NONE;
+        }
+    }
+
+    releaseByteArray(env, ivArr, iv, JNI_ABORT);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_ChaCha20Poly1305_Init(ccp = %p, encrypt = %d) = %d\n",
+        ccp, (encrypt == JNI_TRUE), ret);
+#else
+    (void)this;
+    (void)ivArr;
+    (void)encrypt;
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305Update
+  (JNIEnv* env, jobject this, jbyteArray inputArr, jint inOff, jint inLen,
+   jbyteArray authInArr)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* in = NULL;
+    byte* authIn = NULL;
+    word32 inArrLen = 0;
+    word32 authInSz = 0;
+    byte* out = NULL;
+    jbyteArray outArr = NULL;
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return NULL;
+    }
+
+    in = getByteArray(env, inputArr);
+    inArrLen = getByteArrayLength(env, inputArr);
+    authIn = getByteArray(env, authInArr);
+    authInSz = getByteArrayLength(env, authInArr);
+
+    if (ccp == NULL || inOff < 0 || inLen < 0 ||
+        (inLen > 0 && in == NULL) ||
+        ((jlong)inOff + (jlong)inLen) > (jlong)inArrLen ||
+        (authInSz > 0 && authIn == NULL)) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (ccp->streamDir == CCP_STREAM_NONE) {
+        ret = BAD_STATE_E;
+    }
+
+    if (ret == 0 && inLen > 0) {
+        out = (byte*)XMALLOC(inLen, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+        if (out == NULL) {
+            ret = MEMORY_E;
+        }
+    }
+
+    /* AAD must all come before data, wolfCrypt enforces the order */
+    if (ret == 0 && authInSz > 0) {
+        ret = wc_ChaCha20Poly1305_UpdateAad(&ccp->aead, authIn, authInSz);
+    }
+    if (ret == 0 && inLen > 0) {
+        ret = wc_ChaCha20Poly1305_UpdateData(&ccp->aead, in + inOff, out,
+            (word32)inLen);
+    }
+
+    if (ret == 0) {
+        outArr = (*env)->NewByteArray(env, inLen);
+        if (outArr == NULL) {
+            ret = MEMORY_E;
+        }
+        else if (inLen > 0) {
+            (*env)->SetByteArrayRegion(env, outArr, 0, inLen, (jbyte*)out);
+            if ((*env)->ExceptionOccurred(env)) {
+                (*env)->ExceptionDescribe(env);
+                (*env)->ExceptionClear(env);
+                (*env)->DeleteLocalRef(env, outArr);
+                outArr = NULL;
+                ret = -1;
+            }
+        }
+    }
+
+    releaseByteArray(env, inputArr, in, JNI_ABORT);
+    releaseByteArray(env, authInArr, authIn, JNI_ABORT);
+
+    if (out != NULL) {
+        ccpZero(out, (word32)inLen);
+        XFREE(out, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    }
+
+    LogStr("wc_ChaCha20Poly1305 update(ccp = %p, inLen = %d, "
+        "authInSz = %d) = %d\n", ccp, inLen, authInSz, ret);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+        return NULL;
+    }
+
+    return outArr;
+#else
+    (void)this;
+    (void)inputArr;
+    (void)inOff;
+    (void)inLen;
+    (void)authInArr;
+    throwNotCompiledInException(env);
+    return NULL;
+#endif
+}
+
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_ChaCha20Poly1305_wc_1ChaCha20Poly1305_1Final
+  (JNIEnv* env, jobject this, jbyteArray authTagArr, jboolean encrypt)
+{
+#if defined(HAVE_CHACHA) && defined(HAVE_POLY1305)
+    int ret = 0;
+    ChaChaPolyJni* ccp = NULL;
+    byte* authTag = NULL;
+    word32 authTagSz = 0;
+    byte calcTag[CHACHA20_POLY1305_AEAD_AUTHTAG_SIZE];
+
+    ccp = (ChaChaPolyJni*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, if so stop and return */
+        return;
+    }
+
+    authTag = getByteArray(env, authTagArr);
+    authTagSz = getByteArrayLength(env, authTagArr);
+
+    if (ccp == NULL || authTag == NULL ||
+        authTagSz != CHACHA20_POLY1305_AEAD_AUTHTAG_SIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+    else if (ccp->streamDir != ((encrypt == JNI_TRUE) ?
+             CCP_STREAM_ENCRYPT : CCP_STREAM_DECRYPT)) {
+        ret = BAD_STATE_E;
+    }
+
+    if (ret == 0) {
+        ret = wc_ChaCha20Poly1305_Final(&ccp->aead, calcTag);
+    }
+
+    if (ret == 0) {
+        if (encrypt == JNI_TRUE) {
+            XMEMCPY(authTag, calcTag, CHACHA20_POLY1305_AEAD_AUTHTAG_SIZE);
+        }
+        else {
+            /* Constant time compare, MAC_CMP_FAILED_E on mismatch */
+            ret = wc_ChaCha20Poly1305_CheckTag(authTag, calcTag);
+        }
+    }
+
+    /* Operation is finished whether or not it succeeded */
+    if (ccp != NULL && ret != BAD_FUNC_ARG && ret != BAD_STATE_E) {
+        ccpZero(&ccp->aead, sizeof(ccp->aead));
+        ccp->streamDir = CCP_STREAM_NONE;
+    }
+    ccpZero(calcTag, sizeof(calcTag));
+
+    /* Commit authTag back to Java array on encrypt success only */
+    releaseByteArray(env, authTagArr, authTag,
+        (encrypt == JNI_TRUE && ret == 0) ? 0 : JNI_ABORT);
+
+    if (ret != 0) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_ChaCha20Poly1305_Final(ccp = %p, encrypt = %d) = %d\n",
+        ccp, (encrypt == JNI_TRUE), ret);
+#else
+    (void)this;
+    (void)authTagArr;
+    (void)encrypt;
+    throwNotCompiledInException(env);
+#endif
+}
@@ -51,8 +51,7 @@ Java_com_wolfssl_wolfcrypt_Curve25519_mallocNativeStruct(
 #ifdef HAVE_CURVE25519
     curve25519_key* key = NULL;
 
-    key = (curve25519_key*)XMALLOC(sizeof(curve25519_key), NULL,
-                DYNAMIC_TYPE_TMP_BUFFER);
+    key = (curve25519_key*)nativeStructAlloc(sizeof(curve25519_key));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Curve25519 object");
     }
@@ -70,6 +69,27 @@ Java_com_wolfssl_wolfcrypt_Curve25519_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Curve25519_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef HAVE_CURVE25519
+    curve25519_key* key = (curve25519_key*)(uintptr_t)ptr;
+
+    LogStr("Curve25519 freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_curve25519_free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1init(
     JNIEnv* env, jobject this)
@@ -464,3 +484,328 @@ Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1make_1shared_1secret(
     return result;
 }
 
+
+#if defined(HAVE_CURVE25519) && (defined(HAVE_CURVE25519_KEY_IMPORT) || \
+    defined(HAVE_CURVE25519_SHARED_SECRET))
+/* Byte index of the least and most significant byte of a 32 byte
+ * Curve25519 value in the given byte order. */
+#define CURVE25519_LSB(endian) \
+    (((endian) == EC25519_BIG_ENDIAN) ? (CURVE25519_KEYSIZE - 1) : 0)
+#define CURVE25519_MSB(endian) \
+    (((endian) == EC25519_BIG_ENDIAN) ? 0 : (CURVE25519_KEYSIZE - 1))
+#endif
+
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1import_1private_1ex(
+    JNIEnv* env, jobject this, jbyteArray priv_object, jint endian)
+{
+#if defined(HAVE_CURVE25519) && defined(HAVE_CURVE25519_KEY_IMPORT)
+    int ret = 0;
+    curve25519_key* curve25519 = NULL;
+    byte* priv = NULL;
+    word32 privSz = 0;
+    byte k[CURVE25519_KEYSIZE];
+
+    curve25519 = (curve25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return;
+    }
+    priv   = getByteArray(env, priv_object);
+    privSz = getByteArrayLength(env, priv_object);
+
+    if (!curve25519 || !priv || privSz != CURVE25519_KEYSIZE ||
+        (endian != EC25519_LITTLE_ENDIAN && endian != EC25519_BIG_ENDIAN)) {
+        ret = BAD_FUNC_ARG;
+    } else {
+        /* Clamp scalar as described in RFC 7748, native import may reject
+         * a private key that has not been clamped */
+        XMEMCPY(k, priv, CURVE25519_KEYSIZE);
+        k[CURVE25519_LSB(endian)] &= 248;
+        k[CURVE25519_MSB(endian)] &= 127;
+        k[CURVE25519_MSB(endian)] |= 64;
+
+        ret = wc_curve25519_import_private_ex(k, CURVE25519_KEYSIZE,
+            curve25519, endian);
+
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(k, sizeof(k));
+    #else
+        XMEMSET(k, 0, sizeof(k));
+    #endif
+    }
+
+    if (ret != 0)
+        throwWolfCryptExceptionFromError(env, ret);
+
+    LogStr("wc_curve25519_import_private_ex(curve25519=%p, endian=%d) = %d\n",
+        curve25519, endian, ret);
+
+    releaseByteArray(env, priv_object, priv, JNI_ABORT);
+#else
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1import_1public_1ex(
+    JNIEnv* env, jobject this, jbyteArray pub_object, jint endian)
+{
+#if defined(HAVE_CURVE25519) && defined(HAVE_CURVE25519_KEY_IMPORT)
+    int ret = 0;
+    curve25519_key* curve25519 = NULL;
+    byte* pub = NULL;
+    word32 pubSz = 0;
+
+    curve25519 = (curve25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return;
+    }
+    pub   = getByteArray(env, pub_object);
+    pubSz = getByteArrayLength(env, pub_object);
+
+    if (!curve25519 || !pub ||
+        (endian != EC25519_LITTLE_ENDIAN && endian != EC25519_BIG_ENDIAN)) {
+        ret = BAD_FUNC_ARG;
+    } else {
+        ret = wc_curve25519_import_public_ex(pub, pubSz, curve25519, endian);
+    }
+
+    if (ret != 0)
+        throwWolfCryptExceptionFromError(env, ret);
+
+    LogStr("wc_curve25519_import_public_ex(curve25519=%p, endian=%d) = %d\n",
+        curve25519, endian, ret);
+
+    releaseByteArray(env, pub_object, pub, JNI_ABORT);
+#else
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL
+Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1export_1private_1ex(
+    JNIEnv* env, jobject this, jint endian)
+{
+    jbyteArray result = NULL;
+
+#ifdef HAVE_CURVE25519_KEY_EXPORT
+    int ret = 0;
+    curve25519_key* curve25519 = NULL;
+    byte output[CURVE25519_KEYSIZE];
+    word32 outputSz = CURVE25519_KEYSIZE;
+
+    curve25519 = (curve25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return NULL;
+    }
+
+    if (curve25519 == NULL ||
+        (endian != EC25519_LITTLE_ENDIAN && endian != EC25519_BIG_ENDIAN)) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return NULL;
+    }
+
+    ret = wc_curve25519_export_private_raw_ex(curve25519, output, &outputSz,
+        endian);
+
+    if (ret == 0) {
+        result = (*env)->NewByteArray(env, outputSz);
+
+        if (result) {
+            (*env)->SetByteArrayRegion(env, result, 0, outputSz,
+                                                         (const jbyte*) output);
+        } else {
+            throwWolfCryptException(env, "Failed to allocate key");
+        }
+    } else {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_curve25519_export_private_raw_ex(curve25519, endian=%d) = %d\n",
+        endian, ret);
+
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(output, sizeof(output));
+    #else
+        XMEMSET(output, 0, sizeof(output));
+    #endif
+#else
+    (void)endian;
+    throwNotCompiledInException(env);
+#endif
+
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL
+Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1export_1public_1ex(
+    JNIEnv* env, jobject this, jint endian)
+{
+    jbyteArray result = NULL;
+
+#ifdef HAVE_CURVE25519_KEY_EXPORT
+    int ret = 0;
+    curve25519_key* curve25519 = NULL;
+    byte output[CURVE25519_KEYSIZE];
+    word32 outputSz = CURVE25519_KEYSIZE;
+
+    curve25519 = (curve25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return NULL;
+    }
+
+    if (curve25519 == NULL ||
+        (endian != EC25519_LITTLE_ENDIAN && endian != EC25519_BIG_ENDIAN)) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return NULL;
+    }
+
+    ret = wc_curve25519_export_public_ex(curve25519, output, &outputSz,
+        endian);
+
+    if (ret == 0) {
+        result = (*env)->NewByteArray(env, outputSz);
+
+        if (result) {
+            (*env)->SetByteArrayRegion(env, result, 0, outputSz,
+                                                         (const jbyte*) output);
+        } else {
+            throwWolfCryptException(env, "Failed to allocate key");
+        }
+    } else {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_curve25519_export_public_ex(curve25519, endian=%d) = %d\n",
+        endian, ret);
+#else
+    (void)endian;
+    throwNotCompiledInException(env);
+#endif
+
+    return result;
+}
+
+JNIEXPORT jbyteArray JNICALL
+Java_com_wolfssl_wolfcrypt_Curve25519_wc_1curve25519_1shared_1secret_1raw(
+    JNIEnv* env, jobject this, jbyteArray pub_object, jint endian)
+{
+    jbyteArray result = NULL;
+
+#if defined(HAVE_CURVE25519_SHARED_SECRET) && \
+    defined(HAVE_CURVE25519_KEY_IMPORT)
+    int ret = 0;
+    int i;
+    int peerInit = 0;
+    curve25519_key* curve25519 = NULL;
+    curve25519_key peer;
+    byte* pub = NULL;
+    word32 pubSz = 0;
+    byte u[CURVE25519_KEYSIZE];
+    byte output[CURVE25519_KEYSIZE];
+    word32 outputSz = CURVE25519_KEYSIZE;
+    byte acc = 0;
+
+    curve25519 = (curve25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return NULL;
+    }
+    pub   = getByteArray(env, pub_object);
+    pubSz = getByteArrayLength(env, pub_object);
+
+    if (curve25519 == NULL || pub == NULL || pubSz != CURVE25519_KEYSIZE ||
+        (endian != EC25519_LITTLE_ENDIAN && endian != EC25519_BIG_ENDIAN)) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* RFC 7748: mask most significant bit of u, then reduce values
+         * in [p, 2^255) to canonical form. u is public, no need for
+         * constant time here. */
+        XMEMCPY(u, pub, CURVE25519_KEYSIZE);
+        u[CURVE25519_MSB(endian)] &= 0x7F;
+
+        if (u[CURVE25519_MSB(endian)] == 0x7F &&
+            u[CURVE25519_LSB(endian)] >= 0xED) {
+            for (i = 1; i < CURVE25519_KEYSIZE - 1; i++) {
+                if (u[(endian == EC25519_BIG_ENDIAN) ? i :
+                        (CURVE25519_KEYSIZE - 1 - i)] != 0xFF) {
+                    break;
+                }
+            }
+            if (i == CURVE25519_KEYSIZE - 1) {
+                byte low = (byte)(u[CURVE25519_LSB(endian)] - 0xED);
+                XMEMSET(u, 0, CURVE25519_KEYSIZE);
+                u[CURVE25519_LSB(endian)] = low;
+            }
+        }
+
+        ret = wc_curve25519_init(&peer);
+        if (ret == 0) {
+            peerInit = 1;
+        }
+    }
+
+    if (ret == 0) {
+        ret = wc_curve25519_import_public_ex(u, CURVE25519_KEYSIZE, &peer,
+            endian);
+    }
+
+    if (ret == 0) {
+        ret = wc_curve25519_shared_secret_ex(curve25519, &peer, output,
+            &outputSz, endian);
+    }
+
+    if (ret == 0) {
+        /* Reject all-zero shared secret from small order peer point,
+         * checked in constant time */
+        for (i = 0; i < (int)outputSz; i++) {
+            acc |= output[i];
+        }
+        if (acc == 0) {
+            ret = ECC_OUT_OF_RANGE_E;
+        }
+    }
+
+    if (ret == 0) {
+        result = (*env)->NewByteArray(env, outputSz);
+
+        if (result) {
+            (*env)->SetByteArrayRegion(env, result, 0, outputSz,
+                                                         (const jbyte*) output);
+        } else {
+            throwWolfCryptException(env, "Failed to allocate shared secret");
+        }
+    } else {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_curve25519_shared_secret_ex(priv, peer, endian=%d) = %d\n",
+        endian, ret);
+
+    if (peerInit) {
+        wc_curve25519_free(&peer);
+    }
+    #if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+        !defined(WOLFSSL_NO_FORCE_ZERO)
+        wc_ForceZero(output, sizeof(output));
+    #else
+        XMEMSET(output, 0, sizeof(output));
+    #endif
+
+    releaseByteArray(env, pub_object, pub, JNI_ABORT);
+#else
+    (void)pub_object;
+    (void)endian;
+    throwNotCompiledInException(env);
+#endif
+
+    return result;
+}
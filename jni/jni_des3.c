@@ -41,7 +41,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Des3_mallocNativeStruct(
 #ifndef NO_DES3
     Des3* des = NULL;
 
-    des = (Des3*) XMALLOC(sizeof(Des3), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    des = (Des3*) nativeStructAlloc(sizeof(Des3));
     if (des == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Des3 object");
     }
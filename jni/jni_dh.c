@@ -91,7 +91,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Dh_mallocNativeStruct_1intern
 #ifndef NO_DH
     DhKey* dh = NULL;
 
-    dh = (DhKey*)XMALLOC(sizeof(DhKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    dh = (DhKey*)nativeStructAlloc(sizeof(DhKey));
 
     if (dh == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Dh object");
@@ -110,6 +110,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Dh_mallocNativeStruct_1intern
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Dh_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifndef NO_DH
+    DhKey* key = (DhKey*)(uintptr_t)ptr;
+
+    LogStr("Dh freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_FreeDhKey(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Dh_wc_1InitDhKey(
     JNIEnv* env, jobject this)
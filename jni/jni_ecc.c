@@ -57,7 +57,7 @@ Java_com_wolfssl_wolfcrypt_Ecc_mallocNativeStruct(
 #ifdef HAVE_ECC
     ecc_key* ecc = NULL;
 
-    ecc = (ecc_key*)XMALLOC(sizeof(ecc_key), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    ecc = (ecc_key*)nativeStructAlloc(sizeof(ecc_key));
     if (ecc == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Ecc object");
     }
@@ -75,6 +75,27 @@ Java_com_wolfssl_wolfcrypt_Ecc_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ecc_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef HAVE_ECC
+    ecc_key* key = (ecc_key*)(uintptr_t)ptr;
+
+    LogStr("Ecc freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_ecc_free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Ecc_wc_1ecc_1init(
     JNIEnv* env, jobject this)
@@ -1043,6 +1064,112 @@ Java_com_wolfssl_wolfcrypt_Ecc_wc_1ecc_1verify_1hash(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Ecc_wc_1ecc_1verify_1hash_1batch(
+    JNIEnv* env, jclass jcl, jobjectArray keys_object,
+    jobjectArray hashes_object, jobjectArray signatures_object,
+    jbooleanArray results_object)
+{
+#ifdef HAVE_ECC_VERIFY
+    int ret = 0;
+    int status = 0;
+    jsize i = 0, count = 0;
+    ecc_key* ecc = NULL;
+    jobject key_object = NULL;
+    jobject prev_key_object = NULL;
+    jbyteArray hash_object = NULL;
+    jbyteArray signature_object = NULL;
+    byte* hash      = NULL;
+    byte* signature = NULL;
+    word32 hashSz = 0, signatureSz = 0;
+    jboolean result = JNI_FALSE;
+    (void)jcl;
+
+    if (keys_object == NULL || hashes_object == NULL ||
+        signatures_object == NULL || results_object == NULL) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    count = (*env)->GetArrayLength(env, keys_object);
+    if ((*env)->GetArrayLength(env, hashes_object) != count ||
+        (*env)->GetArrayLength(env, signatures_object) != count ||
+        (*env)->GetArrayLength(env, results_object) != count) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    /* Item failures are reported as not verified, not as exceptions.
+     * Caller holds the pointer lock of every key. */
+    for (i = 0; i < count; i++) {
+        status = 0;
+        key_object = (*env)->GetObjectArrayElement(env, keys_object, i);
+        if (prev_key_object != NULL &&
+            (*env)->IsSameObject(env, key_object, prev_key_object)) {
+            /* Items sharing a key are adjacent, reuse its struct */
+            (*env)->DeleteLocalRef(env, key_object);
+        }
+        else {
+            if (prev_key_object != NULL) {
+                (*env)->DeleteLocalRef(env, prev_key_object);
+            }
+            prev_key_object = key_object;
+            ecc = (ecc_key*) getNativeStruct(env, key_object);
+            if ((*env)->ExceptionOccurred(env)) {
+                /* getNativeStruct may throw exception, stop here */
+                break;
+            }
+        }
+
+        hash_object = (jbyteArray)(*env)->GetObjectArrayElement(env,
+            hashes_object, i);
+        signature_object = (jbyteArray)(*env)->GetObjectArrayElement(env,
+            signatures_object, i);
+
+        /* getByteArray() returns NULL with OutOfMemoryError pending when
+         * GetByteArrayElements fails, stop without further JNI calls. A
+         * NULL item without pending exception is reported as not
+         * verified. */
+        hash = getByteArray(env, hash_object);
+        if (hash == NULL && (*env)->ExceptionCheck(env)) {
+            break;
+        }
+        hashSz = getByteArrayLength(env, hash_object);
+
+        signature = getByteArray(env, signature_object);
+        if (signature == NULL && (*env)->ExceptionCheck(env)) {
+            releaseByteArray(env, hash_object, hash, JNI_ABORT);
+            break;
+        }
+        signatureSz = getByteArrayLength(env, signature_object);
+
+        if (ecc == NULL || hash == NULL || signature == NULL) {
+            ret = BAD_FUNC_ARG;
+        }
+        else {
+            ret = wc_ecc_verify_hash(signature, signatureSz, hash,
+                hashSz, &status, ecc);
+        }
+
+        releaseByteArray(env, hash_object, hash, JNI_ABORT);
+        releaseByteArray(env, signature_object, signature, JNI_ABORT);
+        (*env)->DeleteLocalRef(env, hash_object);
+        (*env)->DeleteLocalRef(env, signature_object);
+
+        result = (ret == 0 && status == 1) ? JNI_TRUE : JNI_FALSE;
+        (*env)->SetBooleanArrayRegion(env, results_object, i, 1, &result);
+    }
+
+    if (prev_key_object != NULL) {
+        (*env)->DeleteLocalRef(env, prev_key_object);
+    }
+
+    LogStr("wc_ecc_verify_hash() batch, %d items\n", (int)count);
+#else
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_Ecc_wc_1ecc_1get_1curve_1size_1from_1name
   (JNIEnv* env, jobject this, jstring curveName)
 {
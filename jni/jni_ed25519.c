@@ -54,7 +54,7 @@ Java_com_wolfssl_wolfcrypt_Ed25519_mallocNativeStruct(
 #ifdef HAVE_ED25519
     ed25519_key* key = NULL;
 
-    key = (ed25519_key*)XMALLOC(sizeof(ed25519_key), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    key = (ed25519_key*)nativeStructAlloc(sizeof(ed25519_key));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Ed25519 object");
     }
@@ -72,6 +72,27 @@ Java_com_wolfssl_wolfcrypt_Ed25519_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef HAVE_ED25519
+    ed25519_key* key = (ed25519_key*)(uintptr_t)ptr;
+
+    LogStr("Ed25519 freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_ed25519_free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1init(
     JNIEnv* env, jobject this)
@@ -590,3 +611,276 @@ JNIEXPORT jboolean JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verif
     return result;
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verify_1msg_1batch
+  (JNIEnv* env, jclass jcl, jobjectArray keys_object, jobjectArray sigs_in,
+   jobjectArray msgs_in, jbooleanArray results_out)
+{
+#if defined(HAVE_ED25519) && defined(HAVE_ED25519_VERIFY)
+    int ret = 0;
+    int result = 0;
+    jsize i = 0, count = 0;
+    word32 msglen, siglen;
+    ed25519_key* ed25519 = NULL;
+    jobject key_object = NULL;
+    jobject prev_key_object = NULL;
+    jbyteArray sig_in = NULL;
+    jbyteArray msg_in = NULL;
+    byte* sig   = NULL;
+    byte* msg   = NULL;
+    jboolean verified = JNI_FALSE;
+    (void)jcl;
+
+    if (keys_object == NULL || sigs_in == NULL || msgs_in == NULL ||
+        results_out == NULL) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    count = (*env)->GetArrayLength(env, keys_object);
+    if ((*env)->GetArrayLength(env, sigs_in) != count ||
+        (*env)->GetArrayLength(env, msgs_in) != count ||
+        (*env)->GetArrayLength(env, results_out) != count) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    /* Item failures are reported as not verified, not as exceptions.
+     * Caller holds the pointer lock of every key. */
+    for (i = 0; i < count; i++) {
+        result = 0;
+        key_object = (*env)->GetObjectArrayElement(env, keys_object, i);
+        if (prev_key_object != NULL &&
+            (*env)->IsSameObject(env, key_object, prev_key_object)) {
+            /* Items sharing a key are adjacent, reuse its struct */
+            (*env)->DeleteLocalRef(env, key_object);
+        }
+        else {
+            if (prev_key_object != NULL) {
+                (*env)->DeleteLocalRef(env, prev_key_object);
+            }
+            prev_key_object = key_object;
+            ed25519 = (ed25519_key*) getNativeStruct(env, key_object);
+            if ((*env)->ExceptionOccurred(env)) {
+                /* getNativeStruct may throw exception, stop here */
+                break;
+            }
+        }
+
+        sig_in = (jbyteArray)(*env)->GetObjectArrayElement(env, sigs_in, i);
+        msg_in = (jbyteArray)(*env)->GetObjectArrayElement(env, msgs_in, i);
+
+        sig = getByteArray(env, sig_in);
+        msg = getByteArray(env, msg_in);
+        msglen = getByteArrayLength(env, msg_in);
+        siglen = getByteArrayLength(env, sig_in);
+
+        if (ed25519 == NULL) {
+            ret = BAD_FUNC_ARG;
+        }
+        else {
+            ret = wc_ed25519_verify_msg(sig, siglen, msg, msglen, &result,
+                ed25519);
+        }
+
+        releaseByteArray(env, sig_in, sig, JNI_ABORT);
+        releaseByteArray(env, msg_in, msg, JNI_ABORT);
+        (*env)->DeleteLocalRef(env, sig_in);
+        (*env)->DeleteLocalRef(env, msg_in);
+
+        verified = (ret == 0 && result == 1) ? JNI_TRUE : JNI_FALSE;
+        (*env)->SetBooleanArrayRegion(env, results_out, i, 1, &verified);
+    }
+
+    if (prev_key_object != NULL) {
+        (*env)->DeleteLocalRef(env, prev_key_object);
+    }
+
+    LogStr("wc_ed25519_verify_msg() batch, %d items\n", (int)count);
+#else
+    throwNotCompiledInException(env);
+#endif
+}
+
+
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1import_1private_1make_1public(
+    JNIEnv* env, jobject this, jbyteArray priv_object)
+{
+#if defined(HAVE_ED25519) && defined(HAVE_ED25519_KEY_IMPORT)
+    int ret = 0;
+    ed25519_key* ed25519 = NULL;
+    byte* priv = NULL;
+    word32 privSz = 0;
+    byte pub[ED25519_PUB_KEY_SIZE];
+
+    ed25519 = (ed25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return;
+    }
+    priv   = getByteArray(env, priv_object);
+    privSz = getByteArrayLength(env, priv_object);
+
+    if (!ed25519 || !priv || privSz != ED25519_KEY_SIZE) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    /* private only import leaves public key unset, which sign requires */
+    if (ret == 0) {
+        ret = wc_ed25519_import_private_only(priv, privSz, ed25519);
+    }
+    if (ret == 0) {
+        ret = wc_ed25519_make_public(ed25519, pub, sizeof(pub));
+    }
+    if (ret == 0) {
+        ret = wc_ed25519_import_private_key(priv, privSz, pub, sizeof(pub),
+            ed25519);
+    }
+
+    if (ret != 0)
+        throwWolfCryptExceptionFromError(env, ret);
+
+    LogStr("wc_ed25519_import_private_key(ed25519=%p) derived public = %d\n",
+        ed25519, ret);
+
+    releaseByteArray(env, priv_object, priv, JNI_ABORT);
+#else
+    throwNotCompiledInException(env);
+#endif
+}
+
+JNIEXPORT jbyteArray JNICALL
+Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1sign_1msg_1ex(
+    JNIEnv* env, jobject this, jbyteArray msg_in, jint offset, jint len,
+    jint type, jbyteArray ctx_in)
+{
+    jbyteArray result = NULL;
+#if defined(HAVE_ED25519) && defined(HAVE_ED25519_SIGN)
+    int ret = 0;
+    word32 outlen = ED25519_SIG_SIZE;
+    word32 msgSz = 0, ctxSz = 0;
+    ed25519_key* ed25519 = NULL;
+    byte* msg = NULL;
+    byte* ctx = NULL;
+    byte output[ED25519_SIG_SIZE];
+
+    ed25519 = (ed25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return NULL;
+    }
+
+    msgSz = getByteArrayLength(env, msg_in);
+    ctx   = getByteArray(env, ctx_in);
+    ctxSz = getByteArrayLength(env, ctx_in);
+
+    if (!ed25519 || msg_in == NULL || offset < 0 || len < 0 ||
+        ((jlong)offset + (jlong)len) > (jlong)msgSz ||
+        (ctx_in != NULL && ctx == NULL) || ctxSz > 255) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* Sign message in place, avoiding a JVM copy of large messages.
+         * No JNI calls are made while the critical region is held. */
+        msg = (byte*)(*env)->GetPrimitiveArrayCritical(env, msg_in, NULL);
+        if (msg == NULL) {
+            ret = MEMORY_E;
+        }
+    }
+
+    if (ret == 0) {
+        ret = wc_ed25519_sign_msg_ex(msg + offset, (word32)len, output,
+            &outlen, ed25519, (byte)type, ctx, (byte)ctxSz);
+        (*env)->ReleasePrimitiveArrayCritical(env, msg_in, msg, JNI_ABORT);
+    }
+
+    if (ret == 0) {
+        result = (*env)->NewByteArray(env, outlen);
+
+        if (result) {
+            (*env)->SetByteArrayRegion(env, result, 0, outlen,
+                                                         (const jbyte*) output);
+        } else {
+            throwWolfCryptException(env, "Failed to allocate signature");
+        }
+    } else {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+
+    LogStr("wc_ed25519_sign_msg_ex(ed25519=%p, type=%d) = %d\n", ed25519,
+        (int)type, ret);
+
+    releaseByteArray(env, ctx_in, ctx, JNI_ABORT);
+#else
+    throwNotCompiledInException(env);
+#endif
+    return result;
+}
+
+JNIEXPORT jboolean JNICALL
+Java_com_wolfssl_wolfcrypt_Ed25519_wc_1ed25519_1verify_1msg_1ex(
+    JNIEnv* env, jobject this, jbyteArray sig_in, jbyteArray msg_in,
+    jint offset, jint len, jint type, jbyteArray ctx_in)
+{
+    int result = 0;
+#if defined(HAVE_ED25519) && defined(HAVE_ED25519_VERIFY)
+    int ret = 0;
+    word32 msgSz = 0, sigSz = 0, ctxSz = 0;
+    ed25519_key* ed25519 = NULL;
+    byte* sig = NULL;
+    byte* msg = NULL;
+    byte* ctx = NULL;
+
+    ed25519 = (ed25519_key*) getNativeStruct(env, this);
+    if ((*env)->ExceptionOccurred(env)) {
+        /* getNativeStruct may throw exception, prevent throwing another */
+        return JNI_FALSE;
+    }
+
+    msgSz = getByteArrayLength(env, msg_in);
+    sig   = getByteArray(env, sig_in);
+    sigSz = getByteArrayLength(env, sig_in);
+    ctx   = getByteArray(env, ctx_in);
+    ctxSz = getByteArrayLength(env, ctx_in);
+
+    if (!ed25519 || !sig || msg_in == NULL || offset < 0 || len < 0 ||
+        ((jlong)offset + (jlong)len) > (jlong)msgSz ||
+        (ctx_in != NULL && ctx == NULL) || ctxSz > 255) {
+        ret = BAD_FUNC_ARG;
+    }
+
+    if (ret == 0) {
+        /* Verify message in place, avoiding a JVM copy of large messages.
+         * No JNI calls are made while the critical region is held. */
+        msg = (byte*)(*env)->GetPrimitiveArrayCritical(env, msg_in, NULL);
+        if (msg == NULL) {
+            ret = MEMORY_E;
+        }
+    }
+
+    if (ret == 0) {
+        ret = wc_ed25519_verify_msg_ex(sig, sigSz, msg + offset, (word32)len,
+            &result, ed25519, (byte)type, ctx, (byte)ctxSz);
+        (*env)->ReleasePrimitiveArrayCritical(env, msg_in, msg, JNI_ABORT);
+
+        /* malformed signatures fail verification, not an error */
+        if (ret == SIG_VERIFY_E || ret == BAD_FUNC_ARG) {
+            result = 0;
+            ret = 0;
+        }
+    }
+
+    if (ret != 0)
+        throwWolfCryptExceptionFromError(env, ret);
+
+    LogStr("wc_ed25519_verify_msg_ex(ed25519=%p, type=%d) = %d\n", ed25519,
+        (int)type, ret);
+
+    releaseByteArray(env, sig_in, sig, JNI_ABORT);
+    releaseByteArray(env, ctx_in, ctx, JNI_ABORT);
+#else
+    throwNotCompiledInException(env);
+#endif
+    return (result == 1) ? JNI_TRUE : JNI_FALSE;
+}
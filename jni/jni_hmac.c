@@ -129,7 +129,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Hmac_mallocNativeStruct
 #ifndef NO_HMAC
     Hmac* hmac = NULL;
 
-    hmac = (Hmac*) XMALLOC(sizeof(Hmac), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    hmac = (Hmac*) nativeStructAlloc(sizeof(Hmac));
     if (hmac == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Hmac object");
     }
@@ -54,7 +54,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Lms_mallocNativeStruct
 #ifdef WC_JNI_LMS
     LmsKey* key = NULL;
 
-    key = (LmsKey*)XMALLOC(sizeof(LmsKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    key = (LmsKey*)nativeStructAlloc(sizeof(LmsKey));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Lms object");
         return (jlong)0;
@@ -74,6 +74,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Lms_mallocNativeStruct
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Lms_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef WC_JNI_LMS
+    LmsKey* key = (LmsKey*)(uintptr_t)ptr;
+
+    LogStr("Lms freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_LmsKey_Free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Lms_wc_1LmsKey_1init
   (JNIEnv* env, jobject this)
 {
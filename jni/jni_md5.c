@@ -28,6 +28,7 @@
 #endif
 #include <wolfssl/wolfcrypt/error-crypt.h>
 #include <wolfssl/wolfcrypt/md5.h>
+#include <wolfssl/wolfcrypt/hash.h>
 
 #include <com_wolfssl_wolfcrypt_Md5.h>
 #include <com_wolfssl_wolfcrypt_WolfCrypt.h>
@@ -47,6 +48,12 @@
     #define MD5_DIGEST_SIZE WC_MD5_DIGEST_SIZE
 #endif
 
+/* Multi-buffer one-shot hash, defined in jni_sha.c */
+extern void wolfCrypt_JNI_HashMany(JNIEnv* env, enum wc_HashType hashType,
+    word32 digestSz, jobjectArray inputs, jintArray offsets_object,
+    jintArray lengths_object, jint from, jint count, jbyteArray out,
+    jint outOffset);
+
 JNIEXPORT jlong JNICALL
 Java_com_wolfssl_wolfcrypt_Md5_mallocNativeStruct_1internal(
     JNIEnv* env, jobject this)
@@ -54,7 +61,7 @@ Java_com_wolfssl_wolfcrypt_Md5_mallocNativeStruct_1internal(
 #ifndef NO_MD5
     Md5* md5 = NULL;
 
-    md5 = (Md5*)XMALLOC(sizeof(Md5), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    md5 = (Md5*)nativeStructAlloc(sizeof(Md5));
     if (md5 == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Md5 object");
     }
@@ -283,3 +290,18 @@ Java_com_wolfssl_wolfcrypt_Md5_native_1final_1internal___3B(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Md5_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifndef NO_MD5
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_MD5, MD5_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
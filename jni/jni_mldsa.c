@@ -192,8 +192,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_mallocNativeStruct
 #if defined(HAVE_DILITHIUM) || defined(WOLFSSL_HAVE_MLDSA)
     wc_MlDsaKey* key = NULL;
 
-    key = (wc_MlDsaKey*)XMALLOC(sizeof(wc_MlDsaKey), NULL,
-        DYNAMIC_TYPE_TMP_BUFFER);
+    key = (wc_MlDsaKey*)nativeStructAlloc(sizeof(wc_MlDsaKey));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate MlDsa object");
     }
@@ -212,6 +211,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_mallocNativeStruct
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#if defined(HAVE_DILITHIUM) || defined(WOLFSSL_HAVE_MLDSA)
+    wc_MlDsaKey* key = (wc_MlDsaKey*)(uintptr_t)ptr;
+
+    LogStr("MlDsa freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_MlDsaKey_Free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1init
   (JNIEnv* env, jobject this)
 {
@@ -589,6 +609,144 @@ JNIEXPORT jboolean JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1verif
     return result;
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1verify_1ctx_1msg_1batch
+  (JNIEnv* env, jclass jcl, jobjectArray keys_object,
+   jobjectArray sigs_object, jbyteArray ctx_object,
+   jobjectArray msgs_object, jbooleanArray results_object)
+{
+#if (defined(HAVE_DILITHIUM) || defined(WOLFSSL_HAVE_MLDSA)) && \
+    defined(WC_JNI_MLDSA_HAVE_VERIFY)
+    int ret = 0;
+    int verifyRes = 0;
+    jsize i = 0, count = 0;
+    wc_MlDsaKey* key = NULL;
+    jobject key_object = NULL;
+    jobject prev_key_object = NULL;
+    jbyteArray sig_object = NULL;
+    jbyteArray msg_object = NULL;
+    byte* sig = NULL;
+    byte* ctx = NULL;
+    byte* msg = NULL;
+    word32 sigLen = 0;
+    word32 ctxLen = 0;
+    word32 msgLen = 0;
+    jboolean result = JNI_FALSE;
+    (void)jcl;
+
+    if (keys_object == NULL || sigs_object == NULL || msgs_object == NULL ||
+        results_object == NULL) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    count = (*env)->GetArrayLength(env, keys_object);
+    if ((*env)->GetArrayLength(env, sigs_object) != count ||
+        (*env)->GetArrayLength(env, msgs_object) != count ||
+        (*env)->GetArrayLength(env, results_object) != count) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    /* Context is shared by all items, acquire once */
+    if (ctx_object != NULL) {
+        ctx = getByteArray(env, ctx_object);
+        ctxLen = getByteArrayLength(env, ctx_object);
+        if (ctx == NULL) {
+            /* OutOfMemoryError pending */
+            return;
+        }
+    }
+
+    /* FIPS 204 caps context length at 255 bytes (also enforced in Java). */
+    if (ctxLen > com_wolfssl_wolfcrypt_MlDsa_ML_DSA_MAX_CTX_LEN) {
+        releaseByteArray(env, ctx_object, ctx, JNI_ABORT);
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    /* Item failures are reported as not verified, not as exceptions.
+     * Caller holds the pointer lock of every key. */
+    for (i = 0; i < count; i++) {
+        ret = 0;
+        verifyRes = 0;
+        key_object = (*env)->GetObjectArrayElement(env, keys_object, i);
+        if (prev_key_object != NULL &&
+            (*env)->IsSameObject(env, key_object, prev_key_object)) {
+            /* Items sharing a key are adjacent, reuse its struct */
+            (*env)->DeleteLocalRef(env, key_object);
+        }
+        else {
+            if (prev_key_object != NULL) {
+                (*env)->DeleteLocalRef(env, prev_key_object);
+            }
+            prev_key_object = key_object;
+            key = (wc_MlDsaKey*) getNativeStruct(env, key_object);
+            if ((*env)->ExceptionOccurred(env)) {
+                /* getNativeStruct may throw exception, stop here */
+                break;
+            }
+        }
+
+        sig_object = (jbyteArray)(*env)->GetObjectArrayElement(env,
+            sigs_object, i);
+        msg_object = (jbyteArray)(*env)->GetObjectArrayElement(env,
+            msgs_object, i);
+
+        sig = getByteArray(env, sig_object);
+        sigLen = getByteArrayLength(env, sig_object);
+        msg = getByteArray(env, msg_object);
+        msgLen = getByteArrayLength(env, msg_object);
+
+        /* getByteArray() returns NULL with OutOfMemoryError pending when
+         * GetByteArrayElements fails, stop without further JNI calls. */
+        if (sig == NULL || msg == NULL) {
+            if (sig != NULL) {
+                releaseByteArray(env, sig_object, sig, JNI_ABORT);
+            }
+            if (msg != NULL) {
+                releaseByteArray(env, msg_object, msg, JNI_ABORT);
+            }
+            break;
+        }
+
+        if (key == NULL) {
+            ret = BAD_FUNC_ARG;
+        }
+        else {
+            ret = wc_MlDsaKey_VerifyCtx(key, sig, sigLen, ctx, (byte)ctxLen,
+                msg, msgLen, &verifyRes);
+        }
+
+        releaseByteArray(env, sig_object, sig, JNI_ABORT);
+        releaseByteArray(env, msg_object, msg, JNI_ABORT);
+        (*env)->DeleteLocalRef(env, sig_object);
+        (*env)->DeleteLocalRef(env, msg_object);
+
+        result = (ret == 0 && verifyRes == 1) ? JNI_TRUE : JNI_FALSE;
+        (*env)->SetBooleanArrayRegion(env, results_object, i, 1, &result);
+    }
+
+    if (prev_key_object != NULL) {
+        (*env)->DeleteLocalRef(env, prev_key_object);
+    }
+
+    LogStr("wc_MlDsaKey_VerifyCtx() batch, %d items\n", (int)count);
+
+    if (ctx_object != NULL) {
+        releaseByteArray(env, ctx_object, ctx, JNI_ABORT);
+    }
+#else
+    (void)env;
+    (void)jcl;
+    (void)keys_object;
+    (void)sigs_object;
+    (void)ctx_object;
+    (void)msgs_object;
+    (void)results_object;
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT jbyteArray JNICALL Java_com_wolfssl_wolfcrypt_MlDsa_wc_1dilithium_1export_1public
   (JNIEnv* env, jobject this)
 {
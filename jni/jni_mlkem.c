@@ -81,7 +81,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_MlKem_mallocNativeStruct(
 #ifdef WOLFSSL_HAVE_MLKEM
     MlKemKey* key = NULL;
 
-    key = (MlKemKey*)XMALLOC(sizeof(MlKemKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    key = (MlKemKey*)nativeStructAlloc(sizeof(MlKemKey));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate MlKem object");
     }
@@ -100,6 +100,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_MlKem_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlKem_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef WOLFSSL_HAVE_MLKEM
+    MlKemKey* key = (MlKemKey*)(uintptr_t)ptr;
+
+    LogStr("MlKem freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_MlKemKey_Free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_MlKem_wc_1mlkem_1init(
     JNIEnv* env, jobject this, jint level)
 {
@@ -25,7 +25,9 @@
 #elif !defined(__ANDROID__)
     #include <wolfssl/options.h>
 #endif
+#include <wolfssl/version.h>
 #include <wolfssl/wolfcrypt/types.h>
+#include <wolfssl/wolfcrypt/memory.h>
 
 #include <com_wolfssl_wolfcrypt_NativeStruct.h>
 #include <wolfcrypt_jni_NativeStruct.h>
@@ -38,6 +40,151 @@
     #pragma GCC diagnostic ignored "-Wint-to-pointer-cast"
 #endif
 
+/*
+ * Native struct pool
+ *
+ * Native structs behind NativeStruct objects are allocated with
+ * nativeStructAlloc() and freed with nativeStructFree(), called from
+ * NativeStruct.xfree(). Freed structs are zeroized and parked in a small
+ * per-type pool, and handed out again by the next allocation of the same
+ * type instead of going back through XMALLOC/XFREE. Short-lived wrapper
+ * objects (ex: a Sha256 or Ecc per engine instance) then reuse a handful
+ * of structs rather than churning the native heap.
+ *
+ * Each allocation is prefixed with a header holding the struct size, so
+ * xfree() knows which pool a pointer belongs to. Types are told apart by
+ * struct size, a pool is claimed by the first allocation of a given size.
+ * Each pool is a fixed array of slots: a free parks a struct by swapping
+ * it into an empty slot, an allocation takes one by swapping a slot back
+ * to NULL. Slots only hold whole structs and are never linked together,
+ * so this is lock-free without ABA issues.
+ *
+ * Pooling needs GCC/Clang atomic builtins, and is compiled out otherwise
+ * or when WOLFCRYPTJNI_NO_STRUCT_POOL is defined. Pool size can be tuned
+ * with the WOLFCRYPTJNI_STRUCT_POOL_* defines below. Structs larger than
+ * WOLFCRYPTJNI_STRUCT_POOL_MAX_SZ are never pooled.
+ */
+#if !defined(WOLFCRYPTJNI_NO_STRUCT_POOL) && \
+    (defined(__GNUC__) || defined(__clang__))
+    #define WOLFCRYPTJNI_STRUCT_POOL
+#endif
+
+/* Number of different struct types that can be pooled */
+#ifndef WOLFCRYPTJNI_STRUCT_POOL_TYPES
+    #define WOLFCRYPTJNI_STRUCT_POOL_TYPES 32
+#endif
+
+/* Maximum number of free structs kept per type */
+#ifndef WOLFCRYPTJNI_STRUCT_POOL_SLOTS
+    #define WOLFCRYPTJNI_STRUCT_POOL_SLOTS 8
+#endif
+
+/* Maximum size of a pooled struct, in bytes */
+#ifndef WOLFCRYPTJNI_STRUCT_POOL_MAX_SZ
+    #define WOLFCRYPTJNI_STRUCT_POOL_MAX_SZ 16384
+#endif
+
+/* Size of header in front of each struct, holds struct size. Multiple of
+ * 16 bytes so structs keep XMALLOC alignment. */
+#define NATIVE_STRUCT_HDR_SZ 16
+
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+
+typedef struct NativeStructPool {
+    size_t sz;                                  /* struct size, 0 if unused */
+    void* slots[WOLFCRYPTJNI_STRUCT_POOL_SLOTS]; /* parked structs or NULL */
+} NativeStructPool;
+
+static NativeStructPool g_structPools[WOLFCRYPTJNI_STRUCT_POOL_TYPES];
+
+/* Number of structs allocated with XMALLOC, and reused from a pool */
+static jlong g_structAllocCount = 0;
+static jlong g_structReuseCount = 0;
+
+/* Get pool for structs of size sz, claiming an unused one if needed.
+ * Returns NULL if struct is too large or all pools are taken. */
+static NativeStructPool* nativeStructGetPool(size_t sz)
+{
+    int i;
+    size_t cur;
+
+    if (sz == 0 || sz > WOLFCRYPTJNI_STRUCT_POOL_MAX_SZ) {
+        return NULL;
+    }
+
+    for (i = 0; i < WOLFCRYPTJNI_STRUCT_POOL_TYPES; i++) {
+        cur = __atomic_load_n(&g_structPools[i].sz, __ATOMIC_ACQUIRE);
+        if (cur == 0) {
+            /* cur is set to the winning size if another thread got here
+             * first, pools are claimed in order so sizes stay unique */
+            if (__atomic_compare_exchange_n(&g_structPools[i].sz, &cur, sz,
+                    0, __ATOMIC_ACQ_REL, __ATOMIC_ACQUIRE)) {
+                return &g_structPools[i];
+            }
+        }
+        if (cur == sz) {
+            return &g_structPools[i];
+        }
+    }
+
+    return NULL;
+}
+
+/* Take parked struct out of pool, returns NULL if pool is empty */
+static void* nativeStructPoolTake(NativeStructPool* pool)
+{
+    int i;
+    void* base;
+
+    for (i = 0; i < WOLFCRYPTJNI_STRUCT_POOL_SLOTS; i++) {
+        if (__atomic_load_n(&pool->slots[i], __ATOMIC_RELAXED) != NULL) {
+            base = __atomic_exchange_n(&pool->slots[i], NULL,
+                __ATOMIC_ACQUIRE);
+            if (base != NULL) {
+                return base;
+            }
+        }
+    }
+
+    return NULL;
+}
+
+/* Park struct in pool, returns 1 on success or 0 if pool is full */
+static int nativeStructPoolPut(NativeStructPool* pool, void* base)
+{
+    int i;
+    void* expected;
+
+    for (i = 0; i < WOLFCRYPTJNI_STRUCT_POOL_SLOTS; i++) {
+        expected = NULL;
+        if (__atomic_compare_exchange_n(&pool->slots[i], &expected, base,
+                0, __ATOMIC_RELEASE, __ATOMIC_RELAXED)) {
+            return 1;
+        }
+    }
+
+    return 0;
+}
+
+/* Free all parked structs, called when native library is unloaded */
+static void nativeStructPoolCleanup(void)
+{
+    int i, j;
+    void* base;
+
+    for (i = 0; i < WOLFCRYPTJNI_STRUCT_POOL_TYPES; i++) {
+        for (j = 0; j < WOLFCRYPTJNI_STRUCT_POOL_SLOTS; j++) {
+            base = __atomic_exchange_n(&g_structPools[i].slots[j], NULL,
+                __ATOMIC_ACQUIRE);
+            if (base != NULL) {
+                XFREE(base, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+            }
+        }
+    }
+}
+
+#endif /* WOLFCRYPTJNI_STRUCT_POOL */
+
 JavaVM* g_vm = NULL;
 
 /* Forward declarations for WolfSSLCertManager init/cleanup */
@@ -94,15 +241,111 @@ JNIEXPORT void JNICALL JNI_OnUnload(JavaVM* vm, void* reserved)
     /* Cleanup WolfSSLCertManager global mutex */
     wolfSSL_CertManager_cleanup();
 
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    /* Free native structs parked in struct pool */
+    nativeStructPoolCleanup();
+#endif
+
     g_vm = NULL;
 }
 
+void* nativeStructAlloc(size_t sz)
+{
+    byte* base = NULL;
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    NativeStructPool* pool = nativeStructGetPool(sz);
+
+    if (pool != NULL) {
+        base = (byte*)nativeStructPoolTake(pool);
+    }
+    if (base != NULL) {
+        __atomic_fetch_add(&g_structReuseCount, 1, __ATOMIC_RELAXED);
+    }
+    else
+#endif
+    {
+        base = (byte*)XMALLOC(NATIVE_STRUCT_HDR_SZ + sz, NULL,
+            DYNAMIC_TYPE_TMP_BUFFER);
+        if (base == NULL) {
+            return NULL;
+        }
+        *(size_t*)base = sz;
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+        __atomic_fetch_add(&g_structAllocCount, 1, __ATOMIC_RELAXED);
+#endif
+    }
+
+    return base + NATIVE_STRUCT_HDR_SZ;
+}
+
+void nativeStructFree(void* ptr)
+{
+    byte* base;
+    size_t sz;
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    NativeStructPool* pool;
+#endif
+
+    if (ptr == NULL) {
+        return;
+    }
+
+    base = (byte*)ptr - NATIVE_STRUCT_HDR_SZ;
+    sz = *(size_t*)base;
+
+    /* Struct may hold key material, never park or free it uncleared */
+#if (LIBWOLFSSL_VERSION_HEX >= 0x05008004) && \
+    !defined(WOLFSSL_NO_FORCE_ZERO)
+    wc_ForceZero(ptr, sz);
+#else
+    XMEMSET(ptr, 0, sz);
+#endif
+
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    pool = nativeStructGetPool(sz);
+    if (pool != NULL && nativeStructPoolPut(pool, base)) {
+        return;
+    }
+#endif
+
+    XFREE(base, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_xfree(
-    JNIEnv* env, jobject this, jlong ptr)
+    JNIEnv* env, jclass jcl, jlong ptr)
 {
+    (void)env;
+    (void)jcl;
+
     LogStr("NativeStruct.xfree(), Freeing (%p)\n", (void*)ptr);
 
-    XFREE((void*)(uintptr_t)ptr, NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    nativeStructFree((void*)(uintptr_t)ptr);
+}
+
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_getNativeAllocCount(
+    JNIEnv* env, jclass jcl)
+{
+    (void)env;
+    (void)jcl;
+
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    return __atomic_load_n(&g_structAllocCount, __ATOMIC_RELAXED);
+#else
+    return (jlong)0;
+#endif
+}
+
+JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_NativeStruct_getNativeReuseCount(
+    JNIEnv* env, jclass jcl)
+{
+    (void)env;
+    (void)jcl;
+
+#ifdef WOLFCRYPTJNI_STRUCT_POOL
+    return __atomic_load_n(&g_structReuseCount, __ATOMIC_RELAXED);
+#else
+    return (jlong)0;
+#endif
 }
 
 /*
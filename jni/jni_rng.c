@@ -48,7 +48,7 @@ Java_com_wolfssl_wolfcrypt_Rng_mallocNativeStruct(
 #ifndef WC_NO_RNG
     RNG* rng = NULL;
 
-    rng = (RNG*)XMALLOC(sizeof(RNG), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    rng = (RNG*)nativeStructAlloc(sizeof(RNG));
     if (rng == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Rng object");
     }
@@ -66,6 +66,27 @@ Java_com_wolfssl_wolfcrypt_Rng_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Rng_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifndef WC_NO_RNG
+    RNG* rng = (RNG*)(uintptr_t)ptr;
+
+    LogStr("Rng freeNativeStruct(rng=%p)\n", rng);
+
+    if (rng != NULL) {
+        wc_FreeRng(rng);
+        nativeStructFree(rng);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Rng_initRng(
     JNIEnv* env, jobject this)
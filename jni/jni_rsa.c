@@ -58,7 +58,7 @@ Java_com_wolfssl_wolfcrypt_Rsa_mallocNativeStruct(
 #ifndef NO_RSA
     RsaKey* rsa = NULL;
 
-    rsa = (RsaKey*)XMALLOC(sizeof(RsaKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    rsa = (RsaKey*)nativeStructAlloc(sizeof(RsaKey));
     if (rsa == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Rsa object");
     }
@@ -76,6 +76,27 @@ Java_com_wolfssl_wolfcrypt_Rsa_mallocNativeStruct(
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Rsa_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifndef NO_RSA
+    RsaKey* key = (RsaKey*)(uintptr_t)ptr;
+
+    LogStr("Rsa freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_FreeRsaKey(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Rsa_getDefaultRsaExponent
   (JNIEnv *env, jclass jcl)
 {
@@ -31,6 +31,7 @@
 #include <wolfssl/wolfcrypt/sha256.h>
 #include <wolfssl/wolfcrypt/sha512.h>
 #include <wolfssl/wolfcrypt/sha3.h>
+#include <wolfssl/wolfcrypt/hash.h>
 
 #include <com_wolfssl_wolfcrypt_Sha.h>
 #include <com_wolfssl_wolfcrypt_Sha224.h>
@@ -76,6 +77,128 @@
     #endif
 #endif
 
+/* One-shot hash of inputs[from] .. inputs[from + count - 1] with wc_Hash(),
+ * digests written back to back into out starting at outOffset. Used by
+ * MessageDigest.digestMany() of all digest classes (jni_md5.c calls this
+ * too), does not use a native hash struct. Each input is either a byte
+ * array or a direct ByteBuffer, offsets and lengths are relative to the
+ * start of the array or buffer. Direct buffers are hashed in place. Digests
+ * are written with SetByteArrayRegion() so that threads hashing other
+ * ranges into the same output array do not overwrite each other. */
+void wolfCrypt_JNI_HashMany(JNIEnv* env, enum wc_HashType hashType,
+    word32 digestSz, jobjectArray inputs, jintArray offsets_object,
+    jintArray lengths_object, jint from, jint count, jbyteArray out,
+    jint outOffset)
+{
+    int ret = 0;
+    jint i = 0;
+    jsize inSz = 0;
+    jlong inLen = 0;
+    jint* offsets = NULL;
+    jint* lengths = NULL;
+    jobject in = NULL;
+    jclass byteArrayClass = NULL;
+    jboolean isArray = JNI_FALSE;
+    byte* data = NULL;
+    byte digest[WC_MAX_DIGEST_SIZE];
+
+    if (inputs == NULL || offsets_object == NULL || lengths_object == NULL ||
+        out == NULL || from < 0 || count < 0 || outOffset < 0 ||
+        digestSz > WC_MAX_DIGEST_SIZE) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    inSz = (*env)->GetArrayLength(env, inputs);
+    if ((jlong)from + (jlong)count > (jlong)inSz ||
+        (*env)->GetArrayLength(env, offsets_object) != inSz ||
+        (*env)->GetArrayLength(env, lengths_object) != inSz ||
+        (jlong)outOffset + ((jlong)count * digestSz) >
+            (jlong)(*env)->GetArrayLength(env, out)) {
+        throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+        return;
+    }
+
+    byteArrayClass = (*env)->FindClass(env, "[B");
+    if (byteArrayClass == NULL) {
+        /* NoClassDefFoundError or OutOfMemoryError pending */
+        return;
+    }
+
+    offsets = (*env)->GetIntArrayElements(env, offsets_object, NULL);
+    lengths = (*env)->GetIntArrayElements(env, lengths_object, NULL);
+    if (offsets == NULL || lengths == NULL) {
+        /* OutOfMemoryError pending */
+        ret = MEMORY_E;
+    }
+
+    for (i = from; ret == 0 && i < from + count; i++) {
+        in = (*env)->GetObjectArrayElement(env, inputs, i);
+        if (in == NULL) {
+            ret = BAD_FUNC_ARG;
+            break;
+        }
+
+        isArray = (*env)->IsInstanceOf(env, in, byteArrayClass);
+        if (isArray) {
+            inLen = (jlong)(*env)->GetArrayLength(env, (jbyteArray)in);
+        }
+        else {
+            /* -1 if not a direct buffer */
+            inLen = (*env)->GetDirectBufferCapacity(env, in);
+        }
+
+        if (inLen < 0 || offsets[i] < 0 || lengths[i] < 0 ||
+            (jlong)offsets[i] + (jlong)lengths[i] > inLen) {
+            ret = BAD_FUNC_ARG;
+        }
+        else if (isArray) {
+            data = getByteArray(env, (jbyteArray)in);
+            if (data == NULL) {
+                ret = MEMORY_E;
+            }
+            else {
+                ret = wc_Hash(hashType, data + offsets[i],
+                    (word32)lengths[i], digest, digestSz);
+                releaseByteArray(env, (jbyteArray)in, data, JNI_ABORT);
+            }
+        }
+        else {
+            data = getDirectBufferAddress(env, in);
+            if (data == NULL) {
+                ret = BAD_FUNC_ARG;
+            }
+            else {
+                ret = wc_Hash(hashType, data + offsets[i],
+                    (word32)lengths[i], digest, digestSz);
+            }
+        }
+        (*env)->DeleteLocalRef(env, in);
+
+        if (ret == 0) {
+            (*env)->SetByteArrayRegion(env, out,
+                outOffset + ((i - from) * (jint)digestSz), (jsize)digestSz,
+                (const jbyte*)digest);
+        }
+    }
+
+    LogStr("wc_Hash(type=%d) x %d = %d\n", (int)hashType, (int)count, ret);
+
+    if (offsets != NULL) {
+        (*env)->ReleaseIntArrayElements(env, offsets_object, offsets,
+            JNI_ABORT);
+    }
+    if (lengths != NULL) {
+        (*env)->ReleaseIntArrayElements(env, lengths_object, lengths,
+            JNI_ABORT);
+    }
+    (*env)->DeleteLocalRef(env, byteArrayClass);
+
+    if (ret != 0 && !(*env)->ExceptionCheck(env)) {
+        throwWolfCryptExceptionFromError(env, ret);
+    }
+}
+
 JNIEXPORT jlong JNICALL
 Java_com_wolfssl_wolfcrypt_Sha_mallocNativeStruct_1internal(
     JNIEnv* env, jobject this)
@@ -83,7 +206,7 @@ Java_com_wolfssl_wolfcrypt_Sha_mallocNativeStruct_1internal(
 #ifndef NO_SHA
     Sha* sha = NULL;
 
-    sha = (Sha*) XMALLOC(sizeof(Sha), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (Sha*) nativeStructAlloc(sizeof(Sha));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Sha object");
     }
@@ -107,7 +230,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Sha224_mallocNativeStruct_1in
 #ifdef WOLFSSL_SHA224
     Sha224* sha = NULL;
 
-    sha = (Sha224*) XMALLOC(sizeof(Sha224), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (Sha224*) nativeStructAlloc(sizeof(Sha224));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Sha224 object");
     }
@@ -134,7 +257,7 @@ Java_com_wolfssl_wolfcrypt_Sha256_mallocNativeStruct_1internal(
 #ifndef NO_SHA256
     Sha256* sha = NULL;
 
-    sha = (Sha256*) XMALLOC(sizeof(Sha256), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (Sha256*) nativeStructAlloc(sizeof(Sha256));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Sha256 object");
     }
@@ -159,7 +282,7 @@ Java_com_wolfssl_wolfcrypt_Sha384_mallocNativeStruct_1internal(
 #ifdef WOLFSSL_SHA384
     Sha384* sha = NULL;
 
-    sha = (Sha384*) XMALLOC(sizeof(Sha384), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (Sha384*) nativeStructAlloc(sizeof(Sha384));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Sha384 object");
     }
@@ -184,7 +307,7 @@ Java_com_wolfssl_wolfcrypt_Sha512_mallocNativeStruct_1internal(
 #ifdef WOLFSSL_SHA512
     Sha512* sha = NULL;
 
-    sha = (Sha512*) XMALLOC(sizeof(Sha512), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (Sha512*) nativeStructAlloc(sizeof(Sha512));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Sha512 object");
     }
@@ -407,6 +530,21 @@ Java_com_wolfssl_wolfcrypt_Sha_native_1final_1internal___3B(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Sha_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifndef NO_SHA
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_SHA, SHA_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha224_native_1init_1internal
   (JNIEnv* env, jobject this)
 {
@@ -644,6 +782,21 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha224_native_1final_1internal
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Sha224_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifdef WOLFSSL_SHA224
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_SHA224, SHA224_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
 
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Sha256_native_1init_1internal(
@@ -852,6 +1005,21 @@ Java_com_wolfssl_wolfcrypt_Sha256_native_1final_1internal___3B(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Sha256_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifndef NO_SHA256
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_SHA256, SHA256_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Sha384_native_1init_1internal(
     JNIEnv* env, jobject this)
@@ -1058,6 +1226,21 @@ Java_com_wolfssl_wolfcrypt_Sha384_native_1final_1internal___3B(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Sha384_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifdef WOLFSSL_SHA384
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_SHA384, SHA384_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT void JNICALL
 Java_com_wolfssl_wolfcrypt_Sha512_native_1init_1internal(
     JNIEnv* env, jobject this)
@@ -1265,13 +1448,28 @@ Java_com_wolfssl_wolfcrypt_Sha512_native_1final_1internal___3B(
 #endif
 }
 
+JNIEXPORT void JNICALL
+Java_com_wolfssl_wolfcrypt_Sha512_native_1digest_1many_1internal(
+    JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+    jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset)
+{
+#ifdef WOLFSSL_SHA512
+    (void)jcl;
+    wolfCrypt_JNI_HashMany(env, WC_HASH_TYPE_SHA512, SHA512_DIGEST_SIZE,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)jcl;
+    throwNotCompiledInException(env);
+#endif
+}
+
 JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Sha3_mallocNativeStruct_1internal
   (JNIEnv* env, jobject this)
 {
 #ifdef WOLFSSL_SHA3
     wc_Sha3* sha = NULL;
 
-    sha = (wc_Sha3*) XMALLOC(sizeof(wc_Sha3), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    sha = (wc_Sha3*) nativeStructAlloc(sizeof(wc_Sha3));
     if (sha == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate wc_Sha3 object");
     }
@@ -1629,3 +1827,49 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha3_native_1final_1internal__
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Sha3_native_1digest_1many_1internal
+  (JNIEnv* env, jclass jcl, jobjectArray inputs, jintArray offsets,
+   jintArray lengths, jint from, jint count, jbyteArray out, jint outOffset,
+   jint hashType)
+{
+#ifdef WOLFSSL_SHA3
+    word32 digestSz = 0;
+
+    (void)jcl;
+
+    switch (hashType) {
+        case WC_HASH_TYPE_SHA3_224:
+            digestSz = WC_SHA3_224_DIGEST_SIZE;
+            break;
+        case WC_HASH_TYPE_SHA3_256:
+            digestSz = WC_SHA3_256_DIGEST_SIZE;
+            break;
+        case WC_HASH_TYPE_SHA3_384:
+            digestSz = WC_SHA3_384_DIGEST_SIZE;
+            break;
+        case WC_HASH_TYPE_SHA3_512:
+            digestSz = WC_SHA3_512_DIGEST_SIZE;
+            break;
+        default:
+            throwWolfCryptExceptionFromError(env, BAD_FUNC_ARG);
+            return;
+    }
+
+    wolfCrypt_JNI_HashMany(env, (enum wc_HashType)hashType, digestSz,
+        inputs, offsets, lengths, from, count, out, outOffset);
+#else
+    (void)env;
+    (void)jcl;
+    (void)inputs;
+    (void)offsets;
+    (void)lengths;
+    (void)from;
+    (void)count;
+    (void)out;
+    (void)outOffset;
+    (void)hashType;
+
+    throwNotCompiledInException(env);
+#endif
+}
+
@@ -160,7 +160,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_SlhDsa_mallocNativeStruct
 #ifdef WOLFSSL_HAVE_SLHDSA
     SlhDsaKey* key = NULL;
 
-    key = (SlhDsaKey*)XMALLOC(sizeof(SlhDsaKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    key = (SlhDsaKey*)nativeStructAlloc(sizeof(SlhDsaKey));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate SlhDsa object");
     }
@@ -179,6 +179,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_SlhDsa_mallocNativeStruct
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_SlhDsa_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef WOLFSSL_HAVE_SLHDSA
+    SlhDsaKey* key = (SlhDsaKey*)(uintptr_t)ptr;
+
+    LogStr("SlhDsa freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_SlhDsaKey_Free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_SlhDsa_wc_1SlhDsaKey_1init
   (JNIEnv* env, jobject this, jint param)
 {
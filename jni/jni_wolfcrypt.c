@@ -680,3 +680,45 @@ JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_WolfCrypt_nativeSetIOTimeout
 #endif
 }
 
+
+/* Results of nativeDirectBuffersOverlap(), match WolfCrypt.java */
+#define WC_JNI_BUFFERS_DISJOINT 0
+#define WC_JNI_BUFFERS_IN_PLACE 1
+#define WC_JNI_BUFFERS_OVERLAP  2
+
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfCrypt_nativeDirectBuffersOverlap
+  (JNIEnv* env, jclass jcl, jobject a, jint aOff, jint aLen,
+   jobject b, jint bOff, jint bLen)
+{
+    uintptr_t aStart;
+    uintptr_t bStart;
+    byte* aBuf = NULL;
+    byte* bBuf = NULL;
+    (void)jcl;
+
+    aBuf = (byte*)(*env)->GetDirectBufferAddress(env, a);
+    bBuf = (byte*)(*env)->GetDirectBufferAddress(env, b);
+
+    /* Unknown address, caller must assume memory is shared */
+    if (aBuf == NULL || bBuf == NULL) {
+        return WC_JNI_BUFFERS_OVERLAP;
+    }
+
+    if (aOff < 0 || aLen <= 0 || bOff < 0 || bLen <= 0) {
+        return WC_JNI_BUFFERS_DISJOINT;
+    }
+
+    aStart = (uintptr_t)aBuf + (uintptr_t)aOff;
+    bStart = (uintptr_t)bBuf + (uintptr_t)bOff;
+
+    if (aStart == bStart) {
+        return WC_JNI_BUFFERS_IN_PLACE;
+    }
+
+    if (aStart < bStart + (uintptr_t)bLen &&
+        bStart < aStart + (uintptr_t)aLen) {
+        return WC_JNI_BUFFERS_OVERLAP;
+    }
+
+    return WC_JNI_BUFFERS_DISJOINT;
+}
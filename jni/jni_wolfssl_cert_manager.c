@@ -573,6 +573,67 @@ JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfSSLCertManager_CertManager
     return (jint)ret;
 }
 
+/* Temporary CAs (WOLFSSL_TEMP_CA) and loading/unloading by CA type were
+ * added in wolfSSL 5.7.2 */
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfSSLCertManager_CertManagerLoadTempCABuffer
+  (JNIEnv* env, jclass jcl, jlong cmPtr, jbyteArray in, jlong sz, jint format, jint flags)
+{
+#if LIBWOLFSSL_VERSION_HEX >= 0x05007002
+    int ret = 0;
+    word32 buffSz = 0;
+    byte* buff = NULL;
+    WOLFSSL_CERT_MANAGER* cm = (WOLFSSL_CERT_MANAGER*)(uintptr_t)cmPtr;
+    (void)jcl;
+
+    if (env == NULL || in == NULL || (sz < 0) ||
+        (sz > (jlong)(*env)->GetArrayLength(env, in))) {
+        return BAD_FUNC_ARG;
+    }
+
+    buff = (byte*)(*env)->GetByteArrayElements(env, in, NULL);
+    buffSz = (word32)sz;
+
+    ret = wolfSSL_CertManagerLoadCABufferType(cm, buff, buffSz, format, 0,
+        (word32)flags, WOLFSSL_TEMP_CA);
+
+    (*env)->ReleaseByteArrayElements(env, in, (jbyte*)buff, JNI_ABORT);
+
+    return (jint)ret;
+#else
+    (void)env;
+    (void)jcl;
+    (void)cmPtr;
+    (void)in;
+    (void)sz;
+    (void)format;
+    (void)flags;
+    return NOT_COMPILED_IN;
+#endif
+}
+
+JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfSSLCertManager_CertManagerUnloadTempCAs
+  (JNIEnv* env, jclass jcl, jlong cmPtr)
+{
+#if LIBWOLFSSL_VERSION_HEX >= 0x05007002
+    int ret = 0;
+    WOLFSSL_CERT_MANAGER* cm = (WOLFSSL_CERT_MANAGER*)(uintptr_t)cmPtr;
+    (void)jcl;
+
+    if (env == NULL) {
+        return BAD_FUNC_ARG;
+    }
+
+    ret = wolfSSL_CertManagerUnloadTypeCerts(cm, WOLFSSL_TEMP_CA);
+
+    return (jint)ret;
+#else
+    (void)env;
+    (void)jcl;
+    (void)cmPtr;
+    return NOT_COMPILED_IN;
+#endif
+}
+
 JNIEXPORT jint JNICALL Java_com_wolfssl_wolfcrypt_WolfSSLCertManager_CertManagerVerifyBuffer
   (JNIEnv* env, jclass jcl, jlong cmPtr, jbyteArray in, jlong sz, jint format)
 {
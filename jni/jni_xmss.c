@@ -53,7 +53,7 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Xmss_mallocNativeStruct
 #ifdef WC_JNI_XMSS_AVAILABLE
     XmssKey* key = NULL;
 
-    key = (XmssKey*)XMALLOC(sizeof(XmssKey), NULL, DYNAMIC_TYPE_TMP_BUFFER);
+    key = (XmssKey*)nativeStructAlloc(sizeof(XmssKey));
     if (key == NULL) {
         throwOutOfMemoryException(env, "Failed to allocate Xmss object");
         return (jlong)0;
@@ -73,6 +73,27 @@ JNIEXPORT jlong JNICALL Java_com_wolfssl_wolfcrypt_Xmss_mallocNativeStruct
 #endif
 }
 
+JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Xmss_freeNativeStruct
+  (JNIEnv* env, jclass jcl, jlong ptr)
+{
+    /* Called from NativeStructCleaner thread, never throws */
+#ifdef WC_JNI_XMSS_AVAILABLE
+    XmssKey* key = (XmssKey*)(uintptr_t)ptr;
+
+    LogStr("Xmss freeNativeStruct(key=%p)\n", key);
+
+    if (key != NULL) {
+        wc_XmssKey_Free(key);
+        nativeStructFree(key);
+    }
+#else
+    /* mallocNativeStruct() not compiled in, nothing to free */
+    (void)ptr;
+#endif
+    (void)env;
+    (void)jcl;
+}
+
 JNIEXPORT void JNICALL Java_com_wolfssl_wolfcrypt_Xmss_wc_1XmssKey_1init
   (JNIEnv* env, jobject this)
 {
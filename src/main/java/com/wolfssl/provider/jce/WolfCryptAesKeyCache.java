@@ -0,0 +1,358 @@
+/* WolfCryptAesKeyCache.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.MessageDigest;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.wolfssl.wolfcrypt.FeatureDetect;
+import com.wolfssl.wolfcrypt.Hmac;
+import com.wolfssl.wolfcrypt.NativeStruct;
+import com.wolfssl.wolfcrypt.Rng;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * Provider-wide bounded LRU cache of keyed native AES-GCM and AES-CCM
+ * contexts, shared by WolfCryptCipher objects.
+ *
+ * Setting an AES-GCM key expands the AES key schedule and computes the
+ * GHASH tables, which costs more than encrypting a small record. Code that
+ * re-initializes Cipher objects with a small set of keys, such as envelope
+ * encryption with per-record data keys, pays that cost on every init.
+ * When enabled, a Cipher takes a context that already holds its key from
+ * this cache, and hands it back when it moves to another key or is reset,
+ * instead of creating a new native context and setting the key again.
+ *
+ * Contexts are looked up by an HMAC-SHA256 of the key bytes under a random
+ * per-process HMAC key, so the cache holds no copy of key material outside
+ * the native contexts themselves and lookups do not reveal key bytes
+ * through hashCode() or timing. A context is checked out by exactly one
+ * Cipher at a time: take() removes it from the cache, and put() returns
+ * it. Contexts evicted from the cache, or returned while the cache is
+ * disabled or already holds that key, are released, which zeroizes the
+ * native key schedule.
+ *
+ * The cache is disabled by default. Setting the
+ * "wolfjce.cipher.aesKeyCacheSize" Security property to a positive value
+ * enables it with that many entries (capped at MAX_CACHE_SIZE). The
+ * property is read on each Cipher init, setting it back to 0 empties the
+ * cache. Requires HMAC-SHA256 in native wolfCrypt, the cache stays
+ * disabled otherwise.
+ */
+final class WolfCryptAesKeyCache {
+
+    /** Security property used to set maximum number of cached keys */
+    static final String CACHE_SIZE_PROPERTY =
+        "wolfjce.cipher.aesKeyCacheSize";
+
+    /** Maximum number of cached keys */
+    static final int MAX_CACHE_SIZE = 4096;
+
+    /** AES-GCM context, holds AesGcm objects */
+    static final int MODE_GCM = 1;
+
+    /** AES-CCM context, holds AesCcm objects */
+    static final int MODE_CCM = 2;
+
+    /* Shared cache, created on first use while enabled */
+    private static WolfCryptAesKeyCache instance = null;
+
+    /* Set once HMAC-SHA256 is found unavailable, cache stays disabled */
+    private static boolean unavailable = false;
+
+    /* Cached contexts in LRU order, eldest first. Guarded by this. */
+    private final LinkedHashMap<Id, NativeStruct> entries =
+        new LinkedHashMap<Id, NativeStruct>(16, 0.75f, true);
+
+    /* Maximum entries, updated from Security property. Guarded by this. */
+    private int maxEntries;
+
+    /* HMAC-SHA256 under random per-process key, used to derive Ids.
+     * Guarded by this. */
+    private final Hmac idHmac;
+
+    private WolfCryptAesKeyCache(int maxEntries) {
+
+        byte[] hmacKey = new byte[32];
+        Rng rng = WolfCryptRngPool.get();
+        Hmac hmac = new Hmac();
+
+        try {
+            synchronized (rng) {
+                rng.generateBlock(hmacKey);
+            }
+            hmac.setKey(Hmac.SHA256, hmacKey);
+
+        } catch (RuntimeException e) {
+            hmac.releaseNativeStruct();
+            throw e;
+
+        } finally {
+            WolfCryptRngPool.release(rng);
+            Arrays.fill(hmacKey, (byte)0);
+        }
+
+        this.idHmac = hmac;
+
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Read cache size from Security property.
+     *
+     * @return configured cache size, 0 if unset or invalid
+     */
+    private static int readCacheSize() {
+
+        int size = 0;
+        String prop = Security.getProperty(CACHE_SIZE_PROPERTY);
+
+        if (prop == null || prop.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            size = Integer.parseInt(prop.trim());
+        } catch (NumberFormatException e) {
+            log("error parsing " + CACHE_SIZE_PROPERTY + " property, " +
+                "cache disabled");
+            return 0;
+        }
+
+        if (size < 0) {
+            size = 0;
+        }
+        else if (size > MAX_CACHE_SIZE) {
+            size = MAX_CACHE_SIZE;
+        }
+
+        return size;
+    }
+
+    /**
+     * Get shared cache if enabled by Security property.
+     *
+     * Applies any change to the configured size, evicting least recently
+     * used entries if it shrank and emptying the cache if it was set
+     * to 0.
+     *
+     * @return shared cache, or null if caching is disabled
+     */
+    static WolfCryptAesKeyCache getInstance() {
+
+        WolfCryptAesKeyCache cache;
+        int size = readCacheSize();
+
+        synchronized (WolfCryptAesKeyCache.class) {
+            cache = instance;
+            if (size == 0 || unavailable) {
+                if (cache != null) {
+                    cache.resize(0);
+                }
+                return null;
+            }
+            if (cache == null) {
+                if (!FeatureDetect.HmacSha256Enabled()) {
+                    unavailable = true;
+                    log("HMAC-SHA256 not compiled in, cache disabled");
+                    return null;
+                }
+                try {
+                    cache = new WolfCryptAesKeyCache(size);
+                } catch (WolfCryptException e) {
+                    unavailable = true;
+                    log("failed to create HMAC-SHA256 for Ids, cache " +
+                        "disabled: " + e.getMessage());
+                    return null;
+                }
+                instance = cache;
+                log("enabled, size: " + size);
+            }
+        }
+
+        cache.resize(size);
+
+        return cache;
+    }
+
+    /**
+     * Return context to the shared cache, or release it if caching has
+     * been disabled since it was taken.
+     *
+     * @param id Id the context was taken or created under
+     * @param ctx keyed AesGcm or AesCcm context
+     */
+    static void release(Id id, NativeStruct ctx) {
+
+        WolfCryptAesKeyCache cache;
+
+        synchronized (WolfCryptAesKeyCache.class) {
+            cache = instance;
+        }
+
+        if (cache == null) {
+            ctx.releaseNativeStruct();
+            return;
+        }
+
+        cache.put(id, ctx);
+    }
+
+    /**
+     * Set maximum number of entries, evicting least recently used ones
+     * above the new size.
+     */
+    private synchronized void resize(int size) {
+
+        Iterator<Map.Entry<Id, NativeStruct>> it;
+
+        if (size == this.maxEntries) {
+            return;
+        }
+
+        this.maxEntries = size;
+        it = this.entries.entrySet().iterator();
+
+        while (this.entries.size() > size && it.hasNext()) {
+            it.next().getValue().releaseNativeStruct();
+            it.remove();
+        }
+
+        log("resized to " + size + " entries");
+    }
+
+    /**
+     * Derive cache Id for an AES key.
+     *
+     * @param mode MODE_GCM or MODE_CCM
+     * @param key raw AES key bytes
+     *
+     * @return Id for this mode and key
+     */
+    Id id(int mode, byte[] key) {
+
+        byte[] mac;
+
+        synchronized (this) {
+            this.idHmac.update((byte)mode);
+            mac = this.idHmac.doFinal(key);
+        }
+
+        return new Id(mode, mac);
+    }
+
+    /**
+     * Take a keyed context out of the cache.
+     *
+     * The returned context is owned by the caller until it is passed back
+     * with release().
+     *
+     * @param id Id of wanted key and mode
+     *
+     * @return keyed AesGcm (MODE_GCM) or AesCcm (MODE_CCM) context, or null
+     *         if not cached
+     */
+    synchronized NativeStruct take(Id id) {
+        return this.entries.remove(id);
+    }
+
+    /**
+     * Put keyed context into the cache as most recently used.
+     *
+     * If the cache already holds a context for this Id, or is disabled,
+     * ctx is released instead. Least recently used contexts above the
+     * maximum size are evicted and released.
+     */
+    private void put(Id id, NativeStruct ctx) {
+
+        NativeStruct evicted = null;
+
+        synchronized (this) {
+            if (this.maxEntries == 0 || this.entries.containsKey(id)) {
+                evicted = ctx;
+            }
+            else {
+                this.entries.put(id, ctx);
+                if (this.entries.size() > this.maxEntries) {
+                    Iterator<NativeStruct> it =
+                        this.entries.values().iterator();
+                    evicted = it.next();
+                    it.remove();
+                }
+            }
+        }
+
+        if (evicted != null) {
+            evicted.releaseNativeStruct();
+        }
+    }
+
+    /**
+     * Cache lookup key, mode plus HMAC-SHA256 of the AES key.
+     */
+    static final class Id {
+
+        private final int mode;
+        private final byte[] mac;
+        private final int hash;
+
+        private Id(int mode, byte[] mac) {
+            this.mode = mode;
+            this.mac = mac;
+            /* mac is keyed, so leading bytes are safe to use as hash */
+            this.hash = ((mac[0] & 0xff) << 24) | ((mac[1] & 0xff) << 16) |
+                        ((mac[2] & 0xff) << 8) | (mac[3] & 0xff);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (!(obj instanceof Id)) {
+                return false;
+            }
+
+            Id other = (Id)obj;
+
+            return (this.mode == other.mode) &&
+                MessageDigest.isEqual(this.mac, other.mac);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Internal log function, called when debug is enabled.
+     *
+     * @param msg Log message to be printed
+     */
+    private static void log(String msg) {
+        WolfCryptDebug.log(WolfCryptAesKeyCache.class, WolfCryptDebug.INFO,
+            () -> "[AesKeyCache] " + msg);
+    }
+}
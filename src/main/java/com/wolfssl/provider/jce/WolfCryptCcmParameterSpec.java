@@ -0,0 +1,85 @@
+/* WolfCryptCcmParameterSpec.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * wolfJCE AES-CCM parameter spec carrying the total message length.
+ *
+ * <p>AES-CCM encodes the payload length into the first block of the CBC-MAC,
+ * so a CCM operation cannot start until the length is known. When only a
+ * {@link GCMParameterSpec} is given, the "AES/CCM/NoPadding" Cipher buffers
+ * all input until {@code doFinal()}. Passing this spec instead tells the
+ * Cipher the payload length up front, letting {@code update()} stream data
+ * through native AES-CCM and return output as it goes, keeping memory use
+ * bounded for large messages.</p>
+ *
+ * <p>The data length is the plaintext length for both encryption and
+ * decryption, it does not include the authentication tag. Total input passed
+ * to {@code update()}/{@code doFinal()} must match it exactly (plus the tag
+ * when decrypting). This extends GCMParameterSpec, so it can be used anywhere
+ * a GCMParameterSpec is accepted for AES-CCM.</p>
+ */
+public class WolfCryptCcmParameterSpec extends GCMParameterSpec {
+
+    /** Payload length in bytes, not including authentication tag */
+    private final long dataLen;
+
+    /**
+     * Create an AES-CCM parameter spec.
+     *
+     * @param tLen authentication tag length in bits
+     * @param nonce nonce bytes, copied
+     * @param dataLen payload length in bytes, not including the
+     *        authentication tag
+     *
+     * @throws IllegalArgumentException if tLen or dataLen is negative, or
+     *         nonce is null
+     */
+    public WolfCryptCcmParameterSpec(int tLen, byte[] nonce, long dataLen)
+        throws IllegalArgumentException {
+
+        super(tLen, nonce);
+
+        if (dataLen < 0) {
+            throw new IllegalArgumentException(
+                "AES-CCM data length cannot be negative");
+        }
+        this.dataLen = dataLen;
+    }
+
+    /**
+     * Get the payload length.
+     *
+     * @return payload length in bytes, not including authentication tag
+     */
+    public long getDataLen() {
+        return this.dataLen;
+    }
+
+    @Override
+    public String toString() {
+        return "WolfCryptCcmParameterSpec(tLen=" + getTLen() +
+            ", nonceLen=" + getIV().length + ", dataLen=" + this.dataLen + ")";
+    }
+}
@@ -0,0 +1,438 @@
+/* WolfCryptCertManagerPool.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.security.Security;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfSSLCertManager;
+
+/**
+ * Bounded pool of native WolfSSLCertManager objects that have already been
+ * loaded with trust anchors (and optionally CertStore certificates and
+ * CRLs), used by WolfCryptPKIXCertPathValidator.
+ *
+ * Loading every TrustAnchor into a new native CertManager on each
+ * CertPathValidator.validate() call means re-parsing every root. Pooled
+ * CertManagers are keyed by everything that has been loaded into them, so
+ * a CertManager is only handed back out to a validation that would have
+ * loaded exactly the same native state. When trust anchors change, the key
+ * changes and older entries age out of the pool via LRU eviction.
+ *
+ * Building a key must cost much less than loading the anchors. Trust
+ * anchors are identified by a digest of their DER encodings, computed once
+ * per trust anchor Set and cached for as long as that Set is reachable
+ * (PKIXParameters returns the same Set on every call). CertStore
+ * certificates and CRLs are compared by object identity. Intermediate CAs
+ * from the validated path are not part of the pooled state, the validator
+ * loads them as temporary CAs and unloads them before returning a
+ * CertManager.
+ *
+ * A borrowed CertManager is owned exclusively by the borrowing thread until
+ * it is returned with release(). Callers must only return CertManagers after
+ * a successful validation, and must free (not return) any CertManager whose
+ * native state may differ from its Key.
+ *
+ * The maximum number of idle CertManagers held across all keys is set with
+ * the "wolfjce.certpath.certManagerPoolSize" Security property. Setting it
+ * to 0 disables pooling.
+ */
+final class WolfCryptCertManagerPool {
+
+    /** Security property used to size the pool */
+    static final String POOL_SIZE_PROPERTY =
+        "wolfjce.certpath.certManagerPoolSize";
+
+    /** Default maximum number of idle CertManagers across all keys */
+    static final int DEFAULT_POOL_SIZE = 8;
+
+    /* Lock around pool and idleCount */
+    private static final Object poolLock = new Object();
+
+    /* Idle CertManagers per Key, access ordered for LRU eviction */
+    private static final LinkedHashMap<Key, ArrayDeque<WolfSSLCertManager>>
+        pool = new LinkedHashMap<>(16, 0.75f, true);
+
+    /* Total idle CertManagers across all keys */
+    private static int idleCount = 0;
+
+    /* Digest of trust anchor DER encodings per trust anchor Set, held
+     * weakly so entries go away with the PKIXParameters they came from.
+     * TrustAnchor uses identity equality, so Sets holding the same
+     * TrustAnchor objects share an entry. Protected by poolLock. */
+    private static final Map<Set<TrustAnchor>, byte[]> anchorDigests =
+        new WeakHashMap<>();
+
+    /* Sort DER encodings so key is independent of Set iteration order */
+    private static final Comparator<byte[]> DER_ORDER =
+        new Comparator<byte[]>() {
+            @Override
+            public int compare(byte[] a, byte[] b) {
+                if (a.length != b.length) {
+                    return (a.length < b.length) ? -1 : 1;
+                }
+                for (int i = 0; i < a.length; i++) {
+                    if (a[i] != b[i]) {
+                        return (a[i] & 0xff) - (b[i] & 0xff);
+                    }
+                }
+                return 0;
+            }
+        };
+
+    private WolfCryptCertManagerPool() {
+    }
+
+    /**
+     * Get maximum number of idle CertManagers from the
+     * "wolfjce.certpath.certManagerPoolSize" Security property.
+     *
+     * @return maximum pool size, 0 if pooling is disabled
+     */
+    static int getMaxPoolSize() {
+
+        int size = DEFAULT_POOL_SIZE;
+        String prop = Security.getProperty(POOL_SIZE_PROPERTY);
+
+        if (prop != null && !prop.isEmpty()) {
+            try {
+                size = Integer.parseInt(prop.trim());
+                if (size < 0) {
+                    log(POOL_SIZE_PROPERTY + " (" + size + ") is negative, " +
+                        "using default");
+                    size = DEFAULT_POOL_SIZE;
+                }
+            } catch (NumberFormatException e) {
+                log("error parsing " + POOL_SIZE_PROPERTY + " property, " +
+                    "using default instead");
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Borrow an idle CertManager matching the given Key.
+     *
+     * @param key Key describing native CertManager state needed
+     *
+     * @return pooled CertManager already loaded with state described by key,
+     *         or null if none is available
+     */
+    static WolfSSLCertManager borrow(Key key) {
+
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (poolLock) {
+            ArrayDeque<WolfSSLCertManager> idle = pool.get(key);
+            if (idle == null || idle.isEmpty()) {
+                return null;
+            }
+
+            WolfSSLCertManager cm = idle.pollFirst();
+            idleCount--;
+            if (idle.isEmpty()) {
+                pool.remove(key);
+            }
+
+            log("borrowed pooled CertManager, idle count: " + idleCount);
+
+            return cm;
+        }
+    }
+
+    /**
+     * Return a CertManager to the pool after successful use.
+     *
+     * If the pool is disabled or full, the least recently used idle
+     * CertManagers are freed to make room.
+     *
+     * @param key Key describing native state loaded into cm
+     * @param cm CertManager to return to the pool
+     */
+    static void release(Key key, WolfSSLCertManager cm) {
+
+        int maxSize = getMaxPoolSize();
+        List<WolfSSLCertManager> evicted = new ArrayList<>();
+
+        if (key == null || cm == null) {
+            return;
+        }
+
+        if (maxSize == 0) {
+            cm.free();
+            return;
+        }
+
+        synchronized (poolLock) {
+            ArrayDeque<WolfSSLCertManager> idle = pool.get(key);
+            if (idle == null) {
+                idle = new ArrayDeque<>();
+                pool.put(key, idle);
+            }
+            idle.addFirst(cm);
+            idleCount++;
+
+            /* Evict from least recently used keys until within bounds */
+            Iterator<Map.Entry<Key, ArrayDeque<WolfSSLCertManager>>> it =
+                pool.entrySet().iterator();
+            while (idleCount > maxSize && it.hasNext()) {
+                ArrayDeque<WolfSSLCertManager> q = it.next().getValue();
+                while (idleCount > maxSize && !q.isEmpty()) {
+                    evicted.add(q.pollLast());
+                    idleCount--;
+                }
+                if (q.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+
+        /* Free native memory outside of pool lock */
+        for (WolfSSLCertManager e : evicted) {
+            e.free();
+        }
+
+        if (!evicted.isEmpty()) {
+            log("evicted " + evicted.size() + " pooled CertManager(s)");
+        }
+    }
+
+    /**
+     * Free all idle pooled CertManagers.
+     */
+    static void clear() {
+
+        List<WolfSSLCertManager> toFree = new ArrayList<>();
+
+        synchronized (poolLock) {
+            for (ArrayDeque<WolfSSLCertManager> q : pool.values()) {
+                toFree.addAll(q);
+            }
+            pool.clear();
+            idleCount = 0;
+            anchorDigests.clear();
+        }
+
+        for (WolfSSLCertManager cm : toFree) {
+            cm.free();
+        }
+    }
+
+    /**
+     * Get number of idle CertManagers currently held in the pool.
+     *
+     * @return idle CertManager count
+     */
+    static int getIdleCount() {
+        synchronized (poolLock) {
+            return idleCount;
+        }
+    }
+
+    /**
+     * Get digest of the DER encodings of all trust anchors in the Set that
+     * hold a trusted certificate, cached per Set.
+     *
+     * @param trustAnchors TrustAnchors loaded into CertManager
+     *
+     * @return SHA-256 digest, independent of Set iteration order
+     *
+     * @throws CertificateEncodingException if an encoding could not be
+     *         obtained
+     */
+    private static byte[] getAnchorDigest(Set<TrustAnchor> trustAnchors)
+        throws CertificateEncodingException {
+
+        byte[] digest;
+        List<byte[]> anchorDer = new ArrayList<>();
+        Sha256 sha = null;
+
+        synchronized (poolLock) {
+            digest = anchorDigests.get(trustAnchors);
+        }
+        if (digest != null) {
+            return digest;
+        }
+
+        for (TrustAnchor anchor : trustAnchors) {
+            X509Certificate cert = anchor.getTrustedCert();
+            if (cert != null) {
+                anchorDer.add(cert.getEncoded());
+            }
+        }
+        Collections.sort(anchorDer, DER_ORDER);
+
+        try {
+            sha = new Sha256();
+            for (byte[] der : anchorDer) {
+                /* length prefix keeps encoding boundaries unambiguous */
+                sha.update(new byte[] {
+                    (byte)(der.length >>> 24), (byte)(der.length >>> 16),
+                    (byte)(der.length >>> 8), (byte)der.length });
+                sha.update(der);
+            }
+            digest = sha.digest();
+
+        } finally {
+            if (sha != null) {
+                sha.releaseNativeStruct();
+            }
+        }
+
+        synchronized (poolLock) {
+            anchorDigests.put(trustAnchors, digest);
+        }
+        log("computed TrustAnchor digest for " + anchorDer.size() +
+            " anchor(s)");
+
+        return digest;
+    }
+
+    /**
+     * Immutable key identifying the native state loaded into a pooled
+     * CertManager. Two Keys are equal only if the same trust anchors,
+     * CertStore certificates and CRLs would be loaded. Trust anchors are
+     * compared by digest, CertStore certificates and CRLs by identity.
+     */
+    static final class Key {
+
+        private final byte[] anchorDigest;
+        private final boolean crlEnabled;
+        private final Object[] storeCerts;
+        private final Object[] crls;
+        private final int hash;
+
+        private Key(byte[] anchorDigest, boolean crlEnabled,
+            Object[] storeCerts, Object[] crls) {
+
+            this.anchorDigest = anchorDigest;
+            this.crlEnabled = crlEnabled;
+            this.storeCerts = storeCerts;
+            this.crls = crls;
+
+            int h = Arrays.hashCode(anchorDigest);
+            h = 31 * h + (crlEnabled ? 1 : 0);
+            h = 31 * h + identityHash(storeCerts);
+            h = 31 * h + identityHash(crls);
+            this.hash = h;
+        }
+
+        /**
+         * Create new Key.
+         *
+         * @param trustAnchors TrustAnchors loaded into CertManager, only
+         *        those with a trusted certificate are included
+         * @param crlEnabled true if CRL checking is enabled in CertManager
+         * @param storeCerts certificates loaded from CertStores, or null
+         * @param crls CRLs loaded from CertStores, or null
+         *
+         * @return new Key, or null if an encoding could not be obtained
+         */
+        static Key create(Set<TrustAnchor> trustAnchors, boolean crlEnabled,
+            Collection<X509Certificate> storeCerts, Collection<X509CRL> crls) {
+
+            try {
+                return new Key(getAnchorDigest(trustAnchors), crlEnabled,
+                    (storeCerts != null) ? storeCerts.toArray() : new Object[0],
+                    (crls != null) ? crls.toArray() : new Object[0]);
+
+            } catch (CertificateEncodingException | WolfCryptException e) {
+                log("unable to get TrustAnchor digest for CertManager " +
+                    "pool key: " + e.getMessage());
+                return null;
+            }
+        }
+
+        private static int identityHash(Object[] objs) {
+            int h = 1;
+            for (Object o : objs) {
+                h = 31 * h + System.identityHashCode(o);
+            }
+            return h;
+        }
+
+        private static boolean identityEquals(Object[] a, Object[] b) {
+            if (a.length != b.length) {
+                return false;
+            }
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] != b[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key)obj;
+            return (this.hash == that.hash) &&
+                   (this.crlEnabled == that.crlEnabled) &&
+                   Arrays.equals(this.anchorDigest, that.anchorDigest) &&
+                   identityEquals(this.storeCerts, that.storeCerts) &&
+                   identityEquals(this.crls, that.crls);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Internal log function, called when debug is enabled.
+     *
+     * @param msg Log message to be printed
+     */
+    private static void log(String msg) {
+        WolfCryptDebug.log(WolfCryptCertManagerPool.class, WolfCryptDebug.INFO,
+            () -> "[CertManagerPool] " + msg);
+    }
+}
@@ -0,0 +1,852 @@
+/* WolfCryptChaCha20Poly1305Cipher.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+
+package com.wolfssl.provider.jce;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.AlgorithmParameters;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.InvalidParameterSpecException;
+import java.util.Arrays;
+import javax.crypto.AEADBadTagException;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.CipherSpi;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+
+import com.wolfssl.wolfcrypt.ChaCha20Poly1305;
+import com.wolfssl.wolfcrypt.FeatureDetect;
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.Sha512;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
+import com.wolfssl.wolfcrypt.WolfCryptError;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE ChaCha20-Poly1305 (RFC 8439) Cipher implementation.
+ *
+ * Registered as "ChaCha20-Poly1305". Takes a 32 byte key and a 12 byte
+ * nonce passed in an IvParameterSpec, matching the SunJCE interface. When
+ * encrypting without parameters a random nonce is generated. Output is
+ * ciphertext followed by the 16 byte tag.
+ *
+ * Encryption streams through native wolfCrypt, update() returns
+ * ciphertext for all input given. Decryption buffers input until
+ * doFinal() and only returns plaintext after the tag has been verified,
+ * unless the "wolfjce.cipher.chacha20Poly1305StreamingDecrypt" Security
+ * property is "true", in which case update() returns unauthenticated
+ * plaintext holding back the last 16 bytes seen.
+ *
+ * doFinal(ByteBuffer, ByteBuffer) with direct buffers and no prior
+ * update() data runs natively on buffer memory without array copies.
+ *
+ * As with AES-GCM, re-initializing for encryption with the same key and
+ * nonce as the last encryption is rejected, and a second encryption after
+ * doFinal() requires a new init().
+ */
+public class WolfCryptChaCha20Poly1305Cipher extends CipherSpi {
+
+    /* Security property to opt in to unauthenticated streaming decrypt,
+     * where update() returns plaintext before the tag is checked */
+    private static final String STREAMING_DECRYPT_PROPERTY =
+        "wolfjce.cipher.chacha20Poly1305StreamingDecrypt";
+
+    private static final int TAG_SIZE = ChaCha20Poly1305.TAG_SIZE;
+
+    /* Native key, buffered data and nonce reuse tracking, cleaned up once
+     * this Cipher becomes unreachable, see CipherCleanup */
+    private final CipherCleanup cleanup = new CipherCleanup();
+
+    /* True for encrypt, false for decrypt */
+    private boolean encrypt = true;
+
+    /* Nonce for current operation */
+    private byte[] nonce = null;
+
+    /* AAD accumulated via engineUpdateAAD(), passed to first native call */
+    private ByteArrayOutputStream aadStream = null;
+
+    /* Number of valid bytes in cleanup.buffered */
+    private int bufferedLen = 0;
+
+    /* Has this Cipher been initialized */
+    private boolean cipherInitialized = false;
+
+    /* Has update/final been called yet, gates setting of AAD */
+    private boolean operationStarted = false;
+
+    /* True once native streaming operation has been started */
+    private boolean streamStarted = false;
+
+    /* True when this decrypt operation returns plaintext from update() */
+    private boolean streamDecrypt = false;
+
+    /* Set when an encryption completes, cleared by init. A second
+     * encryption without re-init would reuse the same key and nonce */
+    private boolean encryptNeedsReinit = false;
+
+    /**
+     * Create new WolfCryptChaCha20Poly1305Cipher object.
+     */
+    public WolfCryptChaCha20Poly1305Cipher() {
+        WolfCryptCleaner.register(this, this.cleanup);
+        log("created new ChaCha20-Poly1305 Cipher");
+    }
+
+    @Override
+    protected void engineSetMode(String mode)
+        throws NoSuchAlgorithmException {
+
+        if (!mode.equalsIgnoreCase("None")) {
+            throw new NoSuchAlgorithmException(
+                "Mode must be None for ChaCha20-Poly1305");
+        }
+    }
+
+    @Override
+    protected void engineSetPadding(String padding)
+        throws NoSuchPaddingException {
+
+        if (!padding.equalsIgnoreCase("NoPadding")) {
+            throw new NoSuchPaddingException(
+                "Padding must be NoPadding for ChaCha20-Poly1305");
+        }
+    }
+
+    @Override
+    protected int engineGetBlockSize() {
+        /* Stream cipher */
+        return 0;
+    }
+
+    @Override
+    protected int engineGetOutputSize(int inputLen) {
+
+        if (this.encrypt) {
+            return inputLen + TAG_SIZE;
+        }
+
+        return Math.max(this.bufferedLen + inputLen - TAG_SIZE, 0);
+    }
+
+    @Override
+    protected byte[] engineGetIV() {
+        return (this.nonce == null) ? null : this.nonce.clone();
+    }
+
+    @Override
+    protected AlgorithmParameters engineGetParameters() {
+
+        AlgorithmParameters params = null;
+
+        if (this.nonce == null) {
+            return null;
+        }
+
+        /* wolfJCE does not implement ChaCha20-Poly1305 AlgorithmParameters,
+         * use those of another installed provider if available */
+        try {
+            params = AlgorithmParameters.getInstance("ChaCha20-Poly1305");
+            params.init(new IvParameterSpec(this.nonce));
+
+        } catch (NoSuchAlgorithmException |
+                 InvalidParameterSpecException e) {
+            params = null;
+        }
+
+        return params;
+    }
+
+    @Override
+    protected void engineInit(int opmode, Key key, SecureRandom random)
+        throws InvalidKeyException {
+
+        try {
+            wolfCryptInit(opmode, key, null, random);
+
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new InvalidKeyException(e.getMessage());
+        }
+
+        log("initialized with key");
+    }
+
+    @Override
+    protected void engineInit(int opmode, Key key,
+        AlgorithmParameterSpec params, SecureRandom random)
+        throws InvalidKeyException, InvalidAlgorithmParameterException {
+
+        byte[] iv = null;
+
+        if (params != null) {
+            if (!(params instanceof IvParameterSpec)) {
+                throw new InvalidAlgorithmParameterException(
+                    "ChaCha20-Poly1305 parameters must be IvParameterSpec");
+            }
+            iv = ((IvParameterSpec)params).getIV();
+        }
+
+        wolfCryptInit(opmode, key, iv, random);
+
+        log("initialized with key and AlgorithmParameterSpec");
+    }
+
+    @Override
+    protected void engineInit(int opmode, Key key,
+        AlgorithmParameters params, SecureRandom random)
+        throws InvalidKeyException, InvalidAlgorithmParameterException {
+
+        AlgorithmParameterSpec spec = null;
+
+        if (params != null) {
+            try {
+                spec = params.getParameterSpec(IvParameterSpec.class);
+
+            } catch (InvalidParameterSpecException e) {
+                throw new InvalidAlgorithmParameterException(e);
+            }
+        }
+
+        engineInit(opmode, key, spec, random);
+    }
+
+    /**
+     * Initialize for a new operation.
+     *
+     * @param opmode Cipher.ENCRYPT_MODE or Cipher.DECRYPT_MODE
+     * @param key 32 byte ChaCha20 key
+     * @param iv 12 byte nonce, or null to generate one when encrypting
+     * @param random source for generated nonce, may be null
+     */
+    private void wolfCryptInit(int opmode, Key key, byte[] iv,
+        SecureRandom random)
+        throws InvalidKeyException, InvalidAlgorithmParameterException {
+
+        byte[] keyEnc = null;
+        byte[] keyHash = null;
+        String prop = null;
+
+        if (opmode != Cipher.ENCRYPT_MODE && opmode != Cipher.DECRYPT_MODE) {
+            throw new InvalidParameterException(
+                "ChaCha20-Poly1305 opmode must be ENCRYPT_MODE or " +
+                "DECRYPT_MODE");
+        }
+
+        if (key == null) {
+            throw new InvalidKeyException("Key cannot be null");
+        }
+        keyEnc = key.getEncoded();
+        if (keyEnc == null || keyEnc.length != ChaCha20Poly1305.KEY_SIZE) {
+            zeroArray(keyEnc);
+            throw new InvalidKeyException(
+                "ChaCha20-Poly1305 key must be " +
+                ChaCha20Poly1305.KEY_SIZE + " bytes");
+        }
+
+        try {
+            if (iv == null) {
+                if (opmode == Cipher.DECRYPT_MODE) {
+                    throw new InvalidKeyException(
+                        "Nonce parameter required for decryption");
+                }
+                iv = new byte[ChaCha20Poly1305.NONCE_SIZE];
+                if (random == null) {
+                    random = new SecureRandom();
+                }
+                random.nextBytes(iv);
+            }
+            else if (iv.length != ChaCha20Poly1305.NONCE_SIZE) {
+                throw new InvalidAlgorithmParameterException(
+                    "ChaCha20-Poly1305 nonce must be " +
+                    ChaCha20Poly1305.NONCE_SIZE + " bytes");
+            }
+
+            if (opmode == Cipher.ENCRYPT_MODE) {
+                keyHash = hashKey(keyEnc);
+                if (this.cleanup.lastEncryptNonce != null &&
+                    MessageDigest.isEqual(this.cleanup.lastEncryptNonce, iv) &&
+                    MessageDigest.isEqual(this.cleanup.lastEncryptKeyHash,
+                        keyHash)) {
+                    throw new InvalidAlgorithmParameterException(
+                        "Cannot reuse nonce for ChaCha20-Poly1305 " +
+                        "encryption");
+                }
+            }
+
+            if (this.cleanup.aead == null) {
+                try {
+                    this.cleanup.aead = new ChaCha20Poly1305();
+                } catch (WolfCryptException e) {
+                    throw new InvalidKeyException(
+                        "ChaCha20-Poly1305 not available: " + e.getMessage());
+                }
+            }
+            this.cleanup.aead.setKey(keyEnc);
+
+        } finally {
+            zeroArray(keyEnc);
+        }
+
+        if (opmode == Cipher.ENCRYPT_MODE) {
+            zeroArray(this.cleanup.lastEncryptKeyHash);
+            this.cleanup.lastEncryptKeyHash = keyHash;
+            this.cleanup.lastEncryptNonce = iv.clone();
+        }
+
+        this.encrypt = (opmode == Cipher.ENCRYPT_MODE);
+        this.nonce = iv.clone();
+        this.encryptNeedsReinit = false;
+        resetOperation();
+
+        this.streamDecrypt = false;
+        if (!this.encrypt) {
+            prop = Security.getProperty(STREAMING_DECRYPT_PROPERTY);
+            this.streamDecrypt =
+                (prop != null && prop.trim().equalsIgnoreCase("true"));
+        }
+
+        this.cipherInitialized = true;
+    }
+
+    /**
+     * Compute digest of encoded key bytes for (key, nonce) reuse tracking,
+     * so no extra copy of key material is kept. Same digest choice as the
+     * AES-GCM tracking in WolfCryptCipher.
+     *
+     * @param keyEnc encoded key bytes
+     *
+     * @return digest of keyEnc
+     */
+    private static byte[] hashKey(byte[] keyEnc) {
+
+        if (FeatureDetect.Sha512Enabled()) {
+            Sha512 sha = new Sha512();
+
+            try {
+                sha.update(keyEnc);
+                return sha.digest();
+            } finally {
+                sha.releaseNativeStruct();
+            }
+        }
+        else {
+            Sha256 sha = new Sha256();
+
+            try {
+                sha.update(keyEnc);
+                return sha.digest();
+            } finally {
+                sha.releaseNativeStruct();
+            }
+        }
+    }
+
+    /**
+     * Clear per-operation state, keeping key and nonce.
+     */
+    private void resetOperation() {
+
+        zeroArray(this.cleanup.buffered);
+        this.bufferedLen = 0;
+        if (this.cleanup.buffered.length > 64 * 1024) {
+            /* Do not keep large buffers from a previous message */
+            this.cleanup.buffered = new byte[0];
+        }
+        this.aadStream = null;
+        this.operationStarted = false;
+        this.streamStarted = false;
+    }
+
+    /**
+     * Append bytes to the internal decrypt buffer.
+     */
+    private void bufferedAppend(byte[] src, int offset, int len) {
+
+        if (len <= 0) {
+            return;
+        }
+        if (this.bufferedLen + len > this.cleanup.buffered.length) {
+            byte[] tmp = Arrays.copyOf(this.cleanup.buffered,
+                Math.max(this.cleanup.buffered.length * 2,
+                    this.bufferedLen + len));
+            zeroArray(this.cleanup.buffered);
+            this.cleanup.buffered = tmp;
+        }
+        System.arraycopy(src, offset, this.cleanup.buffered,
+            this.bufferedLen, len);
+        this.bufferedLen += len;
+    }
+
+    /**
+     * Drop the first count bytes of the internal decrypt buffer.
+     */
+    private void bufferedConsume(int count) {
+
+        System.arraycopy(this.cleanup.buffered, count, this.cleanup.buffered, 0,
+            this.bufferedLen - count);
+        Arrays.fill(this.cleanup.buffered, this.bufferedLen - count,
+            this.bufferedLen, (byte)0);
+        this.bufferedLen -= count;
+    }
+
+    /**
+     * Get accumulated AAD to pass to the first native call of this
+     * operation, returns null on later calls.
+     */
+    private byte[] takeAad() {
+
+        byte[] aad = null;
+
+        if (this.aadStream != null) {
+            aad = this.aadStream.toByteArray();
+            this.aadStream = null;
+        }
+
+        return aad;
+    }
+
+    /**
+     * Check Cipher is initialized and not waiting for re-init after an
+     * encryption, then mark operation as started.
+     */
+    private void startOperation() throws IllegalStateException {
+
+        if (!this.cipherInitialized) {
+            throw new IllegalStateException(
+                "Cipher has not been initialized yet");
+        }
+        if (this.encryptNeedsReinit) {
+            throw new IllegalStateException(
+                "Must use either different key or nonce for " +
+                "ChaCha20-Poly1305 encryption");
+        }
+        this.operationStarted = true;
+    }
+
+    /**
+     * Start native streaming operation, if not already started.
+     */
+    private void startStream() {
+
+        if (this.streamStarted) {
+            return;
+        }
+        if (this.encrypt) {
+            this.cleanup.aead.encryptInit(this.nonce);
+        }
+        else {
+            this.cleanup.aead.decryptInit(this.nonce);
+        }
+        this.streamStarted = true;
+    }
+
+    @Override
+    protected byte[] engineUpdate(byte[] input, int inputOffset,
+        int inputLen) throws IllegalStateException {
+
+        int toProcess = 0;
+        byte[] output = null;
+
+        startOperation();
+
+        if (input == null || inputLen <= 0) {
+            return new byte[0];
+        }
+
+        if (this.encrypt) {
+            startStream();
+            return this.cleanup.aead.encryptUpdate(input, inputOffset, inputLen,
+                takeAad());
+        }
+
+        bufferedAppend(input, inputOffset, inputLen);
+
+        if (!this.streamDecrypt) {
+            return new byte[0];
+        }
+
+        /* Hold back last tag length bytes, they may be the tag */
+        toProcess = this.bufferedLen - TAG_SIZE;
+        if (toProcess <= 0) {
+            return new byte[0];
+        }
+
+        startStream();
+        output = this.cleanup.aead.decryptUpdate(this.cleanup.buffered, 0,
+            toProcess, takeAad());
+        bufferedConsume(toProcess);
+
+        return output;
+    }
+
+    @Override
+    protected int engineUpdate(byte[] input, int inputOffset, int inputLen,
+        byte[] output, int outputOffset)
+        throws IllegalStateException, ShortBufferException {
+
+        int needed = 0;
+        byte[] tmpOut = null;
+
+        if (this.encrypt) {
+            needed = inputLen;
+        }
+        else if (this.streamDecrypt) {
+            needed = Math.max(this.bufferedLen + inputLen - TAG_SIZE, 0);
+        }
+        if (output == null || output.length - outputOffset < needed) {
+            throw new ShortBufferException(
+                "Output buffer too small, need " + needed + " bytes");
+        }
+
+        tmpOut = engineUpdate(input, inputOffset, inputLen);
+
+        try {
+            System.arraycopy(tmpOut, 0, output, outputOffset, tmpOut.length);
+            return tmpOut.length;
+
+        } finally {
+            zeroArray(tmpOut);
+        }
+    }
+
+    @Override
+    protected byte[] engineDoFinal(byte[] input, int inputOffset,
+        int inputLen)
+        throws IllegalBlockSizeException, BadPaddingException {
+
+        startOperation();
+
+        if (input == null) {
+            inputOffset = 0;
+            inputLen = 0;
+        }
+
+        try {
+            if (this.encrypt) {
+                return encryptFinal(input, inputOffset, inputLen);
+            }
+
+            return decryptFinal(input, inputOffset, inputLen);
+
+        } finally {
+            resetOperation();
+        }
+    }
+
+    /**
+     * Finish encryption, returning remaining ciphertext plus tag.
+     */
+    private byte[] encryptFinal(byte[] input, int inputOffset,
+        int inputLen) {
+
+        byte[] tag = new byte[TAG_SIZE];
+        byte[] ct = null;
+        byte[] out = null;
+
+        if (this.streamStarted) {
+            ct = this.cleanup.aead.encryptUpdate(input, inputOffset, inputLen,
+                takeAad());
+            this.cleanup.aead.encryptFinal(tag);
+        }
+        else {
+            byte[] in = (input == null) ? new byte[0] :
+                Arrays.copyOfRange(input, inputOffset,
+                    inputOffset + inputLen);
+            try {
+                ct = this.cleanup.aead.encrypt(in, this.nonce, tag, takeAad());
+            } finally {
+                zeroArray(in);
+            }
+        }
+
+        this.encryptNeedsReinit = true;
+
+        /* Concatenate auth tag to end of ciphertext */
+        out = new byte[ct.length + tag.length];
+        System.arraycopy(ct, 0, out, 0, ct.length);
+        System.arraycopy(tag, 0, out, ct.length, tag.length);
+
+        return out;
+    }
+
+    /**
+     * Finish decryption, returning remaining plaintext once the tag has
+     * been verified.
+     */
+    private byte[] decryptFinal(byte[] input, int inputOffset, int inputLen)
+        throws AEADBadTagException {
+
+        int ctLen = 0;
+        byte[] tag = null;
+        byte[] out = null;
+
+        bufferedAppend(input, inputOffset, inputLen);
+
+        if (this.bufferedLen < TAG_SIZE) {
+            throw new AEADBadTagException(
+                "Input too short for ChaCha20-Poly1305 tag, got " +
+                this.bufferedLen + " bytes, need at least " + TAG_SIZE);
+        }
+
+        ctLen = this.bufferedLen - TAG_SIZE;
+        tag = Arrays.copyOfRange(this.cleanup.buffered, ctLen,
+            this.bufferedLen);
+
+        try {
+            if (this.streamStarted) {
+                out = this.cleanup.aead.decryptUpdate(this.cleanup.buffered,
+                    0, ctLen, takeAad());
+                this.cleanup.aead.decryptFinal(tag);
+            }
+            else {
+                byte[] ct = Arrays.copyOf(this.cleanup.buffered, ctLen);
+                out = this.cleanup.aead.decrypt(ct, this.nonce, tag, takeAad());
+            }
+
+        } catch (WolfCryptException e) {
+            zeroArray(out);
+            /* Convert to AEADBadTagException */
+            if (e.getCode() == WolfCryptError.MAC_CMP_FAILED_E.getCode()) {
+                throw new AEADBadTagException(e.getMessage());
+            }
+            throw e;
+        }
+
+        return out;
+    }
+
+    @Override
+    protected int engineDoFinal(byte[] input, int inputOffset, int inputLen,
+        byte[] output, int outputOffset)
+        throws ShortBufferException, IllegalBlockSizeException,
+               BadPaddingException {
+
+        byte[] tmpOut = null;
+        int needed = engineGetOutputSize(inputLen);
+
+        if (output == null || output.length - outputOffset < needed) {
+            throw new ShortBufferException(
+                "Output buffer too small, need " + needed + " bytes");
+        }
+
+        tmpOut = engineDoFinal(input, inputOffset, inputLen);
+
+        try {
+            System.arraycopy(tmpOut, 0, output, outputOffset, tmpOut.length);
+            return tmpOut.length;
+
+        } finally {
+            zeroArray(tmpOut);
+        }
+    }
+
+    @Override
+    protected int engineDoFinal(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException, IllegalBlockSizeException,
+               BadPaddingException {
+
+        if (this.cipherInitialized && !this.encryptNeedsReinit &&
+            !this.operationStarted && input != null && output != null &&
+            input.isDirect() && output.isDirect() && !output.isReadOnly()) {
+
+            log("final direct ByteBuffer (inputLen: " + input.remaining() +
+                ", outputRemaining: " + output.remaining() + ")");
+
+            startOperation();
+            try {
+                return finalDirect(input, output);
+            } finally {
+                resetOperation();
+            }
+        }
+
+        return super.engineDoFinal(input, output);
+    }
+
+    /**
+     * One-shot operation over direct ByteBuffers. Native wolfCrypt reads
+     * input and writes output memory directly, input and output may be
+     * views of the same memory for in-place operation.
+     */
+    private int finalDirect(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException, AEADBadTagException {
+
+        int inLen = input.remaining();
+        byte[] tag = new byte[TAG_SIZE];
+        int ret = 0;
+
+        if (this.encrypt) {
+            if (output.remaining() < inLen + TAG_SIZE) {
+                throw new ShortBufferException(
+                    "Output buffer too small, need " + (inLen + TAG_SIZE) +
+                    " bytes, got " + output.remaining());
+            }
+            ret = this.cleanup.aead.encrypt(input, output, this.nonce, tag,
+                takeAad());
+            output.put(tag);
+            this.encryptNeedsReinit = true;
+
+            return ret + TAG_SIZE;
+        }
+
+        if (inLen < TAG_SIZE) {
+            throw new AEADBadTagException(
+                "Input too short for ChaCha20-Poly1305 tag, got " + inLen +
+                " bytes, need at least " + TAG_SIZE);
+        }
+        if (output.remaining() < inLen - TAG_SIZE) {
+            throw new ShortBufferException(
+                "Output buffer too small, need " + (inLen - TAG_SIZE) +
+                " bytes, got " + output.remaining());
+        }
+
+        /* Read tag before decrypting, output may overlap input */
+        ByteBuffer ct = input.duplicate();
+        ct.limit(input.limit() - TAG_SIZE);
+        ByteBuffer tagBuf = input.duplicate();
+        tagBuf.position(input.limit() - TAG_SIZE);
+        tagBuf.get(tag);
+
+        try {
+            ret = this.cleanup.aead.decrypt(ct, output, this.nonce, tag,
+                takeAad());
+
+        } catch (WolfCryptException e) {
+            if (e.getCode() == WolfCryptError.MAC_CMP_FAILED_E.getCode()) {
+                throw new AEADBadTagException(e.getMessage());
+            }
+            throw e;
+        }
+        input.position(input.limit());
+
+        return ret;
+    }
+
+    @Override
+    protected void engineUpdateAAD(byte[] src, int offset, int len)
+        throws IllegalArgumentException, IllegalStateException {
+
+        if (!this.cipherInitialized) {
+            throw new IllegalStateException(
+                "Cipher has not been initialized yet");
+        }
+        if (this.operationStarted) {
+            throw new IllegalStateException(
+                "Must set AAD before calling Cipher.update/final");
+        }
+        if (src == null || offset < 0 || len < 0 ||
+            (src.length < (offset + len))) {
+            throw new IllegalArgumentException(
+                "Source buffer is null or bad offset/len");
+        }
+
+        if (this.aadStream == null) {
+            this.aadStream = new ByteArrayOutputStream();
+        }
+        this.aadStream.write(src, offset, len);
+    }
+
+    @Override
+    protected void engineUpdateAAD(ByteBuffer src)
+        throws IllegalArgumentException, IllegalStateException {
+
+        byte[] tmp = null;
+
+        if (src == null) {
+            throw new IllegalArgumentException("Source buffer is null");
+        }
+
+        tmp = new byte[src.remaining()];
+        src.get(tmp);
+        engineUpdateAAD(tmp, 0, tmp.length);
+    }
+
+    @Override
+    protected int engineGetKeySize(Key key) throws InvalidKeyException {
+
+        byte[] encoded = null;
+
+        if (key == null || (encoded = key.getEncoded()) == null) {
+            throw new InvalidKeyException("Key or encoded key is null");
+        }
+        zeroArray(encoded);
+
+        return encoded.length * 8;
+    }
+
+    private static void zeroArray(byte[] in) {
+
+        if (in != null) {
+            Arrays.fill(in, (byte)0);
+        }
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[ChaCha20-Poly1305] " + msg);
+    }
+
+    /**
+     * State cleaned up once a WolfCryptChaCha20Poly1305Cipher becomes
+     * unreachable, in place of a finalizer. Registered with
+     * WolfCryptCleaner, so must not reference the Cipher itself.
+     *
+     * Releasing the native object zeroizes the key held in it.
+     */
+    private static final class CipherCleanup implements Runnable {
+
+        /* Native ChaCha20-Poly1305 object, created on first init */
+        private ChaCha20Poly1305 aead = null;
+
+        /* Decrypt input held until doFinal(), or the trailing tag length
+         * bytes when streaming decrypt */
+        private byte[] buffered = new byte[0];
+
+        /* Digest of last encrypt key and last encrypt nonce, tracked to
+         * reject nonce reuse on re-initialization */
+        private byte[] lastEncryptKeyHash = null;
+        private byte[] lastEncryptNonce = null;
+
+        @Override
+        public void run() {
+            if (this.aead != null) {
+                this.aead.releaseNativeStruct();
+                this.aead = null;
+            }
+            zeroArray(this.buffered);
+            zeroArray(this.lastEncryptKeyHash);
+            zeroArray(this.lastEncryptNonce);
+        }
+    }
+}
@@ -40,6 +40,7 @@ import javax.crypto.spec.PSource;
 import javax.crypto.spec.SecretKeySpec;
 
 import java.security.SecureRandom;
+import java.security.Security;
 import java.security.MessageDigest;
 import java.security.KeyFactory;
 import java.security.spec.MGF1ParameterSpec;
@@ -71,6 +72,9 @@ import com.wolfssl.wolfcrypt.Rng;
 import com.wolfssl.wolfcrypt.Sha256;
 import com.wolfssl.wolfcrypt.Sha512;
 import com.wolfssl.wolfcrypt.FeatureDetect;
+import com.wolfssl.wolfcrypt.Fips;
+import com.wolfssl.wolfcrypt.NativeStruct;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
 import com.wolfssl.wolfcrypt.WolfCrypt;
 import com.wolfssl.wolfcrypt.WolfCryptError;
 import com.wolfssl.wolfcrypt.WolfCryptException;
@@ -135,7 +139,6 @@ public class WolfCryptCipher extends CipherSpi {
     private AesCts aesCts = null;
     private Des3 des3     = null;
     private Rsa  rsa      = null;
-    private Rng  rng      = null;
 
     /* RSA-OAEP parameters */
     private int oaepHashType = 0;
@@ -148,7 +151,11 @@ public class WolfCryptCipher extends CipherSpi {
     /* stash key and IV here for easy lookup */
     private Key storedKey = null;
     private AlgorithmParameterSpec storedSpec = null;
-    private byte[] iv = null;
+
+    /* IV, GCM nonce reuse tracking and AES key cache state, kept in a
+     * separate object so it can be cleaned up once this Cipher becomes
+     * unreachable, see CipherCleanup */
+    private final CipherCleanup cleanup = new CipherCleanup();
 
     /* AES-GCM/CCM tag length (bytes), default to 128 bits */
     private int gcmTagLen = 16;
@@ -156,18 +163,49 @@ public class WolfCryptCipher extends CipherSpi {
     /* AAD data for AES-GCM/CCM, accumulated via engineUpdateAAD() */
     private ByteArrayOutputStream aadStream = null;
 
-    /* Last (key, IV) set for AES-GCM encryption at init time, tracked to
-     * reject GCM nonce reuse on re-initialization. A digest of the encoded
-     * key (SHA-512, or SHA-256 when SHA-512 is not compiled in) is stored
-     * instead of the key bytes to avoid keeping an extra copy of key
-     * material in memory. */
-    private byte[] lastGcmEncryptKeyHash = null;
-    private byte[] lastGcmEncryptIv = null;
-
     /* Set when an AES-GCM encryption completes, cleared by init. A second
      * encryption without re-init would reuse the same key and IV */
     private boolean gcmEncryptNeedsReinit = false;
 
+    /* Security property to disable native AES-GCM streaming encrypt */
+    private static final String GCM_STREAMING_PROPERTY =
+        "wolfjce.cipher.gcmStreaming";
+
+    /* Security property to opt in to unauthenticated AES-GCM streaming
+     * decrypt, where update() returns plaintext before the tag is checked */
+    private static final String GCM_STREAMING_DECRYPT_PROPERTY =
+        "wolfjce.cipher.gcmStreamingDecrypt";
+
+    /* True when this AES-GCM operation uses the native streaming API,
+     * set per operation by gcmStreamInit() */
+    private boolean gcmStream = false;
+
+    /* True once accumulated AAD has been passed to native streaming API */
+    private boolean gcmStreamAadDone = false;
+
+    /* Security property to opt in to unauthenticated AES-CCM streaming
+     * decrypt, where update() returns plaintext before the tag is checked */
+    private static final String CCM_STREAMING_DECRYPT_PROPERTY =
+        "wolfjce.cipher.ccmStreamingDecrypt";
+
+    /* AES-CCM payload length from WolfCryptCcmParameterSpec, or -1 if
+     * not given and all data must be buffered until final() */
+    private long ccmDataLen = -1;
+
+    /* True when this AES-CCM operation streams through native code,
+     * set per operation by ccmStreamInit() */
+    private boolean ccmStream = false;
+
+    /* True once native AES-CCM streaming has been started with AAD */
+    private boolean ccmStreamStarted = false;
+
+    /* Payload bytes passed to native AES-CCM streaming so far */
+    private long ccmStreamProcessed = 0;
+
+    /* Key object aesKeyCacheId was derived from, lets re-init with the
+     * same immutable SecretKeySpec skip deriving the Id again */
+    private Key aesKeyCacheKey = null;
+
     /* Has update/final been called yet, gates setting of AAD for GCM */
     private boolean operationStarted = false;
 
@@ -265,6 +303,8 @@ public class WolfCryptCipher extends CipherSpi {
     private WolfCryptCipher(CipherType type, CipherMode mode,
             PaddingType pad) {
 
+        WolfCryptCleaner.register(this, this.cleanup);
+
         this.cipherType = type;
         this.cipherMode = mode;
         this.paddingType = pad;
@@ -485,18 +525,24 @@ public class WolfCryptCipher extends CipherSpi {
                     aesOfb = new AesOfb();
                 }
                 else if (cipherMode == CipherMode.WC_GCM) {
-                    if (aesGcm != null) {
-                        aesGcm.releaseNativeStruct();
-                        aesGcm = null;
+                    /* Context taken from AES key cache is kept, swapped
+                     * or handed back by aesAeadSetKey() */
+                    if (this.cleanup.aesKeyCacheId == null) {
+                        if (aesGcm != null) {
+                            aesGcm.releaseNativeStruct();
+                            aesGcm = null;
+                        }
+                        aesGcm = new AesGcm();
                     }
-                    aesGcm = new AesGcm();
                 }
                 else if (cipherMode == CipherMode.WC_CCM) {
-                    if (aesCcm != null) {
-                        aesCcm.releaseNativeStruct();
-                        aesCcm = null;
+                    if (this.cleanup.aesKeyCacheId == null) {
+                        if (aesCcm != null) {
+                            aesCcm.releaseNativeStruct();
+                            aesCcm = null;
+                        }
+                        aesCcm = new AesCcm();
                     }
-                    aesCcm = new AesCcm();
                 }
                 else if (cipherMode == CipherMode.WC_CTS) {
                     if (aesCts != null) {
@@ -716,10 +762,11 @@ public class WolfCryptCipher extends CipherSpi {
         switch (this.cipherType) {
             case WC_AES:
                 if (paddingType == PaddingType.WC_NONE) {
-                    if (cipherMode == CipherMode.WC_GCM) {
-                        /* In AES-GCM mode we append the authentication tag
-                         * to the end of ciphertext, When decrypting, output
-                         * size will have it taken off. */
+                    if (cipherMode == CipherMode.WC_GCM ||
+                        cipherMode == CipherMode.WC_CCM) {
+                        /* In AES-GCM/CCM mode we append the authentication
+                         * tag to the end of ciphertext, When decrypting,
+                         * output size will have it taken off. */
                         if (this.direction == OpMode.WC_ENCRYPT) {
                             outSize = totalSz + this.gcmTagLen;
                         }
@@ -792,8 +839,8 @@ public class WolfCryptCipher extends CipherSpi {
 
     @Override
     protected byte[] engineGetIV() {
-        if (this.iv != null) {
-            return this.iv.clone();
+        if (this.cleanup.iv != null) {
+            return this.cleanup.iv.clone();
         }
 
         return null;
@@ -809,10 +856,10 @@ public class WolfCryptCipher extends CipherSpi {
                 case WC_GCM:
                 case WC_CCM:
                     /* Return parameters only if initialized */
-                    if (this.iv != null && this.gcmTagLen > 0) {
+                    if (this.cleanup.iv != null && this.gcmTagLen > 0) {
                         params = AlgorithmParameters.getInstance("GCM");
                         GCMParameterSpec gcmSpec = new GCMParameterSpec(
-                            this.gcmTagLen * 8, this.iv);
+                            this.gcmTagLen * 8, this.cleanup.iv);
                         params.init(gcmSpec);
                     }
                     break;
@@ -820,7 +867,7 @@ public class WolfCryptCipher extends CipherSpi {
                 case WC_CBC:
                 case WC_CTR:
                 case WC_OFB:
-                    if (this.iv != null) {
+                    if (this.cleanup.iv != null) {
                         if (this.cipherType == CipherType.WC_AES) {
                             params = AlgorithmParameters.getInstance("AES");
                         }
@@ -830,7 +877,7 @@ public class WolfCryptCipher extends CipherSpi {
 
                         if (params != null) {
                             IvParameterSpec ivSpec =
-                                new IvParameterSpec(this.iv);
+                                new IvParameterSpec(this.cleanup.iv);
                             params.init(ivSpec);
                         }
                     }
@@ -911,6 +958,7 @@ public class WolfCryptCipher extends CipherSpi {
 
         /* store AlgorithmParameterSpec for class reset */
         this.storedSpec = spec;
+        this.ccmDataLen = -1;
 
         /* Handle RSA OAEP parameters if provided */
         if (this.cipherType == CipherType.WC_RSA) {
@@ -939,13 +987,13 @@ public class WolfCryptCipher extends CipherSpi {
 
         /* store IV, or generate random IV if not available */
         if (spec == null) {
-            this.iv = new byte[this.blockSize];
+            this.cleanup.iv = new byte[this.blockSize];
 
             if (random != null) {
-                random.nextBytes(this.iv);
+                random.nextBytes(this.cleanup.iv);
             } else {
                 SecureRandom rand = new SecureRandom();
-                rand.nextBytes(this.iv);
+                rand.nextBytes(this.cleanup.iv);
             }
 
 
@@ -965,7 +1013,7 @@ public class WolfCryptCipher extends CipherSpi {
                         "AES-GCM IV is null or 0 length");
                 }
 
-                this.iv = gcmSpec.getIV().clone();
+                this.cleanup.iv = gcmSpec.getIV().clone();
                 this.gcmTagLen = tagLenToBytes("AES-GCM", gcmSpec.getTLen());
             }
             else if (cipherMode == CipherMode.WC_CCM) {
@@ -997,8 +1045,14 @@ public class WolfCryptCipher extends CipherSpi {
                         ccmSpec.getIV().length);
                 }
 
-                this.iv = ccmSpec.getIV().clone();
+                this.cleanup.iv = ccmSpec.getIV().clone();
                 this.gcmTagLen = tagLenToBytes("AES-CCM", ccmSpec.getTLen());
+
+                /* Payload length known up front, allows streaming */
+                if (spec instanceof WolfCryptCcmParameterSpec) {
+                    this.ccmDataLen =
+                        ((WolfCryptCcmParameterSpec)spec).getDataLen();
+                }
             }
             else {
                 if (!(spec instanceof IvParameterSpec)) {
@@ -1016,7 +1070,7 @@ public class WolfCryptCipher extends CipherSpi {
                             "), must be " + blockSize + " bytes long");
                 }
 
-                this.iv = ivSpec.getIV().clone();
+                this.cleanup.iv = ivSpec.getIV().clone();
             }
         }
     }
@@ -1025,6 +1079,7 @@ public class WolfCryptCipher extends CipherSpi {
         throws InvalidKeyException {
 
         byte[] encodedKey;
+        byte[] iv;
 
         /* validate key class type */
         if (this.cipherType == CipherType.WC_RSA) {
@@ -1059,6 +1114,7 @@ public class WolfCryptCipher extends CipherSpi {
 
         /* save key for class state resets */
         this.storedKey = key;
+        iv = this.cleanup.iv;
 
         /* import key */
         encodedKey = key.getEncoded();
@@ -1070,11 +1126,9 @@ public class WolfCryptCipher extends CipherSpi {
             switch (cipherType) {
                 case WC_AES:
                     if (this.direction == OpMode.WC_ENCRYPT) {
-                        if (cipherMode == CipherMode.WC_GCM) {
-                            this.aesGcm.setKey(encodedKey);
-                        }
-                        else if (cipherMode == CipherMode.WC_CCM) {
-                            this.aesCcm.setKey(encodedKey);
+                        if (cipherMode == CipherMode.WC_GCM ||
+                            cipherMode == CipherMode.WC_CCM) {
+                            aesAeadSetKey(key, encodedKey);
                         }
                         else if (cipherMode == CipherMode.WC_CTS) {
                             this.aesCts.setKey(
@@ -1095,11 +1149,9 @@ public class WolfCryptCipher extends CipherSpi {
                             this.aes.setKey(encodedKey, iv, Aes.ENCRYPT_MODE);
                         }
                     } else {
-                        if (cipherMode == CipherMode.WC_GCM) {
-                            this.aesGcm.setKey(encodedKey);
-                        }
-                        else if (cipherMode == CipherMode.WC_CCM) {
-                            this.aesCcm.setKey(encodedKey);
+                        if (cipherMode == CipherMode.WC_GCM ||
+                            cipherMode == CipherMode.WC_CCM) {
+                            aesAeadSetKey(key, encodedKey);
                         }
                         else if (cipherMode == CipherMode.WC_CTS) {
                             this.aesCts.setKey(
@@ -1136,12 +1188,7 @@ public class WolfCryptCipher extends CipherSpi {
                     if (this.rsa != null)
                         this.rsa.releaseNativeStruct();
 
-                    if (this.rng == null) {
-                        this.rng = new Rng();
-                        this.rng.init();
-                    }
                     this.rsa = new Rsa();
-                    this.rsa.setRng(this.rng);
 
                     if (this.rsaKeyType == RsaKeyType.WC_RSA_PRIVATE) {
 
@@ -1157,6 +1204,124 @@ public class WolfCryptCipher extends CipherSpi {
         }
     }
 
+    /**
+     * Set key on AES-GCM or AES-CCM context, using WolfCryptAesKeyCache
+     * when enabled.
+     *
+     * With the cache disabled this sets the key on the fresh context
+     * created by InitializeNativeStructs(). With it enabled, the context
+     * currently held is kept if it already has this key, otherwise it is
+     * handed back to the cache and a context holding this key is taken
+     * from the cache, or created and keyed on a cache miss. Keys are
+     * compared by cache Id, and re-init with the same SecretKeySpec
+     * object skips deriving the Id.
+     *
+     * @param key key this Cipher is being initialized with
+     * @param encodedKey raw key bytes of key
+     */
+    private void aesAeadSetKey(Key key, byte[] encodedKey) {
+
+        int mode;
+        WolfCryptAesKeyCache.Id id;
+        NativeStruct ctx;
+        WolfCryptAesKeyCache cache = WolfCryptAesKeyCache.getInstance();
+
+        if (cache == null) {
+            aesKeyCacheRelease();
+            if (cipherMode == CipherMode.WC_GCM) {
+                if (this.aesGcm == null) {
+                    this.aesGcm = new AesGcm();
+                }
+                this.aesGcm.setKey(encodedKey);
+            }
+            else {
+                if (this.aesCcm == null) {
+                    this.aesCcm = new AesCcm();
+                }
+                this.aesCcm.setKey(encodedKey);
+            }
+            return;
+        }
+
+        /* SecretKeySpec is immutable, same object means same key bytes */
+        if (this.cleanup.aesKeyCacheId != null && key == this.aesKeyCacheKey &&
+            key.getClass() == SecretKeySpec.class) {
+            return;
+        }
+
+        mode = (cipherMode == CipherMode.WC_GCM) ?
+            WolfCryptAesKeyCache.MODE_GCM : WolfCryptAesKeyCache.MODE_CCM;
+        id = cache.id(mode, encodedKey);
+
+        if (id.equals(this.cleanup.aesKeyCacheId)) {
+            this.aesKeyCacheKey = key;
+            return;
+        }
+
+        aesKeyCacheRelease();
+
+        ctx = cache.take(id);
+        if (ctx == null) {
+            if (cipherMode == CipherMode.WC_GCM) {
+                AesGcm gcm = new AesGcm();
+                try {
+                    gcm.setKey(encodedKey);
+                } catch (RuntimeException e) {
+                    gcm.releaseNativeStruct();
+                    throw e;
+                }
+                ctx = gcm;
+            }
+            else {
+                AesCcm ccm = new AesCcm();
+                try {
+                    ccm.setKey(encodedKey);
+                } catch (RuntimeException e) {
+                    ccm.releaseNativeStruct();
+                    throw e;
+                }
+                ctx = ccm;
+            }
+            log("AES key cache miss");
+        }
+
+        if (cipherMode == CipherMode.WC_GCM) {
+            this.aesGcm = (AesGcm)ctx;
+        }
+        else {
+            this.aesCcm = (AesCcm)ctx;
+        }
+        this.cleanup.aesKeyCacheId = id;
+        this.cleanup.aesKeyCacheCtx = ctx;
+        this.aesKeyCacheKey = key;
+    }
+
+    /**
+     * Hand AES-GCM or AES-CCM context taken from WolfCryptAesKeyCache
+     * back to the cache, leaving aesGcm or aesCcm null. Does nothing if
+     * no cached context is held.
+     */
+    private void aesKeyCacheRelease() {
+
+        if (this.cleanup.aesKeyCacheId == null) {
+            return;
+        }
+
+        if (cipherMode == CipherMode.WC_GCM) {
+            WolfCryptAesKeyCache.release(this.cleanup.aesKeyCacheId,
+                this.aesGcm);
+            this.aesGcm = null;
+        }
+        else {
+            WolfCryptAesKeyCache.release(this.cleanup.aesKeyCacheId,
+                this.aesCcm);
+            this.aesCcm = null;
+        }
+        this.cleanup.aesKeyCacheId = null;
+        this.cleanup.aesKeyCacheCtx = null;
+        this.aesKeyCacheKey = null;
+    }
+
     /**
      * Reject AES-GCM encrypt init with the same key+IV as the last encrypt
      * init used (GCM nonce reuse).
@@ -1196,9 +1361,10 @@ public class WolfCryptCipher extends CipherSpi {
         }
 
         try {
-            if (this.lastGcmEncryptIv != null &&
-                MessageDigest.isEqual(this.lastGcmEncryptIv, this.iv) &&
-                MessageDigest.isEqual(this.lastGcmEncryptKeyHash,
+            if (this.cleanup.lastGcmEncryptIv != null &&
+                MessageDigest.isEqual(this.cleanup.lastGcmEncryptIv,
+                    this.cleanup.iv) &&
+                MessageDigest.isEqual(this.cleanup.lastGcmEncryptKeyHash,
                     hashKeyForGcmTracking(keyEnc))) {
                 throw new InvalidAlgorithmParameterException(
                     "Cannot reuse iv for GCM encryption");
@@ -1269,16 +1435,16 @@ public class WolfCryptCipher extends CipherSpi {
         }
 
         try {
-            zeroArray(this.lastGcmEncryptKeyHash);
-            this.lastGcmEncryptKeyHash = hashKeyForGcmTracking(keyEnc);
+            zeroArray(this.cleanup.lastGcmEncryptKeyHash);
+            this.cleanup.lastGcmEncryptKeyHash = hashKeyForGcmTracking(keyEnc);
         } finally {
             zeroArray(keyEnc);
         }
-        zeroArray(this.lastGcmEncryptIv);
-        if (this.iv == null) {
-            this.lastGcmEncryptIv = null;
+        zeroArray(this.cleanup.lastGcmEncryptIv);
+        if (this.cleanup.iv == null) {
+            this.cleanup.lastGcmEncryptIv = null;
         } else {
-            this.lastGcmEncryptIv = this.iv.clone();
+            this.cleanup.lastGcmEncryptIv = this.cleanup.iv.clone();
         }
     }
 
@@ -1296,6 +1462,8 @@ public class WolfCryptCipher extends CipherSpi {
         checkGcmKeyIvReuse(key);
         wolfCryptSetKey(key);
         recordGcmKeyIv(key);
+        gcmStreamInit();
+        ccmStreamInit();
         this.operationStarted = false;
         this.cipherInitialized = true;
         this.gcmEncryptNeedsReinit = false;
@@ -1396,13 +1564,26 @@ public class WolfCryptCipher extends CipherSpi {
             return true;
         }
 
-        /* AES-GCM, AES-CCM, and AES-CTS keep all data buffered until
-         * final() call. wolfJCE does not support streaming GCM/CCM yet.
-         * CTS requires the entire message for ciphertext stealing. */
+        /* AES-GCM produces output from update() only when using the
+         * native streaming API, otherwise all data is buffered until
+         * final() call */
+        if (cipherType == CipherType.WC_AES &&
+            cipherMode == CipherMode.WC_GCM) {
+            return !this.gcmStream;
+        }
+
+        /* AES-CCM produces output from update() only when streaming with
+         * a known payload length, otherwise all data is buffered until
+         * final() call */
+        if (cipherType == CipherType.WC_AES &&
+            cipherMode == CipherMode.WC_CCM) {
+            return !this.ccmStream;
+        }
+
+        /* AES-CTS keeps all data buffered until final() call, it requires
+         * the entire message for ciphertext stealing. */
         if (cipherType == CipherType.WC_AES &&
-            (cipherMode == CipherMode.WC_GCM ||
-             cipherMode == CipherMode.WC_CCM ||
-             cipherMode == CipherMode.WC_CTS)) {
+            cipherMode == CipherMode.WC_CTS) {
             return true;
         }
 
@@ -1421,7 +1602,6 @@ public class WolfCryptCipher extends CipherSpi {
     private byte[] wolfCryptUpdate(byte[] input, int inputOffset, int len)
         throws IllegalArgumentException {
 
-        int  blocks    = 0;
         int  bytesToProcess = 0;
         byte[] output  = null;
         byte[] tmpIn   = null;
@@ -1452,35 +1632,27 @@ public class WolfCryptCipher extends CipherSpi {
             return null;
         }
 
+        if (this.gcmStream) {
+            return gcmStreamUpdate(input, inputOffset, len);
+        }
+
+        if (this.ccmStream) {
+            return ccmStreamUpdate(input, inputOffset, len);
+        }
+
         if (len > 0) {
             /* add input bytes to buffered */
             bufferedAppend(input, inputOffset, len);
         }
 
         /* Some algos/modes keep data buffered until the doFinal() call, like
-         * RSA or AES-GCM/CCM without stream mode compiled natively. Just
-         * return an empty byte array in those cases here. */
+         * RSA, AES-CCM, or AES-GCM when not streaming. Just return an empty
+         * byte array in those cases here. */
         if (isNoOpUpdate(bufferedLen)) {
             return new byte[0];
         }
 
-        /* Calculate blocks and partial non-block size remaining */
-        blocks = bufferedLen / blockSize;
-        bytesToProcess = blocks * blockSize;
-
-        /* CTR and OFB are stream ciphers, process all available data */
-        if (cipherMode == CipherMode.WC_CTR ||
-            cipherMode == CipherMode.WC_OFB) {
-            bytesToProcess = bufferedLen;
-        }
-
-        /* If PKCS#5/7 padding, and decrypting, hold on to last block for
-         * padding check in wolfCryptFinal() */
-        else if (paddingType == PaddingType.WC_PKCS5 &&
-                 direction == OpMode.WC_DECRYPT &&
-                 bytesToProcess > 0) {
-            bytesToProcess -= blockSize;
-        }
+        bytesToProcess = getUpdateProcessLen(bufferedLen);
 
         /* Not enough data to process yet return until more or final */
         if (bytesToProcess == 0) {
@@ -1494,43 +1666,7 @@ public class WolfCryptCipher extends CipherSpi {
         bufferedConsume(bytesToProcess);
 
         try {
-            /* process tmpIn[] */
-            switch (this.cipherType) {
-
-                /* Only CBC/ECB/CTR/OFB mode reaches this point currently,
-                 * GCM/CCM/CTS cache all data internally above until final
-                 * call */
-                case WC_AES:
-                    if (cipherMode == CipherMode.WC_ECB) {
-                        output = this.aesEcb.update(tmpIn, 0, tmpIn.length);
-                    }
-                    else if (cipherMode == CipherMode.WC_CTR) {
-                        output = this.aesCtr.update(tmpIn, 0, tmpIn.length);
-                    }
-                    else if (cipherMode == CipherMode.WC_OFB) {
-                        output = this.aesOfb.update(tmpIn, 0, tmpIn.length);
-                    }
-                    else {
-                        byte[] full = this.aes.update(tmpIn, 0, tmpIn.length);
-                        /* truncate, zeroize untruncated copy */
-                        output = Arrays.copyOfRange(full, 0, tmpIn.length);
-                        zeroArray(full);
-                    }
-
-                    break;
-
-                case WC_DES3: {
-                    byte[] full = this.des3.update(tmpIn, 0, tmpIn.length);
-                    /* truncate, zeroize untruncated copy */
-                    output = Arrays.copyOfRange(full, 0, tmpIn.length);
-                    zeroArray(full);
-
-                    break;
-                }
-
-                default:
-                    throw new RuntimeException("Unsupported algorithm type");
-            };
+            output = wolfCryptUpdateBlocks(tmpIn);
         } finally {
             /* Zero internal input plaintext copy */
             zeroArray(tmpIn);
@@ -1545,116 +1681,626 @@ public class WolfCryptCipher extends CipherSpi {
     }
 
     /**
-     * Normalize an RSA ciphertext byte array to the modulus byte length
-     * before passing it to native wc_RsaPrivateDecrypt / wc_RsaSSL_Verify.
+     * Get number of bytes update() can process now, out of total bytes
+     * available (buffered plus new input), for modes that return output
+     * from update(). Remaining bytes stay buffered until more input arrives
+     * or final is called.
      *
-     * Proper PKCS#1 v1.5 and OAEP ciphertexts are exactly k bytes long
-     * (modulus length). In practice, zero bytes could be stripped. This
-     * left-pads input with zeros, leaving inputs longer than the modulus
-     * as error cases.
+     * @param total number of bytes available to process
      *
-     * @param  in        ciphertext bytes
-     * @param  modSize   RSA modulus length in bytes
-     * @return a byte[] of length exactly modSize (the same array if already
-     *         the right size, otherwise a new zero-padded copy)
-     * @throws IllegalBlockSizeException if in.length greater than modSize
+     * @return number of bytes to process now
      */
-    private static byte[] leftPadRSACiphertext(byte[] in, int modSize)
-        throws IllegalBlockSizeException {
+    private int getUpdateProcessLen(int total) {
 
-        if (in.length == modSize) {
-            return in;
+        /* Calculate blocks and partial non-block size remaining */
+        int bytesToProcess = (total / blockSize) * blockSize;
+
+        /* CTR and OFB are stream ciphers, process all available data */
+        if (cipherMode == CipherMode.WC_CTR ||
+            cipherMode == CipherMode.WC_OFB) {
+            bytesToProcess = total;
         }
 
-        if (in.length > modSize) {
-            throw new IllegalBlockSizeException("RSA input length (" +
-                in.length + ") exceeds key size (" + modSize + ")");
+        /* If PKCS#5/7 padding, and decrypting, hold on to last block for
+         * padding check in wolfCryptFinal() */
+        else if (paddingType == PaddingType.WC_PKCS5 &&
+                 direction == OpMode.WC_DECRYPT &&
+                 bytesToProcess > 0) {
+            bytesToProcess -= blockSize;
         }
 
-        byte[] padded = new byte[modSize];
-        System.arraycopy(in, 0, padded, modSize - in.length, in.length);
+        return bytesToProcess;
+    }
 
-        return padded;
+    /**
+     * Run update operation over input already sized by
+     * getUpdateProcessLen().
+     *
+     * @param tmpIn input to process
+     *
+     * @return output bytes, same length as input
+     */
+    private byte[] wolfCryptUpdateBlocks(byte[] tmpIn) {
+
+        byte[] output = null;
+
+        /* process tmpIn[] */
+        switch (this.cipherType) {
+
+            /* Only CBC/ECB/CTR/OFB mode reaches this point currently,
+             * GCM/CCM/CTS cache all data internally in wolfCryptUpdate()
+             * until final call */
+            case WC_AES:
+                if (cipherMode == CipherMode.WC_ECB) {
+                    output = this.aesEcb.update(tmpIn, 0, tmpIn.length);
+                }
+                else if (cipherMode == CipherMode.WC_CTR) {
+                    output = this.aesCtr.update(tmpIn, 0, tmpIn.length);
+                }
+                else if (cipherMode == CipherMode.WC_OFB) {
+                    output = this.aesOfb.update(tmpIn, 0, tmpIn.length);
+                }
+                else {
+                    byte[] full = this.aes.update(tmpIn, 0, tmpIn.length);
+                    /* truncate, zeroize untruncated copy */
+                    output = Arrays.copyOfRange(full, 0, tmpIn.length);
+                    zeroArray(full);
+                }
+
+                break;
+
+            case WC_DES3: {
+                byte[] full = this.des3.update(tmpIn, 0, tmpIn.length);
+                /* truncate, zeroize untruncated copy */
+                output = Arrays.copyOfRange(full, 0, tmpIn.length);
+                zeroArray(full);
+
+                break;
+            }
+
+            default:
+                throw new RuntimeException("Unsupported algorithm type");
+        };
+
+        return output;
     }
 
-    private byte[] wolfCryptFinal(byte[] input, int inputOffset, int len)
-        throws IllegalBlockSizeException, BadPaddingException {
+    /**
+     * Start a native AES-GCM streaming operation for the current direction,
+     * IV and key, if supported and enabled.
+     *
+     * Streaming encrypt is used when native wolfCrypt is compiled with
+     * WOLFSSL_AESGCM_STREAM, unless the "wolfjce.cipher.gcmStreaming"
+     * Security property is "false". Streaming decrypt releases plaintext
+     * from update() before the authentication tag has been checked, so it is
+     * only used when "wolfjce.cipher.gcmStreamingDecrypt" is "true".
+     * Otherwise, or if the native streaming init fails (ie: FIPS builds
+     * that do not allow an external IV), one-shot AES-GCM is used.
+     */
+    private void gcmStreamInit() {
 
-        int  totalSz  = 0;
-        byte tmpIn[]  = null;
-        byte tmpOut[] = null;
+        String prop = null;
 
-        this.operationStarted = true;
-        totalSz = bufferedLen + len;
+        this.gcmStream = false;
+        this.gcmStreamAadDone = false;
 
-        /* AES-CTS requires input length >= 16 bytes (RFC 3962/8009).
-         * For exactly 16 bytes, CTS reduces to plain CBC, handled in JNI. */
-        if (cipherMode == CipherMode.WC_CTS && totalSz < blockSize) {
-            throw new IllegalBlockSizeException(
-                "AES-CTS requires input length >= " + blockSize +
-                " bytes, got " + totalSz + " bytes");
+        if (this.cipherType != CipherType.WC_AES ||
+            this.cipherMode != CipherMode.WC_GCM ||
+            this.aesGcm == null || this.cleanup.iv == null ||
+            !FeatureDetect.AesGcmStreamEnabled()) {
+            return;
         }
 
-        /* AES-GCM, AES-CCM, AES-CTR, AES-CTS, and AES-OFB do not require
-         * block size inputs */
-        if (isBlockCipher() &&
-            (cipherMode != CipherMode.WC_GCM) &&
-            (cipherMode != CipherMode.WC_CCM) &&
-            (cipherMode != CipherMode.WC_CTR) &&
-            (cipherMode != CipherMode.WC_CTS) &&
-            (cipherMode != CipherMode.WC_OFB) &&
-            (this.direction == OpMode.WC_DECRYPT ||
-            (this.direction == OpMode.WC_ENCRYPT &&
-             this.paddingType != PaddingType.WC_PKCS5)) &&
-            (totalSz % blockSize != 0)) {
-            throw new IllegalBlockSizeException(
-                "Input length (" + totalSz + ") not multiple of " +
-                blockSize + " bytes. (" + bufferedLen +" buffered)");
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            prop = Security.getProperty(GCM_STREAMING_PROPERTY);
+            if (prop != null && prop.trim().equalsIgnoreCase("false")) {
+                return;
+            }
         }
-
-        /* do final encrypt over totalSz */
-        tmpIn = new byte[totalSz];
-        if (totalSz > 0) {
-            System.arraycopy(buffered, 0, tmpIn, 0, bufferedLen);
-            if (input != null && len > 0) {
-                System.arraycopy(input, inputOffset, tmpIn,
-                    bufferedLen, len);
+        else {
+            prop = Security.getProperty(GCM_STREAMING_DECRYPT_PROPERTY);
+            if (prop == null || !prop.trim().equalsIgnoreCase("true")) {
+                return;
             }
         }
 
-        /* Flatten accumulated AAD to a single array for GCM/CCM calls below */
-        byte[] aad = (this.aadStream != null) ?
-            this.aadStream.toByteArray() : null;
-
         try {
-            /* Add padding if encrypting and PKCS5 padding is used, PKCS#5
-             * padding is treated the same as PKCS#7 padding here, using
-             * each algorithm's specific block size. CCM, CTR, CTS, and OFB
-             * modes do not use padding */
-            if (this.direction == OpMode.WC_ENCRYPT &&
-                this.paddingType == PaddingType.WC_PKCS5 &&
-                cipherMode != CipherMode.WC_CCM &&
-                cipherMode != CipherMode.WC_CTR &&
-                cipherMode != CipherMode.WC_CTS &&
-                cipherMode != CipherMode.WC_OFB) {
-                if (this.cipherType == CipherType.WC_AES) {
-                    byte[] padded = Aes.padPKCS7(tmpIn, Aes.BLOCK_SIZE);
-                    /* Zeroize plaintext copy orphaned by padding */
-                    zeroArray(tmpIn);
-                    tmpIn = padded;
-                } else if (this.cipherType == CipherType.WC_DES3) {
-                    byte[] padded = Des3.padPKCS7(tmpIn, Des3.BLOCK_SIZE);
-                    /* Zeroize plaintext copy orphaned by padding */
-                    zeroArray(tmpIn);
-                    tmpIn = padded;
-                }
+            if (this.direction == OpMode.WC_ENCRYPT) {
+                this.aesGcm.encryptInit(this.cleanup.iv);
+            }
+            else {
+                this.aesGcm.decryptInit(this.cleanup.iv);
             }
+            this.gcmStream = true;
 
-            switch (this.cipherType) {
+        } catch (WolfCryptException e) {
+            log("AES-GCM streaming init failed, using one-shot: " +
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Get accumulated AAD to pass to the first native AES-GCM streaming
+     * call, returns null on later calls.
+     *
+     * @return AAD bytes, or null if none or already passed in
+     */
+    private byte[] gcmStreamTakeAad() {
+
+        if (this.gcmStreamAadDone) {
+            return null;
+        }
+        this.gcmStreamAadDone = true;
+
+        return (this.aadStream != null) ? this.aadStream.toByteArray() : null;
+    }
+
+    /**
+     * Process update() data through native AES-GCM streaming API.
+     *
+     * Encrypt returns ciphertext for all input. Decrypt holds back the last
+     * tag length bytes seen, since they may be the authentication tag, and
+     * returns unauthenticated plaintext for the rest.
+     *
+     * @param input input array
+     * @param inputOffset offset into input
+     * @param len length of input to process
+     *
+     * @return output bytes, may be zero length
+     */
+    private byte[] gcmStreamUpdate(byte[] input, int inputOffset, int len) {
+
+        int toProcess = 0;
+        byte[] output = null;
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            return this.aesGcm.encryptUpdate(input, inputOffset, len,
+                gcmStreamTakeAad());
+        }
+
+        if (len > 0) {
+            bufferedAppend(input, inputOffset, len);
+        }
+
+        toProcess = this.bufferedLen - this.gcmTagLen;
+        if (toProcess <= 0) {
+            return new byte[0];
+        }
+
+        output = this.aesGcm.decryptUpdate(this.buffered, 0, toProcess,
+            gcmStreamTakeAad());
+        bufferedConsume(toProcess);
+
+        return output;
+    }
+
+    /**
+     * Finish native AES-GCM streaming operation.
+     *
+     * @param tmpIn remaining input, for decrypt this includes the
+     *        authentication tag held back by gcmStreamUpdate()
+     *
+     * @return remaining ciphertext plus tag for encrypt, or remaining
+     *         plaintext for decrypt
+     *
+     * @throws AEADBadTagException if decrypt input is too short or the
+     *         authentication tag does not match
+     */
+    private byte[] gcmStreamFinal(byte[] tmpIn) throws AEADBadTagException {
+
+        byte[] out = null;
+        byte[] tag = null;
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+
+            /* A second encryption without re-init would reuse the same
+             * key and IV (GCM nonce reuse) */
+            if (this.gcmEncryptNeedsReinit) {
+                throw new IllegalStateException(
+                    "Must use either different key or iv for " +
+                    "GCM encryption");
+            }
+
+            byte[] ct = this.aesGcm.encryptUpdate(tmpIn, 0, tmpIn.length,
+                gcmStreamTakeAad());
+            tag = new byte[this.gcmTagLen];
+            this.aesGcm.encryptFinal(tag);
+
+            this.gcmEncryptNeedsReinit = true;
+
+            /* Concatenate auth tag to end of ciphertext */
+            out = new byte[ct.length + tag.length];
+            System.arraycopy(ct, 0, out, 0, ct.length);
+            System.arraycopy(tag, 0, out, ct.length, tag.length);
+
+            return out;
+        }
+
+        if (tmpIn.length < this.gcmTagLen) {
+            throw new AEADBadTagException(
+                "Input too short for GCM tag, got " + tmpIn.length +
+                " bytes, need at least " + this.gcmTagLen);
+        }
+
+        int ctLen = tmpIn.length - this.gcmTagLen;
+        tag = Arrays.copyOfRange(tmpIn, ctLen, tmpIn.length);
+        out = this.aesGcm.decryptUpdate(tmpIn, 0, ctLen, gcmStreamTakeAad());
+
+        try {
+            this.aesGcm.decryptFinal(tag);
+
+        } catch (WolfCryptException e) {
+            zeroArray(out);
+            /* Convert to AEADBadTagException */
+            if (e.getCode() == WolfCryptError.AES_GCM_AUTH_E.getCode()) {
+                throw new AEADBadTagException(e.getMessage());
+            }
+            throw e;
+        }
+
+        return out;
+    }
+
+    /**
+     * Set up native AES-CCM streaming for the current operation, if
+     * supported and enabled.
+     *
+     * Streaming is used when the payload length was given through a
+     * WolfCryptCcmParameterSpec and native wolfCrypt has the AES block
+     * primitives needed by the JNI CCM streaming code. Never used in FIPS
+     * mode, where the JNI CCM construction is not part of the validated
+     * module and one-shot AES-CCM is used instead. Streaming decrypt
+     * releases plaintext from update() before the authentication tag has
+     * been checked, so it is only used when the
+     * "wolfjce.cipher.ccmStreamingDecrypt" Security property is "true".
+     * Otherwise all data is buffered and one-shot AES-CCM is used in final.
+     *
+     * The native operation is started on first update() or final() call,
+     * once all AAD has been supplied, since CCM authenticates AAD before
+     * any payload.
+     */
+    private void ccmStreamInit() {
+
+        String prop = null;
+
+        this.ccmStream = false;
+        this.ccmStreamStarted = false;
+        this.ccmStreamProcessed = 0;
+
+        if (this.cipherType != CipherType.WC_AES ||
+            this.cipherMode != CipherMode.WC_CCM ||
+            this.aesCcm == null || this.cleanup.iv == null ||
+            this.ccmDataLen < 0 ||
+            Fips.enabled || !FeatureDetect.AesCcmStreamEnabled()) {
+            return;
+        }
+
+        if (this.direction == OpMode.WC_DECRYPT) {
+            prop = Security.getProperty(CCM_STREAMING_DECRYPT_PROPERTY);
+            if (prop == null || !prop.trim().equalsIgnoreCase("true")) {
+                return;
+            }
+        }
+
+        this.ccmStream = true;
+    }
+
+    /**
+     * Start native AES-CCM streaming operation with accumulated AAD, if
+     * not already started.
+     */
+    private void ccmStreamStart() {
+
+        byte[] aad = null;
+
+        if (this.ccmStreamStarted) {
+            return;
+        }
+
+        if (this.aadStream != null) {
+            aad = this.aadStream.toByteArray();
+        }
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            this.aesCcm.encryptInit(this.cleanup.iv, this.gcmTagLen,
+                this.ccmDataLen, aad);
+        }
+        else {
+            this.aesCcm.decryptInit(this.cleanup.iv, this.gcmTagLen,
+                this.ccmDataLen, aad);
+        }
+        this.ccmStreamStarted = true;
+    }
+
+    /**
+     * Process update() data through native AES-CCM streaming.
+     *
+     * Encrypt returns ciphertext for all input. Decrypt returns
+     * unauthenticated plaintext for input up to the payload length, and
+     * buffers anything after that as the authentication tag.
+     *
+     * @param input input array
+     * @param inputOffset offset into input
+     * @param len length of input to process
+     *
+     * @return output bytes, may be zero length
+     *
+     * @throws IllegalStateException if encrypt input exceeds the payload
+     *         length given in WolfCryptCcmParameterSpec
+     */
+    private byte[] ccmStreamUpdate(byte[] input, int inputOffset, int len)
+        throws IllegalStateException {
+
+        long remaining = this.ccmDataLen - this.ccmStreamProcessed;
+        int toProcess = len;
+        byte[] output = null;
+
+        if (len > remaining) {
+            if (this.direction == OpMode.WC_ENCRYPT) {
+                throw new IllegalStateException(
+                    "AES-CCM input exceeds data length (" + this.ccmDataLen +
+                    ") given in WolfCryptCcmParameterSpec");
+            }
+            /* Decrypt, bytes past payload length are tag */
+            toProcess = (int)remaining;
+            bufferedAppend(input, inputOffset + toProcess, len - toProcess);
+        }
+
+        if (toProcess == 0) {
+            return new byte[0];
+        }
+
+        ccmStreamStart();
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            output = this.aesCcm.encryptUpdate(input, inputOffset, toProcess);
+        }
+        else {
+            output = this.aesCcm.decryptUpdate(input, inputOffset, toProcess);
+        }
+        this.ccmStreamProcessed += toProcess;
+
+        return output;
+    }
+
+    /**
+     * Finish native AES-CCM streaming operation.
+     *
+     * @param tmpIn remaining input, for decrypt this includes the
+     *        authentication tag
+     *
+     * @return remaining ciphertext plus tag for encrypt, or remaining
+     *         plaintext for decrypt
+     *
+     * @throws IllegalBlockSizeException if total encrypt input does not
+     *         match payload length given in WolfCryptCcmParameterSpec
+     * @throws AEADBadTagException if total decrypt input does not match
+     *         payload length plus tag, or the authentication tag does not
+     *         match
+     */
+    private byte[] ccmStreamFinal(byte[] tmpIn)
+        throws IllegalBlockSizeException, AEADBadTagException {
+
+        long remaining = this.ccmDataLen - this.ccmStreamProcessed;
+        byte[] out = null;
+        byte[] tag = null;
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+
+            if (tmpIn.length != remaining) {
+                throw new IllegalBlockSizeException(
+                    "AES-CCM input length (" +
+                    (this.ccmStreamProcessed + tmpIn.length) + ") does not " +
+                    "match data length (" + this.ccmDataLen + ") given in " +
+                    "WolfCryptCcmParameterSpec");
+            }
+
+            ccmStreamStart();
+            byte[] ct = this.aesCcm.encryptUpdate(tmpIn, 0, tmpIn.length);
+            tag = new byte[this.gcmTagLen];
+            this.aesCcm.encryptFinal(tag);
+
+            /* Concatenate auth tag to end of ciphertext */
+            out = new byte[ct.length + tag.length];
+            System.arraycopy(ct, 0, out, 0, ct.length);
+            System.arraycopy(tag, 0, out, ct.length, tag.length);
+
+            return out;
+        }
+
+        if (tmpIn.length != remaining + this.gcmTagLen) {
+            throw new AEADBadTagException(
+                "AES-CCM input length (" +
+                (this.ccmStreamProcessed + tmpIn.length) + ") does not " +
+                "match data length plus tag (" +
+                (this.ccmDataLen + this.gcmTagLen) + ")");
+        }
+
+        int ctLen = (int)remaining;
+        tag = Arrays.copyOfRange(tmpIn, ctLen, tmpIn.length);
+
+        ccmStreamStart();
+        out = this.aesCcm.decryptUpdate(tmpIn, 0, ctLen);
+
+        try {
+            this.aesCcm.decryptFinal(tag);
+
+        } catch (WolfCryptException e) {
+            zeroArray(out);
+            /* Convert to AEADBadTagException */
+            if (e.getCode() == WolfCryptError.AES_CCM_AUTH_E.getCode()) {
+                throw new AEADBadTagException(e.getMessage());
+            }
+            throw e;
+        }
+
+        return out;
+    }
+
+    /**
+     * Normalize an RSA ciphertext byte array to the modulus byte length
+     * before passing it to native wc_RsaPrivateDecrypt / wc_RsaSSL_Verify.
+     *
+     * Proper PKCS#1 v1.5 and OAEP ciphertexts are exactly k bytes long
+     * (modulus length). In practice, zero bytes could be stripped. This
+     * left-pads input with zeros, leaving inputs longer than the modulus
+     * as error cases.
+     *
+     * @param  in        ciphertext bytes
+     * @param  modSize   RSA modulus length in bytes
+     * @return a byte[] of length exactly modSize (the same array if already
+     *         the right size, otherwise a new zero-padded copy)
+     * @throws IllegalBlockSizeException if in.length greater than modSize
+     */
+    private static byte[] leftPadRSACiphertext(byte[] in, int modSize)
+        throws IllegalBlockSizeException {
+
+        if (in.length == modSize) {
+            return in;
+        }
+
+        if (in.length > modSize) {
+            throw new IllegalBlockSizeException("RSA input length (" +
+                in.length + ") exceeds key size (" + modSize + ")");
+        }
+
+        byte[] padded = new byte[modSize];
+        System.arraycopy(in, 0, padded, modSize - in.length, in.length);
+
+        return padded;
+    }
+
+    /**
+     * Reset Cipher state after a successful final operation, so the caller
+     * does not need to call init() again before the next operation.
+     */
+    private void wolfCryptResetAfterFinal() {
+
+        try {
+            bufferedReset();
+
+            wolfCryptSetDirection(this.storedOpMode);
+
+            InitializeNativeStructs();
+
+            /* Preserve the existing IV during cipher reset to maintain
+             * consistency with JCE getIV() behavior. If storedSpec is null
+             * (no IV was provided initially), wolfCryptSetIV would generate
+             * a new random IV, overwriting the original one. */
+            if (storedSpec == null && this.cleanup.iv != null) {
+                /* Create appropriate ParameterSpec with the current IV to avoid
+                 * generating a new random IV during reset */
+                AlgorithmParameterSpec currentIvSpec;
+                if (cipherMode == CipherMode.WC_GCM) {
+                    /* For GCM mode, create GCMParameterSpec with current
+                     * IV and tag length */
+                    currentIvSpec = new GCMParameterSpec(
+                        this.gcmTagLen * 8, this.cleanup.iv.clone());
+                } else {
+                    /* For other modes, use IvParameterSpec */
+                    currentIvSpec =
+                        new IvParameterSpec(this.cleanup.iv.clone());
+                }
+                wolfCryptSetIV(currentIvSpec, null);
+            } else {
+                wolfCryptSetIV(storedSpec, null);
+            }
+
+            wolfCryptSetKey(storedKey);
+            gcmStreamInit();
+            ccmStreamInit();
+
+            this.aadStream = null;
+            this.operationStarted = false;
+            this.cipherInitialized = true;
+
+        } catch (InvalidKeyException e) {
+            throw new RuntimeException(e.getMessage());
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    private byte[] wolfCryptFinal(byte[] input, int inputOffset, int len)
+        throws IllegalBlockSizeException, BadPaddingException {
+
+        int  totalSz  = 0;
+        byte tmpIn[]  = null;
+        byte tmpOut[] = null;
+
+        this.operationStarted = true;
+        totalSz = bufferedLen + len;
+
+        /* AES-CTS requires input length >= 16 bytes (RFC 3962/8009).
+         * For exactly 16 bytes, CTS reduces to plain CBC, handled in JNI. */
+        if (cipherMode == CipherMode.WC_CTS && totalSz < blockSize) {
+            throw new IllegalBlockSizeException(
+                "AES-CTS requires input length >= " + blockSize +
+                " bytes, got " + totalSz + " bytes");
+        }
+
+        /* AES-GCM, AES-CCM, AES-CTR, AES-CTS, and AES-OFB do not require
+         * block size inputs */
+        if (isBlockCipher() &&
+            (cipherMode != CipherMode.WC_GCM) &&
+            (cipherMode != CipherMode.WC_CCM) &&
+            (cipherMode != CipherMode.WC_CTR) &&
+            (cipherMode != CipherMode.WC_CTS) &&
+            (cipherMode != CipherMode.WC_OFB) &&
+            (this.direction == OpMode.WC_DECRYPT ||
+            (this.direction == OpMode.WC_ENCRYPT &&
+             this.paddingType != PaddingType.WC_PKCS5)) &&
+            (totalSz % blockSize != 0)) {
+            throw new IllegalBlockSizeException(
+                "Input length (" + totalSz + ") not multiple of " +
+                blockSize + " bytes. (" + bufferedLen +" buffered)");
+        }
+
+        /* do final encrypt over totalSz */
+        tmpIn = new byte[totalSz];
+        if (totalSz > 0) {
+            System.arraycopy(buffered, 0, tmpIn, 0, bufferedLen);
+            if (input != null && len > 0) {
+                System.arraycopy(input, inputOffset, tmpIn,
+                    bufferedLen, len);
+            }
+        }
+
+        /* Flatten accumulated AAD to a single array for GCM/CCM calls below */
+        byte[] aad = (this.aadStream != null) ?
+            this.aadStream.toByteArray() : null;
+
+        try {
+            /* Add padding if encrypting and PKCS5 padding is used, PKCS#5
+             * padding is treated the same as PKCS#7 padding here, using
+             * each algorithm's specific block size. CCM, CTR, CTS, and OFB
+             * modes do not use padding */
+            if (this.direction == OpMode.WC_ENCRYPT &&
+                this.paddingType == PaddingType.WC_PKCS5 &&
+                cipherMode != CipherMode.WC_CCM &&
+                cipherMode != CipherMode.WC_CTR &&
+                cipherMode != CipherMode.WC_CTS &&
+                cipherMode != CipherMode.WC_OFB) {
+                if (this.cipherType == CipherType.WC_AES) {
+                    byte[] padded = Aes.padPKCS7(tmpIn, Aes.BLOCK_SIZE);
+                    /* Zeroize plaintext copy orphaned by padding */
+                    zeroArray(tmpIn);
+                    tmpIn = padded;
+                } else if (this.cipherType == CipherType.WC_DES3) {
+                    byte[] padded = Des3.padPKCS7(tmpIn, Des3.BLOCK_SIZE);
+                    /* Zeroize plaintext copy orphaned by padding */
+                    zeroArray(tmpIn);
+                    tmpIn = padded;
+                }
+            }
+
+            switch (this.cipherType) {
 
                 case WC_AES:
                     if (cipherMode == CipherMode.WC_GCM) {
-                        if (this.direction == OpMode.WC_ENCRYPT) {
+                        if (this.gcmStream) {
+                            tmpOut = gcmStreamFinal(tmpIn);
+                        }
+                        else if (this.direction == OpMode.WC_ENCRYPT) {
 
                             /* A second encryption without re-init would reuse
                              * the same key and IV (GCM nonce reuse) */
@@ -1665,8 +2311,8 @@ public class WolfCryptCipher extends CipherSpi {
                             }
 
                             byte[] tag = new byte[this.gcmTagLen];
-                            tmpOut = this.aesGcm.encrypt(tmpIn, this.iv, tag,
-                                        aad);
+                            tmpOut = this.aesGcm.encrypt(tmpIn,
+                                        this.cleanup.iv, tag, aad);
 
                             this.gcmEncryptNeedsReinit = true;
 
@@ -1699,8 +2345,8 @@ public class WolfCryptCipher extends CipherSpi {
                                         tmpIn.length - this.gcmTagLen);
 
                             try {
-                                tmpOut = this.aesGcm.decrypt(tmpIn, this.iv,
-                                    tag, aad);
+                                tmpOut = this.aesGcm.decrypt(tmpIn,
+                                    this.cleanup.iv, tag, aad);
 
                             } catch (WolfCryptException e) {
                                 /* Convert to AEADBadTagException */
@@ -1715,10 +2361,13 @@ public class WolfCryptCipher extends CipherSpi {
                         }
                     }
                     else if (cipherMode == CipherMode.WC_CCM) {
-                        if (this.direction == OpMode.WC_ENCRYPT) {
+                        if (this.ccmStream) {
+                            tmpOut = ccmStreamFinal(tmpIn);
+                        }
+                        else if (this.direction == OpMode.WC_ENCRYPT) {
                             byte[] tag = new byte[this.gcmTagLen];
-                            tmpOut = this.aesCcm.encrypt(tmpIn, this.iv, tag,
-                                        aad);
+                            tmpOut = this.aesCcm.encrypt(tmpIn,
+                                        this.cleanup.iv, tag, aad);
 
                             /* Concatenate auth tag to end of ciphertext */
                             byte[] totalOut =
@@ -1748,8 +2397,8 @@ public class WolfCryptCipher extends CipherSpi {
                             tmpIn = Arrays.copyOfRange(tmpIn, 0,
                                         tmpIn.length - this.gcmTagLen);
 
-                            tmpOut = this.aesCcm.decrypt(tmpIn, this.iv, tag,
-                                        aad);
+                            tmpOut = this.aesCcm.decrypt(tmpIn,
+                                        this.cleanup.iv, tag, aad);
                         }
                     }
                     else if (cipherMode == CipherMode.WC_ECB) {
@@ -1820,6 +2469,12 @@ public class WolfCryptCipher extends CipherSpi {
 
                 case WC_RSA:
 
+                    /* RSA operations are long-running, bind the calling
+                     * thread's own Rng (also used for blinding) instead of
+                     * locking a shared pool stripe for their duration */
+                    Rng rsaRng = WolfCryptRngPool.threadRng();
+                    this.rsa.setRng(rsaRng);
+
                     if (this.paddingType == PaddingType.WC_OAEP_SHA256 ||
                         this.paddingType == PaddingType.WC_OAEP_SHA1) {
                         /* OAEP only supports public key encrypt and
@@ -1831,7 +2486,7 @@ public class WolfCryptCipher extends CipherSpi {
                                     "encryption");
                             }
 
-                            tmpOut = this.rsa.encryptOaep(tmpIn, this.rng,
+                            tmpOut = this.rsa.encryptOaep(tmpIn, rsaRng,
                                 this.oaepHashType, this.oaepMgf);
 
                         } else {
@@ -1857,11 +2512,12 @@ public class WolfCryptCipher extends CipherSpi {
                         /* PKCS#1 v1.5 padding */
                         if (this.direction == OpMode.WC_ENCRYPT) {
 
-                            if (this.rsaKeyType == RsaKeyType.WC_RSA_PRIVATE) {
-                                tmpOut = this.rsa.sign(tmpIn, this.rng);
+                            if (this.rsaKeyType ==
+                                    RsaKeyType.WC_RSA_PRIVATE) {
+                                tmpOut = this.rsa.sign(tmpIn, rsaRng);
 
                             } else {
-                                tmpOut = this.rsa.encrypt(tmpIn, this.rng);
+                                tmpOut = this.rsa.encrypt(tmpIn, rsaRng);
                             }
 
                         } else {
@@ -1893,46 +2549,7 @@ public class WolfCryptCipher extends CipherSpi {
         }
 
         /* reset state, user doesn't need to call init again before use */
-        try {
-            bufferedReset();
-
-            wolfCryptSetDirection(this.storedOpMode);
-
-            InitializeNativeStructs();
-
-            /* Preserve the existing IV during cipher reset to maintain
-             * consistency with JCE getIV() behavior. If storedSpec is null
-             * (no IV was provided initially), wolfCryptSetIV would generate
-             * a new random IV, overwriting the original one. */
-            if (storedSpec == null && this.iv != null) {
-                /* Create appropriate ParameterSpec with the current IV to avoid
-                 * generating a new random IV during reset */
-                AlgorithmParameterSpec currentIvSpec;
-                if (cipherMode == CipherMode.WC_GCM) {
-                    /* For GCM mode, create GCMParameterSpec with current
-                     * IV and tag length */
-                    currentIvSpec = new GCMParameterSpec(
-                        this.gcmTagLen * 8, this.iv.clone());
-                } else {
-                    /* For other modes, use IvParameterSpec */
-                    currentIvSpec = new IvParameterSpec(this.iv.clone());
-                }
-                wolfCryptSetIV(currentIvSpec, null);
-            } else {
-                wolfCryptSetIV(storedSpec, null);
-            }
-
-            wolfCryptSetKey(storedKey);
-
-            this.aadStream = null;
-            this.operationStarted = false;
-            this.cipherInitialized = true;
-
-        } catch (InvalidKeyException e) {
-            throw new RuntimeException(e.getMessage());
-        } catch (InvalidAlgorithmParameterException e) {
-            throw new RuntimeException(e.getMessage());
-        }
+        wolfCryptResetAfterFinal();
 
         return tmpOut;
     }
@@ -2041,7 +2658,7 @@ public class WolfCryptCipher extends CipherSpi {
         }
     }
 
-    private void zeroArray(byte[] in) {
+    private static void zeroArray(byte[] in) {
 
         if (in == null)
             return;
@@ -2119,6 +2736,432 @@ public class WolfCryptCipher extends CipherSpi {
         }
     }
 
+    /**
+     * Return true if this doFinal() call can run AES-GCM directly on direct
+     * ByteBuffer memory, skipping intermediate array copies.
+     *
+     * Only applies when no data has been passed to update() for this
+     * operation, since that data is either buffered or has already been
+     * processed by the native streaming API.
+     */
+    private boolean canUseGcmDirect(ByteBuffer input, ByteBuffer output) {
+
+        return this.cipherInitialized &&
+               this.cipherType == CipherType.WC_AES &&
+               this.cipherMode == CipherMode.WC_GCM &&
+               this.aesGcm != null &&
+               !this.operationStarted &&
+               this.bufferedLen == 0 &&
+               input != null && output != null &&
+               input.isDirect() && output.isDirect() &&
+               !output.isReadOnly();
+    }
+
+    /**
+     * AES-GCM final operation over direct ByteBuffers. Native wolfCrypt
+     * reads input and writes output memory directly. Input and output may
+     * start at the same address for in-place operation. Partially
+     * overlapping regions go through a temporary buffer in native code.
+     *
+     * @param input direct input buffer, all remaining bytes are processed
+     * @param output direct output buffer
+     *
+     * @return number of bytes written to output
+     */
+    private int wolfCryptGcmFinalDirect(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException, AEADBadTagException {
+
+        int inLen = input.remaining();
+        int outLen = 0;
+        byte[] tag = new byte[this.gcmTagLen];
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            outLen = inLen + this.gcmTagLen;
+        }
+        else {
+            if (inLen < this.gcmTagLen) {
+                throw new AEADBadTagException(
+                    "Input too short for GCM tag, got " + inLen +
+                    " bytes, need at least " + this.gcmTagLen);
+            }
+            outLen = inLen - this.gcmTagLen;
+        }
+
+        if (output.remaining() < outLen) {
+            throw new ShortBufferException("Output buffer too small, need " +
+                outLen + " bytes, got " + output.remaining());
+        }
+
+        if (this.direction == OpMode.WC_ENCRYPT &&
+            this.gcmEncryptNeedsReinit) {
+            /* A second encryption without re-init would reuse the same
+             * key and IV (GCM nonce reuse) */
+            throw new IllegalStateException(
+                "Must use either different key or iv for GCM encryption");
+        }
+
+        this.operationStarted = true;
+
+        byte[] aad = (this.aadStream != null) ?
+            this.aadStream.toByteArray() : null;
+
+        if (this.direction == OpMode.WC_ENCRYPT) {
+            this.aesGcm.encrypt(input, output, this.cleanup.iv, tag, aad);
+            this.gcmEncryptNeedsReinit = true;
+            output.put(tag);
+        }
+        else {
+            /* Read tag off end of input, then limit input to ciphertext */
+            int inLimit = input.limit();
+            ByteBuffer tagBuf = input.duplicate();
+            tagBuf.position(inLimit - this.gcmTagLen);
+            tagBuf.get(tag);
+            input.limit(inLimit - this.gcmTagLen);
+
+            try {
+                this.aesGcm.decrypt(input, output, this.cleanup.iv, tag, aad);
+
+            } catch (WolfCryptException e) {
+                /* Convert to AEADBadTagException */
+                if (e.getCode() == WolfCryptError.AES_GCM_AUTH_E.getCode()) {
+                    throw new AEADBadTagException(e.getMessage());
+                }
+                throw e;
+
+            } finally {
+                input.limit(inLimit);
+            }
+            input.position(inLimit);
+        }
+
+        wolfCryptResetAfterFinal();
+
+        return outLen;
+    }
+
+    /**
+     * Return a heap copy of the remaining input bytes if input and output
+     * are direct buffers sharing memory, otherwise null.
+     *
+     * CipherSpi allows input and output to be the same buffer or views
+     * of it. The direct paths read input and write output memory from
+     * native code, and output written for buffered or earlier data can
+     * overwrite input bytes not read yet. Running from a copy keeps the
+     * result identical to the non-overlapping case.
+     *
+     * Exact in-place operation (input and output starting at the same
+     * address) is not copied when inPlaceOk is true, meaning the caller
+     * will take a direct path that never writes output ahead of input.
+     */
+    private static ByteBuffer copyOverlappingInput(ByteBuffer input,
+        ByteBuffer output, boolean inPlaceOk) {
+
+        ByteBuffer copy = null;
+
+        if (!WolfCrypt.directBuffersOverlap(input, output)) {
+            return null;
+        }
+
+        if (inPlaceOk && WolfCrypt.directBuffersInPlace(input, output)) {
+            return null;
+        }
+
+        copy = ByteBuffer.allocate(input.remaining());
+        copy.put(input.duplicate());
+        copy.flip();
+
+        return copy;
+    }
+
+    /**
+     * Return true if update()/doFinal() can pass direct ByteBuffer memory
+     * straight to native AES-CBC/ECB/CTR/OFB/CTS or 3DES-CBC, skipping
+     * the temporary heap arrays used by the CipherSpi default
+     * implementation.
+     */
+    /**
+     * Return true if direct block path can run with input and output at
+     * the same address. Buffered bytes from a previous update() would put
+     * output ahead of input, and CTS moves data between the last two
+     * blocks, so both need separate input memory.
+     */
+    private boolean canUseBlockDirectInPlace(ByteBuffer input,
+        ByteBuffer output) {
+
+        return canUseBlockDirect(input, output) &&
+               this.cipherMode != CipherMode.WC_CTS &&
+               this.bufferedLen == 0;
+    }
+
+    private boolean canUseBlockDirect(ByteBuffer input, ByteBuffer output) {
+
+        if (!this.cipherInitialized || input == null || output == null ||
+            !input.isDirect() || !output.isDirect() || output.isReadOnly()) {
+            return false;
+        }
+
+        if (this.cipherType == CipherType.WC_DES3) {
+            return true;
+        }
+
+        return (this.cipherType == CipherType.WC_AES) &&
+               (this.cipherMode == CipherMode.WC_CBC ||
+                this.cipherMode == CipherMode.WC_ECB ||
+                this.cipherMode == CipherMode.WC_CTR ||
+                this.cipherMode == CipherMode.WC_OFB ||
+                this.cipherMode == CipherMode.WC_CTS);
+    }
+
+    /**
+     * Run native update over all remaining bytes of direct input buffer,
+     * writing to direct output buffer. Caller must size input to what the
+     * current mode can process.
+     */
+    private void wolfCryptNativeUpdateDirect(ByteBuffer input,
+        ByteBuffer output) throws ShortBufferException {
+
+        switch (this.cipherType) {
+            case WC_AES:
+                if (cipherMode == CipherMode.WC_ECB) {
+                    this.aesEcb.update(input, output);
+                }
+                else if (cipherMode == CipherMode.WC_CTR) {
+                    this.aesCtr.update(input, output);
+                }
+                else if (cipherMode == CipherMode.WC_OFB) {
+                    this.aesOfb.update(input, output);
+                }
+                else if (cipherMode == CipherMode.WC_CTS) {
+                    this.aesCts.update(input, output);
+                }
+                else {
+                    this.aes.update(input, output);
+                }
+                break;
+
+            case WC_DES3:
+                this.des3.update(input, output);
+                break;
+
+            default:
+                throw new RuntimeException("Unsupported algorithm type");
+        }
+    }
+
+    /**
+     * Update operation over direct ByteBuffers.
+     *
+     * Whole blocks are processed by native code directly between input and
+     * output buffer memory. Data left buffered by a previous update() is
+     * completed to a block boundary from input and processed through the
+     * internal buffer first, and any trailing partial block (plus the last
+     * block when PKCS#5 decrypting) is copied into the internal buffer. Only
+     * those edge bytes are copied, never the bulk of the input.
+     *
+     * @param input direct input buffer, all remaining bytes are consumed
+     * @param output direct output buffer
+     *
+     * @return number of bytes written to output
+     */
+    private int wolfCryptUpdateDirect(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException {
+
+        int toProcess = getUpdateProcessLen(bufferedLen + input.remaining());
+        int written = 0;
+        byte[] tmp = null;
+        byte[] out = null;
+
+        if (output.remaining() < toProcess) {
+            throw new ShortBufferException("Output buffer too small, need " +
+                toProcess + " bytes, got " + output.remaining());
+        }
+
+        this.operationStarted = true;
+
+        /* Complete and process blocks held in internal buffer first. If
+         * the buffer holds more than toProcess (PKCS#5 decrypt hold back),
+         * the rest stays buffered and toProcess drops to zero. */
+        if (bufferedLen > 0 && toProcess > 0) {
+            int headLen = Math.min(
+                ((bufferedLen + blockSize - 1) / blockSize) * blockSize,
+                toProcess);
+            int fill = headLen - bufferedLen;
+            if (fill > 0) {
+                tmp = new byte[fill];
+                input.get(tmp);
+                bufferedAppend(tmp, 0, fill);
+                zeroArray(tmp);
+            }
+
+            tmp = Arrays.copyOfRange(buffered, 0, headLen);
+            bufferedConsume(headLen);
+            try {
+                out = wolfCryptUpdateBlocks(tmp);
+                output.put(out);
+            } finally {
+                zeroArray(tmp);
+                zeroArray(out);
+            }
+
+            written += headLen;
+            toProcess -= headLen;
+        }
+
+        /* Process remaining whole blocks directly between buffers */
+        if (toProcess > 0) {
+            ByteBuffer src = input.duplicate();
+            src.limit(src.position() + toProcess);
+            wolfCryptNativeUpdateDirect(src, output);
+            input.position(src.position());
+            written += toProcess;
+        }
+
+        /* Buffer trailing bytes until more input or final */
+        if (input.hasRemaining()) {
+            tmp = new byte[input.remaining()];
+            input.get(tmp);
+            bufferedAppend(tmp, 0, tmp.length);
+            zeroArray(tmp);
+        }
+
+        return written;
+    }
+
+    /**
+     * Final operation over direct ByteBuffers for modes handled by
+     * canUseBlockDirect(). Whole blocks go through wolfCryptUpdateDirect(),
+     * then the remaining buffered partial block (if any) is padded or
+     * unpadded through the regular final path.
+     *
+     * @param input direct input buffer, all remaining bytes are consumed
+     * @param output direct output buffer
+     *
+     * @return number of bytes written to output
+     */
+    private int wolfCryptFinalDirect(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException, IllegalBlockSizeException,
+               BadPaddingException {
+
+        int written = 0;
+        int totalSz = bufferedLen + input.remaining();
+        byte[] tmpOut = null;
+
+        /* Check lengths up front, so input and output are left untouched
+         * on error, matching the byte[] doFinal() behavior */
+        if (output.remaining() < engineGetOutputSize(input.remaining())) {
+            throw new ShortBufferException("Output buffer too small, need " +
+                engineGetOutputSize(input.remaining()) + " bytes, got " +
+                output.remaining());
+        }
+
+        if ((cipherMode == CipherMode.WC_CBC ||
+             cipherMode == CipherMode.WC_ECB) &&
+            (this.direction == OpMode.WC_DECRYPT ||
+             this.paddingType != PaddingType.WC_PKCS5) &&
+            (totalSz % blockSize != 0)) {
+            throw new IllegalBlockSizeException(
+                "Input length (" + totalSz + ") not multiple of " +
+                blockSize + " bytes. (" + bufferedLen +" buffered)");
+        }
+
+        if (cipherMode == CipherMode.WC_CTS) {
+            /* CTS needs the whole message in one native call */
+            this.operationStarted = true;
+            written = input.remaining();
+            wolfCryptNativeUpdateDirect(input, output);
+            wolfCryptResetAfterFinal();
+            return written;
+        }
+
+        written = wolfCryptUpdateDirect(input, output);
+
+        tmpOut = wolfCryptFinal(null, 0, 0);
+        try {
+            output.put(tmpOut);
+            written += tmpOut.length;
+        } finally {
+            zeroArray(tmpOut);
+        }
+
+        return written;
+    }
+
+    @Override
+    protected int engineUpdate(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException {
+
+        int written = 0;
+        ByteBuffer inCopy = copyOverlappingInput(input, output,
+            canUseBlockDirectInPlace(input, output));
+
+        if (inCopy != null) {
+            log("update ByteBuffer, input overlaps output, using copy " +
+                "(inputLen: " + inCopy.remaining() + ")");
+            try {
+                written = super.engineUpdate(inCopy, output);
+                input.position(input.limit());
+            } finally {
+                zeroArray(inCopy.array());
+            }
+            return written;
+        }
+
+        /* CTS holds all data until final, nothing to gain here */
+        if (!canUseBlockDirect(input, output) ||
+            this.cipherMode == CipherMode.WC_CTS) {
+            return super.engineUpdate(input, output);
+        }
+
+        log("update direct ByteBuffer (inputLen: " + input.remaining() +
+            ", buffered: " + bufferedLen + ")");
+
+        return wolfCryptUpdateDirect(input, output);
+    }
+
+    @Override
+    protected int engineDoFinal(ByteBuffer input, ByteBuffer output)
+        throws ShortBufferException, IllegalBlockSizeException,
+               BadPaddingException {
+
+        int written = 0;
+        ByteBuffer inCopy = null;
+
+        /* Native AES-GCM handles input and output sharing memory */
+        if (canUseGcmDirect(input, output)) {
+            log("final direct ByteBuffer (inputLen: " + input.remaining() +
+                ", outputRemaining: " + output.remaining() + ")");
+
+            return wolfCryptGcmFinalDirect(input, output);
+        }
+
+        inCopy = copyOverlappingInput(input, output,
+            canUseBlockDirectInPlace(input, output));
+        if (inCopy != null) {
+            log("final ByteBuffer, input overlaps output, using copy " +
+                "(inputLen: " + inCopy.remaining() + ")");
+            try {
+                written = super.engineDoFinal(inCopy, output);
+                input.position(input.limit());
+            } finally {
+                zeroArray(inCopy.array());
+            }
+            return written;
+        }
+
+        /* CTS direct path needs whole message in input, with at least one
+         * block, otherwise let the default path buffer and raise errors */
+        if (canUseBlockDirect(input, output) &&
+            (this.cipherMode != CipherMode.WC_CTS ||
+             (this.bufferedLen == 0 && input.remaining() >= blockSize))) {
+            log("final direct ByteBuffer (inputLen: " + input.remaining() +
+                ", buffered: " + bufferedLen + ")");
+
+            return wolfCryptFinalDirect(input, output);
+        }
+
+        return super.engineDoFinal(input, output);
+    }
+
     @Override
     protected int engineGetKeySize(Key key)
         throws InvalidKeyException {
@@ -2335,70 +3378,48 @@ public class WolfCryptCipher extends CipherSpi {
             () -> "[" + algString + "-" + algMode + "] " + msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.aes != null) {
-                this.aes.releaseNativeStruct();
-                this.aes = null;
-            }
-
-            if (this.aesEcb != null) {
-                this.aesEcb.releaseNativeStruct();
-                this.aesEcb = null;
-            }
-
-            if (this.aesCtr != null) {
-                this.aesCtr.releaseNativeStruct();
-                this.aesCtr = null;
-            }
-
-            if (this.aesOfb != null) {
-                this.aesOfb.releaseNativeStruct();
-                this.aesOfb = null;
-            }
-
-            if (this.aesGcm != null) {
-                this.aesGcm.releaseNativeStruct();
-                this.aesGcm = null;
-            }
-
-            if (this.aesCcm != null) {
-                this.aesCcm.releaseNativeStruct();
-                this.aesCcm = null;
-            }
+    /**
+     * State cleaned up once a WolfCryptCipher becomes unreachable, in place
+     * of a finalizer. Registered with WolfCryptCleaner, so must not
+     * reference the Cipher itself.
+     *
+     * Native cipher objects held by the Cipher (Aes, Des3, Rsa, etc) are
+     * freed by their own NativeStruct cleaner registration. This zeroizes
+     * the IV and GCM nonce reuse tracking state, and hands an AES-GCM or
+     * AES-CCM context taken from WolfCryptAesKeyCache back to the cache.
+     */
+    private static final class CipherCleanup implements Runnable {
 
-            if (this.aesCts != null) {
-                this.aesCts.releaseNativeStruct();
-                this.aesCts = null;
-            }
+        /* IV for the current operation */
+        private byte[] iv = null;
 
-            if (this.des3 != null) {
-                this.des3.releaseNativeStruct();
-                this.des3 = null;
-            }
+        /* Last (key, IV) set for AES-GCM encryption at init time, tracked
+         * to reject GCM nonce reuse on re-initialization. A digest of the
+         * encoded key (SHA-512, or SHA-256 when SHA-512 is not compiled in)
+         * is stored instead of the key bytes to avoid keeping an extra copy
+         * of key material in memory. */
+        private byte[] lastGcmEncryptKeyHash = null;
+        private byte[] lastGcmEncryptIv = null;
 
-            if (this.rsa != null) {
-                this.rsa.releaseNativeStruct();
-                this.rsa = null;
-            }
+        /* Cache Id of the key held by aesGcm/aesCcm when that context was
+         * taken from WolfCryptAesKeyCache, null if the Cipher owns it */
+        private WolfCryptAesKeyCache.Id aesKeyCacheId = null;
 
-            if (this.rng != null) {
-                this.rng.free();
-                this.rng.releaseNativeStruct();
-                this.rng = null;
-            }
+        /* Context taken from WolfCryptAesKeyCache under aesKeyCacheId */
+        private NativeStruct aesKeyCacheCtx = null;
 
+        @Override
+        public void run() {
             zeroArray(this.iv);
             zeroArray(this.lastGcmEncryptKeyHash);
             zeroArray(this.lastGcmEncryptIv);
 
-            this.storedKey = null;
-            this.storedSpec = null;
-
-        } finally {
-            super.finalize();
+            if (this.aesKeyCacheId != null && this.aesKeyCacheCtx != null) {
+                WolfCryptAesKeyCache.release(this.aesKeyCacheId,
+                    this.aesKeyCacheCtx);
+            }
+            this.aesKeyCacheId = null;
+            this.aesKeyCacheCtx = null;
         }
     }
 
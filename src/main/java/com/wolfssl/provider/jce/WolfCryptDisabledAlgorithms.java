@@ -0,0 +1,475 @@
+/* WolfCryptDisabledAlgorithms.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.Security;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of a disabled-algorithms Security property
+ * (ex: "jdk.certpath.disabledAlgorithms"), used by WolfCryptUtil.
+ *
+ * Parsing a disabled-algorithms property means reading it and every
+ * property it includes, splitting entries, stripping qualifiers and
+ * parsing key size constraints. CertPath validation checks each
+ * certificate in a path against the same property, so the parsed entries
+ * are compiled once into hashed sets of upper case algorithm names and a
+ * map of key size limits, one of each for generic and CertPath checks.
+ *
+ * Compiled policies are cached per property name. Each lookup re-reads the
+ * top level and included property values and recompiles the policy if any
+ * value has changed, so Security.setProperty() changes are picked up on
+ * the next check.
+ */
+final class WolfCryptDisabledAlgorithms {
+
+    /* Compiled policies, keyed by top level property name */
+    private static final ConcurrentHashMap<String, WolfCryptDisabledAlgorithms>
+        cache = new ConcurrentHashMap<>();
+
+    /* Key size constraint, ex: "keySize < 1024" or "keySize <= 1023" */
+    private static final Pattern KEY_SIZE_PATTERN =
+        Pattern.compile("keySize\\s*<(=?)\\s*(\\d+)",
+            Pattern.CASE_INSENSITIVE);
+
+    /* Post-quantum family names, disable all parameter sets when listed */
+    private static final String[] PQ_FAMILIES = {
+        "ML-DSA", "SLH-DSA", "ML-KEM"
+    };
+
+    /* Property names read while compiling, and their values at that time */
+    private final String[] propNames;
+    private final String[] propValues;
+
+    /* Top level property split on commas, see getRawEntries() */
+    private final String[] rawEntries;
+
+    /* true if no entries remain after include expansion */
+    private final boolean empty;
+
+    /* Constraints used by generic checks */
+    private final Constraints all = new Constraints();
+
+    /* Constraints used by CertPath checks, skipping entries scoped to
+     * usage contexts that can never apply to CertPath validation */
+    private final Constraints certPath = new Constraints();
+
+    /**
+     * Compile a disabled-algorithms property.
+     *
+     * @param propertyName top level Security property name
+     */
+    private WolfCryptDisabledAlgorithms(String propertyName) {
+
+        List<String> names = new ArrayList<String>();
+        List<String> values = new ArrayList<String>();
+        List<String> entries = new ArrayList<String>();
+        Deque<String> pending = new ArrayDeque<String>();
+        Set<String> expanded = new HashSet<String>();
+
+        /* Expand include directives (ex: "include jdk.disabled.namedCurves")
+         * to the entries of the referenced property, matching JDK behavior.
+         * Each property is expanded at most once to guard against include
+         * cycles. */
+        pending.add(propertyName);
+
+        while (!pending.isEmpty()) {
+            String prop = pending.removeFirst();
+
+            if (!expanded.add(prop)) {
+                continue;
+            }
+
+            String propValue = Security.getProperty(prop);
+            names.add(prop);
+            values.add(propValue);
+
+            if (propValue == null || propValue.isEmpty()) {
+                continue;
+            }
+
+            for (String entry : propValue.split(",")) {
+                entry = entry.trim();
+                if (entry.regionMatches(true, 0, "include ", 0, 8)) {
+                    pending.add(entry.substring(8).trim());
+                }
+                else if (!entry.isEmpty()) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        this.propNames = names.toArray(new String[names.size()]);
+        this.propValues = values.toArray(new String[values.size()]);
+        this.empty = entries.isEmpty();
+
+        /* First property read is always the top level property */
+        String topValue = this.propValues[0];
+        if (topValue == null || topValue.isEmpty()) {
+            this.rawEntries = new String[0];
+        }
+        else {
+            this.rawEntries = topValue.replaceAll(", ", ",").split(",");
+        }
+
+        for (String entry : entries) {
+            all.add(entry);
+            if (appliesToCertPath(entry)) {
+                certPath.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Get compiled policy for a disabled-algorithms Security property,
+     * compiling it if not cached or if the property (or a property it
+     * includes) has changed since it was compiled.
+     *
+     * @param propertyName Security property name
+     *        (ex: "jdk.certpath.disabledAlgorithms")
+     *
+     * @return compiled policy, never null
+     */
+    static WolfCryptDisabledAlgorithms get(String propertyName) {
+
+        WolfCryptDisabledAlgorithms policy = cache.get(propertyName);
+
+        if (policy == null || !policy.isCurrent()) {
+            policy = new WolfCryptDisabledAlgorithms(propertyName);
+            cache.put(propertyName, policy);
+            log("compiled " + propertyName + ", properties read: " +
+                policy.propNames.length);
+        }
+
+        return policy;
+    }
+
+    /**
+     * Check if the property values this policy was compiled from are
+     * unchanged.
+     *
+     * @return true if policy is current, false if it must be recompiled
+     */
+    private boolean isCurrent() {
+
+        for (int i = 0; i < propNames.length; i++) {
+            String val = Security.getProperty(propNames[i]);
+            if (val != propValues[i] &&
+                (val == null || !val.equals(propValues[i]))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Check if policy has no entries after include expansion.
+     *
+     * @return true if nothing is disabled, false otherwise
+     */
+    boolean isEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * Get top level property value split on commas, matching the format
+     * returned by WolfCryptUtil.getDisabledAlgorithmsList().
+     *
+     * @return new list of raw entries, empty if property is not set
+     */
+    List<String> getRawEntries() {
+        return Arrays.asList(this.rawEntries.clone());
+    }
+
+    /**
+     * Check if an algorithm is disabled.
+     *
+     * Matches the full algorithm name, the full entry (curve entries can
+     * contain a space, ex: "X9.62 c2tnb191v1") and each decomposed part of
+     * the algorithm name. Entries with a key size constraint are skipped,
+     * those are enforced by getKeySizeLimit().
+     *
+     * @param algorithm algorithm name to check
+     * @param parts decomposed algorithm name parts
+     * @param certPathContext true when checking for CertPath validation
+     *
+     * @return true if algorithm is disabled, false otherwise
+     */
+    boolean isDisabled(String algorithm, String[] parts,
+        boolean certPathContext) {
+
+        Constraints c = certPathContext ? this.certPath : this.all;
+
+        if (c.names.isEmpty() && c.entries.isEmpty()) {
+            return false;
+        }
+
+        if (c.names.contains(upper(algorithm)) ||
+            c.entries.contains(upper(algorithm))) {
+            return true;
+        }
+
+        for (String part : parts) {
+            if (c.names.contains(upper(part))) {
+                return true;
+            }
+        }
+
+        /* Known PQ family entries also disable all of their parameter
+         * sets (ex "ML-DSA" disables "ML-DSA-44"). */
+        for (String family : c.pqFamilies) {
+            String prefix = family + "-";
+            if (algorithm.regionMatches(true, 0, prefix, 0,
+                prefix.length())) {
+                return true;
+            }
+            for (String part : parts) {
+                if (part.regionMatches(true, 0, prefix, 0,
+                    prefix.length())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get minimum allowed key size for an algorithm.
+     *
+     * @param algo algorithm name (ex: "RSA", "DH", "DSA", "EC")
+     * @param certPathContext true when checking for CertPath validation
+     *
+     * @return minimum key size allowed, or 0 if not constrained
+     */
+    int getKeySizeLimit(String algo, boolean certPathContext) {
+
+        Constraints c = certPathContext ? this.certPath : this.all;
+        Integer limit = c.keySizeLimits.get(upper(algo));
+
+        return (limit == null) ? 0 : limit.intValue();
+    }
+
+    /**
+     * Hashed constraints compiled from a list of entries.
+     */
+    private static final class Constraints {
+
+        /* Upper case leading algorithm names of name entries */
+        private final Set<String> names = new HashSet<String>();
+
+        /* Upper case full name entries, including qualifiers */
+        private final Set<String> entries = new HashSet<String>();
+
+        /* PQ family names listed as name entries */
+        private final List<String> pqFamilies = new ArrayList<String>();
+
+        /* Strictest minimum key size per upper case algorithm name */
+        private final Map<String, Integer> keySizeLimits =
+            new HashMap<String, Integer>();
+
+        /**
+         * Add a single disabled-algorithms entry.
+         *
+         * @param entry trimmed entry, include directives already expanded
+         */
+        private void add(String entry) {
+
+            String name = extractName(entry);
+            if (name == null || name.isEmpty()) {
+                return;
+            }
+
+            /* Key size limits match on the leading algorithm name only, so
+             * "ECDH keySize" does not set the "DH" limit. */
+            Matcher match = KEY_SIZE_PATTERN.matcher(entry);
+            if (match.find()) {
+                try {
+                    int limit = Integer.parseInt(match.group(2));
+                    if (match.group(1).equals("=") &&
+                        limit < Integer.MAX_VALUE) {
+                        /* "keySize <= N" disables through N, minimum allowed
+                         * size is N + 1 */
+                        limit = limit + 1;
+                    }
+                    /* Keep the strictest of multiple matching entries */
+                    Integer prev = keySizeLimits.get(upper(name));
+                    if (prev == null || prev.intValue() < limit) {
+                        keySizeLimits.put(upper(name), limit);
+                    }
+                } catch (NumberFormatException e) {
+                    /* Number exceeds Integer.MAX_VALUE, ignore malformed
+                     * number. */
+                }
+            }
+
+            /* Skip key-size constraints such as "RSA keySize < 1024" for
+             * name matching. Those are size limits, not name disables. */
+            if (entry.toLowerCase(Locale.ROOT).contains("keysize")) {
+                return;
+            }
+
+            names.add(upper(name));
+            entries.add(upper(entry));
+
+            for (String family : PQ_FAMILIES) {
+                if (family.equalsIgnoreCase(name) &&
+                    !pqFamilies.contains(family)) {
+                    pqFamilies.add(family);
+                }
+            }
+        }
+    }
+
+    /**
+     * Extract the leading algorithm name from a single disabled-algorithms
+     * list entry, dropping any qualifiers.
+     *
+     * For example "SHA1 jdkCA ..." returns "SHA1" and
+     * "RSA keySize ..." returns "RSA".
+     *
+     * @param entry a single disabled-algorithms list entry
+     *
+     * @return the leading algorithm name, or null if none could be extracted
+     */
+    private static String extractName(String entry) {
+
+        String[] tokens = null;
+
+        if (entry == null) {
+            return null;
+        }
+
+        /* Split on the first whitespace or '&' qualifier separator */
+        tokens = entry.trim().split("[\\s&]");
+        if (tokens.length == 0) {
+            return null;
+        }
+
+        return tokens[0].trim();
+    }
+
+    /**
+     * Determine if a single disabled-algorithms list entry applies to generic
+     * CertPath validation.
+     *
+     * Qualifiers after the algorithm name are ANDed together
+     * (ex: "SHA1 jdkCA &amp; usage TLSServer"). A usage qualifier that
+     * names only contexts which can never apply to CertPath validation
+     * (TLSServer, TLSClient, SignedJAR) can never be satisfied, which
+     * makes the whole ANDed entry non-applicable, matching JDK behavior.
+     * All other qualifiers (jdkCA, denyAfter, malformed or unrecognized) are
+     * treated as if their conditions hold (fail closed).
+     *
+     * @param entry a single disabled-algorithms list entry
+     *
+     * @return false if the entry can never apply to generic CertPath
+     *         validation, true otherwise (fail closed)
+     */
+    private static boolean appliesToCertPath(String entry) {
+
+        int idx = 0;
+        String qualifiers = null;
+        String[] groups = null;
+        String[] usageTokens = null;
+        boolean allRecognized = false;
+
+        if (entry == null) {
+            return true;
+        }
+
+        /* Leading algorithm name ends at first space, rest is qualifiers */
+        entry = entry.trim();
+        idx = entry.indexOf(' ');
+        if (idx < 0) {
+            /* Bare algorithm name, no qualifiers */
+            return true;
+        }
+        qualifiers = entry.substring(idx + 1).trim();
+
+        /* Split ANDed qualifier groups */
+        groups = qualifiers.split("&");
+
+        for (String group : groups) {
+            usageTokens = group.trim().split("\\s+");
+
+            if (usageTokens.length < 2 ||
+                !usageTokens[0].equalsIgnoreCase("usage")) {
+                /* Not a usage qualifier, treat as satisfied (fail closed) */
+                continue;
+            }
+
+            /* An unrecognized usage context keeps entry active (fail closed) */
+            allRecognized = true;
+            for (int i = 1; i < usageTokens.length; i++) {
+                if (!usageTokens[i].equalsIgnoreCase("TLSServer") &&
+                    !usageTokens[i].equalsIgnoreCase("TLSClient") &&
+                    !usageTokens[i].equalsIgnoreCase("SignedJAR")) {
+                    allRecognized = false;
+                    break;
+                }
+            }
+
+            if (allRecognized) {
+                /* Usage condition can never hold here, and conditions are
+                 * ANDed, so the entry can never apply */
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Upper case an algorithm name for hashed lookups.
+     *
+     * @param s name to convert
+     *
+     * @return upper case name
+     */
+    private static String upper(String s) {
+        return s.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Internal log function, called when debug is enabled.
+     *
+     * @param msg Log message to be printed
+     */
+    private static void log(String msg) {
+        WolfCryptDebug.log(WolfCryptDisabledAlgorithms.class,
+            WolfCryptDebug.INFO, () -> "[DisabledAlgorithms] " + msg);
+    }
+}
@@ -62,6 +62,10 @@ public class WolfCryptECPrivateKey implements ECPrivateKey, Destroyable {
      * deserialization. */
     private transient Object stateLock = new Object();
 
+    /** Native Ecc decoded from encoded key, created on first use by
+     * engine classes and shared between them */
+    private transient WolfCryptNativeKey<Ecc> nativeKey = null;
+
     /**
      * Create new WolfCryptECPrivateKey from DER-encoded PKCS#8 data.
      *
@@ -300,6 +304,71 @@ public class WolfCryptECPrivateKey implements ECPrivateKey, Destroyable {
         }
     }
 
+    /**
+     * Get a reference to the native Ecc key decoded from this key,
+     * decoding it on first call.
+     *
+     * Lets engine classes reuse the decoded key instead of calling
+     * getEncoded() and decoding the PKCS#8 private key on every init. Callers
+     * must call release() on the returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be decoded natively
+     */
+    WolfCryptNativeKey<Ecc> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Ecc ecc = decodeNativeKey();
+                if (ecc == null) {
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Ecc>(ecc,
+                    this::decodeNativeKey);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    /**
+     * Decode a new native Ecc key from this key. Used for the shared
+     * native key and for copies handed to concurrent engines by
+     * WolfCryptNativeKey.take().
+     *
+     * @return new native key owned by the caller, or null if this key has
+     *         been destroyed or could not be decoded natively
+     */
+    private Ecc decodeNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            Ecc ecc = null;
+            try {
+                ecc = new Ecc();
+                ecc.privateKeyDecode(this.encoded);
+            } catch (WolfCryptException e) {
+                log("native key decode failed: " + e.getMessage());
+                if (ecc != null) {
+                    ecc.releaseNativeStruct();
+                }
+                return null;
+            }
+
+            return ecc;
+        }
+    }
+
     @Override
     public String getAlgorithm() {
         return "EC";
@@ -332,6 +401,12 @@ public class WolfCryptECPrivateKey implements ECPrivateKey, Destroyable {
                 }
                 privateValue = null;
                 paramSpec = null;
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
                 destroyed = true;
                 log("key destroyed");
             }
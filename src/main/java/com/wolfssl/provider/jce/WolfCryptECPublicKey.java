@@ -61,6 +61,10 @@ public class WolfCryptECPublicKey implements ECPublicKey, Destroyable {
      * deserialization. */
     private transient Object stateLock = new Object();
 
+    /** Native Ecc decoded from encoded key, created on first use by
+     * engine classes and shared between them */
+    private transient WolfCryptNativeKey<Ecc> nativeKey = null;
+
     /**
      * Create new WolfCryptECPublicKey from DER-encoded X.509 data.
      *
@@ -369,6 +373,81 @@ public class WolfCryptECPublicKey implements ECPublicKey, Destroyable {
         }
     }
 
+    /**
+     * Get a reference to the native Ecc key decoded from this key,
+     * decoding it on first call.
+     *
+     * Lets engine classes reuse the decoded key instead of calling
+     * getEncoded() and decoding the X.509 public key on every init. Callers
+     * must call release() on the returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be decoded natively
+     */
+    WolfCryptNativeKey<Ecc> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Ecc ecc = decodeNativeKey();
+                if (ecc == null) {
+                    return null;
+                }
+                try {
+                    /* Validate public point once here so engines using
+                     * the shared native key, or copies decoded from it
+                     * later, do not need to */
+                    ecc.checkKey();
+                } catch (WolfCryptException e) {
+                    log("native key check failed: " + e.getMessage());
+                    ecc.releaseNativeStruct();
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Ecc>(ecc,
+                    this::decodeNativeKey);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    /**
+     * Decode a new native Ecc key from this key. Used for the shared
+     * native key and for copies handed to concurrent engines by
+     * WolfCryptNativeKey.take().
+     *
+     * @return new native key owned by the caller, or null if this key has
+     *         been destroyed or could not be decoded natively
+     */
+    private Ecc decodeNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            Ecc ecc = null;
+            try {
+                ecc = new Ecc();
+                ecc.publicKeyDecode(this.encoded);
+            } catch (WolfCryptException e) {
+                log("native key decode failed: " + e.getMessage());
+                if (ecc != null) {
+                    ecc.releaseNativeStruct();
+                }
+                return null;
+            }
+
+            return ecc;
+        }
+    }
+
     @Override
     public String getAlgorithm() {
         return "EC";
@@ -401,6 +480,12 @@ public class WolfCryptECPublicKey implements ECPublicKey, Destroyable {
                 }
                 publicPoint = null;
                 paramSpec = null;
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
                 destroyed = true;
                 log("key destroyed");
             }
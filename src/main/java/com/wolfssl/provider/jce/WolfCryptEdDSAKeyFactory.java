@@ -0,0 +1,300 @@
+/* WolfCryptEdDSAKeyFactory.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.util.Arrays;
+import java.security.Key;
+import java.security.KeyFactorySpi;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.InvalidKeyException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.KeySpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+
+/**
+ * wolfCrypt JCE EdDSA (Ed25519) KeyFactory implementation.
+ *
+ * Converts between key specifications and wolfJCE Ed25519 key objects.
+ * Supports X.509 SubjectPublicKeyInfo and PKCS#8 PrivateKeyInfo encoded key
+ * specs on all JDK versions, plus EdECPublicKeySpec and EdECPrivateKeySpec
+ * on JDK 15+. Foreign Ed25519 keys (ex: from SunEC) are accepted via their
+ * encoded form. Ed448 is not supported.
+ *
+ * Keys returned implement EdECPublicKey and EdECPrivateKey on JDK 15+, see
+ * {@link WolfEdEcJdkCompat}.
+ */
+public class WolfCryptEdDSAKeyFactory extends KeyFactorySpi {
+
+    /**
+     * Create a new EdDSA KeyFactory.
+     */
+    public WolfCryptEdDSAKeyFactory() {
+        log("created new EdDSA KeyFactory");
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[EdDSA KeyFactory] " + msg);
+    }
+
+    /**
+     * Verify parameters of an EdEC key spec name Ed25519.
+     */
+    private void checkSpecParams(KeySpec keySpec)
+        throws InvalidKeySpecException {
+
+        AlgorithmParameterSpec params =
+            WolfEdEcJdkCompat.edecKeySpecGetParams(keySpec);
+
+        if (!WolfEdEcJdkCompat.isEd25519Spec(params)) {
+            throw new InvalidKeySpecException(
+                "Only Ed25519 is supported by wolfJCE EdDSA KeyFactory");
+        }
+    }
+
+    @Override
+    protected PrivateKey engineGeneratePrivate(KeySpec keySpec)
+        throws InvalidKeySpecException {
+
+        byte[] der = null;
+        byte[] raw = null;
+        WolfCryptEdECPrivateKey key;
+
+        if (keySpec == null) {
+            throw new InvalidKeySpecException("KeySpec cannot be null");
+        }
+
+        try {
+            if (keySpec instanceof PKCS8EncodedKeySpec) {
+                der = ((PKCS8EncodedKeySpec)keySpec).getEncoded();
+                if (der == null) {
+                    throw new InvalidKeySpecException(
+                        "PKCS8EncodedKeySpec contains null encoded key");
+                }
+                key = new WolfCryptEdECPrivateKey(der);
+                log("generated EdDSA private key from PKCS#8");
+            }
+            else if (WolfEdEcJdkCompat.isEdECPrivateKeySpec(keySpec)) {
+                checkSpecParams(keySpec);
+                raw = WolfEdEcJdkCompat.edecPrivateKeySpecGetBytes(keySpec);
+                if (raw == null) {
+                    throw new InvalidKeySpecException(
+                        "EdECPrivateKeySpec contains null key bytes");
+                }
+                key = WolfCryptEdECPrivateKey.fromRaw(raw);
+                log("generated EdDSA private key from EdECPrivateKeySpec");
+            }
+            else {
+                throw new InvalidKeySpecException(
+                    "Unsupported KeySpec type, expected PKCS8EncodedKeySpec " +
+                    "or EdECPrivateKeySpec: " + keySpec.getClass().getName());
+            }
+
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeySpecException(
+                "Invalid Ed25519 private key: " + e.getMessage(), e);
+
+        } finally {
+            if (der != null) {
+                Arrays.fill(der, (byte)0);
+            }
+            if (raw != null) {
+                Arrays.fill(raw, (byte)0);
+            }
+        }
+
+        return WolfEdEcJdkCompat.wrapPrivate(key);
+    }
+
+    @Override
+    protected PublicKey engineGeneratePublic(KeySpec keySpec)
+        throws InvalidKeySpecException {
+
+        byte[] der;
+        byte[] raw;
+        WolfCryptEdECPublicKey key;
+
+        if (keySpec == null) {
+            throw new InvalidKeySpecException("KeySpec cannot be null");
+        }
+
+        try {
+            if (keySpec instanceof X509EncodedKeySpec) {
+                der = ((X509EncodedKeySpec)keySpec).getEncoded();
+                if (der == null) {
+                    throw new InvalidKeySpecException(
+                        "X509EncodedKeySpec contains null encoded key");
+                }
+                key = new WolfCryptEdECPublicKey(der);
+                log("generated EdDSA public key from X.509");
+            }
+            else if (WolfEdEcJdkCompat.isEdECPublicKeySpec(keySpec)) {
+                checkSpecParams(keySpec);
+                raw = WolfEdEcJdkCompat.edecPublicKeySpecGetRaw(keySpec);
+                if (raw == null) {
+                    throw new InvalidKeySpecException(
+                        "EdECPublicKeySpec contains invalid point");
+                }
+                key = WolfCryptEdECPublicKey.fromRaw(raw);
+                log("generated EdDSA public key from EdECPublicKeySpec");
+            }
+            else {
+                throw new InvalidKeySpecException(
+                    "Unsupported KeySpec type, expected X509EncodedKeySpec " +
+                    "or EdECPublicKeySpec: " + keySpec.getClass().getName());
+            }
+
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeySpecException(
+                "Invalid Ed25519 public key: " + e.getMessage(), e);
+        }
+
+        return WolfEdEcJdkCompat.wrapPublic(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends KeySpec> T engineGetKeySpec(Key key, Class<T> keySpec)
+        throws InvalidKeySpecException {
+
+        byte[] encoded;
+        byte[] raw = null;
+        KeySpec spec = null;
+
+        if (key == null) {
+            throw new InvalidKeySpecException("Key cannot be null");
+        }
+
+        if (keySpec == null) {
+            throw new InvalidKeySpecException(
+                "Requested KeySpec format cannot be null");
+        }
+
+        if (!WolfCryptEdDSAUtil.isEdDSAAlgorithm(key.getAlgorithm())) {
+            throw new InvalidKeySpecException(
+                "Key is not an EdDSA key: " + key.getAlgorithm());
+        }
+
+        encoded = key.getEncoded();
+        if (encoded == null) {
+            throw new InvalidKeySpecException(
+                "Key.getEncoded() returned null");
+        }
+
+        try {
+            if (key instanceof PrivateKey) {
+                if (keySpec.isAssignableFrom(PKCS8EncodedKeySpec.class)) {
+                    spec = new PKCS8EncodedKeySpec(encoded);
+                }
+                else if (WolfEdEcJdkCompat.isEdECPrivateKeySpecClass(
+                        keySpec)) {
+                    raw = WolfCryptEdDSAUtil.parsePrivateKey(encoded);
+                    spec = WolfEdEcJdkCompat.newEdECPrivateKeySpec(raw);
+                }
+            }
+            else if (key instanceof PublicKey) {
+                if (keySpec.isAssignableFrom(X509EncodedKeySpec.class)) {
+                    spec = new X509EncodedKeySpec(encoded);
+                }
+                else if (WolfEdEcJdkCompat.isEdECPublicKeySpecClass(
+                        keySpec)) {
+                    raw = WolfCryptEdDSAUtil.parsePublicKey(encoded);
+                    spec = WolfEdEcJdkCompat.newEdECPublicKeySpec(raw);
+                }
+            }
+            else {
+                throw new InvalidKeySpecException(
+                    "Unsupported Key type: " + key.getClass().getName());
+            }
+
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeySpecException(
+                "Invalid Ed25519 key encoding: " + e.getMessage(), e);
+
+        } finally {
+            /* key specs copy input, clear copies of key */
+            Arrays.fill(encoded, (byte)0);
+            if (raw != null) {
+                Arrays.fill(raw, (byte)0);
+            }
+        }
+
+        if (spec == null) {
+            throw new InvalidKeySpecException(
+                "Unsupported KeySpec for EdDSA key: " + keySpec.getName());
+        }
+
+        return (T) spec;
+    }
+
+    @Override
+    protected Key engineTranslateKey(Key key) throws InvalidKeyException {
+
+        byte[] encoded;
+        Key inner;
+
+        if (key == null) {
+            throw new InvalidKeyException("Key cannot be null");
+        }
+
+        /* already a wolfJCE key, nothing to translate */
+        inner = WolfJdkKeyProxy.unwrap(key);
+        if (inner instanceof WolfCryptEdECPublicKey ||
+            inner instanceof WolfCryptEdECPrivateKey) {
+            return key;
+        }
+
+        if (!WolfCryptEdDSAUtil.isEdDSAAlgorithm(key.getAlgorithm())) {
+            throw new InvalidKeyException(
+                "Key is not an EdDSA key: " + key.getAlgorithm());
+        }
+
+        encoded = key.getEncoded();
+        if (encoded == null) {
+            throw new InvalidKeyException("Key.getEncoded() returned null");
+        }
+
+        try {
+            if (key instanceof PrivateKey) {
+                return engineGeneratePrivate(new PKCS8EncodedKeySpec(encoded));
+            }
+            else if (key instanceof PublicKey) {
+                return engineGeneratePublic(new X509EncodedKeySpec(encoded));
+            }
+            else {
+                throw new InvalidKeyException(
+                    "Unsupported Key type: " + key.getClass().getName());
+            }
+
+        } catch (InvalidKeySpecException e) {
+            throw new InvalidKeyException(
+                "Failed to translate EdDSA key: " + e.getMessage(), e);
+
+        } finally {
+            /* EncodedKeySpec copies input, clear copy of key */
+            Arrays.fill(encoded, (byte)0);
+        }
+    }
+}
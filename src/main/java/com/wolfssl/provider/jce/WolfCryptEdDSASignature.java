@@ -0,0 +1,528 @@
+/* WolfCryptEdDSASignature.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.security.SignatureSpi;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+
+import com.wolfssl.wolfcrypt.Ed25519;
+import com.wolfssl.wolfcrypt.Sha512;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE EdDSA (Ed25519) Signature implementation.
+ *
+ * Pure Ed25519 hashes the message twice while signing, and verify needs
+ * the signature before the message can be hashed, so the whole message
+ * has to be available at once. update() appends into one growable array
+ * owned by this object, and sign()/verify() pass that array and its
+ * length straight to native wolfCrypt, which reads it in place. Each
+ * message byte is copied once, instead of also through
+ * ByteArrayOutputStream.toByteArray() and a JNI array copy.
+ *
+ * When an EdDSAParameterSpec (JDK 15+) selects prehash (Ed25519ph),
+ * update() streams input into SHA-512 and no message data is buffered.
+ * A context from EdDSAParameterSpec selects Ed25519ctx for pure mode.
+ *
+ * Native keys are imported once per wolfJCE key object and shared with
+ * this engine, see {@link WolfCryptEdECPrivateKey#acquireNativeKey()}.
+ * Ed448 is not supported.
+ */
+public class WolfCryptEdDSASignature extends SignatureSpi {
+
+    /** Initial message buffer size. */
+    private static final int BUFFER_INITIAL = 256;
+
+    /** Reset keeps the message buffer up to this size, larger buffers
+     * are dropped so long-lived (cached/pooled) Signature objects do not
+     * pin one large message's worth of memory indefinitely. */
+    private static final int BUFFER_RETAIN_MAX = 1024 * 1024;
+
+    /** Native key, released on re-init or once this Signature becomes
+     * unreachable, see EdDSACleanup. */
+    private final EdDSACleanup cleanup = new EdDSACleanup();
+
+    /** Set true when initialized for sign, false for verify. */
+    private boolean signing = false;
+
+    /** Buffered message for pure Ed25519 and Ed25519ctx. */
+    private byte[] buffer = null;
+
+    /** Number of valid bytes in buffer. */
+    private int bufferLen = 0;
+
+    /** True to use Ed25519ph, set from EdDSAParameterSpec. */
+    private boolean prehash = false;
+
+    /** Context from EdDSAParameterSpec, null if none. */
+    private byte[] context = null;
+
+    /** SHA-512 of message for Ed25519ph, created on first use. */
+    private Sha512 digest = null;
+
+    /** True once update() has been called since last init/sign/verify. */
+    private boolean dataPending = false;
+
+    /**
+     * Create new WolfCryptEdDSASignature object.
+     */
+    public WolfCryptEdDSASignature() {
+        WolfCryptCleaner.register(this, this.cleanup);
+        log("created new EdDSA Signature");
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[EdDSA Signature] " + msg);
+    }
+
+    /**
+     * Release native key held by this engine. Native keys shared with a
+     * wolfJCE key object are released back to that key instead of being
+     * freed.
+     */
+    private void releaseKey() {
+        this.cleanup.run();
+    }
+
+    /**
+     * Discard any message data, ready for the next sign or verify.
+     */
+    private void resetMessage() {
+
+        if (this.buffer != null && this.buffer.length > BUFFER_RETAIN_MAX) {
+            this.buffer = null;
+        }
+        this.bufferLen = 0;
+
+        if (this.digest != null && this.dataPending) {
+            this.digest.init();
+        }
+        this.dataPending = false;
+    }
+
+    /**
+     * Check that key is an Ed25519 key in the expected encoding.
+     */
+    private static byte[] getEncodedEd25519(Key k, String format)
+        throws InvalidKeyException {
+
+        byte[] der;
+
+        if (!WolfCryptEdDSAUtil.isEdDSAAlgorithm(k.getAlgorithm())) {
+            throw new InvalidKeyException(
+                "Key is not an EdDSA key: " + k.getAlgorithm());
+        }
+        if (!format.equalsIgnoreCase(k.getFormat())) {
+            throw new InvalidKeyException(
+                "Unsupported key format for EdDSA: " + k.getFormat());
+        }
+
+        der = k.getEncoded();
+        if (der == null) {
+            throw new InvalidKeyException("Key.getEncoded() returned null");
+        }
+
+        return der;
+    }
+
+    /**
+     * Get native key for a private key, shared with wolfJCE keys or
+     * imported from the PKCS#8 encoding of other keys.
+     */
+    private static WolfCryptNativeKey<Ed25519> importPrivate(PrivateKey priv)
+        throws InvalidKeyException {
+
+        Key inner = WolfJdkKeyProxy.unwrap(priv);
+        WolfCryptNativeKey<Ed25519> nk;
+        Ed25519 k = null;
+        byte[] der = null;
+        byte[] raw = null;
+
+        if (inner instanceof WolfCryptEdECPrivateKey) {
+            nk = ((WolfCryptEdECPrivateKey) inner).acquireNativeKey();
+            if (nk == null) {
+                throw new InvalidKeyException(
+                    "EdDSA private key destroyed or failed to import");
+            }
+            return nk;
+        }
+
+        try {
+            der = getEncodedEd25519(priv, "PKCS#8");
+            raw = WolfCryptEdDSAUtil.parsePrivateKey(der);
+            k = new Ed25519();
+            k.importPrivateDerivePublic(raw);
+            return new WolfCryptNativeKey<Ed25519>(k);
+
+        } catch (IllegalArgumentException | WolfCryptException e) {
+            if (k != null) {
+                k.releaseNativeStruct();
+            }
+            throw new InvalidKeyException(
+                "Invalid EdDSA private key: " + e.getMessage(), e);
+
+        } finally {
+            if (der != null) {
+                Arrays.fill(der, (byte)0);
+            }
+            if (raw != null) {
+                Arrays.fill(raw, (byte)0);
+            }
+        }
+    }
+
+    /**
+     * Get native key for a public key, shared with wolfJCE keys or
+     * imported from the X.509 encoding of other keys.
+     */
+    private static WolfCryptNativeKey<Ed25519> importPublic(PublicKey pub)
+        throws InvalidKeyException {
+
+        Key inner = WolfJdkKeyProxy.unwrap(pub);
+        WolfCryptNativeKey<Ed25519> nk;
+        Ed25519 k = null;
+
+        if (inner instanceof WolfCryptEdECPublicKey) {
+            nk = ((WolfCryptEdECPublicKey) inner).acquireNativeKey();
+            if (nk == null) {
+                throw new InvalidKeyException(
+                    "EdDSA public key destroyed or failed to import");
+            }
+            return nk;
+        }
+
+        try {
+            byte[] raw = WolfCryptEdDSAUtil.parsePublicKey(
+                getEncodedEd25519(pub, "X.509"));
+            k = new Ed25519();
+            k.importPublic(raw);
+            return new WolfCryptNativeKey<Ed25519>(k);
+
+        } catch (IllegalArgumentException | WolfCryptException e) {
+            if (k != null) {
+                k.releaseNativeStruct();
+            }
+            throw new InvalidKeyException(
+                "Invalid EdDSA public key: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected synchronized void engineInitSign(PrivateKey privateKey)
+        throws InvalidKeyException {
+
+        WolfCryptNativeKey<Ed25519> nk;
+
+        if (privateKey == null) {
+            throw new InvalidKeyException("PrivateKey is null");
+        }
+
+        nk = importPrivate(privateKey);
+        releaseKey();
+        resetMessage();
+        this.cleanup.key = nk;
+        this.signing = true;
+
+        log("init sign");
+    }
+
+    @Override
+    protected synchronized void engineInitVerify(PublicKey publicKey)
+        throws InvalidKeyException {
+
+        WolfCryptNativeKey<Ed25519> nk;
+
+        if (publicKey == null) {
+            throw new InvalidKeyException("PublicKey is null");
+        }
+
+        nk = importPublic(publicKey);
+        releaseKey();
+        resetMessage();
+        this.cleanup.key = nk;
+        this.signing = false;
+
+        log("init verify");
+    }
+
+    /**
+     * Grow message buffer to hold at least len more bytes.
+     */
+    private void ensureCapacity(int len) throws SignatureException {
+
+        int needed = this.bufferLen + len;
+        int newSize;
+
+        if (needed < 0) {
+            throw new SignatureException("EdDSA message too large");
+        }
+        if (this.buffer == null) {
+            this.buffer = new byte[Math.max(BUFFER_INITIAL, needed)];
+            return;
+        }
+        if (needed <= this.buffer.length) {
+            return;
+        }
+
+        newSize = this.buffer.length << 1;
+        if (newSize < needed) {
+            newSize = needed;
+        }
+        this.buffer = Arrays.copyOf(this.buffer, newSize);
+    }
+
+    @Override
+    protected synchronized void engineUpdate(byte b)
+        throws SignatureException {
+
+        if (this.cleanup.key != null && !this.prehash) {
+            ensureCapacity(1);
+            this.buffer[this.bufferLen++] = b;
+            this.dataPending = true;
+            return;
+        }
+
+        engineUpdate(new byte[] { b }, 0, 1);
+    }
+
+    @Override
+    protected synchronized void engineUpdate(byte[] b, int off, int len)
+        throws SignatureException {
+
+        if (this.cleanup.key == null) {
+            throw new SignatureException("Signature not initialized");
+        }
+        if (b == null || off < 0 || len < 0 || len > b.length - off) {
+            throw new SignatureException("Invalid update arguments");
+        }
+
+        try {
+            if (this.prehash) {
+                if (this.digest == null) {
+                    this.digest = new Sha512();
+                }
+                this.digest.update(b, off, len);
+            }
+            else {
+                ensureCapacity(len);
+                System.arraycopy(b, off, this.buffer, this.bufferLen, len);
+                this.bufferLen += len;
+            }
+        } catch (WolfCryptException e) {
+            throw new SignatureException("EdDSA update failed", e);
+        }
+        this.dataPending = true;
+    }
+
+    /**
+     * Get native signature type for current parameters.
+     */
+    private int sigType() {
+
+        if (this.prehash) {
+            return Ed25519.TYPE_ED25519_PH;
+        }
+
+        return (this.context != null) ?
+            Ed25519.TYPE_ED25519_CTX : Ed25519.TYPE_ED25519;
+    }
+
+    /**
+     * Message hash for Ed25519ph, SHA-512 of all input so far.
+     */
+    private byte[] prehashDigest() {
+        if (this.digest == null) {
+            this.digest = new Sha512();
+        }
+        return this.digest.digest();
+    }
+
+    @Override
+    protected synchronized byte[] engineSign() throws SignatureException {
+
+        byte[] sig;
+        byte[] hash;
+        int msgLen = this.bufferLen;
+
+        if (this.cleanup.key == null || !this.signing) {
+            throw new SignatureException(
+                "Signature not initialized for signing");
+        }
+
+        try {
+            if (this.prehash) {
+                hash = prehashDigest();
+                sig = this.cleanup.key.get().sign_msg(hash, 0, hash.length,
+                    sigType(), this.context);
+            }
+            else {
+                sig = this.cleanup.key.get().sign_msg(
+                    (this.buffer != null) ? this.buffer : new byte[0], 0,
+                    this.bufferLen, sigType(), this.context);
+            }
+
+        } catch (WolfCryptException | IllegalStateException e) {
+            throw new SignatureException("EdDSA sign failed", e);
+
+        } finally {
+            resetMessage();
+        }
+
+        log("generated signature" +
+            (this.prehash ? " (prehash)" : ", msg len: " + msgLen));
+
+        return sig;
+    }
+
+    @Override
+    protected synchronized boolean engineVerify(byte[] sigBytes)
+        throws SignatureException {
+
+        byte[] hash;
+        boolean ok;
+
+        if (this.cleanup.key == null || this.signing) {
+            throw new SignatureException(
+                "Signature not initialized for verification");
+        }
+        if (sigBytes == null) {
+            throw new SignatureException("Signature bytes are null");
+        }
+
+        try {
+            if (sigBytes.length != WolfCryptEdDSAUtil.SIG_SIZE) {
+                return false;
+            }
+
+            if (this.prehash) {
+                hash = prehashDigest();
+                ok = this.cleanup.key.get().verify_msg(hash, 0, hash.length,
+                    sigBytes, sigType(), this.context);
+            }
+            else {
+                ok = this.cleanup.key.get().verify_msg(
+                    (this.buffer != null) ? this.buffer : new byte[0], 0,
+                    this.bufferLen, sigBytes, sigType(), this.context);
+            }
+
+        } catch (WolfCryptException | IllegalStateException e) {
+            throw new SignatureException("EdDSA verify failed", e);
+
+        } finally {
+            resetMessage();
+        }
+
+        log("verified signature: " + ok);
+
+        return ok;
+    }
+
+    @Override
+    protected synchronized void engineSetParameter(
+        AlgorithmParameterSpec params)
+        throws InvalidAlgorithmParameterException {
+
+        if (params == null) {
+            throw new InvalidAlgorithmParameterException(
+                "EdDSA parameters cannot be null");
+        }
+        if (!WolfEdEcJdkCompat.isEdDSAParameterSpec(params)) {
+            throw new InvalidAlgorithmParameterException(
+                "EdDSA only accepts EdDSAParameterSpec: " +
+                params.getClass().getName());
+        }
+        if (this.dataPending) {
+            throw new InvalidAlgorithmParameterException(
+                "EdDSA parameters must be set before update()");
+        }
+
+        byte[] ctx = WolfEdEcJdkCompat.eddsaParameterSpecGetContext(params);
+        if (ctx != null && ctx.length > Ed25519.ED25519_MAX_CTX_LEN) {
+            throw new InvalidAlgorithmParameterException(
+                "EdDSA context length exceeds 255 bytes");
+        }
+
+        this.prehash = WolfEdEcJdkCompat.eddsaParameterSpecIsPrehash(params);
+        this.context = ctx;
+
+        log("set parameters, prehash: " + this.prehash + ", context: " +
+            ((ctx != null) ? ctx.length + " bytes" : "none"));
+    }
+
+    /**
+     * @deprecated unsupported, use
+     *             {@link #engineSetParameter(AlgorithmParameterSpec)}.
+     */
+    @Override
+    @Deprecated
+    protected void engineSetParameter(String param, Object value)
+        throws InvalidParameterException {
+        throw new InvalidParameterException(
+            "EdDSA does not support engineSetParameter(String, Object)");
+    }
+
+    /**
+     * @deprecated unsupported.
+     */
+    @Override
+    @Deprecated
+    protected Object engineGetParameter(String param)
+        throws InvalidParameterException {
+        throw new InvalidParameterException(
+            "EdDSA does not support engineGetParameter(String)");
+    }
+
+    /**
+     * State cleaned up once a WolfCryptEdDSASignature becomes unreachable,
+     * in place of a finalizer. Registered with WolfCryptCleaner, so must not
+     * reference the Signature itself.
+     *
+     * The SHA-512 object is freed by its own NativeStruct cleaner
+     * registration. This gives back the reference held on a native key
+     * shared with a wolfJCE key object, or frees and zeroizes a key owned
+     * by the engine.
+     */
+    private static final class EdDSACleanup implements Runnable {
+
+        /* Native key, shared with wolfJCE key object or owned by this
+         * engine. Null before first init. */
+        private WolfCryptNativeKey<Ed25519> key = null;
+
+        @Override
+        public void run() {
+            if (this.key != null) {
+                this.key.release();
+                this.key = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/* WolfCryptEdDSAUtil.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.wolfssl.wolfcrypt.Ed25519;
+
+/**
+ * ASN.1/DER and encoding helpers for Ed25519 (EdDSA) keys.
+ *
+ * Ed25519 keys are encoded in X.509 and PKCS#8 following RFC 8410, using
+ * the id-Ed25519 OID (1.3.101.112) with absent algorithm parameters:
+ *
+ * Public keys (SubjectPublicKeyInfo):
+ *   SEQUENCE {
+ *     algorithm  SEQUENCE { OBJECT IDENTIFIER }
+ *     subjectPublicKey BIT STRING              -- 32 byte encoded point
+ *   }
+ *
+ * Private keys (PrivateKeyInfo / OneAsymmetricKey):
+ *   SEQUENCE {
+ *     version    INTEGER (0 or 1)
+ *     algorithm  SEQUENCE { OBJECT IDENTIFIER }
+ *     privateKey OCTET STRING { CurvePrivateKey OCTET STRING (32) }
+ *     attributes [0] and publicKey [1], optional, ignored on input
+ *   }
+ *
+ * Raw keys are the 32 byte RFC 8032 encodings. A public key is the little
+ * endian y-coordinate with the most significant bit holding the low bit
+ * (parity) of x, matching java.security.spec.EdECPoint.
+ */
+final class WolfCryptEdDSAUtil {
+
+    /** Ed25519 raw key size, in bytes. */
+    static final int KEY_SIZE = Ed25519.ED25519_KEY_SIZE;
+
+    /** Ed25519 signature size, in bytes. */
+    static final int SIG_SIZE = Ed25519.ED25519_SIG_SIZE;
+
+    /** Ed25519 parameter set name, as used by NamedParameterSpec. */
+    static final String ED25519 = "Ed25519";
+
+    /* id-Ed25519 OID content bytes (without tag/length), 1.3.101.112 */
+    private static final byte[] OID_ED25519 = {
+        (byte)0x2B, (byte)0x65, (byte)0x70
+    };
+
+    /* OID string form of id-Ed25519 */
+    private static final String OID_ED25519_STRING = "1.3.101.112";
+
+    /* Curve25519 field prime, 2^255 - 19 */
+    private static final BigInteger P =
+        BigInteger.ONE.shiftLeft(255).subtract(BigInteger.valueOf(19));
+
+    /** Private constructor, all methods are static. */
+    private WolfCryptEdDSAUtil() {
+    }
+
+    /**
+     * Check whether an algorithm name identifies an Ed25519 key. Accepts
+     * the family name "EdDSA", the parameter set name "Ed25519" and its OID.
+     *
+     * @param alg algorithm name from a Key
+     *
+     * @return true if the name identifies an Ed25519 key
+     */
+    static boolean isEdDSAAlgorithm(String alg) {
+
+        if (alg == null) {
+            return false;
+        }
+
+        return alg.equalsIgnoreCase("EdDSA") ||
+               alg.equalsIgnoreCase(ED25519) ||
+               alg.equals(OID_ED25519_STRING) ||
+               alg.equals("OID." + OID_ED25519_STRING);
+    }
+
+    /**
+     * Encode an Edwards point as a raw RFC 8032 public key.
+     *
+     * @param xOdd true if x-coordinate is odd
+     * @param y y-coordinate, must be in [0, 2^255 - 19)
+     *
+     * @return 32 byte encoded point
+     *
+     * @throws IllegalArgumentException if y is null or out of range
+     */
+    static byte[] rawFromPoint(boolean xOdd, BigInteger y)
+        throws IllegalArgumentException {
+
+        byte[] be;
+        byte[] raw = new byte[KEY_SIZE];
+
+        if (y == null || y.signum() < 0 || y.compareTo(P) >= 0) {
+            throw new IllegalArgumentException(
+                "Ed25519 y-coordinate out of range");
+        }
+
+        /* y fits in 255 bits, toByteArray() may add a leading zero byte */
+        be = y.toByteArray();
+        for (int i = 0; i < be.length && i < KEY_SIZE; i++) {
+            raw[i] = be[be.length - 1 - i];
+        }
+        if (xOdd) {
+            raw[KEY_SIZE - 1] |= (byte)0x80;
+        }
+
+        return raw;
+    }
+
+    /**
+     * Get the y-coordinate from a raw RFC 8032 public key.
+     *
+     * @param raw 32 byte encoded point
+     *
+     * @return y-coordinate, most significant bit masked
+     *
+     * @throws IllegalArgumentException if raw is not 32 bytes
+     */
+    static BigInteger yFromRaw(byte[] raw) throws IllegalArgumentException {
+
+        byte[] be = new byte[KEY_SIZE];
+
+        checkKeyLength(raw);
+
+        for (int i = 0; i < KEY_SIZE; i++) {
+            be[i] = raw[KEY_SIZE - 1 - i];
+        }
+        be[0] &= 0x7F;
+
+        return new BigInteger(1, be);
+    }
+
+    /**
+     * Get the x-coordinate parity from a raw RFC 8032 public key.
+     *
+     * @param raw 32 byte encoded point
+     *
+     * @return true if x-coordinate is odd
+     *
+     * @throws IllegalArgumentException if raw is not 32 bytes
+     */
+    static boolean xOddFromRaw(byte[] raw) throws IllegalArgumentException {
+
+        checkKeyLength(raw);
+
+        return (raw[KEY_SIZE - 1] & 0x80) != 0;
+    }
+
+    /**
+     * Check that a raw Ed25519 key is 32 bytes.
+     *
+     * @param raw raw key bytes
+     *
+     * @throws IllegalArgumentException if raw is null or not 32 bytes
+     */
+    static void checkKeyLength(byte[] raw) throws IllegalArgumentException {
+
+        if (raw == null || raw.length != KEY_SIZE) {
+            throw new IllegalArgumentException(
+                "Ed25519 key must be " + KEY_SIZE + " bytes");
+        }
+    }
+
+    /**
+     * Build the AlgorithmIdentifier SEQUENCE for Ed25519. The parameters
+     * field is absent per RFC 8410.
+     */
+    private static byte[] algorithmId() {
+
+        return WolfCryptASN1Util.encodeDERSequence(
+            WolfCryptASN1Util.encodeDERObjectIdentifier(OID_ED25519));
+    }
+
+    /**
+     * Read a single TLV at offset 'off' in 'd', validating the tag.
+     * Returns {contentOffset, contentLength, nextOffset}.
+     */
+    private static int[] readTLV(byte[] d, int off, int expectedTag)
+        throws IllegalArgumentException {
+
+        int[] lenInfo;
+
+        if (d == null || off < 0 || off >= d.length) {
+            throw new IllegalArgumentException("Invalid DER: bad offset");
+        }
+
+        if ((d[off] & 0xFF) != (expectedTag & 0xFF)) {
+            throw new IllegalArgumentException(
+                "Invalid DER: expected tag 0x" +
+                Integer.toHexString(expectedTag & 0xFF) + ", got 0x" +
+                Integer.toHexString(d[off] & 0xFF));
+        }
+
+        lenInfo = WolfCryptASN1Util.decodeDERLengthWithOffset(d, off + 1);
+
+        /* Reject negative and out of range content lengths without
+         * integer overflow. */
+        if (lenInfo[0] < 0 || lenInfo[0] > d.length - lenInfo[1]) {
+            throw new IllegalArgumentException(
+                "Invalid DER: content extends beyond data");
+        }
+
+        return new int[] { lenInfo[1], lenInfo[0], lenInfo[1] + lenInfo[0] };
+    }
+
+    /**
+     * Read the Ed25519 AlgorithmIdentifier at offset 'off', returning the
+     * offset just past it.
+     */
+    private static int readAlgorithmId(byte[] der, int off)
+        throws IllegalArgumentException {
+
+        int[] alg = readTLV(der, off, WolfCryptASN1Util.ASN1_SEQUENCE);
+        int[] oid = readTLV(der, alg[0],
+            WolfCryptASN1Util.ASN1_OBJECT_IDENTIFIER);
+
+        /* RFC 8410: parameters MUST be absent */
+        if (oid[2] != alg[2]) {
+            throw new IllegalArgumentException(
+                "Invalid DER: unexpected Ed25519 algorithm parameters");
+        }
+        if (!WolfCryptASN1Util.bytesEqual(
+                Arrays.copyOfRange(der, oid[0], oid[2]), OID_ED25519)) {
+            throw new IllegalArgumentException("Unrecognized Ed25519 OID");
+        }
+
+        return alg[2];
+    }
+
+    /**
+     * Encode a raw Ed25519 public key as an X.509 SubjectPublicKeyInfo.
+     *
+     * @param rawPublic 32 byte encoded point
+     *
+     * @return DER-encoded SubjectPublicKeyInfo
+     *
+     * @throws IllegalArgumentException if rawPublic is not 32 bytes
+     */
+    static byte[] encodePublicKey(byte[] rawPublic)
+        throws IllegalArgumentException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        checkKeyLength(rawPublic);
+
+        try {
+            out.write(algorithmId());
+            out.write(WolfCryptASN1Util.encodeDERBitString(rawPublic));
+
+            return WolfCryptASN1Util.encodeDERSequence(out.toByteArray());
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                "Failed to encode Ed25519 public key: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse an X.509 SubjectPublicKeyInfo into a raw Ed25519 public key.
+     *
+     * @param der DER-encoded SubjectPublicKeyInfo
+     *
+     * @return 32 byte encoded point
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    static byte[] parsePublicKey(byte[] der) throws IllegalArgumentException {
+
+        int[] seq, bit;
+        int off;
+
+        if (der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        seq = readTLV(der, 0, WolfCryptASN1Util.ASN1_SEQUENCE);
+        if (seq[2] != der.length) {
+            throw new IllegalArgumentException(
+                "Invalid DER: trailing data after SubjectPublicKeyInfo");
+        }
+
+        off = readAlgorithmId(der, seq[0]);
+
+        /* subjectPublicKey BIT STRING, first content byte is unused bits */
+        bit = readTLV(der, off, WolfCryptASN1Util.ASN1_BIT_STRING);
+        if (bit[2] != seq[2]) {
+            throw new IllegalArgumentException(
+                "Invalid DER: trailing data in SubjectPublicKeyInfo");
+        }
+        if (bit[1] != KEY_SIZE + 1 || der[bit[0]] != 0x00) {
+            throw new IllegalArgumentException(
+                "Invalid Ed25519 public key BIT STRING");
+        }
+
+        return Arrays.copyOfRange(der, bit[0] + 1, bit[2]);
+    }
+
+    /**
+     * Encode a raw Ed25519 private key as PKCS#8 (version 0, no public key).
+     *
+     * @param rawPrivate 32 byte private key
+     *
+     * @return DER-encoded PrivateKeyInfo
+     *
+     * @throws IllegalArgumentException if rawPrivate is not 32 bytes
+     */
+    static byte[] encodePrivateKey(byte[] rawPrivate)
+        throws IllegalArgumentException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] curvePriv = null;
+        byte[] inner = null;
+        byte[] body = null;
+
+        checkKeyLength(rawPrivate);
+
+        try {
+            curvePriv = WolfCryptASN1Util.encodeDEROctetString(rawPrivate);
+            inner = WolfCryptASN1Util.encodeDEROctetString(curvePriv);
+
+            out.write(WolfCryptASN1Util.encodeDERInteger(0));
+            out.write(algorithmId());
+            out.write(inner);
+            body = out.toByteArray();
+
+            return WolfCryptASN1Util.encodeDERSequence(body);
+
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                "Failed to encode Ed25519 private key: " + e.getMessage(), e);
+
+        } finally {
+            zeroArray(curvePriv);
+            zeroArray(inner);
+            zeroArray(body);
+        }
+    }
+
+    /**
+     * Parse a PKCS#8 PrivateKeyInfo or OneAsymmetricKey into a raw Ed25519
+     * private key. Optional attributes and public key fields are skipped.
+     *
+     * @param der DER-encoded PrivateKeyInfo
+     *
+     * @return 32 byte private key
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    static byte[] parsePrivateKey(byte[] der) throws IllegalArgumentException {
+
+        int[] seq, ver, pk, inner;
+        int off;
+
+        if (der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        seq = readTLV(der, 0, WolfCryptASN1Util.ASN1_SEQUENCE);
+        if (seq[2] != der.length) {
+            throw new IllegalArgumentException(
+                "Invalid DER: trailing data after PrivateKeyInfo");
+        }
+
+        /* version INTEGER, v1(0) or v2(1) for OneAsymmetricKey */
+        ver = readTLV(der, seq[0], WolfCryptASN1Util.ASN1_INTEGER);
+        if (ver[1] != 1 || (der[ver[0]] != 0x00 && der[ver[0]] != 0x01)) {
+            throw new IllegalArgumentException(
+                "Invalid Ed25519 private key: unsupported version");
+        }
+
+        off = readAlgorithmId(der, ver[2]);
+
+        /* privateKey OCTET STRING wrapping CurvePrivateKey OCTET STRING */
+        pk = readTLV(der, off, WolfCryptASN1Util.ASN1_OCTET_STRING);
+        inner = readTLV(der, pk[0], WolfCryptASN1Util.ASN1_OCTET_STRING);
+        if (inner[2] != pk[2] || inner[1] != KEY_SIZE) {
+            throw new IllegalArgumentException(
+                "Invalid Ed25519 private key: bad CurvePrivateKey");
+        }
+        if (pk[2] > seq[2]) {
+            throw new IllegalArgumentException(
+                "Invalid DER: privateKey extends beyond PrivateKeyInfo");
+        }
+
+        return Arrays.copyOfRange(der, inner[0], inner[2]);
+    }
+
+    private static void zeroArray(byte[] in) {
+
+        if (in != null) {
+            Arrays.fill(in, (byte)0);
+        }
+    }
+}
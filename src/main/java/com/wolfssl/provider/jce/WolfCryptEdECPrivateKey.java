@@ -0,0 +1,304 @@
+/* WolfCryptEdECPrivateKey.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.security.auth.Destroyable;
+
+import com.wolfssl.wolfcrypt.Ed25519;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE Ed25519 (EdDSA) private key.
+ *
+ * Holds the 32 byte RFC 8032 private key (seed). getEncoded() returns an
+ * RFC 8410 PKCS#8 PrivateKeyInfo. getAlgorithm() returns "EdDSA" to match
+ * SunEC.
+ *
+ * The native Ed25519 key, including the public key derived from the
+ * private key, is imported once on first use by an engine and shared with
+ * Signature objects through {@link #acquireNativeKey()}.
+ *
+ * This class implements the methods of the JDK 15
+ * {@code java.security.interfaces.EdECPrivateKey} interface. wolfJCE
+ * engines hand out instances wrapped by
+ * {@link WolfEdEcJdkCompat#wrapPrivate} so that on JDK 15+ they can be cast
+ * to EdECPrivateKey, so they should be used through that interface or
+ * PrivateKey rather than this class.
+ */
+public class WolfCryptEdECPrivateKey implements PrivateKey, Destroyable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Raw 32 byte private key. */
+    private byte[] rawPrivate = null;
+
+    /** Cached PKCS#8 encoding. */
+    private byte[] encoded = null;
+
+    /** True once this key has been destroyed. */
+    private boolean destroyed = false;
+
+    /** Native key shared with engines, created on first use. */
+    private transient WolfCryptNativeKey<Ed25519> nativeKey = null;
+
+    /** Lock around object state. */
+    private transient Object stateLock = new Object();
+
+    /**
+     * Create an Ed25519 private key from a PKCS#8 encoding.
+     *
+     * @param pkcs8Der DER-encoded PrivateKeyInfo
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    public WolfCryptEdECPrivateKey(byte[] pkcs8Der)
+        throws IllegalArgumentException {
+
+        if (pkcs8Der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        this.rawPrivate = WolfCryptEdDSAUtil.parsePrivateKey(pkcs8Der);
+        this.encoded = WolfCryptEdDSAUtil.encodePrivateKey(this.rawPrivate);
+    }
+
+    /**
+     * Create an Ed25519 private key from raw private key bytes.
+     *
+     * @param rawPrivate 32 byte private key, copied
+     *
+     * @return new private key
+     *
+     * @throws IllegalArgumentException if rawPrivate is not 32 bytes
+     */
+    static WolfCryptEdECPrivateKey fromRaw(byte[] rawPrivate)
+        throws IllegalArgumentException {
+
+        byte[] der = WolfCryptEdDSAUtil.encodePrivateKey(rawPrivate);
+
+        try {
+            return new WolfCryptEdECPrivateKey(der);
+        } finally {
+            Arrays.fill(der, (byte) 0);
+        }
+    }
+
+    /**
+     * Get a copy of the private key bytes.
+     *
+     * @return Optional holding copy of the 32 byte private key, empty if
+     *         this key has been destroyed
+     */
+    public Optional<byte[]> getBytes() {
+        synchronized (stateLock) {
+            if (destroyed || rawPrivate == null) {
+                return Optional.empty();
+            }
+            return Optional.of(rawPrivate.clone());
+        }
+    }
+
+    /**
+     * Get the parameters of this key.
+     *
+     * @return {@code NamedParameterSpec.ED25519} on JDK 15+, null on
+     *         JDK 8-14
+     */
+    public AlgorithmParameterSpec getParams() {
+        return WolfEdEcJdkCompat.ed25519Spec();
+    }
+
+    /**
+     * Get a reference to the native Ed25519 key imported from this key,
+     * importing it on first call.
+     *
+     * Lets Signature reuse the imported key instead of importing the
+     * private key and deriving the public key on every initSign. Callers must call release() on the
+     * returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be imported natively
+     */
+    WolfCryptNativeKey<Ed25519> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.rawPrivate == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Ed25519 key = null;
+                try {
+                    key = new Ed25519();
+                    key.importPrivateDerivePublic(this.rawPrivate);
+                } catch (WolfCryptException e) {
+                    log("native key import failed: " + e.getMessage());
+                    if (key != null) {
+                        key.releaseNativeStruct();
+                    }
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Ed25519>(key);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "EdDSA";
+    }
+
+    @Override
+    public String getFormat() {
+        return "PKCS#8";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return null;
+            }
+            return encoded.clone();
+        }
+    }
+
+    /**
+     * Destroy this key by zeroing out sensitive data.
+     */
+    @Override
+    public void destroy() {
+        synchronized (stateLock) {
+            if (!destroyed) {
+                if (rawPrivate != null) {
+                    Arrays.fill(rawPrivate, (byte) 0);
+                    rawPrivate = null;
+                }
+                if (encoded != null) {
+                    Arrays.fill(encoded, (byte) 0);
+                    encoded = null;
+                }
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
+                destroyed = true;
+                log("key destroyed");
+            }
+        }
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        synchronized (stateLock) {
+            return destroyed;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return 0;
+            }
+            return Arrays.hashCode(encoded);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        byte[] mine;
+        byte[] theirs = null;
+
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PrivateKey)) {
+            return false;
+        }
+
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return false;
+            }
+            mine = this.encoded.clone();
+        }
+
+        try {
+            theirs = ((PrivateKey) obj).getEncoded();
+            return MessageDigest.isEqual(mine, theirs);
+
+        } finally {
+            Arrays.fill(mine, (byte) 0);
+            if (theirs != null) {
+                Arrays.fill(theirs, (byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return "WolfCryptEdECPrivateKey[DESTROYED]";
+            }
+            return "WolfCryptEdECPrivateKey[algorithm=EdDSA, format=PKCS#8]";
+        }
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[WolfCryptEdECPrivateKey] " + msg);
+    }
+
+    /**
+     * Custom deserialization to reinitialize transient state after
+     * deserialization.
+     *
+     * @param in ObjectInputStream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        stateLock = new Object();
+    }
+}
@@ -0,0 +1,293 @@
+/* WolfCryptEdECPublicKey.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import javax.security.auth.Destroyable;
+
+import com.wolfssl.wolfcrypt.Ed25519;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE Ed25519 (EdDSA) public key.
+ *
+ * Holds the 32 byte RFC 8032 encoded point. getEncoded() returns an
+ * RFC 8410 X.509 SubjectPublicKeyInfo. getAlgorithm() returns "EdDSA" to
+ * match SunEC.
+ *
+ * The native Ed25519 key is imported once, on first use by an engine,
+ * and shared with Signature objects through {@link #acquireNativeKey()}.
+ *
+ * This class implements the methods of the JDK 15
+ * {@code java.security.interfaces.EdECPublicKey} interface. wolfJCE engines
+ * hand out instances wrapped by {@link WolfEdEcJdkCompat#wrapPublic} so
+ * that on JDK 15+ they can be cast to EdECPublicKey, so they should be used
+ * through that interface or PublicKey rather than this class.
+ */
+public class WolfCryptEdECPublicKey implements PublicKey, Destroyable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Raw RFC 8032 encoded point. */
+    private byte[] rawPublic = null;
+
+    /** Cached X.509 SubjectPublicKeyInfo encoding. */
+    private byte[] encoded = null;
+
+    /** True once this key has been destroyed. */
+    private boolean destroyed = false;
+
+    /** Native key shared with engines, created on first use. */
+    private transient WolfCryptNativeKey<Ed25519> nativeKey = null;
+
+    /** Lock around object state. */
+    private transient Object stateLock = new Object();
+
+    /**
+     * Create an Ed25519 public key from an X.509 SubjectPublicKeyInfo
+     * encoding.
+     *
+     * @param x509Der DER-encoded SubjectPublicKeyInfo
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    public WolfCryptEdECPublicKey(byte[] x509Der)
+        throws IllegalArgumentException {
+
+        if (x509Der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        this.rawPublic = WolfCryptEdDSAUtil.parsePublicKey(x509Der);
+        this.encoded = WolfCryptEdDSAUtil.encodePublicKey(this.rawPublic);
+    }
+
+    /**
+     * Create an Ed25519 public key from a raw RFC 8032 encoded point.
+     *
+     * @param rawPublic 32 byte encoded point
+     *
+     * @return new public key
+     *
+     * @throws IllegalArgumentException if rawPublic is not 32 bytes
+     */
+    static WolfCryptEdECPublicKey fromRaw(byte[] rawPublic)
+        throws IllegalArgumentException {
+
+        return new WolfCryptEdECPublicKey(
+            WolfCryptEdDSAUtil.encodePublicKey(rawPublic));
+    }
+
+    /**
+     * Get the point of this public key.
+     *
+     * Declared as Object since {@code java.security.spec.EdECPoint} cannot
+     * be named in Java 8 source.
+     *
+     * @return {@code EdECPoint} on JDK 15+, null on JDK 8-14
+     *
+     * @throws IllegalStateException if key has been destroyed
+     */
+    public Object getPoint() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                throw new IllegalStateException("Key has been destroyed");
+            }
+            return WolfEdEcJdkCompat.newEdECPoint(this.rawPublic);
+        }
+    }
+
+    /**
+     * Get the parameters of this key.
+     *
+     * @return {@code NamedParameterSpec.ED25519} on JDK 15+, null on
+     *         JDK 8-14
+     */
+    public AlgorithmParameterSpec getParams() {
+        return WolfEdEcJdkCompat.ed25519Spec();
+    }
+
+    /**
+     * Get the raw public key bytes.
+     *
+     * @return clone of the 32 byte encoded point, or null if destroyed
+     */
+    byte[] getRawPublicKey() {
+        synchronized (stateLock) {
+            if (destroyed || rawPublic == null) {
+                return null;
+            }
+            return rawPublic.clone();
+        }
+    }
+
+    /**
+     * Get a reference to the native Ed25519 key imported from this key,
+     * importing it on first call.
+     *
+     * Lets Signature reuse the imported key instead of importing the
+     * public key on every initVerify. Callers must call release() on the
+     * returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be imported natively
+     */
+    WolfCryptNativeKey<Ed25519> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.rawPublic == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Ed25519 key = null;
+                try {
+                    key = new Ed25519();
+                    key.importPublic(this.rawPublic);
+                } catch (WolfCryptException e) {
+                    log("native key import failed: " + e.getMessage());
+                    if (key != null) {
+                        key.releaseNativeStruct();
+                    }
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Ed25519>(key);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "EdDSA";
+    }
+
+    @Override
+    public String getFormat() {
+        return "X.509";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return null;
+            }
+            return encoded.clone();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (stateLock) {
+            if (!destroyed) {
+                if (rawPublic != null) {
+                    Arrays.fill(rawPublic, (byte) 0);
+                    rawPublic = null;
+                }
+                if (encoded != null) {
+                    Arrays.fill(encoded, (byte) 0);
+                    encoded = null;
+                }
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
+                destroyed = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        synchronized (stateLock) {
+            return destroyed;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return 0;
+            }
+            return Arrays.hashCode(encoded);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        byte[] mine;
+        PublicKey other;
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof PublicKey)) {
+            return false;
+        }
+        other = (PublicKey) obj;
+
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return false;
+            }
+            mine = this.encoded.clone();
+        }
+
+        return Arrays.equals(mine, other.getEncoded());
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[WolfCryptEdECPublicKey] " + msg);
+    }
+
+    /**
+     * Custom deserialization to reinitialize transient state after
+     * deserialization.
+     *
+     * @param in ObjectInputStream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        stateLock = new Object();
+    }
+}
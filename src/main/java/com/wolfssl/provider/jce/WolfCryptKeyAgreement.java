@@ -34,6 +34,8 @@ import javax.crypto.interfaces.DHPrivateKey;
 import javax.crypto.interfaces.DHPublicKey;
 
 import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.SecureRandom;
 import java.security.spec.AlgorithmParameterSpec;
 import java.security.spec.ECParameterSpec;
@@ -47,7 +49,9 @@ import java.security.interfaces.ECPrivateKey;
 
 import com.wolfssl.wolfcrypt.Dh;
 import com.wolfssl.wolfcrypt.Ecc;
+import com.wolfssl.wolfcrypt.Curve25519;
 import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
 
 /**
  * wolfCrypt JCE Key Agreement wrapper
@@ -56,7 +60,8 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
 
     enum KeyAgreeType {
         WC_DH,
-        WC_ECDH
+        WC_ECDH,
+        WC_XDH
     }
 
     enum EngineState {
@@ -70,6 +75,10 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
     private Ecc ecPublic  = null;
     private Ecc ecPrivate = null;
 
+    /* Shared native keys and pending X25519 secret, released once this
+     * KeyAgreement becomes unreachable, see KeyAgreementCleanup */
+    private final KeyAgreementCleanup cleanup = new KeyAgreementCleanup();
+
     private int primeLen  = 0;
     private int curveSize = 0;
     private String curveName = null;
@@ -80,6 +89,8 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
 
     private WolfCryptKeyAgreement(KeyAgreeType type) {
 
+        WolfCryptCleaner.register(this, this.cleanup);
+
         this.type = type;
 
         switch (type) {
@@ -92,6 +103,10 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                 ecPublic  = new Ecc();
                 ecPrivate = new Ecc();
                 break;
+
+            case WC_XDH:
+                /* native key created in init() */
+                break;
         };
 
         if (WolfCryptDebug.DEBUG) {
@@ -152,6 +167,24 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                         "Key must be of type ECPublicKey");
                 }
 
+                /* Reuse peer public key already decoded and validated
+                 * by wolfJCE key object, skips decode and checkKey() */
+                if (key instanceof WolfCryptECPublicKey) {
+                    WolfCryptNativeKey<Ecc> peer =
+                        ((WolfCryptECPublicKey)key).acquireNativeKey();
+                    if (peer != null) {
+                        releaseEcPublic();
+                        this.cleanup.peerNativeKey = peer;
+                        this.ecPublic = peer.get();
+                        break;
+                    }
+                }
+
+                if (this.cleanup.peerNativeKey != null) {
+                    releaseEcPublic();
+                    this.ecPublic = new Ecc();
+                }
+
                 pubKey = key.getEncoded();
                 if (pubKey == null) {
                     throw new InvalidKeyException(
@@ -168,6 +201,30 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                         "ECC public key failed validation", e);
                 }
 
+                break;
+
+            case WC_XDH:
+                if (this.cleanup.xdhPrivate == null) {
+                    throw new IllegalStateException(
+                        "KeyAgreement object must be initialized with " +
+                        "private key before calling doPhase");
+                }
+                pubKey = getXdhPublicKey(key);
+
+                /* Secret computed here so an invalid or small order peer
+                 * key is reported as InvalidKeyException, as SunEC does */
+                zeroArray(this.cleanup.xdhSecret);
+                this.cleanup.xdhSecret = null;
+                try {
+                    this.cleanup.xdhSecret =
+                        this.cleanup.xdhPrivate.get().makeSharedSecret(
+                            pubKey, Curve25519.LITTLE_ENDIAN);
+                } catch (WolfCryptException e) {
+                    throw new InvalidKeyException(
+                        "X25519 shared secret failed, invalid peer public " +
+                        "key", e);
+                }
+
                 break;
         };
 
@@ -197,6 +254,9 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                     secretLen = this.curveSize;
                     tmp = new byte[secretLen];
                     break;
+                case WC_XDH:
+                    tmp = new byte[Curve25519.CURVE25519_KEY_SIZE];
+                    break;
             }
 
             len = engineGenerateSecret(tmp, 0);
@@ -328,7 +388,11 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
 
                 case WC_ECDH:
 
-                    tmp = this.ecPrivate.makeSharedSecret(this.ecPublic);
+                    /* ecPublic may be shared with other engines, lock
+                     * it while native code reads the peer point */
+                    synchronized (this.ecPublic) {
+                        tmp = this.ecPrivate.makeSharedSecret(this.ecPublic);
+                    }
                     if (tmp == null) {
                         throw new RuntimeException("Error when creating " +
                                 "ECDH shared secret");
@@ -353,7 +417,7 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                                 "wolfCrypt state during ECDH operation");
                     }
 
-                    this.ecPublic.releaseNativeStruct();
+                    releaseEcPublic();
                     this.ecPublic = new Ecc();
                     this.ecPrivate.releaseNativeStruct();
                     this.ecPrivate = new Ecc();
@@ -366,6 +430,28 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
 
                     this.state = EngineState.WC_PRIVKEY_DONE;
 
+                    break;
+
+                case WC_XDH:
+
+                    if ((sharedSecret.length - offset) <
+                            this.cleanup.xdhSecret.length) {
+                        throw new ShortBufferException(
+                            "Output buffer too small when generating " +
+                            "X25519 shared secret");
+                    }
+
+                    System.arraycopy(this.cleanup.xdhSecret, 0, sharedSecret,
+                        offset, this.cleanup.xdhSecret.length);
+
+                    returnLen = this.cleanup.xdhSecret.length;
+
+                    /* native private key is left as is, ready for the
+                     * next doPhase() */
+                    zeroArray(this.cleanup.xdhSecret);
+                    this.cleanup.xdhSecret = null;
+                    this.state = EngineState.WC_PRIVKEY_DONE;
+
                     break;
             };
 
@@ -613,6 +699,100 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
         }
     }
 
+    private void wcInitXDHParams(Key key, AlgorithmParameterSpec params)
+        throws InvalidKeyException, InvalidAlgorithmParameterException {
+
+        Key inner;
+        byte[] encoded = null;
+        byte[] raw = null;
+        Curve25519 x25519 = null;
+
+        if (params != null && !WolfXecJdkCompat.isX25519Spec(params)) {
+            throw new InvalidAlgorithmParameterException(
+                "XDH params must be NamedParameterSpec X25519, " +
+                "X448 is not supported");
+        }
+
+        if (!(key instanceof PrivateKey) ||
+            !WolfCryptXdhUtil.isXdhAlgorithm(key.getAlgorithm())) {
+            throw new InvalidKeyException(
+                "Key must be an XDH (X25519) PrivateKey");
+        }
+
+        releaseXdhPrivate();
+
+        /* Reuse native key already imported by wolfJCE key object */
+        inner = WolfJdkKeyProxy.unwrap(key);
+        if (inner instanceof WolfCryptXECPrivateKey) {
+            this.cleanup.xdhPrivate =
+                ((WolfCryptXECPrivateKey)inner).acquireNativeKey();
+            if (this.cleanup.xdhPrivate != null) {
+                return;
+            }
+        }
+
+        encoded = key.getEncoded();
+        if (encoded == null) {
+            throw new InvalidKeyException(
+                "Failed to get XDH private key from Key object");
+        }
+
+        try {
+            raw = WolfCryptXdhUtil.parsePrivateKey(encoded);
+            x25519 = new Curve25519();
+            x25519.importPrivateOnly(raw, Curve25519.LITTLE_ENDIAN);
+            this.cleanup.xdhPrivate =
+                new WolfCryptNativeKey<Curve25519>(x25519);
+
+        } catch (IllegalArgumentException | WolfCryptException e) {
+            if (x25519 != null) {
+                x25519.releaseNativeStruct();
+            }
+            throw new InvalidKeyException(
+                "Invalid X25519 private key: " + e.getMessage(), e);
+
+        } finally {
+            zeroArray(encoded);
+            zeroArray(raw);
+        }
+    }
+
+    /**
+     * Get raw little endian u-coordinate from an XDH public key.
+     */
+    private byte[] getXdhPublicKey(Key key) throws InvalidKeyException {
+
+        Key inner;
+        byte[] raw;
+
+        if (!(key instanceof PublicKey) ||
+            !WolfCryptXdhUtil.isXdhAlgorithm(key.getAlgorithm())) {
+            throw new InvalidKeyException(
+                "Key must be an XDH (X25519) PublicKey");
+        }
+
+        inner = WolfJdkKeyProxy.unwrap(key);
+        if (inner instanceof WolfCryptXECPublicKey) {
+            raw = ((WolfCryptXECPublicKey)inner).getRawPublicKey();
+            if (raw != null) {
+                return raw;
+            }
+        }
+
+        raw = key.getEncoded();
+        if (raw == null) {
+            throw new InvalidKeyException(
+                "Failed to get XDH public key from Key object");
+        }
+
+        try {
+            return WolfCryptXdhUtil.parsePublicKey(raw);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeyException(
+                "Invalid X25519 public key: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Imports DH or ECDH parameters into key structure.
      *
@@ -631,6 +811,10 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
             case WC_ECDH:
                 wcInitECDHParams(key, params);
                 break;
+
+            case WC_XDH:
+                wcInitXDHParams(key, params);
+                break;
         }
     }
 
@@ -662,7 +846,37 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
         this.state = EngineState.WC_PRIVKEY_DONE;
     }
 
-    private void zeroArray(byte[] in) {
+    /**
+     * Release peer public Ecc object. If shared with a wolfJCE key object,
+     * the reference is released back to that key instead of being freed.
+     */
+    private void releaseEcPublic() {
+
+        if (this.cleanup.peerNativeKey != null) {
+            this.cleanup.peerNativeKey.release();
+            this.cleanup.peerNativeKey = null;
+        }
+        else if (this.ecPublic != null) {
+            this.ecPublic.releaseNativeStruct();
+        }
+        this.ecPublic = null;
+    }
+
+    /**
+     * Release X25519 private key reference and zeroize any pending
+     * shared secret.
+     */
+    private void releaseXdhPrivate() {
+
+        if (this.cleanup.xdhPrivate != null) {
+            this.cleanup.xdhPrivate.release();
+            this.cleanup.xdhPrivate = null;
+        }
+        zeroArray(this.cleanup.xdhSecret);
+        this.cleanup.xdhSecret = null;
+    }
+
+    private static void zeroArray(byte[] in) {
 
         if (in == null)
             return;
@@ -678,6 +892,8 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
                 return "DH";
             case WC_ECDH:
                 return "ECDH";
+            case WC_XDH:
+                return "XDH";
             default:
                 return "None";
         }
@@ -688,28 +904,44 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
             () -> "[" + algString + "] " + msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-
-            switch (this.type) {
-                case WC_DH:
-                    if (this.dh != null)
-                        this.dh.releaseNativeStruct();
-                    break;
-
-                case WC_ECDH:
-                    if (this.ecPublic != null)
-                        this.ecPublic.releaseNativeStruct();
-
-                    if (this.ecPrivate != null)
-                        this.ecPrivate.releaseNativeStruct();
-                    break;
+    /**
+     * State cleaned up once a WolfCryptKeyAgreement becomes unreachable, in
+     * place of a finalizer. Registered with WolfCryptCleaner, so must not
+     * reference the KeyAgreement itself.
+     *
+     * Native Dh and Ecc objects owned by the KeyAgreement are freed by
+     * their own NativeStruct cleaner registration. This gives back
+     * references held on shared native keys and zeroizes any X25519 shared
+     * secret not yet returned by generateSecret().
+     */
+    private static final class KeyAgreementCleanup implements Runnable {
+
+        /* Peer public key shared with a WolfCryptECPublicKey. When set,
+         * ecPublic is borrowed from it and must not be freed directly */
+        private WolfCryptNativeKey<Ecc> peerNativeKey = null;
+
+        /* X25519 private key, either shared with a WolfCryptXECPrivateKey
+         * or imported by the KeyAgreement and holding its only reference.
+         * Peer public keys are passed to native code raw, so the private
+         * key is imported once per init() and reused for every agreement */
+        private WolfCryptNativeKey<Curve25519> xdhPrivate = null;
+
+        /* X25519 shared secret computed in doPhase(), until
+         * generateSecret() */
+        private byte[] xdhSecret = null;
+
+        @Override
+        public void run() {
+            if (this.peerNativeKey != null) {
+                this.peerNativeKey.release();
+                this.peerNativeKey = null;
             }
-
-        } finally {
-            super.finalize();
+            if (this.xdhPrivate != null) {
+                this.xdhPrivate.release();
+                this.xdhPrivate = null;
+            }
+            zeroArray(this.xdhSecret);
+            this.xdhSecret = null;
         }
     }
 
@@ -736,5 +968,17 @@ public class WolfCryptKeyAgreement extends KeyAgreementSpi {
             super(KeyAgreeType.WC_ECDH);
         }
     }
-}
 
+    /**
+     * wolfJCE XDH class. Only X25519 is supported, registered as both
+     * "XDH" and "X25519".
+     */
+    public static final class wcXDH extends WolfCryptKeyAgreement {
+        /**
+         * Create new wcXDH object
+         */
+        public wcXDH() {
+            super(KeyAgreeType.WC_XDH);
+        }
+    }
+}
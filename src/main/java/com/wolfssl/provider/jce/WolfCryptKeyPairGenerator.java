@@ -55,6 +55,8 @@ import javax.crypto.spec.DHPublicKeySpec;
 import com.wolfssl.wolfcrypt.Rsa;
 import com.wolfssl.wolfcrypt.Ecc;
 import com.wolfssl.wolfcrypt.Dh;
+import com.wolfssl.wolfcrypt.Curve25519;
+import com.wolfssl.wolfcrypt.Ed25519;
 import com.wolfssl.wolfcrypt.MlDsa;
 import com.wolfssl.wolfcrypt.MlKem;
 import com.wolfssl.wolfcrypt.SlhDsa;
@@ -74,7 +76,9 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
         WC_DH,
         WC_ML_DSA,
         WC_ML_KEM,
-        WC_SLH_DSA
+        WC_SLH_DSA,
+        WC_XDH,
+        WC_EDDSA
     }
 
     private KeyType type = null;
@@ -113,11 +117,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
      */
     private boolean pqcParamExplicit = false;
 
-    private Rng rng = null;
-
-    /* Lock around Rng access */
-    private final Object rngLock = new Object();
-
     /* for debug logging */
     private String algString;
 
@@ -206,20 +205,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
             }
         }
 
-        /* Initialize RNG for default key generation if needed. */
-        if (type == KeyType.WC_RSA || type == KeyType.WC_RSA_PSS ||
-            type == KeyType.WC_ECC || type == KeyType.WC_DH ||
-            type == KeyType.WC_ML_DSA || type == KeyType.WC_ML_KEM ||
-            type == KeyType.WC_SLH_DSA) {
-
-            synchronized (rngLock) {
-                if (this.rng == null) {
-                    this.rng = new Rng();
-                    this.rng.init();
-                }
-            }
-        }
-
         if (WolfCryptDebug.DEBUG) {
             algString = typeToString(type);
         }
@@ -241,6 +226,34 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 "NamedParameterSpec or WolfPQCParameterSpec instead.");
         }
 
+        if (type == KeyType.WC_XDH) {
+            /* Only X25519 is supported, selected by its 255 bit key size
+             * to match SunEC */
+            if (keysize != 255) {
+                throw new InvalidParameterException(
+                    "XDH key size must be 255 (X25519), X448 is not " +
+                    "supported. Unsupported size: " + keysize);
+            }
+
+            log("init with keysize: " + keysize);
+
+            return;
+        }
+
+        if (type == KeyType.WC_EDDSA) {
+            /* Only Ed25519 is supported, selected by its 255 bit key size
+             * to match SunEC */
+            if (keysize != 255) {
+                throw new InvalidParameterException(
+                    "EdDSA key size must be 255 (Ed25519), Ed448 is not " +
+                    "supported. Unsupported size: " + keysize);
+            }
+
+            log("init with keysize: " + keysize);
+
+            return;
+        }
+
         if (type == KeyType.WC_DH) {
             int namedGroup = -1;
 
@@ -293,13 +306,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                     "Failed to initialize DH parameters: " + e.getMessage());
             }
 
-            synchronized (rngLock) {
-                if (this.rng == null) {
-                    this.rng = new Rng();
-                    this.rng.init();
-                }
-            }
-
             log("init with DH keysize: " + keysize +
                 " (using FFDHE group " + namedGroup + ")");
 
@@ -382,13 +388,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
             this.publicExponent = Rsa.getDefaultRsaExponent();
         }
 
-        synchronized (rngLock) {
-            if (this.rng == null) {
-                this.rng = new Rng();
-                this.rng.init();
-            }
-        }
-
         log("init with keysize: " + keysize);
     }
 
@@ -401,13 +400,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 "AlgorithmParameterSpec must not be null");
         }
 
-        synchronized (rngLock) {
-            if (this.rng == null) {
-                this.rng = new Rng();
-                this.rng.init();
-            }
-        }
-
         switch (type) {
 
             case WC_RSA:
@@ -556,6 +548,34 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
 
                 break;
 
+            case WC_XDH:
+
+                /* NamedParameterSpec only exists on JDK 11+, JDK 8-10
+                 * callers use the X25519 default */
+                if (!WolfXecJdkCompat.isX25519Spec(params)) {
+                    throw new InvalidAlgorithmParameterException(
+                        "XDH params must be NamedParameterSpec X25519, " +
+                        "X448 is not supported");
+                }
+
+                log("init with XDH spec: X25519");
+
+                break;
+
+            case WC_EDDSA:
+
+                /* NamedParameterSpec.ED25519 only exists on JDK 15+,
+                 * JDK 8-14 callers use the Ed25519 default */
+                if (!WolfEdEcJdkCompat.isEd25519Spec(params)) {
+                    throw new InvalidAlgorithmParameterException(
+                        "EdDSA params must be NamedParameterSpec Ed25519, " +
+                        "Ed448 is not supported");
+                }
+
+                log("init with EdDSA spec: Ed25519");
+
+                break;
+
             default:
                 throw new RuntimeException(
                     "Unsupported algorithm for key generation");
@@ -577,6 +597,9 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
         int retryCount = 0;
         WolfCryptException lastPrimeGenException = null;
 
+        /* Key generation can run for a long time, use the calling thread's
+         * own Rng instead of locking a shared pool stripe throughout */
+        Rng rng = WolfCryptRngPool.threadRng();
 
         switch (this.type) {
 
@@ -599,10 +622,7 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                     Rsa rsa = new Rsa();
 
                     try {
-                        synchronized (rngLock) {
-                            rsa.makeKey(this.keysize, this.publicExponent,
-                                this.rng);
-                        }
+                        rsa.makeKey(this.keysize, this.publicExponent, rng);
 
                         /* private key */
                         privDer = rsa.privateKeyEncodePKCS8();
@@ -722,53 +742,49 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 ECPublicKey  eccPub  = null;
                 Ecc ecc = null;
 
-                /* synchronize entire key generation and encoding to prevent
-                 * multiple threads from mixing up keys during generation */
-                synchronized (rngLock) {
-                    ecc = new Ecc(this.rng);
+                ecc = new Ecc(rng);
 
-                    log("generating ECC key on curve: " +
-                        (this.curve == null ? "default" : this.curve) +
-                        ", keysize: " + this.keysize);
+                log("generating ECC key on curve: " +
+                    (this.curve == null ? "default" : this.curve) +
+                    ", keysize: " + this.keysize);
 
-                    if (this.curve == null) {
-                        ecc.makeKey(this.rng, this.keysize);
-                    } else {
-                        ecc.makeKeyOnCurve(this.rng, this.keysize, this.curve);
-                    }
+                if (this.curve == null) {
+                    ecc.makeKey(rng, this.keysize);
+                } else {
+                    ecc.makeKeyOnCurve(rng, this.keysize, this.curve);
+                }
 
-                    /* private key */
-                    privDer = ecc.privateKeyEncodePKCS8();
-                    if (privDer == null) {
-                        throw new RuntimeException(
-                            "Unable to get ECC private key DER");
-                    }
-                    privSpec = new PKCS8EncodedKeySpec(privDer);
+                /* private key */
+                privDer = ecc.privateKeyEncodePKCS8();
+                if (privDer == null) {
+                    throw new RuntimeException(
+                        "Unable to get ECC private key DER");
+                }
+                privSpec = new PKCS8EncodedKeySpec(privDer);
 
-                    /* public key */
-                    pubDer = ecc.publicKeyEncode();
-                    if (pubDer == null) {
-                        throw new RuntimeException(
-                            "Unable to get ECC public key DER");
-                    }
-                    pubSpec = new X509EncodedKeySpec(pubDer);
+                /* public key */
+                pubDer = ecc.publicKeyEncode();
+                if (pubDer == null) {
+                    throw new RuntimeException(
+                        "Unable to get ECC public key DER");
+                }
+                pubSpec = new X509EncodedKeySpec(pubDer);
 
-                    zeroArray(privDer);
-                    zeroArray(pubDer);
-                    ecc.releaseNativeStruct();
+                zeroArray(privDer);
+                zeroArray(pubDer);
+                ecc.releaseNativeStruct();
 
-                    try {
-                        KeyFactory kf =
-                            WolfCryptUtil.getKeyFactoryPreferWolfJCE("EC");
+                try {
+                    KeyFactory kf =
+                        WolfCryptUtil.getKeyFactoryPreferWolfJCE("EC");
 
-                        eccPriv  = (ECPrivateKey)kf.generatePrivate(privSpec);
-                        eccPub   = (ECPublicKey)kf.generatePublic(pubSpec);
+                    eccPriv  = (ECPrivateKey)kf.generatePrivate(privSpec);
+                    eccPub   = (ECPublicKey)kf.generatePublic(pubSpec);
 
-                        pair = new KeyPair(eccPub, eccPriv);
+                    pair = new KeyPair(eccPub, eccPriv);
 
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
                 }
 
                 log("generated ECC KeyPair");
@@ -790,9 +806,7 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 dh.setParams(dhP, dhG);
 
                 /* make key */
-                synchronized (rngLock) {
-                    dh.makeKey(this.rng);
-                }
+                dh.makeKey(rng);
 
                 privSpec = new DHPrivateKeySpec(
                     new BigInteger(1, dh.getPrivateKey()),
@@ -837,9 +851,7 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 try {
                     mlDsa = new MlDsa(this.pqcParam);
 
-                    synchronized (rngLock) {
-                        mlDsa.makeKey(this.rng);
-                    }
+                    mlDsa.makeKey(rng);
 
                     mlDsaPubDer = mlDsa.exportPublicKeyDer(true);
                     mlDsaPrivDer = mlDsa.exportPrivateKeyDer();
@@ -891,9 +903,7 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 try {
                     slhDsa = new SlhDsa(slhDsaGenParam);
 
-                    synchronized (rngLock) {
-                        slhDsa.makeKey(this.rng);
-                    }
+                    slhDsa.makeKey(rng);
 
                     slhDsaPubDer = slhDsa.exportPublicKeyDer(true);
                     slhDsaPrivDer = slhDsa.exportPrivateKeyDer();
@@ -935,10 +945,7 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                      * deterministically, so the seed is retained for the
                      * seed and both PKCS#8 output forms (controlled by the
                      * jdk.mlkem.pkcs8.encoding property). */
-                    synchronized (rngLock) {
-                        mlkemSeed =
-                            this.rng.generateBlock(MlKem.ML_KEM_SEED_SIZE);
-                    }
+                    mlkemSeed = rng.generateBlock(MlKem.ML_KEM_SEED_SIZE);
 
                     mlkem = new MlKem(this.pqcParam);
                     mlkem.makeKeyFromSeed(mlkemSeed);
@@ -970,6 +977,77 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
 
                 break;
 
+            case WC_XDH:
+
+                Curve25519 x25519 = null;
+                byte[] xdhPub  = null;
+                byte[] xdhPriv = null;
+
+                try {
+                    x25519 = new Curve25519();
+                    x25519.makeKey(rng, Curve25519.CURVE25519_KEY_SIZE);
+
+                    /* RFC 7748 little endian encoding, as used by
+                     * X.509, PKCS#8 and TLS */
+                    xdhPub  = x25519.exportPublic(Curve25519.LITTLE_ENDIAN);
+                    xdhPriv = x25519.exportPrivate(Curve25519.LITTLE_ENDIAN);
+
+                    pair = new KeyPair(
+                        WolfXecJdkCompat.wrapPublic(
+                            WolfCryptXECPublicKey.fromRaw(xdhPub)),
+                        WolfXecJdkCompat.wrapPrivate(
+                            WolfCryptXECPrivateKey.fromRaw(xdhPriv)));
+
+                }
+                catch (WolfCryptException e) {
+                    throw new RuntimeException(e);
+                }
+                finally {
+                    zeroArray(xdhPriv);
+                    if (x25519 != null) {
+                        x25519.releaseNativeStruct();
+                    }
+                }
+
+                log("generated XDH KeyPair, X25519");
+
+                break;
+
+            case WC_EDDSA:
+
+                Ed25519 ed25519 = null;
+                byte[] edPub  = null;
+                byte[] edPriv = null;
+
+                try {
+                    ed25519 = new Ed25519();
+                    ed25519.makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+
+                    /* RFC 8032 encoded point and 32 byte private key */
+                    edPub  = ed25519.exportPublic();
+                    edPriv = ed25519.exportPrivateOnly();
+
+                    pair = new KeyPair(
+                        WolfEdEcJdkCompat.wrapPublic(
+                            WolfCryptEdECPublicKey.fromRaw(edPub)),
+                        WolfEdEcJdkCompat.wrapPrivate(
+                            WolfCryptEdECPrivateKey.fromRaw(edPriv)));
+
+                }
+                catch (WolfCryptException e) {
+                    throw new RuntimeException(e);
+                }
+                finally {
+                    zeroArray(edPriv);
+                    if (ed25519 != null) {
+                        ed25519.releaseNativeStruct();
+                    }
+                }
+
+                log("generated EdDSA KeyPair, Ed25519");
+
+                break;
+
             default:
                 throw new RuntimeException(
                     "Unsupported algorithm for key generation: " + this.type);
@@ -1013,6 +1091,10 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
                 return "ML-KEM";
             case WC_SLH_DSA:
                 return "SLH-DSA";
+            case WC_XDH:
+                return "XDH";
+            case WC_EDDSA:
+                return "EdDSA";
             default:
                 return "None";
         }
@@ -1023,21 +1105,6 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
             () -> "[" + algString + "] " + msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected synchronized void finalize() throws Throwable {
-        try {
-            synchronized (rngLock) {
-                if (this.rng != null) {
-                    this.rng.free();
-                    this.rng.releaseNativeStruct();
-                }
-            }
-        } finally {
-            super.finalize();
-        }
-    }
-
     private void zeroArray(byte[] in) {
 
         if (in == null)
@@ -1400,5 +1467,32 @@ public class WolfCryptKeyPairGenerator extends KeyPairGeneratorSpi {
             super(KeyType.WC_ML_KEM, MlKem.ML_KEM_1024);
         }
     }
-}
 
+    /**
+     * wolfCrypt XDH key pair generator class. Only X25519 is supported,
+     * registered as both "XDH" and "X25519".
+     */
+    public static final class wcKeyPairGenXDH
+        extends WolfCryptKeyPairGenerator {
+        /**
+         * Create new wcKeyPairGenXDH object
+         */
+        public wcKeyPairGenXDH() {
+            super(KeyType.WC_XDH);
+        }
+    }
+
+    /**
+     * wolfCrypt EdDSA key pair generator class. Only Ed25519 is supported,
+     * registered as both "EdDSA" and "Ed25519".
+     */
+    public static final class wcKeyPairGenEdDSA
+        extends WolfCryptKeyPairGenerator {
+        /**
+         * Create new wcKeyPairGenEdDSA object
+         */
+        public wcKeyPairGenEdDSA() {
+            super(KeyType.WC_EDDSA);
+        }
+    }
+}
@@ -22,6 +22,7 @@
 package com.wolfssl.provider.jce;
 
 import javax.crypto.MacSpi;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.security.spec.AlgorithmParameterSpec;
 import java.util.Arrays;
@@ -82,65 +83,67 @@ public class WolfCryptMac extends MacSpi {
     private WolfCryptMac(MacType type)
         throws NoSuchAlgorithmException {
 
+        boolean confined = WolfCryptUtil.threadConfinedEngines();
+
         this.macType = type;
 
         switch (type) {
             case WC_HMAC_MD5:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Md5.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.MD5;
                 break;
 
             case WC_HMAC_SHA:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.SHA;
                 break;
 
             case WC_HMAC_SHA224:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha224.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.SHA224;
                 break;
 
             case WC_HMAC_SHA256:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha256.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.SHA256;
                 break;
 
             case WC_HMAC_SHA384:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha384.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.SHA384;
                 break;
 
             case WC_HMAC_SHA512:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha512.DIGEST_SIZE;
                 this.nativeHmacType = Hmac.SHA512;
                 break;
 
             case WC_HMAC_SHA3_224:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha3.DIGEST_SIZE_224;
                 this.nativeHmacType = Hmac.SHA3_224;
                 break;
 
             case WC_HMAC_SHA3_256:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha3.DIGEST_SIZE_256;
                 this.nativeHmacType = Hmac.SHA3_256;
                 break;
 
             case WC_HMAC_SHA3_384:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha3.DIGEST_SIZE_384;
                 this.nativeHmacType = Hmac.SHA3_384;
                 break;
 
             case WC_HMAC_SHA3_512:
-                hmac = new Hmac();
+                hmac = new Hmac(confined);
                 this.digestSize = Sha3.DIGEST_SIZE_512;
                 this.nativeHmacType = Hmac.SHA3_512;
                 break;
@@ -310,6 +313,28 @@ public class WolfCryptMac extends MacSpi {
         log("update, offset: " + offset + ", len: " + len);
     }
 
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct buffers are passed to native HMAC/CMAC update without a
+         * copy. Heap buffers, and GMAC which accumulates auth data in Java,
+         * use default MacSpi array based path. */
+        if (!input.isDirect() || macType == MacType.WC_AES_GMAC) {
+            super.engineUpdate(input);
+            return;
+        }
+
+        int len = input.remaining();
+
+        if (macType == MacType.WC_AES_CMAC) {
+            this.aesCmac.update(input);
+        } else {
+            this.hmac.update(input);
+        }
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     private String typeToString(MacType type) {
         switch (type) {
             case WC_HMAC_MD5:
@@ -346,21 +371,6 @@ public class WolfCryptMac extends MacSpi {
             () -> "[" + algString + "] " + msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.hmac != null)
-                this.hmac.releaseNativeStruct();
-            if (this.aesCmac != null)
-                this.aesCmac.releaseNativeStruct();
-            if (this.aesGmac != null)
-                this.aesGmac.releaseNativeStruct();
-        } finally {
-            super.finalize();
-        }
-    }
-
     /**
      * wolfJCE HMAC-MD5 class
      */
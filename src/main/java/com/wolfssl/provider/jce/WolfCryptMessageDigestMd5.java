@@ -21,6 +21,7 @@
 
 package com.wolfssl.provider.jce;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigestSpi;
 import javax.crypto.ShortBufferException;
 
@@ -40,7 +41,7 @@ public final class WolfCryptMessageDigestMd5
      */
     public WolfCryptMessageDigestMd5() {
 
-        md5 = new Md5();
+        md5 = new Md5(WolfCryptUtil.threadConfinedEngines());
         md5.init();
     }
 
@@ -99,6 +100,22 @@ public final class WolfCryptMessageDigestMd5
         log("update, offset: " + offset + ", len: " + len);
     }
 
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct buffers are read by native wolfCrypt in place, heap
+         * buffers use default MessageDigestSpi array based path */
+        if (!input.isDirect()) {
+            super.engineUpdate(input);
+            return;
+        }
+
+        int len = input.remaining();
+        this.md5.update(input);
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     private void log(String msg) {
         WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
             () -> "[MD5] " + msg);
@@ -114,16 +131,5 @@ public final class WolfCryptMessageDigestMd5
         Md5 md5Copy = (Md5)this.md5.clone();
         return new WolfCryptMessageDigestMd5(md5Copy);
     }
-
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.md5 != null)
-                this.md5.releaseNativeStruct();
-        } finally {
-            super.finalize();
-        }
-    }
 }
 
@@ -21,6 +21,7 @@
 
 package com.wolfssl.provider.jce;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigestSpi;
 import javax.crypto.ShortBufferException;
 
@@ -40,7 +41,7 @@ public final class WolfCryptMessageDigestSha224
      */
     public WolfCryptMessageDigestSha224() {
 
-        sha = new Sha224();
+        sha = new Sha224(WolfCryptUtil.threadConfinedEngines());
         sha.init();
     }
 
@@ -99,6 +100,22 @@ public final class WolfCryptMessageDigestSha224
         log("update, offset: " + offset + ", len: " + len);
     }
 
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct buffers are read by native wolfCrypt in place, heap
+         * buffers use default MessageDigestSpi array based path */
+        if (!input.isDirect()) {
+            super.engineUpdate(input);
+            return;
+        }
+
+        int len = input.remaining();
+        this.sha.update(input);
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     @Override
     protected int engineGetDigestLength() {
         return this.sha.digestSize();
@@ -114,15 +131,4 @@ public final class WolfCryptMessageDigestSha224
         Sha224 shaCopy = (Sha224)this.sha.clone();
         return new WolfCryptMessageDigestSha224(shaCopy);
     }
-
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.sha != null)
-                this.sha.releaseNativeStruct();
-        } finally {
-            super.finalize();
-        }
-    }
 }
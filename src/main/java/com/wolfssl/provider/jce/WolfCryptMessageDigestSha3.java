@@ -21,6 +21,7 @@
 
 package com.wolfssl.provider.jce;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigestSpi;
 import java.security.NoSuchAlgorithmException;
 import javax.crypto.ShortBufferException;
@@ -48,7 +49,8 @@ public class WolfCryptMessageDigestSha3
         throws NoSuchAlgorithmException {
 
         try {
-            sha = new Sha3(hashType);
+            sha = new Sha3(hashType,
+                WolfCryptUtil.threadConfinedEngines());
             sha.init();
 
         } catch (WolfCryptException e) {
@@ -110,6 +112,22 @@ public class WolfCryptMessageDigestSha3
         log("update, offset: " + offset + ", len: " + len);
     }
 
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct buffers are read by native wolfCrypt in place, heap
+         * buffers use default MessageDigestSpi array based path */
+        if (!input.isDirect()) {
+            super.engineUpdate(input);
+            return;
+        }
+
+        int len = input.remaining();
+        this.sha.update(input);
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     @Override
     protected int engineGetDigestLength() {
         return this.sha.digestSize();
@@ -126,17 +144,6 @@ public class WolfCryptMessageDigestSha3
         return new WolfCryptMessageDigestSha3(shaCopy);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.sha != null)
-                this.sha.releaseNativeStruct();
-        } finally {
-            super.finalize();
-        }
-    }
-
     /**
      * wolfJCE SHA1wECDSA message digest class
      */
@@ -21,6 +21,7 @@
 
 package com.wolfssl.provider.jce;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigestSpi;
 import javax.crypto.ShortBufferException;
 
@@ -40,7 +41,7 @@ public final class WolfCryptMessageDigestSha384
      */
     public WolfCryptMessageDigestSha384() {
 
-        sha = new Sha384();
+        sha = new Sha384(WolfCryptUtil.threadConfinedEngines());
         sha.init();
     }
 
@@ -99,6 +100,22 @@ public final class WolfCryptMessageDigestSha384
         log("update, offset: " + offset + ", len: " + len);
     }
 
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct buffers are read by native wolfCrypt in place, heap
+         * buffers use default MessageDigestSpi array based path */
+        if (!input.isDirect()) {
+            super.engineUpdate(input);
+            return;
+        }
+
+        int len = input.remaining();
+        this.sha.update(input);
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     @Override
     protected int engineGetDigestLength() {
         return this.sha.digestSize();
@@ -114,16 +131,5 @@ public final class WolfCryptMessageDigestSha384
         Sha384 shaCopy = (Sha384)this.sha.clone();
         return new WolfCryptMessageDigestSha384(shaCopy);
     }
-
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            if (this.sha != null)
-                this.sha.releaseNativeStruct();
-        } finally {
-            super.finalize();
-        }
-    }
 }
 
@@ -0,0 +1,171 @@
+/* WolfCryptMessageDigestTree.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigestSpi;
+import java.security.NoSuchAlgorithmException;
+
+import com.wolfssl.wolfcrypt.TreeHash;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE parallel tree hash MessageDigest wrapper.
+ *
+ * Implements "SHA-256-TREE", "SHA-512-TREE" and "SHA3-256-TREE" using
+ * {@link TreeHash} with the default 1 MiB chunk size and the common
+ * ForkJoinPool. Output is a chunked Merkle hash and does not match the
+ * plain SHA-256, SHA-512 or SHA3-256 digest of the same input, see
+ * TreeHash for the output format.
+ */
+public class WolfCryptMessageDigestTree extends MessageDigestSpi {
+
+    /* internal reference to wolfCrypt JNI TreeHash object */
+    private TreeHash tree;
+
+    /* algorithm name, for logging */
+    private final String name;
+
+    /**
+     * Create new WolfCryptMessageDigestTree object
+     *
+     * @param algorithm underlying hash algorithm, ex: "SHA-256"
+     * @throws NoSuchAlgorithmException if digest type is not
+     *         available in native wolfCrypt library
+     */
+    public WolfCryptMessageDigestTree(String algorithm)
+        throws NoSuchAlgorithmException {
+
+        this.name = algorithm + "-TREE";
+
+        try {
+            tree = new TreeHash(algorithm);
+
+        } catch (WolfCryptException e) {
+            throw new NoSuchAlgorithmException(e.getMessage());
+        }
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+
+        byte[] digest = this.tree.digest();
+
+        log("generated final digest, len: " + digest.length);
+
+        return digest;
+    }
+
+    @Override
+    protected void engineReset() {
+
+        this.tree.reset();
+
+        log("engine reset");
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+
+        byte[] tmp = new byte[1];
+        tmp[0] = input;
+
+        this.tree.update(tmp, 0, 1);
+
+        log("update with single byte");
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+
+        this.tree.update(input, offset, len);
+
+        log("update, offset: " + offset + ", len: " + len);
+    }
+
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+
+        /* Direct and mapped buffers are hashed in place by native
+         * wolfCrypt, heap buffers through their backing array */
+        int len = input.remaining();
+        this.tree.update(input);
+
+        log("update with ByteBuffer, len: " + len);
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return this.tree.digestSize();
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[" + name + "] " + msg);
+    }
+
+    /**
+     * wolfJCE SHA-256-TREE message digest class
+     */
+    public static final class wcSHA256Tree extends WolfCryptMessageDigestTree {
+        /**
+         * Create new wcSHA256Tree object
+         *
+         * @throws NoSuchAlgorithmException if digest type is not
+         *         available in native wolfCrypt library
+         */
+        public wcSHA256Tree() throws NoSuchAlgorithmException {
+            super("SHA-256");
+        }
+    }
+
+    /**
+     * wolfJCE SHA-512-TREE message digest class
+     */
+    public static final class wcSHA512Tree extends WolfCryptMessageDigestTree {
+        /**
+         * Create new wcSHA512Tree object
+         *
+         * @throws NoSuchAlgorithmException if digest type is not
+         *         available in native wolfCrypt library
+         */
+        public wcSHA512Tree() throws NoSuchAlgorithmException {
+            super("SHA-512");
+        }
+    }
+
+    /**
+     * wolfJCE SHA3-256-TREE message digest class
+     */
+    public static final class wcSHA3_256Tree
+        extends WolfCryptMessageDigestTree {
+        /**
+         * Create new wcSHA3_256Tree object
+         *
+         * @throws NoSuchAlgorithmException if digest type is not
+         *         available in native wolfCrypt library
+         */
+        public wcSHA3_256Tree() throws NoSuchAlgorithmException {
+            super("SHA3-256");
+        }
+    }
+}
@@ -31,7 +31,6 @@ import java.security.SignatureSpi;
 import java.security.spec.AlgorithmParameterSpec;
 
 import com.wolfssl.wolfcrypt.MlDsa;
-import com.wolfssl.wolfcrypt.Rng;
 import com.wolfssl.wolfcrypt.WolfCryptException;
 
 /**
@@ -70,9 +69,6 @@ public abstract class WolfCryptMlDsaSignature extends SignatureSpi {
      * not a streaming hash). */
     private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
-    /** Lazily-initialized RNG used for sign operations. */
-    private Rng rng = null;
-
     /**
      * Construct with the required ML-DSA level. {@code 0} means "any
      * level" -- used by the generic {@link wcMlDsa} alias.
@@ -295,14 +291,6 @@ public abstract class WolfCryptMlDsaSignature extends SignatureSpi {
         }
     }
 
-    private Rng getOrInitRng() {
-        if (this.rng == null) {
-            this.rng = new Rng();
-            this.rng.init();
-        }
-        return this.rng;
-    }
-
     @Override
     protected void engineInitVerify(PublicKey publicKey)
         throws InvalidKeyException {
@@ -364,8 +352,9 @@ public abstract class WolfCryptMlDsaSignature extends SignatureSpi {
 
         try {
             byte[] msg = this.buffer.toByteArray();
-            byte[] sig = this.key.sign(msg, getOrInitRng());
-            return sig;
+            /* use the calling thread's own Rng, so concurrent signers do
+             * not serialize on a shared pool stripe */
+            return this.key.sign(msg, WolfCryptRngPool.threadRng());
         }
         catch (WolfCryptException e) {
             throw new SignatureException("ML-DSA sign failed", e);
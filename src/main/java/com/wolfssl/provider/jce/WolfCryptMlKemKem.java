@@ -22,6 +22,7 @@
 package com.wolfssl.provider.jce;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.security.PublicKey;
 import java.security.PrivateKey;
 import java.security.SecureRandom;
@@ -36,7 +37,7 @@ import javax.crypto.DecapsulateException;
 import javax.crypto.spec.SecretKeySpec;
 
 import com.wolfssl.wolfcrypt.MlKem;
-import com.wolfssl.wolfcrypt.Rng;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
 import com.wolfssl.wolfcrypt.WolfCryptException;
 
 /**
@@ -262,6 +263,136 @@ public class WolfCryptMlKemKem implements KEMSpi {
         }
     }
 
+    /**
+     * Small pool of native MlKem objects with one key already imported,
+     * kept by an encapsulator or decapsulator so the key is not imported
+     * again on every operation.
+     *
+     * Encapsulator and Decapsulator objects may be used by several threads
+     * at once, while a native MlKem object may only be used by one, so up
+     * to MAX_POOLED native objects are kept. take() returns a pooled object
+     * if one is free, otherwise imports the key into a new one. put()
+     * returns it to the pool, or frees it if the pool is full or has been
+     * freed.
+     *
+     * The pool is registered with WolfCryptCleaner by its encapsulator or
+     * decapsulator in place of a finalizer, so must not reference it. Once
+     * that object becomes unreachable run() frees the pooled native objects
+     * and zeroizes an expanded private key.
+     */
+    private static final class MlKemPool implements Runnable {
+
+        /* Maximum number of imported native MlKem objects kept */
+        private static final int MAX_POOLED =
+            Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+        private final int level;
+        private final byte[] key;
+        private final boolean isPrivate;
+        private final AtomicReferenceArray<MlKem> slots =
+            new AtomicReferenceArray<MlKem>(MAX_POOLED);
+        private volatile boolean freed = false;
+
+        /**
+         * Create new pool.
+         *
+         * @param level ML-KEM parameter set level
+         * @param key raw public key or expanded private key, not copied
+         * @param isPrivate true if key is an expanded private key
+         */
+        MlKemPool(int level, byte[] key, boolean isPrivate) {
+            this.level = level;
+            this.key = key;
+            this.isPrivate = isPrivate;
+        }
+
+        /**
+         * Get native MlKem object holding the imported key.
+         *
+         * @return MlKem object, to be given back with put()
+         *
+         * @throws WolfCryptException if native key import fails
+         */
+        MlKem take() throws WolfCryptException {
+
+            MlKem mlkem;
+
+            for (int i = 0; i < MAX_POOLED; i++) {
+                mlkem = this.slots.getAndSet(i, null);
+                if (mlkem != null) {
+                    return mlkem;
+                }
+            }
+
+            mlkem = new MlKem(this.level);
+            try {
+                if (this.isPrivate) {
+                    mlkem.importPrivate(this.key);
+                }
+                else {
+                    mlkem.importPublic(this.key);
+                }
+            } catch (WolfCryptException | IllegalStateException e) {
+                mlkem.releaseNativeStruct();
+                throw e;
+            }
+
+            return mlkem;
+        }
+
+        /**
+         * Give back MlKem object returned by take().
+         *
+         * @param mlkem MlKem object to return to pool
+         */
+        void put(MlKem mlkem) {
+
+            if (mlkem == null) {
+                return;
+            }
+
+            if (!this.freed) {
+                for (int i = 0; i < MAX_POOLED; i++) {
+                    if (this.slots.compareAndSet(i, null, mlkem)) {
+                        /* recheck in case free() ran concurrently */
+                        if (this.freed &&
+                            this.slots.compareAndSet(i, mlkem, null)) {
+                            mlkem.releaseNativeStruct();
+                        }
+                        return;
+                    }
+                }
+            }
+
+            mlkem.releaseNativeStruct();
+        }
+
+        /**
+         * Free all pooled native MlKem objects. Objects currently taken
+         * are freed when they are put back.
+         */
+        void free() {
+
+            MlKem mlkem;
+
+            this.freed = true;
+            for (int i = 0; i < MAX_POOLED; i++) {
+                mlkem = this.slots.getAndSet(i, null);
+                if (mlkem != null) {
+                    mlkem.releaseNativeStruct();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            free();
+            if (this.isPrivate) {
+                Arrays.fill(this.key, (byte)0);
+            }
+        }
+    }
+
     /**
      * ML-KEM encapsulator. Immutable, holds the parameter set level and raw
      * public key.
@@ -270,14 +401,14 @@ public class WolfCryptMlKemKem implements KEMSpi {
         implements KEMSpi.EncapsulatorSpi {
 
         private final int level;
-        private final byte[] rawPublic;
 
-        private Rng rng = null;
-        private final Object rngLock = new Object();
+        /* Native MlKem objects with public key imported */
+        private final MlKemPool pool;
 
         WolfCryptMlKemEncapsulator(int level, byte[] rawPublic) {
             this.level = level;
-            this.rawPublic = rawPublic;
+            this.pool = new MlKemPool(level, rawPublic, false);
+            WolfCryptCleaner.register(this, this.pool);
         }
 
         @Override
@@ -291,29 +422,28 @@ public class WolfCryptMlKemKem implements KEMSpi {
 
             checkRange(from, to, algorithm, engineSecretSize());
 
-            synchronized (rngLock) {
-                if (this.rng == null) {
-                    this.rng = new Rng();
-                    this.rng.init();
-                }
-
-                try {
-                    mlkem = new MlKem(this.level);
-                    mlkem.importPublic(this.rawPublic);
-
-                    byte[][] result = mlkem.encapsulate(this.rng);
-                    ct = result[0];
-                    ss = result[1];
+            try {
+                mlkem = this.pool.take();
 
-                } catch (WolfCryptException e) {
-                    throw new IllegalStateException(
-                        "ML-KEM encapsulation failed: " + e.getMessage(), e);
+                /* encapsulate with the calling thread's own Rng, so
+                 * concurrent encapsulations do not serialize on a shared
+                 * pool stripe */
+                byte[][] result =
+                    mlkem.encapsulate(WolfCryptRngPool.threadRng());
+                ct = result[0];
+                ss = result[1];
 
-                } finally {
-                    if (mlkem != null) {
-                        mlkem.releaseNativeStruct();
-                    }
+            } catch (WolfCryptException e) {
+                /* do not return native object to pool after error */
+                if (mlkem != null) {
+                    mlkem.releaseNativeStruct();
+                    mlkem = null;
                 }
+                throw new IllegalStateException(
+                    "ML-KEM encapsulation failed: " + e.getMessage(), e);
+
+            } finally {
+                this.pool.put(mlkem);
             }
 
             secret = Arrays.copyOfRange(ss, from, to);
@@ -333,36 +463,27 @@ public class WolfCryptMlKemKem implements KEMSpi {
         public int engineEncapsulationSize() {
             return WolfCryptMlKemUtil.expectedCiphertextSize(this.level);
         }
-
-        @SuppressWarnings({"deprecation", "removal"})
-        @Override
-        protected synchronized void finalize() throws Throwable {
-            try {
-                synchronized (rngLock) {
-                    if (this.rng != null) {
-                        this.rng.free();
-                        this.rng.releaseNativeStruct();
-                    }
-                }
-            } finally {
-                super.finalize();
-            }
-        }
     }
 
     /**
-     * ML-KEM decapsulator. Immutable, holds the parameter set level and raw
-     * expanded private key.
+     * ML-KEM decapsulator. Immutable, holds the parameter set level, raw
+     * expanded private key and native MlKem objects with that key imported.
      */
     private static final class WolfCryptMlKemDecapsulator
         implements KEMSpi.DecapsulatorSpi {
 
         private final int level;
-        private final byte[] expanded;
+
+        /* Native MlKem objects with private key imported. Holds the only
+         * reference to the expanded private key, which is zeroized by the
+         * pool once this decapsulator is collected. DecapsulatorSpi exposes
+         * no destroy() hook, so that is the only point it can be wiped. */
+        private final MlKemPool pool;
 
         WolfCryptMlKemDecapsulator(int level, byte[] expanded) {
             this.level = level;
-            this.expanded = expanded;
+            this.pool = new MlKemPool(level, expanded, true);
+            WolfCryptCleaner.register(this, this.pool);
         }
 
         @Override
@@ -387,18 +508,20 @@ public class WolfCryptMlKemKem implements KEMSpi {
             }
 
             try {
-                mlkem = new MlKem(this.level);
-                mlkem.importPrivate(this.expanded);
+                mlkem = this.pool.take();
                 ss = mlkem.decapsulate(encapsulation);
 
             } catch (WolfCryptException e) {
+                /* do not return native object to pool after error */
+                if (mlkem != null) {
+                    mlkem.releaseNativeStruct();
+                    mlkem = null;
+                }
                 throw new DecapsulateException(
                     "ML-KEM decapsulation failed: " + e.getMessage(), e);
 
             } finally {
-                if (mlkem != null) {
-                    mlkem.releaseNativeStruct();
-                }
+                this.pool.put(mlkem);
             }
 
             secret = Arrays.copyOfRange(ss, from, to);
@@ -418,23 +541,6 @@ public class WolfCryptMlKemKem implements KEMSpi {
         public int engineEncapsulationSize() {
             return WolfCryptMlKemUtil.expectedCiphertextSize(this.level);
         }
-
-        /**
-         * Zero the retained expanded private (decapsulation) key when this
-         * decapsulator is collected. DecapsulatorSpi exposes no destroy()
-         * hook, so this is the only point the held key copy can be wiped.
-         */
-        @SuppressWarnings({"deprecation", "removal"})
-        @Override
-        protected void finalize() throws Throwable {
-            try {
-                if (this.expanded != null) {
-                    Arrays.fill(this.expanded, (byte) 0);
-                }
-            } finally {
-                super.finalize();
-            }
-        }
     }
 
     /**
@@ -0,0 +1,217 @@
+/* WolfCryptNativeKey.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+import com.wolfssl.wolfcrypt.NativeStruct;
+
+/**
+ * Reference counted native key (ex: Rsa, Ecc) decoded once from a wolfJCE
+ * key object and shared with engine classes.
+ *
+ * wolfJCE key classes such as WolfCryptRSAPrivateCrtKey and
+ * WolfCryptECPublicKey create one of these lazily the first time an engine
+ * asks for it, so that engines like Signature and KeyAgreement do not need
+ * to re-decode the DER key on every init.
+ *
+ * The key object that created this holds one reference, dropped when the
+ * key is destroyed. Each engine using the native key holds one more,
+ * obtained from the key object and given back with release() when the
+ * engine is re-initialized or freed. The native struct is freed, and
+ * native key material zeroized by wolfCrypt, once the last reference is
+ * released.
+ *
+ * The wrapped native key is never modified after it has been decoded.
+ * Native Rsa and Ecc methods synchronize on the wrapper object, so engines
+ * in different threads may use the same native key concurrently, but one
+ * at a time. Engines that run long private or public key operations on the
+ * key (ex: Signature) use take() and put() instead of get(), which hand out
+ * a native key not used by any other engine. The first taker gets the
+ * shared key, later concurrent takers get a copy decoded again from the
+ * key object. Up to MAX_POOLED copies are kept for reuse once given back,
+ * so signers in different threads using the same key object do not
+ * serialize on one native key.
+ *
+ * @param <T> native key type
+ */
+final class WolfCryptNativeKey<T extends NativeStruct> {
+
+    /* Maximum number of decoded native key copies kept */
+    private static final int MAX_POOLED =
+        Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+    /* Decoded native key, read-only after construction */
+    private final T key;
+
+    /* Decodes another copy of the native key, returns null if the key
+     * object has been destroyed or decode fails. Null if copies are not
+     * supported, in which case take() always returns the shared key. */
+    private final Supplier<T> decoder;
+
+    /* Decoded native key copies not currently taken */
+    private final ArrayDeque<T> pooled = new ArrayDeque<T>();
+
+    /* Number of take() callers currently using the shared key */
+    private int sharedTaken = 0;
+
+    /* Number of references held, starts with the owning key object */
+    private int refCount = 1;
+
+    /**
+     * Create new WolfCryptNativeKey wrapping an already decoded native key.
+     * The caller holds the initial reference. take() always returns the
+     * shared key.
+     *
+     * @param key decoded native key, ownership is transferred to this object
+     */
+    WolfCryptNativeKey(T key) {
+        this(key, null);
+    }
+
+    /**
+     * Create new WolfCryptNativeKey wrapping an already decoded native key,
+     * able to decode further copies for concurrent take() callers. The
+     * caller holds the initial reference.
+     *
+     * @param key decoded native key, ownership is transferred to this object
+     * @param decoder decodes a new copy of the native key, or returns null
+     *        if that is no longer possible. Ownership of returned objects is
+     *        transferred to this object. Called without any lock on this
+     *        object held.
+     */
+    WolfCryptNativeKey(T key, Supplier<T> decoder) {
+        this.key = key;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Get wrapped native key. Only valid while the caller holds a reference.
+     *
+     * @return native key object
+     */
+    T get() {
+        return this.key;
+    }
+
+    /**
+     * Take an additional reference to this native key.
+     *
+     * @return true if reference was taken, false if native key has
+     *         already been freed
+     */
+    synchronized boolean acquire() {
+        if (this.refCount <= 0) {
+            return false;
+        }
+        this.refCount++;
+        return true;
+    }
+
+    /**
+     * Get a native key for use by the caller only, to be given back with
+     * put() before the caller releases its reference.
+     *
+     * Returns the shared key if no other take() caller is using it, else a
+     * pooled or newly decoded copy. Falls back to the shared key if a copy
+     * cannot be decoded, which is still safe since native methods
+     * synchronize on the wrapper object.
+     *
+     * @return native key, only valid while the caller holds a reference
+     */
+    T take() {
+
+        T copy = null;
+
+        synchronized (this) {
+            if (this.sharedTaken == 0 || this.decoder == null) {
+                this.sharedTaken++;
+                return this.key;
+            }
+            if (!this.pooled.isEmpty()) {
+                return this.pooled.pop();
+            }
+        }
+
+        /* decode outside lock, decoder may lock the key object */
+        try {
+            copy = this.decoder.get();
+        } catch (RuntimeException e) {
+            copy = null;
+        }
+
+        if (copy == null) {
+            synchronized (this) {
+                this.sharedTaken++;
+            }
+            return this.key;
+        }
+
+        return copy;
+    }
+
+    /**
+     * Give back native key returned by take(). Copies are kept for reuse
+     * up to MAX_POOLED, or freed.
+     *
+     * @param k native key returned by take(), may be null
+     */
+    void put(T k) {
+
+        if (k == null) {
+            return;
+        }
+
+        synchronized (this) {
+            if (k == this.key) {
+                if (this.sharedTaken > 0) {
+                    this.sharedTaken--;
+                }
+                return;
+            }
+            if (this.refCount > 0 && this.pooled.size() < MAX_POOLED) {
+                this.pooled.push(k);
+                return;
+            }
+        }
+
+        k.releaseNativeStruct();
+    }
+
+    /**
+     * Release one reference to this native key, freeing the native
+     * struct and any pooled copies when the last reference is released.
+     */
+    synchronized void release() {
+        if (this.refCount <= 0) {
+            return;
+        }
+        this.refCount--;
+        if (this.refCount == 0) {
+            this.key.releaseNativeStruct();
+            while (!this.pooled.isEmpty()) {
+                this.pooled.pop().releaseNativeStruct();
+            }
+        }
+    }
+}
@@ -77,6 +77,10 @@ import java.security.cert.CertificateException;
  *       CRLs have been loaded into CertStore Set
  *     - OCSP: via getRevocationChecker() which returns a
  *       WolfCryptPKIXRevocationChecker supporting OCSP and options
+ *
+ * Native WolfSSLCertManager objects loaded with trust anchors are reused
+ * across validations through WolfCryptCertManagerPool, sized with the
+ * "wolfjce.certpath.certManagerPoolSize" Security property (0 disables).
  */
 public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
 
@@ -505,7 +509,8 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      * into PKIXParameters. This gets the list once and returns it so the same
      * instances can be used for check() calls.
      *
-     * @param params parameters from which to get PKIXCertPathChecker list
+     * @param params parameters from which PKIXCertPathChecker list was read
+     * @param pathCheckers list returned by params.getCertPathCheckers()
      * @param cm WolfSSLCertManager for use by WolfCryptPKIXRevocationChecker
      *
      * @return List of initialized PKIXCertPathChecker instances
@@ -513,18 +518,17 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      * @throws CertPathValidatorException if a checker fails initialization
      */
     private List<PKIXCertPathChecker> initCertPathCheckers(
-        PKIXParameters params, WolfSSLCertManager cm,
-        List<X509Certificate> certs) throws CertPathValidatorException {
+        PKIXParameters params, List<PKIXCertPathChecker> pathCheckers,
+        WolfSSLCertManager cm, List<X509Certificate> certs)
+        throws CertPathValidatorException {
 
         int i = 0;
-        List<PKIXCertPathChecker> pathCheckers = null;
 
         if (params == null) {
             throw new CertPathValidatorException(
                 "PKIXParameters is null when initializing checkers");
         }
 
-        pathCheckers = params.getCertPathCheckers();
         if (pathCheckers == null) {
             throw new CertPathValidatorException(
                 "PKIXParameters.getCertPathCheckers() should not return null");
@@ -652,12 +656,25 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      * Verify X509Certificate chain from top down, ending with peer/leaf
      * cert last.
      *
+     * @param path CertPath being validated, used for exception reporting
+     * @param params PKIXParameters used for validation
+     * @param certs list of certificates from path
+     * @param cm WolfSSLCertManager to verify certificates with
+     * @param tempCAs true to load verified intermediate CA certificates as
+     *        temporary CAs that can be unloaded afterwards (pooled
+     *        CertManager), otherwise they are loaded as regular CAs
+     *
+     * @return number of intermediates loaded as temporary CAs, or -1 if
+     *         any intermediate had to be loaded as a regular CA
+     *
+     * @throws CertPathValidatorException if a certificate fails verification
      */
-    private void verifyCertChain(CertPath path, PKIXParameters params,
-        List<X509Certificate> certs, WolfSSLCertManager cm)
-        throws CertPathValidatorException {
+    private int verifyCertChain(CertPath path, PKIXParameters params,
+        List<X509Certificate> certs, WolfSSLCertManager cm,
+        boolean tempCAs) throws CertPathValidatorException {
 
         int i = 0;
+        int tempLoaded = 0;
         X509Certificate cert = null;
 
         if (path == null || params == null || certs == null || cm == null) {
@@ -690,6 +707,24 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
              * load this as trusted (intermediate). Use DATE_ERR_OKAY since
              * this cert has already been date-validated above. */
             if (i > 0 && cert.getBasicConstraints() >= 0) {
+                if (tempCAs && tempLoaded >= 0) {
+                    try {
+                        cm.CertManagerLoadTempCA(cert,
+                            WolfSSLCertManager.WOLFSSL_LOAD_FLAG_DATE_ERR_OKAY);
+                        tempLoaded++;
+
+                        log("chain [" + i + "] is intermediate, loading " +
+                            "as temporary root");
+                        continue;
+
+                    } catch (WolfCryptException e) {
+                        /* Temporary CAs not supported by native wolfSSL,
+                         * CertManager can not be returned to pool */
+                        log("chain [" + i + "] temporary CA load failed, " +
+                            "loading as root: " + e.getMessage());
+                        tempLoaded = -1;
+                    }
+                }
                 try {
                     cm.CertManagerLoadCA(cert,
                         WolfSSLCertManager.WOLFSSL_LOAD_FLAG_DATE_ERR_OKAY);
@@ -704,6 +739,8 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
                 }
             }
         }
+
+        return tempLoaded;
     }
 
     /**
@@ -849,9 +886,31 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
             failIndex, BasicReason.UNDETERMINED_REVOCATION_STATUS);
     }
 
+    /**
+     * Revocation inputs read from PKIXParameters before the native
+     * CertManager is set up. Gathered up front so they can be part of the
+     * WolfCryptCertManagerPool key. Any error hit while reading CertStores
+     * is held and thrown later from checkRevocationEnabledAndLoadCRLs(),
+     * keeping the same error ordering as loading directly.
+     */
+    private static class RevocationMaterial {
+        /* WolfCryptPKIXRevocationChecker registered in PKIXParameters */
+        boolean hasRevocationChecker = false;
+        /* CRL checking should be enabled in native CertManager */
+        boolean crlEnabled = false;
+        /* No CertStores found in PKIXParameters */
+        boolean noCertStores = false;
+        /* X509Certificates found in CertStores */
+        List<X509Certificate> storeCerts = new ArrayList<>();
+        /* X509CRLs in CertStores matching target certificate */
+        List<X509CRL> crls = new ArrayList<>();
+        /* Error reading CertStores, thrown when loading CRLs */
+        CertPathValidatorException error = null;
+    }
+
     /**
      * Check if revocation has been enabled in PKIXParameters, and if so
-     * find and load any CRLs in params.getCertStores().
+     * collect any certificates and matching CRLs from params.getCertStores().
      *
      * When a PKIXRevocationChecker is registered via addCertPathChecker(),
      * that checker handles revocation checking. CRL checking in the native
@@ -859,33 +918,21 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      *   - No PKIXRevocationChecker is present (default CRL behavior), or
      *   - PKIXRevocationChecker has PREFER_CRLS option set
      *
-     * @param params parameters used to check if revocation is enabled and,
-     *        if so load any CRLs available
-     * @param cm WolfSSLCertManager to load CRLs into
-     * @param certPath the CertPath being validated (for exception reporting)
+     * @param params parameters used to check if revocation is enabled
      * @param certs list of certificates from certPath
      * @param pathCheckers list of registered CertPathCheckers
      *
-     * @throws CertPathValidatorException if error is encountered during
-     *        revocation checking or CRL loading
+     * @return RevocationMaterial describing what should be loaded into the
+     *         native CertManager
      */
-    private void checkRevocationEnabledAndLoadCRLs(PKIXParameters params,
-        WolfSSLCertManager cm, CertPath certPath, List<X509Certificate> certs,
-        List<PKIXCertPathChecker> pathCheckers)
-        throws CertPathValidatorException {
+    private RevocationMaterial collectRevocationMaterial(
+        PKIXParameters params, List<X509Certificate> certs,
+        List<PKIXCertPathChecker> pathCheckers) {
 
         int i = 0;
-        int loadedCount = 0;
-        int certCount = 0;
-        List<CertStore> stores = null;
-        Collection<? extends CRL> crls = null;
-        boolean hasRevocationChecker = false;
         boolean preferCrls = false;
-
-        if (params == null || cm == null) {
-            throw new CertPathValidatorException(
-                "PKIXParameters or WolfSSLCertManager is null");
-        }
+        List<CertStore> stores = null;
+        RevocationMaterial material = new RevocationMaterial();
 
         /* Check if a PKIXRevocationChecker has been registered. If so, it
          * handles revocation checking and we only enable CRL in native
@@ -893,7 +940,7 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
         if (pathCheckers != null) {
             for (PKIXCertPathChecker checker : pathCheckers) {
                 if (checker instanceof WolfCryptPKIXRevocationChecker) {
-                    hasRevocationChecker = true;
+                    material.hasRevocationChecker = true;
                     WolfCryptPKIXRevocationChecker revChecker =
                         (WolfCryptPKIXRevocationChecker)checker;
                     Set<PKIXRevocationChecker.Option> options =
@@ -907,13 +954,96 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
             }
         }
 
-        if (hasRevocationChecker && !preferCrls) {
+        if ((material.hasRevocationChecker && !preferCrls) ||
+            !params.isRevocationEnabled()) {
+            return material;
+        }
+
+        material.crlEnabled = true;
+
+        stores = params.getCertStores();
+        if (stores == null || stores.isEmpty()) {
+            material.noCertStores = true;
+            return material;
+        }
+
+        /* Collect certificates from CertStores. CRL issuer certificates may
+         * be in CertStores but not in the cert path being validated. */
+        try {
+            for (i = 0; i < stores.size(); i++) {
+                /* Use null selector to get all certificates */
+                Collection<? extends Certificate> storeCerts =
+                    stores.get(i).getCertificates(null);
+                for (Certificate cert : storeCerts) {
+                    if (cert instanceof X509Certificate) {
+                        material.storeCerts.add((X509Certificate)cert);
+                    }
+                }
+            }
+        } catch (CertStoreException e) {
+            material.error = new CertPathValidatorException(
+                "Failed to load certificates from CertStore", e);
+            return material;
+        }
+
+        /* Create CRL selector to help match target X509Certificate */
+        X509CRLSelector selector = new X509CRLSelector();
+        selector.setCertificateChecking(certs.get(0));
+
+        try {
+            /* Find any matching CRLs */
+            for (i = 0; i < stores.size(); i++) {
+                Collection<? extends CRL> crls =
+                    stores.get(i).getCRLs(selector);
+                for (CRL crl: crls) {
+                    if (crl instanceof X509CRL) {
+                        material.crls.add((X509CRL)crl);
+                    }
+                }
+            }
+        } catch (CertStoreException e) {
+            material.error = new CertPathValidatorException(e);
+        }
+
+        return material;
+    }
+
+    /**
+     * Enable CRL support in the native CertManager and load certificates
+     * and CRLs previously collected from params.getCertStores(), if
+     * revocation checking is enabled.
+     *
+     * @param params parameters used to check if revocation is enabled
+     * @param cm WolfSSLCertManager to load CRLs into
+     * @param certPath the CertPath being validated (for exception reporting)
+     * @param certs list of certificates from certPath
+     * @param material revocation inputs from collectRevocationMaterial()
+     * @param preloaded true if cm is a pooled CertManager which already has
+     *        CRL support enabled and material loaded
+     *
+     * @throws CertPathValidatorException if error is encountered during
+     *        revocation checking or CRL loading
+     */
+    private void checkRevocationEnabledAndLoadCRLs(PKIXParameters params,
+        WolfSSLCertManager cm, CertPath certPath, List<X509Certificate> certs,
+        RevocationMaterial material, boolean preloaded)
+        throws CertPathValidatorException {
+
+        int loadedCount = 0;
+        int certCount = 0;
+
+        if (params == null || cm == null || material == null) {
+            throw new CertPathValidatorException(
+                "PKIXParameters or WolfSSLCertManager is null");
+        }
+
+        if (material.hasRevocationChecker && !material.crlEnabled) {
             log("PKIXRevocationChecker registered, skipping CRL setup " +
                 "(OCSP handles revocation)");
             return;
         }
 
-        if (params.isRevocationEnabled()) {
+        if (material.crlEnabled) {
             log("revocation enabled in PKIXParameters, checking for CRLs " +
                 "to load");
 
@@ -924,17 +1054,18 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
             }
 
             /* Enable CRL in native WolfSSLCertManager */
-            cm.CertManagerEnableCRL(WolfCrypt.WOLFSSL_CRL_CHECK);
+            if (!preloaded) {
+                cm.CertManagerEnableCRL(WolfCrypt.WOLFSSL_CRL_CHECK);
+            }
             log("CRL support enabled in native WolfSSLCertManager");
 
-            stores = params.getCertStores();
-            if (stores == null || stores.isEmpty()) {
+            if (material.noCertStores) {
                 log("no CertStores in PKIXParameters to load CRLs");
 
                 /* If revocation is enabled but no CRLs and no
                  * PKIXRevocationChecker to handle OCSP, we cannot determine
                  * revocation status. Per RFC 5280, this should fail. */
-                if (!hasRevocationChecker) {
+                if (!material.hasRevocationChecker) {
                     throwUndeterminedRevocationStatus(
                         "Revocation checking enabled but no CRLs available " +
                         "and no PKIXRevocationChecker configured for OCSP",
@@ -944,59 +1075,44 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
                 return;
             }
 
-            /* Load certificates from CertStores into CertManager. CRL issuer
-             * certificates may be in CertStores but not in the cert path being
-             * validated. Load before CRLs so wolfSSL can verify CRL sigs */
-            try {
-                for (i = 0; i < stores.size(); i++) {
-                    /* Use null selector to get all certificates */
-                    Collection<? extends Certificate> storeCerts =
-                        stores.get(i).getCertificates(null);
-                    for (Certificate cert : storeCerts) {
-                        if (cert instanceof X509Certificate) {
-                            try {
-                                cm.CertManagerLoadCA((X509Certificate)cert);
-                                certCount++;
-                            } catch (WolfCryptException e) {
-                                /* Log but not hard fail */
-                                log("Failed to load cert from CertStore: " +
-                                    e.getMessage());
-                            }
-                        }
-                    }
-                }
-            } catch (CertStoreException e) {
-                throw new CertPathValidatorException(
-                    "Failed to load certificates from CertStore", e);
+            if (material.error != null) {
+                throw material.error;
             }
 
-            log("loaded " + certCount +
-                " certs from CertStores into WolfSSLCertManager");
+            if (preloaded) {
+                log("CertStore certs and CRLs already loaded in pooled " +
+                    "WolfSSLCertManager");
+                loadedCount = material.crls.size();
+            }
+            else {
+                /* Load certificates from CertStores into CertManager. Load
+                 * before CRLs so wolfSSL can verify CRL sigs */
+                for (X509Certificate cert : material.storeCerts) {
+                    try {
+                        cm.CertManagerLoadCA(cert);
+                        certCount++;
+                    } catch (WolfCryptException e) {
+                        /* Log but not hard fail */
+                        log("Failed to load cert from CertStore: " +
+                            e.getMessage());
+                    }
+                }
 
-            /* Create CRL selector to help match target X509Certificate */
-            X509CRLSelector selector = new X509CRLSelector();
-            selector.setCertificateChecking(certs.get(0));
+                log("loaded " + certCount +
+                    " certs from CertStores into WolfSSLCertManager");
 
-            try {
-                /* Find and load any matching CRLs */
-                for (i = 0; i < stores.size(); i++) {
-                    crls = stores.get(i).getCRLs(selector);
-                    for (CRL crl: crls) {
-                        if (crl instanceof X509CRL) {
-                            cm.CertManagerLoadCRL((X509CRL)crl);
-                            loadedCount++;
-                        }
-                    }
+                /* Load matching CRLs */
+                for (X509CRL crl : material.crls) {
+                    cm.CertManagerLoadCRL(crl);
+                    loadedCount++;
                 }
-            } catch (CertStoreException e) {
-                throw new CertPathValidatorException(e);
             }
 
             log("loaded " + loadedCount + " CRLs into WolfSSLCertManager");
 
             /* If no CRLs were loaded and no PKIXRevocationChecker is handling
              * OCSP, we cannot determine revocation status. */
-            if (loadedCount == 0 && !hasRevocationChecker) {
+            if (loadedCount == 0 && !material.hasRevocationChecker) {
                 throwUndeterminedRevocationStatus(
                     "Revocation checking enabled but no CRLs found in " +
                     "CertStores and no PKIXRevocationChecker configured " +
@@ -1020,8 +1136,11 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      *       a. CertPath.getType() is "X.509"
      *       b. CertPath.getEncoding() contains "PkiPath"
      *   3. If wolfCrypt FIPS, verify params.getSigProvider() is wolfJCE
-     *   4. Load TrustAnchors into WolfSSLCertManager, done before checker
-     *      initialization since OCSP needs anchors to verify responses
+     *   4. Borrow a pooled WolfSSLCertManager already loaded with the same
+     *      TrustAnchors and CRLs if available, otherwise
+     *      load TrustAnchors into a new WolfSSLCertManager. Done before
+     *      checker initialization since OCSP needs anchors to verify
+     *      responses
      *   5. Initialize any registered CertPathCheckers
      *   6. Sanitize Certificate objects in CertPath chain
      *       a. Check target certificate constraints meet target cert
@@ -1030,6 +1149,7 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
      *   7. Enable CRL if requested, load CRLs from getCertStores()
      *   8. Verify X.509 certificate chain
      *   9. Find top-most TrustAnchor for return object
+     *  10. Return WolfSSLCertManager to pool on success, otherwise free it
      *
      * @param certPath the CertPath to be validated. CertPath entries are
      *                 ordered from leaf/peer up the chain to CA/root last.
@@ -1053,7 +1173,11 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
         PKIXParameters pkixParams = null;
         List<X509Certificate> certs = null;
         List<PKIXCertPathChecker> pathCheckers = null;
+        RevocationMaterial revMaterial = null;
+        WolfCryptCertManagerPool.Key poolKey = null;
         WolfSSLCertManager cm = null;
+        boolean preloaded = false;
+        int tempLoaded = -1;
         TrustAnchor trustAnchor = null;
 
         log("entered engineValidate(), FIPS enabled: " + Fips.enabled);
@@ -1118,25 +1242,46 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
                 anchorCert.getPublicKey());
         }
 
-        /* Use wolfSSL CertManager to do chain verification */
-        try {
-            cm = new WolfSSLCertManager();
-        } catch (WolfCryptException e) {
-            throw new CertPathValidatorException(
-                "Failed to create native WolfSSLCertManager");
+        /* Get List of Certificate objects in CertPath, sanity check that
+         * they are X509Certificate instances. Done before date override
+         * callback registration since callback needs access to cert list */
+        certs = new ArrayList<>();
+        for (Certificate cert : certPath.getCertificates()) {
+            if (cert instanceof X509Certificate) {
+                certs.add((X509Certificate) cert);
+            }
         }
 
-        try {
-            /* Get List of Certificate objects in CertPath, sanity check that
-             * they are X509Certificate instances. Done before date override
-             * callback registration since callback needs access to cert list */
-            certs = new ArrayList<>();
-            for (Certificate cert : certPath.getCertificates()) {
-                if (cert instanceof X509Certificate) {
-                    certs.add((X509Certificate) cert);
-                }
+        /* Read registered PKIXCertPathCheckers and revocation inputs up
+         * front, both decide if a pooled CertManager can be used */
+        pathCheckers = pkixParams.getCertPathCheckers();
+        revMaterial = collectRevocationMaterial(pkixParams, certs,
+            pathCheckers);
+
+        /* Try to borrow a CertManager already loaded with these trust
+         * anchors, CertStore certs and CRLs. Not used when a
+         * WolfCryptPKIXRevocationChecker is registered, since OCSP setup
+         * changes CertManager state in ways not captured by the key. */
+        if (!revMaterial.hasRevocationChecker &&
+            WolfCryptCertManagerPool.getMaxPoolSize() > 0) {
+            poolKey = WolfCryptCertManagerPool.Key.create(
+                pkixParams.getTrustAnchors(), revMaterial.crlEnabled,
+                revMaterial.storeCerts, revMaterial.crls);
+            cm = WolfCryptCertManagerPool.borrow(poolKey);
+            preloaded = (cm != null);
+        }
+
+        /* Use wolfSSL CertManager to do chain verification */
+        if (cm == null) {
+            try {
+                cm = new WolfSSLCertManager();
+            } catch (WolfCryptException e) {
+                throw new CertPathValidatorException(
+                    "Failed to create native WolfSSLCertManager");
             }
+        }
 
+        try {
             /* Register verify callback to override date validation if
              * PKIXParameters specifies an override date. Callback checks certs
              * against the override date. */
@@ -1157,14 +1302,22 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
 
             /* Load trust anchors into CertManager from PKIXParameters. Done
              * before initializing cert path checkers since OCSP validation
-             * requires trust anchors to verify responses. */
-            loadTrustAnchorsIntoCertManager(pkixParams, cm);
+             * requires trust anchors to verify responses. Skipped if pooled
+             * CertManager already has them loaded. */
+            if (preloaded) {
+                log("using pooled WolfSSLCertManager with TrustAnchors " +
+                    "already loaded");
+            }
+            else {
+                loadTrustAnchorsIntoCertManager(pkixParams, cm);
+            }
 
             /* Initialize all PKIXCertPathCheckers before calling check().
              * Store returned list to use same checker instances for init() and
              * check(). Pass certs so revocation checker can find issuers
              * for OCSP response verification. */
-            pathCheckers = initCertPathCheckers(pkixParams, cm, certs);
+            pathCheckers = initCertPathCheckers(pkixParams, pathCheckers, cm,
+                certs);
 
             /* Sanity checks on certs from PKIXParameters constraints */
             for (i = 0; i < certs.size(); i++) {
@@ -1181,14 +1334,16 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
             /* Enable CRL if PKIXParameters.isRevocationEnabled(), load any
              * CRLs found in PKIXParameters.getCertStores(). Done after trust
              * anchors loaded, since native wolfSSL will try to find/verify CRL
-             * against trusted roots on load. Pass pathCheckers so we can skip
-             * CRL setup when a PKIXRevocationChecker is handling revocation
-             * via OCSP. */
+             * against trusted roots on load. CRL setup is skipped when a
+             * PKIXRevocationChecker is handling revocation via OCSP. */
             checkRevocationEnabledAndLoadCRLs(pkixParams, cm, certPath, certs,
-                pathCheckers);
+                revMaterial, preloaded);
 
-            /* Verify cert chain */
-            verifyCertChain(certPath, pkixParams, certs, cm);
+            /* Verify cert chain. Intermediates are loaded as temporary
+             * CAs when CertManager may be pooled, so they are not part of
+             * the pooled state */
+            tempLoaded = verifyCertChain(certPath, pkixParams, certs, cm,
+                (poolKey != null));
 
             /* Cert chain has been verified, find TrustAnchor to return
              * in PKIXCertPathValidatorResult */
@@ -1202,9 +1357,32 @@ public class WolfCryptPKIXCertPathValidator extends CertPathValidatorSpi {
             }
             checkTrustAnchorConstraints(trustAnchor);
 
+            /* Unload temporary intermediates so CertManager holds exactly
+             * the state described by poolKey, clear per-validation callback
+             * so it can be pooled */
+            if (poolKey != null && tempLoaded >= 0) {
+                try {
+                    if (tempLoaded > 0) {
+                        cm.CertManagerUnloadTempCAs();
+                    }
+                    if (pkixParams.getDate() != null) {
+                        cm.setVerifyCallback(null);
+                    }
+                    WolfCryptCertManagerPool.release(poolKey, cm);
+                    cm = null;
+                } catch (WolfCryptException e) {
+                    log("failed to reset per-validation state, not " +
+                        "returning WolfSSLCertManager to pool: " +
+                        e.getMessage());
+                }
+            }
+
         } finally {
-            /* Free native WolfSSLCertManager resources */
-            cm.free();
+            /* Free native WolfSSLCertManager resources if not returned
+             * to pool, including any pooled CertManager on failure */
+            if (cm != null) {
+                cm.free();
+            }
         }
 
         /* PolicyNode not returned, since certificate policies not supported */
@@ -24,7 +24,10 @@ package com.wolfssl.provider.jce;
 import java.security.Provider;
 import java.security.Security;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import com.wolfssl.wolfcrypt.FeatureDetect;
@@ -41,6 +44,9 @@ public final class WolfCryptProvider extends Provider {
 
     private static final long serialVersionUID = 1L;
 
+    /* Service entries collected by registerServices(), in added order */
+    private transient Map<String, String> pendingEntries = null;
+
     /**
      * Default FIPS error callback for wolfJCE provider.
      *
@@ -116,7 +122,16 @@ public final class WolfCryptProvider extends Provider {
      *     wolfjce.mapJKStoWKS
      *     wolfjce.mapPKCS12toWKS
      */
-    public void refreshServices() {
+    public synchronized void refreshServices() {
+
+        /* Remove services from previous registration, registerServices()
+         * will add back those still enabled */
+        for (Service s : getServices()) {
+            if (s instanceof WolfCryptService) {
+                removeService(s);
+            }
+        }
+
         registerServices();
     }
 
@@ -127,6 +142,8 @@ public final class WolfCryptProvider extends Provider {
         String mapJksToWks = null;
         String mapPkcs12ToWks = null;
 
+        pendingEntries = new LinkedHashMap<String, String>();
+
         /* Run FIPS algorithm self tests (CASTs) if needed */
         if (Fips.enabled) {
             Fips.runAllCast_fips();
@@ -134,75 +151,96 @@ public final class WolfCryptProvider extends Provider {
 
         /* MessageDigest */
         if (FeatureDetect.Md5Enabled()) {
-            put("MessageDigest.MD5",
+            addEntry("MessageDigest.MD5",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestMd5");
         }
         if (FeatureDetect.ShaEnabled()) {
-            put("MessageDigest.SHA",
+            addEntry("MessageDigest.SHA",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha");
-            put("MessageDigest.SHA1",
+            addEntry("MessageDigest.SHA1",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha");
-            put("MessageDigest.SHA-1",
+            addEntry("MessageDigest.SHA-1",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha");
         }
         if (FeatureDetect.Sha224Enabled()) {
-            put("MessageDigest.SHA-224",
+            addEntry("MessageDigest.SHA-224",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha224");
             /* SHA-224 OID */
-            put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.4",
+            addEntry("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.4",
                     "SHA-224");
         }
         if (FeatureDetect.Sha256Enabled()) {
-            put("MessageDigest.SHA-256",
+            addEntry("MessageDigest.SHA-256",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha256");
             /* SHA-256 OID */
-            put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.1",
+            addEntry("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.1",
                     "SHA-256");
         }
         if (FeatureDetect.Sha384Enabled()) {
-            put("MessageDigest.SHA-384",
+            addEntry("MessageDigest.SHA-384",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha384");
             /* SHA-384 OID */
-            put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.2",
+            addEntry("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.2",
                     "SHA-384");
         }
         if (FeatureDetect.Sha512Enabled()) {
-            put("MessageDigest.SHA-512",
+            addEntry("MessageDigest.SHA-512",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha512");
             /* SHA-512 OID */
-            put("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.3",
+            addEntry("Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.3",
                     "SHA-512");
         }
         if (FeatureDetect.Sha3Enabled()) {
-            put("MessageDigest.SHA3-224",
+            addEntry("MessageDigest.SHA3-224",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha3$wcSHA3_224");
-            put("MessageDigest.SHA3-256",
+            addEntry("MessageDigest.SHA3-256",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha3$wcSHA3_256");
-            put("MessageDigest.SHA3-384",
+            addEntry("MessageDigest.SHA3-384",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha3$wcSHA3_384");
-            put("MessageDigest.SHA3-512",
+            addEntry("MessageDigest.SHA3-512",
                     "com.wolfssl.provider.jce.WolfCryptMessageDigestSha3$wcSHA3_512");
         }
+        /* Parallel tree hash, not a FIPS approved algorithm */
+        if (!Fips.enabled) {
+            if (FeatureDetect.Sha256Enabled()) {
+                addEntry("MessageDigest.SHA-256-TREE",
+                    "com.wolfssl.provider.jce.WolfCryptMessageDigestTree$wcSHA256Tree");
+            }
+            if (FeatureDetect.Sha512Enabled()) {
+                addEntry("MessageDigest.SHA-512-TREE",
+                    "com.wolfssl.provider.jce.WolfCryptMessageDigestTree$wcSHA512Tree");
+            }
+            if (FeatureDetect.Sha3Enabled()) {
+                addEntry("MessageDigest.SHA3-256-TREE",
+                    "com.wolfssl.provider.jce.WolfCryptMessageDigestTree$wcSHA3_256Tree");
+            }
+        }
 
         /* SecureRandom */
         /* TODO: May need to add "SHA1PRNG" alias, other JCA consumemrs may
          * explicitly request it? Needs more testing. */
-        put("SecureRandom.DEFAULT",
+        addEntry("SecureRandom.DEFAULT",
                 "com.wolfssl.provider.jce.WolfCryptRandom");
-        put("SecureRandom.HashDRBG",
+        addEntry("SecureRandom.HashDRBG",
                 "com.wolfssl.provider.jce.WolfCryptRandom");
-        put("SecureRandom.Hash_DRBG",
+        addEntry("SecureRandom.Hash_DRBG",
                 "com.wolfssl.provider.jce.WolfCryptRandom");
-        put("SecureRandom.DRBG",
+        addEntry("SecureRandom.DRBG",
                 "com.wolfssl.provider.jce.WolfCryptRandom");
+        /* WolfCryptRandom uses per-thread native DRBGs, tell the JDK it
+         * does not need to synchronize calls into SecureRandom */
+        addEntry("SecureRandom.DEFAULT ThreadSafe", "true");
+        addEntry("SecureRandom.HashDRBG ThreadSafe", "true");
+        addEntry("SecureRandom.Hash_DRBG ThreadSafe", "true");
+        addEntry("SecureRandom.DRBG ThreadSafe", "true");
 
         /* Signature */
         if (FeatureDetect.Md5Enabled()) {
-            put("Signature.MD5withRSA",
+            addEntry("Signature.MD5withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcMD5wRSA");
         }
         if (FeatureDetect.ShaEnabled()) {
-            put("Signature.SHA1withRSA",
+            addEntry("Signature.SHA1withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA1wRSA");
 
             /* FIPS 186-5 (wolfCrypt FIPS v7+) no longer allows SHA-1 for
@@ -210,73 +248,73 @@ public final class WolfCryptProvider extends Provider {
              * FIPS, or when using FIPS versions prior to v7 which follow
              * FIPS 186-4. */
             if (!Fips.enabled || Fips.fipsVersion < 7) {
-                put("Signature.SHA1withECDSA",
+                addEntry("Signature.SHA1withECDSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA1wECDSA");
-                put("Alg.Alias.Signature.1.2.840.10045.4.1", "SHA1withECDSA");
+                addEntry("Alg.Alias.Signature.1.2.840.10045.4.1", "SHA1withECDSA");
             }
         }
         if (FeatureDetect.Sha224Enabled()) {
-            put("Signature.SHA224withRSA",
+            addEntry("Signature.SHA224withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA224wRSA");
-            put("Signature.SHA224withECDSA",
+            addEntry("Signature.SHA224withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA224wECDSA");
-            put("Alg.Alias.Signature.1.2.840.10045.4.3.1", "SHA224withECDSA");
+            addEntry("Alg.Alias.Signature.1.2.840.10045.4.3.1", "SHA224withECDSA");
         }
         if (FeatureDetect.Sha256Enabled()) {
-            put("Signature.SHA256withRSA",
+            addEntry("Signature.SHA256withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA256wRSA");
-            put("Signature.SHA256withECDSA",
+            addEntry("Signature.SHA256withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA256wECDSA");
-            put("Alg.Alias.Signature.1.2.840.10045.4.3.2", "SHA256withECDSA");
+            addEntry("Alg.Alias.Signature.1.2.840.10045.4.3.2", "SHA256withECDSA");
             /* IEEE P1363 format ECDSA */
-            put("Signature.SHA256withECDSAinP1363Format",
+            addEntry("Signature.SHA256withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA256wECDSAP1363");
         }
         if (FeatureDetect.Sha384Enabled()) {
-            put("Signature.SHA384withRSA",
+            addEntry("Signature.SHA384withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA384wRSA");
-            put("Signature.SHA384withECDSA",
+            addEntry("Signature.SHA384withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA384wECDSA");
-            put("Alg.Alias.Signature.1.2.840.10045.4.3.3", "SHA384withECDSA");
+            addEntry("Alg.Alias.Signature.1.2.840.10045.4.3.3", "SHA384withECDSA");
             /* IEEE P1363 format ECDSA */
-            put("Signature.SHA384withECDSAinP1363Format",
+            addEntry("Signature.SHA384withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA384wECDSAP1363");
         }
         if (FeatureDetect.Sha512Enabled()) {
-            put("Signature.SHA512withRSA",
+            addEntry("Signature.SHA512withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA512wRSA");
-            put("Signature.SHA512withECDSA",
+            addEntry("Signature.SHA512withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA512wECDSA");
-            put("Alg.Alias.Signature.1.2.840.10045.4.3.4", "SHA512withECDSA");
+            addEntry("Alg.Alias.Signature.1.2.840.10045.4.3.4", "SHA512withECDSA");
             /* IEEE P1363 format ECDSA */
-            put("Signature.SHA512withECDSAinP1363Format",
+            addEntry("Signature.SHA512withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA512wECDSAP1363");
         }
         if (FeatureDetect.Sha3Enabled()) {
-            put("Signature.SHA3-224withRSA",
+            addEntry("Signature.SHA3-224withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_224wRSA");
-            put("Signature.SHA3-256withRSA",
+            addEntry("Signature.SHA3-256withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_256wRSA");
-            put("Signature.SHA3-384withRSA",
+            addEntry("Signature.SHA3-384withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_384wRSA");
-            put("Signature.SHA3-512withRSA",
+            addEntry("Signature.SHA3-512withRSA",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_512wRSA");
 
-            put("Signature.SHA3-224withECDSA",
+            addEntry("Signature.SHA3-224withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_224wECDSA");
-            put("Signature.SHA3-256withECDSA",
+            addEntry("Signature.SHA3-256withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_256wECDSA");
-            put("Signature.SHA3-384withECDSA",
+            addEntry("Signature.SHA3-384withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_384wECDSA");
-            put("Signature.SHA3-512withECDSA",
+            addEntry("Signature.SHA3-512withECDSA",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_512wECDSA");
 
             /* IEEE P1363 format ECDSA with SHA3 */
-            put("Signature.SHA3-256withECDSAinP1363Format",
+            addEntry("Signature.SHA3-256withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_256wECDSAP1363");
-            put("Signature.SHA3-384withECDSAinP1363Format",
+            addEntry("Signature.SHA3-384withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_384wECDSAP1363");
-            put("Signature.SHA3-512withECDSAinP1363Format",
+            addEntry("Signature.SHA3-512withECDSAinP1363Format",
                   "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA3_512wECDSAP1363");
         }
 
@@ -285,859 +323,913 @@ public final class WolfCryptProvider extends Provider {
         if (FeatureDetect.RsaEnabled()) {
 
             if (FeatureDetect.Sha224Enabled()) {
-                put("Signature.SHA224withRSA/PSS",
+                addEntry("Signature.SHA224withRSA/PSS",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA224wRSAPSS");
-                put("Alg.Alias.Signature.SHA224withRSAandMGF1", "SHA224withRSA/PSS");
-                put("Alg.Alias.Signature.SHA224WITHRSAANDMGF1", "SHA224withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA224withRSAandMGF1", "SHA224withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA224WITHRSAANDMGF1", "SHA224withRSA/PSS");
             }
             if (FeatureDetect.Sha256Enabled()) {
                 /* Primary RSA-PSS algorithm (SunJCE style), uses SHA-256 */
-                put("Signature.RSASSA-PSS",
+                addEntry("Signature.RSASSA-PSS",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcRSAPSS");
-                put("Signature.SHA256withRSA/PSS",
+                addEntry("Signature.SHA256withRSA/PSS",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA256wRSAPSS");
-                put("Alg.Alias.Signature.SHA256withRSAandMGF1", "SHA256withRSA/PSS");
-                put("Alg.Alias.Signature.SHA256WITHRSAANDMGF1", "SHA256withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA256withRSAandMGF1", "SHA256withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA256WITHRSAANDMGF1", "SHA256withRSA/PSS");
             }
             if (FeatureDetect.Sha384Enabled()) {
-                put("Signature.SHA384withRSA/PSS",
+                addEntry("Signature.SHA384withRSA/PSS",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA384wRSAPSS");
-                put("Alg.Alias.Signature.SHA384withRSAandMGF1", "SHA384withRSA/PSS");
-                put("Alg.Alias.Signature.SHA384WITHRSAANDMGF1", "SHA384withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA384withRSAandMGF1", "SHA384withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA384WITHRSAANDMGF1", "SHA384withRSA/PSS");
             }
             if (FeatureDetect.Sha512Enabled()) {
-                put("Signature.SHA512withRSA/PSS",
+                addEntry("Signature.SHA512withRSA/PSS",
                     "com.wolfssl.provider.jce.WolfCryptSignature$wcSHA512wRSAPSS");
-                put("Alg.Alias.Signature.SHA512withRSAandMGF1", "SHA512withRSA/PSS");
-                put("Alg.Alias.Signature.SHA512WITHRSAANDMGF1", "SHA512withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA512withRSAandMGF1", "SHA512withRSA/PSS");
+                addEntry("Alg.Alias.Signature.SHA512WITHRSAANDMGF1", "SHA512withRSA/PSS");
             }
 
             /* OID mappings */
-            put("Alg.Alias.Signature.1.2.840.113549.1.1.10", "RSASSA-PSS");
-            put("Alg.Alias.Signature.OID.1.2.840.113549.1.1.10", "RSASSA-PSS");
+            addEntry("Alg.Alias.Signature.1.2.840.113549.1.1.10", "RSASSA-PSS");
+            addEntry("Alg.Alias.Signature.OID.1.2.840.113549.1.1.10", "RSASSA-PSS");
 
             /* Algorithm parameters */
-            put("AlgorithmParameters.RSASSA-PSS",
+            addEntry("AlgorithmParameters.RSASSA-PSS",
                 "com.wolfssl.provider.jce.WolfCryptPssParameters");
-            put("Alg.Alias.AlgorithmParameters.1.2.840.113549.1.1.10", "RSASSA-PSS");
-            put("Alg.Alias.AlgorithmParameters.OID.1.2.840.113549.1.1.10", "RSASSA-PSS");
+            addEntry("Alg.Alias.AlgorithmParameters.1.2.840.113549.1.1.10", "RSASSA-PSS");
+            addEntry("Alg.Alias.AlgorithmParameters.OID.1.2.840.113549.1.1.10", "RSASSA-PSS");
         }
 
         /* ML-DSA (FIPS 204) Signature support */
         if (FeatureDetect.MlDsaEnabled()) {
             /* Generic alias accepts any of the three ML-DSA parameter sets */
-            put("Signature.ML-DSA",
+            addEntry("Signature.ML-DSA",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaSignature$wcMlDsa");
 
             /* Per-level aliases */
-            put("Signature.ML-DSA-44",
+            addEntry("Signature.ML-DSA-44",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaSignature$wcMlDsa44");
-            put("Signature.ML-DSA-65",
+            addEntry("Signature.ML-DSA-65",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaSignature$wcMlDsa65");
-            put("Signature.ML-DSA-87",
+            addEntry("Signature.ML-DSA-87",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaSignature$wcMlDsa87");
 
             /* OID aliases (FIPS 204: 2.16.840.1.101.3.4.3.17/18/19) */
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
+        }
+
+        /* EdDSA (RFC 8032) Signature support, Ed25519 only. Ed25519ctx and
+         * Ed25519ph are selected with EdDSAParameterSpec. */
+        if (!Fips.enabled && FeatureDetect.Ed25519Enabled()) {
+            addEntry("Signature.EdDSA",
+                "com.wolfssl.provider.jce.WolfCryptEdDSASignature");
+            addEntry("Alg.Alias.Signature.Ed25519", "EdDSA");
+            addEntry("Alg.Alias.Signature.1.3.101.112", "EdDSA");
+            addEntry("Alg.Alias.Signature.OID.1.3.101.112", "EdDSA");
         }
 
         /* XMSS / XMSS^MT (RFC 8391) Signature support (verify-only). A single
          * implementation handles both, the parameter set is derived from the
          * imported public key. */
         if (FeatureDetect.XmssEnabled()) {
-            put("Signature.XMSS",
+            addEntry("Signature.XMSS",
                 "com.wolfssl.provider.jce.WolfCryptXmssSignature");
-            put("Signature.XMSSMT",
+            addEntry("Signature.XMSSMT",
                 "com.wolfssl.provider.jce.WolfCryptXmssSignature");
 
             /* OID aliases (RFC 9802: id-alg-xmss-hashsig 1.3.6.1.5.5.7.6.34,
              * id-alg-xmssmt-hashsig 1.3.6.1.5.5.7.6.35) */
-            put("Alg.Alias.Signature.1.3.6.1.5.5.7.6.34", "XMSS");
-            put("Alg.Alias.Signature.OID.1.3.6.1.5.5.7.6.34", "XMSS");
-            put("Alg.Alias.Signature.1.3.6.1.5.5.7.6.35", "XMSSMT");
-            put("Alg.Alias.Signature.OID.1.3.6.1.5.5.7.6.35", "XMSSMT");
+            addEntry("Alg.Alias.Signature.1.3.6.1.5.5.7.6.34", "XMSS");
+            addEntry("Alg.Alias.Signature.OID.1.3.6.1.5.5.7.6.34", "XMSS");
+            addEntry("Alg.Alias.Signature.1.3.6.1.5.5.7.6.35", "XMSSMT");
+            addEntry("Alg.Alias.Signature.OID.1.3.6.1.5.5.7.6.35", "XMSSMT");
         }
 
         /* LMS / HSS (RFC 8554) Signature support (verify-only) */
         if (FeatureDetect.LmsEnabled()) {
-            put("Signature.LMS",
+            addEntry("Signature.LMS",
                 "com.wolfssl.provider.jce.WolfCryptLmsSignature");
-            put("Alg.Alias.Signature.HSS/LMS", "LMS");
-            put("Alg.Alias.Signature.1.2.840.113549.1.9.16.3.17", "LMS");
-            put("Alg.Alias.Signature.OID.1.2.840.113549.1.9.16.3.17", "LMS");
+            addEntry("Alg.Alias.Signature.HSS/LMS", "LMS");
+            addEntry("Alg.Alias.Signature.1.2.840.113549.1.9.16.3.17", "LMS");
+            addEntry("Alg.Alias.Signature.OID.1.2.840.113549.1.9.16.3.17", "LMS");
         }
 
         /* SLH-DSA (FIPS 205) Signature support */
         if (FeatureDetect.SlhDsaEnabled()) {
             /* Generic alias accepts any of the SLH-DSA parameter sets */
-            put("Signature.SLH-DSA",
+            addEntry("Signature.SLH-DSA",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsa");
 
             /* Per-parameter-set aliases */
-            put("Signature.SLH-DSA-SHA2-128s",
+            addEntry("Signature.SLH-DSA-SHA2-128s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_128s");
-            put("Signature.SLH-DSA-SHA2-128f",
+            addEntry("Signature.SLH-DSA-SHA2-128f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_128f");
-            put("Signature.SLH-DSA-SHA2-192s",
+            addEntry("Signature.SLH-DSA-SHA2-192s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_192s");
-            put("Signature.SLH-DSA-SHA2-192f",
+            addEntry("Signature.SLH-DSA-SHA2-192f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_192f");
-            put("Signature.SLH-DSA-SHA2-256s",
+            addEntry("Signature.SLH-DSA-SHA2-256s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_256s");
-            put("Signature.SLH-DSA-SHA2-256f",
+            addEntry("Signature.SLH-DSA-SHA2-256f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaSha2_256f");
-            put("Signature.SLH-DSA-SHAKE-128s",
+            addEntry("Signature.SLH-DSA-SHAKE-128s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_128s");
-            put("Signature.SLH-DSA-SHAKE-128f",
+            addEntry("Signature.SLH-DSA-SHAKE-128f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_128f");
-            put("Signature.SLH-DSA-SHAKE-192s",
+            addEntry("Signature.SLH-DSA-SHAKE-192s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_192s");
-            put("Signature.SLH-DSA-SHAKE-192f",
+            addEntry("Signature.SLH-DSA-SHAKE-192f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_192f");
-            put("Signature.SLH-DSA-SHAKE-256s",
+            addEntry("Signature.SLH-DSA-SHAKE-256s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_256s");
-            put("Signature.SLH-DSA-SHAKE-256f",
+            addEntry("Signature.SLH-DSA-SHAKE-256f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcSlhDsaShake_256f");
 
             /* OID aliases (FIPS 205: 2.16.840.1.101.3.4.3.20-.31) */
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
 
             /* HashSLH-DSA (pre-hash, FIPS 205 Section 10.2.2). Keys are
              * regular SLH-DSA keys, only the signature algorithm differs,
              * so only Signature services are registered. */
-            put("Signature.HASH-SLH-DSA",
+            addEntry("Signature.HASH-SLH-DSA",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsa");
-            put("Signature.SLH-DSA-SHA2-128s-WITH-SHA256",
+            addEntry("Signature.SLH-DSA-SHA2-128s-WITH-SHA256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_128sWithSha256");
-            put("Signature.SLH-DSA-SHA2-128f-WITH-SHA256",
+            addEntry("Signature.SLH-DSA-SHA2-128f-WITH-SHA256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_128fWithSha256");
-            put("Signature.SLH-DSA-SHA2-192s-WITH-SHA512",
+            addEntry("Signature.SLH-DSA-SHA2-192s-WITH-SHA512",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_192sWithSha512");
-            put("Signature.SLH-DSA-SHA2-192f-WITH-SHA512",
+            addEntry("Signature.SLH-DSA-SHA2-192f-WITH-SHA512",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_192fWithSha512");
-            put("Signature.SLH-DSA-SHA2-256s-WITH-SHA512",
+            addEntry("Signature.SLH-DSA-SHA2-256s-WITH-SHA512",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_256sWithSha512");
-            put("Signature.SLH-DSA-SHA2-256f-WITH-SHA512",
+            addEntry("Signature.SLH-DSA-SHA2-256f-WITH-SHA512",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_256fWithSha512");
-            put("Signature.SLH-DSA-SHAKE-128s-WITH-SHAKE128",
+            addEntry("Signature.SLH-DSA-SHAKE-128s-WITH-SHAKE128",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_128sWithShake128");
-            put("Signature.SLH-DSA-SHAKE-128f-WITH-SHAKE128",
+            addEntry("Signature.SLH-DSA-SHAKE-128f-WITH-SHAKE128",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_128fWithShake128");
-            put("Signature.SLH-DSA-SHAKE-192s-WITH-SHAKE256",
+            addEntry("Signature.SLH-DSA-SHAKE-192s-WITH-SHAKE256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_192sWithShake256");
-            put("Signature.SLH-DSA-SHAKE-192f-WITH-SHAKE256",
+            addEntry("Signature.SLH-DSA-SHAKE-192f-WITH-SHAKE256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_192fWithShake256");
-            put("Signature.SLH-DSA-SHAKE-256s-WITH-SHAKE256",
+            addEntry("Signature.SLH-DSA-SHAKE-256s-WITH-SHAKE256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_256sWithShake256");
-            put("Signature.SLH-DSA-SHAKE-256f-WITH-SHAKE256",
+            addEntry("Signature.SLH-DSA-SHAKE-256f-WITH-SHAKE256",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaSignature$wcHashSlhDsaShake_256fWithShake256");
 
             /* HashSLH-DSA OID aliases (FIPS 205: 2.16.840.1.101.3.4.3.35-.46) */
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.35",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.35",
                 "SLH-DSA-SHA2-128s-WITH-SHA256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.35",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.35",
                 "SLH-DSA-SHA2-128s-WITH-SHA256");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.36",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.36",
                 "SLH-DSA-SHA2-128f-WITH-SHA256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.36",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.36",
                 "SLH-DSA-SHA2-128f-WITH-SHA256");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.37",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.37",
                 "SLH-DSA-SHA2-192s-WITH-SHA512");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.37",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.37",
                 "SLH-DSA-SHA2-192s-WITH-SHA512");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.38",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.38",
                 "SLH-DSA-SHA2-192f-WITH-SHA512");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.38",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.38",
                 "SLH-DSA-SHA2-192f-WITH-SHA512");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.39",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.39",
                 "SLH-DSA-SHA2-256s-WITH-SHA512");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.39",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.39",
                 "SLH-DSA-SHA2-256s-WITH-SHA512");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.40",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.40",
                 "SLH-DSA-SHA2-256f-WITH-SHA512");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.40",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.40",
                 "SLH-DSA-SHA2-256f-WITH-SHA512");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.41",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.41",
                 "SLH-DSA-SHAKE-128s-WITH-SHAKE128");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.41",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.41",
                 "SLH-DSA-SHAKE-128s-WITH-SHAKE128");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.42",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.42",
                 "SLH-DSA-SHAKE-128f-WITH-SHAKE128");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.42",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.42",
                 "SLH-DSA-SHAKE-128f-WITH-SHAKE128");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.43",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.43",
                 "SLH-DSA-SHAKE-192s-WITH-SHAKE256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.43",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.43",
                 "SLH-DSA-SHAKE-192s-WITH-SHAKE256");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.44",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.44",
                 "SLH-DSA-SHAKE-192f-WITH-SHAKE256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.44",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.44",
                 "SLH-DSA-SHAKE-192f-WITH-SHAKE256");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.45",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.45",
                 "SLH-DSA-SHAKE-256s-WITH-SHAKE256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.45",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.45",
                 "SLH-DSA-SHAKE-256s-WITH-SHAKE256");
-            put("Alg.Alias.Signature.2.16.840.1.101.3.4.3.46",
+            addEntry("Alg.Alias.Signature.2.16.840.1.101.3.4.3.46",
                 "SLH-DSA-SHAKE-256f-WITH-SHAKE256");
-            put("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.46",
+            addEntry("Alg.Alias.Signature.OID.2.16.840.1.101.3.4.3.46",
                 "SLH-DSA-SHAKE-256f-WITH-SHAKE256");
         }
 
         /* Mac */
         if (FeatureDetect.HmacMd5Enabled()) {
-            put("Mac.HmacMD5",
+            addEntry("Mac.HmacMD5",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacMD5");
         }
         if (FeatureDetect.HmacShaEnabled()) {
-            put("Mac.HmacSHA1",
+            addEntry("Mac.HmacSHA1",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA1");
             /* HMAC-SHA1 OID */
-            put("Alg.Alias.Mac.1.2.840.113549.2.7", "HmacSHA1");
+            addEntry("Alg.Alias.Mac.1.2.840.113549.2.7", "HmacSHA1");
         }
         if (FeatureDetect.HmacSha224Enabled()) {
-            put("Mac.HmacSHA224",
+            addEntry("Mac.HmacSHA224",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA224");
             /* HMAC-SHA224 OID */
-            put("Alg.Alias.Mac.1.2.840.113549.2.8", "HmacSHA224");
+            addEntry("Alg.Alias.Mac.1.2.840.113549.2.8", "HmacSHA224");
         }
         if (FeatureDetect.HmacSha256Enabled()) {
-            put("Mac.HmacSHA256",
+            addEntry("Mac.HmacSHA256",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA256");
             /* HMAC-SHA256 OID */
-            put("Alg.Alias.Mac.1.2.840.113549.2.9", "HmacSHA256");
+            addEntry("Alg.Alias.Mac.1.2.840.113549.2.9", "HmacSHA256");
         }
         if (FeatureDetect.HmacSha384Enabled()) {
-            put("Mac.HmacSHA384",
+            addEntry("Mac.HmacSHA384",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA384");
             /* HMAC-SHA384 OID */
-            put("Alg.Alias.Mac.1.2.840.113549.2.10", "HmacSHA384");
+            addEntry("Alg.Alias.Mac.1.2.840.113549.2.10", "HmacSHA384");
         }
         if (FeatureDetect.HmacSha512Enabled()) {
-            put("Mac.HmacSHA512",
+            addEntry("Mac.HmacSHA512",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA512");
             /* HMAC-SHA512 OID */
-            put("Alg.Alias.Mac.1.2.840.113549.2.11", "HmacSHA512");
+            addEntry("Alg.Alias.Mac.1.2.840.113549.2.11", "HmacSHA512");
         }
         if (FeatureDetect.HmacSha3_224Enabled()) {
-            put("Mac.HmacSHA3-224",
+            addEntry("Mac.HmacSHA3-224",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA3_224");
         }
         if (FeatureDetect.HmacSha3_256Enabled()) {
-            put("Mac.HmacSHA3-256",
+            addEntry("Mac.HmacSHA3-256",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA3_256");
         }
         if (FeatureDetect.HmacSha3_384Enabled()) {
-            put("Mac.HmacSHA3-384",
+            addEntry("Mac.HmacSHA3-384",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA3_384");
         }
         if (FeatureDetect.HmacSha3_512Enabled()) {
-            put("Mac.HmacSHA3-512",
+            addEntry("Mac.HmacSHA3-512",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcHmacSHA3_512");
         }
         if (FeatureDetect.AesCmacEnabled()) {
-            put("Mac.AESCMAC",
+            addEntry("Mac.AESCMAC",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcAesCmac");
-            put("Alg.Alias.Mac.AES-CMAC", "AESCMAC");
+            addEntry("Alg.Alias.Mac.AES-CMAC", "AESCMAC");
         }
 
         if (FeatureDetect.AesGmacEnabled()) {
-            put("Mac.AESGMAC",
+            addEntry("Mac.AESGMAC",
                     "com.wolfssl.provider.jce.WolfCryptMac$wcAesGmac");
-            put("Alg.Alias.Mac.AES-GMAC", "AESGMAC");
+            addEntry("Alg.Alias.Mac.AES-GMAC", "AESGMAC");
         }
 
         /* Cipher */
         if (FeatureDetect.AesCbcEnabled()) {
-            put("Cipher.AES/CBC/NoPadding",
+            addEntry("Cipher.AES/CBC/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESCBCNoPadding");
-            put("Cipher.AES/CBC/PKCS5Padding",
+            addEntry("Cipher.AES/CBC/PKCS5Padding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESCBCPKCS5Padding");
 
             /* NIST AES-CBC algorithm aliases with key sizes */
-            put("Alg.Alias.Cipher.AES_128/CBC/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_128/CBC/NoPadding",
                 "AES/CBC/NoPadding");
-            put("Alg.Alias.Cipher.AES_192/CBC/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_192/CBC/NoPadding",
                 "AES/CBC/NoPadding");
-            put("Alg.Alias.Cipher.AES_256/CBC/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_256/CBC/NoPadding",
                 "AES/CBC/NoPadding");
 
             /* NIST AES-CBC OID aliases */
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.2",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.2",
                 "AES/CBC/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.22",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.22",
                 "AES/CBC/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.42",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.42",
                 "AES/CBC/NoPadding");
         }
         if (FeatureDetect.AesEcbEnabled()) {
-            put("Cipher.AES/ECB/NoPadding",
+            addEntry("Cipher.AES/ECB/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESECBNoPadding");
-            put("Cipher.AES/ECB/PKCS5Padding",
+            addEntry("Cipher.AES/ECB/PKCS5Padding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESECBPKCS5Padding");
 
             /* SunJCE and Bouncy Castle alias AES to AES/ECB/PKCS5Padding,
              * we do the same here for compatibility. */
-            put("Cipher.AES",
+            addEntry("Cipher.AES",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESECBPKCS5Padding");
-            put("Cipher.AES SupportedModes", "ECB");
-            put("Cipher.AES SupportedPaddings", "NoPadding, PKCS5Padding");
+            addEntry("Cipher.AES SupportedModes", "ECB");
+            addEntry("Cipher.AES SupportedPaddings", "NoPadding, PKCS5Padding");
 
             /* NIST AES-ECB algorithm aliases with key sizes */
-            put("Alg.Alias.Cipher.AES_128/ECB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_128/ECB/NoPadding",
                 "AES/ECB/NoPadding");
-            put("Alg.Alias.Cipher.AES_192/ECB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_192/ECB/NoPadding",
                 "AES/ECB/NoPadding");
-            put("Alg.Alias.Cipher.AES_256/ECB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_256/ECB/NoPadding",
                 "AES/ECB/NoPadding");
 
             /* NIST AES-ECB OID aliases */
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.1",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.1",
                 "AES/ECB/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.21",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.21",
                 "AES/ECB/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.41",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.41",
                 "AES/ECB/NoPadding");
         }
         if (FeatureDetect.AesCtrEnabled()) {
-            put("Cipher.AES/CTR/NoPadding",
+            addEntry("Cipher.AES/CTR/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESCTRNoPadding");
         }
         if (FeatureDetect.AesOfbEnabled()) {
-            put("Cipher.AES/OFB/NoPadding",
+            addEntry("Cipher.AES/OFB/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESOFBNoPadding");
 
             /* NIST AES-OFB algorithm aliases with key sizes */
-            put("Alg.Alias.Cipher.AES_128/OFB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_128/OFB/NoPadding",
                 "AES/OFB/NoPadding");
-            put("Alg.Alias.Cipher.AES_192/OFB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_192/OFB/NoPadding",
                 "AES/OFB/NoPadding");
-            put("Alg.Alias.Cipher.AES_256/OFB/NoPadding",
+            addEntry("Alg.Alias.Cipher.AES_256/OFB/NoPadding",
                 "AES/OFB/NoPadding");
 
             /* NIST AES-OFB OID aliases */
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.3",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.3",
                 "AES/OFB/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.23",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.23",
                 "AES/OFB/NoPadding");
-            put("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.43",
+            addEntry("Alg.Alias.Cipher.2.16.840.1.101.3.4.1.43",
                 "AES/OFB/NoPadding");
         }
         if (FeatureDetect.AesGcmEnabled()) {
-            put("Cipher.AES/GCM/NoPadding",
+            addEntry("Cipher.AES/GCM/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESGCMNoPadding");
 
             /* GCM Algorithm Parameters */
-            put("AlgorithmParameters.GCM",
+            addEntry("AlgorithmParameters.GCM",
                 "com.wolfssl.provider.jce.WolfCryptGcmParameters");
             /* Alias for AES-GCM */
-            put("Alg.Alias.AlgorithmParameters.AES-GCM", "GCM");
+            addEntry("Alg.Alias.AlgorithmParameters.AES-GCM", "GCM");
         }
         if (FeatureDetect.AesCcmEnabled()) {
-            put("Cipher.AES/CCM/NoPadding",
+            addEntry("Cipher.AES/CCM/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESCCMNoPadding");
         }
         if (FeatureDetect.AesCtsEnabled()) {
-            put("Cipher.AES/CTS/NoPadding",
+            addEntry("Cipher.AES/CTS/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcAESCTSNoPadding");
         }
 
+        /* ChaCha20-Poly1305, not a FIPS approved algorithm */
+        if (!Fips.enabled && FeatureDetect.ChaCha20Poly1305Enabled()) {
+            addEntry("Cipher.ChaCha20-Poly1305",
+                "com.wolfssl.provider.jce.WolfCryptChaCha20Poly1305Cipher");
+            addEntry("Alg.Alias.Cipher.1.2.840.113549.1.9.16.3.18",
+                "ChaCha20-Poly1305");
+        }
+
         if (FeatureDetect.Des3Enabled()) {
-            put("Cipher.DESede/CBC/NoPadding",
+            addEntry("Cipher.DESede/CBC/NoPadding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcDESedeCBCNoPadding");
         }
 
         if (FeatureDetect.RsaEnabled()) {
-            put("Cipher.RSA",
+            addEntry("Cipher.RSA",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcRSAECBPKCS1Padding");
-            put("Cipher.RSA/ECB/PKCS1Padding",
+            addEntry("Cipher.RSA/ECB/PKCS1Padding",
                 "com.wolfssl.provider.jce.WolfCryptCipher$wcRSAECBPKCS1Padding");
 
             if (FeatureDetect.Sha256Enabled() &&
                 FeatureDetect.RsaOaepEnabled()) {
-                put("Cipher.RSA/ECB/OAEPWithSHA-256AndMGF1Padding",
+                addEntry("Cipher.RSA/ECB/OAEPWithSHA-256AndMGF1Padding",
                     "com.wolfssl.provider.jce.WolfCryptCipher$" +
                     "wcRSAECBOAEPSHA256Padding");
-                put("Alg.Alias.Cipher.RSA/ECB/OAEPWithSHA256AndMGF1Padding",
+                addEntry("Alg.Alias.Cipher.RSA/ECB/OAEPWithSHA256AndMGF1Padding",
                     "RSA/ECB/OAEPWithSHA-256AndMGF1Padding");
             }
 
             if (FeatureDetect.ShaEnabled() &&
                 FeatureDetect.RsaOaepEnabled()) {
-                put("Cipher.RSA/ECB/OAEPWithSHA-1AndMGF1Padding",
+                addEntry("Cipher.RSA/ECB/OAEPWithSHA-1AndMGF1Padding",
                     "com.wolfssl.provider.jce.WolfCryptCipher$" +
                     "wcRSAECBOAEPSHA1Padding");
-                put("Alg.Alias.Cipher.RSA/ECB/OAEPWithSHA1AndMGF1Padding",
+                addEntry("Alg.Alias.Cipher.RSA/ECB/OAEPWithSHA1AndMGF1Padding",
                     "RSA/ECB/OAEPWithSHA-1AndMGF1Padding");
             }
         }
 
         /* KeyAgreement */
         if (FeatureDetect.DhEnabled()) {
-            put("KeyAgreement.DiffieHellman",
+            addEntry("KeyAgreement.DiffieHellman",
                 "com.wolfssl.provider.jce.WolfCryptKeyAgreement$wcDH");
-            put("Alg.Alias.KeyAgreement.DH", "DiffieHellman");
+            addEntry("Alg.Alias.KeyAgreement.DH", "DiffieHellman");
 
             /* DH AlgorithmParameters */
-            put("AlgorithmParameters.DH",
+            addEntry("AlgorithmParameters.DH",
                 "com.wolfssl.provider.jce.WolfCryptDhParameters");
-            put("Alg.Alias.AlgorithmParameters.DiffieHellman", "DH");
+            addEntry("Alg.Alias.AlgorithmParameters.DiffieHellman", "DH");
 
             /* DH AlgorithmParameterGenerator */
-            put("AlgorithmParameterGenerator.DH",
+            addEntry("AlgorithmParameterGenerator.DH",
                 "com.wolfssl.provider.jce.WolfCryptDhParameterGenerator");
-            put("Alg.Alias.AlgorithmParameterGenerator.DiffieHellman", "DH");
+            addEntry("Alg.Alias.AlgorithmParameterGenerator.DiffieHellman", "DH");
         }
         if (FeatureDetect.EccDheEnabled()) {
-            put("KeyAgreement.ECDH",
+            addEntry("KeyAgreement.ECDH",
                 "com.wolfssl.provider.jce.WolfCryptKeyAgreement$wcECDH");
         }
+        /* XDH, X25519 only. Not a FIPS approved algorithm */
+        if (!Fips.enabled && FeatureDetect.Curve25519Enabled()) {
+            addEntry("KeyAgreement.XDH",
+                "com.wolfssl.provider.jce.WolfCryptKeyAgreement$wcXDH");
+            addEntry("Alg.Alias.KeyAgreement.X25519", "XDH");
+            addEntry("Alg.Alias.KeyAgreement.1.3.101.110", "XDH");
+            addEntry("Alg.Alias.KeyAgreement.OID.1.3.101.110", "XDH");
+        }
 
         /* KeyGenerator */
         if (FeatureDetect.AesEnabled()) {
-            put("KeyGenerator.AES",
+            addEntry("KeyGenerator.AES",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcAESKeyGenerator");
 
             /* AES Algorithm Parameters */
-            put("AlgorithmParameters.AES",
+            addEntry("AlgorithmParameters.AES",
                 "com.wolfssl.provider.jce.WolfCryptAesParameters");
         }
         if (FeatureDetect.HmacShaEnabled()) {
-            put("KeyGenerator.HmacSHA1",
+            addEntry("KeyGenerator.HmacSHA1",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha1KeyGenerator");
         }
         if (FeatureDetect.HmacSha224Enabled()) {
-            put("KeyGenerator.HmacSHA224",
+            addEntry("KeyGenerator.HmacSHA224",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha224KeyGenerator");
         }
         if (FeatureDetect.HmacSha256Enabled()) {
-            put("KeyGenerator.HmacSHA256",
+            addEntry("KeyGenerator.HmacSHA256",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha256KeyGenerator");
         }
         if (FeatureDetect.HmacSha384Enabled()) {
-            put("KeyGenerator.HmacSHA384",
+            addEntry("KeyGenerator.HmacSHA384",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha384KeyGenerator");
         }
         if (FeatureDetect.HmacSha512Enabled()) {
-            put("KeyGenerator.HmacSHA512",
+            addEntry("KeyGenerator.HmacSHA512",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha512KeyGenerator");
         }
         if (FeatureDetect.HmacSha3_224Enabled()) {
-            put("KeyGenerator.HmacSHA3-224",
+            addEntry("KeyGenerator.HmacSHA3-224",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha3_224KeyGenerator");
         }
         if (FeatureDetect.HmacSha3_256Enabled()) {
-            put("KeyGenerator.HmacSHA3-256",
+            addEntry("KeyGenerator.HmacSHA3-256",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha3_256KeyGenerator");
         }
         if (FeatureDetect.HmacSha3_384Enabled()) {
-            put("KeyGenerator.HmacSHA3-384",
+            addEntry("KeyGenerator.HmacSHA3-384",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha3_384KeyGenerator");
         }
         if (FeatureDetect.HmacSha3_512Enabled()) {
-            put("KeyGenerator.HmacSHA3-512",
+            addEntry("KeyGenerator.HmacSHA3-512",
                 "com.wolfssl.provider.jce.WolfCryptKeyGenerator$wcHMACSha3_512KeyGenerator");
         }
 
         /* KeyPairGenerator */
         if (FeatureDetect.RsaKeyGenEnabled()) {
-            put("KeyPairGenerator.RSA",
+            addEntry("KeyPairGenerator.RSA",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenRSA");
-            put("KeyPairGenerator.RSASSA-PSS",
+            addEntry("KeyPairGenerator.RSASSA-PSS",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenRSAPSS");
-            put("Alg.Alias.KeyPairGenerator.1.2.840.113549.1.1.10", "RSASSA-PSS");
+            addEntry("Alg.Alias.KeyPairGenerator.1.2.840.113549.1.1.10", "RSASSA-PSS");
         }
         if (FeatureDetect.EccKeyGenEnabled()) {
-            put("KeyPairGenerator.EC",
+            addEntry("KeyPairGenerator.EC",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenECC");
-            put("Alg.Alias.KeyPairGenerator.1.2.840.10045.2.1", "EC");
+            addEntry("Alg.Alias.KeyPairGenerator.1.2.840.10045.2.1", "EC");
         }
         if (FeatureDetect.DhEnabled()) {
-            put("KeyPairGenerator.DH",
+            addEntry("KeyPairGenerator.DH",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenDH");
-            put("Alg.Alias.KeyPairGenerator.DiffieHellman", "DH");
+            addEntry("Alg.Alias.KeyPairGenerator.DiffieHellman", "DH");
+        }
+        if (!Fips.enabled && FeatureDetect.Curve25519Enabled()) {
+            addEntry("KeyPairGenerator.XDH",
+                "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenXDH");
+            addEntry("Alg.Alias.KeyPairGenerator.X25519", "XDH");
+            addEntry("Alg.Alias.KeyPairGenerator.1.3.101.110", "XDH");
+            addEntry("Alg.Alias.KeyPairGenerator.OID.1.3.101.110", "XDH");
+        }
+        if (!Fips.enabled && FeatureDetect.Ed25519Enabled()) {
+            addEntry("KeyPairGenerator.EdDSA",
+                "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenEdDSA");
+            addEntry("Alg.Alias.KeyPairGenerator.Ed25519", "EdDSA");
+            addEntry("Alg.Alias.KeyPairGenerator.1.3.101.112", "EdDSA");
+            addEntry("Alg.Alias.KeyPairGenerator.OID.1.3.101.112", "EdDSA");
         }
         if (FeatureDetect.MlDsaEnabled()) {
             /* Generic alias: defaults to ML-DSA-65, level overridable via
              * initialize(NamedParameterSpec) / WolfPQCParameterSpec. */
-            put("KeyPairGenerator.ML-DSA",
+            addEntry("KeyPairGenerator.ML-DSA",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa");
 
             /* Per-level aliases */
-            put("KeyPairGenerator.ML-DSA-44",
+            addEntry("KeyPairGenerator.ML-DSA-44",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa44");
-            put("KeyPairGenerator.ML-DSA-65",
+            addEntry("KeyPairGenerator.ML-DSA-65",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa65");
-            put("KeyPairGenerator.ML-DSA-87",
+            addEntry("KeyPairGenerator.ML-DSA-87",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa87");
 
             /* OID aliases */
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.17",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.17",
                 "ML-DSA-44");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.17",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.17",
                 "ML-DSA-44");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.18",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.18",
                 "ML-DSA-65");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.18",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.18",
                 "ML-DSA-65");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.19",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.19",
                 "ML-DSA-87");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.19",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.19",
                 "ML-DSA-87");
         }
         if (FeatureDetect.SlhDsaKeyGenEnabled()) {
             /* Generic alias: defaults to SLH-DSA-SHA2-128f, parameter set
              * overridable via initialize(NamedParameterSpec). */
-            put("KeyPairGenerator.SLH-DSA",
+            addEntry("KeyPairGenerator.SLH-DSA",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsa");
 
-            put("KeyPairGenerator.SLH-DSA-SHA2-128s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-128s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_128s");
-            put("KeyPairGenerator.SLH-DSA-SHA2-128f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-128f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_128f");
-            put("KeyPairGenerator.SLH-DSA-SHA2-192s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-192s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_192s");
-            put("KeyPairGenerator.SLH-DSA-SHA2-192f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-192f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_192f");
-            put("KeyPairGenerator.SLH-DSA-SHA2-256s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-256s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_256s");
-            put("KeyPairGenerator.SLH-DSA-SHA2-256f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHA2-256f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_256f");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-128s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-128s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_128s");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-128f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-128f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_128f");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-192s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-192s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_192s");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-192f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-192f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_192f");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-256s",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-256s",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_256s");
-            put("KeyPairGenerator.SLH-DSA-SHAKE-256f",
+            addEntry("KeyPairGenerator.SLH-DSA-SHAKE-256f",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_256f");
 
             /* OID aliases (FIPS 205: 2.16.840.1.101.3.4.3.20-.31) */
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
         }
         if (FeatureDetect.MlKemEnabled()) {
             /* Generic alias: defaults to ML-KEM-768 */
-            put("KeyPairGenerator.ML-KEM",
+            addEntry("KeyPairGenerator.ML-KEM",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlKem");
-            put("KeyPairGenerator.ML-KEM-512",
+            addEntry("KeyPairGenerator.ML-KEM-512",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlKem512");
-            put("KeyPairGenerator.ML-KEM-768",
+            addEntry("KeyPairGenerator.ML-KEM-768",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlKem768");
-            put("KeyPairGenerator.ML-KEM-1024",
+            addEntry("KeyPairGenerator.ML-KEM-1024",
                 "com.wolfssl.provider.jce.WolfCryptKeyPairGenerator$wcKeyPairGenMlKem1024");
             /* OID aliases (RFC 9935, arc 2.16.840.1.101.3.4.4) */
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.1",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.1",
                 "ML-KEM-512");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.1",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.1",
                 "ML-KEM-512");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.2",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.2",
                 "ML-KEM-768");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.2",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.2",
                 "ML-KEM-768");
-            put("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.3",
+            addEntry("Alg.Alias.KeyPairGenerator.2.16.840.1.101.3.4.4.3",
                 "ML-KEM-1024");
-            put("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.3",
+            addEntry("Alg.Alias.KeyPairGenerator.OID.2.16.840.1.101.3.4.4.3",
                 "ML-KEM-1024");
         }
 
 
         /* CertPathValidator */
-        put("CertPathValidator.PKIX",
+        addEntry("CertPathValidator.PKIX",
                 "com.wolfssl.provider.jce.WolfCryptPKIXCertPathValidator");
 
         /* CertPathBuilder requires wolfSSL 5.8.0 or later */
         if (WolfSSLX509StoreCtx.isSupported()) {
-            put("CertPathBuilder.PKIX",
+            addEntry("CertPathBuilder.PKIX",
                     "com.wolfssl.provider.jce.WolfCryptPKIXCertPathBuilder");
         }
 
         /* SecretKeyFactory */
         if (FeatureDetect.Pbkdf2Enabled()) {
             if (FeatureDetect.HmacShaEnabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA1",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA1",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA1");
             }
             if (FeatureDetect.HmacSha224Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA224",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA224",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA224");
             }
             if (FeatureDetect.HmacSha256Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA256",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA256",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA256");
             }
             if (FeatureDetect.HmacSha384Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA384",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA384",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA384");
             }
             if (FeatureDetect.HmacSha512Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA512",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA512",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA512");
             }
             if (FeatureDetect.HmacSha3_224Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA3-224",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA3-224",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_224");
             }
             if (FeatureDetect.HmacSha3_256Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA3-256",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA3-256",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_256");
             }
             if (FeatureDetect.HmacSha3_384Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA3-384",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA3-384",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_384");
             }
             if (FeatureDetect.HmacSha3_512Enabled()) {
-                put("SecretKeyFactory.PBKDF2WithHmacSHA3-512",
+                addEntry("SecretKeyFactory.PBKDF2WithHmacSHA3-512",
                     "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_512");
             }
         }
         if (FeatureDetect.AesEnabled()) {
-            put("SecretKeyFactory.AES",
+            addEntry("SecretKeyFactory.AES",
                 "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcAES");
         }
         if (FeatureDetect.Des3Enabled() && !Fips.enabled) {
-            put("SecretKeyFactory.DESede",
+            addEntry("SecretKeyFactory.DESede",
                 "com.wolfssl.provider.jce.WolfCryptSecretKeyFactory$wcDESede");
         }
 
         /* KeyFactory */
         if (FeatureDetect.EccEnabled()) {
-            put("KeyFactory.EC",
+            addEntry("KeyFactory.EC",
                 "com.wolfssl.provider.jce.WolfCryptECKeyFactory");
-            put("Alg.Alias.KeyFactory.1.2.840.10045.2.1", "EC");
-            put("Alg.Alias.KeyFactory.OID.1.2.840.10045.2.1", "EC");
+            addEntry("Alg.Alias.KeyFactory.1.2.840.10045.2.1", "EC");
+            addEntry("Alg.Alias.KeyFactory.OID.1.2.840.10045.2.1", "EC");
         }
         if (FeatureDetect.DhEnabled()) {
-            put("KeyFactory.DH",
+            addEntry("KeyFactory.DH",
                 "com.wolfssl.provider.jce.WolfCryptDHKeyFactory");
-            put("Alg.Alias.KeyFactory.DiffieHellman", "DH");
-            put("Alg.Alias.KeyFactory.1.2.840.113549.1.3.1", "DH");
+            addEntry("Alg.Alias.KeyFactory.DiffieHellman", "DH");
+            addEntry("Alg.Alias.KeyFactory.1.2.840.113549.1.3.1", "DH");
+        }
+        if (!Fips.enabled && FeatureDetect.Curve25519Enabled()) {
+            addEntry("KeyFactory.XDH",
+                "com.wolfssl.provider.jce.WolfCryptXdhKeyFactory");
+            addEntry("Alg.Alias.KeyFactory.X25519", "XDH");
+            addEntry("Alg.Alias.KeyFactory.1.3.101.110", "XDH");
+            addEntry("Alg.Alias.KeyFactory.OID.1.3.101.110", "XDH");
+        }
+        if (!Fips.enabled && FeatureDetect.Ed25519Enabled()) {
+            addEntry("KeyFactory.EdDSA",
+                "com.wolfssl.provider.jce.WolfCryptEdDSAKeyFactory");
+            addEntry("Alg.Alias.KeyFactory.Ed25519", "EdDSA");
+            addEntry("Alg.Alias.KeyFactory.1.3.101.112", "EdDSA");
+            addEntry("Alg.Alias.KeyFactory.OID.1.3.101.112", "EdDSA");
         }
         /* RSA KeyFactory requires WOLFSSL_PUBLIC_MP for CRT key import */
         if (FeatureDetect.RsaEnabled() &&
             FeatureDetect.WolfSSLPublicMpEnabled()) {
-            put("KeyFactory.RSA",
+            addEntry("KeyFactory.RSA",
                 "com.wolfssl.provider.jce.WolfCryptRSAKeyFactory");
-            put("Alg.Alias.KeyFactory.1.2.840.113549.1.1.1", "RSA");
+            addEntry("Alg.Alias.KeyFactory.1.2.840.113549.1.1.1", "RSA");
         }
         if (FeatureDetect.MlDsaEnabled()) {
-            put("KeyFactory.ML-DSA",
+            addEntry("KeyFactory.ML-DSA",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaKeyFactory");
             /* Per-set factories reject keys of a different parameter set,
              * matching JDK 24+ SunJCE NamedKeyFactory behavior */
-            put("KeyFactory.ML-DSA-44",
+            addEntry("KeyFactory.ML-DSA-44",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaKeyFactory$wcMlDsa44");
-            put("KeyFactory.ML-DSA-65",
+            addEntry("KeyFactory.ML-DSA-65",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaKeyFactory$wcMlDsa65");
-            put("KeyFactory.ML-DSA-87",
+            addEntry("KeyFactory.ML-DSA-87",
                 "com.wolfssl.provider.jce.WolfCryptMlDsaKeyFactory$wcMlDsa87");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.17",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.17", "ML-DSA-44");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.17",
                 "ML-DSA-44");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.18",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.18", "ML-DSA-65");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.18",
                 "ML-DSA-65");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.19",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.19", "ML-DSA-87");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.19",
                 "ML-DSA-87");
         }
         if (FeatureDetect.SlhDsaEnabled()) {
-            put("KeyFactory.SLH-DSA",
+            addEntry("KeyFactory.SLH-DSA",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory");
 
-            put("KeyFactory.SLH-DSA-SHA2-128s",
+            addEntry("KeyFactory.SLH-DSA-SHA2-128s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_128s");
-            put("KeyFactory.SLH-DSA-SHA2-128f",
+            addEntry("KeyFactory.SLH-DSA-SHA2-128f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_128f");
-            put("KeyFactory.SLH-DSA-SHA2-192s",
+            addEntry("KeyFactory.SLH-DSA-SHA2-192s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_192s");
-            put("KeyFactory.SLH-DSA-SHA2-192f",
+            addEntry("KeyFactory.SLH-DSA-SHA2-192f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_192f");
-            put("KeyFactory.SLH-DSA-SHA2-256s",
+            addEntry("KeyFactory.SLH-DSA-SHA2-256s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_256s");
-            put("KeyFactory.SLH-DSA-SHA2-256f",
+            addEntry("KeyFactory.SLH-DSA-SHA2-256f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_256f");
-            put("KeyFactory.SLH-DSA-SHAKE-128s",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-128s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_128s");
-            put("KeyFactory.SLH-DSA-SHAKE-128f",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-128f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_128f");
-            put("KeyFactory.SLH-DSA-SHAKE-192s",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-192s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_192s");
-            put("KeyFactory.SLH-DSA-SHAKE-192f",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-192f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_192f");
-            put("KeyFactory.SLH-DSA-SHAKE-256s",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-256s",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_256s");
-            put("KeyFactory.SLH-DSA-SHAKE-256f",
+            addEntry("KeyFactory.SLH-DSA-SHAKE-256f",
                 "com.wolfssl.provider.jce.WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_256f");
 
             /* OID aliases (FIPS 205: 2.16.840.1.101.3.4.3.20-.31) */
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.20",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.20",
                 "SLH-DSA-SHA2-128s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.21",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.21",
                 "SLH-DSA-SHA2-128f");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.22",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.22",
                 "SLH-DSA-SHA2-192s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.23",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.23",
                 "SLH-DSA-SHA2-192f");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.24",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.24",
                 "SLH-DSA-SHA2-256s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.25",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.25",
                 "SLH-DSA-SHA2-256f");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.26",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.26",
                 "SLH-DSA-SHAKE-128s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.27",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.27",
                 "SLH-DSA-SHAKE-128f");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.28",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.28",
                 "SLH-DSA-SHAKE-192s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.29",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.29",
                 "SLH-DSA-SHAKE-192f");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.30",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.30",
                 "SLH-DSA-SHAKE-256s");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.31",
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.3.31",
                 "SLH-DSA-SHAKE-256f");
         }
         if (FeatureDetect.MlKemEnabled()) {
-            put("KeyFactory.ML-KEM",
+            addEntry("KeyFactory.ML-KEM",
                 "com.wolfssl.provider.jce.WolfCryptMlKemKeyFactory");
-            put("KeyFactory.ML-KEM-512",
+            addEntry("KeyFactory.ML-KEM-512",
                 "com.wolfssl.provider.jce.WolfCryptMlKemKeyFactory$wcMlKem512");
-            put("KeyFactory.ML-KEM-768",
+            addEntry("KeyFactory.ML-KEM-768",
                 "com.wolfssl.provider.jce.WolfCryptMlKemKeyFactory$wcMlKem768");
-            put("KeyFactory.ML-KEM-1024",
+            addEntry("KeyFactory.ML-KEM-1024",
                 "com.wolfssl.provider.jce.WolfCryptMlKemKeyFactory$wcMlKem1024");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.1",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.1",
                 "ML-KEM-512");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.2",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.2",
                 "ML-KEM-768");
-            put("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
-            put("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.3",
+            addEntry("Alg.Alias.KeyFactory.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
+            addEntry("Alg.Alias.KeyFactory.OID.2.16.840.1.101.3.4.4.3",
                 "ML-KEM-1024");
         }
 
@@ -1149,20 +1241,20 @@ public final class WolfCryptProvider extends Provider {
             try {
                 Class.forName("javax.crypto.KEMSpi");
                 Class.forName("com.wolfssl.provider.jce.WolfCryptMlKemKem");
-                put("KEM.ML-KEM",
+                addEntry("KEM.ML-KEM",
                     "com.wolfssl.provider.jce.WolfCryptMlKemKem");
-                put("KEM.ML-KEM-512",
+                addEntry("KEM.ML-KEM-512",
                     "com.wolfssl.provider.jce.WolfCryptMlKemKem$wcMlKem512");
-                put("KEM.ML-KEM-768",
+                addEntry("KEM.ML-KEM-768",
                     "com.wolfssl.provider.jce.WolfCryptMlKemKem$wcMlKem768");
-                put("KEM.ML-KEM-1024",
+                addEntry("KEM.ML-KEM-1024",
                     "com.wolfssl.provider.jce.WolfCryptMlKemKem$wcMlKem1024");
-                put("Alg.Alias.KEM.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
-                put("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
-                put("Alg.Alias.KEM.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
-                put("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
-                put("Alg.Alias.KEM.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
-                put("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
+                addEntry("Alg.Alias.KEM.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
+                addEntry("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.1", "ML-KEM-512");
+                addEntry("Alg.Alias.KEM.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
+                addEntry("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.2", "ML-KEM-768");
+                addEntry("Alg.Alias.KEM.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
+                addEntry("Alg.Alias.KEM.OID.2.16.840.1.101.3.4.4.3", "ML-KEM-1024");
             } catch (Throwable t) {
                 /* JDK < 21 or KEMSpi class excluded from build, skip KEM */
             }
@@ -1173,43 +1265,42 @@ public final class WolfCryptProvider extends Provider {
          * implementation handles both, the parameter set is derived from the
          * encoded public key. */
         if (FeatureDetect.XmssEnabled()) {
-            put("KeyFactory.XMSS",
+            addEntry("KeyFactory.XMSS",
                 "com.wolfssl.provider.jce.WolfCryptXmssKeyFactory");
-            put("KeyFactory.XMSSMT",
+            addEntry("KeyFactory.XMSSMT",
                 "com.wolfssl.provider.jce.WolfCryptXmssKeyFactory");
 
             /* OID aliases (RFC 9802: id-alg-xmss-hashsig 1.3.6.1.5.5.7.6.34,
              * id-alg-xmssmt-hashsig 1.3.6.1.5.5.7.6.35) */
-            put("Alg.Alias.KeyFactory.1.3.6.1.5.5.7.6.34", "XMSS");
-            put("Alg.Alias.KeyFactory.OID.1.3.6.1.5.5.7.6.34", "XMSS");
-            put("Alg.Alias.KeyFactory.1.3.6.1.5.5.7.6.35", "XMSSMT");
-            put("Alg.Alias.KeyFactory.OID.1.3.6.1.5.5.7.6.35", "XMSSMT");
+            addEntry("Alg.Alias.KeyFactory.1.3.6.1.5.5.7.6.34", "XMSS");
+            addEntry("Alg.Alias.KeyFactory.OID.1.3.6.1.5.5.7.6.34", "XMSS");
+            addEntry("Alg.Alias.KeyFactory.1.3.6.1.5.5.7.6.35", "XMSSMT");
+            addEntry("Alg.Alias.KeyFactory.OID.1.3.6.1.5.5.7.6.35", "XMSSMT");
         }
 
         /* LMS / HSS (RFC 8554) KeyFactory (verify-only). X.509 public-key
          * handling only, private keys are not supported. */
         if (FeatureDetect.LmsEnabled()) {
-            put("KeyFactory.LMS",
+            addEntry("KeyFactory.LMS",
                 "com.wolfssl.provider.jce.WolfCryptLmsKeyFactory");
-            put("Alg.Alias.KeyFactory.HSS/LMS", "LMS");
-            put("Alg.Alias.KeyFactory.1.2.840.113549.1.9.16.3.17", "LMS");
-            put("Alg.Alias.KeyFactory.OID.1.2.840.113549.1.9.16.3.17", "LMS");
+            addEntry("Alg.Alias.KeyFactory.HSS/LMS", "LMS");
+            addEntry("Alg.Alias.KeyFactory.1.2.840.113549.1.9.16.3.17", "LMS");
+            addEntry("Alg.Alias.KeyFactory.OID.1.2.840.113549.1.9.16.3.17", "LMS");
         }
 
         /* KeyStore */
-        put("KeyStore.WKS",
+        addEntry("KeyStore.WKS",
                 "com.wolfssl.provider.jce.WolfSSLKeyStore");
 
         /* Fake mapping of JKS to WKS type. Use with caution! This is
          * usually used when FIPS compliance is needed but code cannot be
          * changed that creates a JKS KeyStore object type. Any files loaded
          * into this fake JKS KeyStore MUST be of actual type WKS or failures
-         * will happen. Remove service first here in case of refresh. */
-        remove("KeyStore.JKS");
+         * will happen. */
         mapJksToWks = Security.getProperty("wolfjce.mapJKStoWKS");
         if (mapJksToWks != null && !mapJksToWks.isEmpty() &&
             mapJksToWks.equalsIgnoreCase("true")) {
-            put("KeyStore.JKS",
+            addEntry("KeyStore.JKS",
                 "com.wolfssl.provider.jce.WolfSSLKeyStore");
         }
 
@@ -1217,18 +1308,21 @@ public final class WolfCryptProvider extends Provider {
          * usually used when FIPS compliance is needed but code cannot be
          * changed that creates a JKS KeyStore object type. Any files loaded
          * into this fake JKS KeyStore MUST be of actual type WKS or failures
-         * will happen. Remove service first here in case of refresh. */
-        remove("KeyStore.PKCS12");
+         * will happen. */
         mapPkcs12ToWks = Security.getProperty("wolfjce.mapPKCS12toWKS");
         if (mapPkcs12ToWks != null && !mapPkcs12ToWks.isEmpty() &&
             mapPkcs12ToWks.equalsIgnoreCase("true")) {
-            put("KeyStore.PKCS12",
+            addEntry("KeyStore.PKCS12",
                 "com.wolfssl.provider.jce.WolfSSLKeyStore");
         }
 
         /* Unregister PQC parameter sets not compiled into native wolfSSL */
         removeUnsupportedPQCParamSets();
 
+        /* Register entries above as Provider.Service objects */
+        putServices();
+        pendingEntries = null;
+
         /* If using a FIPS version of wolfCrypt, allow private key to be
          * exported for use. Only applicable to FIPS 140-3 */
         if (Fips.enabled) {
@@ -1236,6 +1330,115 @@ public final class WolfCryptProvider extends Provider {
         }
     }
 
+    /**
+     * Add service entry to be registered by putServices(). Entries use the
+     * same String format as legacy Provider.put() registration:
+     *     Type.algorithm = implementation class name
+     *     Type.algorithm AttributeName = attribute value
+     *     Alg.Alias.Type.alias = algorithm
+     *
+     * @param name entry name
+     * @param value entry value
+     */
+    private void addEntry(String name, String value) {
+        pendingEntries.put(name, value);
+    }
+
+    /**
+     * Remove service entry added with addEntry() before it is registered.
+     *
+     * @param name entry name
+     */
+    private void removeEntry(String name) {
+        pendingEntries.remove(name);
+    }
+
+    /**
+     * Register entries added with addEntry() as WolfCryptService objects
+     * using putService().
+     *
+     * Services registered through legacy Provider.put() are parsed by the
+     * JDK on lookup and constructed through reflection on every
+     * getInstance() call. WolfCryptService objects carry their aliases and
+     * attributes directly and construct SPI classes without reflection.
+     * Services are registered in the order they were added, which the JDK
+     * uses to pick the default SecureRandom algorithm.
+     */
+    private void putServices() {
+
+        /* "Type.algorithm" to implementation class name, in added order */
+        Map<String, String> classNames = new LinkedHashMap<String, String>();
+        /* Upper case "Type.ALGORITHM" to aliases and attributes */
+        Map<String, List<String>> aliases =
+            new HashMap<String, List<String>>();
+        Map<String, Map<String, String>> attributes =
+            new HashMap<String, Map<String, String>>();
+        int count = 0;
+
+        for (Map.Entry<String, String> entry : pendingEntries.entrySet()) {
+            String name = entry.getKey();
+            String value = entry.getValue();
+
+            if (name.startsWith("Alg.Alias.")) {
+                String typeAlias = name.substring("Alg.Alias.".length());
+                int dot = typeAlias.indexOf('.');
+                String key = serviceKey(typeAlias.substring(0, dot), value);
+                List<String> list = aliases.get(key);
+                if (list == null) {
+                    list = new ArrayList<String>();
+                    aliases.put(key, list);
+                }
+                list.add(typeAlias.substring(dot + 1));
+            }
+            else {
+                int dot = name.indexOf('.');
+                int space = name.indexOf(' ');
+                if (space > dot) {
+                    String key = serviceKey(name.substring(0, dot),
+                        name.substring(dot + 1, space));
+                    Map<String, String> attrs = attributes.get(key);
+                    if (attrs == null) {
+                        attrs = new HashMap<String, String>();
+                        attributes.put(key, attrs);
+                    }
+                    attrs.put(name.substring(space + 1), value);
+                }
+                else {
+                    classNames.put(name, value);
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> entry : classNames.entrySet()) {
+            String name = entry.getKey();
+            int dot = name.indexOf('.');
+            String type = name.substring(0, dot);
+            String alg = name.substring(dot + 1);
+            String key = serviceKey(type, alg);
+
+            putService(new WolfCryptService(this, type, alg,
+                entry.getValue(), aliases.get(key), attributes.get(key)));
+            count++;
+        }
+
+        final int total = count;
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "Registered " + total + " services");
+    }
+
+    /**
+     * Build case insensitive lookup key for a service, matching how the JDK
+     * resolves legacy aliases and attributes to algorithm names.
+     *
+     * @param type service type (ex: "Cipher")
+     * @param algorithm algorithm name
+     *
+     * @return lookup key
+     */
+    private static String serviceKey(String type, String algorithm) {
+        return type + "." + algorithm.toUpperCase(Locale.ENGLISH);
+    }
+
     /**
      * Remove services for PQC parameter sets that are not compiled into
      * the native wolfSSL library.
@@ -1288,10 +1491,10 @@ public final class WolfCryptProvider extends Provider {
          * set when not explicitly initialized, remove them when that default
          * is not available */
         if (!FeatureDetect.MlDsaLevelEnabled(MlDsa.ML_DSA_65)) {
-            remove("KeyPairGenerator.ML-DSA");
+            removeEntry("KeyPairGenerator.ML-DSA");
         }
         if (!FeatureDetect.SlhDsaParamEnabled(SlhDsa.SLH_DSA_SHA2_128F)) {
-            remove("KeyPairGenerator.SLH-DSA");
+            removeEntry("KeyPairGenerator.SLH-DSA");
         }
     }
 
@@ -1303,37 +1506,30 @@ public final class WolfCryptProvider extends Provider {
      */
     private void removeParamSetServices(String paramSet) {
 
-        List<Object> toRemove = new ArrayList<Object>();
+        List<String> toRemove = new ArrayList<String>();
 
-        for (Map.Entry<Object, Object> entry : entrySet()) {
-            Object k = entry.getKey();
-            if (!(k instanceof String)) {
-                continue;
-            }
-            String name = (String)k;
+        for (Map.Entry<String, String> entry : pendingEntries.entrySet()) {
+            String name = entry.getKey();
 
             /* Service registrations (Signature. / KeyPairGenerator. /
              * KeyFactory.) and pre-hash signature variants */
             if (name.endsWith("." + paramSet) ||
                 name.contains("." + paramSet + "-WITH-")) {
-                toRemove.add(k);
+                toRemove.add(name);
                 continue;
             }
 
             /* Aliases resolving to this parameter set */
             if (name.startsWith("Alg.Alias.")) {
-                Object v = entry.getValue();
-                if (v instanceof String &&
-                    (((String)v).equals(paramSet) ||
-                     ((String)v).startsWith(paramSet + "-WITH-"))) {
-                    toRemove.add(k);
+                String v = entry.getValue();
+                if (v.equals(paramSet) || v.startsWith(paramSet + "-WITH-")) {
+                    toRemove.add(name);
                 }
             }
         }
 
-        for (Object k : toRemove) {
-            remove(k);
+        for (String k : toRemove) {
+            removeEntry(k);
         }
     }
 }
-
@@ -61,6 +61,10 @@ public class WolfCryptRSAPrivateCrtKey implements RSAPrivateCrtKey,
      * deserialization. */
     private transient Object stateLock = new Object();
 
+    /** Native Rsa decoded from encoded key, created on first use by
+     * engine classes and shared between them */
+    private transient WolfCryptNativeKey<Rsa> nativeKey = null;
+
     /**
      * Create new WolfCryptRSAPrivateCrtKey from DER-encoded PKCS#8 data.
      *
@@ -376,6 +380,71 @@ public class WolfCryptRSAPrivateCrtKey implements RSAPrivateCrtKey,
             () -> "[RSA PrivateKey] " + msg);
     }
 
+    /**
+     * Get a reference to the native Rsa key decoded from this key,
+     * decoding it on first call.
+     *
+     * Lets engine classes reuse the decoded key instead of calling
+     * getEncoded() and decoding the PKCS#8 private key on every init. Callers
+     * must call release() on the returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be decoded natively
+     */
+    WolfCryptNativeKey<Rsa> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Rsa rsa = decodeNativeKey();
+                if (rsa == null) {
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Rsa>(rsa,
+                    this::decodeNativeKey);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    /**
+     * Decode a new native Rsa key from this key. Used for the shared
+     * native key and for copies handed to concurrent engines by
+     * WolfCryptNativeKey.take().
+     *
+     * @return new native key owned by the caller, or null if this key has
+     *         been destroyed or could not be decoded natively
+     */
+    private Rsa decodeNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.encoded == null) {
+                return null;
+            }
+
+            Rsa rsa = null;
+            try {
+                rsa = new Rsa();
+                rsa.decodePrivateKeyPKCS8(this.encoded);
+            } catch (WolfCryptException e) {
+                log("native key decode failed: " + e.getMessage());
+                if (rsa != null) {
+                    rsa.releaseNativeStruct();
+                }
+                return null;
+            }
+
+            return rsa;
+        }
+    }
+
     @Override
     public String getAlgorithm() {
         return "RSA";
@@ -490,6 +559,12 @@ public class WolfCryptRSAPrivateCrtKey implements RSAPrivateCrtKey,
                 primeExponentP = null;
                 primeExponentQ = null;
                 crtCoefficient = null;
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
                 destroyed = true;
             }
         }
@@ -22,34 +22,99 @@
 package com.wolfssl.provider.jce;
 
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.IOException;
 import java.security.SecureRandomSpi;
+import java.security.Security;
+import java.util.Arrays;
 
 import com.wolfssl.wolfcrypt.Rng;
 
 /**
  * wolfCrypt JCE RNG/SecureRandom wrapper
+ *
+ * This class is registered with the ThreadSafe attribute, so the JDK does
+ * not serialize calls into a shared SecureRandom object. Random data is
+ * generated from a native DRBG owned by the calling thread, so concurrent
+ * callers of one SecureRandom object do not contend on a single native
+ * Rng. Per-thread DRBG instances are shared by all WolfCryptRandom objects
+ * used on that thread, and are freed when the thread exits.
+ *
+ * Optional buffered mode is enabled by setting the
+ * "wolfjce.securerandom.bufferSize" Security property to a positive number
+ * of bytes. When enabled, small nextBytes() requests (up to half the buffer
+ * size) are served from a per-thread buffer that is refilled with one large
+ * native generate call, avoiding a JNI call per small request such as an IV
+ * or nonce. Bytes are zeroized in the buffer once handed out. Buffered mode
+ * is disabled by default, since unused random bytes remain in Java heap
+ * memory until consumed. generateSeed() is never buffered.
  */
 public final class WolfCryptRandom extends SecureRandomSpi {
 
     private static final long serialVersionUID = 1L;
 
-    /** Internal reference to wolfCrypt JNI RNG object.
-     * Marked as transient since this is not serializable. When class
-     * is reloaded, this object will be initialized back to null. */
-    private transient Rng rng = null;
+    /** Security property used to enable buffered mode */
+    static final String BUFFER_SIZE_PROPERTY =
+        "wolfjce.securerandom.bufferSize";
+
+    /** Per-thread native DRBG and optional refill buffer */
+    private static final ThreadLocal<ThreadState> threadState =
+        new ThreadLocal<ThreadState>() {
+            @Override
+            protected ThreadState initialValue() {
+                return new ThreadState();
+            }
+        };
+
+    /** Buffered mode refill size in bytes, 0 if buffered mode is off.
+     * Read from Security property at object creation and after
+     * deserialization. */
+    private transient int bufferSize = 0;
 
     /**
      * Create new WolfCryptRandom object
      */
     public WolfCryptRandom() {
-        checkRngInitialized();
-        log("initialized new object");
+        this.bufferSize = readBufferSize();
+        log("initialized new object, buffer size: " + this.bufferSize);
+    }
+
+    /**
+     * Read buffered mode size from "wolfjce.securerandom.bufferSize"
+     * Security property.
+     *
+     * @return buffer size in bytes, capped at Rng.RNG_MAX_BLOCK_LEN, or 0
+     *         if buffered mode is disabled
+     */
+    private int readBufferSize() {
+
+        int size = 0;
+        String prop = Security.getProperty(BUFFER_SIZE_PROPERTY);
+
+        if (prop != null && !prop.isEmpty()) {
+            try {
+                size = Integer.parseInt(prop.trim());
+                if (size < 0) {
+                    log(BUFFER_SIZE_PROPERTY + " (" + size + ") is " +
+                        "negative, disabling buffered mode");
+                    size = 0;
+                }
+                else if (size > Rng.RNG_MAX_BLOCK_LEN) {
+                    log(BUFFER_SIZE_PROPERTY + " (" + size + ") larger " +
+                        "than max, using " + Rng.RNG_MAX_BLOCK_LEN);
+                    size = Rng.RNG_MAX_BLOCK_LEN;
+                }
+            } catch (NumberFormatException e) {
+                log("error parsing " + BUFFER_SIZE_PROPERTY + " property, " +
+                    "disabling buffered mode");
+                size = 0;
+            }
+        }
+
+        return size;
     }
 
     @Override
-    protected synchronized byte[] engineGenerateSeed(int numBytes)
+    protected byte[] engineGenerateSeed(int numBytes)
         throws IllegalArgumentException {
 
         if (numBytes == 0) {
@@ -66,25 +131,28 @@ public final class WolfCryptRandom extends SecureRandomSpi {
                 Rng.RNG_MAX_BLOCK_LEN);
         }
 
-        checkRngInitialized();
-
-        return rng.generateBlock(numBytes);
+        return threadState.get().getRng().generateBlock(numBytes);
     }
 
     @Override
-    protected synchronized void engineNextBytes(byte[] bytes) {
+    protected void engineNextBytes(byte[] bytes) {
 
         if (bytes == null) {
             throw new NullPointerException("Input byte[] should not be null");
         }
 
-        checkRngInitialized();
+        ThreadState ts = threadState.get();
 
-        rng.generateBlock(bytes);
+        if (this.bufferSize > 0 && bytes.length <= (this.bufferSize / 2)) {
+            ts.nextBuffered(bytes, this.bufferSize);
+        }
+        else {
+            ts.getRng().generateBlock(bytes);
+        }
     }
 
     @Override
-    protected synchronized void engineSetSeed(byte[] seed) {
+    protected void engineSetSeed(byte[] seed) {
 
         if (seed == null) {
             throw new NullPointerException("Input seed[] should not be null");
@@ -95,64 +163,16 @@ public final class WolfCryptRandom extends SecureRandomSpi {
 
     }
 
-    /**
-     * Initialize the RNG if needed (null). This handles cases where the object
-     * was created through deserialization, reflection, etc. and the
-     * constructor was not called.
-     */
-    private void checkRngInitialized() {
-        if (this.rng == null) {
-            this.rng = new Rng();
-            this.rng.init();
-        }
-    }
-
     private void log(String msg) {
         WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO, () -> msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected synchronized void finalize() throws Throwable {
-        try {
-
-            if (this.rng != null) {
-                this.rng.free();
-                this.rng.releaseNativeStruct();
-            }
-
-        } finally {
-            super.finalize();
-        }
-    }
-
-    /**
-     * Called when object is being serialized.
-     *
-     * Since Rng class variable is transient, we want to free that memory
-     * before serializaing.
-     *
-     * @param out output stream written to during serialization of this object
-     *
-     * @throws IOException on error writing to ObjectOutputStream
-     */
-    private synchronized void writeObject(ObjectOutputStream out)
-        throws IOException {
-
-        if (this.rng != null) {
-            this.rng.free();
-            this.rng.releaseNativeStruct();
-            this.rng = null;
-        }
-
-        out.defaultWriteObject();
-    }
-
     /**
      * Called when object is being deserialized.
      *
-     * When loading back in, we want to instantiate the Rng class variable
-     * again.
+     * Buffered mode size is transient, re-read it from the Security
+     * property when loading back in. Native DRBG state is per-thread and
+     * not part of this object.
      *
      * @param in input stream read during deserialization of this object
      * @throws IOException on error reading from ObjectInputStream
@@ -163,7 +183,56 @@ public final class WolfCryptRandom extends SecureRandomSpi {
 
         in.defaultReadObject();
 
-        checkRngInitialized();
+        this.bufferSize = readBufferSize();
+    }
+
+    /**
+     * Native DRBG and refill buffer owned by a single thread.
+     *
+     * Only accessed by the owning thread through threadState, so no
+     * locking is needed here. Rng native memory is released by the
+     * garbage collector after the owning thread exits.
+     */
+    private static final class ThreadState {
+
+        private Rng rng = null;
+        private byte[] buf = null;
+        private int pos = 0;
+
+        private Rng getRng() {
+            if (this.rng == null) {
+                this.rng = new Rng();
+                this.rng.init();
+            }
+            return this.rng;
+        }
+
+        /**
+         * Fill out with bytes from refill buffer, refilling buffer with
+         * one native generate call when not enough bytes remain.
+         *
+         * @param out output array, length must be at most size
+         * @param size refill buffer size to use
+         */
+        private void nextBuffered(byte[] out, int size) {
+
+            if (this.buf == null || this.buf.length != size) {
+                if (this.buf != null) {
+                    Arrays.fill(this.buf, (byte)0);
+                }
+                this.buf = new byte[size];
+                this.pos = size;
+            }
+
+            if ((this.buf.length - this.pos) < out.length) {
+                getRng().generateBlock(this.buf);
+                this.pos = 0;
+            }
+
+            System.arraycopy(this.buf, this.pos, out, 0, out.length);
+            Arrays.fill(this.buf, this.pos, this.pos + out.length, (byte)0);
+            this.pos += out.length;
+        }
     }
 
     @Override
@@ -0,0 +1,292 @@
+/* WolfCryptRngPool.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.Security;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.wolfssl.wolfcrypt.Rng;
+
+/**
+ * Provider-wide striped pool of native Rng (DRBG) objects shared by wolfJCE
+ * engine classes.
+ *
+ * Instantiating a native DRBG reads OS entropy and runs the DRBG
+ * instantiate function, which is costly relative to a single small signing
+ * or encapsulation operation. Engine objects such as Signature, Cipher,
+ * KeyPairGenerator and KEM obtain an Rng from get() instead of creating
+ * their own, and hand it back with release() when the engine is freed.
+ *
+ * The pool holds a fixed number of stripes, each an initialized Rng. Stripes
+ * are handed out round-robin, so one shared Rng may be referenced by many
+ * engine objects across threads. Native WC_RNG structures are not thread
+ * safe, so callers MUST synchronize on the returned Rng object around every
+ * native operation that uses it (this is the same monitor used by the
+ * synchronized Rng.generateBlock() methods).
+ *
+ * Reseed policy: each stripe counts how many times it has been handed out.
+ * Once a stripe has been handed out "wolfjce.rng.poolReseedInterval" times,
+ * or has been alive longer than "wolfjce.rng.poolReseedSeconds", it is
+ * replaced by a freshly instantiated Rng seeded from new OS entropy. Setting
+ * either property to 0 disables that trigger. Engines already holding the
+ * retired Rng keep using it, and its native memory is released once it is
+ * no longer referenced. Native wolfCrypt Hash_DRBG reseeding per SP 800-90A
+ * still happens independently inside each Rng.
+ *
+ * The number of stripes is read once from the "wolfjce.rng.poolSize"
+ * Security property. Setting it to 0 disables pooling, in which case get()
+ * returns a new Rng owned by the caller, matching previous behavior.
+ *
+ * Holding a stripe monitor blocks every other engine sharing that stripe,
+ * so stripes should only be locked around short DRBG use such as
+ * generateBlock(). Long-running native operations that consume randomness
+ * throughout (RSA/ECC/DH/ML-DSA/SLH-DSA key generation, RSA private key
+ * operations, SLH-DSA signing, ML-KEM encapsulation) instead use
+ * threadRng(), which returns an Rng private to the calling thread that
+ * needs no locking. The per-thread Rng follows the same reseed policy as
+ * the stripes.
+ */
+final class WolfCryptRngPool {
+
+    /** Security property used to set number of pool stripes */
+    static final String POOL_SIZE_PROPERTY = "wolfjce.rng.poolSize";
+
+    /** Security property used to set stripe reseed interval, in handouts */
+    static final String RESEED_INTERVAL_PROPERTY =
+        "wolfjce.rng.poolReseedInterval";
+
+    /** Security property used to set maximum stripe age, in seconds */
+    static final String RESEED_SECONDS_PROPERTY =
+        "wolfjce.rng.poolReseedSeconds";
+
+    /** Maximum number of pool stripes */
+    static final int MAX_POOL_SIZE = 64;
+
+    /** Default number of handouts before a stripe is re-instantiated */
+    static final int DEFAULT_RESEED_INTERVAL = 4096;
+
+    /** Default maximum stripe age in seconds before re-instantiation */
+    static final int DEFAULT_RESEED_SECONDS = 3600;
+
+    /* Pool stripes, each stripe Rng is instantiated lazily */
+    private static final Stripe[] stripes;
+
+    /* Stripe reseed policy, read once at class initialization */
+    private static final int reseedInterval;
+    private static final long reseedNanos;
+
+    /* Round-robin stripe selector */
+    private static final AtomicInteger next = new AtomicInteger(0);
+
+    /* Per-thread Rng holder used by threadRng(), native memory of a thread's
+     * Rng is released once the thread exits and it is no longer referenced */
+    private static final ThreadLocal<Stripe> threadStripes =
+        new ThreadLocal<Stripe>() {
+            @Override
+            protected Stripe initialValue() {
+                return new Stripe();
+            }
+        };
+
+    static {
+        int size = readIntProperty(POOL_SIZE_PROPERTY,
+            Math.min(Runtime.getRuntime().availableProcessors(),
+                     MAX_POOL_SIZE));
+        if (size > MAX_POOL_SIZE) {
+            log(POOL_SIZE_PROPERTY + " (" + size + ") larger than max, " +
+                "using " + MAX_POOL_SIZE);
+            size = MAX_POOL_SIZE;
+        }
+
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        reseedInterval = readIntProperty(RESEED_INTERVAL_PROPERTY,
+            DEFAULT_RESEED_INTERVAL);
+        reseedNanos = readIntProperty(RESEED_SECONDS_PROPERTY,
+            DEFAULT_RESEED_SECONDS) * 1000000000L;
+
+        log("pool size: " + size + ", reseed interval: " + reseedInterval +
+            ", reseed seconds: " + (reseedNanos / 1000000000L));
+    }
+
+    private WolfCryptRngPool() {
+    }
+
+    /**
+     * Read non-negative integer Security property, falling back to
+     * default value if not set or invalid.
+     *
+     * @param name Security property name
+     * @param defaultVal value to use if property is not set or invalid
+     *
+     * @return property value, or defaultVal
+     */
+    private static int readIntProperty(String name, int defaultVal) {
+
+        int val = defaultVal;
+        String prop = Security.getProperty(name);
+
+        if (prop != null && !prop.isEmpty()) {
+            try {
+                val = Integer.parseInt(prop.trim());
+                if (val < 0) {
+                    log(name + " (" + val + ") is negative, using default");
+                    val = defaultVal;
+                }
+            } catch (NumberFormatException e) {
+                log("error parsing " + name + " property, " +
+                    "using default instead");
+            }
+        }
+
+        return val;
+    }
+
+    /**
+     * Get an initialized Rng for use by a wolfJCE engine object.
+     *
+     * If pooling is enabled the returned Rng is shared, and callers must
+     * synchronize on it around each native operation that uses it. Callers
+     * should pass the Rng to release() when done instead of freeing it
+     * directly.
+     *
+     * @return initialized Rng
+     */
+    static Rng get() {
+
+        Rng rng;
+
+        if (stripes.length == 0) {
+            rng = new Rng();
+            rng.init();
+            return rng;
+        }
+
+        int idx = (next.getAndIncrement() & Integer.MAX_VALUE) %
+            stripes.length;
+
+        return stripes[idx].get();
+    }
+
+    /**
+     * Get an initialized Rng private to the calling thread.
+     *
+     * Intended for long-running native operations, so they do not hold a
+     * shared stripe monitor for their whole duration. The returned Rng is
+     * only used by the calling thread, so callers do not need to
+     * synchronize on it, but must not use it past the current operation or
+     * from another thread. It should not be passed to release().
+     *
+     * This is available whether or not stripe pooling is enabled.
+     *
+     * @return initialized Rng owned by the calling thread
+     */
+    static Rng threadRng() {
+        return threadStripes.get().get();
+    }
+
+    /**
+     * Release an Rng obtained from get().
+     *
+     * Shared pooled and per-thread Rng objects are left alone, any Rng owned
+     * by the caller (returned when pooling is disabled) is freed.
+     *
+     * @param rng Rng obtained from get(), may be null
+     */
+    static void release(Rng rng) {
+
+        if (rng == null || rng instanceof PooledRng) {
+            return;
+        }
+
+        rng.free();
+        rng.releaseNativeStruct();
+    }
+
+    /**
+     * Get number of pool stripes.
+     *
+     * @return stripe count, 0 if pooling is disabled
+     */
+    static int getPoolSize() {
+        return stripes.length;
+    }
+
+    /**
+     * Rng subclass used to mark shared pooled and per-thread instances, so
+     * release() knows not to free them.
+     */
+    private static final class PooledRng extends Rng {
+        private PooledRng() {
+            super();
+        }
+    }
+
+    /**
+     * Single pool stripe, holding current Rng and reseed bookkeeping. Also
+     * used as the per-thread holder behind threadRng().
+     */
+    private static final class Stripe {
+
+        private PooledRng rng = null;
+        private int handouts = 0;
+        private long createdNanos = 0;
+
+        private synchronized Rng get() {
+
+            if (rng != null &&
+                ((reseedInterval > 0 && handouts >= reseedInterval) ||
+                 (reseedNanos > 0 &&
+                  (System.nanoTime() - createdNanos) >= reseedNanos))) {
+                /* Retire current Rng. Engines may still hold it, native
+                 * memory is released once it is no longer referenced. */
+                rng = null;
+                log("re-instantiating pooled Rng stripe");
+            }
+
+            if (rng == null) {
+                PooledRng tmp = new PooledRng();
+                tmp.init();
+                rng = tmp;
+                handouts = 0;
+                createdNanos = System.nanoTime();
+            }
+
+            handouts++;
+
+            return rng;
+        }
+    }
+
+    /**
+     * Internal log function, called when debug is enabled.
+     *
+     * @param msg Log message to be printed
+     */
+    private static void log(String msg) {
+        WolfCryptDebug.log(WolfCryptRngPool.class, WolfCryptDebug.INFO,
+            () -> "[RngPool] " + msg);
+    }
+}
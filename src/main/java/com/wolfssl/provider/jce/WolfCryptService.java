@@ -0,0 +1,491 @@
+/* WolfCryptService.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider.Service used for all algorithms registered by WolfCryptProvider.
+ *
+ * The default Provider.Service.newInstance() looks up the implementation
+ * class by name and calls its constructor through reflection on every
+ * getInstance() call. WolfCryptService constructs wolfJCE SPI classes
+ * directly instead, falling back to the default reflective path only for
+ * classes not known at compile time (ex: JDK 21+ only KEM classes) or when
+ * a constructor parameter is given.
+ *
+ * Aliases and attributes are passed in once at registration time, so the
+ * JDK never needs to parse legacy String entries for wolfJCE services.
+ */
+final class WolfCryptService extends Provider.Service {
+
+    private static final String PKG = "com.wolfssl.provider.jce.";
+
+    /**
+     * Create new WolfCryptService.
+     *
+     * @param provider provider offering this service
+     * @param type service type (ex: "Cipher")
+     * @param algorithm standard algorithm name
+     * @param className implementation class name
+     * @param aliases list of aliases, or null if none
+     * @param attributes map of attributes, or null if none
+     */
+    WolfCryptService(Provider provider, String type, String algorithm,
+        String className, List<String> aliases,
+        Map<String, String> attributes) {
+
+        super(provider, type, algorithm, className, aliases, attributes);
+    }
+
+    @Override
+    public Object newInstance(Object constructorParameter)
+        throws NoSuchAlgorithmException {
+
+        Object spi;
+
+        if (constructorParameter != null) {
+            /* No wolfJCE SPI takes a constructor parameter, let default
+             * implementation do type checking and error reporting */
+            return super.newInstance(constructorParameter);
+        }
+
+        try {
+            spi = newSpi(getClassName());
+
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            /* Match exception thrown by default reflective path */
+            throw new NoSuchAlgorithmException(
+                "Error constructing implementation (algorithm: " +
+                getAlgorithm() + ", provider: " + getProvider().getName() +
+                ", class: " + getClassName() + ")", e);
+        }
+
+        if (spi == null) {
+            return super.newInstance(constructorParameter);
+        }
+
+        return spi;
+    }
+
+    /**
+     * Construct wolfJCE SPI object for the given class name.
+     *
+     * @param className implementation class name
+     *
+     * @return new SPI object, or null if className is not known here and
+     *         should be constructed via reflection instead
+     *
+     * @throws NoSuchAlgorithmException if SPI constructor fails
+     */
+    private static Object newSpi(String className)
+        throws NoSuchAlgorithmException {
+
+        switch (className) {
+            case PKG + "WolfCryptAesParameters":
+                return new WolfCryptAesParameters();
+            case PKG + "WolfCryptChaCha20Poly1305Cipher":
+                return new WolfCryptChaCha20Poly1305Cipher();
+            case PKG + "WolfCryptCipher$wcAESCBCNoPadding":
+                return new WolfCryptCipher.wcAESCBCNoPadding();
+            case PKG + "WolfCryptCipher$wcAESCBCPKCS5Padding":
+                return new WolfCryptCipher.wcAESCBCPKCS5Padding();
+            case PKG + "WolfCryptCipher$wcAESCCMNoPadding":
+                return new WolfCryptCipher.wcAESCCMNoPadding();
+            case PKG + "WolfCryptCipher$wcAESCTRNoPadding":
+                return new WolfCryptCipher.wcAESCTRNoPadding();
+            case PKG + "WolfCryptCipher$wcAESCTSNoPadding":
+                return new WolfCryptCipher.wcAESCTSNoPadding();
+            case PKG + "WolfCryptCipher$wcAESECBNoPadding":
+                return new WolfCryptCipher.wcAESECBNoPadding();
+            case PKG + "WolfCryptCipher$wcAESECBPKCS5Padding":
+                return new WolfCryptCipher.wcAESECBPKCS5Padding();
+            case PKG + "WolfCryptCipher$wcAESGCMNoPadding":
+                return new WolfCryptCipher.wcAESGCMNoPadding();
+            case PKG + "WolfCryptCipher$wcAESOFBNoPadding":
+                return new WolfCryptCipher.wcAESOFBNoPadding();
+            case PKG + "WolfCryptCipher$wcDESedeCBCNoPadding":
+                return new WolfCryptCipher.wcDESedeCBCNoPadding();
+            case PKG + "WolfCryptCipher$wcRSAECBOAEPSHA1Padding":
+                return new WolfCryptCipher.wcRSAECBOAEPSHA1Padding();
+            case PKG + "WolfCryptCipher$wcRSAECBOAEPSHA256Padding":
+                return new WolfCryptCipher.wcRSAECBOAEPSHA256Padding();
+            case PKG + "WolfCryptCipher$wcRSAECBPKCS1Padding":
+                return new WolfCryptCipher.wcRSAECBPKCS1Padding();
+            case PKG + "WolfCryptDHKeyFactory":
+                return new WolfCryptDHKeyFactory();
+            case PKG + "WolfCryptDhParameterGenerator":
+                return new WolfCryptDhParameterGenerator();
+            case PKG + "WolfCryptDhParameters":
+                return new WolfCryptDhParameters();
+            case PKG + "WolfCryptECKeyFactory":
+                return new WolfCryptECKeyFactory();
+            case PKG + "WolfCryptEdDSAKeyFactory":
+                return new WolfCryptEdDSAKeyFactory();
+            case PKG + "WolfCryptEdDSASignature":
+                return new WolfCryptEdDSASignature();
+            case PKG + "WolfCryptGcmParameters":
+                return new WolfCryptGcmParameters();
+            case PKG + "WolfCryptKeyAgreement$wcDH":
+                return new WolfCryptKeyAgreement.wcDH();
+            case PKG + "WolfCryptKeyAgreement$wcECDH":
+                return new WolfCryptKeyAgreement.wcECDH();
+            case PKG + "WolfCryptKeyAgreement$wcXDH":
+                return new WolfCryptKeyAgreement.wcXDH();
+            case PKG + "WolfCryptKeyGenerator$wcAESKeyGenerator":
+                return new WolfCryptKeyGenerator.wcAESKeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha1KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha1KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha224KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha224KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha256KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha256KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha384KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha384KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha3_224KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha3_224KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha3_256KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha3_256KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha3_384KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha3_384KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha3_512KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha3_512KeyGenerator();
+            case PKG + "WolfCryptKeyGenerator$wcHMACSha512KeyGenerator":
+                return new WolfCryptKeyGenerator.wcHMACSha512KeyGenerator();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenDH":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenDH();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenECC":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenECC();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenEdDSA":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenEdDSA();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlDsa();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa44":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlDsa44();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa65":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlDsa65();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlDsa87":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlDsa87();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlKem":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlKem();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlKem1024":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlKem1024();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlKem512":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlKem512();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenMlKem768":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenMlKem768();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenRSA":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenRSA();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenRSAPSS":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenRSAPSS();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsa":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsa();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_128f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_128f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_128s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_128s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_192f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_192f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_192s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_192s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_256f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_256f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaSha2_256s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaSha2_256s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_128f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_128f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_128s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_128s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_192f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_192f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_192s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_192s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_256f":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_256f();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenSlhDsaShake_256s":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenSlhDsaShake_256s();
+            case PKG + "WolfCryptKeyPairGenerator$wcKeyPairGenXDH":
+                return new WolfCryptKeyPairGenerator.wcKeyPairGenXDH();
+            case PKG + "WolfCryptLmsKeyFactory":
+                return new WolfCryptLmsKeyFactory();
+            case PKG + "WolfCryptLmsSignature":
+                return new WolfCryptLmsSignature();
+            case PKG + "WolfCryptMac$wcAesCmac":
+                return new WolfCryptMac.wcAesCmac();
+            case PKG + "WolfCryptMac$wcAesGmac":
+                return new WolfCryptMac.wcAesGmac();
+            case PKG + "WolfCryptMac$wcHmacMD5":
+                return new WolfCryptMac.wcHmacMD5();
+            case PKG + "WolfCryptMac$wcHmacSHA1":
+                return new WolfCryptMac.wcHmacSHA1();
+            case PKG + "WolfCryptMac$wcHmacSHA224":
+                return new WolfCryptMac.wcHmacSHA224();
+            case PKG + "WolfCryptMac$wcHmacSHA256":
+                return new WolfCryptMac.wcHmacSHA256();
+            case PKG + "WolfCryptMac$wcHmacSHA384":
+                return new WolfCryptMac.wcHmacSHA384();
+            case PKG + "WolfCryptMac$wcHmacSHA3_224":
+                return new WolfCryptMac.wcHmacSHA3_224();
+            case PKG + "WolfCryptMac$wcHmacSHA3_256":
+                return new WolfCryptMac.wcHmacSHA3_256();
+            case PKG + "WolfCryptMac$wcHmacSHA3_384":
+                return new WolfCryptMac.wcHmacSHA3_384();
+            case PKG + "WolfCryptMac$wcHmacSHA3_512":
+                return new WolfCryptMac.wcHmacSHA3_512();
+            case PKG + "WolfCryptMac$wcHmacSHA512":
+                return new WolfCryptMac.wcHmacSHA512();
+            case PKG + "WolfCryptMessageDigestMd5":
+                return new WolfCryptMessageDigestMd5();
+            case PKG + "WolfCryptMessageDigestSha":
+                return new WolfCryptMessageDigestSha();
+            case PKG + "WolfCryptMessageDigestSha224":
+                return new WolfCryptMessageDigestSha224();
+            case PKG + "WolfCryptMessageDigestSha256":
+                return new WolfCryptMessageDigestSha256();
+            case PKG + "WolfCryptMessageDigestSha3$wcSHA3_224":
+                return new WolfCryptMessageDigestSha3.wcSHA3_224();
+            case PKG + "WolfCryptMessageDigestSha3$wcSHA3_256":
+                return new WolfCryptMessageDigestSha3.wcSHA3_256();
+            case PKG + "WolfCryptMessageDigestSha3$wcSHA3_384":
+                return new WolfCryptMessageDigestSha3.wcSHA3_384();
+            case PKG + "WolfCryptMessageDigestSha3$wcSHA3_512":
+                return new WolfCryptMessageDigestSha3.wcSHA3_512();
+            case PKG + "WolfCryptMessageDigestSha384":
+                return new WolfCryptMessageDigestSha384();
+            case PKG + "WolfCryptMessageDigestSha512":
+                return new WolfCryptMessageDigestSha512();
+            case PKG + "WolfCryptMessageDigestTree$wcSHA256Tree":
+                return new WolfCryptMessageDigestTree.wcSHA256Tree();
+            case PKG + "WolfCryptMessageDigestTree$wcSHA3_256Tree":
+                return new WolfCryptMessageDigestTree.wcSHA3_256Tree();
+            case PKG + "WolfCryptMessageDigestTree$wcSHA512Tree":
+                return new WolfCryptMessageDigestTree.wcSHA512Tree();
+            case PKG + "WolfCryptMlDsaKeyFactory":
+                return new WolfCryptMlDsaKeyFactory();
+            case PKG + "WolfCryptMlDsaKeyFactory$wcMlDsa44":
+                return new WolfCryptMlDsaKeyFactory.wcMlDsa44();
+            case PKG + "WolfCryptMlDsaKeyFactory$wcMlDsa65":
+                return new WolfCryptMlDsaKeyFactory.wcMlDsa65();
+            case PKG + "WolfCryptMlDsaKeyFactory$wcMlDsa87":
+                return new WolfCryptMlDsaKeyFactory.wcMlDsa87();
+            case PKG + "WolfCryptMlDsaSignature$wcMlDsa":
+                return new WolfCryptMlDsaSignature.wcMlDsa();
+            case PKG + "WolfCryptMlDsaSignature$wcMlDsa44":
+                return new WolfCryptMlDsaSignature.wcMlDsa44();
+            case PKG + "WolfCryptMlDsaSignature$wcMlDsa65":
+                return new WolfCryptMlDsaSignature.wcMlDsa65();
+            case PKG + "WolfCryptMlDsaSignature$wcMlDsa87":
+                return new WolfCryptMlDsaSignature.wcMlDsa87();
+            case PKG + "WolfCryptMlKemKeyFactory":
+                return new WolfCryptMlKemKeyFactory();
+            case PKG + "WolfCryptMlKemKeyFactory$wcMlKem1024":
+                return new WolfCryptMlKemKeyFactory.wcMlKem1024();
+            case PKG + "WolfCryptMlKemKeyFactory$wcMlKem512":
+                return new WolfCryptMlKemKeyFactory.wcMlKem512();
+            case PKG + "WolfCryptMlKemKeyFactory$wcMlKem768":
+                return new WolfCryptMlKemKeyFactory.wcMlKem768();
+            case PKG + "WolfCryptPKIXCertPathBuilder":
+                return new WolfCryptPKIXCertPathBuilder();
+            case PKG + "WolfCryptPKIXCertPathValidator":
+                return new WolfCryptPKIXCertPathValidator();
+            case PKG + "WolfCryptPssParameters":
+                return new WolfCryptPssParameters();
+            case PKG + "WolfCryptRSAKeyFactory":
+                return new WolfCryptRSAKeyFactory();
+            case PKG + "WolfCryptRandom":
+                return new WolfCryptRandom();
+            case PKG + "WolfCryptSecretKeyFactory$wcAES":
+                return new WolfCryptSecretKeyFactory.wcAES();
+            case PKG + "WolfCryptSecretKeyFactory$wcDESede":
+                return new WolfCryptSecretKeyFactory.wcDESede();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA1":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA1();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA224":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA224();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA256":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA256();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA384":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA384();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_224":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA3_224();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_256":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA3_256();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_384":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA3_384();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA3_512":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA3_512();
+            case PKG + "WolfCryptSecretKeyFactory$wcPBKDF2WithHmacSHA512":
+                return new WolfCryptSecretKeyFactory.wcPBKDF2WithHmacSHA512();
+            case PKG + "WolfCryptSignature$wcMD5wRSA":
+                return new WolfCryptSignature.wcMD5wRSA();
+            case PKG + "WolfCryptSignature$wcRSAPSS":
+                return new WolfCryptSignature.wcRSAPSS();
+            case PKG + "WolfCryptSignature$wcSHA1wECDSA":
+                return new WolfCryptSignature.wcSHA1wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA1wRSA":
+                return new WolfCryptSignature.wcSHA1wRSA();
+            case PKG + "WolfCryptSignature$wcSHA224wECDSA":
+                return new WolfCryptSignature.wcSHA224wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA224wRSA":
+                return new WolfCryptSignature.wcSHA224wRSA();
+            case PKG + "WolfCryptSignature$wcSHA224wRSAPSS":
+                return new WolfCryptSignature.wcSHA224wRSAPSS();
+            case PKG + "WolfCryptSignature$wcSHA256wECDSA":
+                return new WolfCryptSignature.wcSHA256wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA256wECDSAP1363":
+                return new WolfCryptSignature.wcSHA256wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA256wRSA":
+                return new WolfCryptSignature.wcSHA256wRSA();
+            case PKG + "WolfCryptSignature$wcSHA256wRSAPSS":
+                return new WolfCryptSignature.wcSHA256wRSAPSS();
+            case PKG + "WolfCryptSignature$wcSHA384wECDSA":
+                return new WolfCryptSignature.wcSHA384wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA384wECDSAP1363":
+                return new WolfCryptSignature.wcSHA384wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA384wRSA":
+                return new WolfCryptSignature.wcSHA384wRSA();
+            case PKG + "WolfCryptSignature$wcSHA384wRSAPSS":
+                return new WolfCryptSignature.wcSHA384wRSAPSS();
+            case PKG + "WolfCryptSignature$wcSHA3_224wECDSA":
+                return new WolfCryptSignature.wcSHA3_224wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA3_224wRSA":
+                return new WolfCryptSignature.wcSHA3_224wRSA();
+            case PKG + "WolfCryptSignature$wcSHA3_256wECDSA":
+                return new WolfCryptSignature.wcSHA3_256wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA3_256wECDSAP1363":
+                return new WolfCryptSignature.wcSHA3_256wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA3_256wRSA":
+                return new WolfCryptSignature.wcSHA3_256wRSA();
+            case PKG + "WolfCryptSignature$wcSHA3_384wECDSA":
+                return new WolfCryptSignature.wcSHA3_384wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA3_384wECDSAP1363":
+                return new WolfCryptSignature.wcSHA3_384wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA3_384wRSA":
+                return new WolfCryptSignature.wcSHA3_384wRSA();
+            case PKG + "WolfCryptSignature$wcSHA3_512wECDSA":
+                return new WolfCryptSignature.wcSHA3_512wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA3_512wECDSAP1363":
+                return new WolfCryptSignature.wcSHA3_512wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA3_512wRSA":
+                return new WolfCryptSignature.wcSHA3_512wRSA();
+            case PKG + "WolfCryptSignature$wcSHA512wECDSA":
+                return new WolfCryptSignature.wcSHA512wECDSA();
+            case PKG + "WolfCryptSignature$wcSHA512wECDSAP1363":
+                return new WolfCryptSignature.wcSHA512wECDSAP1363();
+            case PKG + "WolfCryptSignature$wcSHA512wRSA":
+                return new WolfCryptSignature.wcSHA512wRSA();
+            case PKG + "WolfCryptSignature$wcSHA512wRSAPSS":
+                return new WolfCryptSignature.wcSHA512wRSAPSS();
+            case PKG + "WolfCryptSlhDsaKeyFactory":
+                return new WolfCryptSlhDsaKeyFactory();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_128f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_128f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_128s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_128s();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_192f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_192f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_192s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_192s();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_256f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_256f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaSha2_256s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaSha2_256s();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_128f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_128f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_128s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_128s();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_192f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_192f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_192s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_192s();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_256f":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_256f();
+            case PKG + "WolfCryptSlhDsaKeyFactory$wcSlhDsaShake_256s":
+                return new WolfCryptSlhDsaKeyFactory.wcSlhDsaShake_256s();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsa":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsa();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_128fWithSha256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_128fWithSha256();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_128sWithSha256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_128sWithSha256();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_192fWithSha512":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_192fWithSha512();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_192sWithSha512":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_192sWithSha512();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_256fWithSha512":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_256fWithSha512();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaSha2_256sWithSha512":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaSha2_256sWithSha512();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_128fWithShake128":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_128fWithShake128();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_128sWithShake128":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_128sWithShake128();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_192fWithShake256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_192fWithShake256();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_192sWithShake256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_192sWithShake256();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_256fWithShake256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_256fWithShake256();
+            case PKG + "WolfCryptSlhDsaSignature$wcHashSlhDsaShake_256sWithShake256":
+                return new WolfCryptSlhDsaSignature.wcHashSlhDsaShake_256sWithShake256();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsa":
+                return new WolfCryptSlhDsaSignature.wcSlhDsa();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_128f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_128f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_128s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_128s();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_192f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_192f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_192s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_192s();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_256f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_256f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaSha2_256s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaSha2_256s();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_128f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_128f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_128s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_128s();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_192f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_192f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_192s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_192s();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_256f":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_256f();
+            case PKG + "WolfCryptSlhDsaSignature$wcSlhDsaShake_256s":
+                return new WolfCryptSlhDsaSignature.wcSlhDsaShake_256s();
+            case PKG + "WolfCryptXdhKeyFactory":
+                return new WolfCryptXdhKeyFactory();
+            case PKG + "WolfCryptXmssKeyFactory":
+                return new WolfCryptXmssKeyFactory();
+            case PKG + "WolfCryptXmssSignature":
+                return new WolfCryptXmssSignature();
+            case PKG + "WolfSSLKeyStore":
+                return new WolfSSLKeyStore();
+            default:
+                return null;
+        }
+    }
+}
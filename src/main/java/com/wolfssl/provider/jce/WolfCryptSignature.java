@@ -22,6 +22,7 @@
 package com.wolfssl.provider.jce;
 
 import java.security.SignatureSpi;
+import java.security.Key;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.interfaces.RSAPrivateKey;
@@ -32,6 +33,7 @@ import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECParameterSpec;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 import java.security.InvalidKeyException;
 import java.security.SignatureException;
@@ -59,6 +61,7 @@ import com.wolfssl.wolfcrypt.Ecc;
 import com.wolfssl.wolfcrypt.Rng;
 import com.wolfssl.wolfcrypt.WolfCrypt;
 import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
 
 /**
  * wolfCrypt JCE Signature wrapper
@@ -107,6 +110,10 @@ public class WolfCryptSignature extends SignatureSpi {
     /** Internal Ecc object */
     protected Ecc ecc = null;
 
+    /* Holds the native key shared with a wolfJCE key object, released
+     * once this Signature becomes unreachable, see SignatureCleanup */
+    private final SignatureCleanup cleanup = new SignatureCleanup();
+
     /* internal hash objects */
     private Md5 md5 = null;
     private Sha sha = null;
@@ -129,7 +136,9 @@ public class WolfCryptSignature extends SignatureSpi {
     private String keyString;
     private String digestString;
 
-    /* Class-wide RNG to be used for padding during sign operations */
+    /* RNG set on native Ecc objects, obtained from WolfCryptRngPool and
+     * possibly shared with other engine objects. Sign operations use
+     * WolfCryptRngPool.threadRng() instead. */
     private Rng rng = null;
     private final Object rngLock = new Object();
 
@@ -149,11 +158,7 @@ public class WolfCryptSignature extends SignatureSpi {
     private WolfCryptSignature(KeyType ktype, DigestType dtype)
         throws NoSuchAlgorithmException {
 
-        this.keyType = ktype;
-        this.digestType = dtype;
-        this.paddingType = PaddingType.WC_PKCS1_V1_5;
-
-        init(ktype, dtype, this.paddingType);
+        this(ktype, dtype, PaddingType.WC_PKCS1_V1_5);
     }
 
     /**
@@ -174,6 +179,8 @@ public class WolfCryptSignature extends SignatureSpi {
     private WolfCryptSignature(KeyType ktype, DigestType dtype,
         PaddingType ptype) throws NoSuchAlgorithmException {
 
+        WolfCryptCleaner.register(this, this.cleanup);
+
         this.keyType = ktype;
         this.digestType = dtype;
         this.paddingType = ptype;
@@ -185,8 +192,7 @@ public class WolfCryptSignature extends SignatureSpi {
         } else if (ptype == PaddingType.WC_RSA_PSS) {
             /* Init RNG only, hash will be set and initialized via parameters */
             synchronized (rngLock) {
-                this.rng = new Rng();
-                this.rng.init();
+                this.rng = WolfCryptRngPool.get();
             }
         } else {
             throw new NoSuchAlgorithmException(
@@ -205,8 +211,7 @@ public class WolfCryptSignature extends SignatureSpi {
 
         synchronized (rngLock) {
             if (this.rng == null) {
-                this.rng = new Rng();
-                this.rng.init();
+                this.rng = WolfCryptRngPool.get();
             }
         }
 
@@ -313,6 +318,86 @@ public class WolfCryptSignature extends SignatureSpi {
             "wolfJCE does not support Signature.getParameter()");
     }
 
+    /**
+     * Release native key objects held by this engine. Native keys shared
+     * with a wolfJCE key object are released back to that key instead
+     * of being freed.
+     */
+    private void releaseKeyObjects() {
+
+        if (this.cleanup.rsaKey != null || this.cleanup.eccKey != null) {
+            this.cleanup.run();
+            this.rsa = null;
+            this.ecc = null;
+            return;
+        }
+
+        if (this.rsa != null) {
+            this.rsa.releaseNativeStruct();
+            this.rsa = null;
+        }
+        if (this.ecc != null) {
+            this.ecc.releaseNativeStruct();
+            this.ecc = null;
+        }
+    }
+
+    /**
+     * Release current native key objects, then try to borrow the native
+     * key already decoded by a wolfJCE key object.
+     *
+     * @param key PrivateKey or PublicKey passed to init
+     *
+     * The native key is taken from the shared one for use by this engine
+     * only, so Signature objects in other threads using the same key
+     * object do not wait on it.
+     *
+     * @return true if this.rsa or this.ecc now references a native key
+     *         taken from the shared one, false if caller needs to decode
+     *         the key itself
+     */
+    private boolean useNativeKey(Key key) {
+
+        WolfCryptNativeKey<Rsa> rsaKey = null;
+        WolfCryptNativeKey<Ecc> eccKey = null;
+
+        releaseKeyObjects();
+
+        switch (this.keyType) {
+            case WC_RSA:
+                if (key instanceof WolfCryptRSAPrivateCrtKey) {
+                    rsaKey = ((WolfCryptRSAPrivateCrtKey)key)
+                        .acquireNativeKey();
+                } else if (key instanceof WolfCryptRSAPublicKey) {
+                    rsaKey = ((WolfCryptRSAPublicKey)key).acquireNativeKey();
+                }
+                if (rsaKey == null) {
+                    return false;
+                }
+                this.cleanup.rsaKey = rsaKey;
+                this.cleanup.rsa = rsaKey.take();
+                this.rsa = this.cleanup.rsa;
+                return true;
+
+            case WC_ECDSA:
+                if (key instanceof WolfCryptECPrivateKey) {
+                    eccKey = ((WolfCryptECPrivateKey)key).acquireNativeKey();
+                } else if (key instanceof WolfCryptECPublicKey) {
+                    eccKey = ((WolfCryptECPublicKey)key).acquireNativeKey();
+                }
+                if (eccKey == null) {
+                    return false;
+                }
+                this.cleanup.eccKey = eccKey;
+                this.cleanup.ecc = eccKey.take();
+                this.ecc = this.cleanup.ecc;
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
     private void wolfCryptInitPrivateKey(PrivateKey key, byte[] encodedKey)
         throws InvalidKeyException {
 
@@ -438,6 +523,18 @@ public class WolfCryptSignature extends SignatureSpi {
             }
         }
 
+        /* reuse native key already decoded by wolfJCE key object */
+        if (useNativeKey(privateKey)) {
+            if (this.digestType == null) {
+                log("init sign with shared native key " +
+                    "(hash init deferred for PSS)");
+                return;
+            }
+            initHashObject();
+            log("init sign with shared native key");
+            return;
+        }
+
         /* get encoded key, returns PKCS#8 formatted private key */
         encodedKey = privateKey.getEncoded();
         if (encodedKey == null)
@@ -447,15 +544,9 @@ public class WolfCryptSignature extends SignatureSpi {
             /* initialize native struct */
             switch (keyType) {
                 case WC_RSA:
-                    if (this.rsa != null) {
-                        this.rsa.releaseNativeStruct();
-                    }
                     this.rsa = new Rsa();
                     break;
                 case WC_ECDSA:
-                    if (this.ecc != null) {
-                        this.ecc.releaseNativeStruct();
-                    }
                     synchronized (this.rngLock) {
                         this.ecc = new Ecc(this.rng);
                     }
@@ -549,6 +640,18 @@ public class WolfCryptSignature extends SignatureSpi {
             throw new InvalidKeyException("Key is not of type ECPublicKey");
         }
 
+        /* reuse native key already decoded by wolfJCE key object */
+        if (useNativeKey(publicKey)) {
+            if (this.digestType == null) {
+                log("init verify with shared native key " +
+                    "(hash init deferred for PSS)");
+                return;
+            }
+            initHashObject();
+            log("init verify with shared native key");
+            return;
+        }
+
         /* get encoded key, returns PKCS#8 formatted private key */
         encodedKey = publicKey.getEncoded();
         if (encodedKey == null)
@@ -557,15 +660,9 @@ public class WolfCryptSignature extends SignatureSpi {
         /* initialize native struct */
         switch (keyType) {
             case WC_RSA:
-                if (this.rsa != null) {
-                    this.rsa.releaseNativeStruct();
-                }
                 this.rsa = new Rsa();
                 break;
             case WC_ECDSA:
-                if (this.ecc != null) {
-                    this.ecc.releaseNativeStruct();
-                }
                 synchronized (this.rngLock) {
                     this.ecc = new Ecc(this.rng);
                 }
@@ -767,7 +864,9 @@ public class WolfCryptSignature extends SignatureSpi {
                 throw new SignatureException(e.getMessage());
             }
 
-            /* sign digest */
+            /* sign digest, RSA signing is long-running so use the calling
+             * thread's own Rng instead of locking a shared pool stripe */
+            Rng signRng = WolfCryptRngPool.threadRng();
             switch (this.keyType) {
                 case WC_RSA:
                     if (this.paddingType == PaddingType.WC_RSA_PSS) {
@@ -780,11 +879,9 @@ public class WolfCryptSignature extends SignatureSpi {
                             saltLen = this.digestSz;
                         }
 
-                        synchronized (rngLock) {
-                            signature = this.rsa.rsaPssSign(digest,
-                                digestTypeToHashType(this.digestType),
-                                mgfType, saltLen, this.rng);
-                        }
+                        signature = this.rsa.rsaPssSign(digest,
+                            digestTypeToHashType(this.digestType),
+                            mgfType, saltLen, signRng);
                     } else {
                         /* Existing PKCS#1 v1.5 signature code */
                         encodedSz = (int)Asn.encodeSignature(encDigest,
@@ -797,17 +894,14 @@ public class WolfCryptSignature extends SignatureSpi {
 
                         tmp = new byte[encodedSz];
                         System.arraycopy(encDigest, 0, tmp, 0, encodedSz);
-                        synchronized (rngLock) {
-                            signature = this.rsa.sign(tmp, this.rng);
-                        }
+                        signature = this.rsa.sign(tmp, signRng);
                     }
 
                     break;
 
                 case WC_ECDSA:
 
-                    /* Ecc.sign() internally has a rngLock unlike Rsa.sign() */
-                    signature = this.ecc.sign(digest, this.rng);
+                    signature = this.ecc.sign(digest, signRng);
 
                     break;
 
@@ -892,6 +986,58 @@ public class WolfCryptSignature extends SignatureSpi {
         log("update, offset: " + off + ", len: " + len);
     }
 
+    @Override
+    protected synchronized void engineUpdate(ByteBuffer data) {
+
+        /* Heap buffers use default SignatureSpi array based path. RSASSA-PSS
+         * without parameters set also goes that way, so error handling
+         * matches engineUpdate(byte[], int, int) above. */
+        if (!data.isDirect() || this.digestType == null) {
+            super.engineUpdate(data);
+            return;
+        }
+
+        int len = data.remaining();
+
+        /* Direct buffers are hashed by native wolfCrypt in place */
+        synchronized (hashLock) {
+            switch (this.digestType) {
+                case WC_MD5:
+                    this.md5.update(data);
+                    break;
+
+                case WC_SHA1:
+                    this.sha.update(data);
+                    break;
+
+                case WC_SHA224:
+                    this.sha224.update(data);
+                    break;
+
+                case WC_SHA256:
+                    this.sha256.update(data);
+                    break;
+
+                case WC_SHA384:
+                    this.sha384.update(data);
+                    break;
+
+                case WC_SHA512:
+                    this.sha512.update(data);
+                    break;
+
+                case WC_SHA3_224:
+                case WC_SHA3_256:
+                case WC_SHA3_384:
+                case WC_SHA3_512:
+                    this.sha3.update(data);
+                    break;
+            }
+        }
+
+        log("update with direct ByteBuffer, len: " + len);
+    }
+
     @Override
     protected synchronized boolean engineVerify(byte[] sigBytes)
         throws SignatureException {
@@ -1428,31 +1574,41 @@ public class WolfCryptSignature extends SignatureSpi {
             () -> "[" + keyString + "-" + digestString + "] " + msg);
     }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected synchronized void finalize() throws Throwable {
-        try {
-            /* free native digest objects */
-            releaseHashObjects();
-
-            /* free native key objects */
-            if (this.rsa != null)
-                this.rsa.releaseNativeStruct();
+    /**
+     * State cleaned up once a WolfCryptSignature becomes unreachable, in
+     * place of a finalizer. Registered with WolfCryptCleaner, so must not
+     * reference the Signature itself.
+     *
+     * Native hash and key objects owned by the Signature are freed by their
+     * own NativeStruct cleaner registration, and the pooled Rng is shared.
+     * This gives back the native key taken from, and the reference held
+     * on, a native key shared with a wolfJCE key object. Also used on
+     * re-init.
+     */
+    private static final class SignatureCleanup implements Runnable {
 
-            if (this.ecc != null)
-                this.ecc.releaseNativeStruct();  /* frees internally */
+        /* Native key shared with a wolfJCE key object, and the native key
+         * taken from it for this Signature. When set, the Signature rsa or
+         * ecc is borrowed and must not be freed directly */
+        private WolfCryptNativeKey<Rsa> rsaKey = null;
+        private Rsa rsa = null;
+        private WolfCryptNativeKey<Ecc> eccKey = null;
+        private Ecc ecc = null;
 
-            synchronized (rngLock) {
-                if (this.rng != null) {
-                    /* release RNG */
-                    this.rng.free();
-                    this.rng.releaseNativeStruct();
-                    this.rng = null;
-                }
+        @Override
+        public void run() {
+            if (this.rsaKey != null) {
+                this.rsaKey.put(this.rsa);
+                this.rsaKey.release();
+                this.rsaKey = null;
+                this.rsa = null;
+            }
+            if (this.eccKey != null) {
+                this.eccKey.put(this.ecc);
+                this.eccKey.release();
+                this.eccKey = null;
+                this.ecc = null;
             }
-
-        } finally {
-            super.finalize();
         }
     }
 
@@ -0,0 +1,417 @@
+/* WolfCryptSignatureBatch.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import com.wolfssl.wolfcrypt.Ecc;
+import com.wolfssl.wolfcrypt.MessageDigest;
+import com.wolfssl.wolfcrypt.MlDsa;
+import com.wolfssl.wolfcrypt.NativeStruct;
+import com.wolfssl.wolfcrypt.Sha;
+import com.wolfssl.wolfcrypt.Sha224;
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.Sha3;
+import com.wolfssl.wolfcrypt.Sha384;
+import com.wolfssl.wolfcrypt.Sha512;
+import com.wolfssl.wolfcrypt.WolfCryptError;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfJCE helper for verifying many signatures in one call.
+ *
+ * JCA Signature objects verify one signature per init/update/verify
+ * sequence. Applications checking large numbers of signatures (ex:
+ * certificate chains, signed log records, blockchain transactions) can
+ * use this class instead, which hands the whole batch to the wolfCrypt
+ * verifyBatch() APIs. Those cross JNI once per chunk of signatures and
+ * spread chunks across a worker pool.
+ *
+ * Supported algorithms are the wolfJCE ECDSA Signature names
+ * (ex: "SHA256withECDSA", "SHA3-256withECDSA") and ML-DSA ("ML-DSA",
+ * "ML-DSA-44", "ML-DSA-65", "ML-DSA-87", empty context). Signatures use
+ * the same encoding as the matching wolfJCE Signature service.
+ *
+ * Public keys may be wolfJCE key objects or any key of the matching type
+ * that supports X.509 encoding. wolfJCE EC keys share their already
+ * decoded native key. Other keys are decoded once per distinct key object
+ * in the batch.
+ */
+public final class WolfCryptSignatureBatch {
+
+    private static final String ECDSA_SUFFIX = "withECDSA";
+
+    private WolfCryptSignatureBatch() {
+    }
+
+    /**
+     * Verify a batch of signatures.
+     *
+     * Uses the common ForkJoinPool with one worker per available processor.
+     *
+     * @param algorithm Signature algorithm name
+     * @param keys public key for each signature, entries may repeat
+     * @param messages message for each signature
+     * @param signatures signatures to verify
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws NoSuchAlgorithmException if algorithm is not supported or
+     *         not compiled into native wolfCrypt
+     * @throws InvalidKeyException if a key cannot be used with algorithm
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     */
+    public static BitSet verify(String algorithm, PublicKey[] keys,
+        byte[][] messages, byte[][] signatures)
+        throws NoSuchAlgorithmException, InvalidKeyException,
+        IllegalArgumentException {
+
+        return verify(algorithm, keys, messages, signatures,
+            ForkJoinPool.commonPool(),
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Verify a batch of signatures.
+     *
+     * @param algorithm Signature algorithm name
+     * @param keys public key for each signature, entries may repeat
+     * @param messages message for each signature
+     * @param signatures signatures to verify
+     * @param pool ExecutorService used to run verify chunks, or null to
+     *        verify all signatures in the calling thread
+     * @param workers maximum number of chunks to verify in parallel
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws NoSuchAlgorithmException if algorithm is not supported or
+     *         not compiled into native wolfCrypt
+     * @throws InvalidKeyException if a key cannot be used with algorithm
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     */
+    public static BitSet verify(String algorithm, PublicKey[] keys,
+        byte[][] messages, byte[][] signatures, ExecutorService pool,
+        int workers) throws NoSuchAlgorithmException, InvalidKeyException,
+        IllegalArgumentException {
+
+        if (algorithm == null) {
+            throw new NoSuchAlgorithmException("Algorithm cannot be null");
+        }
+        if (keys == null || messages == null || signatures == null) {
+            throw new IllegalArgumentException(
+                "Batch key, message and signature arrays cannot be null");
+        }
+        if (keys.length != messages.length ||
+            keys.length != signatures.length) {
+            throw new IllegalArgumentException(
+                "Batch key, message and signature arrays must be " +
+                "same length");
+        }
+
+        try {
+            if (algorithm.regionMatches(true,
+                    algorithm.length() - ECDSA_SUFFIX.length(),
+                    ECDSA_SUFFIX, 0, ECDSA_SUFFIX.length())) {
+                return verifyEcdsa(algorithm, keys, messages, signatures,
+                    pool, workers);
+            }
+            if (algorithm.toUpperCase().startsWith("ML-DSA")) {
+                return verifyMlDsa(algorithm, keys, messages, signatures,
+                    pool, workers);
+            }
+        } catch (WolfCryptException e) {
+            if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                NoSuchAlgorithmException nsae = new NoSuchAlgorithmException(
+                    algorithm + " not compiled into native wolfCrypt");
+                nsae.initCause(e);
+                throw nsae;
+            }
+            throw e;
+        }
+
+        throw new NoSuchAlgorithmException(
+            "Batch verify not supported for algorithm: " + algorithm);
+    }
+
+    /**
+     * Hash each message, then verify with Ecc.verifyBatch().
+     */
+    private static BitSet verifyEcdsa(String algorithm, PublicKey[] keys,
+        byte[][] messages, byte[][] signatures, ExecutorService pool,
+        int workers) throws NoSuchAlgorithmException, InvalidKeyException {
+
+        String digest = algorithm.substring(0,
+            algorithm.length() - ECDSA_SUFFIX.length());
+        byte[][] hashes = new byte[messages.length][];
+        Ecc[] eccKeys = new Ecc[keys.length];
+        Map<PublicKey, Ecc> decoded = new IdentityHashMap<PublicKey, Ecc>();
+        List<WolfCryptNativeKey<?>> borrowed =
+            new ArrayList<WolfCryptNativeKey<?>>();
+        List<NativeStruct> owned = new ArrayList<NativeStruct>();
+
+        /* Fail on unknown digest before decoding any keys */
+        newDigest(digest).releaseNativeStruct();
+
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || messages[i] == null ||
+                    signatures[i] == null) {
+                    throw new IllegalArgumentException(
+                        "Batch entry " + i + " contains null element");
+                }
+
+                Ecc ecc = decoded.get(keys[i]);
+                if (ecc == null) {
+                    ecc = getEcc(keys[i], borrowed, owned);
+                    decoded.put(keys[i], ecc);
+                }
+                eccKeys[i] = ecc;
+            }
+
+            hashMessages(digest, messages, hashes);
+
+            return Ecc.verifyBatch(eccKeys, hashes, signatures, pool,
+                workers);
+
+        } finally {
+            for (WolfCryptNativeKey<?> k : borrowed) {
+                k.release();
+            }
+            for (NativeStruct k : owned) {
+                k.releaseNativeStruct();
+            }
+        }
+    }
+
+    /**
+     * Verify with MlDsa.verifyBatch() and an empty context.
+     */
+    private static BitSet verifyMlDsa(String algorithm, PublicKey[] keys,
+        byte[][] messages, byte[][] signatures, ExecutorService pool,
+        int workers) throws NoSuchAlgorithmException, InvalidKeyException {
+
+        int required = requiredMlDsaLevel(algorithm);
+        MlDsa[] mlDsaKeys = new MlDsa[keys.length];
+        Map<PublicKey, MlDsa> decoded =
+            new IdentityHashMap<PublicKey, MlDsa>();
+
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || messages[i] == null ||
+                    signatures[i] == null) {
+                    throw new IllegalArgumentException(
+                        "Batch entry " + i + " contains null element");
+                }
+
+                MlDsa k = decoded.get(keys[i]);
+                if (k == null) {
+                    k = getMlDsa(keys[i], required);
+                    decoded.put(keys[i], k);
+                }
+                mlDsaKeys[i] = k;
+            }
+
+            return MlDsa.verifyBatch(mlDsaKeys, messages, signatures, null,
+                pool, workers);
+
+        } finally {
+            for (MlDsa k : decoded.values()) {
+                k.releaseNativeStruct();
+            }
+        }
+    }
+
+    /**
+     * Get native Ecc for key, borrowing the decoded native key from
+     * wolfJCE EC keys when available.
+     */
+    private static Ecc getEcc(PublicKey key,
+        List<WolfCryptNativeKey<?>> borrowed, List<NativeStruct> owned)
+        throws InvalidKeyException {
+
+        if (key instanceof WolfCryptECPublicKey) {
+            WolfCryptNativeKey<Ecc> nk =
+                ((WolfCryptECPublicKey)key).acquireNativeKey();
+            if (nk != null) {
+                borrowed.add(nk);
+                return nk.get();
+            }
+        }
+
+        if (!(key instanceof ECPublicKey)) {
+            throw new InvalidKeyException(
+                "Key must be ECPublicKey for ECDSA: " + key.getClass());
+        }
+
+        byte[] der = key.getEncoded();
+        if (der == null) {
+            throw new InvalidKeyException("Key does not support encoding");
+        }
+
+        Ecc ecc = new Ecc();
+        owned.add(ecc);
+        try {
+            ecc.publicKeyDecode(der);
+        } catch (WolfCryptException e) {
+            throw new InvalidKeyException("Failed to decode EC public key", e);
+        }
+
+        return ecc;
+    }
+
+    /**
+     * Decode ML-DSA public key into new MlDsa, freed by caller.
+     */
+    private static MlDsa getMlDsa(PublicKey key, int required)
+        throws InvalidKeyException {
+
+        int level;
+        byte[] der;
+        MlDsa k = null;
+
+        if (key instanceof WolfCryptMlDsaPublicKey) {
+            level = ((WolfCryptMlDsaPublicKey)key).getLevel();
+            der = key.getEncoded();
+        }
+        else {
+            if (!"X.509".equalsIgnoreCase(key.getFormat())) {
+                throw new InvalidKeyException(
+                    "Unsupported PublicKey format for ML-DSA: " +
+                    key.getFormat());
+            }
+            der = key.getEncoded();
+            if (der == null || der.length == 0) {
+                throw new InvalidKeyException(
+                    "Cannot extract X.509 SPKI from PublicKey");
+            }
+            try {
+                level = MlDsa.parseAndValidateMlDsaPublicKeyDer(der);
+            } catch (WolfCryptException e) {
+                throw new InvalidKeyException(
+                    "Not a recognized ML-DSA X.509 SPKI key", e);
+            }
+        }
+
+        if (required != 0 && level != required) {
+            throw new InvalidKeyException(
+                "ML-DSA key parameter set " + MlDsa.getParamSetName(level) +
+                " does not match " + MlDsa.getParamSetName(required));
+        }
+
+        try {
+            k = new MlDsa(level);
+            k.importPublicKeyDer(der);
+        } catch (WolfCryptException e) {
+            if (k != null) {
+                k.releaseNativeStruct();
+            }
+            throw new InvalidKeyException(
+                "Failed to import ML-DSA public key", e);
+        }
+
+        return k;
+    }
+
+    /**
+     * Parameter set required by ML-DSA algorithm name, or 0 for any.
+     */
+    private static int requiredMlDsaLevel(String algorithm)
+        throws NoSuchAlgorithmException {
+
+        switch (algorithm.toUpperCase()) {
+            case "ML-DSA":
+                return 0;
+            case "ML-DSA-44":
+                return MlDsa.ML_DSA_44;
+            case "ML-DSA-65":
+                return MlDsa.ML_DSA_65;
+            case "ML-DSA-87":
+                return MlDsa.ML_DSA_87;
+            default:
+                throw new NoSuchAlgorithmException(
+                    "Batch verify not supported for algorithm: " +
+                    algorithm);
+        }
+    }
+
+    /**
+     * Hash each message with one reused digest object.
+     */
+    private static void hashMessages(String digest, byte[][] messages,
+        byte[][] hashes) throws NoSuchAlgorithmException {
+
+        MessageDigest md = newDigest(digest);
+        try {
+            for (int i = 0; i < messages.length; i++) {
+                md.init();
+                md.update(messages[i]);
+                hashes[i] = md.digest();
+            }
+        } finally {
+            md.releaseNativeStruct();
+        }
+    }
+
+    /**
+     * Create wolfCrypt digest object for the digest part of an ECDSA
+     * Signature algorithm name.
+     */
+    private static MessageDigest newDigest(String digest)
+        throws NoSuchAlgorithmException {
+
+        switch (digest.toUpperCase()) {
+            case "SHA1":
+                return new Sha();
+            case "SHA224":
+                return new Sha224();
+            case "SHA256":
+                return new Sha256();
+            case "SHA384":
+                return new Sha384();
+            case "SHA512":
+                return new Sha512();
+            case "SHA3-224":
+                return new Sha3(Sha3.TYPE_SHA3_224);
+            case "SHA3-256":
+                return new Sha3(Sha3.TYPE_SHA3_256);
+            case "SHA3-384":
+                return new Sha3(Sha3.TYPE_SHA3_384);
+            case "SHA3-512":
+                return new Sha3(Sha3.TYPE_SHA3_512);
+            default:
+                throw new NoSuchAlgorithmException(
+                    "Unsupported ECDSA digest for batch verify: " + digest);
+        }
+    }
+}
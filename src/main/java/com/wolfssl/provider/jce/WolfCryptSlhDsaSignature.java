@@ -91,9 +91,6 @@ public abstract class WolfCryptSlhDsaSignature extends SignatureSpi {
      * a streaming hash). */
     private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
 
-    /** Lazily-initialized RNG used for sign operations. */
-    private Rng rng = null;
-
     /**
      * Construct with the required SLH-DSA parameter set. {@link #PARAM_ANY}
      * means "any parameter set", used by the generic {@link wcSlhDsa} alias.
@@ -515,16 +512,6 @@ public abstract class WolfCryptSlhDsaSignature extends SignatureSpi {
         }
     }
 
-    private Rng getOrInitRng() {
-
-        if (this.rng == null) {
-            this.rng = new Rng();
-            this.rng.init();
-        }
-
-        return this.rng;
-    }
-
     @Override
     protected void engineInitVerify(PublicKey publicKey)
         throws InvalidKeyException {
@@ -588,13 +575,15 @@ public abstract class WolfCryptSlhDsaSignature extends SignatureSpi {
 
         try {
             byte[] msg = this.buffer.toByteArray();
+            /* SLH-DSA signing is slow, use the calling thread's own Rng
+             * instead of locking a shared pool stripe throughout */
+            Rng r = WolfCryptRngPool.threadRng();
 
             if (this.preHash) {
-                return this.key.signPreHash(msg, this.context,
-                    getOrInitRng());
+                return this.key.signPreHash(msg, this.context, r);
             }
 
-            return this.key.sign(msg, this.context, getOrInitRng());
+            return this.key.sign(msg, this.context, r);
         }
         catch (WolfCryptException e) {
             throw new SignatureException("SLH-DSA sign failed", e);
@@ -44,17 +44,10 @@ import java.security.interfaces.DSAPublicKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECParameterSpec;
 import java.security.spec.InvalidKeySpecException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Deque;
 import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 import javax.crypto.interfaces.DHPublicKey;
 
 import com.wolfssl.wolfcrypt.MlDsa;
@@ -75,6 +68,22 @@ public class WolfCryptUtil {
      */
     private static final int KEYSTORE_CHUNK_SIZE = 4 * 1024;
 
+    /**
+     * Delimiter used by decomposeAlgorithmName(), matches "with", "and", or
+     * "in" (case-insensitive), but not "in" when preceded by "padd" (as in
+     * "padding"). Uses negative lookbehind (?&lt;!padd) to preserve
+     * "padding".
+     */
+    private static final Pattern ALGO_NAME_DELIMITER =
+        Pattern.compile("with|and|(?<!padd)in", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Security property to create MessageDigest and HMAC Mac engines with
+     * thread confined native objects.
+     */
+    static final String THREAD_CONFINED_PROPERTY =
+        "wolfjce.engine.threadConfined";
+
     /**
      * Internal method for logging output.
      *
@@ -506,7 +515,7 @@ public class WolfCryptUtil {
     private static boolean isAlgorithmDisabled(String algorithm,
         String propertyName, boolean certPathContext) {
 
-        List<String> disabledList = null;
+        WolfCryptDisabledAlgorithms policy = null;
 
         if (algorithm == null || algorithm.isEmpty()) {
             return false;
@@ -516,9 +525,9 @@ public class WolfCryptUtil {
             return false;
         }
 
-        /* Get property entries, with include directives expanded */
-        disabledList = getExpandedDisabledEntries(propertyName);
-        if (disabledList.isEmpty()) {
+        /* Get compiled property, with include directives expanded */
+        policy = WolfCryptDisabledAlgorithms.get(propertyName);
+        if (policy.isEmpty()) {
             return false;
         }
 
@@ -527,214 +536,11 @@ public class WolfCryptUtil {
          *   - "MD2withRSA" - ["MD2", "RSA"]
          *   - "SHA1withECDSA" - ["SHA1", "ECDSA"]
          *   - "SHA256withRSA" - ["SHA256", "RSA"]
-         * Use case-insensitive matching to match SunJCE behavior */
-        String[] parts = decomposeAlgorithmName(algorithm);
-
-        for (String disabled : disabledList) {
-            /* Entries may carry qualifiers, for example the JDK 11+ default
-             * "SHA1 jdkCA & denyAfter 2019-01-01". Compare against the
-             * leading algorithm name only. */
-            String disabledName = extractDisabledAlgorithmName(disabled);
-            if (disabledName == null || disabledName.isEmpty()) {
-                continue;
-            }
-
-            /* Skip key-size constraints such as "RSA keySize < 1024". Those
-             * are size limits enforced by isKeyAllowed(), not signature name
-             * disables. */
-            if (disabled.toLowerCase(Locale.ROOT).contains("keysize")) {
-                continue;
-            }
-
-            /* For CertPath callers, skip entries scoped to usage contexts
-             * that never apply there (ex: "SHA1 jdkCA & usage TLSServer") */
-            if (certPathContext && !disabledEntryAppliesToCertPath(disabled)) {
-                continue;
-            }
-
-            /* Check the full algorithm name (case-insensitive) */
-            if (disabledName.equalsIgnoreCase(algorithm)) {
-                return true;
-            }
-
-            /* Match the full entry too, curve entries can contain a
-             * space (ex: "X9.62 c2tnb191v1") */
-            if (disabled.trim().equalsIgnoreCase(algorithm)) {
-                return true;
-            }
-
-            /* Check each decomposed part */
-            for (String part : parts) {
-                if (disabledName.equalsIgnoreCase(part)) {
-                    return true;
-                }
-            }
-
-            /* Known PQ family entries also disable all of their parameter
-             * sets (ex "ML-DSA" disables "ML-DSA-44"). */
-            if (isPQFamilyName(disabledName)) {
-                String prefix = disabledName + "-";
-                if (algorithm.regionMatches(true, 0, prefix, 0,
-                    prefix.length())) {
-                    return true;
-                }
-                for (String part : parts) {
-                    if (part.regionMatches(true, 0, prefix, 0,
-                        prefix.length())) {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * Get the entries of a disabled-algorithms security property, with
-     * include directives (ex: "include jdk.disabled.namedCurves") expanded
-     * to the entries of the referenced property, matching JDK behavior.
-     * Each property is expanded at most once to guard against include
-     * cycles.
-     *
-     * @param propertyName Security property name to read
-     *
-     * @return list of trimmed entries, empty list if property is not set
-     */
-    private static List<String> getExpandedDisabledEntries(
-        String propertyName) {
-
-        List<String> entries = new ArrayList<String>();
-        Deque<String> pending = new ArrayDeque<String>();
-        Set<String> expanded = new HashSet<String>();
-        String propValue = null;
-
-        pending.add(propertyName);
-
-        while (!pending.isEmpty()) {
-            String prop = pending.removeFirst();
-
-            /* Expand each property at most once, guards include cycles */
-            if (!expanded.add(prop)) {
-                continue;
-            }
-
-            propValue = Security.getProperty(prop);
-            if (propValue == null || propValue.isEmpty()) {
-                continue;
-            }
-
-            for (String entry : propValue.split(",")) {
-                entry = entry.trim();
-                if (entry.regionMatches(true, 0, "include ", 0, 8)) {
-                    pending.add(entry.substring(8).trim());
-                }
-                else if (!entry.isEmpty()) {
-                    entries.add(entry);
-                }
-            }
-        }
-
-        return entries;
-    }
-
-    /**
-     * Extract the leading algorithm name from a single
-     * jdk.certpath.disabledAlgorithms list entry, dropping any qualifiers.
-     *
-     * For example "SHA1 jdkCA ..." returns "SHA1" and
-     * "RSA keySize ..." returns "RSA".
-     *
-     * @param entry a single disabled-algorithms list entry
-     *
-     * @return the leading algorithm name, or null if none could be extracted
-     */
-    private static String extractDisabledAlgorithmName(String entry) {
-
-        String[] tokens = null;
-
-        if (entry == null) {
-            return null;
-        }
-
-        /* Split on the first whitespace or '&' qualifier separator */
-        tokens = entry.trim().split("[\\s&]");
-        if (tokens.length == 0) {
-            return null;
-        }
-
-        return tokens[0].trim();
-    }
-
-    /**
-     * Determine if a single disabled-algorithms list entry applies to generic
-     * CertPath validation.
-     *
-     * Qualifiers after the algorithm name are ANDed together
-     * (ex: "SHA1 jdkCA &amp; usage TLSServer"). A usage qualifier that
-     * names only contexts which can never apply to CertPath validation
-     * (TLSServer, TLSClient, SignedJAR) can never be satisfied, which
-     * makes the whole ANDed entry non-applicable, matching JDK behavior.
-     * All other qualifiers (jdkCA, denyAfter, malformed or unrecognized) are
-     * treated as if their conditions hold (fail closed).
-     *
-     * @param entry a single disabled-algorithms list entry
-     *
-     * @return false if the entry can never apply to generic CertPath
-     *         validation, true otherwise (fail closed)
-     */
-    private static boolean disabledEntryAppliesToCertPath(String entry) {
-
-        int idx = 0;
-        String qualifiers = null;
-        String[] groups = null;
-        String[] usageTokens = null;
-        boolean allRecognized = false;
-
-        if (entry == null) {
-            return true;
-        }
-
-        /* Leading algorithm name ends at first space, rest is qualifiers */
-        entry = entry.trim();
-        idx = entry.indexOf(' ');
-        if (idx < 0) {
-            /* Bare algorithm name, no qualifiers */
-            return true;
-        }
-        qualifiers = entry.substring(idx + 1).trim();
-
-        /* Split ANDed qualifier groups */
-        groups = qualifiers.split("&");
-
-        for (String group : groups) {
-            usageTokens = group.trim().split("\\s+");
-
-            if (usageTokens.length < 2 ||
-                !usageTokens[0].equalsIgnoreCase("usage")) {
-                /* Not a usage qualifier, treat as satisfied (fail closed) */
-                continue;
-            }
-
-            /* An unrecognized usage context keeps entry active (fail closed) */
-            allRecognized = true;
-            for (int i = 1; i < usageTokens.length; i++) {
-                if (!usageTokens[i].equalsIgnoreCase("TLSServer") &&
-                    !usageTokens[i].equalsIgnoreCase("TLSClient") &&
-                    !usageTokens[i].equalsIgnoreCase("SignedJAR")) {
-                    allRecognized = false;
-                    break;
-                }
-            }
-
-            if (allRecognized) {
-                /* Usage condition can never hold here, and conditions are
-                 * ANDed, so the entry can never apply */
-                return false;
-            }
-        }
-
-        return true;
+         * Matching is case-insensitive to match SunJCE behavior. Entries
+         * may carry qualifiers (ex: "SHA1 jdkCA & denyAfter 2019-01-01"),
+         * which are matched on their leading algorithm name. */
+        return policy.isDisabled(algorithm,
+            decomposeAlgorithmName(algorithm), certPathContext);
     }
 
     /**
@@ -758,22 +564,13 @@ public class WolfCryptUtil {
     private static String[] decomposeAlgorithmName(String algorithm) {
 
         ArrayList<String> components = new ArrayList<String>();
-        Pattern delimiter = null;
         String[] pathComponents = null;
         int originalSize = 0;
 
-        /* Delimiter pattern matches "with", "and", or "in" (case-insensitive),
-         * but not "in" when preceded by "padd" (as in "padding"). Uses
-         * negative lookbehind (?<!padd) to preserve "padding". */
-        String delimPattern = "with|and|(?<!padd)in";
-
         if (algorithm == null || algorithm.isEmpty()) {
             return new String[0];
         }
 
-        /* Build delimiter pattern */
-        delimiter = Pattern.compile(delimPattern, Pattern.CASE_INSENSITIVE);
-
         /* Handle algorithm/mode/padding format by splitting on "/" */
         pathComponents = algorithm.split("/");
 
@@ -781,7 +578,8 @@ public class WolfCryptUtil {
         for (String pathComponent : pathComponents) {
             if (pathComponent != null && !pathComponent.isEmpty()) {
                 /* Apply delimiter pattern to split on "with", "and", "in" */
-                String[] delimitedParts = delimiter.split(pathComponent);
+                String[] delimitedParts =
+                    ALGO_NAME_DELIMITER.split(pathComponent);
 
                 /* Collect non-empty trimmed parts */
                 for (String part : delimitedParts) {
@@ -941,57 +739,18 @@ public class WolfCryptUtil {
     private static int getDisabledAlgorithmsKeySizeLimit(String algo,
         String propertyName, boolean certPathContext) {
 
-        int ret = 0;
-        List<String> disabledList = null;
-        Pattern p = Pattern.compile("keySize\\s*<(=?)\\s*(\\d+)",
-            Pattern.CASE_INSENSITIVE);
-        Matcher match = null;
-
         if (algo == null || algo.isEmpty()) {
-            return ret;
+            return 0;
         }
 
         if (propertyName == null || propertyName.isEmpty()) {
-            return ret;
-        }
-
-        /* Get property entries, with include directives expanded */
-        disabledList = getExpandedDisabledEntries(propertyName);
-
-        for (String s : disabledList) {
-            /* Match on the leading algorithm name only, so "ECDH keySize"
-             * does not match algo "DH" */
-            String disabledName = extractDisabledAlgorithmName(s);
-            if (disabledName == null || !disabledName.equalsIgnoreCase(algo)) {
-                continue;
-            }
-
-            /* For CertPath callers, skip entries scoped to usage contexts
-             * that never apply there */
-            if (certPathContext && !disabledEntryAppliesToCertPath(s)) {
-                continue;
-            }
-
-            match = p.matcher(s);
-            if (match.find()) {
-                try {
-                    int limit = Integer.parseInt(match.group(2));
-                    if (match.group(1).equals("=") &&
-                        limit < Integer.MAX_VALUE) {
-                        /* "keySize <= N" disables through N, minimum allowed
-                         * size is N + 1 */
-                        limit = limit + 1;
-                    }
-                    /* Keep the strictest of multiple matching entries */
-                    ret = Math.max(ret, limit);
-                } catch (NumberFormatException e) {
-                    /* Number exceeds Integer.MAX_VALUE, ignore malformed
-                     * number and leave ret unchanged. */
-                }
-            }
+            return 0;
         }
 
-        return ret;
+        /* Limits are compiled once per property value, keeping the
+         * strictest of multiple matching entries */
+        return WolfCryptDisabledAlgorithms.get(propertyName)
+            .getKeySizeLimit(algo, certPathContext);
     }
 
     /**
@@ -1085,8 +844,7 @@ public class WolfCryptUtil {
              * like "X9.62 c2tnb191v1". Skip curve resolution when the property
              * has no entries, avoids native key translation with nothing to
              * check against. */
-            String disabledProp = Security.getProperty(propertyName);
-            if (disabledProp != null && !disabledProp.isEmpty()) {
+            if (!WolfCryptDisabledAlgorithms.get(propertyName).isEmpty()) {
                 String curve = getECCurveName(ecKey);
                 if (curve != null &&
                     (isAlgorithmDisabled(curve, propertyName,
@@ -1221,22 +979,6 @@ public class WolfCryptUtil {
         return true;
     }
 
-    /**
-     * Check if an algorithm name is a known post-quantum family name.
-     * A disabled-algorithms entry with a family name also disables all
-     * parameter sets of that family.
-     *
-     * @param name algorithm name to check
-     *
-     * @return true if name is a PQ family name, false otherwise
-     */
-    private static boolean isPQFamilyName(String name) {
-
-        return name.equalsIgnoreCase("ML-DSA") ||
-               name.equalsIgnoreCase("SLH-DSA") ||
-               name.equalsIgnoreCase("ML-KEM");
-    }
-
     /**
      * Get parsed list of disabled algorithms from security property.
      *
@@ -1248,20 +990,11 @@ public class WolfCryptUtil {
      */
     public static List<String> getDisabledAlgorithmsList(String propertyName) {
 
-        String disabledAlgos = null;
-
         if (propertyName == null || propertyName.isEmpty()) {
             return new ArrayList<String>();
         }
 
-        disabledAlgos = Security.getProperty(propertyName);
-        if (disabledAlgos == null || disabledAlgos.isEmpty()) {
-            return new ArrayList<String>();
-        }
-
-        /* Remove spaces after commas, split into List */
-        disabledAlgos = disabledAlgos.replaceAll(", ", ",");
-        return Arrays.asList(disabledAlgos.split(","));
+        return WolfCryptDisabledAlgorithms.get(propertyName).getRawEntries();
     }
 
     /**
@@ -1310,5 +1043,21 @@ public class WolfCryptUtil {
 
         return encoded;
     }
-}
 
+    /**
+     * Check if new MessageDigest and HMAC Mac engines should use thread
+     * confined native objects, set with the "wolfjce.engine.threadConfined"
+     * Security property.
+     *
+     * Thread confined objects skip internal locking, and can only be used
+     * from the thread that created the engine.
+     *
+     * @return true if property is set to "true", otherwise false
+     */
+    static boolean threadConfinedEngines() {
+
+        String prop = Security.getProperty(THREAD_CONFINED_PROPERTY);
+
+        return (prop != null && prop.trim().equalsIgnoreCase("true"));
+    }
+}
@@ -0,0 +1,304 @@
+/* WolfCryptXECPrivateKey.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.security.auth.Destroyable;
+
+import com.wolfssl.wolfcrypt.Curve25519;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+
+/**
+ * wolfCrypt JCE X25519 (XDH) private key.
+ *
+ * Holds the 32 byte little endian private scalar as given, without
+ * clamping. getEncoded() returns an RFC 8410 PKCS#8 PrivateKeyInfo.
+ * getAlgorithm() returns "XDH" to match SunEC.
+ *
+ * The native Curve25519 key is imported once, on first use by an engine,
+ * and shared with KeyAgreement objects through
+ * {@link #acquireNativeKey()}.
+ *
+ * This class implements the methods of the JDK 11
+ * {@code java.security.interfaces.XECPrivateKey} interface. wolfJCE engines
+ * hand out instances wrapped by {@link WolfXecJdkCompat#wrapPrivate} so
+ * that on JDK 11+ they can be cast to XECPrivateKey, so they should be used
+ * through that interface or PrivateKey rather than this class.
+ */
+public class WolfCryptXECPrivateKey implements PrivateKey, Destroyable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Raw little endian private scalar. */
+    private byte[] rawPrivate = null;
+
+    /** Cached PKCS#8 encoding. */
+    private byte[] encoded = null;
+
+    /** True once this key has been destroyed. */
+    private boolean destroyed = false;
+
+    /** Native key shared with engines, created on first use. */
+    private transient WolfCryptNativeKey<Curve25519> nativeKey = null;
+
+    /** Lock around object state. */
+    private transient Object stateLock = new Object();
+
+    /**
+     * Create an X25519 private key from a PKCS#8 encoding.
+     *
+     * @param pkcs8Der DER-encoded PrivateKeyInfo
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    public WolfCryptXECPrivateKey(byte[] pkcs8Der)
+        throws IllegalArgumentException {
+
+        if (pkcs8Der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        this.rawPrivate = WolfCryptXdhUtil.parsePrivateKey(pkcs8Der);
+        this.encoded = WolfCryptXdhUtil.encodePrivateKey(this.rawPrivate);
+    }
+
+    /**
+     * Create an X25519 private key from a raw little endian scalar.
+     *
+     * @param rawPrivate 32 byte little endian scalar, copied
+     *
+     * @return new private key
+     *
+     * @throws IllegalArgumentException if rawPrivate is not 32 bytes
+     */
+    static WolfCryptXECPrivateKey fromRaw(byte[] rawPrivate)
+        throws IllegalArgumentException {
+
+        byte[] der = WolfCryptXdhUtil.encodePrivateKey(rawPrivate);
+
+        try {
+            return new WolfCryptXECPrivateKey(der);
+        } finally {
+            Arrays.fill(der, (byte) 0);
+        }
+    }
+
+    /**
+     * Get a copy of the private scalar.
+     *
+     * @return Optional holding copy of the 32 byte little endian scalar,
+     *         empty if this key has been destroyed
+     */
+    public Optional<byte[]> getScalar() {
+        synchronized (stateLock) {
+            if (destroyed || rawPrivate == null) {
+                return Optional.empty();
+            }
+            return Optional.of(rawPrivate.clone());
+        }
+    }
+
+    /**
+     * Get the parameters of this key.
+     *
+     * @return {@code NamedParameterSpec.X25519} on JDK 11+, null on
+     *         JDK 8-10
+     */
+    public AlgorithmParameterSpec getParams() {
+        return WolfXecJdkCompat.x25519Spec();
+    }
+
+    /**
+     * Get a reference to the native Curve25519 key imported from this key,
+     * importing it on first call.
+     *
+     * Lets KeyAgreement reuse the imported key instead of importing the
+     * private scalar on every init. Callers must call release() on the
+     * returned object once done with it.
+     *
+     * @return native key reference, or null if this key has been destroyed
+     *         or could not be imported natively
+     */
+    WolfCryptNativeKey<Curve25519> acquireNativeKey() {
+        synchronized (stateLock) {
+            if (destroyed || this.rawPrivate == null) {
+                return null;
+            }
+
+            if (this.nativeKey == null) {
+                Curve25519 key = null;
+                try {
+                    key = new Curve25519();
+                    key.importPrivateOnly(this.rawPrivate,
+                        Curve25519.LITTLE_ENDIAN);
+                } catch (WolfCryptException e) {
+                    log("native key import failed: " + e.getMessage());
+                    if (key != null) {
+                        key.releaseNativeStruct();
+                    }
+                    return null;
+                }
+                this.nativeKey = new WolfCryptNativeKey<Curve25519>(key);
+                log("created shared native key");
+            }
+
+            if (!this.nativeKey.acquire()) {
+                return null;
+            }
+
+            return this.nativeKey;
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "XDH";
+    }
+
+    @Override
+    public String getFormat() {
+        return "PKCS#8";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return null;
+            }
+            return encoded.clone();
+        }
+    }
+
+    /**
+     * Destroy this key by zeroing out sensitive data.
+     */
+    @Override
+    public void destroy() {
+        synchronized (stateLock) {
+            if (!destroyed) {
+                if (rawPrivate != null) {
+                    Arrays.fill(rawPrivate, (byte) 0);
+                    rawPrivate = null;
+                }
+                if (encoded != null) {
+                    Arrays.fill(encoded, (byte) 0);
+                    encoded = null;
+                }
+                /* Drop reference held by this key, native key is freed
+                 * once engines using it have released it */
+                if (nativeKey != null) {
+                    nativeKey.release();
+                    nativeKey = null;
+                }
+                destroyed = true;
+                log("key destroyed");
+            }
+        }
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        synchronized (stateLock) {
+            return destroyed;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return 0;
+            }
+            return Arrays.hashCode(encoded);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        byte[] mine;
+        byte[] theirs = null;
+
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PrivateKey)) {
+            return false;
+        }
+
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return false;
+            }
+            mine = this.encoded.clone();
+        }
+
+        try {
+            theirs = ((PrivateKey) obj).getEncoded();
+            return MessageDigest.isEqual(mine, theirs);
+
+        } finally {
+            Arrays.fill(mine, (byte) 0);
+            if (theirs != null) {
+                Arrays.fill(theirs, (byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return "WolfCryptXECPrivateKey[DESTROYED]";
+            }
+            return "WolfCryptXECPrivateKey[algorithm=XDH, format=PKCS#8]";
+        }
+    }
+
+    private void log(String msg) {
+        WolfCryptDebug.log(getClass(), WolfCryptDebug.INFO,
+            () -> "[WolfCryptXECPrivateKey] " + msg);
+    }
+
+    /**
+     * Custom deserialization to reinitialize transient state after
+     * deserialization.
+     *
+     * @param in ObjectInputStream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        stateLock = new Object();
+    }
+}
@@ -0,0 +1,247 @@
+/* WolfCryptXECPublicKey.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import javax.security.auth.Destroyable;
+
+/**
+ * wolfCrypt JCE X25519 (XDH) public key.
+ *
+ * Holds the 32 byte little endian u-coordinate in canonical form.
+ * getEncoded() returns an RFC 8410 X.509 SubjectPublicKeyInfo.
+ * getAlgorithm() returns "XDH" to match SunEC.
+ *
+ * This class implements the methods of the JDK 11
+ * {@code java.security.interfaces.XECPublicKey} interface. wolfJCE engines
+ * hand out instances wrapped by {@link WolfXecJdkCompat#wrapPublic} so that
+ * on JDK 11+ they can be cast to XECPublicKey, so they should be used
+ * through that interface or PublicKey rather than this class.
+ */
+public class WolfCryptXECPublicKey implements PublicKey, Destroyable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Raw little endian u-coordinate, canonical form. */
+    private byte[] rawPublic = null;
+
+    /** Cached X.509 SubjectPublicKeyInfo encoding. */
+    private byte[] encoded = null;
+
+    /** True once this key has been destroyed. */
+    private boolean destroyed = false;
+
+    /** Lock around object state. */
+    private transient Object stateLock = new Object();
+
+    /**
+     * Create an X25519 public key from a u-coordinate.
+     *
+     * @param u u-coordinate, reduced modulo 2^255 - 19
+     *
+     * @throws IllegalArgumentException if u is null
+     */
+    public WolfCryptXECPublicKey(BigInteger u)
+        throws IllegalArgumentException {
+
+        this.rawPublic = WolfCryptXdhUtil.rawFromU(u);
+        this.encoded = WolfCryptXdhUtil.encodePublicKey(this.rawPublic);
+    }
+
+    /**
+     * Create an X25519 public key from an X.509 SubjectPublicKeyInfo
+     * encoding.
+     *
+     * @param x509Der DER-encoded SubjectPublicKeyInfo
+     *
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    public WolfCryptXECPublicKey(byte[] x509Der)
+        throws IllegalArgumentException {
+
+        if (x509Der == null) {
+            throw new IllegalArgumentException("Encoded key cannot be null");
+        }
+
+        /* Re-encode so getEncoded() is consistent regardless of any
+         * non-canonical input. */
+        this.rawPublic = WolfCryptXdhUtil.canonicalPublic(
+            WolfCryptXdhUtil.parsePublicKey(x509Der));
+        this.encoded = WolfCryptXdhUtil.encodePublicKey(this.rawPublic);
+    }
+
+    /**
+     * Create an X25519 public key from a raw little endian u-coordinate.
+     *
+     * @param rawPublic 32 byte little endian u-coordinate
+     *
+     * @return new public key
+     *
+     * @throws IllegalArgumentException if rawPublic is not 32 bytes
+     */
+    static WolfCryptXECPublicKey fromRaw(byte[] rawPublic)
+        throws IllegalArgumentException {
+
+        return new WolfCryptXECPublicKey(WolfCryptXdhUtil.uFromRaw(rawPublic));
+    }
+
+    /**
+     * Get the u-coordinate of this public key.
+     *
+     * @return u-coordinate
+     *
+     * @throws IllegalStateException if key has been destroyed
+     */
+    public BigInteger getU() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                throw new IllegalStateException("Key has been destroyed");
+            }
+            return WolfCryptXdhUtil.uFromRaw(this.rawPublic);
+        }
+    }
+
+    /**
+     * Get the parameters of this key.
+     *
+     * @return {@code NamedParameterSpec.X25519} on JDK 11+, null on
+     *         JDK 8-10
+     */
+    public AlgorithmParameterSpec getParams() {
+        return WolfXecJdkCompat.x25519Spec();
+    }
+
+    /**
+     * Get the raw public key bytes.
+     *
+     * @return clone of the 32 byte little endian u-coordinate, or null
+     *         if destroyed
+     */
+    byte[] getRawPublicKey() {
+        synchronized (stateLock) {
+            if (destroyed || rawPublic == null) {
+                return null;
+            }
+            return rawPublic.clone();
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return "XDH";
+    }
+
+    @Override
+    public String getFormat() {
+        return "X.509";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return null;
+            }
+            return encoded.clone();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (stateLock) {
+            if (!destroyed) {
+                if (rawPublic != null) {
+                    Arrays.fill(rawPublic, (byte) 0);
+                    rawPublic = null;
+                }
+                if (encoded != null) {
+                    Arrays.fill(encoded, (byte) 0);
+                    encoded = null;
+                }
+                destroyed = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        synchronized (stateLock) {
+            return destroyed;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        synchronized (stateLock) {
+            if (destroyed) {
+                return 0;
+            }
+            return Arrays.hashCode(encoded);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        byte[] mine;
+        PublicKey other;
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof PublicKey)) {
+            return false;
+        }
+        other = (PublicKey) obj;
+
+        synchronized (stateLock) {
+            if (destroyed || encoded == null) {
+                return false;
+            }
+            mine = this.encoded.clone();
+        }
+
+        return Arrays.equals(mine, other.getEncoded());
+    }
+
+    /**
+     * Custom deserialization to reinitialize transient state after
+     * deserialization.
+     *
+     * @param in ObjectInputStream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+        stateLock = new Object();
+    }
+}
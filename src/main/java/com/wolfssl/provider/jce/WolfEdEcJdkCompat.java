@@ -0,0 +1,452 @@
+/* WolfEdEcJdkCompat.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.KeySpec;
+import java.util.Optional;
+
+/**
+ * JDK reflection helpers for EdDSA (Ed25519) keys, key specs and
+ * signature parameters.
+ *
+ * <p>{@code java.security.interfaces.EdECPublicKey}, {@code EdECPrivateKey},
+ * {@code java.security.spec.EdECPoint}, {@code EdECPublicKeySpec},
+ * {@code EdECPrivateKeySpec}, {@code EdDSAParameterSpec} and
+ * {@code NamedParameterSpec.ED25519} were introduced in JDK 15. We dispatch
+ * via reflection so wolfJCE compiled with {@code -source 8 -target 8} still
+ * works on every JDK at runtime.</p>
+ *
+ * <p>JDK 15+: keys are wrapped with {@link WolfJdkKeyProxy} to implement
+ * the EdEC key interfaces, and EdEC key specs and EdDSAParameterSpec are
+ * supported. JDK 8-14: keys are returned unwrapped and only X.509/PKCS#8
+ * encoded key specs and pure Ed25519 without context can be used.</p>
+ */
+final class WolfEdEcJdkCompat {
+
+    /* JDK 15+ classes, all null on JDK 8-14 */
+    private static final Class<?> EDEC_PUBLIC_KEY;
+    private static final Class<?> EDEC_PRIVATE_KEY;
+    private static final Class<?> EDEC_PUBLIC_SPEC;
+    private static final Class<?> EDEC_PRIVATE_SPEC;
+    private static final Class<?> EDDSA_PARAM_SPEC;
+
+    /* EdECPoint(boolean, BigInteger), isXOdd() and getY() */
+    private static final Constructor<?> EDEC_POINT_CTOR;
+    private static final Method EDEC_POINT_IS_X_ODD;
+    private static final Method EDEC_POINT_GET_Y;
+
+    /* EdECPublicKeySpec(NamedParameterSpec, EdECPoint), getParams() and
+     * getPoint() */
+    private static final Constructor<?> EDEC_PUBLIC_SPEC_CTOR;
+    private static final Method EDEC_PUBLIC_SPEC_GET_PARAMS;
+    private static final Method EDEC_PUBLIC_SPEC_GET_POINT;
+
+    /* EdECPrivateKeySpec(NamedParameterSpec, byte[]), getParams() and
+     * getBytes() */
+    private static final Constructor<?> EDEC_PRIVATE_SPEC_CTOR;
+    private static final Method EDEC_PRIVATE_SPEC_GET_PARAMS;
+    private static final Method EDEC_PRIVATE_SPEC_GET_BYTES;
+
+    /* EdDSAParameterSpec isPrehash() and getContext() */
+    private static final Method EDDSA_PARAM_IS_PREHASH;
+    private static final Method EDDSA_PARAM_GET_CONTEXT;
+
+    /* NamedParameterSpec.ED25519, null on JDK 8-14 */
+    private static final AlgorithmParameterSpec NPS_ED25519;
+
+    static {
+        Class<?> pubKey = null, privKey = null, pubSpec = null,
+            privSpec = null, paramSpec = null;
+        Constructor<?> pointCtor = null, pubCtor = null, privCtor = null;
+        Method pointXOdd = null, pointY = null, pubParams = null,
+            pubPoint = null, privParams = null, privBytes = null,
+            isPrehash = null, getContext = null;
+        AlgorithmParameterSpec ed25519 = null;
+
+        try {
+            Class<?> nps =
+                Class.forName("java.security.spec.NamedParameterSpec");
+            Class<?> point = Class.forName("java.security.spec.EdECPoint");
+
+            pubKey = Class.forName("java.security.interfaces.EdECPublicKey");
+            privKey =
+                Class.forName("java.security.interfaces.EdECPrivateKey");
+            pubSpec = Class.forName("java.security.spec.EdECPublicKeySpec");
+            privSpec =
+                Class.forName("java.security.spec.EdECPrivateKeySpec");
+            paramSpec =
+                Class.forName("java.security.spec.EdDSAParameterSpec");
+
+            pointCtor = point.getConstructor(boolean.class, BigInteger.class);
+            pointXOdd = point.getMethod("isXOdd");
+            pointY = point.getMethod("getY");
+            pubCtor = pubSpec.getConstructor(nps, point);
+            pubParams = pubSpec.getMethod("getParams");
+            pubPoint = pubSpec.getMethod("getPoint");
+            privCtor = privSpec.getConstructor(nps, byte[].class);
+            privParams = privSpec.getMethod("getParams");
+            privBytes = privSpec.getMethod("getBytes");
+            isPrehash = paramSpec.getMethod("isPrehash");
+            getContext = paramSpec.getMethod("getContext");
+            ed25519 = (AlgorithmParameterSpec)
+                nps.getField("ED25519").get(null);
+
+        } catch (ReflectiveOperationException e) {
+            /* JDK 8-14, classes do not exist */
+            pubKey = null;
+            privKey = null;
+            pubSpec = null;
+            privSpec = null;
+            paramSpec = null;
+            pointCtor = null;
+            pointXOdd = null;
+            pointY = null;
+            pubCtor = null;
+            pubParams = null;
+            pubPoint = null;
+            privCtor = null;
+            privParams = null;
+            privBytes = null;
+            isPrehash = null;
+            getContext = null;
+            ed25519 = null;
+        }
+
+        EDEC_PUBLIC_KEY = pubKey;
+        EDEC_PRIVATE_KEY = privKey;
+        EDEC_PUBLIC_SPEC = pubSpec;
+        EDEC_PRIVATE_SPEC = privSpec;
+        EDDSA_PARAM_SPEC = paramSpec;
+        EDEC_POINT_CTOR = pointCtor;
+        EDEC_POINT_IS_X_ODD = pointXOdd;
+        EDEC_POINT_GET_Y = pointY;
+        EDEC_PUBLIC_SPEC_CTOR = pubCtor;
+        EDEC_PUBLIC_SPEC_GET_PARAMS = pubParams;
+        EDEC_PUBLIC_SPEC_GET_POINT = pubPoint;
+        EDEC_PRIVATE_SPEC_CTOR = privCtor;
+        EDEC_PRIVATE_SPEC_GET_PARAMS = privParams;
+        EDEC_PRIVATE_SPEC_GET_BYTES = privBytes;
+        EDDSA_PARAM_IS_PREHASH = isPrehash;
+        EDDSA_PARAM_GET_CONTEXT = getContext;
+        NPS_ED25519 = ed25519;
+    }
+
+    private WolfEdEcJdkCompat() { }
+
+    /**
+     * Return {@code NamedParameterSpec.ED25519}.
+     *
+     * @return JDK {@code NamedParameterSpec} on JDK 15+, else null
+     */
+    static AlgorithmParameterSpec ed25519Spec() {
+        return NPS_ED25519;
+    }
+
+    /**
+     * Check if spec is a {@code NamedParameterSpec} naming Ed25519.
+     *
+     * @param spec a parameter spec
+     *
+     * @return true if spec names Ed25519, false otherwise
+     */
+    static boolean isEd25519Spec(AlgorithmParameterSpec spec) {
+
+        String name = WolfPQCJdkCompat.namedParameterSpecGetName(spec);
+
+        return WolfCryptEdDSAUtil.ED25519.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Wrap a wolfJCE Ed25519 public key so it implements
+     * {@code EdECPublicKey} on JDK 15+.
+     *
+     * @param key wolfJCE public key
+     *
+     * @return wrapped key on JDK 15+, key itself on JDK 8-14
+     */
+    static PublicKey wrapPublic(WolfCryptEdECPublicKey key) {
+        return (PublicKey) WolfJdkKeyProxy.wrap(key, EDEC_PUBLIC_KEY);
+    }
+
+    /**
+     * Wrap a wolfJCE Ed25519 private key so it implements
+     * {@code EdECPrivateKey} on JDK 15+.
+     *
+     * @param key wolfJCE private key
+     *
+     * @return wrapped key on JDK 15+, key itself on JDK 8-14
+     */
+    static PrivateKey wrapPrivate(WolfCryptEdECPrivateKey key) {
+        return (PrivateKey) WolfJdkKeyProxy.wrap(key, EDEC_PRIVATE_KEY);
+    }
+
+    /**
+     * Create an {@code EdECPoint} from a raw RFC 8032 public key.
+     *
+     * @param raw 32 byte encoded point
+     *
+     * @return new EdECPoint, or null on JDK 8-14 or error
+     */
+    static Object newEdECPoint(byte[] raw) {
+
+        if (EDEC_POINT_CTOR == null) {
+            return null;
+        }
+
+        try {
+            return EDEC_POINT_CTOR.newInstance(
+                WolfCryptEdDSAUtil.xOddFromRaw(raw),
+                WolfCryptEdDSAUtil.yFromRaw(raw));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if spec is an {@code EdECPublicKeySpec}.
+     *
+     * @param spec key spec
+     *
+     * @return true if spec is an EdECPublicKeySpec
+     */
+    static boolean isEdECPublicKeySpec(KeySpec spec) {
+        return EDEC_PUBLIC_SPEC != null && EDEC_PUBLIC_SPEC.isInstance(spec);
+    }
+
+    /**
+     * Check if spec is an {@code EdECPrivateKeySpec}.
+     *
+     * @param spec key spec
+     *
+     * @return true if spec is an EdECPrivateKeySpec
+     */
+    static boolean isEdECPrivateKeySpec(KeySpec spec) {
+        return EDEC_PRIVATE_SPEC != null &&
+               EDEC_PRIVATE_SPEC.isInstance(spec);
+    }
+
+    /**
+     * Check if cls is, or is a superclass of, {@code EdECPublicKeySpec}.
+     *
+     * @param cls requested key spec class
+     *
+     * @return true if an EdECPublicKeySpec can be returned as cls
+     */
+    static boolean isEdECPublicKeySpecClass(Class<?> cls) {
+        return EDEC_PUBLIC_SPEC != null && cls != null &&
+               cls.isAssignableFrom(EDEC_PUBLIC_SPEC);
+    }
+
+    /**
+     * Check if cls is, or is a superclass of, {@code EdECPrivateKeySpec}.
+     *
+     * @param cls requested key spec class
+     *
+     * @return true if an EdECPrivateKeySpec can be returned as cls
+     */
+    static boolean isEdECPrivateKeySpecClass(Class<?> cls) {
+        return EDEC_PRIVATE_SPEC != null && cls != null &&
+               cls.isAssignableFrom(EDEC_PRIVATE_SPEC);
+    }
+
+    /**
+     * Get parameters from an {@code EdECPublicKeySpec} or
+     * {@code EdECPrivateKeySpec}.
+     *
+     * @param spec EdEC key spec
+     *
+     * @return spec parameters, or null on error
+     */
+    static AlgorithmParameterSpec edecKeySpecGetParams(KeySpec spec) {
+
+        try {
+            if (isEdECPublicKeySpec(spec)) {
+                return (AlgorithmParameterSpec)
+                    EDEC_PUBLIC_SPEC_GET_PARAMS.invoke(spec);
+            }
+            if (isEdECPrivateKeySpec(spec)) {
+                return (AlgorithmParameterSpec)
+                    EDEC_PRIVATE_SPEC_GET_PARAMS.invoke(spec);
+            }
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the point from an {@code EdECPublicKeySpec} as a raw RFC 8032
+     * public key.
+     *
+     * @param spec EdECPublicKeySpec
+     *
+     * @return 32 byte encoded point, or null on error
+     *
+     * @throws IllegalArgumentException if the y-coordinate is out of range
+     */
+    static byte[] edecPublicKeySpecGetRaw(KeySpec spec)
+        throws IllegalArgumentException {
+
+        Object point;
+
+        if (!isEdECPublicKeySpec(spec)) {
+            return null;
+        }
+
+        try {
+            point = EDEC_PUBLIC_SPEC_GET_POINT.invoke(spec);
+            return WolfCryptEdDSAUtil.rawFromPoint(
+                (Boolean) EDEC_POINT_IS_X_ODD.invoke(point),
+                (BigInteger) EDEC_POINT_GET_Y.invoke(point));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get private key bytes from an {@code EdECPrivateKeySpec}.
+     *
+     * @param spec EdECPrivateKeySpec
+     *
+     * @return copy of private key bytes, or null on error
+     */
+    static byte[] edecPrivateKeySpecGetBytes(KeySpec spec) {
+
+        if (!isEdECPrivateKeySpec(spec)) {
+            return null;
+        }
+
+        try {
+            /* EdECPrivateKeySpec.getBytes() returns a copy */
+            return (byte[]) EDEC_PRIVATE_SPEC_GET_BYTES.invoke(spec);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create an Ed25519 {@code EdECPublicKeySpec}.
+     *
+     * @param raw 32 byte encoded point
+     *
+     * @return new EdECPublicKeySpec, or null on JDK 8-14 or error
+     */
+    static KeySpec newEdECPublicKeySpec(byte[] raw) {
+
+        Object point = newEdECPoint(raw);
+
+        if (EDEC_PUBLIC_SPEC_CTOR == null || point == null) {
+            return null;
+        }
+
+        try {
+            return (KeySpec) EDEC_PUBLIC_SPEC_CTOR.newInstance(NPS_ED25519,
+                point);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create an Ed25519 {@code EdECPrivateKeySpec}.
+     *
+     * @param bytes private key bytes, copied by the spec
+     *
+     * @return new EdECPrivateKeySpec, or null on JDK 8-14 or error
+     */
+    static KeySpec newEdECPrivateKeySpec(byte[] bytes) {
+
+        if (EDEC_PRIVATE_SPEC_CTOR == null) {
+            return null;
+        }
+
+        try {
+            return (KeySpec) EDEC_PRIVATE_SPEC_CTOR.newInstance(NPS_ED25519,
+                bytes);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if spec is an {@code EdDSAParameterSpec}.
+     *
+     * @param spec parameter spec
+     *
+     * @return true if spec is an EdDSAParameterSpec
+     */
+    static boolean isEdDSAParameterSpec(AlgorithmParameterSpec spec) {
+        return EDDSA_PARAM_SPEC != null && EDDSA_PARAM_SPEC.isInstance(spec);
+    }
+
+    /**
+     * Get prehash flag of an {@code EdDSAParameterSpec}.
+     *
+     * @param spec EdDSAParameterSpec
+     *
+     * @return true if spec selects Ed25519ph, false otherwise or on error
+     */
+    static boolean eddsaParameterSpecIsPrehash(AlgorithmParameterSpec spec) {
+
+        if (!isEdDSAParameterSpec(spec)) {
+            return false;
+        }
+
+        try {
+            return (Boolean) EDDSA_PARAM_IS_PREHASH.invoke(spec);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get context of an {@code EdDSAParameterSpec}.
+     *
+     * @param spec EdDSAParameterSpec
+     *
+     * @return copy of context, or null if spec has no context or on error
+     */
+    static byte[] eddsaParameterSpecGetContext(AlgorithmParameterSpec spec) {
+
+        Optional<?> ctx;
+
+        if (!isEdDSAParameterSpec(spec)) {
+            return null;
+        }
+
+        try {
+            ctx = (Optional<?>) EDDSA_PARAM_GET_CONTEXT.invoke(spec);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+
+        /* EdDSAParameterSpec.getContext() returns a copy */
+        return (ctx != null && ctx.isPresent()) ? (byte[]) ctx.get() : null;
+    }
+}
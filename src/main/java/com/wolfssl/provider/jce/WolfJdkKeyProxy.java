@@ -0,0 +1,136 @@
+/* WolfJdkKeyProxy.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.Key;
+import javax.security.auth.Destroyable;
+
+/**
+ * Dynamic proxy wrapper letting wolfJCE key objects implement JDK key
+ * interfaces newer than the Java 8 compile target.
+ *
+ * <p>Interfaces such as {@code java.security.interfaces.XECPublicKey}
+ * (JDK 11) cannot be named in wolfJCE source, but callers like SunJSSE cast
+ * generated keys to them. The wolfJCE key class implements the same
+ * methods with matching signatures, and {@link #wrap(Key, Class)} returns
+ * a {@link Proxy} implementing the JDK interface which forwards every call
+ * to the wolfJCE key by method name and parameter types.</p>
+ *
+ * <p>Engines use {@link #unwrap(Key)} to get back to the wolfJCE key object
+ * and its cached native state. The proxy is serializable when the wrapped
+ * key is, deserializing back to an equivalent proxy.</p>
+ */
+final class WolfJdkKeyProxy {
+
+    private WolfJdkKeyProxy() { }
+
+    /**
+     * Wrap a wolfJCE key in a proxy implementing the given JDK interface
+     * and {@link Destroyable}.
+     *
+     * @param target wolfJCE key object, must implement every method of
+     *        iface with the same signature
+     * @param iface JDK key interface to implement, or null if not available
+     *        on this JDK
+     *
+     * @return proxy implementing iface, or target itself when iface is null
+     */
+    static Key wrap(Key target, Class<?> iface) {
+
+        if (target == null || iface == null) {
+            return target;
+        }
+
+        return (Key) Proxy.newProxyInstance(
+            WolfJdkKeyProxy.class.getClassLoader(),
+            new Class<?>[] { iface, Destroyable.class },
+            new Handler(target));
+    }
+
+    /**
+     * Return the wolfJCE key wrapped by a proxy from {@link #wrap}.
+     *
+     * @param key key object, possibly a proxy
+     *
+     * @return wrapped wolfJCE key, or key itself if not a wolfJCE proxy
+     */
+    static Key unwrap(Key key) {
+
+        if (key != null && Proxy.isProxyClass(key.getClass())) {
+            InvocationHandler h = Proxy.getInvocationHandler(key);
+            if (h instanceof Handler) {
+                return ((Handler) h).target;
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Forwards proxy calls to the wrapped key by method signature.
+     */
+    private static final class Handler
+        implements InvocationHandler, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** Wrapped wolfJCE key. */
+        private final Key target;
+
+        Handler(Key target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+            throws Throwable {
+
+            Method m;
+
+            /* compare wrapped keys, so proxy.equals(proxy2) and
+             * proxy.equals(target) behave like target.equals() */
+            if (method.getName().equals("equals") && args != null &&
+                args.length == 1 && method.getParameterTypes()[0] ==
+                Object.class) {
+                Object other = args[0];
+                if (other instanceof Key) {
+                    other = unwrap((Key) other);
+                }
+                return target.equals(other);
+            }
+
+            try {
+                m = target.getClass().getMethod(method.getName(),
+                    method.getParameterTypes());
+                return m.invoke(target, args);
+
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
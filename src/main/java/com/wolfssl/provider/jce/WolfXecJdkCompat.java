@@ -0,0 +1,328 @@
+/* WolfXecJdkCompat.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.KeySpec;
+
+/**
+ * JDK reflection helpers for XDH (X25519) keys and key specs.
+ *
+ * <p>{@code java.security.interfaces.XECPublicKey},
+ * {@code XECPrivateKey}, {@code java.security.spec.XECPublicKeySpec},
+ * {@code XECPrivateKeySpec} and {@code NamedParameterSpec.X25519} were
+ * introduced in JDK 11. We dispatch via reflection so wolfJCE compiled with
+ * {@code -source 8 -target 8} still works on every JDK at runtime.</p>
+ *
+ * <p>JDK 11+: keys are wrapped with {@link WolfJdkKeyProxy} to implement
+ * the XEC key interfaces, and XEC key specs are supported.
+ * JDK 8-10: keys are returned unwrapped, XEC key specs are unavailable
+ * and only X.509/PKCS#8 encoded key specs can be used.</p>
+ */
+final class WolfXecJdkCompat {
+
+    /* JDK 11+ classes, all null on JDK 8-10 */
+    private static final Class<?> XEC_PUBLIC_KEY;
+    private static final Class<?> XEC_PRIVATE_KEY;
+    private static final Class<?> XEC_PUBLIC_SPEC;
+    private static final Class<?> XEC_PRIVATE_SPEC;
+
+    /* XECPublicKeySpec(AlgorithmParameterSpec, BigInteger),
+     * getParams() and getU() */
+    private static final Constructor<?> XEC_PUBLIC_SPEC_CTOR;
+    private static final Method XEC_PUBLIC_SPEC_GET_PARAMS;
+    private static final Method XEC_PUBLIC_SPEC_GET_U;
+
+    /* XECPrivateKeySpec(AlgorithmParameterSpec, byte[]),
+     * getParams() and getScalar() */
+    private static final Constructor<?> XEC_PRIVATE_SPEC_CTOR;
+    private static final Method XEC_PRIVATE_SPEC_GET_PARAMS;
+    private static final Method XEC_PRIVATE_SPEC_GET_SCALAR;
+
+    /* NamedParameterSpec.X25519, null on JDK 8-10 */
+    private static final AlgorithmParameterSpec NPS_X25519;
+
+    static {
+        Class<?> pubKey = null, privKey = null, pubSpec = null,
+            privSpec = null;
+        Constructor<?> pubCtor = null, privCtor = null;
+        Method pubParams = null, pubU = null, privParams = null,
+            privScalar = null;
+        AlgorithmParameterSpec x25519 = null;
+
+        try {
+            Class<?> nps =
+                Class.forName("java.security.spec.NamedParameterSpec");
+            Field f = nps.getField("X25519");
+
+            pubKey = Class.forName("java.security.interfaces.XECPublicKey");
+            privKey = Class.forName("java.security.interfaces.XECPrivateKey");
+            pubSpec = Class.forName("java.security.spec.XECPublicKeySpec");
+            privSpec = Class.forName("java.security.spec.XECPrivateKeySpec");
+
+            pubCtor = pubSpec.getConstructor(
+                AlgorithmParameterSpec.class, BigInteger.class);
+            pubParams = pubSpec.getMethod("getParams");
+            pubU = pubSpec.getMethod("getU");
+            privCtor = privSpec.getConstructor(
+                AlgorithmParameterSpec.class, byte[].class);
+            privParams = privSpec.getMethod("getParams");
+            privScalar = privSpec.getMethod("getScalar");
+            x25519 = (AlgorithmParameterSpec) f.get(null);
+
+        } catch (ReflectiveOperationException e) {
+            /* JDK 8-10, classes do not exist */
+            pubKey = null;
+            privKey = null;
+            pubSpec = null;
+            privSpec = null;
+            pubCtor = null;
+            privCtor = null;
+            pubParams = null;
+            pubU = null;
+            privParams = null;
+            privScalar = null;
+            x25519 = null;
+        }
+
+        XEC_PUBLIC_KEY = pubKey;
+        XEC_PRIVATE_KEY = privKey;
+        XEC_PUBLIC_SPEC = pubSpec;
+        XEC_PRIVATE_SPEC = privSpec;
+        XEC_PUBLIC_SPEC_CTOR = pubCtor;
+        XEC_PUBLIC_SPEC_GET_PARAMS = pubParams;
+        XEC_PUBLIC_SPEC_GET_U = pubU;
+        XEC_PRIVATE_SPEC_CTOR = privCtor;
+        XEC_PRIVATE_SPEC_GET_PARAMS = privParams;
+        XEC_PRIVATE_SPEC_GET_SCALAR = privScalar;
+        NPS_X25519 = x25519;
+    }
+
+    private WolfXecJdkCompat() { }
+
+    /**
+     * Return {@code NamedParameterSpec.X25519}.
+     *
+     * @return JDK {@code NamedParameterSpec} on JDK 11+, else null
+     */
+    static AlgorithmParameterSpec x25519Spec() {
+        return NPS_X25519;
+    }
+
+    /**
+     * Check if spec is a {@code NamedParameterSpec} naming X25519.
+     *
+     * @param spec a parameter spec
+     *
+     * @return true if spec names X25519, false otherwise
+     */
+    static boolean isX25519Spec(AlgorithmParameterSpec spec) {
+
+        String name = WolfPQCJdkCompat.namedParameterSpecGetName(spec);
+
+        return WolfCryptXdhUtil.X25519.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Wrap a wolfJCE X25519 public key so it implements
+     * {@code XECPublicKey} on JDK 11+.
+     *
+     * @param key wolfJCE public key
+     *
+     * @return wrapped key on JDK 11+, key itself on JDK 8-10
+     */
+    static PublicKey wrapPublic(WolfCryptXECPublicKey key) {
+        return (PublicKey) WolfJdkKeyProxy.wrap(key, XEC_PUBLIC_KEY);
+    }
+
+    /**
+     * Wrap a wolfJCE X25519 private key so it implements
+     * {@code XECPrivateKey} on JDK 11+.
+     *
+     * @param key wolfJCE private key
+     *
+     * @return wrapped key on JDK 11+, key itself on JDK 8-10
+     */
+    static PrivateKey wrapPrivate(WolfCryptXECPrivateKey key) {
+        return (PrivateKey) WolfJdkKeyProxy.wrap(key, XEC_PRIVATE_KEY);
+    }
+
+    /**
+     * Check if spec is an {@code XECPublicKeySpec}.
+     *
+     * @param spec key spec
+     *
+     * @return true if spec is an XECPublicKeySpec
+     */
+    static boolean isXecPublicKeySpec(KeySpec spec) {
+        return XEC_PUBLIC_SPEC != null && XEC_PUBLIC_SPEC.isInstance(spec);
+    }
+
+    /**
+     * Check if spec is an {@code XECPrivateKeySpec}.
+     *
+     * @param spec key spec
+     *
+     * @return true if spec is an XECPrivateKeySpec
+     */
+    static boolean isXecPrivateKeySpec(KeySpec spec) {
+        return XEC_PRIVATE_SPEC != null && XEC_PRIVATE_SPEC.isInstance(spec);
+    }
+
+    /**
+     * Check if cls is, or is a superclass of, {@code XECPublicKeySpec}.
+     *
+     * @param cls requested key spec class
+     *
+     * @return true if an XECPublicKeySpec can be returned as cls
+     */
+    static boolean isXecPublicKeySpecClass(Class<?> cls) {
+        return XEC_PUBLIC_SPEC != null && cls != null &&
+               cls.isAssignableFrom(XEC_PUBLIC_SPEC);
+    }
+
+    /**
+     * Check if cls is, or is a superclass of, {@code XECPrivateKeySpec}.
+     *
+     * @param cls requested key spec class
+     *
+     * @return true if an XECPrivateKeySpec can be returned as cls
+     */
+    static boolean isXecPrivateKeySpecClass(Class<?> cls) {
+        return XEC_PRIVATE_SPEC != null && cls != null &&
+               cls.isAssignableFrom(XEC_PRIVATE_SPEC);
+    }
+
+    /**
+     * Get parameters from an {@code XECPublicKeySpec} or
+     * {@code XECPrivateKeySpec}.
+     *
+     * @param spec XEC key spec
+     *
+     * @return spec parameters, or null on error
+     */
+    static AlgorithmParameterSpec xecKeySpecGetParams(KeySpec spec) {
+
+        try {
+            if (isXecPublicKeySpec(spec)) {
+                return (AlgorithmParameterSpec)
+                    XEC_PUBLIC_SPEC_GET_PARAMS.invoke(spec);
+            }
+            if (isXecPrivateKeySpec(spec)) {
+                return (AlgorithmParameterSpec)
+                    XEC_PRIVATE_SPEC_GET_PARAMS.invoke(spec);
+            }
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get u-coordinate from an {@code XECPublicKeySpec}.
+     *
+     * @param spec XECPublicKeySpec
+     *
+     * @return u-coordinate, or null on error
+     */
+    static BigInteger xecPublicKeySpecGetU(KeySpec spec) {
+
+        if (!isXecPublicKeySpec(spec)) {
+            return null;
+        }
+
+        try {
+            return (BigInteger) XEC_PUBLIC_SPEC_GET_U.invoke(spec);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get scalar from an {@code XECPrivateKeySpec}.
+     *
+     * @param spec XECPrivateKeySpec
+     *
+     * @return copy of scalar, or null on error
+     */
+    static byte[] xecPrivateKeySpecGetScalar(KeySpec spec) {
+
+        if (!isXecPrivateKeySpec(spec)) {
+            return null;
+        }
+
+        try {
+            /* XECPrivateKeySpec.getScalar() returns a copy */
+            return (byte[]) XEC_PRIVATE_SPEC_GET_SCALAR.invoke(spec);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create an X25519 {@code XECPublicKeySpec}.
+     *
+     * @param u u-coordinate
+     *
+     * @return new XECPublicKeySpec, or null on JDK 8-10 or error
+     */
+    static KeySpec newXecPublicKeySpec(BigInteger u) {
+
+        if (XEC_PUBLIC_SPEC_CTOR == null) {
+            return null;
+        }
+
+        try {
+            return (KeySpec) XEC_PUBLIC_SPEC_CTOR.newInstance(NPS_X25519, u);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create an X25519 {@code XECPrivateKeySpec}.
+     *
+     * @param scalar private scalar, copied by the spec
+     *
+     * @return new XECPrivateKeySpec, or null on JDK 8-10 or error
+     */
+    static KeySpec newXecPrivateKeySpec(byte[] scalar) {
+
+        if (XEC_PRIVATE_SPEC_CTOR == null) {
+            return null;
+        }
+
+        try {
+            return (KeySpec) XEC_PRIVATE_SPEC_CTOR.newInstance(NPS_X25519,
+                scalar);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -23,6 +23,16 @@ package com.wolfssl.wolfcrypt;
 
 /**
  * Wrapper for native wolfCrypt AES-CCM implementation.
+ *
+ * In addition to one-shot encrypt() and decrypt(), incremental (streaming)
+ * operation is available through encryptInit()/encryptUpdate()/
+ * encryptFinal() and decryptInit()/decryptUpdate()/decryptFinal() when
+ * FeatureDetect.AesCcmStreamEnabled() returns true. AES-CCM encodes the
+ * message length in the first CBC-MAC block, so the total payload length
+ * and all additional authenticated data must be given to the init call.
+ * Streaming decryptUpdate() returns plaintext before the authentication tag
+ * has been checked, callers must discard that output if decryptFinal()
+ * fails.
  */
 public class AesCcm extends NativeStruct {
 
@@ -36,6 +46,14 @@ public class AesCcm extends NativeStruct {
 
     /* Native JNI methods, implemented in jni/jni_aesccm.c */
     private native long mallocNativeStruct_internal() throws OutOfMemoryError;
+
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
     private native void wc_AesInit();
     private native void wc_AesFree();
     private native void wc_AesCcmSetKey(byte[] key);
@@ -43,6 +61,11 @@ public class AesCcm extends NativeStruct {
         byte[] authTagOut, byte[] authIn);
     private native byte[] wc_AesCcmDecrypt(byte[] input, byte[] nonce,
         byte[] authTag, byte[] authIn);
+    private native void wc_AesCcmStreamInit(boolean encrypt, byte[] nonce,
+        int authTagSz, long dataLen, byte[] authIn);
+    private native byte[] wc_AesCcmStreamUpdate(boolean encrypt,
+        byte[] input, int offset, int length);
+    private native void wc_AesCcmStreamFinal(boolean encrypt, byte[] authTag);
 
     /**
      * Create a new AesCcm object.
@@ -98,8 +121,7 @@ public class AesCcm extends NativeStruct {
 
     /**
      * Release native Aes structure memory via JNI. Either called explicitly
-     * by application or from NativeStruct finalize() method upon object
-     * cleanup.
+     * by application or from finalize() method upon object cleanup.
      */
     @Override
     public synchronized void releaseNativeStruct() {
@@ -270,4 +292,192 @@ public class AesCcm extends NativeStruct {
 
         return output;
     }
-}
\ No newline at end of file
+
+    /**
+     * Start a streaming AES-CCM encryption operation using the key set
+     * with setKey().
+     *
+     * @param nonce nonce/IV for AES-CCM operation. Valid nonce sizes are
+     *        between 7 and 13 bytes.
+     * @param authTagSz size of auth tag to generate. Valid tag sizes are
+     *        4, 6, 8, 10, 12, 14, and 16 bytes.
+     * @param dataLen total number of plaintext bytes that will be passed
+     *        to encryptUpdate() before encryptFinal()
+     * @param authIn all additional data to be authenticated but not
+     *        encrypted, can be null
+     *
+     * @throws WolfCryptException if native operation fails, if arguments
+     *         are invalid, or if streaming AES-CCM is not compiled in
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptInit(byte[] nonce, int authTagSz,
+        long dataLen, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesCcmStreamInit(true, nonce, authTagSz, dataLen, authIn);
+        }
+    }
+
+    /**
+     * Encrypt more data in a streaming AES-CCM operation started with
+     * encryptInit().
+     *
+     * @param input input data to be encrypted, may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to encrypt
+     *
+     * @return ciphertext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails, or if total
+     *         input would exceed dataLen given to encryptInit()
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] encryptUpdate(byte[] input, int offset,
+        int length) throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_AesCcmStreamUpdate(true, input, offset, length);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming AES-CCM encryption operation and generate the
+     * authentication tag.
+     *
+     * @param authTagOut output byte array for auth tag, must be of size
+     *        authTagSz given to encryptInit()
+     *
+     * @throws WolfCryptException if native operation fails, or if less
+     *         than dataLen bytes were passed to encryptUpdate()
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptFinal(byte[] authTagOut)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesCcmStreamFinal(true, authTagOut);
+        }
+    }
+
+    /**
+     * Start a streaming AES-CCM decryption operation using the key set
+     * with setKey().
+     *
+     * @param nonce nonce/IV for AES-CCM operation
+     * @param authTagSz size of auth tag that will be checked
+     * @param dataLen total number of ciphertext bytes, not including auth
+     *        tag, that will be passed to decryptUpdate()
+     * @param authIn all additional data to be authenticated, can be null
+     *
+     * @throws WolfCryptException if native operation fails, if arguments
+     *         are invalid, or if streaming AES-CCM is not compiled in
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptInit(byte[] nonce, int authTagSz,
+        long dataLen, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesCcmStreamInit(false, nonce, authTagSz, dataLen, authIn);
+        }
+    }
+
+    /**
+     * Decrypt more data in a streaming AES-CCM operation started with
+     * decryptInit().
+     *
+     * Returned plaintext has NOT been authenticated yet. Callers must not
+     * act on it until decryptFinal() succeeds.
+     *
+     * @param input ciphertext to be decrypted, not including auth tag,
+     *        may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to decrypt
+     *
+     * @return plaintext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails, or if total
+     *         input would exceed dataLen given to decryptInit()
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] decryptUpdate(byte[] input, int offset,
+        int length) throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_AesCcmStreamUpdate(false, input, offset, length);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming AES-CCM decryption operation and check the
+     * authentication tag.
+     *
+     * @param authTag authentication tag generated during encryption
+     *
+     * @throws WolfCryptException if native operation fails, with error
+     *         code AES_CCM_AUTH_E if authentication tag does not match, or
+     *         BAD_STATE_E if less than dataLen bytes were decrypted
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptFinal(byte[] authTag)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesCcmStreamFinal(false, authTag);
+        }
+    }
+
+    /* Frees native struct with wc_AesFree() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
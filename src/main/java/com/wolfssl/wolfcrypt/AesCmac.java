@@ -370,34 +370,4 @@ public class AesCmac extends NativeStruct {
             this.key = null;
         }
     }
-
-    /**
-     * Thread-safe key zeroization for finalization.
-     * Only zeroizes if the object is in a safe state for cleanup.
-     */
-    private void safeZeroizeKey() {
-        synchronized (stateLock) {
-            if (this.key != null) {
-                Arrays.fill(this.key, (byte) 0);
-                this.key = null;
-            }
-        }
-    }
-
-    /**
-     * Zeroize stored key upon finalization
-     */
-    @SuppressWarnings("deprecation")
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            safeZeroizeKey();
-        } catch (Exception e) {
-            /* Ignore exceptions during finalization to avoid issues
-             * if the object is in an inconsistent state */
-        } finally {
-            super.finalize();
-        }
-    }
-
 }
@@ -391,4 +391,3 @@ public class AesCts extends NativeStruct {
         }
     }
 }
-
@@ -21,8 +21,24 @@
 
 package com.wolfssl.wolfcrypt;
 
+import java.nio.ByteBuffer;
+import javax.crypto.ShortBufferException;
+
 /**
  * Wrapper for native wolfCrypt AES-GCM implementation.
+ *
+ * In addition to one-shot encrypt() and decrypt(), incremental (streaming)
+ * operation is available through encryptInit()/encryptUpdate()/
+ * encryptFinal() and decryptInit()/decryptUpdate()/decryptFinal() when
+ * native wolfSSL has been compiled with WOLFSSL_AESGCM_STREAM
+ * (see FeatureDetect.AesGcmStreamEnabled()). Streaming decryptUpdate()
+ * returns plaintext before the authentication tag has been checked, callers
+ * must discard that output if decryptFinal() fails.
+ *
+ * encrypt() and decrypt() also accept direct ByteBuffers, in which case
+ * native wolfCrypt reads and writes the buffer memory directly without
+ * intermediate array copies. Input and output may be views of the same
+ * memory for in-place operation.
  */
 public class AesGcm extends NativeStruct {
 
@@ -36,6 +52,14 @@ public class AesGcm extends NativeStruct {
 
     /* Native JNI methods, implemented in jni/jni_aesgcm.c */
     private native long mallocNativeStruct_internal() throws OutOfMemoryError;
+
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
     private native void wc_AesInit();
     private native void wc_AesFree();
     private native void wc_AesGcmSetKey(byte[] key);
@@ -43,6 +67,20 @@ public class AesGcm extends NativeStruct {
         byte[] authTagOut, byte[] authIn);
     private native byte[] wc_AesGcmDecrypt(byte[] input, byte[] iv,
         byte[] authTag, byte[] authIn);
+    private native void wc_AesGcmEncryptInit(byte[] iv);
+    private native byte[] wc_AesGcmEncryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn);
+    private native void wc_AesGcmEncryptFinal(byte[] authTagOut);
+    private native void wc_AesGcmDecryptInit(byte[] iv);
+    private native byte[] wc_AesGcmDecryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn);
+    private native void wc_AesGcmDecryptFinal(byte[] authTag);
+    private native int wc_AesGcmEncryptDirect(ByteBuffer input, int offset,
+        int length, ByteBuffer output, int outputOffset, byte[] iv,
+        byte[] authTagOut, byte[] authIn);
+    private native int wc_AesGcmDecryptDirect(ByteBuffer input, int offset,
+        int length, ByteBuffer output, int outputOffset, byte[] iv,
+        byte[] authTag, byte[] authIn);
 
     /**
      * Create a new AesGcm object.
@@ -98,8 +136,7 @@ public class AesGcm extends NativeStruct {
 
     /**
      * Release native Aes structure memory via JNI. Either called explicitly
-     * by application or from NativeStruct finalize() method upon object
-     * cleanup.
+     * by application or from finalize() method upon object cleanup.
      */
     @Override
     public synchronized void releaseNativeStruct() {
@@ -270,5 +307,314 @@ public class AesGcm extends NativeStruct {
 
         return output;
     }
-}
 
+    /**
+     * Throw exception if input or output ByteBuffer is not direct.
+     *
+     * @param input input ByteBuffer
+     * @param output output ByteBuffer
+     *
+     * @throws WolfCryptException if either buffer is null or not direct
+     */
+    private static void throwIfNotDirect(ByteBuffer input, ByteBuffer output)
+        throws WolfCryptException {
+
+        if (input == null || output == null) {
+            throw new WolfCryptException(
+                "input and output ByteBuffers cannot be null");
+        }
+        if (!input.isDirect() || !output.isDirect()) {
+            throw new WolfCryptException(
+                "input and output ByteBuffers must be direct");
+        }
+    }
+
+    /**
+     * Encrypt data with AES-GCM using direct ByteBuffers.
+     *
+     * Encrypts all remaining bytes of input, placing ciphertext in output
+     * starting at its current position. On success the position of input is
+     * advanced to its limit and the position of output is advanced by the
+     * number of bytes written. Output may share memory with input for
+     * in-place encryption.
+     *
+     * @param input direct ByteBuffer holding plaintext
+     * @param output direct ByteBuffer to place ciphertext into
+     * @param iv IV for AES-GCM operation
+     * @param authTagOut output byte array for auth tag to be placed, sized
+     *        to desired tag size
+     * @param authIn additional data to be authenticated but not encrypted,
+     *        can be null
+     *
+     * @return number of bytes written to output
+     *
+     * @throws WolfCryptException if buffers are not direct or if native
+     *         operation fails
+     * @throws ShortBufferException if output does not have enough space
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized int encrypt(ByteBuffer input, ByteBuffer output,
+        byte[] iv, byte[] authTagOut, byte[] authIn)
+        throws IllegalStateException, WolfCryptException,
+               ShortBufferException {
+
+        int ret = 0;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+        throwIfNotDirect(input, output);
+
+        if (output.remaining() < input.remaining()) {
+            throw new ShortBufferException(
+                "output buffer is too small to hold the result.");
+        }
+
+        synchronized (pointerLock) {
+            ret = wc_AesGcmEncryptDirect(input, input.position(),
+                input.remaining(), output, output.position(), iv,
+                authTagOut, authIn);
+        }
+
+        input.position(input.position() + ret);
+        output.position(output.position() + ret);
+
+        return ret;
+    }
+
+    /**
+     * Decrypt data with AES-GCM using direct ByteBuffers.
+     *
+     * Decrypts all remaining bytes of input (ciphertext only, not including
+     * the tag), placing plaintext in output starting at its current
+     * position. On success the position of input is advanced to its limit
+     * and the position of output is advanced by the number of bytes written.
+     * If authentication fails, the output region is zeroed. Output may share
+     * memory with input for in-place decryption.
+     *
+     * @param input direct ByteBuffer holding ciphertext
+     * @param output direct ByteBuffer to place plaintext into
+     * @param iv IV for AES-GCM operation
+     * @param authTag authentication tag generated during encryption
+     * @param authIn additional data to be authenticated but not decrypted,
+     *        can be null
+     *
+     * @return number of bytes written to output
+     *
+     * @throws WolfCryptException if buffers are not direct or if native
+     *         operation fails, including authentication failure
+     *         (WolfCryptError.AES_GCM_AUTH_E)
+     * @throws ShortBufferException if output does not have enough space
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized int decrypt(ByteBuffer input, ByteBuffer output,
+        byte[] iv, byte[] authTag, byte[] authIn)
+        throws IllegalStateException, WolfCryptException,
+               ShortBufferException {
+
+        int ret = 0;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+        throwIfNotDirect(input, output);
+
+        if (output.remaining() < input.remaining()) {
+            throw new ShortBufferException(
+                "output buffer is too small to hold the result.");
+        }
+
+        synchronized (pointerLock) {
+            ret = wc_AesGcmDecryptDirect(input, input.position(),
+                input.remaining(), output, output.position(), iv,
+                authTag, authIn);
+        }
+
+        input.position(input.position() + ret);
+        output.position(output.position() + ret);
+
+        return ret;
+    }
+
+    /**
+     * Start a streaming AES-GCM encryption operation using the key set
+     * with setKey().
+     *
+     * @param iv IV for AES-GCM operation
+     *
+     * @throws WolfCryptException if native operation fails, or if AES-GCM
+     *         streaming is not compiled into native wolfCrypt or not allowed
+     *         with an external IV by the native FIPS module
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptInit(byte[] iv)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesGcmEncryptInit(iv);
+        }
+    }
+
+    /**
+     * Encrypt more data in a streaming AES-GCM operation started with
+     * encryptInit().
+     *
+     * All additional authenticated data must be passed in before the first
+     * call that passes plaintext.
+     *
+     * @param input input data to be encrypted, may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to encrypt
+     * @param authIn additional data to be authenticated but not encrypted,
+     *        can be null
+     *
+     * @return ciphertext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] encryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_AesGcmEncryptUpdate(input, offset, length, authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming AES-GCM encryption operation and generate the
+     * authentication tag.
+     *
+     * @param authTagOut output byte array for auth tag to be placed, sized
+     *        to desired tag size
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptFinal(byte[] authTagOut)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesGcmEncryptFinal(authTagOut);
+        }
+    }
+
+    /**
+     * Start a streaming AES-GCM decryption operation using the key set
+     * with setKey().
+     *
+     * @param iv IV for AES-GCM operation
+     *
+     * @throws WolfCryptException if native operation fails, or if AES-GCM
+     *         streaming is not compiled into native wolfCrypt
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptInit(byte[] iv)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesGcmDecryptInit(iv);
+        }
+    }
+
+    /**
+     * Decrypt more data in a streaming AES-GCM operation started with
+     * decryptInit().
+     *
+     * Returned plaintext has NOT been authenticated yet. Callers must not
+     * act on it until decryptFinal() succeeds.
+     *
+     * @param input ciphertext to be decrypted, not including auth tag,
+     *        may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to decrypt
+     * @param authIn additional data to be authenticated, can be null
+     *
+     * @return plaintext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] decryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_AesGcmDecryptUpdate(input, offset, length, authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming AES-GCM decryption operation and check the
+     * authentication tag.
+     *
+     * @param authTag authentication tag generated during encryption
+     *
+     * @throws WolfCryptException if native operation fails, or with
+     *         error code AES_GCM_AUTH_E if authentication tag does not match
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptFinal(byte[] authTag)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_AesGcmDecryptFinal(authTag);
+        }
+    }
+
+    /* Frees native struct with wc_AesFree() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
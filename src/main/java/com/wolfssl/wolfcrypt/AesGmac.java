@@ -229,5 +229,4 @@ public class AesGmac extends NativeStruct {
             throw new IllegalStateException("No key available");
         }
     }
-
 }
@@ -0,0 +1,412 @@
+/* BatchVerify.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Batch signature verification shared by Ecc, Ed25519 and MlDsa
+ * verifyBatch() methods.
+ *
+ * Items are ordered so that items sharing a key object are next to each
+ * other, then split into chunks of roughly (batch size / workers) items.
+ * A chunk may hold items for up to MAX_KEYS_PER_TASK different keys, and
+ * is verified with a single native call taking one key per item. Chunks
+ * run in parallel on the given ExecutorService, with the calling thread
+ * running the first chunk itself.
+ *
+ * A native key struct must not be used by two threads at once. Each chunk
+ * holds the pointer lock of every key it uses. The first chunk with items
+ * for a key uses the caller's key object. A later chunk with items for the
+ * same key uses its own copy of the public key, created before work is
+ * dispatched and freed afterwards. If the public key cannot be copied,
+ * those items are moved to the chunk using the original key.
+ */
+final class BatchVerify {
+
+    /* Maximum number of different keys used by one chunk. Bounds the
+     * number of pointer locks held, and nesting depth, while verifying */
+    static final int MAX_KEYS_PER_TASK = 64;
+
+    /**
+     * Algorithm specific operations used by verify().
+     *
+     * @param <K> native key type
+     */
+    interface Verifier<K extends NativeStruct> {
+
+        /**
+         * Verify items with one native call. Called with the pointer
+         * lock of every key in keys held.
+         *
+         * @param keys key to verify each item with, keys may repeat
+         * @param data messages or hashes, same length as keys
+         * @param sigs signatures, same length as keys
+         * @param results output, set to true for each verified item
+         */
+        void verify(K[] keys, byte[][] data, byte[][] sigs,
+            boolean[] results);
+
+        /**
+         * Create new key object holding the public part of key.
+         *
+         * @param key key to copy
+         *
+         * @return new key object, freed by caller
+         *
+         * @throws WolfCryptException if key cannot be copied
+         */
+        K copyPublic(K key) throws WolfCryptException;
+    }
+
+    /* One chunk of a batch, verified with one native call */
+    private static final class Task<K extends NativeStruct> {
+        /* Caller key object to key used by this task, the same object or
+         * a public key copy */
+        private final Map<K, K> keys = new IdentityHashMap<K, K>();
+        /* Batch index and key used for each item */
+        private final List<Integer> idx = new ArrayList<Integer>();
+        private final List<K> itemKeys = new ArrayList<K>();
+
+        void add(int i, K key) {
+            this.idx.add(i);
+            this.itemKeys.add(key);
+        }
+    }
+
+    private BatchVerify() {
+    }
+
+    /**
+     * Default number of workers used when none is given, the number of
+     * available processors.
+     *
+     * @return default worker count
+     */
+    static int defaultWorkers() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Default worker pool used when none is given, the common ForkJoinPool.
+     *
+     * @return default ExecutorService
+     */
+    static ExecutorService defaultPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Check that batch arrays are non-null and of equal length.
+     *
+     * @param keys key array
+     * @param data message or hash array
+     * @param sigs signature array
+     *
+     * @throws IllegalArgumentException if arrays are null, of different
+     *         lengths, or contain null entries
+     */
+    static void checkArgs(Object[] keys, byte[][] data, byte[][] sigs)
+        throws IllegalArgumentException {
+
+        if (keys == null || data == null || sigs == null) {
+            throw new IllegalArgumentException(
+                "Batch key, data and signature arrays cannot be null");
+        }
+        if (keys.length != data.length || keys.length != sigs.length) {
+            throw new IllegalArgumentException(
+                "Batch key, data and signature arrays must be same length");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || data[i] == null || sigs[i] == null) {
+                throw new IllegalArgumentException(
+                    "Batch entry " + i + " contains null element");
+            }
+        }
+    }
+
+    /**
+     * Verify a batch of signatures.
+     *
+     * @param <K> native key type
+     * @param keys key for each item, keys may repeat
+     * @param data message or hash for each item
+     * @param sigs signature for each item
+     * @param pool ExecutorService to run chunks on, or null to run all
+     *        chunks in the calling thread
+     * @param workers maximum number of chunks verified in parallel
+     * @param verifier algorithm specific operations
+     *
+     * @return BitSet with bit i set if item i verified
+     *
+     * @throws WolfCryptException if interrupted while waiting for workers
+     */
+    static <K extends NativeStruct> BitSet verify(K[] keys, byte[][] data,
+        byte[][] sigs, ExecutorService pool, int workers,
+        Verifier<K> verifier) throws WolfCryptException {
+
+        final boolean[] results = new boolean[keys.length];
+        final Class<?> keyType = keys.getClass().getComponentType();
+        List<Task<K>> tasks;
+        List<K> copies = new ArrayList<K>();
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        BitSet out = new BitSet(keys.length);
+
+        if (keys.length == 0) {
+            return out;
+        }
+        if (pool == null || workers < 1) {
+            workers = 1;
+        }
+
+        try {
+            tasks = makeTasks(keys, workers, verifier, copies);
+
+            for (int i = 1; i < tasks.size(); i++) {
+                final Task<K> t = tasks.get(i);
+                if (pool == null) {
+                    runTask(t, keyType, data, sigs, results, verifier);
+                }
+                else {
+                    futures.add(pool.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            runTask(t, keyType, data, sigs, results,
+                                verifier);
+                        }
+                    }));
+                }
+            }
+
+            /* Calling thread verifies first chunk itself */
+            runTask(tasks.get(0), keyType, data, sigs, results, verifier);
+
+            waitAll(futures);
+
+        } finally {
+            /* Futures are done or failed here, free public key copies */
+            for (K c : copies) {
+                c.releaseNativeStruct();
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i]) {
+                out.set(i);
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Order items by key and split them into chunks by item count.
+     *
+     * @param copies output, public key copies made for chunks, to be
+     *        freed by the caller
+     */
+    private static <K extends NativeStruct> List<Task<K>> makeTasks(
+        K[] keys, int workers, Verifier<K> verifier, List<K> copies) {
+
+        Map<K, List<Integer>> groups = new IdentityHashMap<K, List<Integer>>();
+        Map<K, Task<K>> owners = new IdentityHashMap<K, Task<K>>();
+        Set<K> noCopy =
+            Collections.newSetFromMap(new IdentityHashMap<K, Boolean>());
+        List<K> order = new ArrayList<K>();
+        List<Task<K>> tasks = new ArrayList<Task<K>>();
+        int chunkSz = (keys.length + workers - 1) / workers;
+        Task<K> cur = null;
+
+        for (int i = 0; i < keys.length; i++) {
+            List<Integer> g = groups.get(keys[i]);
+            if (g == null) {
+                g = new ArrayList<Integer>();
+                groups.put(keys[i], g);
+                order.add(keys[i]);
+            }
+            g.add(i);
+        }
+
+        for (K key : order) {
+            for (int i : groups.get(key)) {
+                if (cur == null || cur.idx.size() >= chunkSz ||
+                    (!cur.keys.containsKey(key) &&
+                     cur.keys.size() >= MAX_KEYS_PER_TASK)) {
+                    cur = new Task<K>();
+                    tasks.add(cur);
+                }
+
+                K use = cur.keys.get(key);
+                if (use == null) {
+                    if (!owners.containsKey(key)) {
+                        /* First chunk for this key uses the original */
+                        use = key;
+                        owners.put(key, cur);
+                    }
+                    else if (!noCopy.contains(key)) {
+                        use = copyKey(key, verifier);
+                        if (use == null) {
+                            noCopy.add(key);
+                        }
+                        else {
+                            copies.add(use);
+                        }
+                    }
+                    if (use == null) {
+                        /* Cannot copy key, verify on the original */
+                        owners.get(key).add(i, key);
+                        continue;
+                    }
+                    cur.keys.put(key, use);
+                }
+                cur.add(i, use);
+            }
+        }
+
+        /* Drop chunks left empty after moving items to the original key */
+        for (int t = tasks.size() - 1; t >= 0; t--) {
+            if (tasks.get(t).idx.isEmpty()) {
+                tasks.remove(t);
+            }
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Make a copy of the public part of key.
+     *
+     * @return copy, or null if key could not be copied
+     */
+    private static <K extends NativeStruct> K copyKey(K key,
+        Verifier<K> verifier) {
+
+        try {
+            return verifier.copyPublic(key);
+        } catch (RuntimeException e) {
+            /* Fall back to verifying on the original key */
+            return null;
+        }
+    }
+
+    /**
+     * Verify one chunk with a single native call and store results.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K extends NativeStruct> void runTask(Task<K> t,
+        Class<?> keyType, byte[][] data, byte[][] sigs, boolean[] results,
+        Verifier<K> verifier) {
+
+        int n = t.idx.size();
+        K[] k = (K[])Array.newInstance(keyType, n);
+        byte[][] d = new byte[n][];
+        byte[][] s = new byte[n][];
+        boolean[] r = new boolean[n];
+        List<K> locks = new ArrayList<K>(t.keys.values());
+
+        for (int i = 0; i < n; i++) {
+            k[i] = t.itemKeys.get(i);
+            d[i] = data[t.idx.get(i)];
+            s[i] = sigs[t.idx.get(i)];
+        }
+
+        verifyLocked(locks, 0, k, d, s, r, verifier);
+
+        /* Each task writes a distinct set of indices */
+        for (int i = 0; i < n; i++) {
+            results[t.idx.get(i)] = r[i];
+        }
+    }
+
+    /**
+     * Take pointer locks of locks[next] onwards, then verify. No two tasks
+     * use the same key object, so tasks never wait on each other here.
+     */
+    private static <K extends NativeStruct> void verifyLocked(List<K> locks,
+        int next, K[] k, byte[][] d, byte[][] s, boolean[] r,
+        Verifier<K> verifier) {
+
+        if (next == locks.size()) {
+            verifier.verify(k, d, s, r);
+            return;
+        }
+
+        synchronized (locks.get(next).pointerLock) {
+            verifyLocked(locks, next + 1, k, d, s, r, verifier);
+        }
+    }
+
+    /**
+     * Wait for all futures, rethrowing first failure after all are done.
+     * Also used by DigestMany.
+     *
+     * @param futures futures to wait for
+     *
+     * @throws WolfCryptException wrapping a checked task failure
+     */
+    static void waitAll(List<Future<?>> futures)
+        throws WolfCryptException {
+
+        RuntimeException failure = null;
+        boolean interrupted = false;
+
+        for (Future<?> f : futures) {
+            while (true) {
+                try {
+                    f.get();
+                    break;
+                } catch (InterruptedException e) {
+                    /* Keep waiting, task holds native key references */
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        if (e.getCause() instanceof RuntimeException) {
+                            failure = (RuntimeException)e.getCause();
+                        }
+                        else {
+                            failure = new WolfCryptException(e.getCause());
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
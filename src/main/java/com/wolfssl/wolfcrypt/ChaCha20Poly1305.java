@@ -0,0 +1,530 @@
+/* ChaCha20Poly1305.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+
+package com.wolfssl.wolfcrypt;
+
+import java.nio.ByteBuffer;
+import javax.crypto.ShortBufferException;
+
+/**
+ * Wrapper for native wolfCrypt ChaCha20-Poly1305 AEAD (RFC 8439)
+ * implementation.
+ *
+ * In addition to one-shot encrypt() and decrypt(), incremental (streaming)
+ * operation is available through encryptInit()/encryptUpdate()/
+ * encryptFinal() and decryptInit()/decryptUpdate()/decryptFinal().
+ * Streaming decryptUpdate() returns plaintext before the authentication
+ * tag has been checked, callers must discard that output if decryptFinal()
+ * fails.
+ *
+ * encrypt() and decrypt() also accept direct ByteBuffers, in which case
+ * native wolfCrypt reads and writes the buffer memory directly without
+ * intermediate array copies. Input and output may be views of the same
+ * memory for in-place operation.
+ *
+ * The key is held in the native structure and may be replaced by calling
+ * setKey() again between operations. It is zeroized when this object is
+ * released.
+ */
+public class ChaCha20Poly1305 extends NativeStruct {
+
+    /** ChaCha20-Poly1305 key size, in bytes */
+    public static final int KEY_SIZE = 32;
+
+    /** ChaCha20-Poly1305 nonce size, in bytes */
+    public static final int NONCE_SIZE = 12;
+
+    /** Poly1305 authentication tag size, in bytes */
+    public static final int TAG_SIZE = 16;
+
+    private WolfCryptState state = WolfCryptState.UNINITIALIZED;
+
+    /** Lock around object state */
+    protected final Object stateLock = new Object();
+
+    /* Native JNI methods, implemented in jni/jni_chacha20poly1305.c */
+    private native long mallocNativeStruct_internal() throws OutOfMemoryError;
+    private native void wc_ChaCha20Poly1305Free();
+    private native void wc_ChaCha20Poly1305SetKey(byte[] key);
+    private native byte[] wc_ChaCha20Poly1305_Encrypt(byte[] input,
+        byte[] iv, byte[] authTagOut, byte[] authIn);
+    private native byte[] wc_ChaCha20Poly1305_Decrypt(byte[] input,
+        byte[] iv, byte[] authTag, byte[] authIn);
+    private native int wc_ChaCha20Poly1305Direct(ByteBuffer input,
+        int offset, int length, ByteBuffer output, int outputOffset,
+        byte[] iv, byte[] authTag, byte[] authIn, boolean encrypt);
+    private native void wc_ChaCha20Poly1305_Init(byte[] iv,
+        boolean encrypt);
+    private native byte[] wc_ChaCha20Poly1305Update(byte[] input,
+        int offset, int length, byte[] authIn);
+    private native void wc_ChaCha20Poly1305_Final(byte[] authTag,
+        boolean encrypt);
+
+    /**
+     * Create a new ChaCha20Poly1305 object.
+     *
+     * @throws WolfCryptException if ChaCha20-Poly1305 has not been compiled
+     *         into native wolfCrypt library.
+     */
+    public ChaCha20Poly1305() {
+        if (!FeatureDetect.ChaCha20Poly1305Enabled()) {
+            throw new WolfCryptException(
+                WolfCryptError.NOT_COMPILED_IN.getCode());
+        }
+        /* Internal state is initialized on first use */
+    }
+
+    /**
+     * Malloc native ChaCha20-Poly1305 structure via JNI. Called by
+     * NativeStruct when this object is first used.
+     *
+     * @return native allocated pointer
+     *
+     * @throws OutOfMemoryError when malloc fails with memory error
+     */
+    @Override
+    protected long mallocNativeStruct()
+        throws OutOfMemoryError {
+
+        synchronized (pointerLock) {
+            return mallocNativeStruct_internal();
+        }
+    }
+
+    /**
+     * Zeroize and release native ChaCha20-Poly1305 structure memory via
+     * JNI. Either called explicitly by application or from finalize()
+     * method upon object cleanup.
+     */
+    @Override
+    public synchronized void releaseNativeStruct() {
+
+        synchronized (stateLock) {
+            if ((state != WolfCryptState.UNINITIALIZED) &&
+                (state != WolfCryptState.RELEASED)) {
+                synchronized (pointerLock) {
+                    wc_ChaCha20Poly1305Free();
+                    super.releaseNativeStruct();
+                }
+                state = WolfCryptState.RELEASED;
+            }
+        }
+    }
+
+    /**
+     * Internal helper method to initialize object if/when needed.
+     *
+     * @throws IllegalStateException on failure to initialize properly
+     * @throws IllegalStateException if releaseNativeStruct() has been called
+     *         and object has been released
+     */
+    private synchronized void checkStateAndInitialize()
+        throws IllegalStateException {
+
+        synchronized (stateLock) {
+            if (state == WolfCryptState.RELEASED) {
+                throw new IllegalStateException("Object has been released");
+            }
+
+            if (state == WolfCryptState.UNINITIALIZED) {
+                synchronized (pointerLock) {
+                    /* Allocate native struct pointer from NativeStruct */
+                    initNativeStruct();
+                }
+                state = WolfCryptState.INITIALIZED;
+            }
+        }
+    }
+
+    /**
+     * Throw exception if key has not been loaded into this object.
+     *
+     * @throws IllegalStateException if key has not been loaded
+     */
+    private void throwIfKeyNotLoaded() throws IllegalStateException {
+
+        synchronized (stateLock) {
+            if (state != WolfCryptState.READY) {
+                throw new IllegalStateException(
+                    "No ChaCha20-Poly1305 key loaded");
+            }
+        }
+    }
+
+    /**
+     * Set ChaCha20-Poly1305 key.
+     *
+     * May be called again to replace the key, any streaming operation in
+     * progress is abandoned.
+     *
+     * @param key 32 byte key
+     *
+     * @throws WolfCryptException if key is null or not 32 bytes
+     * @throws IllegalStateException if object fails to initialize, or if
+     *         releaseNativeStruct() has been called and object has been
+     *         released.
+     */
+    public synchronized void setKey(byte[] key)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+
+        synchronized (stateLock) {
+            synchronized (pointerLock) {
+                wc_ChaCha20Poly1305SetKey(key);
+            }
+            state = WolfCryptState.READY;
+        }
+    }
+
+    /**
+     * Encrypt data with ChaCha20-Poly1305.
+     *
+     * @param input plaintext to be encrypted
+     * @param iv 12 byte nonce
+     * @param authTagOut output array for 16 byte authentication tag
+     * @param authIn additional data to be authenticated but not encrypted,
+     *        can be null
+     *
+     * @return ciphertext, same length as input
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] encrypt(byte[] input, byte[] iv,
+        byte[] authTagOut, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_ChaCha20Poly1305_Encrypt(input, iv, authTagOut,
+                authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Decrypt data with ChaCha20-Poly1305.
+     *
+     * @param input ciphertext to be decrypted, not including tag
+     * @param iv 12 byte nonce
+     * @param authTag 16 byte authentication tag generated during encryption
+     * @param authIn additional data to be authenticated, can be null
+     *
+     * @return plaintext, same length as input
+     *
+     * @throws WolfCryptException if native operation fails, or with error
+     *         code MAC_CMP_FAILED_E if authentication tag does not match
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] decrypt(byte[] input, byte[] iv,
+        byte[] authTag, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_ChaCha20Poly1305_Decrypt(input, iv, authTag, authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Encrypt or decrypt direct ByteBuffers in one native call.
+     */
+    private int processDirect(ByteBuffer input, ByteBuffer output,
+        byte[] iv, byte[] authTag, byte[] authIn, boolean encrypt)
+        throws IllegalStateException, WolfCryptException,
+               ShortBufferException {
+
+        int ret = 0;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        if (input == null || output == null) {
+            throw new WolfCryptException(
+                "input and output ByteBuffers cannot be null");
+        }
+        if (!input.isDirect() || !output.isDirect()) {
+            throw new WolfCryptException(
+                "input and output ByteBuffers must be direct");
+        }
+        if (output.remaining() < input.remaining()) {
+            throw new ShortBufferException(
+                "output buffer is too small to hold the result.");
+        }
+
+        synchronized (pointerLock) {
+            ret = wc_ChaCha20Poly1305Direct(input, input.position(),
+                input.remaining(), output, output.position(), iv,
+                authTag, authIn, encrypt);
+        }
+
+        input.position(input.position() + ret);
+        output.position(output.position() + ret);
+
+        return ret;
+    }
+
+    /**
+     * Encrypt data with ChaCha20-Poly1305 using direct ByteBuffers.
+     *
+     * Encrypts all remaining bytes of input, placing ciphertext in output
+     * starting at its current position. On success the position of input is
+     * advanced to its limit and the position of output is advanced by the
+     * number of bytes written. Output may share memory with input for
+     * in-place encryption.
+     *
+     * @param input direct ByteBuffer holding plaintext
+     * @param output direct ByteBuffer to place ciphertext into
+     * @param iv 12 byte nonce
+     * @param authTagOut output array for 16 byte authentication tag
+     * @param authIn additional data to be authenticated but not encrypted,
+     *        can be null
+     *
+     * @return number of bytes written to output
+     *
+     * @throws WolfCryptException if buffers are not direct or if native
+     *         operation fails
+     * @throws ShortBufferException if output does not have enough space
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized int encrypt(ByteBuffer input, ByteBuffer output,
+        byte[] iv, byte[] authTagOut, byte[] authIn)
+        throws IllegalStateException, WolfCryptException,
+               ShortBufferException {
+
+        return processDirect(input, output, iv, authTagOut, authIn, true);
+    }
+
+    /**
+     * Decrypt data with ChaCha20-Poly1305 using direct ByteBuffers.
+     *
+     * Decrypts all remaining bytes of input (ciphertext only, not including
+     * the tag), placing plaintext in output starting at its current
+     * position. On success the position of input is advanced to its limit
+     * and the position of output is advanced by the number of bytes written.
+     * If authentication fails, the output region is zeroed. Output may share
+     * memory with input for in-place decryption.
+     *
+     * @param input direct ByteBuffer holding ciphertext
+     * @param output direct ByteBuffer to place plaintext into
+     * @param iv 12 byte nonce
+     * @param authTag 16 byte authentication tag generated during encryption
+     * @param authIn additional data to be authenticated, can be null
+     *
+     * @return number of bytes written to output
+     *
+     * @throws WolfCryptException if buffers are not direct or if native
+     *         operation fails, including authentication failure
+     *         (WolfCryptError.MAC_CMP_FAILED_E)
+     * @throws ShortBufferException if output does not have enough space
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized int decrypt(ByteBuffer input, ByteBuffer output,
+        byte[] iv, byte[] authTag, byte[] authIn)
+        throws IllegalStateException, WolfCryptException,
+               ShortBufferException {
+
+        return processDirect(input, output, iv, authTag, authIn, false);
+    }
+
+    /**
+     * Start a streaming ChaCha20-Poly1305 encryption operation using the
+     * key set with setKey().
+     *
+     * @param iv 12 byte nonce
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptInit(byte[] iv)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_ChaCha20Poly1305_Init(iv, true);
+        }
+    }
+
+    /**
+     * Encrypt more data in a streaming ChaCha20-Poly1305 operation started
+     * with encryptInit().
+     *
+     * All additional authenticated data must be passed in before the first
+     * call that passes plaintext.
+     *
+     * @param input input data to be encrypted, may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to encrypt
+     * @param authIn additional data to be authenticated but not encrypted,
+     *        can be null
+     *
+     * @return ciphertext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] encryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_ChaCha20Poly1305Update(input, offset, length, authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming ChaCha20-Poly1305 encryption operation and
+     * generate the authentication tag.
+     *
+     * @param authTagOut output array for 16 byte authentication tag
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void encryptFinal(byte[] authTagOut)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_ChaCha20Poly1305_Final(authTagOut, true);
+        }
+    }
+
+    /**
+     * Start a streaming ChaCha20-Poly1305 decryption operation using the
+     * key set with setKey().
+     *
+     * @param iv 12 byte nonce
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptInit(byte[] iv)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_ChaCha20Poly1305_Init(iv, false);
+        }
+    }
+
+    /**
+     * Decrypt more data in a streaming ChaCha20-Poly1305 operation started
+     * with decryptInit().
+     *
+     * Returned plaintext has NOT been authenticated yet. Callers must not
+     * act on it until decryptFinal() succeeds.
+     *
+     * @param input ciphertext to be decrypted, not including auth tag,
+     *        may be null if length is 0
+     * @param offset offset into input to start at
+     * @param length number of bytes of input to decrypt
+     * @param authIn additional data to be authenticated, can be null
+     *
+     * @return plaintext, same length as input processed
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized byte[] decryptUpdate(byte[] input, int offset,
+        int length, byte[] authIn)
+        throws IllegalStateException, WolfCryptException {
+
+        byte[] output = null;
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            output = wc_ChaCha20Poly1305Update(input, offset, length, authIn);
+        }
+
+        return output;
+    }
+
+    /**
+     * Finish a streaming ChaCha20-Poly1305 decryption operation and check
+     * the authentication tag.
+     *
+     * @param authTag 16 byte authentication tag generated during encryption
+     *
+     * @throws WolfCryptException if native operation fails, or with
+     *         error code MAC_CMP_FAILED_E if authentication tag does not
+     *         match
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public synchronized void decryptFinal(byte[] authTag)
+        throws IllegalStateException, WolfCryptException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            wc_ChaCha20Poly1305_Final(authTag, false);
+        }
+    }
+}
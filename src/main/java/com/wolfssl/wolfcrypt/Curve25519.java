@@ -36,6 +36,20 @@ public class Curve25519 extends NativeStruct {
      */
     public static final int CURVE25519_KEY_SIZE = 32;
 
+    /**
+     * Little endian key and shared secret byte order, from native
+     * EC25519_LITTLE_ENDIAN. This is the RFC 7748 format used by X25519
+     * in TLS, X.509 and PKCS#8.
+     */
+    public static final int LITTLE_ENDIAN = 0;
+
+    /**
+     * Big endian key and shared secret byte order, from native
+     * EC25519_BIG_ENDIAN. Used by the Curve25519 methods that do not take
+     * an endian argument.
+     */
+    public static final int BIG_ENDIAN = 1;
+
     /**
      * Create new Curve25519 object.
      *
@@ -74,6 +88,14 @@ public class Curve25519 extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_curve25519_init();
     private native void wc_curve25519_free();
     private native void wc_curve25519_make_key(Rng rng, int size);
@@ -85,6 +107,14 @@ public class Curve25519 extends NativeStruct {
     private native void wc_curve25519_import_public(byte[] pubKey);
     private native byte[] wc_curve25519_export_private();
     private native byte[] wc_curve25519_export_public();
+    private native void wc_curve25519_import_private_ex(byte[] privKey,
+        int endian);
+    private native void wc_curve25519_import_public_ex(byte[] pubKey,
+        int endian);
+    private native byte[] wc_curve25519_export_private_ex(int endian);
+    private native byte[] wc_curve25519_export_public_ex(int endian);
+    private native byte[] wc_curve25519_shared_secret_raw(byte[] pubKey,
+        int endian);
 
     /**
      * Internal helper method to initialize object if/when needed.
@@ -290,6 +320,60 @@ public class Curve25519 extends NativeStruct {
         }
     }
 
+    /**
+     * Import private key from byte array with specified byte order.
+     *
+     * The scalar is clamped as described in RFC 7748 before import, so any
+     * 32 byte value is accepted. Clamping does not change the result of
+     * X25519, which clamps the scalar itself.
+     *
+     * @param privKey 32 byte private Curve25519 key
+     * @param endian byte order of privKey, LITTLE_ENDIAN or BIG_ENDIAN
+     *
+     * @throws WolfCryptException if error occurs during key import
+     * @throws IllegalStateException if key has already been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public void importPrivateOnly(byte[] privKey, int endian)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyExists();
+
+        synchronized (stateLock) {
+            synchronized (pointerLock) {
+                wc_curve25519_import_private_ex(privKey, endian);
+            }
+            state = WolfCryptState.READY;
+        }
+    }
+
+    /**
+     * Import public key from byte array with specified byte order.
+     *
+     * @param pubKey 32 byte public Curve25519 key
+     * @param endian byte order of pubKey, LITTLE_ENDIAN or BIG_ENDIAN
+     *
+     * @throws WolfCryptException if error occurs during key import
+     * @throws IllegalStateException if key has already been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public void importPublic(byte[] pubKey, int endian)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyExists();
+
+        synchronized (stateLock) {
+            synchronized (pointerLock) {
+                wc_curve25519_import_public_ex(pubKey, endian);
+            }
+            state = WolfCryptState.READY;
+        }
+    }
+
     /**
      * Export private key as byte array.
      *
@@ -332,6 +416,52 @@ public class Curve25519 extends NativeStruct {
         }
     }
 
+    /**
+     * Export private key as byte array with specified byte order.
+     *
+     * @param endian byte order of output, LITTLE_ENDIAN or BIG_ENDIAN
+     *
+     * @return byte array of private Curve25519 key
+     *
+     * @throws WolfCryptException if error occurs during key export
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public byte[] exportPrivate(int endian)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            return wc_curve25519_export_private_ex(endian);
+        }
+    }
+
+    /**
+     * Export public key as byte array with specified byte order.
+     *
+     * @param endian byte order of output, LITTLE_ENDIAN or BIG_ENDIAN
+     *
+     * @return byte array of public Curve25519 key
+     *
+     * @throws WolfCryptException if error occurs during key export
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public byte[] exportPublic(int endian)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            return wc_curve25519_export_public_ex(endian);
+        }
+    }
+
     /**
      * Generate shared secret between this object and specified public key.
      *
@@ -354,5 +484,54 @@ public class Curve25519 extends NativeStruct {
             return wc_curve25519_make_shared_secret(pubKey);
         }
     }
-}
 
+    /**
+     * Generate shared secret between this object and a raw peer public key.
+     *
+     * The peer key is imported into a temporary native key and validated
+     * inside the same native call, so no Curve25519 object is needed for
+     * the peer and the private key in this object is not re-imported. This
+     * object may be reused for any number of shared secret operations.
+     *
+     * The most significant bit of the peer key is masked as required by
+     * RFC 7748. A peer key that is invalid or of small order, giving an
+     * all-zero shared secret, is rejected.
+     *
+     * @param pubKey 32 byte peer public key
+     * @param endian byte order of pubKey and of the returned secret,
+     *        LITTLE_ENDIAN or BIG_ENDIAN
+     *
+     * @return 32 byte shared secret
+     *
+     * @throws WolfCryptException if peer key is invalid or error occurs
+     *         during secret generation
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public byte[] makeSharedSecret(byte[] pubKey, int endian)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            return wc_curve25519_shared_secret_raw(pubKey, endian);
+        }
+    }
+
+    /* Frees native struct with wc_curve25519_free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
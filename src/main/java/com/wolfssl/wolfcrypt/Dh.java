@@ -112,6 +112,14 @@ public class Dh extends NativeStruct {
 
     private static native int dhMinSize();
     private native long mallocNativeStruct_internal() throws OutOfMemoryError;
+
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
     private native void wc_InitDhKey();
     private native void wc_FreeDhKey();
     private native void wc_DhSetKey(byte[] p, byte[] g);
@@ -658,5 +666,19 @@ public class Dh extends NativeStruct {
             return wc_DhPublicKeyEncode();
         }
     }
-}
 
+    /* Frees native struct with wc_FreeDhKey() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
@@ -0,0 +1,198 @@
+/* DigestMany.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-buffer hashing shared by MessageDigest.digestMany() methods.
+ *
+ * Inputs are hashed independently with one native call per chunk, and
+ * digests are written back to back into one flat output array. When a
+ * worker pool is given, the inputs are split into at most workers chunks
+ * which run in parallel, with the calling thread hashing the first chunk
+ * itself. Each chunk writes a distinct region of the output array.
+ *
+ * Native digest functions used here are one-shot and do not touch the
+ * native struct of the MessageDigest object, so they need no pointer lock.
+ */
+final class DigestMany {
+
+    /**
+     * Native one-shot hash of inputs[from] to inputs[from + count - 1].
+     */
+    interface Hasher {
+
+        /**
+         * Hash a range of inputs with one native call.
+         *
+         * @param inputs input byte arrays or direct ByteBuffers
+         * @param offsets offset into each input array or buffer
+         * @param lengths number of bytes to hash from each input
+         * @param from index of first input to hash
+         * @param count number of inputs to hash
+         * @param out output array, digest of inputs[i] written at
+         *        outOffset + ((i - from) * digest size)
+         * @param outOffset offset into out for first digest
+         *
+         * @throws WolfCryptException if native operation fails
+         */
+        void hash(Object[] inputs, int[] offsets, int[] lengths, int from,
+            int count, byte[] out, int outOffset) throws WolfCryptException;
+    }
+
+    private DigestMany() {
+    }
+
+    /**
+     * Get size of one input, the length of a byte array or capacity of a
+     * direct ByteBuffer.
+     *
+     * @throws IllegalArgumentException if input is null or is neither a
+     *         byte array nor a direct ByteBuffer
+     */
+    private static int inputLength(Object in, int idx)
+        throws IllegalArgumentException {
+
+        if (in instanceof byte[]) {
+            return ((byte[])in).length;
+        }
+        if (in instanceof ByteBuffer && ((ByteBuffer)in).isDirect()) {
+            return ((ByteBuffer)in).capacity();
+        }
+        if (in == null) {
+            throw new IllegalArgumentException(
+                "Input " + idx + " cannot be null");
+        }
+
+        throw new IllegalArgumentException(
+            "Input " + idx + " must be a byte array or direct ByteBuffer");
+    }
+
+    /**
+     * Hash each input into out.
+     *
+     * @param inputs input byte arrays or direct ByteBuffers
+     * @param offsets offset into each input, or null to start at 0
+     * @param lengths bytes to hash from each input, or null for whole
+     *        array or buffer
+     * @param out output array
+     * @param outOffset offset into out for first digest
+     * @param digestSize digest size of the algorithm
+     * @param pool ExecutorService to split work across, or null to hash
+     *        in calling thread
+     * @param workers maximum number of chunks hashed in parallel
+     * @param hasher native one-shot hash operation
+     *
+     * @throws IllegalArgumentException if inputs or out are null, inputs
+     *         contain null entries, offsets or lengths are invalid, or
+     *         out is too small
+     * @throws WolfCryptException if native operation fails
+     */
+    static void digest(final Object[] inputs, int[] offsets, int[] lengths,
+        final byte[] out, final int outOffset, final int digestSize,
+        ExecutorService pool, int workers, final Hasher hasher)
+        throws IllegalArgumentException, WolfCryptException {
+
+        final int n;
+        final int[] offs;
+        final int[] lens;
+        int chunkSz;
+        RuntimeException failure = null;
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+
+        if (inputs == null || out == null) {
+            throw new IllegalArgumentException(
+                "Input and output arrays cannot be null");
+        }
+        n = inputs.length;
+        offs = (offsets != null) ? offsets : new int[n];
+        lens = (lengths != null) ? lengths : new int[n];
+
+        if (offs.length != n || lens.length != n) {
+            throw new IllegalArgumentException(
+                "Offset and length arrays must match number of inputs");
+        }
+        for (int i = 0; i < n; i++) {
+            int inLen = inputLength(inputs[i], i);
+            if (lengths == null) {
+                lens[i] = inLen - offs[i];
+            }
+            if (offs[i] < 0 || lens[i] < 0 ||
+                lens[i] > inLen - offs[i]) {
+                throw new IllegalArgumentException(
+                    "Invalid offset or length for input " + i);
+            }
+        }
+        if (outOffset < 0 || outOffset > out.length ||
+            (long)n * digestSize > (long)(out.length - outOffset)) {
+            throw new IllegalArgumentException(
+                "Output array too small for " + n + " digests");
+        }
+
+        if (n == 0) {
+            return;
+        }
+        if (pool == null || workers <= 1) {
+            hasher.hash(inputs, offs, lens, 0, n, out, outOffset);
+            return;
+        }
+
+        workers = Math.min(workers, n);
+        chunkSz = (n + workers - 1) / workers;
+
+        for (int start = chunkSz; start < n; start += chunkSz) {
+            final int from = start;
+            final int count = Math.min(chunkSz, n - start);
+            futures.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    hasher.hash(inputs, offs, lens, from, count, out,
+                        outOffset + (from * digestSize));
+                }
+            }));
+        }
+
+        /* Calling thread hashes first chunk itself. Always wait for
+         * workers before returning, they write into out. */
+        try {
+            hasher.hash(inputs, offs, lens, 0, Math.min(chunkSz, n), out,
+                outOffset);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        try {
+            BatchVerify.waitAll(futures);
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
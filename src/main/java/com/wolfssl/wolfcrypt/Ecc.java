@@ -25,6 +25,8 @@ import java.math.BigInteger;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.spec.EllipticCurve;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
 import java.security.spec.ECParameterSpec;
 import java.security.spec.ECFieldFp;
 
@@ -115,6 +117,14 @@ public class Ecc extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_ecc_init();
     private native void wc_ecc_free();
     private native void wc_ecc_make_key(Rng rng, int size);
@@ -133,6 +143,8 @@ public class Ecc extends NativeStruct {
     private native byte[] wc_EccPublicKeyToDer();
     private native byte[] wc_ecc_sign_hash(byte[] hash, Rng rng);
     private native boolean wc_ecc_verify_hash(byte[] hash, byte[] signature);
+    private static native void wc_ecc_verify_hash_batch(Ecc[] keys,
+        byte[][] hashes, byte[][] signatures, boolean[] results);
     private static native int wc_ecc_get_curve_size_from_name(String name);
     private native byte[] wc_ecc_private_key_to_pkcs8();
     private static native String wc_ecc_get_curve_name_from_id(int curve_id);
@@ -602,6 +614,97 @@ public class Ecc extends NativeStruct {
         return result;
     }
 
+    /* Batch verify operations, ECC public key copied through DER */
+    private static final BatchVerify.Verifier<Ecc> BATCH_VERIFIER =
+        new BatchVerify.Verifier<Ecc>() {
+            @Override
+            public void verify(Ecc[] keys, byte[][] hashes, byte[][] sigs,
+                boolean[] results) {
+                wc_ecc_verify_hash_batch(keys, hashes, sigs, results);
+            }
+
+            @Override
+            public Ecc copyPublic(Ecc key) throws WolfCryptException {
+                Ecc pub = new Ecc();
+                try {
+                    pub.publicKeyDecode(key.publicKeyEncode());
+                } catch (WolfCryptException | IllegalStateException e) {
+                    pub.releaseNativeStruct();
+                    throw e;
+                }
+                return pub;
+            }
+        };
+
+    /**
+     * Verify a batch of ECDSA signatures.
+     *
+     * Uses the common ForkJoinPool with one worker per available
+     * processor. See {@link #verifyBatch(Ecc[], byte[][], byte[][],
+     * ExecutorService, int)}.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param hashes input hash for each signature
+     * @param signatures signatures to verify
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(Ecc[] keys, byte[][] hashes,
+        byte[][] signatures) throws WolfCryptException,
+        IllegalArgumentException, IllegalStateException {
+
+        return verifyBatch(keys, hashes, signatures,
+            BatchVerify.defaultPool(), BatchVerify.defaultWorkers());
+    }
+
+    /**
+     * Verify a batch of ECDSA signatures.
+     *
+     * Items are split by count into about workers chunks, each verified
+     * with one native call. A chunk may hold items for up to 64 different
+     * keys, so batches with many distinct keys still take few native
+     * calls. Chunks run on pool, with the calling thread verifying one
+     * chunk itself. Chunks using the same key as another running chunk
+     * verify with a temporary copy of the public key, so keys[] entries
+     * are never used by more than one thread at a time.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param hashes input hash for each signature
+     * @param signatures signatures to verify
+     * @param pool ExecutorService used to run chunks, or null to verify
+     *        all items in the calling thread
+     * @param workers maximum number of chunks to verify in parallel
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(Ecc[] keys, byte[][] hashes,
+        byte[][] signatures, ExecutorService pool, int workers)
+        throws WolfCryptException, IllegalArgumentException,
+        IllegalStateException {
+
+        BatchVerify.checkArgs(keys, hashes, signatures);
+
+        for (Ecc key : keys) {
+            key.checkStateAndInitialize();
+            key.throwIfKeyNotLoaded();
+        }
+
+        return BatchVerify.verify(keys, hashes, signatures, pool, workers,
+            BATCH_VERIFIER);
+    }
+
     /**
      * Get ECC curve size from curve name.
      *
@@ -1049,5 +1152,19 @@ public class Ecc extends NativeStruct {
             return wc_ecc_rs_raw_to_sig(r, s);
         }
     }
-}
 
+    /* Frees native struct with wc_ecc_free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
@@ -21,6 +21,9 @@
 
 package com.wolfssl.wolfcrypt;
 
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+
 /**
  * Wrapper for the native WolfCrypt Ed25519 implementation
  */
@@ -41,6 +44,21 @@ public class Ed25519 extends NativeStruct {
      */
     public static final int ED25519_SIG_SIZE = 64;
 
+    /** RFC 8032 Ed25519 signature type, from native Ed25519. */
+    public static final int TYPE_ED25519 = 0;
+
+    /** RFC 8032 Ed25519ctx signature type, from native Ed25519ctx. */
+    public static final int TYPE_ED25519_CTX = 1;
+
+    /**
+     * RFC 8032 Ed25519ph signature type, from native Ed25519ph. Message
+     * passed to sign and verify is the SHA-512 hash of the input.
+     */
+    public static final int TYPE_ED25519_PH = 2;
+
+    /** Maximum RFC 8032 context length, in bytes. */
+    public static final int ED25519_MAX_CTX_LEN = 255;
+
     /**
      * Create new Ed25519 object.
      *
@@ -79,6 +97,14 @@ public class Ed25519 extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_ed25519_init();
     private native void wc_ed25519_free();
     private native void wc_ed25519_make_key(Rng rng, int size);
@@ -88,9 +114,16 @@ public class Ed25519 extends NativeStruct {
     private native void wc_ed25519_import_public(byte[] privKey);
     private native byte[] wc_ed25519_sign_msg(byte[] msg);
     private native boolean wc_ed25519_verify_msg(byte[] sig, byte[] msg);
+    private static native void wc_ed25519_verify_msg_batch(Ed25519[] keys,
+        byte[][] sigs, byte[][] msgs, boolean[] results);
     private native byte[] wc_ed25519_export_private();
     private native byte[] wc_ed25519_export_private_only();
     private native byte[] wc_ed25519_export_public();
+    private native void wc_ed25519_import_private_make_public(byte[] privKey);
+    private native byte[] wc_ed25519_sign_msg_ex(byte[] msg, int offset,
+        int len, int type, byte[] context);
+    private native boolean wc_ed25519_verify_msg_ex(byte[] sig, byte[] msg,
+        int offset, int len, int type, byte[] context);
 
     /**
      * Internal helper method to initialize object if/when needed.
@@ -383,5 +416,241 @@ public class Ed25519 extends NativeStruct {
             return wc_ed25519_verify_msg(signature, msg);
         }
     }
-}
 
+    /**
+     * Import only private Ed25519 key and derive the public key from it.
+     *
+     * Keys imported with importPrivateOnly() have no public part and cannot
+     * be used to sign. This imports the 32 byte private key, computes the
+     * matching public key natively, and loads both.
+     *
+     * @param privKey byte array holding 32 byte private key
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if key has already been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public void importPrivateDerivePublic(byte[] privKey)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateAndInitialize();
+        throwIfKeyExists();
+
+        synchronized (stateLock) {
+            synchronized (pointerLock) {
+                wc_ed25519_import_private_make_public(privKey);
+            }
+            state = WolfCryptState.READY;
+        }
+    }
+
+    /**
+     * Throw exception if message range or context are invalid.
+     */
+    private static void checkMsgArgs(byte[] msg, int offset, int len,
+        int type, byte[] context) throws IllegalArgumentException {
+
+        if (msg == null || offset < 0 || len < 0 ||
+            len > msg.length - offset) {
+            throw new IllegalArgumentException(
+                "Invalid Ed25519 message array, offset or length");
+        }
+        if (type != TYPE_ED25519 && type != TYPE_ED25519_CTX &&
+            type != TYPE_ED25519_PH) {
+            throw new IllegalArgumentException(
+                "Invalid Ed25519 signature type: " + type);
+        }
+        if (context != null && context.length > ED25519_MAX_CTX_LEN) {
+            throw new IllegalArgumentException(
+                "Ed25519 context length exceeds 255 bytes");
+        }
+    }
+
+    /**
+     * Generate Ed25519, Ed25519ctx or Ed25519ph signature over part of an
+     * array.
+     *
+     * The message is read in place from msg, without first copying the
+     * range out to a new array.
+     *
+     * @param msg array holding input data to be signed, or the SHA-512
+     *        hash of the input for TYPE_ED25519_PH
+     * @param offset offset of input data in msg
+     * @param len length of input data
+     * @param type TYPE_ED25519, TYPE_ED25519_CTX or TYPE_ED25519_PH
+     * @param context context bytes, may be null for none
+     *
+     * @return signature as byte array
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if msg is null, offset or len are
+     *         out of range, type is invalid or context is longer than
+     *         255 bytes
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public byte[] sign_msg(byte[] msg, int offset, int len, int type,
+        byte[] context) throws WolfCryptException, IllegalArgumentException,
+        IllegalStateException {
+
+        checkMsgArgs(msg, offset, len, type, context);
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            return wc_ed25519_sign_msg_ex(msg, offset, len, type, context);
+        }
+    }
+
+    /**
+     * Verify Ed25519, Ed25519ctx or Ed25519ph signature over part of an
+     * array.
+     *
+     * The message is read in place from msg, without first copying the
+     * range out to a new array.
+     *
+     * @param msg array holding input data to be verified, or the SHA-512
+     *        hash of the input for TYPE_ED25519_PH
+     * @param offset offset of input data in msg
+     * @param len length of input data
+     * @param signature input signature to verify
+     * @param type TYPE_ED25519, TYPE_ED25519_CTX or TYPE_ED25519_PH
+     * @param context context bytes, may be null for none
+     *
+     * @return true if signature verified, otherwise false
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if msg is null, offset or len are
+     *         out of range, type is invalid or context is longer than
+     *         255 bytes
+     * @throws IllegalStateException if key has not been set, if object
+     *         fails to initialize, or if releaseNativeStruct() has been
+     *         called and object has been released.
+     */
+    public boolean verify_msg(byte[] msg, int offset, int len,
+        byte[] signature, int type, byte[] context)
+        throws WolfCryptException, IllegalArgumentException,
+        IllegalStateException {
+
+        checkMsgArgs(msg, offset, len, type, context);
+        if (signature == null) {
+            throw new IllegalArgumentException("Signature cannot be null");
+        }
+        checkStateAndInitialize();
+        throwIfKeyNotLoaded();
+
+        synchronized (pointerLock) {
+            return wc_ed25519_verify_msg_ex(signature, msg, offset, len,
+                type, context);
+        }
+    }
+
+    /* Batch verify operations, Ed25519 public key copied as raw bytes */
+    private static final BatchVerify.Verifier<Ed25519> BATCH_VERIFIER =
+        new BatchVerify.Verifier<Ed25519>() {
+            @Override
+            public void verify(Ed25519[] keys, byte[][] msgs,
+                byte[][] sigs, boolean[] results) {
+                wc_ed25519_verify_msg_batch(keys, sigs, msgs, results);
+            }
+
+            @Override
+            public Ed25519 copyPublic(Ed25519 key)
+                throws WolfCryptException {
+                Ed25519 pub = new Ed25519();
+                try {
+                    pub.importPublic(key.exportPublic());
+                } catch (WolfCryptException | IllegalStateException e) {
+                    pub.releaseNativeStruct();
+                    throw e;
+                }
+                return pub;
+            }
+        };
+
+    /**
+     * Verify a batch of Ed25519 signatures.
+     *
+     * Uses the common ForkJoinPool with one worker per available
+     * processor. See {@link #verifyBatch(Ed25519[], byte[][], byte[][],
+     * ExecutorService, int)}.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param messages input message for each signature
+     * @param signatures signatures to verify
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(Ed25519[] keys, byte[][] messages,
+        byte[][] signatures) throws WolfCryptException,
+        IllegalArgumentException, IllegalStateException {
+
+        return verifyBatch(keys, messages, signatures,
+            BatchVerify.defaultPool(), BatchVerify.defaultWorkers());
+    }
+
+    /**
+     * Verify a batch of Ed25519 signatures.
+     *
+     * Items are split by count into about workers chunks, each verified
+     * with one native call. A chunk may hold items for up to 64 different
+     * keys, so batches with many distinct keys still take few native
+     * calls. Chunks run on pool, with the calling thread verifying one
+     * chunk itself. Chunks using the same key as another running chunk
+     * verify with a temporary copy of the public key, so keys[] entries
+     * are never used by more than one thread at a time.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param messages input message for each signature
+     * @param signatures signatures to verify
+     * @param pool ExecutorService used to run chunks, or null to verify
+     *        all items in the calling thread
+     * @param workers maximum number of chunks to verify in parallel
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(Ed25519[] keys, byte[][] messages,
+        byte[][] signatures, ExecutorService pool, int workers)
+        throws WolfCryptException, IllegalArgumentException,
+        IllegalStateException {
+
+        BatchVerify.checkArgs(keys, messages, signatures);
+
+        for (Ed25519 key : keys) {
+            key.checkStateAndInitialize();
+            key.throwIfKeyNotLoaded();
+        }
+
+        return BatchVerify.verify(keys, messages, signatures, pool, workers,
+            BATCH_VERIFIER);
+    }
+
+    /* Frees native struct with wc_ed25519_free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
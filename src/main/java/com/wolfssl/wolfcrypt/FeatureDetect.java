@@ -163,6 +163,17 @@ public class FeatureDetect {
      */
     public static native boolean AesCcmEnabled();
 
+    /**
+     * Tests if streaming AES-CCM is available. Streaming AES-CCM is
+     * implemented in wolfCrypt JNI over the AES block cipher, and needs
+     * AES-CCM plus either AES-ECB (HAVE_AES_ECB) or direct AES
+     * (WOLFSSL_AES_DIRECT) compiled into native wolfSSL. Always false in
+     * FIPS builds, since it is not part of the validated module.
+     *
+     * @return true if enabled, otherwise false if not compiled in.
+     */
+    public static native boolean AesCcmStreamEnabled();
+
     /**
      * Tests if AES-CTS is compiled into the native wolfSSL library.
      *
@@ -198,6 +209,14 @@ public class FeatureDetect {
      */
     public static native boolean ChaChaEnabled();
 
+    /**
+     * Tests if ChaCha20-Poly1305 AEAD is compiled into the native wolfSSL
+     * library. Requires both HAVE_CHACHA and HAVE_POLY1305.
+     *
+     * @return true if enabled, otherwise false if not compiled in.
+     */
+    public static native boolean ChaCha20Poly1305Enabled();
+
     /**
      * Tests if HMAC is compiled into the native wolfSSL library.
      *
@@ -0,0 +1,213 @@
+/* FileDigest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Message digest and HMAC over files using memory mapped I/O.
+ *
+ * Hashing a file by reading it into byte arrays copies every page from the
+ * page cache onto the Java heap, then again into native memory for each
+ * update() call. The methods in this class instead map the file read-only
+ * with FileChannel.map() and pass each MappedByteBuffer window directly to
+ * {@link MessageDigest#update(ByteBuffer)} or
+ * {@link Hmac#update(ByteBuffer)}, which native wolfCrypt reads in place.
+ * File data is never copied onto the Java heap.
+ *
+ * Files are mapped in windows of {@link #DEFAULT_WINDOW_SIZE} bytes by
+ * default, each hashed with one native update call. Mapped regions are
+ * unmapped by the JVM once garbage collected, so address space for at most
+ * a few windows is normally in use at once.
+ */
+public final class FileDigest {
+
+    /** Default map window size, 256 MiB */
+    public static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * Update operation applied to each mapped window.
+     */
+    interface WindowConsumer {
+
+        /**
+         * Consume one mapped window.
+         *
+         * @param window mapped file region, position 0, limit window size
+         *
+         * @throws WolfCryptException if native operation fails
+         */
+        void accept(ByteBuffer window) throws WolfCryptException;
+    }
+
+    private FileDigest() {
+    }
+
+    /**
+     * Map region of channel in windows of at most windowSize bytes and
+     * pass each window to consumer, in file order.
+     *
+     * @param channel file channel open for reading
+     * @param position start offset of region in file
+     * @param length length of region in bytes
+     * @param windowSize maximum window size in bytes
+     * @param consumer operation applied to each window
+     *
+     * @throws IOException if region cannot be mapped
+     * @throws IllegalArgumentException if position, length or windowSize
+     *         are invalid
+     */
+    static void mapWindows(FileChannel channel, long position, long length,
+        int windowSize, WindowConsumer consumer)
+        throws IOException, IllegalArgumentException {
+
+        if (channel == null || position < 0 || length < 0 ||
+            windowSize <= 0) {
+            throw new IllegalArgumentException(
+                "Invalid channel, position, length or window size");
+        }
+
+        long end = position + length;
+        for (long pos = position; pos < end; pos += windowSize) {
+            MappedByteBuffer mb = channel.map(FileChannel.MapMode.READ_ONLY,
+                pos, Math.min(windowSize, end - pos));
+            consumer.accept(mb);
+        }
+    }
+
+    /**
+     * Add region of file channel to message digest, without computing the
+     * final digest.
+     *
+     * @param md message digest to update
+     * @param channel file channel open for reading
+     * @param position start offset of region in file
+     * @param length length of region in bytes
+     * @param windowSize map window size in bytes
+     *
+     * @throws IOException if region cannot be mapped
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if arguments are invalid
+     */
+    public static void update(final MessageDigest md, FileChannel channel,
+        long position, long length, int windowSize)
+        throws IOException, WolfCryptException, IllegalArgumentException {
+
+        if (md == null) {
+            throw new IllegalArgumentException("MessageDigest cannot be null");
+        }
+
+        mapWindows(channel, position, length, windowSize,
+            new WindowConsumer() {
+                @Override
+                public void accept(ByteBuffer window) {
+                    md.update(window);
+                }
+            });
+    }
+
+    /**
+     * Add region of file channel to HMAC, without computing the final
+     * HMAC. Hmac object must already have a key set.
+     *
+     * @param hmac HMAC to update
+     * @param channel file channel open for reading
+     * @param position start offset of region in file
+     * @param length length of region in bytes
+     * @param windowSize map window size in bytes
+     *
+     * @throws IOException if region cannot be mapped
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if hmac has no key
+     * @throws IllegalArgumentException if arguments are invalid
+     */
+    public static void update(final Hmac hmac, FileChannel channel,
+        long position, long length, int windowSize)
+        throws IOException, WolfCryptException, IllegalStateException,
+               IllegalArgumentException {
+
+        if (hmac == null) {
+            throw new IllegalArgumentException("Hmac cannot be null");
+        }
+
+        mapWindows(channel, position, length, windowSize,
+            new WindowConsumer() {
+                @Override
+                public void accept(ByteBuffer window) {
+                    hmac.update(window);
+                }
+            });
+    }
+
+    /**
+     * Compute message digest of whole file. Any input previously passed
+     * to md is included, md is reset for new input afterwards.
+     *
+     * @param md message digest to use, ex: new Sha256()
+     * @param file file to hash
+     *
+     * @return message digest of file contents
+     *
+     * @throws IOException if file cannot be opened or mapped
+     * @throws WolfCryptException if native operation fails
+     */
+    public static byte[] digest(MessageDigest md, Path file)
+        throws IOException, WolfCryptException {
+
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            update(md, ch, 0, ch.size(), DEFAULT_WINDOW_SIZE);
+        }
+
+        return md.digest();
+    }
+
+    /**
+     * Compute HMAC of whole file. Hmac object must already have a key
+     * set. Any input previously passed to hmac is included, hmac is reset
+     * for new input with the same key afterwards.
+     *
+     * @param hmac HMAC to use
+     * @param file file to authenticate
+     *
+     * @return HMAC of file contents
+     *
+     * @throws IOException if file cannot be opened or mapped
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalStateException if hmac has no key
+     */
+    public static byte[] hmac(Hmac hmac, Path file)
+        throws IOException, WolfCryptException, IllegalStateException {
+
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            update(hmac, ch, 0, ch.size(), DEFAULT_WINDOW_SIZE);
+        }
+
+        return hmac.doFinal();
+    }
+}
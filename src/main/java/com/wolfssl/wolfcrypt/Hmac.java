@@ -58,7 +58,14 @@ public class Hmac extends NativeStruct {
 
     private WolfCryptState state = WolfCryptState.UNINITIALIZED;
     private int type = -1;
-    private byte[] key = null;
+
+    /* Copy of HMAC key, held outside this object so WolfCryptCleaner can
+     * zeroize it once this object becomes unreachable */
+    private final KeyCopy keyCopy = new KeyCopy();
+
+    /* Registration of keyCopy with WolfCryptCleaner, made on first
+     * setKey() */
+    private WolfCryptCleaner.Cleanable keyCleanable = null;
 
     /** Lock around object state */
     protected final Object stateLock = new Object();
@@ -76,6 +83,27 @@ public class Hmac extends NativeStruct {
         }
     }
 
+    /**
+     * Create new Hmac object, optionally confined to the calling thread.
+     *
+     * A thread confined Hmac does not lock around update() and doFinal(),
+     * and throws IllegalStateException if used from any other thread. See
+     * {@link NativeStruct#NativeStruct(boolean)}.
+     *
+     * @param threadConfined true to confine this object to the calling
+     *        thread, false for default thread safe behavior
+     *
+     * @throws WolfCryptException if HMAC has not been compiled into native
+     *         wolfCrypt library.
+     */
+    public Hmac(boolean threadConfined) {
+        super(threadConfined);
+        if (!FeatureDetect.HmacEnabled()) {
+            throw new WolfCryptException(
+                WolfCryptError.NOT_COMPILED_IN.getCode());
+        }
+    }
+
     /**
      * Create new Hmac object
      *
@@ -149,6 +177,14 @@ public class Hmac extends NativeStruct {
      */
     private void throwIfKeyNotLoaded() throws IllegalStateException {
 
+        /* state is only changed by owner thread when thread confined */
+        if (isThreadConfined()) {
+            if (state != WolfCryptState.READY) {
+                throw new IllegalStateException("No HMAC key loaded");
+            }
+            return;
+        }
+
         synchronized (stateLock) {
             if (state != WolfCryptState.READY) {
                 throw new IllegalStateException("No HMAC key loaded");
@@ -167,6 +203,8 @@ public class Hmac extends NativeStruct {
     public synchronized void setKey(int type, byte[] key)
         throws WolfCryptException {
 
+        throwIfNotOwner();
+
         synchronized (stateLock) {
             /* verify hash type is compiled in */
             checkHashTypeCompiledIn(type);
@@ -182,9 +220,13 @@ public class Hmac extends NativeStruct {
 
                 this.type = type;
 
-                /* Save copy of key[] into this.key */
-                this.key = new byte[key.length];
-                System.arraycopy(key, 0, this.key, 0, key.length);
+                /* Save copy of key[], zeroizing any previous copy */
+                this.keyCopy.clear();
+                this.keyCopy.key = key.clone();
+                if (this.keyCleanable == null) {
+                    this.keyCleanable =
+                        WolfCryptCleaner.register(this, this.keyCopy);
+                }
             }
 
             state = WolfCryptState.READY;
@@ -200,6 +242,7 @@ public class Hmac extends NativeStruct {
     public synchronized void reset()
         throws WolfCryptException, IllegalStateException {
 
+        throwIfNotOwner();
         throwIfKeyNotLoaded();
 
         synchronized (pointerLock) {
@@ -208,7 +251,7 @@ public class Hmac extends NativeStruct {
             initNativeStruct();
 
             /* Re-set the key and type */
-            wc_HmacSetKey(type, key);
+            wc_HmacSetKey(type, this.keyCopy.key);
         }
     }
 
@@ -232,13 +275,21 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized void update(byte data)
+    public void update(byte data)
         throws WolfCryptException, IllegalStateException {
 
-        throwIfKeyNotLoaded();
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
             wc_HmacUpdate(data);
+            return;
+        }
+
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                wc_HmacUpdate(data);
+            }
         }
     }
 
@@ -250,13 +301,21 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized void update(byte[] data)
+    public void update(byte[] data)
         throws WolfCryptException, IllegalStateException {
 
-        throwIfKeyNotLoaded();
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
             wc_HmacUpdate(data, 0, data.length);
+            return;
+        }
+
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                wc_HmacUpdate(data, 0, data.length);
+            }
         }
     }
 
@@ -270,13 +329,21 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized void update(byte[] data, int offset, int length)
+    public void update(byte[] data, int offset, int length)
         throws WolfCryptException, IllegalStateException {
 
-        throwIfKeyNotLoaded();
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
             wc_HmacUpdate(data, offset, length);
+            return;
+        }
+
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                wc_HmacUpdate(data, offset, length);
+            }
         }
     }
 
@@ -288,19 +355,27 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized void update(ByteBuffer data)
+    public void update(ByteBuffer data)
         throws WolfCryptException, IllegalStateException {
 
         int offset = data.position();
         int length = data.remaining();
 
-        throwIfKeyNotLoaded();
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
             wc_HmacUpdate(data, offset, length);
+            data.position(offset + length);
+            return;
         }
 
-        data.position(offset + length);
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                wc_HmacUpdate(data, offset, length);
+            }
+            data.position(offset + length);
+        }
     }
 
     /**
@@ -311,14 +386,21 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized byte[] doFinal()
+    public byte[] doFinal()
         throws WolfCryptException, IllegalStateException {
 
-        throwIfKeyNotLoaded();
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
             return wc_HmacFinal();
         }
+
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                return wc_HmacFinal();
+            }
+        }
     }
 
     /**
@@ -331,16 +413,23 @@ public class Hmac extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException if object has no key
      */
-    public synchronized byte[] doFinal(byte[] data)
+    public byte[] doFinal(byte[] data)
         throws WolfCryptException, IllegalStateException {
 
-        throwIfKeyNotLoaded();
-
-        update(data);
-
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            throwIfKeyNotLoaded();
+            wc_HmacUpdate(data, 0, data.length);
             return wc_HmacFinal();
         }
+
+        synchronized (this) {
+            throwIfKeyNotLoaded();
+            synchronized (pointerLock) {
+                wc_HmacUpdate(data, 0, data.length);
+                return wc_HmacFinal();
+            }
+        }
     }
 
     /**
@@ -407,28 +496,30 @@ public class Hmac extends NativeStruct {
      */
     public void clearKey() {
         synchronized (stateLock) {
-            if (this.key != null) {
-                Arrays.fill(this.key, (byte) 0);
-                this.key = null;
-            }
+            this.keyCopy.clear();
             this.type = -1;
             this.state = WolfCryptState.RELEASED;
         }
     }
 
     /**
-     * Zeroize stored key upon finalization.
+     * Copy of the HMAC key, zeroized by WolfCryptCleaner once the owning
+     * Hmac becomes unreachable. Must not reference the Hmac itself.
      */
-    @SuppressWarnings("deprecation")
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            clearKey();
-        } catch (Exception e) {
-            /* Ignore exceptions during finalization to avoid issues
-             * if the object is in an inconsistent state */
-        } finally {
-            super.finalize();
+    private static final class KeyCopy implements Runnable {
+
+        private byte[] key = null;
+
+        private void clear() {
+            if (this.key != null) {
+                Arrays.fill(this.key, (byte) 0);
+                this.key = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            clear();
         }
     }
 
@@ -111,6 +111,14 @@ public class Lms extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_LmsKey_init();
     private native void wc_LmsKey_free();
     private native int[] wc_LmsKey_get_parameters();
@@ -276,4 +284,19 @@ public class Lms extends NativeStruct {
     public int getHashType() {
         return this.hashType;
     }
+
+    /* Frees native struct with wc_LmsKey_Free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
 }
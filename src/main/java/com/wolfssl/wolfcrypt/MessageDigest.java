@@ -22,6 +22,7 @@
 package com.wolfssl.wolfcrypt;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
 import javax.crypto.ShortBufferException;
 
 /**
@@ -34,6 +35,20 @@ public abstract class MessageDigest extends NativeStruct {
     /** Default MessageDigest constructor */
     public MessageDigest() { }
 
+    /**
+     * Create MessageDigest, optionally confined to the calling thread.
+     *
+     * A thread confined MessageDigest does not lock around init(),
+     * update() and digest(), and throws IllegalStateException if used from
+     * any other thread. See {@link NativeStruct#NativeStruct(boolean)}.
+     *
+     * @param threadConfined true to confine this object to the calling
+     *        thread, false for default thread safe behavior
+     */
+    protected MessageDigest(boolean threadConfined) {
+        super(threadConfined);
+    }
+
     /**
      * Initialize native structure
      */
@@ -88,10 +103,42 @@ public abstract class MessageDigest extends NativeStruct {
      */
     public abstract int digestSize();
 
+    /**
+     * Native one-shot hash of multiple independent inputs, used by
+     * digestMany(). Does not use or change the state of this object.
+     *
+     * @param inputs input byte arrays or direct ByteBuffers, direct
+     *        buffers are hashed in place
+     * @param offsets offset into each input array or buffer
+     * @param lengths number of bytes to hash from each input
+     * @param from index of first input to hash
+     * @param count number of inputs to hash
+     * @param out output array, digests written back to back
+     * @param outOffset offset into out for first digest
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    protected abstract void native_digest_many(Object[] inputs,
+        int[] offsets, int[] lengths, int from, int count, byte[] out,
+        int outOffset) throws WolfCryptException;
+
     /**
      * Initialize object
      */
-    public synchronized void init() {
+    public void init() {
+
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            initUnlocked();
+            return;
+        }
+
+        synchronized (this) {
+            initUnlocked();
+        }
+    }
+
+    private void initUnlocked() {
         /* Allocate native struct pointer from NativeStruct */
         initNativeStruct();
 
@@ -105,11 +152,24 @@ public abstract class MessageDigest extends NativeStruct {
      *
      * @throws IllegalStateException on failure to initialize properly
      */
-    protected synchronized void checkStateAndInitialize()
+    protected void checkStateAndInitialize()
         throws IllegalStateException {
 
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            checkStateUnlocked();
+            return;
+        }
+
+        synchronized (this) {
+            checkStateUnlocked();
+        }
+    }
+
+    private void checkStateUnlocked() throws IllegalStateException {
+
         if (state == WolfCryptState.UNINITIALIZED) {
-            init();
+            initUnlocked();
         }
 
         if (state != WolfCryptState.READY) {
@@ -126,10 +186,24 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void update(ByteBuffer data, int length)
+    public void update(ByteBuffer data, int length)
         throws WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            updateUnlocked(data, length);
+            return;
+        }
+
+        synchronized (this) {
+            updateUnlocked(data, length);
+        }
+    }
+
+    private void updateUnlocked(ByteBuffer data, int length)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateUnlocked();
 
         length = Math.min(length, data.remaining());
 
@@ -145,11 +219,9 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void update(ByteBuffer data)
+    public void update(ByteBuffer data)
         throws WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
-
         update(data, data.remaining());
     }
 
@@ -164,10 +236,24 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws IllegalStateException object fails to initialize properly
      * @throws RuntimeException if offset or length are invalid
      */
-    public synchronized void update(byte[] data, int offset, int len)
+    public void update(byte[] data, int offset, int len)
         throws WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            updateUnlocked(data, offset, len);
+            return;
+        }
+
+        synchronized (this) {
+            updateUnlocked(data, offset, len);
+        }
+    }
+
+    private void updateUnlocked(byte[] data, int offset, int len)
+        throws WolfCryptException, IllegalStateException {
+
+        checkStateUnlocked();
 
         if (offset < 0 || len < 0 || len > (data.length - offset)) {
             throw new RuntimeException("Invalid offset or length");
@@ -185,11 +271,9 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void update(byte[] data, int len)
+    public void update(byte[] data, int len)
         throws WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
-
         update(data, 0, len);
     }
 
@@ -201,11 +285,9 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void update(byte[] data)
+    public void update(byte[] data)
         throws WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
-
         update(data, 0, data.length);
     }
 
@@ -218,10 +300,24 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws ShortBufferException if input buffer is too small
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void digest(ByteBuffer hash)
+    public void digest(ByteBuffer hash)
+        throws ShortBufferException, WolfCryptException, IllegalStateException {
+
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            digestUnlocked(hash);
+            return;
+        }
+
+        synchronized (this) {
+            digestUnlocked(hash);
+        }
+    }
+
+    private void digestUnlocked(ByteBuffer hash)
         throws ShortBufferException, WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
+        checkStateUnlocked();
 
         if (hash.remaining() < digestSize()) {
             throw new ShortBufferException(
@@ -244,16 +340,35 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws ShortBufferException if input buffer is too small
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized void digest(byte[] hash)
+    public void digest(byte[] hash)
         throws ShortBufferException, WolfCryptException, IllegalStateException {
 
-        checkStateAndInitialize();
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            digestUnlocked(hash);
+            return;
+        }
+
+        synchronized (this) {
+            digestUnlocked(hash);
+        }
+    }
+
+    private void digestUnlocked(byte[] hash)
+        throws ShortBufferException, WolfCryptException, IllegalStateException {
+
+        checkStateUnlocked();
 
         if (hash.length < digestSize()) {
             throw new ShortBufferException(
                 "Input buffer is too small for digest size");
         }
 
+        finalUnlocked(hash);
+    }
+
+    private void finalUnlocked(byte[] hash) throws WolfCryptException {
+
         native_final(hash);
 
         /* After digest is finalized, reset state to allow re-initialization */
@@ -268,24 +383,218 @@ public abstract class MessageDigest extends NativeStruct {
      * @throws WolfCryptException if native operation fails
      * @throws IllegalStateException object fails to initialize properly
      */
-    public synchronized byte[] digest()
+    public byte[] digest()
         throws WolfCryptException, IllegalStateException {
 
         byte[] hash = new byte[digestSize()];
 
-        checkStateAndInitialize();
-
-        native_final(hash);
+        if (isThreadConfined()) {
+            throwIfNotOwner();
+            checkStateUnlocked();
+            finalUnlocked(hash);
+            return hash;
+        }
 
-        /* After digest is finalized, reset state to allow re-initialization */
-        state = WolfCryptState.UNINITIALIZED;
+        synchronized (this) {
+            checkStateUnlocked();
+            finalUnlocked(hash);
+        }
 
         return hash;
     }
 
+    /**
+     * Get DigestMany.Hasher calling native_digest_many() of this object.
+     *
+     * @return hasher for DigestMany
+     */
+    private DigestMany.Hasher manyHasher() {
+        return new DigestMany.Hasher() {
+            @Override
+            public void hash(Object[] inputs, int[] offsets, int[] lengths,
+                int from, int count, byte[] out, int outOffset) {
+                native_digest_many(inputs, offsets, lengths, from, count,
+                    out, outOffset);
+            }
+        };
+    }
+
+    /**
+     * Hash many independent inputs with one native call.
+     *
+     * Each input is hashed on its own, the same as calling update(input)
+     * then digest() for each one. Digests are returned back to back in one
+     * array, digest i at offset (i * digestSize()). This does not use or
+     * change any digest in progress on this object, and may be called
+     * concurrently from multiple threads.
+     *
+     * @param inputs input arrays to hash
+     *
+     * @return digests of all inputs, inputs.length * digestSize() bytes
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if inputs is null or contains null
+     */
+    public byte[] digestMany(byte[][] inputs)
+        throws WolfCryptException, IllegalArgumentException {
+
+        return digestMany(inputs, null, 0);
+    }
+
+    /**
+     * Hash many independent inputs, splitting the inputs into at most
+     * workers chunks hashed in parallel on pool. Each chunk is hashed with
+     * one native call, the calling thread hashes one chunk itself.
+     *
+     * See {@link #digestMany(byte[][])}.
+     *
+     * @param inputs input arrays to hash
+     * @param pool ExecutorService used to run chunks, or null to hash all
+     *        inputs in the calling thread
+     * @param workers maximum number of chunks hashed in parallel
+     *
+     * @return digests of all inputs, inputs.length * digestSize() bytes
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if inputs is null or contains null
+     */
+    public byte[] digestMany(byte[][] inputs, ExecutorService pool,
+        int workers) throws WolfCryptException, IllegalArgumentException {
+
+        if (inputs == null) {
+            throw new IllegalArgumentException("Input array cannot be null");
+        }
+
+        byte[] out = new byte[inputs.length * digestSize()];
+        digestMany(inputs, out, 0, pool, workers);
+
+        return out;
+    }
+
+    /**
+     * Hash many independent inputs into an existing output array.
+     *
+     * See {@link #digestMany(byte[][])}.
+     *
+     * @param inputs input arrays to hash
+     * @param out output array, digest i written at
+     *        outOffset + (i * digestSize())
+     * @param outOffset offset into out for first digest
+     * @param pool ExecutorService used to run chunks, or null to hash all
+     *        inputs in the calling thread
+     * @param workers maximum number of chunks hashed in parallel
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if inputs or out is null, inputs
+     *         contains null, or out is too small
+     */
+    public void digestMany(byte[][] inputs, byte[] out, int outOffset,
+        ExecutorService pool, int workers)
+        throws WolfCryptException, IllegalArgumentException {
+
+        DigestMany.digest(inputs, null, null, out, outOffset, digestSize(),
+            pool, workers, manyHasher());
+    }
+
+    /**
+     * Hash the remaining bytes of many independent ByteBuffers with one
+     * native call.
+     *
+     * Digests are written back to back into out starting at its position.
+     * On success the position of each input is advanced to its limit, and
+     * the position of out is advanced by inputs.length * digestSize().
+     * Heap and direct buffers are both hashed in place, only read-only
+     * heap buffers are copied first.
+     *
+     * See {@link #digestMany(byte[][])}.
+     *
+     * @param inputs input buffers to hash
+     * @param out output buffer
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws ShortBufferException if out has too little space remaining
+     * @throws IllegalArgumentException if inputs or out is null, or inputs
+     *         contains null
+     */
+    public void digestMany(ByteBuffer[] inputs, ByteBuffer out)
+        throws WolfCryptException, ShortBufferException,
+        IllegalArgumentException {
+
+        Object[] arrays;
+        int[] offsets;
+        int[] lengths;
+        int outSz;
+        byte[] outArr;
+        int outOffset;
+
+        if (inputs == null || out == null) {
+            throw new IllegalArgumentException(
+                "Input and output buffers cannot be null");
+        }
+
+        outSz = inputs.length * digestSize();
+        if (out.remaining() < outSz) {
+            throw new ShortBufferException(
+                "Output buffer is too small for " + inputs.length +
+                " digests");
+        }
+
+        arrays = new Object[inputs.length];
+        offsets = new int[inputs.length];
+        lengths = new int[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            ByteBuffer in = inputs[i];
+            if (in == null) {
+                throw new IllegalArgumentException(
+                    "Input " + i + " cannot be null");
+            }
+            lengths[i] = in.remaining();
+            if (in.hasArray()) {
+                arrays[i] = in.array();
+                offsets[i] = in.arrayOffset() + in.position();
+            }
+            else if (in.isDirect() && lengths[i] > 0) {
+                /* hashed in place by native code */
+                arrays[i] = in;
+                offsets[i] = in.position();
+            }
+            else {
+                byte[] copy = new byte[lengths[i]];
+                in.duplicate().get(copy);
+                arrays[i] = copy;
+            }
+        }
+
+        if (out.hasArray()) {
+            outArr = out.array();
+            outOffset = out.arrayOffset() + out.position();
+        }
+        else {
+            outArr = new byte[outSz];
+            outOffset = 0;
+        }
+
+        DigestMany.digest(arrays, offsets, lengths, outArr, outOffset,
+            digestSize(), null, 1, manyHasher());
+
+        if (out.hasArray()) {
+            out.position(out.position() + outSz);
+        }
+        else {
+            out.put(outArr);
+        }
+        for (ByteBuffer in : inputs) {
+            in.position(in.limit());
+        }
+    }
+
     @Override
     public synchronized void releaseNativeStruct() {
 
+        /* owner may be mid update() on a confined object, leave it intact */
+        throwIfNotOwner();
+
         /* reset state first, then free */
         state = WolfCryptState.UNINITIALIZED;
         super.releaseNativeStruct();
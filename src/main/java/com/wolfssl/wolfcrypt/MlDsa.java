@@ -21,6 +21,9 @@
 
 package com.wolfssl.wolfcrypt;
 
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+
 /**
  * Wrapper for the native WolfCrypt ML-DSA (FIPS 204) implementation.
  *
@@ -160,6 +163,14 @@ public class MlDsa extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_dilithium_init();
     private native void wc_dilithium_free();
     private native void wc_dilithium_set_level(int level);
@@ -169,6 +180,9 @@ public class MlDsa extends NativeStruct {
         Rng rng);
     private native boolean wc_dilithium_verify_ctx_msg(byte[] sig, byte[] ctx,
         byte[] msg);
+    private static native void wc_dilithium_verify_ctx_msg_batch(
+        MlDsa[] keys, byte[][] sigs, byte[] ctx, byte[][] msgs,
+        boolean[] results);
     private native byte[] wc_dilithium_export_public();
     private native byte[] wc_dilithium_export_private();
     private native void wc_dilithium_import_public(byte[] in);
@@ -616,6 +630,99 @@ public class MlDsa extends NativeStruct {
         }
     }
 
+    /**
+     * Verify a batch of ML-DSA signatures with an empty context.
+     *
+     * Uses the common ForkJoinPool with one worker per available
+     * processor. See {@link #verifyBatch(MlDsa[], byte[][], byte[][],
+     * byte[], ExecutorService, int)}.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param messages input message for each signature
+     * @param signatures signatures to verify
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(MlDsa[] keys, byte[][] messages,
+        byte[][] signatures) throws WolfCryptException,
+        IllegalArgumentException, IllegalStateException {
+
+        return verifyBatch(keys, messages, signatures, null,
+            BatchVerify.defaultPool(), BatchVerify.defaultWorkers());
+    }
+
+    /**
+     * Verify a batch of ML-DSA signatures sharing one context.
+     *
+     * Items are split by count into about workers chunks, each verified
+     * with one native call. A chunk may hold items for up to 64 different
+     * keys, so batches with many distinct keys still take few native
+     * calls. Chunks run on pool, with the calling thread verifying one
+     * chunk itself. Chunks using the same key as another running chunk
+     * verify with a temporary copy of the public key, so keys[] entries
+     * are never used by more than one thread at a time.
+     *
+     * @param keys key to verify each signature with, entries may repeat
+     * @param messages input message for each signature
+     * @param signatures signatures to verify
+     * @param ctx context bytes used for all items (may be null or empty;
+     *        length 0..255)
+     * @param pool ExecutorService used to run chunks, or null to verify
+     *        all items in the calling thread
+     * @param workers maximum number of chunks to verify in parallel
+     *
+     * @return BitSet with bit i set if signatures[i] verified
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if input arrays are null, contain
+     *         null entries, or are of different lengths, or if
+     *         {@code ctx} length exceeds 255
+     * @throws IllegalStateException if any key has not been set, fails to
+     *         initialize, or has been released
+     */
+    public static BitSet verifyBatch(MlDsa[] keys, byte[][] messages,
+        byte[][] signatures, final byte[] ctx, ExecutorService pool,
+        int workers) throws WolfCryptException, IllegalArgumentException,
+        IllegalStateException {
+
+        checkCtxLength(ctx);
+        BatchVerify.checkArgs(keys, messages, signatures);
+
+        for (MlDsa key : keys) {
+            key.checkStateAndInitialize();
+            key.throwIfKeyNotLoaded();
+        }
+
+        return BatchVerify.verify(keys, messages, signatures, pool, workers,
+            new BatchVerify.Verifier<MlDsa>() {
+                @Override
+                public void verify(MlDsa[] keys, byte[][] msgs,
+                    byte[][] sigs, boolean[] results) {
+                    wc_dilithium_verify_ctx_msg_batch(keys, sigs, ctx, msgs,
+                        results);
+                }
+
+                @Override
+                public MlDsa copyPublic(MlDsa key)
+                    throws WolfCryptException {
+                    MlDsa pub = new MlDsa(key.getLevel());
+                    try {
+                        pub.importPublicKey(key.exportPublicKey());
+                    } catch (WolfCryptException | IllegalStateException e) {
+                        pub.releaseNativeStruct();
+                        throw e;
+                    }
+                    return pub;
+                }
+            });
+    }
+
     /**
      * Verify {@code sig} over a message digest with an empty context,
      * implements HashML-DSA (pre-hash variant) from FIPS 204 Section 5.4.
@@ -1140,4 +1247,19 @@ public class MlDsa extends NativeStruct {
         throw new WolfCryptException(
             WolfCryptError.ASN_PARSE_E.getCode());
     }
+
+    /* Frees native struct with wc_MlDsaKey_Free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
 }
@@ -140,6 +140,14 @@ public class MlKem extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_mlkem_init(int level);
     private native void wc_mlkem_free();
     private native void wc_mlkem_make_key(Rng rng);
@@ -547,4 +555,19 @@ public class MlKem extends NativeStruct {
             return wc_mlkem_shared_secret_size();
         }
     }
+
+    /* Frees native struct with wc_MlKemKey_Free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
 }
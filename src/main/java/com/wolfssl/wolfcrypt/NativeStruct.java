@@ -23,8 +23,14 @@ package com.wolfssl.wolfcrypt;
 
 /**
  * Wrapper for the native WolfCrypt structs.
+ *
+ * Native memory is released by releaseNativeStruct(), or by close() when
+ * used with try-with-resources. Objects that become unreachable while still
+ * holding a native struct have it freed by a background cleaner thread,
+ * without the GC overhead of finalize().
  */
-public abstract class NativeStruct extends WolfObject {
+public abstract class NativeStruct extends WolfObject
+    implements AutoCloseable {
 
     /** Logical mapping of NULL to 0 */
     public static final long NULL = 0;
@@ -34,18 +40,80 @@ public abstract class NativeStruct extends WolfObject {
      */
     protected NativeStruct() {
         /* Native struct allocated in initNativeStruct() upon subclass init */
+        this.owner = null;
+    }
+
+    /**
+     * Create new NativeStruct object, optionally confined to the calling
+     * thread.
+     *
+     * By default wrapper objects lock around every call so they can be
+     * shared between threads. A thread confined object may only be used
+     * from the thread that created it. Subclasses that support confinement
+     * skip monitor locking on their hot paths and instead check the
+     * calling thread with throwIfNotOwner(), which throws
+     * IllegalStateException when used from another thread. This includes
+     * releaseNativeStruct() and close(), since the owner may be using the
+     * native struct without holding a lock. Confined objects that become
+     * unreachable are still freed by the cleaner thread.
+     *
+     * @param threadConfined true to confine this object to the calling
+     *        thread, false for default thread safe behavior
+     */
+    protected NativeStruct(boolean threadConfined) {
+        this.owner = threadConfined ? Thread.currentThread() : null;
     }
 
     /* points to the internal native structure */
     private volatile long pointer = 0;
 
+    /* Thread this object is confined to, null if shared between threads */
+    private final Thread owner;
+
+    /* Cleaner registration while a native struct is held, otherwise null.
+     * Accessed with pointer, under pointerLock or by owner thread. */
+    private NativeStructCleaner.Ref cleanerRef = null;
+
     /** Lock around native pointer use */
     protected final Object pointerLock = new Object();
 
+    /**
+     * Check if this object is confined to a single owner thread.
+     *
+     * @return true if confined to the thread that created it, false if
+     *         this object can be shared between threads
+     */
+    public final boolean isThreadConfined() {
+        return this.owner != null;
+    }
+
+    /**
+     * Throw exception if this object is thread confined and is being used
+     * from a thread other than its owner.
+     *
+     * @throws IllegalStateException if called from thread other than the
+     *         owner of a thread confined object
+     */
+    protected final void throwIfNotOwner() throws IllegalStateException {
+
+        if (this.owner != null && this.owner != Thread.currentThread()) {
+            throw new IllegalStateException(getClass().getSimpleName() +
+                " is confined to thread " + this.owner.getName());
+        }
+    }
+
     /**
      * Allocate and initialize native struct.
      */
     protected void initNativeStruct() {
+
+        if (this.owner != null) {
+            if (pointer == 0) {
+                setNativeStruct(mallocNativeStruct());
+            }
+            return;
+        }
+
         synchronized (pointerLock) {
             if (pointer == 0) {
                 setNativeStruct(mallocNativeStruct());
@@ -63,6 +131,12 @@ public abstract class NativeStruct extends WolfObject {
      * @return pointer to native structure
      */
     public long getNativeStruct() {
+
+        /* pointer is volatile, confined objects read it without locking */
+        if (this.owner != null) {
+            return this.pointer;
+        }
+
         synchronized (pointerLock) {
             return this.pointer;
         }
@@ -84,6 +158,21 @@ public abstract class NativeStruct extends WolfObject {
         }
 
         this.pointer = nativeStruct;
+
+        /* Track pointer so it can be freed if object becomes unreachable */
+        if (nativeStruct != NULL) {
+            if (this.cleanerRef == null) {
+                this.cleanerRef = NativeStructCleaner.register(this,
+                    nativeStruct, nativeFreeAction());
+            }
+            else {
+                this.cleanerRef.pointer = nativeStruct;
+            }
+        }
+        else if (this.cleanerRef != null) {
+            this.cleanerRef.deregister();
+            this.cleanerRef = null;
+        }
     }
 
     /**
@@ -93,13 +182,33 @@ public abstract class NativeStruct extends WolfObject {
      * garbage collector to get around to releasing it. Derived objects whose
      * native data structures have their own free functions, should be override
      * this method to call that function.
+     *
+     * @throws IllegalStateException if this object is thread confined and
+     *         called from a thread other than its owner
      */
     public void releaseNativeStruct() {
+
+        throwIfNotOwner();
+
         synchronized (pointerLock) {
             setNativeStruct(NULL);
         }
     }
 
+    /**
+     * Release native structure, same as releaseNativeStruct().
+     *
+     * Implements AutoCloseable for use with try-with-resources. Calling
+     * close() more than once has no further effect.
+     *
+     * @throws IllegalStateException if this object is thread confined and
+     *         called from a thread other than its owner
+     */
+    @Override
+    public void close() {
+        releaseNativeStruct();
+    }
+
     /**
      * Malloc native structure pointer
      *
@@ -109,14 +218,51 @@ public abstract class NativeStruct extends WolfObject {
      */
     protected abstract long mallocNativeStruct() throws OutOfMemoryError;
 
-    private native void xfree(long pointer);
+    /**
+     * Get action used to free the native struct if this object becomes
+     * unreachable while still holding it.
+     *
+     * Subclasses whose native struct needs a type specific free function
+     * (ex: wc_ecc_free()) return a static action that calls it and then
+     * frees the memory. Default frees the memory only, with xfree().
+     *
+     * @return free action, or null to free with xfree()
+     */
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return null;
+    }
 
-    @SuppressWarnings({"deprecation", "removal"})
-    @Override
-    protected void finalize() throws Throwable {
-        releaseNativeStruct();
+    /**
+     * Free native pointer allocated by mallocNativeStruct(). Static so it
+     * can be called by NativeStructCleaner after this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    static native void xfree(long pointer);
 
-        super.finalize();
-    }
+    /**
+     * Get number of native structs allocated with XMALLOC since the native
+     * library was loaded.
+     *
+     * Native structs freed by releaseNativeStruct(), close() or the
+     * cleaner are zeroized and kept in a small per-type native pool, and
+     * reused by later objects of the same type. Together with
+     * getNativeReuseCount() this shows how often wrapper objects are
+     * served from that pool instead of the native heap.
+     *
+     * @return number of native struct allocations, or 0 if native struct
+     *         pooling is not compiled into the native library
+     */
+    public static native long getNativeAllocCount();
+
+    /**
+     * Get number of native structs reused from the native struct pool
+     * since the native library was loaded.
+     *
+     * @return number of native structs reused instead of allocated, or 0
+     *         if native struct pooling is not compiled into the native
+     *         library
+     */
+    public static native long getNativeReuseCount();
 }
 
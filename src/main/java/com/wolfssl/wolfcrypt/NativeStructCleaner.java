@@ -0,0 +1,267 @@
+/* NativeStructCleaner.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+
+/**
+ * Frees native memory held by NativeStruct objects that become unreachable
+ * without releaseNativeStruct() or close() having been called.
+ *
+ * This is a Java 8 compatible equivalent of java.lang.ref.Cleaner, used
+ * instead of finalize(). Objects with a finalize() method are tracked by
+ * the JVM from allocation until their finalizer has run, and need at least
+ * two GC cycles to be reclaimed. NativeStruct objects are instead only
+ * registered here while they hold a native struct, and are deregistered
+ * when it is released, so objects released explicitly cost the GC nothing
+ * extra.
+ *
+ * The cleanup action only has a copy of the native pointer, not the
+ * NativeStruct object itself. It frees the pointer with xfree(), or with
+ * the FreeAction of the subclass when its native struct needs a type
+ * specific free function (ex: wc_ecc_free()).
+ *
+ * Other objects, such as JCE engine classes, register a Runnable cleanup
+ * task through the public WolfCryptCleaner class. These share the same
+ * queue and cleaner thread.
+ */
+final class NativeStructCleaner {
+
+    /* Queue of references to registered objects that became unreachable */
+    private static final ReferenceQueue<Object> queue =
+        new ReferenceQueue<Object>();
+
+    /* Lock around registered list */
+    private static final Object listLock = new Object();
+
+    /* Head of doubly linked list of registered references, keeps them
+     * reachable until cleaned or deregistered. Guarded by listLock. */
+    private static Ref head = null;
+
+    /* Number of registered references. Guarded by listLock. */
+    private static int registered = 0;
+
+    static {
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                processQueue();
+            }
+        }, "wolfCrypt NativeStruct Cleaner");
+        t.setDaemon(true);
+        t.setContextClassLoader(null);
+        t.start();
+    }
+
+    private NativeStructCleaner() {
+    }
+
+    /**
+     * Register NativeStruct holding a native pointer.
+     *
+     * @param obj NativeStruct object to track
+     * @param pointer native pointer to free if obj becomes unreachable
+     * @param action type specific free action, or null to free pointer
+     *        with xfree()
+     *
+     * @return reference used to update pointer and deregister
+     */
+    static Ref register(NativeStruct obj, long pointer, FreeAction action) {
+
+        return link(new Ref(obj, pointer, action, null));
+    }
+
+    /**
+     * Register object with a cleanup task run once it becomes unreachable.
+     *
+     * @param obj object to track
+     * @param task cleanup task, must not reference obj
+     *
+     * @return reference used to run task early or deregister
+     */
+    static Ref register(Object obj, Runnable task) {
+
+        return link(new Ref(obj, NativeStruct.NULL, null, task));
+    }
+
+    /**
+     * Add reference to registered list.
+     *
+     * @return ref
+     */
+    private static Ref link(Ref ref) {
+
+        synchronized (listLock) {
+            ref.next = head;
+            if (head != null) {
+                head.prev = ref;
+            }
+            head = ref;
+            registered++;
+        }
+
+        return ref;
+    }
+
+    /**
+     * Get number of objects currently registered, for tests and
+     * debugging.
+     *
+     * @return number of registered objects
+     */
+    static int registeredCount() {
+        synchronized (listLock) {
+            return registered;
+        }
+    }
+
+    /**
+     * Remove reference from registered list.
+     *
+     * @return true if removed, false if already removed
+     */
+    private static boolean unlink(Ref ref) {
+
+        synchronized (listLock) {
+            if (ref.prev == ref) {
+                return false;
+            }
+            if (ref.prev != null) {
+                ref.prev.next = ref.next;
+            }
+            else {
+                head = ref.next;
+            }
+            if (ref.next != null) {
+                ref.next.prev = ref.prev;
+            }
+            /* Mark as unlinked */
+            ref.prev = ref;
+            ref.next = null;
+            registered--;
+        }
+
+        return true;
+    }
+
+    /**
+     * Free native structs of unreachable objects as they are enqueued.
+     * Runs on cleaner thread for the life of the JVM.
+     */
+    private static void processQueue() {
+
+        while (true) {
+            try {
+                Ref ref = (Ref)queue.remove();
+                if (unlink(ref)) {
+                    if (ref.task != null) {
+                        ref.task.run();
+                        continue;
+                    }
+                    long ptr = ref.pointer;
+                    ref.pointer = NativeStruct.NULL;
+                    if (ptr != NativeStruct.NULL) {
+                        if (ref.action != null) {
+                            ref.action.free(ptr);
+                        }
+                        else {
+                            NativeStruct.xfree(ptr);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                /* keep running, daemon thread exits with JVM */
+            } catch (Throwable e) {
+                /* never let a failed free stop the cleaner */
+            }
+        }
+    }
+
+    /**
+     * Frees a native struct given only its pointer, for NativeStruct
+     * subclasses that need more than xfree(). Implementations are static
+     * per type and must not reference the object being cleaned, otherwise
+     * it never becomes unreachable.
+     */
+    interface FreeAction {
+
+        /**
+         * Free native struct, including the memory itself.
+         *
+         * @param pointer native pointer to free, never NULL
+         */
+        void free(long pointer);
+    }
+
+    /**
+     * Registration of one object, holds a copy of its native pointer or
+     * its cleanup task.
+     */
+    static final class Ref extends PhantomReference<Object>
+        implements WolfCryptCleaner.Cleanable {
+
+        /* Native pointer freed if object becomes unreachable. Updated by
+         * NativeStruct while object is reachable. */
+        volatile long pointer;
+
+        /* Type specific free action, null to use xfree() */
+        private final FreeAction action;
+
+        /* Cleanup task for objects registered through WolfCryptCleaner,
+         * null for NativeStruct registrations */
+        private final Runnable task;
+
+        /* Registered list links, guarded by listLock */
+        private Ref prev = null;
+        private Ref next = null;
+
+        private Ref(Object obj, long pointer, FreeAction action,
+            Runnable task) {
+            super(obj, queue);
+            this.pointer = pointer;
+            this.action = action;
+            this.task = task;
+        }
+
+        /**
+         * Deregister without freeing, after the native struct has been
+         * released by its owner.
+         */
+        void deregister() {
+            this.pointer = NativeStruct.NULL;
+            clear();
+            unlink(this);
+        }
+
+        /**
+         * Run cleanup task now and deregister, if it has not already run.
+         */
+        @Override
+        public void clean() {
+            clear();
+            if (unlink(this) && this.task != null) {
+                this.task.run();
+            }
+        }
+    }
+}
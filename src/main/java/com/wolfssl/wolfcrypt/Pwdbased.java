@@ -25,6 +25,12 @@ package com.wolfssl.wolfcrypt;
  * Password based key derivation class with wraps native wolfCrypt
  * pwdbased.c/h APIs.
  *
+ * Methods in this class are safe to call concurrently from multiple threads.
+ * Each call derives its key into a native buffer local to that call and
+ * does not share any native state with other callers, so no class-level
+ * lock is held during key derivation. This allows expensive high-iteration
+ * PBKDF2 operations to run in parallel across CPU cores.
+ *
  * @author wolfSSL
  */
 public class Pwdbased {
@@ -72,7 +78,7 @@ public class Pwdbased {
      *
      * @throws WolfCryptException on native wolfCrypt error
      */
-    public static synchronized byte[] PKCS12_PBKDF(byte[] passwd, byte[] salt,
+    public static byte[] PKCS12_PBKDF(byte[] passwd, byte[] salt,
         int iterations, int kLen, int typeH, int id) throws WolfCryptException {
 
         /* Throws WolfCryptException with error on failure */
@@ -109,7 +115,7 @@ public class Pwdbased {
      * @throws IllegalArgumentException on invalid arguments
      * @throws WolfCryptException on native wolfCrypt error
      */
-    public static synchronized byte[] PBKDF2(byte[] passwd, byte[] salt,
+    public static byte[] PBKDF2(byte[] passwd, byte[] salt,
         int iterations, int kLen, int hashType) throws WolfCryptException {
 
         int passLen = 0;
@@ -98,6 +98,14 @@ public class Rsa extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     /**
      * Decode/import raw RSA public key
      *
@@ -1060,5 +1068,19 @@ public class Rsa extends NativeStruct {
             return wc_RsaPrivateDecrypt_ex(ciphertext, hashType, mgf);
         }
     }
-}
 
+    /* Frees native struct with wc_FreeRsaKey() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
+}
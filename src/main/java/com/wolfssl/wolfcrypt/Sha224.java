@@ -48,6 +48,9 @@ public class Sha224 extends MessageDigest implements Cloneable {
         int len);
     private native void native_final_internal(ByteBuffer hash, int offset);
     private native void native_final_internal(byte[] hash);
+    private static native void native_digest_many_internal(Object[] inputs,
+        int[] offsets, int[] lengths, int from, int count, byte[] out,
+        int outOffset);
 
     /**
      * Malloc native JNI Sha224 structure
@@ -72,15 +75,20 @@ public class Sha224 extends MessageDigest implements Cloneable {
     protected void native_init()
         throws WolfCryptException {
 
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
             native_init_internal();
-
-            /* Check if we need to init with passed in data */
-            if (this.initialData != null) {
-                update(this.initialData);
-                this.initialData = null;
+        }
+        else {
+            synchronized (pointerLock) {
+                native_init_internal();
             }
         }
+
+        /* Check if we need to init with passed in data */
+        if (this.initialData != null) {
+            update(this.initialData);
+            this.initialData = null;
+        }
     }
 
     /**
@@ -111,6 +119,11 @@ public class Sha224 extends MessageDigest implements Cloneable {
     protected void native_update(ByteBuffer data, int offset, int len)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_update_internal(data, offset, len);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_update_internal(data, offset, len);
         }
@@ -128,6 +141,11 @@ public class Sha224 extends MessageDigest implements Cloneable {
     protected void native_update(byte[] data, int offset, int len)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_update_internal(data, offset, len);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_update_internal(data, offset, len);
         }
@@ -144,6 +162,11 @@ public class Sha224 extends MessageDigest implements Cloneable {
     protected void native_final(ByteBuffer hash, int offset)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_final_internal(hash, offset);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_final_internal(hash, offset);
         }
@@ -159,11 +182,39 @@ public class Sha224 extends MessageDigest implements Cloneable {
     protected void native_final(byte[] hash)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_final_internal(hash);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_final_internal(hash);
         }
     }
 
+    /**
+     * Native SHA2-224 one-shot hash of multiple inputs, used by digestMany().
+     * Does not use the native struct of this object, so no pointer lock
+     * is needed.
+     *
+     * @param inputs input byte arrays or direct ByteBuffers
+     * @param offsets offset into each input array or buffer
+     * @param lengths number of bytes to hash from each input
+     * @param from index of first input to hash
+     * @param count number of inputs to hash
+     * @param out output array, digests written back to back
+     * @param outOffset offset into out for first digest
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    protected void native_digest_many(Object[] inputs, int[] offsets,
+        int[] lengths, int from, int count, byte[] out, int outOffset)
+        throws WolfCryptException {
+
+        native_digest_many_internal(inputs, offsets, lengths, from,
+            count, out, outOffset);
+    }
+
     /**
      * Create new SHA2-224 object.
      *
@@ -178,6 +229,28 @@ public class Sha224 extends MessageDigest implements Cloneable {
         /* Internal state is initialized on first use */
     }
 
+    /**
+     * Create new SHA2-224 object, optionally confined to the calling thread.
+     *
+     * A thread confined object skips internal locking and may only be
+     * used from the thread that created it, see
+     * {@link NativeStruct#NativeStruct(boolean)}.
+     *
+     * @param threadConfined true to confine this object to the calling
+     *        thread, false for default thread safe behavior
+     *
+     * @throws WolfCryptException if SHA-224 has not been compiled into native
+     *         wolfCrypt library.
+     */
+    public Sha224(boolean threadConfined) {
+        super(threadConfined);
+        if (!FeatureDetect.Sha224Enabled()) {
+            throw new WolfCryptException(
+                WolfCryptError.NOT_COMPILED_IN.getCode());
+        }
+        /* Internal state is initialized on first use */
+    }
+
     /**
      * Create new SHA2-224 object by making a copy of the one given.
      *
@@ -229,7 +302,7 @@ public class Sha224 extends MessageDigest implements Cloneable {
     @Override
     public Object clone() {
 
-        Sha224 shaCopy = new Sha224();
+        Sha224 shaCopy = new Sha224(isThreadConfined());
         /* Initialize NativeStruct, since is done on first use */
         shaCopy.checkStateAndInitialize();
         shaCopy.native_copy(this);
@@ -69,6 +69,9 @@ public class Sha3 extends MessageDigest implements Cloneable {
     private native void native_final_internal(ByteBuffer hash, int offset,
         int hashType);
     private native void native_final_internal(byte[] hash, int hashType);
+    private static native void native_digest_many_internal(Object[] inputs,
+        int[] offsets, int[] lengths, int from, int count, byte[] out,
+        int outOffset, int hashType);
 
     /**
      * Get the hash type of this Sha3 object
@@ -139,15 +142,20 @@ public class Sha3 extends MessageDigest implements Cloneable {
     protected void native_init()
         throws WolfCryptException {
 
-        synchronized (pointerLock) {
+        if (isThreadConfined()) {
             native_init_internal(this.hashType);
-
-            /* Check if we need to init with passed in data */
-            if (this.initialData != null) {
-                update(this.initialData);
-                this.initialData = null;
+        }
+        else {
+            synchronized (pointerLock) {
+                native_init_internal(this.hashType);
             }
         }
+
+        /* Check if we need to init with passed in data */
+        if (this.initialData != null) {
+            update(this.initialData);
+            this.initialData = null;
+        }
     }
 
     /**
@@ -178,6 +186,11 @@ public class Sha3 extends MessageDigest implements Cloneable {
     protected void native_update(ByteBuffer data, int offset, int len)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_update_internal(data, offset, len, this.hashType);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_update_internal(data, offset, len, this.hashType);
         }
@@ -195,6 +208,11 @@ public class Sha3 extends MessageDigest implements Cloneable {
     protected void native_update(byte[] data, int offset, int len)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_update_internal(data, offset, len, this.hashType);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_update_internal(data, offset, len, this.hashType);
         }
@@ -211,6 +229,11 @@ public class Sha3 extends MessageDigest implements Cloneable {
     protected void native_final(ByteBuffer hash, int offset)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_final_internal(hash, offset, this.hashType);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_final_internal(hash, offset, this.hashType);
         }
@@ -226,11 +249,39 @@ public class Sha3 extends MessageDigest implements Cloneable {
     protected void native_final(byte[] hash)
         throws WolfCryptException {
 
+        if (isThreadConfined()) {
+            native_final_internal(hash, this.hashType);
+            return;
+        }
+
         synchronized (pointerLock) {
             native_final_internal(hash, this.hashType);
         }
     }
 
+    /**
+     * Native SHA3 one-shot hash of multiple inputs, used by digestMany().
+     * Does not use the native struct of this object, so no pointer lock
+     * is needed.
+     *
+     * @param inputs input byte arrays or direct ByteBuffers
+     * @param offsets offset into each input array or buffer
+     * @param lengths number of bytes to hash from each input
+     * @param from index of first input to hash
+     * @param count number of inputs to hash
+     * @param out output array, digests written back to back
+     * @param outOffset offset into out for first digest
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    protected void native_digest_many(Object[] inputs, int[] offsets,
+        int[] lengths, int from, int count, byte[] out, int outOffset)
+        throws WolfCryptException {
+
+        native_digest_many_internal(inputs, offsets, lengths, from,
+            count, out, outOffset, this.hashType);
+    }
+
     /**
      * Create new Sha3 object.
      *
@@ -249,6 +300,31 @@ public class Sha3 extends MessageDigest implements Cloneable {
         sanitizeAndSetHashType(hashType);
     }
 
+    /**
+     * Create new Sha3 object, optionally confined to the calling thread.
+     *
+     * A thread confined object skips internal locking and may only be
+     * used from the thread that created it, see
+     * {@link NativeStruct#NativeStruct(boolean)}.
+     *
+     * @param hashType SHA3 hash type: one of TYPE_SHA3_224, TYPE_SHA3_256,
+     *        TYPE_SHA3_384, or TYPE_SHA3_512.
+     * @param threadConfined true to confine this object to the calling
+     *        thread, false for default thread safe behavior
+     *
+     * @throws WolfCryptException if SHA-3 has not been compiled into native
+     *         wolfCrypt library.
+     */
+    public Sha3(int hashType, boolean threadConfined) {
+        super(threadConfined);
+        if (!FeatureDetect.Sha3Enabled()) {
+            throw new WolfCryptException(
+                WolfCryptError.NOT_COMPILED_IN.getCode());
+        }
+        /* Internal state is initialized on first use */
+        sanitizeAndSetHashType(hashType);
+    }
+
     /**
      * Create new Sha3 object by making a copy of the one given.
      *
@@ -302,7 +378,7 @@ public class Sha3 extends MessageDigest implements Cloneable {
     @Override
     public Object clone() {
 
-        Sha3 shaCopy = new Sha3(this.hashType);
+        Sha3 shaCopy = new Sha3(this.hashType, isThreadConfined());
         /* Initialize NativeStruct, since is done on first use */
         shaCopy.checkStateAndInitialize();
         shaCopy.native_copy(this);
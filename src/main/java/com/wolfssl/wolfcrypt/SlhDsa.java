@@ -205,6 +205,14 @@ public class SlhDsa extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_SlhDsaKey_init(int param);
     private native void wc_SlhDsaKey_free();
     private native int  wc_SlhDsaKey_get_param();
@@ -1129,4 +1137,19 @@ public class SlhDsa extends NativeStruct {
             throw new WolfCryptException(WolfCryptError.ASN_PARSE_E.getCode());
         }
     }
+
+    /* Frees native struct with wc_SlhDsaKey_Free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
 }
@@ -0,0 +1,603 @@
+/* TreeHash.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.crypto.ShortBufferException;
+
+/**
+ * Parallel tree hash (chunked Merkle hash) built on the wolfCrypt SHA-2
+ * and SHA-3 wrappers.
+ *
+ * A plain SHA-2 or SHA-3 digest is sequential and runs on one core. This
+ * class splits input into fixed size chunks, hashes chunks in parallel on
+ * an ExecutorService, and combines chunk hashes in a binary Merkle tree.
+ * The result is NOT equal to a plain digest of the same input, it is a
+ * different algorithm with the following output format:
+ *
+ * <pre>
+ * H         = underlying hash (ex: SHA-256)
+ * C         = chunk size in bytes
+ * chunk[i]  = input bytes [i*C, min((i+1)*C, len)), for i in 0..n-1,
+ *             n = max(1, ceil(len / C)). Empty input is one empty chunk.
+ * level 0   = H(chunk[0]), ..., H(chunk[n-1])
+ * level k+1 = H(0x01 || a || b) for each adjacent pair (a, b) of level k,
+ *             a trailing unpaired node is carried up unchanged
+ * top       = single node of the last level
+ * output    = H(0x02 || uint64_be(len) || uint32_be(C) || top)
+ * </pre>
+ *
+ * The output is the digest size of H. Chunk size is part of the output
+ * format, two tree hashes are only comparable if they use the same H and
+ * C. Results do not depend on the number of worker threads or on how
+ * input is split across update() calls.
+ *
+ * Byte array input is buffered and hashed a batch of chunks at a time, one
+ * native call per worker. Direct ByteBuffer input (for example a
+ * MappedByteBuffer from {@link #digestFile(Path, String, int,
+ * ExecutorService)}) is hashed in place by native wolfCrypt when it starts
+ * on a chunk boundary, without copying it onto the Java heap.
+ *
+ * Objects of this class are not thread safe, but may be used by one thread
+ * at a time.
+ */
+public class TreeHash {
+
+    /** Default chunk size, 1 MiB */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /* Maximum bytes buffered for array input before hashing */
+    private static final int MAX_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    /* Domain separation prefixes for inner nodes and root */
+    private static final byte NODE_PREFIX = 0x01;
+    private static final byte ROOT_PREFIX = 0x02;
+
+    private final String algorithm;
+    private final int chunkSize;
+    private final ExecutorService pool;
+    private final int workers;
+    private final int digestSize;
+
+    /* Digest object used for one-shot hashing in this thread */
+    private final MessageDigest md;
+
+    /* Partial input not yet hashed, whole chunks followed by remainder */
+    private final byte[] buf;
+    private int bufLen = 0;
+
+    /* Chunk hashes computed so far, level 0 of the tree */
+    private ByteArrayOutputStream leaves = new ByteArrayOutputStream();
+
+    /* Total input length */
+    private long total = 0;
+
+    /**
+     * Create new TreeHash using the default chunk size and the common
+     * ForkJoinPool.
+     *
+     * @param algorithm underlying hash, one of "SHA-256", "SHA-512",
+     *        "SHA3-256", "SHA3-384" or "SHA3-512"
+     *
+     * @throws WolfCryptException if algorithm is not supported or not
+     *         compiled into native wolfCrypt
+     */
+    public TreeHash(String algorithm) throws WolfCryptException {
+        this(algorithm, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool(),
+            ForkJoinPool.commonPool().getParallelism());
+    }
+
+    /**
+     * Create new TreeHash.
+     *
+     * @param algorithm underlying hash, one of "SHA-256", "SHA-512",
+     *        "SHA3-256", "SHA3-384" or "SHA3-512"
+     * @param chunkSize chunk size in bytes, part of the output format
+     * @param pool ExecutorService to hash chunks on, or null to hash all
+     *        chunks in the calling thread
+     * @param workers maximum number of threads hashing chunks at once
+     *
+     * @throws WolfCryptException if algorithm is not supported or not
+     *         compiled into native wolfCrypt
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public TreeHash(String algorithm, int chunkSize, ExecutorService pool,
+        int workers) throws WolfCryptException, IllegalArgumentException {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                "Chunk size must be positive: " + chunkSize);
+        }
+
+        this.algorithm = algorithm;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+        this.workers = (pool == null) ? 1 : Math.max(1, workers);
+        this.md = newDigest(algorithm);
+        this.digestSize = md.digestSize();
+
+        /* Buffer at least one chunk per worker, but bound memory use */
+        long bufSz = (long)chunkSize * this.workers;
+        if (bufSz > MAX_BUFFER_SIZE) {
+            bufSz = Math.max(chunkSize,
+                (MAX_BUFFER_SIZE / chunkSize) * (long)chunkSize);
+        }
+        this.buf = new byte[(int)bufSz];
+    }
+
+    /**
+     * Create new wolfCrypt digest object for algorithm name.
+     */
+    private static MessageDigest newDigest(String algorithm)
+        throws WolfCryptException {
+
+        if (algorithm == null) {
+            throw new WolfCryptException("Tree hash algorithm cannot be null");
+        }
+
+        switch (algorithm) {
+            case "SHA-256":
+                return new Sha256();
+            case "SHA-512":
+                return new Sha512();
+            case "SHA3-256":
+                return new Sha3(Sha3.TYPE_SHA3_256);
+            case "SHA3-384":
+                return new Sha3(Sha3.TYPE_SHA3_384);
+            case "SHA3-512":
+                return new Sha3(Sha3.TYPE_SHA3_512);
+            default:
+                throw new WolfCryptException(
+                    "Unsupported tree hash algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * Get underlying hash algorithm name.
+     *
+     * @return algorithm name
+     */
+    public String getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Get chunk size used by this object.
+     *
+     * @return chunk size in bytes
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Get tree hash output size, same as underlying digest size.
+     *
+     * @return digest size in bytes
+     */
+    public int digestSize() {
+        return this.digestSize;
+    }
+
+    /**
+     * Add input data.
+     *
+     * @param data input data
+     * @param offset offset into data
+     * @param len length of input
+     *
+     * @throws WolfCryptException if native operation fails
+     * @throws IllegalArgumentException if offset or len are invalid
+     */
+    public void update(byte[] data, int offset, int len)
+        throws WolfCryptException, IllegalArgumentException {
+
+        if (data == null || offset < 0 || len < 0 ||
+            len > data.length - offset) {
+            throw new IllegalArgumentException("Invalid offset or length");
+        }
+
+        this.total += len;
+
+        /* Nothing buffered, hash whole chunks straight from input */
+        if (this.bufLen == 0 && len >= this.chunkSize) {
+            int whole = (len / this.chunkSize) * this.chunkSize;
+            hashChunks(data, offset, whole / this.chunkSize);
+            offset += whole;
+            len -= whole;
+        }
+
+        while (len > 0) {
+            int n = Math.min(len, this.buf.length - this.bufLen);
+            System.arraycopy(data, offset, this.buf, this.bufLen, n);
+            this.bufLen += n;
+            offset += n;
+            len -= n;
+
+            if (this.bufLen == this.buf.length) {
+                hashChunks(this.buf, 0, this.bufLen / this.chunkSize);
+                this.bufLen = 0;
+
+                /* Buffer drained, hash remaining whole chunks directly */
+                if (len >= this.chunkSize) {
+                    int whole = (len / this.chunkSize) * this.chunkSize;
+                    hashChunks(data, offset, whole / this.chunkSize);
+                    offset += whole;
+                    len -= whole;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add all input data in array.
+     *
+     * @param data input data
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    public void update(byte[] data) throws WolfCryptException {
+        update(data, 0, data.length);
+    }
+
+    /**
+     * Add remaining bytes of ByteBuffer as input, advancing its position
+     * to its limit.
+     *
+     * Direct buffers are hashed in place by native wolfCrypt, a whole
+     * chunk at a time, when no partial chunk is buffered.
+     *
+     * @param data input data
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    public void update(ByteBuffer data) throws WolfCryptException {
+
+        if (data.hasArray()) {
+            int len = data.remaining();
+            update(data.array(), data.arrayOffset() + data.position(), len);
+            data.position(data.position() + len);
+            return;
+        }
+
+        if (!data.isDirect()) {
+            /* Read-only heap buffer, no array access */
+            byte[] tmp = new byte[data.remaining()];
+            data.get(tmp);
+            update(tmp, 0, tmp.length);
+            return;
+        }
+
+        /* Fill current partial chunk first */
+        while (this.bufLen % this.chunkSize != 0 && data.hasRemaining()) {
+            int n = Math.min(data.remaining(),
+                this.chunkSize - (this.bufLen % this.chunkSize));
+            data.get(this.buf, this.bufLen, n);
+            this.bufLen += n;
+            this.total += n;
+        }
+        if (this.bufLen > 0 && this.bufLen % this.chunkSize == 0) {
+            hashChunks(this.buf, 0, this.bufLen / this.chunkSize);
+            this.bufLen = 0;
+        }
+
+        int chunks = data.remaining() / this.chunkSize;
+        if (chunks > 0) {
+            hashDirectChunks(data, chunks);
+            this.total += (long)chunks * this.chunkSize;
+        }
+
+        /* Keep tail as partial chunk */
+        int rem = data.remaining();
+        data.get(this.buf, this.bufLen, rem);
+        this.bufLen += rem;
+        this.total += rem;
+    }
+
+    /**
+     * Finish tree hash and return output, then reset this object for
+     * new input.
+     *
+     * @return tree hash output, digestSize() bytes
+     *
+     * @throws WolfCryptException if native operation fails
+     */
+    public byte[] digest() throws WolfCryptException {
+
+        byte[] level;
+        byte[] rootIn;
+        byte[] out = new byte[this.digestSize];
+
+        try {
+            /* Hash whole buffered chunks, then final partial chunk. Empty
+             * input is hashed as one empty chunk. */
+            int whole = this.bufLen / this.chunkSize;
+            if (whole > 0) {
+                hashChunks(this.buf, 0, whole);
+            }
+            int rem = this.bufLen - (whole * this.chunkSize);
+            if (rem > 0 || this.leaves.size() == 0) {
+                byte[][] in = new byte[][] { this.buf };
+                DigestMany.digest(in, new int[] { whole * this.chunkSize },
+                    new int[] { rem }, out, 0, this.digestSize, null, 1,
+                    hasher());
+                this.leaves.write(out, 0, this.digestSize);
+            }
+
+            level = this.leaves.toByteArray();
+            while (level.length > this.digestSize) {
+                level = combineLevel(level);
+            }
+
+            rootIn = ByteBuffer.allocate(1 + 8 + 4 + this.digestSize)
+                .put(ROOT_PREFIX).putLong(this.total).putInt(this.chunkSize)
+                .put(level).array();
+            DigestMany.digest(new byte[][] { rootIn }, null, null, out, 0,
+                this.digestSize, null, 1, hasher());
+
+        } finally {
+            reset();
+        }
+
+        return out;
+    }
+
+    /**
+     * Discard all input and reset for new tree hash.
+     */
+    public void reset() {
+        this.bufLen = 0;
+        this.total = 0;
+        this.leaves = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Free native resources held by this object.
+     */
+    public void releaseNativeStruct() {
+        this.md.releaseNativeStruct();
+    }
+
+    /**
+     * Tree hash a file, memory mapping it instead of reading it onto the
+     * Java heap.
+     *
+     * The file is mapped read-only in windows of whole chunks, and each
+     * window is hashed in place by native wolfCrypt. Mapped regions are
+     * unmapped by the JVM once garbage collected.
+     *
+     * @param file file to hash
+     * @param algorithm underlying hash, see {@link #TreeHash(String)}
+     * @param chunkSize chunk size in bytes
+     * @param pool ExecutorService to hash chunks on, or null to hash in
+     *        calling thread
+     *
+     * @return tree hash of file contents
+     *
+     * @throws IOException if file cannot be opened or mapped
+     * @throws WolfCryptException if native operation fails
+     */
+    public static byte[] digestFile(Path file, String algorithm,
+        int chunkSize, ExecutorService pool)
+        throws IOException, WolfCryptException {
+
+        int workers = (pool instanceof ForkJoinPool) ?
+            ((ForkJoinPool)pool).getParallelism() :
+            Runtime.getRuntime().availableProcessors();
+        final TreeHash th = new TreeHash(algorithm, chunkSize, pool, workers);
+
+        /* Map whole chunks, at least one per worker, FileDigest
+         * window size or larger */
+        long window = (long)chunkSize * Math.max(workers,
+            FileDigest.DEFAULT_WINDOW_SIZE / chunkSize);
+        window = Math.min(window,
+            ((long)Integer.MAX_VALUE / chunkSize) * chunkSize);
+
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+
+            FileDigest.mapWindows(ch, 0, ch.size(), (int)window,
+                new FileDigest.WindowConsumer() {
+                    @Override
+                    public void accept(ByteBuffer mapped) {
+                        th.update(mapped);
+                    }
+                });
+
+            return th.digest();
+
+        } finally {
+            th.releaseNativeStruct();
+        }
+    }
+
+    /**
+     * Tree hash a file with the default chunk size and the common
+     * ForkJoinPool.
+     *
+     * @param file file to hash
+     * @param algorithm underlying hash, see {@link #TreeHash(String)}
+     *
+     * @return tree hash of file contents
+     *
+     * @throws IOException if file cannot be opened or mapped
+     * @throws WolfCryptException if native operation fails
+     */
+    public static byte[] digestFile(Path file, String algorithm)
+        throws IOException, WolfCryptException {
+
+        return digestFile(file, algorithm, DEFAULT_CHUNK_SIZE,
+            ForkJoinPool.commonPool());
+    }
+
+    /**
+     * DigestMany.Hasher using one-shot native hash of md.
+     */
+    private DigestMany.Hasher hasher() {
+        final MessageDigest d = this.md;
+        return new DigestMany.Hasher() {
+            @Override
+            public void hash(Object[] inputs, int[] offsets, int[] lengths,
+                int from, int count, byte[] out, int outOffset) {
+                d.native_digest_many(inputs, offsets, lengths, from, count,
+                    out, outOffset);
+            }
+        };
+    }
+
+    /**
+     * Hash count whole chunks of data starting at offset into leaves.
+     * One native call per worker.
+     */
+    private void hashChunks(byte[] data, int offset, int count)
+        throws WolfCryptException {
+
+        byte[][] in = new byte[count][];
+        int[] offs = new int[count];
+        int[] lens = new int[count];
+        byte[] out = new byte[count * this.digestSize];
+
+        for (int i = 0; i < count; i++) {
+            in[i] = data;
+            offs[i] = offset + (i * this.chunkSize);
+            lens[i] = this.chunkSize;
+        }
+
+        DigestMany.digest(in, offs, lens, out, 0, this.digestSize,
+            this.pool, this.workers, hasher());
+        this.leaves.write(out, 0, out.length);
+    }
+
+    /**
+     * Hash count whole chunks of a direct ByteBuffer in place, advancing
+     * its position past them. Each worker hashes a contiguous range of
+     * chunks with its own digest object.
+     */
+    private void hashDirectChunks(final ByteBuffer data, final int count)
+        throws WolfCryptException {
+
+        final byte[] out = new byte[count * this.digestSize];
+        final int start = data.position();
+        final int per = (count + this.workers - 1) / this.workers;
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        RuntimeException failure = null;
+
+        for (int from = per; from < count; from += per) {
+            final int f = from;
+            final int n = Math.min(per, count - from);
+            futures.add(this.pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    hashDirectRange(data, start, f, n, out);
+                }
+            }));
+        }
+
+        /* Calling thread hashes first range itself */
+        try {
+            hashDirectRange(data, start, 0, Math.min(per, count), out);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        try {
+            BatchVerify.waitAll(futures);
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        data.position(start + (count * this.chunkSize));
+        this.leaves.write(out, 0, out.length);
+    }
+
+    /**
+     * Hash chunks [from, from + n) of data, relative to start, into out.
+     */
+    private void hashDirectRange(ByteBuffer data, int start, int from,
+        int n, byte[] out) {
+
+        MessageDigest d = newDigest(this.algorithm);
+        ByteBuffer view = data.duplicate();
+        ByteBuffer hash = ByteBuffer.allocateDirect(this.digestSize);
+
+        try {
+            for (int i = from; i < from + n; i++) {
+                int pos = start + (i * this.chunkSize);
+                view.limit(pos + this.chunkSize).position(pos);
+                hash.clear();
+                d.update(view);
+                d.digest(hash);
+                hash.flip();
+                hash.get(out, i * this.digestSize, this.digestSize);
+            }
+        } catch (ShortBufferException e) {
+            throw new WolfCryptException(e);
+        } finally {
+            d.releaseNativeStruct();
+        }
+    }
+
+    /**
+     * Combine adjacent node pairs of one tree level with
+     * H(0x01 || left || right), one native call for the level. A trailing
+     * unpaired node is carried up unchanged.
+     */
+    private byte[] combineLevel(byte[] level) throws WolfCryptException {
+
+        int nodes = level.length / this.digestSize;
+        int pairs = nodes / 2;
+        int next = pairs + (nodes % 2);
+        byte[][] in = new byte[pairs][];
+        byte[] out = new byte[next * this.digestSize];
+
+        for (int i = 0; i < pairs; i++) {
+            in[i] = new byte[1 + (2 * this.digestSize)];
+            in[i][0] = NODE_PREFIX;
+            System.arraycopy(level, 2 * i * this.digestSize, in[i], 1,
+                2 * this.digestSize);
+        }
+
+        DigestMany.digest(in, null, null, out, 0, this.digestSize,
+            (pairs >= 1024) ? this.pool : null, this.workers, hasher());
+
+        if (nodes % 2 != 0) {
+            System.arraycopy(level, (nodes - 1) * this.digestSize, out,
+                pairs * this.digestSize, this.digestSize);
+        }
+
+        return out;
+    }
+}
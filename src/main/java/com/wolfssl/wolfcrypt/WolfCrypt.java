@@ -21,6 +21,7 @@
 
 package com.wolfssl.wolfcrypt;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -135,6 +136,12 @@ public class WolfCrypt extends WolfObject {
     private static native byte[] wcCertPemToDer(byte[] pem);
     private static native byte[] wcPubKeyPemToDer(byte[] pem);
     private static native void nativeSetIOTimeout(int timeoutSec);
+    private static native int nativeDirectBuffersOverlap(ByteBuffer a,
+        int aOff, int aLen, ByteBuffer b, int bOff, int bLen);
+
+    /* nativeDirectBuffersOverlap() results */
+    private static final int BUFFERS_DISJOINT = 0;
+    private static final int BUFFERS_IN_PLACE = 1;
 
     /* Public mappings of some SSL/TLS level enums/defines */
     /** wolfSSL file type: PEM */
@@ -238,6 +245,52 @@ public class WolfCrypt extends WolfObject {
         nativeSetIOTimeout(timeoutSec);
     }
 
+    /**
+     * Tests if the remaining bytes of two direct ByteBuffers share native
+     * memory, for example when both are the same buffer or views of one
+     * buffer created with duplicate() or slice().
+     *
+     * @param a first direct ByteBuffer
+     * @param b second direct ByteBuffer
+     *
+     * @return true if the regions between position and limit of both
+     *         buffers overlap, or if the native address of either buffer
+     *         can not be read. false if either buffer is not direct or
+     *         has no remaining bytes.
+     */
+    public static boolean directBuffersOverlap(ByteBuffer a, ByteBuffer b) {
+
+        return directBuffersCompare(a, b) != BUFFERS_DISJOINT;
+    }
+
+    /**
+     * Tests if the remaining bytes of two direct ByteBuffers start at the
+     * same native address, for in-place operation.
+     *
+     * @param a first direct ByteBuffer
+     * @param b second direct ByteBuffer
+     *
+     * @return true if the current positions of both buffers point to the
+     *         same native memory, otherwise false. false if either buffer
+     *         is not direct, has no remaining bytes, or the native address
+     *         of either buffer can not be read.
+     */
+    public static boolean directBuffersInPlace(ByteBuffer a, ByteBuffer b) {
+
+        return directBuffersCompare(a, b) == BUFFERS_IN_PLACE;
+    }
+
+    private static int directBuffersCompare(ByteBuffer a, ByteBuffer b) {
+
+        if (a == null || b == null || !a.isDirect() || !b.isDirect() ||
+            !a.hasRemaining() || !b.hasRemaining()) {
+            return BUFFERS_DISJOINT;
+        }
+
+        return nativeDirectBuffersOverlap(a, a.position(), a.remaining(),
+            b, b.position(), b.remaining());
+    }
+
     /**
      * Constant time byte array comparison.
      *
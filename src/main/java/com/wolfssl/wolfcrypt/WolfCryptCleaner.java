@@ -0,0 +1,77 @@
+/* WolfCryptCleaner.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt;
+
+/**
+ * Runs cleanup tasks for objects that become unreachable, as a replacement
+ * for finalize().
+ *
+ * This is a Java 8 compatible equivalent of java.lang.ref.Cleaner, sharing
+ * the queue and daemon thread used to free unreachable NativeStruct
+ * objects. It is used by wolfJCE engine classes to zeroize key material,
+ * and hand back pooled or cached native objects, once the engine object
+ * itself is no longer referenced.
+ *
+ * The cleanup task runs on the cleaner thread. It must not reference the
+ * registered object, directly or through an inner class or lambda,
+ * otherwise the object never becomes unreachable. State needed by the task
+ * is normally kept in a static nested class instance that both the object
+ * and the task reference.
+ */
+public final class WolfCryptCleaner {
+
+    private WolfCryptCleaner() {
+    }
+
+    /**
+     * Register an object and the cleanup task to run once it becomes
+     * unreachable.
+     *
+     * @param obj object to track
+     * @param task cleanup task, must not reference obj
+     *
+     * @return Cleanable that can be used to run the task early
+     *
+     * @throws NullPointerException if obj or task is null
+     */
+    public static Cleanable register(Object obj, Runnable task) {
+
+        if (obj == null || task == null) {
+            throw new NullPointerException(
+                "Cleaner object and task must not be null");
+        }
+
+        return NativeStructCleaner.register(obj, task);
+    }
+
+    /**
+     * Registration returned by register().
+     */
+    public interface Cleanable {
+
+        /**
+         * Run the cleanup task now and deregister it. The task is run at
+         * most once, either by this method or by the cleaner thread.
+         */
+        void clean();
+    }
+}
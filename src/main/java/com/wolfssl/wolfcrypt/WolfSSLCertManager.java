@@ -72,6 +72,9 @@ public class WolfSSLCertManager extends WolfObject {
     static native int CertManagerLoadCABufferEx(
         long cm, byte[] in, long sz, int format, int flags);
     static native int CertManagerUnloadCAs(long cm);
+    static native int CertManagerLoadTempCABuffer(
+        long cm, byte[] in, long sz, int format, int flags);
+    static native int CertManagerUnloadTempCAs(long cm);
     static native int CertManagerVerifyBuffer(
         long cm, byte[] in, long sz, int format);
     static native int CertManagerEnableCRL(long cm, int options);
@@ -331,6 +334,69 @@ public class WolfSSLCertManager extends WolfObject {
         }
     }
 
+    /**
+     * Load CA into CertManager from X509Certificate object as a temporary
+     * CA, to be removed again with CertManagerUnloadTempCAs(). CAs loaded
+     * by other methods are not affected by that call.
+     *
+     * Used to load intermediate CAs for a single chain verification into
+     * a CertManager that is otherwise kept for reuse.
+     *
+     * @param cert X509Certificate containing CA cert
+     * @param flags load flags, e.g.
+     *              WOLFSSL_LOAD_FLAG_DATE_ERR_OKAY
+     *
+     * @throws IllegalStateException WolfSSLCertManager has been freed
+     * @throws WolfCryptException on native wolfSSL error, or
+     *         NOT_COMPILED_IN if native wolfSSL is older than 5.7.2
+     */
+    public synchronized void CertManagerLoadTempCA(X509Certificate cert,
+        int flags) throws IllegalStateException, WolfCryptException {
+
+        int ret = 0;
+
+        confirmObjectIsActive();
+
+        if (cert == null) {
+            throw new WolfCryptException("Input X509Certificate is null");
+        }
+
+        synchronized (cmLock) {
+            try {
+                byte[] encoded = cert.getEncoded();
+                ret = CertManagerLoadTempCABuffer(this.cmPtr, encoded,
+                    encoded.length, WolfCrypt.SSL_FILETYPE_ASN1, flags);
+            } catch (CertificateEncodingException e) {
+                throw new WolfCryptException(e);
+            }
+            if (ret != WolfCrypt.WOLFSSL_SUCCESS) {
+                throw new WolfCryptException(ret);
+            }
+        }
+    }
+
+    /**
+     * Unload all temporary CAs loaded with CertManagerLoadTempCA().
+     *
+     * @throws IllegalStateException WolfSSLCertManager has been freed
+     * @throws WolfCryptException on native wolfSSL error, or
+     *         NOT_COMPILED_IN if native wolfSSL is older than 5.7.2
+     */
+    public synchronized void CertManagerUnloadTempCAs()
+        throws IllegalStateException, WolfCryptException {
+
+        int ret = 0;
+
+        confirmObjectIsActive();
+
+        synchronized (cmLock) {
+            ret = CertManagerUnloadTempCAs(this.cmPtr);
+            if (ret != WolfCrypt.WOLFSSL_SUCCESS) {
+                throw new WolfCryptException(ret);
+            }
+        }
+    }
+
     /**
      * Verify X.509 certificate held in byte array. If verification fails
      * a WolfCryptException will be thrown, otherwise no exception if
@@ -98,6 +98,14 @@ public class Xmss extends NativeStruct {
      */
     protected native long mallocNativeStruct() throws OutOfMemoryError;
 
+    /**
+     * Free native struct allocated by mallocNativeStruct(), used by
+     * NativeStructCleaner when this object is collected.
+     *
+     * @param pointer native pointer to free
+     */
+    private static native void freeNativeStruct(long pointer);
+
     private native void wc_XmssKey_init();
     private native void wc_XmssKey_free();
     private native String wc_XmssKey_get_param_str();
@@ -248,4 +256,19 @@ public class Xmss extends NativeStruct {
     public boolean isXmssMt() {
         return this.isMultiTree;
     }
+
+    /* Frees native struct with wc_XmssKey_Free() if object becomes unreachable
+     * without releaseNativeStruct() having been called */
+    private static final NativeStructCleaner.FreeAction FREE_ACTION =
+        new NativeStructCleaner.FreeAction() {
+            @Override
+            public void free(long pointer) {
+                freeNativeStruct(pointer);
+            }
+        };
+
+    @Override
+    NativeStructCleaner.FreeAction nativeFreeAction() {
+        return FREE_ACTION;
+    }
 }
@@ -85,9 +85,11 @@ import com.wolfssl.wolfcrypt.FeatureDetect;
 import com.wolfssl.wolfcrypt.Aes;
 import com.wolfssl.wolfcrypt.Fips;
 import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.provider.jce.WolfCryptCcmParameterSpec;
 import java.security.GeneralSecurityException;
 import com.wolfssl.wolfcrypt.WolfCryptException;
 import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+import com.wolfssl.wolfcrypt.test.Util;
 
 public class WolfCryptCipherTest {
 
@@ -2205,8 +2207,10 @@ public class WolfCryptCipherTest {
             for (int j = 0; j < fourByteBlocks; j++) {
                 tmp = enc.update(Arrays.copyOfRange(vIn, inIdx, inIdx + 4));
                 assertNotNull(tmp);
-                /* AES-GCM stream API not supported in JCE yet */
-                assertEquals(0, tmp.length);
+                /* Ciphertext is returned from update() only if native
+                 * AES-GCM streaming is used, otherwise buffered */
+                assertTrue(tmp.length == 0 ||
+                    (FeatureDetect.AesGcmStreamEnabled() && tmp.length == 4));
                 System.arraycopy(tmp, 0, output, outIdx, tmp.length);
                 inIdx += 4;
                 outIdx += tmp.length;
@@ -2218,19 +2222,19 @@ public class WolfCryptCipherTest {
                 tmp = enc.update(Arrays.copyOfRange(vIn, inIdx,
                         inIdx + remainingBytes));
                 assertNotNull(tmp);
-                /* AES-GCM stream API not supported in JCE yet */
-                assertEquals(0, tmp.length);
+                assertTrue(tmp.length == 0 ||
+                    (FeatureDetect.AesGcmStreamEnabled() &&
+                     tmp.length == remainingBytes));
                 System.arraycopy(tmp, 0, output, outIdx, tmp.length);
                 inIdx += remainingBytes;
                 outIdx += tmp.length;
             }
 
             /* doFinal() should get tag (or whole ciphertext if AES-GCM
-             * streaming is not enabled at native wolfSSL level) */
+             * streaming is not used) */
             tmp = enc.doFinal();
             assertNotNull(tmp);
-            /* AES-GCM stream API not supported in JCE yet */
-            assertEquals(tmpOut.length, tmp.length);
+            assertEquals(tmpOut.length - outIdx, tmp.length);
             System.arraycopy(tmp, 0, output, outIdx, tmp.length);
             outIdx += tmp.length;
 
@@ -2268,7 +2272,8 @@ public class WolfCryptCipherTest {
             for (int j = 0; j < fourByteBlocks; j++) {
                 tmp = dec.update(Arrays.copyOfRange(output, inIdx, inIdx + 4));
                 assertNotNull(tmp);
-                /* AES-GCM stream API not supported in JCE yet */
+                /* Streaming decrypt is off by default, so plaintext is not
+                 * released until the tag is verified in doFinal() */
                 assertEquals(0, tmp.length);
                 System.arraycopy(tmp, 0, plain, outIdx, tmp.length);
                 inIdx += 4;
@@ -2281,18 +2286,15 @@ public class WolfCryptCipherTest {
                 tmp = dec.update(Arrays.copyOfRange(output, inIdx,
                         inIdx + remainingBytes));
                 assertNotNull(tmp);
-                /* AES-GCM stream API not supported in JCE yet */
                 assertEquals(0, tmp.length);
                 System.arraycopy(tmp, 0, plain, outIdx, tmp.length);
                 inIdx += remainingBytes;
                 outIdx += tmp.length;
             }
 
-            /* doFinal() will return whole plaintext if AES-GCM
-             * streaming is not enabled at native wolfSSL level */
+            /* doFinal() returns whole plaintext after tag verification */
             tmp = dec.doFinal();
             assertNotNull(tmp);
-            /* AES-GCM stream API not supported in JCE yet */
             assertEquals(vIn.length, tmp.length);
             System.arraycopy(tmp, 0, plain, outIdx, tmp.length);
             outIdx += tmp.length;
@@ -2306,8 +2308,9 @@ public class WolfCryptCipherTest {
     }
 
     /*
-     * Test that many small update() calls match a single call. GCM buffers
-     * everything until doFinal(), so this drives buffer growth only.
+     * Test that many small update() calls match a single call. Without
+     * native GCM streaming everything is buffered until doFinal(), so this
+     * drives buffer growth, otherwise it drives the streaming update path.
      */
     @Test
     public void testAesGcmChunkedUpdateMatchesSingle() throws Exception {
@@ -2342,12 +2345,212 @@ public class WolfCryptCipherTest {
         /* Same plaintext, sent one byte per update() call */
         Cipher chunked = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
         chunked.init(Cipher.ENCRYPT_MODE, key, spec);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
         for (int i = 0; i < plaintext.length; i++) {
-            chunked.update(plaintext, i, 1);
+            byte[] tmp = chunked.update(plaintext, i, 1);
+            if (tmp != null) {
+                out.write(tmp);
+            }
         }
+        out.write(chunked.doFinal());
 
         assertArrayEquals("Chunked update should match single doFinal",
-            expected, chunked.doFinal());
+            expected, out.toByteArray());
+    }
+
+    /*
+     * Encrypt with each key in turn using one Cipher, re-initializing for
+     * every message with a per-message IV.
+     */
+    private byte[][] aesKeyCacheEncrypt(String alg, SecretKeySpec[] keys,
+        int rounds, byte[] plaintext) throws Exception {
+
+        Cipher enc = Cipher.getInstance(alg, jceProvider);
+        byte[][] out = new byte[rounds * keys.length][];
+
+        for (int i = 0; i < out.length; i++) {
+            byte[] iv = new byte[12];
+            iv[0] = (byte)i;
+            iv[1] = (byte)(i >> 8);
+            enc.init(Cipher.ENCRYPT_MODE, keys[i % keys.length],
+                new GCMParameterSpec(128, iv));
+            out[i] = enc.doFinal(plaintext);
+        }
+
+        return out;
+    }
+
+    /*
+     * Test opt-in AES key cache. Re-initializing with keys taken from,
+     * returned to and evicted from the cache must give the same output as
+     * with the cache disabled.
+     */
+    @Test
+    public void testAesKeyCacheProperty() throws Exception {
+
+        final String prop = "wolfjce.cipher.aesKeyCacheSize";
+        ArrayList<String> algs = new ArrayList<String>();
+
+        if (enabledJCEAlgos.contains("AES/GCM/NoPadding")) {
+            algs.add("AES/GCM/NoPadding");
+        }
+        if (enabledJCEAlgos.contains("AES/CCM/NoPadding")) {
+            algs.add("AES/CCM/NoPadding");
+        }
+        if (algs.isEmpty()) {
+            /* skip if AES-GCM and AES-CCM are not enabled */
+            return;
+        }
+
+        byte[] plaintext = new byte[100];
+        new Random(2468).nextBytes(plaintext);
+
+        /* 3 keys rotated through a cache of 2 forces evictions */
+        SecretKeySpec[] keys = new SecretKeySpec[3];
+        for (int i = 0; i < keys.length; i++) {
+            byte[] k = new byte[16];
+            Arrays.fill(k, (byte)(i + 1));
+            keys[i] = new SecretKeySpec(k, "AES");
+        }
+
+        String origProp = Security.getProperty(prop);
+
+        for (String alg : algs) {
+            byte[][] expected;
+            byte[][] cached;
+
+            Security.setProperty(prop, "0");
+            expected = aesKeyCacheEncrypt(alg, keys, 4, plaintext);
+
+            try {
+                Security.setProperty(prop, "2");
+                cached = aesKeyCacheEncrypt(alg, keys, 4, plaintext);
+                for (int i = 0; i < expected.length; i++) {
+                    assertArrayEquals(alg + " message " + i, expected[i],
+                        cached[i]);
+                }
+
+                /* Same key bytes in new key objects, and two Ciphers
+                 * holding the same key at once */
+                Cipher dec1 = Cipher.getInstance(alg, jceProvider);
+                Cipher dec2 = Cipher.getInstance(alg, jceProvider);
+                for (int i = 0; i < expected.length; i++) {
+                    byte[] iv = new byte[12];
+                    iv[0] = (byte)i;
+                    GCMParameterSpec spec = new GCMParameterSpec(128, iv);
+                    SecretKeySpec k = new SecretKeySpec(
+                        keys[i % keys.length].getEncoded(), "AES");
+
+                    dec1.init(Cipher.DECRYPT_MODE, k, spec);
+                    dec2.init(Cipher.DECRYPT_MODE, k, spec);
+                    assertArrayEquals(plaintext, dec1.doFinal(expected[i]));
+                    assertArrayEquals(plaintext, dec2.doFinal(expected[i]));
+
+                    /* Cipher reset after doFinal() keeps key and IV */
+                    assertArrayEquals(plaintext, dec1.doFinal(expected[i]));
+                }
+
+                /* Disabling the cache empties it, held contexts keep
+                 * working until the next init */
+                Security.setProperty(prop, "0");
+                assertArrayEquals(plaintext,
+                    dec1.doFinal(expected[expected.length - 1]));
+                cached = aesKeyCacheEncrypt(alg, keys, 1, plaintext);
+                for (int i = 0; i < cached.length; i++) {
+                    assertArrayEquals(alg + " message " + i, expected[i],
+                        cached[i]);
+                }
+
+            } finally {
+                if (origProp == null) {
+                    /* Security has no remove, empty leaves default */
+                    Security.setProperty(prop, "");
+                }
+                else {
+                    Security.setProperty(prop, origProp);
+                }
+            }
+        }
+    }
+
+    /*
+     * Test opt-in AES-GCM streaming decrypt. update() releases plaintext
+     * before the tag is verified, holding back the last tag length bytes,
+     * and doFinal() still rejects a modified tag.
+     */
+    @Test
+    public void testAesGcmStreamingDecryptProperty() throws Exception {
+
+        final String prop = "wolfjce.cipher.gcmStreamingDecrypt";
+
+        if (!enabledJCEAlgos.contains("AES/GCM/NoPadding") ||
+            !FeatureDetect.Aes256Enabled() ||
+            !FeatureDetect.AesGcmStreamEnabled()) {
+            /* skip if AES-256-GCM or native GCM streaming is not enabled */
+            return;
+        }
+
+        byte[] plaintext = new byte[1000];
+        byte[] aad = new byte[20];
+        new Random(4321).nextBytes(plaintext);
+        new Random(8765).nextBytes(aad);
+
+        SecretKeySpec key = new SecretKeySpec(new byte[32], "AES");
+        GCMParameterSpec spec = new GCMParameterSpec(128, new byte[12]);
+
+        Cipher enc = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+        enc.init(Cipher.ENCRYPT_MODE, key, spec);
+        enc.updateAAD(aad);
+        byte[] ciphertext = enc.doFinal(plaintext);
+
+        String origProp = Security.getProperty(prop);
+        try {
+            Security.setProperty(prop, "true");
+
+            Cipher dec = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+            dec.init(Cipher.DECRYPT_MODE, key, spec);
+            dec.updateAAD(aad);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            boolean streamed = false;
+            for (int i = 0; i < ciphertext.length; i += 100) {
+                byte[] tmp = dec.update(ciphertext, i,
+                    Math.min(100, ciphertext.length - i));
+                if (tmp != null && tmp.length > 0) {
+                    streamed = true;
+                    out.write(tmp);
+                }
+            }
+            out.write(dec.doFinal());
+
+            /* Native streaming init may be refused (ie: FIPS) and fall
+             * back to buffered one-shot decrypt, both must round trip */
+            assertArrayEquals("Streaming decrypt should match plaintext",
+                plaintext, out.toByteArray());
+
+            if (streamed) {
+                /* Modified tag must still be rejected by doFinal() */
+                ciphertext[ciphertext.length - 1] ^= 0x01;
+                dec.init(Cipher.DECRYPT_MODE, key, spec);
+                dec.updateAAD(aad);
+                dec.update(ciphertext, 0, ciphertext.length);
+                try {
+                    dec.doFinal();
+                    fail("Streaming decrypt with bad tag should fail");
+                } catch (AEADBadTagException e) {
+                    /* expected */
+                }
+            }
+
+        } finally {
+            if (origProp == null) {
+                /* Security has no remove, empty leaves default behavior */
+                Security.setProperty(prop, "");
+            }
+            else {
+                Security.setProperty(prop, origProp);
+            }
+        }
     }
 
     /*
@@ -2379,10 +2582,15 @@ public class WolfCryptCipherTest {
         /* Large message fed in chunks, so capacity grows well past the
          * retention limit */
         c.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        ByteArrayOutputStream largeOut = new ByteArrayOutputStream();
         for (int i = 0; i < large.length; i += 4096) {
-            c.update(large, i, Math.min(4096, large.length - i));
+            byte[] tmp = c.update(large, i, Math.min(4096, large.length - i));
+            if (tmp != null) {
+                largeOut.write(tmp);
+            }
         }
-        byte[] largeCipher = c.doFinal();
+        largeOut.write(c.doFinal());
+        byte[] largeCipher = largeOut.toByteArray();
 
         /* Same instance, smaller message with a different IV */
         iv[0] = (byte)0x01;
@@ -2924,9 +3132,13 @@ public class WolfCryptCipherTest {
         iv[0] = (byte) 0x05;
         spec = new GCMParameterSpec(TAG_LENGTH_BYTES * 8, iv);
         cipher.init(Cipher.ENCRYPT_MODE, key, spec);
-        cipher.update(partialInput); /* Process some data */
+        byte[] partialOut = cipher.update(partialInput);
+        /* Data already returned from update() by native GCM streaming is
+         * not counted again, buffered data is */
+        int partialOutLen = (partialOut == null) ? 0 : partialOut.length;
         assertEquals("Output size after update should account for remaining " +
-            "input plus tag", 16 + TAG_LENGTH_BYTES, cipher.getOutputSize(11));
+            "input plus tag", 16 + TAG_LENGTH_BYTES - partialOutLen,
+            cipher.getOutputSize(11));
 
         /* Test getOutputSize() before initialization, expect exception */
         Cipher uninitializedCipher = Cipher.getInstance("AES/GCM/NoPadding");
@@ -5108,6 +5320,54 @@ public class WolfCryptCipherTest {
         testRSAInterop("RSA/ECB/PKCS1Padding");
     }
 
+    /**
+     * RSA Cipher operations bind the calling thread's own Rng instead of
+     * a shared pool stripe. Use one Cipher object from several threads in
+     * turn, so each doFinal() runs with a different thread's Rng.
+     */
+    @Test
+    public void testRSACipherUsedFromMultipleThreads() throws Exception {
+
+        final byte[] input = "Everyone gets Friday off.".getBytes();
+        final int numThreads = 4;
+
+        if (!enabledJCEAlgos.contains("RSA/ECB/PKCS1Padding")) {
+            return;
+        }
+
+        assertNotNull("RSA key pair should not be null", rsaPair);
+
+        final Cipher enc = Cipher.getInstance("RSA/ECB/PKCS1Padding",
+            jceProvider);
+        final Cipher dec = Cipher.getInstance("RSA/ECB/PKCS1Padding",
+            jceProvider);
+        enc.init(Cipher.ENCRYPT_MODE, rsaPair.getPublic());
+        dec.init(Cipher.DECRYPT_MODE, rsaPair.getPrivate());
+
+        final LinkedBlockingQueue<Throwable> errors =
+            new LinkedBlockingQueue<Throwable>();
+
+        for (int i = 0; i < numThreads; i++) {
+            Thread t = new Thread(new Runnable() {
+                @Override public void run() {
+                    try {
+                        byte[] ct = enc.doFinal(input);
+                        assertArrayEquals(input, dec.doFinal(ct));
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            });
+            t.start();
+            t.join();
+        }
+
+        if (!errors.isEmpty()) {
+            throw new AssertionError("RSA Cipher failed on another thread",
+                errors.peek());
+        }
+    }
+
     /**
      * Regression test for RSA/ECB/PKCS1Padding decrypt behavior when the
      * wrong private key is supplied. The ciphertext, when decrypted with the
@@ -5956,6 +6216,299 @@ public class WolfCryptCipherTest {
         }
     }
 
+    /*
+     * Test AES-CCM streaming with WolfCryptCcmParameterSpec. Encrypt
+     * update() returns ciphertext as it goes, output matches buffered
+     * GCMParameterSpec operation, and opt-in streaming decrypt rejects a
+     * modified tag and wrong total length in doFinal().
+     */
+    @Test
+    public void testAesCcmStreamingParameterSpec() throws Exception {
+
+        final String prop = "wolfjce.cipher.ccmStreamingDecrypt";
+
+        if (!enabledJCEAlgos.contains("AES/CCM/NoPadding") ||
+            !FeatureDetect.AesCcmStreamEnabled()) {
+            /* skip if AES-CCM or native CCM streaming is not enabled */
+            return;
+        }
+
+        byte[] plaintext = new byte[1000];
+        byte[] aad = new byte[20];
+        new Random(1234).nextBytes(plaintext);
+        new Random(5678).nextBytes(aad);
+
+        SecretKeySpec key = new SecretKeySpec(new byte[16], "AES");
+        byte[] nonce = new byte[12];
+        GCMParameterSpec spec = new GCMParameterSpec(128, nonce);
+        WolfCryptCcmParameterSpec streamSpec =
+            new WolfCryptCcmParameterSpec(128, nonce, plaintext.length);
+
+        Cipher enc = Cipher.getInstance("AES/CCM/NoPadding", jceProvider);
+        enc.init(Cipher.ENCRYPT_MODE, key, spec);
+        enc.updateAAD(aad);
+        byte[] expected = enc.doFinal(plaintext);
+
+        /* Streaming encrypt, update() returns all ciphertext */
+        enc.init(Cipher.ENCRYPT_MODE, key, streamSpec);
+        enc.updateAAD(aad);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < plaintext.length; i += 100) {
+            byte[] tmp = enc.update(plaintext, i, 100);
+            assertEquals("CCM streaming update() should return output",
+                100, tmp.length);
+            out.write(tmp);
+        }
+        out.write(enc.doFinal());
+        assertArrayEquals("CCM streaming encrypt should match one-shot",
+            expected, out.toByteArray());
+
+        /* Total input not matching declared length fails in doFinal() */
+        enc.init(Cipher.ENCRYPT_MODE, key, streamSpec);
+        enc.update(plaintext, 0, 10);
+        try {
+            enc.doFinal();
+            fail("CCM streaming encrypt with short input should fail");
+        } catch (IllegalBlockSizeException e) {
+            /* expected */
+        }
+
+        /* Decrypt with stream spec but without property stays buffered */
+        Cipher dec = Cipher.getInstance("AES/CCM/NoPadding", jceProvider);
+        dec.init(Cipher.DECRYPT_MODE, key, streamSpec);
+        dec.updateAAD(aad);
+        assertEquals(0, dec.update(expected, 0, 500).length);
+        assertArrayEquals("CCM buffered decrypt should match plaintext",
+            plaintext, dec.doFinal(expected, 500, expected.length - 500));
+
+        String origProp = Security.getProperty(prop);
+        try {
+            Security.setProperty(prop, "true");
+
+            dec.init(Cipher.DECRYPT_MODE, key, streamSpec);
+            dec.updateAAD(aad);
+            out.reset();
+            for (int i = 0; i < expected.length; i += 100) {
+                out.write(dec.update(expected, i,
+                    Math.min(100, expected.length - i)));
+            }
+            assertEquals("CCM streaming decrypt should release payload " +
+                "before doFinal()", plaintext.length, out.size());
+            out.write(dec.doFinal());
+            assertArrayEquals("CCM streaming decrypt should match plaintext",
+                plaintext, out.toByteArray());
+
+            /* Modified tag must still be rejected by doFinal() */
+            byte[] bad = expected.clone();
+            bad[bad.length - 1] ^= 0x01;
+            dec.init(Cipher.DECRYPT_MODE, key, streamSpec);
+            dec.updateAAD(aad);
+            dec.update(bad, 0, bad.length);
+            try {
+                dec.doFinal();
+                fail("CCM streaming decrypt with bad tag should fail");
+            } catch (AEADBadTagException e) {
+                /* expected */
+            }
+
+        } finally {
+            if (origProp == null) {
+                /* Security has no remove, empty leaves default behavior */
+                Security.setProperty(prop, "");
+            }
+            else {
+                Security.setProperty(prop, origProp);
+            }
+        }
+    }
+
+    @Test
+    public void testChaCha20Poly1305() throws Exception {
+
+        final String prop = "wolfjce.cipher.chacha20Poly1305StreamingDecrypt";
+        Cipher enc = null;
+
+        try {
+            enc = Cipher.getInstance("ChaCha20-Poly1305", jceProvider);
+        } catch (NoSuchAlgorithmException e) {
+            /* skip if ChaCha20-Poly1305 is not enabled */
+            return;
+        }
+
+        /* RFC 8439 section 2.8.2 test vector */
+        SecretKeySpec key = new SecretKeySpec(Util.h2b(
+            "808182838485868788898A8B8C8D8E8F" +
+            "909192939495969798999A9B9C9D9E9F"), "ChaCha20");
+        IvParameterSpec nonce = new IvParameterSpec(
+            Util.h2b("070000004041424344454647"));
+        byte[] aad = Util.h2b("50515253C0C1C2C3C4C5C6C7");
+        byte[] plaintext = ("Ladies and Gentlemen of the class of '99: If " +
+            "I could offer you only one tip for the future, sunscreen would " +
+            "be it.").getBytes();
+        byte[] expected = Util.h2b(
+            "D31A8D34648E60DB7B86AFBC53EF7EC2A4ADED51296E08FEA9E2B5A736EE62D6" +
+            "3DBEA45E8CA9671282FAFB69DA92728B1A71DE0A9E060B2905D6A5B67ECD3B36" +
+            "92DDBD7F2D778B8C9803AEE328091B58FAB324E4FAD675945585808B4831D7BC" +
+            "3FF4DEF08E4B7A9DE576D26586CEC64B6116" +
+            "1AE10B594F09E26A7E902ECBD0600691");
+
+        assertEquals(0, enc.getBlockSize());
+
+        /* One-shot encrypt */
+        enc.init(Cipher.ENCRYPT_MODE, key, nonce);
+        enc.updateAAD(aad);
+        assertEquals(expected.length, enc.getOutputSize(plaintext.length));
+        assertArrayEquals(expected, enc.doFinal(plaintext));
+
+        /* Encrypt again without re-init is rejected */
+        try {
+            enc.update(plaintext);
+            fail("Encrypt after doFinal() without re-init should fail");
+        } catch (IllegalStateException e) {
+            /* expected */
+        }
+
+        /* Re-init with same key and nonce is rejected */
+        try {
+            enc.init(Cipher.ENCRYPT_MODE, key, nonce);
+            fail("Reusing key and nonce for encryption should fail");
+        } catch (InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+
+        /* Streaming encrypt, update() returns all ciphertext */
+        Cipher enc2 = Cipher.getInstance("ChaCha20-Poly1305", jceProvider);
+        enc2.init(Cipher.ENCRYPT_MODE, key, nonce);
+        enc2.updateAAD(aad);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < plaintext.length; i += 10) {
+            byte[] tmp = enc2.update(plaintext, i,
+                Math.min(10, plaintext.length - i));
+            assertEquals(Math.min(10, plaintext.length - i), tmp.length);
+            out.write(tmp);
+        }
+        try {
+            enc2.updateAAD(aad);
+            fail("updateAAD() after update() should fail");
+        } catch (IllegalStateException e) {
+            /* expected */
+        }
+        out.write(enc2.doFinal());
+        assertArrayEquals(expected, out.toByteArray());
+
+        /* Buffered decrypt, plaintext only returned from doFinal() */
+        Cipher dec = Cipher.getInstance("ChaCha20-Poly1305", jceProvider);
+        dec.init(Cipher.DECRYPT_MODE, key, nonce);
+        dec.updateAAD(aad);
+        assertEquals(0, dec.update(expected, 0, 50).length);
+        assertArrayEquals(plaintext,
+            dec.doFinal(expected, 50, expected.length - 50));
+
+        /* Same decrypt Cipher can be reused without re-init */
+        dec.updateAAD(aad);
+        assertArrayEquals(plaintext, dec.doFinal(expected));
+
+        /* Modified tag */
+        byte[] bad = expected.clone();
+        bad[bad.length - 1] ^= 0x01;
+        dec.updateAAD(aad);
+        try {
+            dec.doFinal(bad);
+            fail("Decrypt with modified tag should fail");
+        } catch (AEADBadTagException e) {
+            /* expected */
+        }
+
+        /* Decrypt requires a nonce */
+        try {
+            dec.init(Cipher.DECRYPT_MODE, key);
+            fail("Decrypt init without nonce should fail");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+
+        /* Wrong key and nonce sizes */
+        try {
+            enc.init(Cipher.ENCRYPT_MODE,
+                new SecretKeySpec(new byte[16], "ChaCha20"));
+            fail("16 byte key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+        try {
+            enc.init(Cipher.ENCRYPT_MODE, key,
+                new IvParameterSpec(new byte[8]));
+            fail("8 byte nonce should be rejected");
+        } catch (InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+
+        /* Generated nonce, read back with getIV() */
+        enc.init(Cipher.ENCRYPT_MODE, key);
+        byte[] iv = enc.getIV();
+        assertEquals(12, iv.length);
+        byte[] ct = enc.doFinal(plaintext);
+        dec.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+        assertArrayEquals(plaintext, dec.doFinal(ct));
+
+        /* Direct ByteBuffers, encrypt and in-place decrypt */
+        ByteBuffer in = ByteBuffer.allocateDirect(expected.length);
+        ByteBuffer outBuf = ByteBuffer.allocateDirect(expected.length);
+        in.put(plaintext).flip();
+        enc2.init(Cipher.ENCRYPT_MODE, key, nonce);
+        enc2.updateAAD(aad);
+        assertEquals(expected.length, enc2.doFinal(in, outBuf));
+        outBuf.flip();
+        byte[] tmp = new byte[expected.length];
+        outBuf.duplicate().get(tmp);
+        assertArrayEquals(expected, tmp);
+
+        dec.init(Cipher.DECRYPT_MODE, key, nonce);
+        dec.updateAAD(aad);
+        ByteBuffer inPlace = outBuf.duplicate();
+        assertEquals(plaintext.length, dec.doFinal(outBuf, inPlace));
+        inPlace.flip();
+        tmp = new byte[plaintext.length];
+        inPlace.get(tmp);
+        assertArrayEquals(plaintext, tmp);
+
+        /* Opt-in streaming decrypt */
+        String origProp = Security.getProperty(prop);
+        try {
+            Security.setProperty(prop, "true");
+
+            dec.init(Cipher.DECRYPT_MODE, key, nonce);
+            dec.updateAAD(aad);
+            out.reset();
+            for (int i = 0; i < expected.length; i += 10) {
+                out.write(dec.update(expected, i,
+                    Math.min(10, expected.length - i)));
+            }
+            assertEquals("Streaming decrypt should release plaintext " +
+                "before doFinal()", plaintext.length, out.size());
+            out.write(dec.doFinal());
+            assertArrayEquals(plaintext, out.toByteArray());
+
+            dec.init(Cipher.DECRYPT_MODE, key, nonce);
+            dec.updateAAD(aad);
+            dec.update(bad);
+            try {
+                dec.doFinal();
+                fail("Streaming decrypt with modified tag should fail");
+            } catch (AEADBadTagException e) {
+                /* expected */
+            }
+
+        } finally {
+            if (origProp == null) {
+                Security.setProperty(prop, "");
+            }
+            else {
+                Security.setProperty(prop, origProp);
+            }
+        }
+    }
+
     @Test
     public void testAesCcmThreaded() throws InterruptedException {
         if (!enabledJCEAlgos.contains("AES/CCM/NoPadding")) {
@@ -6682,6 +7235,220 @@ public class WolfCryptCipherTest {
                          expected, result);
     }
 
+    /*
+     * Run transformation over direct ByteBuffers using update() calls of
+     * uneven size followed by doFinal(), return output bytes.
+     */
+    private byte[] cipherDirectChunked(Cipher cipher, byte[] input,
+        int chunkSz) throws Exception {
+
+        ByteBuffer in = ByteBuffer.allocateDirect(input.length);
+        ByteBuffer out = ByteBuffer.allocateDirect(input.length + 32);
+        in.put(input);
+        in.flip();
+
+        while (in.remaining() > chunkSz) {
+            ByteBuffer chunk = in.duplicate();
+            chunk.limit(chunk.position() + chunkSz);
+            cipher.update(chunk, out);
+            assertEquals(0, chunk.remaining());
+            in.position(chunk.position());
+        }
+        cipher.doFinal(in, out);
+        assertEquals(0, in.remaining());
+
+        out.flip();
+        byte[] result = new byte[out.remaining()];
+        out.get(result);
+
+        return result;
+    }
+
+    /*
+     * Test update()/doFinal() with direct ByteBuffers for modes that pass
+     * direct buffer memory to native code, with chunk sizes that leave
+     * partial blocks buffered between calls. Output must match byte[]
+     * doFinal() and round trip.
+     */
+    @Test
+    public void testByteBufferDirectUpdateModes() throws Exception {
+
+        String[] algos = {
+            "AES/CBC/NoPadding", "AES/CBC/PKCS5Padding", "AES/ECB/NoPadding",
+            "AES/ECB/PKCS5Padding", "AES/CTR/NoPadding", "AES/OFB/NoPadding",
+            "AES/CTS/NoPadding", "DESede/CBC/NoPadding"
+        };
+        int[] chunkSizes = { 1, 7, 16, 33 };
+
+        for (String algo : algos) {
+            if (!enabledJCEAlgos.contains(algo)) {
+                continue;
+            }
+
+            boolean des = algo.startsWith("DESede");
+            boolean ecb = algo.contains("/ECB/");
+            boolean noPadBlock = algo.endsWith("NoPadding") &&
+                (algo.contains("/CBC/") || ecb);
+            SecretKeySpec key = new SecretKeySpec(Arrays.copyOf(
+                "0123456789abcdefghijklmn".getBytes(), des ? 24 : 16),
+                des ? "DESede" : "AES");
+            IvParameterSpec ivSpec = new IvParameterSpec(
+                new byte[des ? 8 : 16]);
+
+            /* Block aligned when mode requires it */
+            byte[] plain = new byte[noPadBlock ? 96 : 100];
+            secureRandom.nextBytes(plain);
+
+            Cipher ref = Cipher.getInstance(algo, jceProvider);
+            Cipher cipher = Cipher.getInstance(algo, jceProvider);
+
+            for (int chunkSz : chunkSizes) {
+                if (ecb) {
+                    ref.init(Cipher.ENCRYPT_MODE, key);
+                    cipher.init(Cipher.ENCRYPT_MODE, key);
+                }
+                else {
+                    ref.init(Cipher.ENCRYPT_MODE, key, ivSpec);
+                    cipher.init(Cipher.ENCRYPT_MODE, key, ivSpec);
+                }
+                byte[] expected = ref.doFinal(plain);
+
+                /* CTS needs whole message in final, single doFinal() */
+                byte[] ct = cipherDirectChunked(cipher, plain,
+                    algo.contains("/CTS/") ? plain.length : chunkSz);
+                assertArrayEquals(algo + " direct encrypt, chunk " + chunkSz,
+                    expected, ct);
+
+                if (ecb) {
+                    cipher.init(Cipher.DECRYPT_MODE, key);
+                }
+                else {
+                    cipher.init(Cipher.DECRYPT_MODE, key, ivSpec);
+                }
+                byte[] pt = cipherDirectChunked(cipher, ct,
+                    algo.contains("/CTS/") ? ct.length : chunkSz);
+                assertArrayEquals(algo + " direct decrypt, chunk " + chunkSz,
+                    plain, pt);
+            }
+        }
+    }
+
+    /*
+     * Run transformation with input and output in the same direct buffer,
+     * input starting at inOff and output at outOff (as a slice() view),
+     * using update() calls of chunkSz followed by doFinal(). Return output
+     * bytes.
+     */
+    private byte[] cipherDirectOverlap(Cipher cipher, byte[] input,
+        int inOff, int outOff, int chunkSz) throws Exception {
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(
+            Math.max(inOff, outOff) + input.length + 32);
+        ByteBuffer in = buf.duplicate();
+        in.position(inOff);
+        in.put(input);
+        in.flip();
+        in.position(inOff);
+
+        ByteBuffer tmp = buf.duplicate();
+        tmp.position(outOff);
+        ByteBuffer out = tmp.slice();
+
+        while (in.remaining() > chunkSz) {
+            ByteBuffer chunk = in.duplicate();
+            chunk.limit(chunk.position() + chunkSz);
+            cipher.update(chunk, out);
+            assertEquals(0, chunk.remaining());
+            in.position(chunk.position());
+        }
+        cipher.doFinal(in, out);
+        assertEquals(0, in.remaining());
+
+        out.flip();
+        byte[] result = new byte[out.remaining()];
+        out.get(result);
+
+        return result;
+    }
+
+    /*
+     * Test update()/doFinal() with input and output direct ByteBuffers
+     * sharing memory, both in-place and with output offset before or after
+     * input. Output must match byte[] doFinal() and round trip.
+     */
+    @Test
+    public void testByteBufferDirectUpdateModesOverlap() throws Exception {
+
+        String[] algos = {
+            "AES/CBC/NoPadding", "AES/CBC/PKCS5Padding", "AES/ECB/NoPadding",
+            "AES/ECB/PKCS5Padding", "AES/CTR/NoPadding", "AES/OFB/NoPadding",
+            "AES/CTS/NoPadding", "DESede/CBC/NoPadding"
+        };
+        /* { input offset, output offset } */
+        int[][] offsets = { { 0, 0 }, { 5, 0 }, { 16, 3 }, { 0, 3 } };
+        int[] chunkSizes = { 1, 7, 16, 33 };
+
+        for (String algo : algos) {
+            if (!enabledJCEAlgos.contains(algo)) {
+                continue;
+            }
+
+            boolean des = algo.startsWith("DESede");
+            boolean ecb = algo.contains("/ECB/");
+            boolean noPadBlock = algo.endsWith("NoPadding") &&
+                (algo.contains("/CBC/") || ecb);
+            SecretKeySpec key = new SecretKeySpec(Arrays.copyOf(
+                "0123456789abcdefghijklmn".getBytes(), des ? 24 : 16),
+                des ? "DESede" : "AES");
+            IvParameterSpec ivSpec = new IvParameterSpec(
+                new byte[des ? 8 : 16]);
+
+            byte[] plain = new byte[noPadBlock ? 96 : 100];
+            secureRandom.nextBytes(plain);
+
+            Cipher ref = Cipher.getInstance(algo, jceProvider);
+            Cipher cipher = Cipher.getInstance(algo, jceProvider);
+
+            for (int[] off : offsets) {
+                for (int chunkSz : chunkSizes) {
+                    /* Output ahead of input overwrites input of later
+                     * calls, only a single doFinal() is valid there.
+                     * CTS needs whole message in final. */
+                    int sz = chunkSz;
+                    if (off[1] > off[0] || algo.contains("/CTS/")) {
+                        sz = plain.length + 16;
+                    }
+                    String msg = algo + " in " + off[0] + ", out " +
+                        off[1] + ", chunk " + sz;
+
+                    if (ecb) {
+                        ref.init(Cipher.ENCRYPT_MODE, key);
+                        cipher.init(Cipher.ENCRYPT_MODE, key);
+                    }
+                    else {
+                        ref.init(Cipher.ENCRYPT_MODE, key, ivSpec);
+                        cipher.init(Cipher.ENCRYPT_MODE, key, ivSpec);
+                    }
+                    byte[] expected = ref.doFinal(plain);
+
+                    byte[] ct = cipherDirectOverlap(cipher, plain,
+                        off[0], off[1], sz);
+                    assertArrayEquals(msg + " encrypt", expected, ct);
+
+                    if (ecb) {
+                        cipher.init(Cipher.DECRYPT_MODE, key);
+                    }
+                    else {
+                        cipher.init(Cipher.DECRYPT_MODE, key, ivSpec);
+                    }
+                    byte[] pt = cipherDirectOverlap(cipher, ct,
+                        off[0], off[1], sz);
+                    assertArrayEquals(msg + " decrypt", plain, pt);
+                }
+            }
+        }
+    }
+
     @Test
     public void testByteBufferWithGCM()
         throws NoSuchProviderException, NoSuchAlgorithmException,
@@ -6728,6 +7495,174 @@ public class WolfCryptCipherTest {
                          expected, result);
     }
 
+    /*
+     * Test AES-GCM doFinal() with direct ByteBuffers, which runs natively on
+     * buffer memory. Covers separate buffers, in-place encrypt/decrypt using
+     * duplicate() views of the same memory, AAD, and tag failure.
+     */
+    @Test
+    public void testByteBufferDirectWithGCM() throws Exception {
+
+        if (!enabledJCEAlgos.contains("AES/GCM/NoPadding")) {
+            return;
+        }
+
+        byte[] key = new byte[16];
+        secureRandom.nextBytes(key);
+        byte[] iv = new byte[12];
+        secureRandom.nextBytes(iv);
+        byte[] aad = new byte[13];
+        secureRandom.nextBytes(aad);
+        byte[] plaintext = new byte[100];
+        secureRandom.nextBytes(plaintext);
+
+        SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
+        GCMParameterSpec gcmSpec = new GCMParameterSpec(128, iv);
+
+        Cipher ref = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+        ref.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
+        ref.updateAAD(aad);
+        byte[] expected = ref.doFinal(plaintext);
+
+        /* Separate direct input and output buffers */
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
+        cipher.updateAAD(aad);
+
+        ByteBuffer in = ByteBuffer.allocateDirect(plaintext.length);
+        in.put(plaintext);
+        in.flip();
+        ByteBuffer out = ByteBuffer.allocateDirect(expected.length);
+
+        assertEquals(expected.length, cipher.doFinal(in, out));
+        assertEquals(0, in.remaining());
+        assertEquals(0, out.remaining());
+        out.flip();
+        byte[] result = new byte[out.remaining()];
+        out.get(result);
+        assertArrayEquals("Direct GCM encrypt should match byte array",
+            expected, result);
+
+        /* Decrypt from direct buffer, same Cipher after reset */
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+        cipher.updateAAD(aad);
+        out.rewind();
+        ByteBuffer dec = ByteBuffer.allocateDirect(plaintext.length);
+        assertEquals(plaintext.length, cipher.doFinal(out, dec));
+        dec.flip();
+        result = new byte[dec.remaining()];
+        dec.get(result);
+        assertArrayEquals("Direct GCM decrypt should match plaintext",
+            plaintext, result);
+
+        /* In-place encrypt, duplicate() view of same memory */
+        ByteBuffer buf = ByteBuffer.allocateDirect(expected.length);
+        buf.put(plaintext);
+        buf.flip();
+        ByteBuffer view = buf.duplicate();
+        view.clear();
+        cipher = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
+        cipher.updateAAD(aad);
+        assertEquals(expected.length, cipher.doFinal(buf, view));
+        buf.clear();
+        result = new byte[expected.length];
+        buf.get(result);
+        assertArrayEquals("In-place GCM encrypt should match byte array",
+            expected, result);
+
+        /* In-place decrypt */
+        buf.clear();
+        view = buf.duplicate();
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+        cipher.updateAAD(aad);
+        assertEquals(plaintext.length, cipher.doFinal(buf, view));
+        buf.clear();
+        result = new byte[plaintext.length];
+        buf.get(result);
+        assertArrayEquals("In-place GCM decrypt should match plaintext",
+            plaintext, result);
+
+        /* Modified tag must fail, output must not hold plaintext */
+        out.rewind();
+        out.put(out.limit() - 1, (byte)(out.get(out.limit() - 1) ^ 0x01));
+        dec.clear();
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+        cipher.updateAAD(aad);
+        try {
+            cipher.doFinal(out, dec);
+            fail("Direct GCM decrypt with bad tag should fail");
+        } catch (AEADBadTagException e) {
+            /* expected */
+        }
+        dec.clear();
+        result = new byte[plaintext.length];
+        dec.get(result);
+        assertArrayEquals("Output should be zeroed on tag failure",
+            new byte[plaintext.length], result);
+
+        /* Output too small */
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+        out.rewind();
+        try {
+            cipher.doFinal(out, ByteBuffer.allocateDirect(10));
+            fail("Direct GCM decrypt with short output should fail");
+        } catch (ShortBufferException e) {
+            /* expected */
+        }
+    }
+
+    /*
+     * Test AES-GCM doFinal() with input and output in the same direct
+     * buffer, in-place at a non-zero position and with output shifted
+     * before or after input. In-place stays on the native direct path,
+     * which also handles partially overlapping regions.
+     */
+    @Test
+    public void testByteBufferDirectInPlaceGCM() throws Exception {
+
+        if (!enabledJCEAlgos.contains("AES/GCM/NoPadding")) {
+            return;
+        }
+
+        byte[] key = new byte[16];
+        secureRandom.nextBytes(key);
+        byte[] iv = new byte[12];
+        secureRandom.nextBytes(iv);
+        SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
+        GCMParameterSpec gcmSpec = new GCMParameterSpec(128, iv);
+        /* { input offset, output offset } */
+        int[][] offsets = { { 0, 0 }, { 7, 7 }, { 9, 2 }, { 2, 9 } };
+        int[] sizes = { 1, 16, 100 };
+
+        Cipher ref = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding", jceProvider);
+
+        for (int sz : sizes) {
+            byte[] plain = new byte[sz];
+            secureRandom.nextBytes(plain);
+            ref.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
+            byte[] expected = ref.doFinal(plain);
+
+            for (int[] off : offsets) {
+                String msg = "GCM size " + sz + ", in " + off[0] +
+                    ", out " + off[1];
+
+                /* Encrypt within one buffer */
+                cipher.init(Cipher.ENCRYPT_MODE, keySpec, gcmSpec);
+                byte[] ct = cipherDirectOverlap(cipher, plain,
+                    off[0], off[1], sz + 1);
+                assertArrayEquals(msg + " encrypt", expected, ct);
+
+                /* Decrypt within one buffer */
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+                byte[] pt = cipherDirectOverlap(cipher, expected,
+                    off[0], off[1], expected.length + 1);
+                assertArrayEquals(msg + " decrypt", plain, pt);
+            }
+        }
+    }
+
     /*
      * Test Cipher.getParameters() method for all supported algorithms
      * and modes. This method calls engineGetParameters() internally.
@@ -8851,17 +9786,39 @@ public class WolfCryptCipherTest {
 
             byte[] input = "Test GCM".getBytes();
 
-            /* AES-GCM update() should return empty array (no-op) */
+            /* AES-GCM encrypt update() returns ciphertext when native GCM
+             * streaming is used, otherwise empty array (no-op) */
             byte[] updateResult = cipher.update(input);
             assertNotNull("AES-GCM update should return non-null array",
                 updateResult);
-            assertEquals("AES-GCM update should return empty array", 0,
-                updateResult.length);
+            assertTrue("AES-GCM update should return empty array or " +
+                "ciphertext", updateResult.length == 0 ||
+                (FeatureDetect.AesGcmStreamEnabled() &&
+                 updateResult.length == input.length));
 
-            /* All processing should happen in doFinal() */
             byte[] finalResult = cipher.doFinal();
             assertTrue("AES-GCM doFinal should return encrypted data",
                 finalResult.length > 0);
+
+            byte[] ciphertext =
+                new byte[updateResult.length + finalResult.length];
+            System.arraycopy(updateResult, 0, ciphertext, 0,
+                updateResult.length);
+            System.arraycopy(finalResult, 0, ciphertext, updateResult.length,
+                finalResult.length);
+
+            /* AES-GCM decrypt update() should return empty array (no-op),
+             * plaintext is not released until tag is verified */
+            cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmSpec);
+            updateResult = cipher.update(ciphertext);
+            assertNotNull("AES-GCM update should return non-null array",
+                updateResult);
+            assertEquals("AES-GCM decrypt update should return empty array",
+                0, updateResult.length);
+
+            /* All processing should happen in doFinal() */
+            assertArrayEquals("AES-GCM doFinal should return plaintext",
+                input, cipher.doFinal());
         }
     }
 
@@ -0,0 +1,380 @@
+/* WolfCryptEdDSAKeyFactoryTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.security.Security;
+import java.security.Provider;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+import com.wolfssl.wolfcrypt.test.Util;
+
+/**
+ * JUnit tests for wolfJCE EdDSA (Ed25519) KeyFactory.
+ */
+public class WolfCryptEdDSAKeyFactoryTest {
+
+    private static boolean eddsaEnabled = false;
+
+    /* RFC 8032 section 7.1 TEST 1 keys, RFC 8410 encoded */
+    private static final String TEST1_PKCS8 =
+        "302e020100300506032b657004220420" +
+        "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60";
+    private static final String TEST1_SPKI =
+        "302a300506032b6570032100" +
+        "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a";
+    private static final String TEST1_PRIV =
+        "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60";
+    private static final String TEST1_PUB =
+        "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a";
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void setUp() {
+        System.out.println("JCE WolfCryptEdDSAKeyFactoryTest Class");
+
+        Security.insertProviderAt(new WolfCryptProvider(), 1);
+
+        Provider p = Security.getProvider("wolfJCE");
+        if (p != null && p.getService("KeyFactory", "EdDSA") != null) {
+            eddsaEnabled = true;
+        }
+        else {
+            System.out.println("EdDSA KeyFactory test skipped");
+        }
+    }
+
+    private void assumeEnabled() {
+        Assume.assumeTrue("EdDSA not compiled in", eddsaEnabled);
+    }
+
+    private static KeyFactory factory() throws Exception {
+        return KeyFactory.getInstance("EdDSA", "wolfJCE");
+    }
+
+    private static byte[] reverse(byte[] in) {
+        byte[] out = new byte[in.length];
+        for (int i = 0; i < in.length; i++) {
+            out[i] = in[in.length - 1 - i];
+        }
+        return out;
+    }
+
+    /**
+     * Load java.security.spec classes added in JDK 15, or skip test.
+     */
+    private static Class<?> assumeJdkClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+            return null;
+        }
+    }
+
+    @Test
+    public void testEncodedRoundTrip() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        PrivateKey priv = kf.generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(TEST1_PKCS8)));
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(Util.h2b(TEST1_SPKI)));
+
+        assertEquals("EdDSA", priv.getAlgorithm());
+        assertEquals("PKCS#8", priv.getFormat());
+        assertArrayEquals(Util.h2b(TEST1_PKCS8), priv.getEncoded());
+        assertEquals("EdDSA", pub.getAlgorithm());
+        assertEquals("X.509", pub.getFormat());
+        assertArrayEquals(Util.h2b(TEST1_SPKI), pub.getEncoded());
+
+        PKCS8EncodedKeySpec privSpec =
+            kf.getKeySpec(priv, PKCS8EncodedKeySpec.class);
+        X509EncodedKeySpec pubSpec =
+            kf.getKeySpec(pub, X509EncodedKeySpec.class);
+        assertArrayEquals(Util.h2b(TEST1_PKCS8), privSpec.getEncoded());
+        assertArrayEquals(Util.h2b(TEST1_SPKI), pubSpec.getEncoded());
+
+        assertEquals(priv, kf.generatePrivate(privSpec));
+        assertEquals(pub, kf.generatePublic(pubSpec));
+        assertEquals(pub.hashCode(),
+            kf.generatePublic(pubSpec).hashCode());
+
+        /* decoded keys sign and verify */
+        Signature sig = Signature.getInstance("Ed25519", "wolfJCE");
+        sig.initSign(priv);
+        byte[] s = sig.sign();
+        sig.initVerify(pub);
+        assertTrue(sig.verify(s));
+    }
+
+    @Test
+    public void testGeneratedKeysRoundTrip() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        KeyPair kp = KeyPairGenerator.getInstance("EdDSA", "wolfJCE")
+            .generateKeyPair();
+
+        PrivateKey priv = kf.generatePrivate(
+            new PKCS8EncodedKeySpec(kp.getPrivate().getEncoded()));
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(kp.getPublic().getEncoded()));
+
+        assertEquals(kp.getPrivate(), priv);
+        assertEquals(kp.getPublic(), pub);
+    }
+
+    @Test
+    public void testPkcs8WithPublicKeyAccepted() throws Exception {
+
+        assumeEnabled();
+
+        /* RFC 8410 OneAsymmetricKey v1 with trailing [1] public key */
+        String v1 = "3051020101300506032b657004220420" + TEST1_PRIV +
+            "812100" + TEST1_PUB;
+
+        PrivateKey priv = factory().generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(v1)));
+
+        /* re-encoded as v0 without public key */
+        assertArrayEquals(Util.h2b(TEST1_PKCS8), priv.getEncoded());
+    }
+
+    @Test
+    public void testInvalidEncodingsRejected() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        String[] badPub = new String[] {
+            "",
+            /* truncated */
+            TEST1_SPKI.substring(0, TEST1_SPKI.length() - 2),
+            /* X25519 OID 1.3.101.110 */
+            "302a300506032b656e032100" + TEST1_PUB,
+            /* trailing data */
+            TEST1_SPKI + "00",
+        };
+        String[] badPriv = new String[] {
+            "",
+            TEST1_PKCS8.substring(0, TEST1_PKCS8.length() - 2),
+            "302e020100300506032b656e04220420" + TEST1_PRIV,
+            /* 31 byte private key */
+            "302d020100300506032b65700421041f" +
+                TEST1_PRIV.substring(2),
+        };
+
+        for (String bad : badPub) {
+            try {
+                kf.generatePublic(new X509EncodedKeySpec(Util.h2b(bad)));
+                fail("Invalid X.509 encoding should fail: " + bad);
+            } catch (InvalidKeySpecException e) {
+                /* expected */
+            }
+        }
+        for (String bad : badPriv) {
+            try {
+                kf.generatePrivate(new PKCS8EncodedKeySpec(Util.h2b(bad)));
+                fail("Invalid PKCS#8 encoding should fail: " + bad);
+            } catch (InvalidKeySpecException e) {
+                /* expected */
+            }
+        }
+
+        /* wrong KeySpec types */
+        try {
+            kf.generatePublic(new PKCS8EncodedKeySpec(Util.h2b(TEST1_PKCS8)));
+            fail("PKCS8EncodedKeySpec should fail for public key");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+        try {
+            kf.generatePrivate(new X509EncodedKeySpec(Util.h2b(TEST1_SPKI)));
+            fail("X509EncodedKeySpec should fail for private key");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testEdEcKeySpecs() throws Exception {
+
+        assumeEnabled();
+
+        Class<?> npsCls =
+            assumeJdkClass("java.security.spec.NamedParameterSpec");
+        Class<?> pointCls =
+            assumeJdkClass("java.security.spec.EdECPoint");
+        Class<?> pubSpecCls =
+            assumeJdkClass("java.security.spec.EdECPublicKeySpec");
+        Class<?> privSpecCls =
+            assumeJdkClass("java.security.spec.EdECPrivateKeySpec");
+
+        AlgorithmParameterSpec ed25519 =
+            (AlgorithmParameterSpec) npsCls.getField("ED25519").get(null);
+        AlgorithmParameterSpec ed448 =
+            (AlgorithmParameterSpec) npsCls.getField("ED448").get(null);
+
+        /* TEST1 public key has top bit clear, so x is even and y is the
+         * little endian encoding */
+        BigInteger y = new BigInteger(1, reverse(Util.h2b(TEST1_PUB)));
+        Object point = pointCls.getConstructor(boolean.class,
+            BigInteger.class).newInstance(false, y);
+
+        KeyFactory kf = factory();
+        KeySpec pubSpec = (KeySpec) pubSpecCls.getConstructor(
+            npsCls, pointCls).newInstance(ed25519, point);
+        KeySpec privSpec = (KeySpec) privSpecCls.getConstructor(
+            npsCls, byte[].class).newInstance(ed25519, Util.h2b(TEST1_PRIV));
+
+        PublicKey pub = kf.generatePublic(pubSpec);
+        PrivateKey priv = kf.generatePrivate(privSpec);
+        assertArrayEquals(Util.h2b(TEST1_SPKI), pub.getEncoded());
+        assertArrayEquals(Util.h2b(TEST1_PKCS8), priv.getEncoded());
+
+        /* keys implement JDK EdEC interfaces */
+        assertTrue(assumeJdkClass(
+            "java.security.interfaces.EdECPublicKey").isInstance(pub));
+        assertTrue(assumeJdkClass(
+            "java.security.interfaces.EdECPrivateKey").isInstance(priv));
+
+        /* and back to EdEC key specs */
+        @SuppressWarnings("unchecked")
+        KeySpec outPub = kf.getKeySpec(pub,
+            (Class<KeySpec>) pubSpecCls);
+        @SuppressWarnings("unchecked")
+        KeySpec outPriv = kf.getKeySpec(priv,
+            (Class<KeySpec>) privSpecCls);
+        Object outPoint = pubSpecCls.getMethod("getPoint").invoke(outPub);
+        assertEquals(y, pointCls.getMethod("getY").invoke(outPoint));
+        assertEquals(Boolean.FALSE,
+            pointCls.getMethod("isXOdd").invoke(outPoint));
+        assertArrayEquals(Util.h2b(TEST1_PRIV),
+            (byte[]) privSpecCls.getMethod("getBytes").invoke(outPriv));
+        assertEquals(ed25519,
+            pubSpecCls.getMethod("getParams").invoke(outPub));
+
+        /* Ed448 params rejected */
+        try {
+            kf.generatePublic((KeySpec) pubSpecCls.getConstructor(
+                npsCls, pointCls).newInstance(ed448, point));
+            fail("Ed448 EdECPublicKeySpec should be rejected");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testTranslateKey() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(Util.h2b(TEST1_SPKI)));
+
+        /* wolfJCE keys returned as-is */
+        assertSame(pub, kf.translateKey(pub));
+
+        Provider sun = Security.getProvider("SunEC");
+        Assume.assumeTrue("SunEC EdDSA not available",
+            sun != null && sun.getService("KeyFactory", "EdDSA") != null);
+
+        KeyPair sunKp = KeyPairGenerator.getInstance("Ed25519", sun)
+            .generateKeyPair();
+        Key tPub = kf.translateKey(sunKp.getPublic());
+        Key tPriv = kf.translateKey(sunKp.getPrivate());
+
+        assertArrayEquals(sunKp.getPublic().getEncoded(), tPub.getEncoded());
+        assertArrayEquals(sunKp.getPrivate().getEncoded(),
+            tPriv.getEncoded());
+
+        /* translated private key gives same signature as SunEC */
+        byte[] msg = "Everyone gets Friday off.".getBytes();
+        Signature sig = Signature.getInstance("Ed25519", "wolfJCE");
+        sig.initSign((PrivateKey) tPriv);
+        sig.update(msg);
+        byte[] s1 = sig.sign();
+
+        sig = Signature.getInstance("Ed25519", sun);
+        sig.initSign(sunKp.getPrivate());
+        sig.update(msg);
+        assertArrayEquals(sig.sign(), s1);
+    }
+
+    @Test
+    public void testKeySerialization() throws Exception {
+
+        assumeEnabled();
+
+        KeyPair kp = KeyPairGenerator.getInstance("EdDSA", "wolfJCE")
+            .generateKeyPair();
+
+        for (Key k : new Key[] { kp.getPublic(), kp.getPrivate() }) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(k);
+            oos.close();
+
+            ObjectInputStream ois = new ObjectInputStream(
+                new ByteArrayInputStream(bos.toByteArray()));
+            Key out = (Key) ois.readObject();
+            ois.close();
+
+            assertEquals(k, out);
+            assertEquals(k.getAlgorithm(), out.getAlgorithm());
+            assertTrue(Arrays.equals(k.getEncoded(), out.getEncoded()));
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/* WolfCryptEdDSASignatureTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.security.Security;
+import java.security.Provider;
+import java.security.KeyPair;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.InvalidKeyException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+import com.wolfssl.wolfcrypt.test.Util;
+
+/**
+ * JUnit tests for wolfJCE EdDSA (Ed25519) Signature and KeyPairGenerator,
+ * including interop with SunEC when available.
+ */
+public class WolfCryptEdDSASignatureTest {
+
+    private static boolean eddsaEnabled = false;
+
+    private static final String PKCS8_PREFIX =
+        "302e020100300506032b657004220420";
+    private static final String SPKI_PREFIX =
+        "302a300506032b6570032100";
+
+    /* RFC 8032 section 7.1, TEST 1 (empty message) */
+    private static final String TEST1_PRIV =
+        "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60";
+    private static final String TEST1_PUB =
+        "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a";
+    private static final String TEST1_SIG =
+        "e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e06522490155" +
+        "5fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b";
+
+    /* RFC 8032 section 7.2, Ed25519ctx with context "foo" */
+    private static final String CTX_PRIV =
+        "0305334e381af78f141cb666f6199f57bc3495335a256a95bd2a55bf546663f6";
+    private static final String CTX_MSG =
+        "f726936d19c800494e3fdaff20b276a8";
+    private static final String CTX_SIG =
+        "55a4cc2f70a54e04288c5f4cd1e45a7bb520b36292911876cada7323198dd87a" +
+        "8b36950b95130022907a7fb7c4e9b2d5f6cca685a587b4b21f4b888e4e7edb0d";
+
+    /* RFC 8032 section 7.3, Ed25519ph with message "abc" */
+    private static final String PH_PRIV =
+        "833fe62409237b9d62ec77587520911e9a759cec1d19755b7da901b96dca3d42";
+    private static final String PH_SIG =
+        "98a70222f0b8121aa9d30f813d683f809e462b469c7ff87639499bb94e6dae41" +
+        "31f85042463c2a355a2003d062adf5aaa10b8c61e636062aaad11c2a26083406";
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void setUp() {
+        System.out.println("JCE WolfCryptEdDSASignatureTest Class");
+
+        Security.insertProviderAt(new WolfCryptProvider(), 1);
+
+        Provider p = Security.getProvider("wolfJCE");
+        if (p != null && p.getService("Signature", "EdDSA") != null) {
+            eddsaEnabled = true;
+        }
+        else {
+            System.out.println("EdDSA Signature test skipped");
+        }
+    }
+
+    private void assumeEnabled() {
+        Assume.assumeTrue("EdDSA not compiled in", eddsaEnabled);
+    }
+
+    private static PrivateKey privateKey(String rawHex, String provider)
+        throws Exception {
+
+        return KeyFactory.getInstance("EdDSA", provider).generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(PKCS8_PREFIX + rawHex)));
+    }
+
+    private static PublicKey publicKey(String rawHex, String provider)
+        throws Exception {
+
+        return KeyFactory.getInstance("EdDSA", provider).generatePublic(
+            new X509EncodedKeySpec(Util.h2b(SPKI_PREFIX + rawHex)));
+    }
+
+    /**
+     * Create java.security.spec.EdDSAParameterSpec (JDK 15+), or skip test.
+     */
+    private static AlgorithmParameterSpec eddsaSpec(boolean prehash,
+        byte[] context) {
+
+        try {
+            Class<?> cls =
+                Class.forName("java.security.spec.EdDSAParameterSpec");
+            if (context == null) {
+                return (AlgorithmParameterSpec) cls.getConstructor(
+                    boolean.class).newInstance(prehash);
+            }
+            return (AlgorithmParameterSpec) cls.getConstructor(
+                boolean.class, byte[].class).newInstance(prehash, context);
+
+        } catch (ReflectiveOperationException e) {
+            Assume.assumeNoException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Return SunEC provider if it supports EdDSA (JDK 15+), else skip test.
+     */
+    private static Provider assumeSunEC() {
+
+        Provider sun = Security.getProvider("SunEC");
+        Assume.assumeTrue("SunEC EdDSA not available",
+            sun != null && sun.getService("Signature", "EdDSA") != null);
+
+        return sun;
+    }
+
+    private static byte[] testMessage(int len) {
+        byte[] msg = new byte[len];
+        for (int i = 0; i < len; i++) {
+            msg[i] = (byte)(i * 31 + 7);
+        }
+        return msg;
+    }
+
+    @Test
+    public void testGetSignatureFromProvider() throws Exception {
+
+        assumeEnabled();
+
+        for (String alg : new String[] { "EdDSA", "Ed25519", "1.3.101.112" }) {
+            Signature sig = Signature.getInstance(alg, "wolfJCE");
+            assertNotNull(sig);
+            assertEquals("wolfJCE", sig.getProvider().getName());
+            assertNotNull(KeyPairGenerator.getInstance(alg, "wolfJCE"));
+            assertNotNull(KeyFactory.getInstance(alg, "wolfJCE"));
+        }
+    }
+
+    @Test
+    public void testRfc8032Vector() throws Exception {
+
+        assumeEnabled();
+
+        Signature sig = Signature.getInstance("Ed25519", "wolfJCE");
+        sig.initSign(privateKey(TEST1_PRIV, "wolfJCE"));
+        assertArrayEquals(Util.h2b(TEST1_SIG), sig.sign());
+
+        sig.initVerify(publicKey(TEST1_PUB, "wolfJCE"));
+        assertTrue(sig.verify(Util.h2b(TEST1_SIG)));
+
+        /* same object, one byte message no longer matches */
+        sig.update((byte)0x00);
+        assertFalse(sig.verify(Util.h2b(TEST1_SIG)));
+    }
+
+    @Test
+    public void testRfc8032CtxAndPhVectors() throws Exception {
+
+        assumeEnabled();
+
+        Signature sig = Signature.getInstance("EdDSA", "wolfJCE");
+
+        /* Ed25519ctx */
+        sig.setParameter(eddsaSpec(false, "foo".getBytes()));
+        sig.initSign(privateKey(CTX_PRIV, "wolfJCE"));
+        sig.update(Util.h2b(CTX_MSG));
+        assertArrayEquals(Util.h2b(CTX_SIG), sig.sign());
+
+        /* Ed25519ph, data streamed one byte at a time */
+        sig = Signature.getInstance("EdDSA", "wolfJCE");
+        sig.setParameter(eddsaSpec(true, null));
+        sig.initSign(privateKey(PH_PRIV, "wolfJCE"));
+        sig.update((byte)'a');
+        sig.update((byte)'b');
+        sig.update((byte)'c');
+        byte[] phSig = sig.sign();
+        assertArrayEquals(Util.h2b(PH_SIG), phSig);
+
+        /* signature object reusable after sign() */
+        sig.update("abc".getBytes());
+        assertArrayEquals(phSig, sig.sign());
+
+        /* pure Ed25519 gives a different signature */
+        sig.setParameter(eddsaSpec(false, null));
+        sig.update("abc".getBytes());
+        assertFalse(Arrays.equals(phSig, sig.sign()));
+    }
+
+    @Test
+    public void testKeyPairGeneratorSignVerify() throws Exception {
+
+        assumeEnabled();
+
+        KeyPairGenerator kpg =
+            KeyPairGenerator.getInstance("Ed25519", "wolfJCE");
+        KeyPair kp = kpg.generateKeyPair();
+
+        assertEquals("EdDSA", kp.getPublic().getAlgorithm());
+        assertEquals("X.509", kp.getPublic().getFormat());
+        assertEquals("PKCS#8", kp.getPrivate().getFormat());
+        assertEquals(44, kp.getPublic().getEncoded().length);
+        assertEquals(48, kp.getPrivate().getEncoded().length);
+
+        byte[] msg = "Everyone gets Friday off.".getBytes();
+        Signature sig = Signature.getInstance("EdDSA", "wolfJCE");
+        sig.initSign(kp.getPrivate());
+        sig.update(msg);
+        byte[] s = sig.sign();
+        assertEquals(64, s.length);
+
+        sig.initVerify(kp.getPublic());
+        sig.update(msg);
+        assertTrue(sig.verify(s));
+
+        /* corrupt signature */
+        s[0] ^= 0x01;
+        sig.update(msg);
+        assertFalse(sig.verify(s));
+
+        /* wrong length signature */
+        sig.update(msg);
+        assertFalse(sig.verify(Arrays.copyOf(s, 63)));
+
+        /* another key pair does not verify */
+        sig.initVerify(kpg.generateKeyPair().getPublic());
+        sig.update(msg);
+        s[0] ^= 0x01;
+        assertFalse(sig.verify(s));
+    }
+
+    @Test
+    public void testMultiUpdateMatchesSingleUpdate() throws Exception {
+
+        assumeEnabled();
+
+        KeyPair kp = KeyPairGenerator.getInstance("EdDSA", "wolfJCE")
+            .generateKeyPair();
+
+        /* larger than the retained buffer limit, forces buffer growth */
+        int[] sizes = new int[] { 0, 1, 255, 256, 257, 4096,
+            (1024 * 1024) + 17 };
+
+        for (int sz : sizes) {
+            byte[] msg = testMessage(sz);
+
+            Signature sig = Signature.getInstance("EdDSA", "wolfJCE");
+            sig.initSign(kp.getPrivate());
+            sig.update(msg);
+            byte[] expected = sig.sign();
+
+            for (int off = 0; off < sz; ) {
+                int len = Math.min(1000, sz - off);
+                if (off % 3 == 0 && len > 0) {
+                    sig.update(ByteBuffer.wrap(msg, off, len));
+                }
+                else {
+                    sig.update(msg, off, len);
+                }
+                off += len;
+            }
+            assertArrayEquals("size " + sz, expected, sig.sign());
+
+            sig.initVerify(kp.getPublic());
+            sig.update(msg, 0, sz);
+            assertTrue("size " + sz, sig.verify(expected));
+        }
+    }
+
+    @Test
+    public void testSunEcInterop() throws Exception {
+
+        assumeEnabled();
+        Provider sun = assumeSunEC();
+
+        byte[] msg = testMessage(1000);
+
+        /* wolfJCE sign, SunEC verify */
+        KeyPair wolfKp = KeyPairGenerator.getInstance("Ed25519", "wolfJCE")
+            .generateKeyPair();
+        Signature sig = Signature.getInstance("Ed25519", "wolfJCE");
+        sig.initSign(wolfKp.getPrivate());
+        sig.update(msg);
+        byte[] s = sig.sign();
+
+        Signature sunSig = Signature.getInstance("Ed25519", sun);
+        sunSig.initVerify(wolfKp.getPublic());
+        sunSig.update(msg);
+        assertTrue(sunSig.verify(s));
+
+        /* SunEC keys and signature, wolfJCE verify and sign */
+        KeyPair sunKp = KeyPairGenerator.getInstance("Ed25519", sun)
+            .generateKeyPair();
+        sunSig.initSign(sunKp.getPrivate());
+        sunSig.update(msg);
+        s = sunSig.sign();
+
+        sig.initVerify(sunKp.getPublic());
+        sig.update(msg);
+        assertTrue(sig.verify(s));
+
+        sig.initSign(sunKp.getPrivate());
+        sig.update(msg);
+        assertArrayEquals(s, sig.sign());
+
+        /* Ed25519ctx and Ed25519ph */
+        for (AlgorithmParameterSpec spec : new AlgorithmParameterSpec[] {
+                eddsaSpec(false, "context".getBytes()),
+                eddsaSpec(false, new byte[0]),
+                eddsaSpec(true, null),
+                eddsaSpec(true, "context".getBytes()) }) {
+
+            sunSig.setParameter(spec);
+            sunSig.initSign(sunKp.getPrivate());
+            sunSig.update(msg);
+            s = sunSig.sign();
+
+            sig.setParameter(spec);
+            sig.initSign(sunKp.getPrivate());
+            sig.update(msg);
+            assertArrayEquals(s, sig.sign());
+
+            sig.initVerify(sunKp.getPublic());
+            sig.update(msg);
+            assertTrue(sig.verify(s));
+        }
+    }
+
+    @Test
+    public void testEdEcKeyInterfaces() throws Exception {
+
+        assumeEnabled();
+
+        Class<?> pubCls;
+        Class<?> privCls;
+        try {
+            pubCls = Class.forName("java.security.interfaces.EdECPublicKey");
+            privCls = Class.forName("java.security.interfaces.EdECPrivateKey");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        KeyPair kp = KeyPairGenerator.getInstance("EdDSA", "wolfJCE")
+            .generateKeyPair();
+        assertTrue(pubCls.isInstance(kp.getPublic()));
+        assertTrue(privCls.isInstance(kp.getPrivate()));
+
+        PublicKey pub = publicKey(TEST1_PUB, "wolfJCE");
+        assertTrue(pubCls.isInstance(pub));
+        assertNotNull(pubCls.getMethod("getPoint").invoke(pub));
+        assertNotNull(pubCls.getMethod("getParams").invoke(pub));
+    }
+
+    @Test
+    public void testInvalidParametersRejected() throws Exception {
+
+        assumeEnabled();
+
+        Signature sig = Signature.getInstance("EdDSA", "wolfJCE");
+        sig.initSign(privateKey(TEST1_PRIV, "wolfJCE"));
+
+        try {
+            sig.setParameter(new ECGenParameterSpec(
+                "secp256r1"));
+            fail("Non EdDSA parameters should be rejected");
+        } catch (InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+
+        AlgorithmParameterSpec longCtx = eddsaSpec(false, new byte[256]);
+        try {
+            sig.setParameter(longCtx);
+            fail("Context over 255 bytes should be rejected");
+        } catch (InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+
+        /* parameters cannot change once data is supplied */
+        sig.update((byte)0x01);
+        try {
+            sig.setParameter(eddsaSpec(true, null));
+            fail("setParameter() after update() should fail");
+        } catch (InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testInvalidKeysRejected() throws Exception {
+
+        assumeEnabled();
+
+        Signature sig = Signature.getInstance("EdDSA", "wolfJCE");
+
+        KeyPair ec = KeyPairGenerator.getInstance("EC", "wolfJCE")
+            .generateKeyPair();
+        try {
+            sig.initSign(ec.getPrivate());
+            fail("EC private key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+        try {
+            sig.initVerify(ec.getPublic());
+            fail("EC public key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+        try {
+            sig.initSign(null);
+            fail("null private key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+    }
+}
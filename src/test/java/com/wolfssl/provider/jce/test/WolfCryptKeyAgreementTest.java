@@ -76,6 +76,8 @@ import java.security.spec.ECPoint;
 import java.security.spec.ECPublicKeySpec;
 import java.security.spec.EllipticCurve;
 import java.security.spec.ECFieldFp;
+import java.security.spec.X509EncodedKeySpec;
+import javax.security.auth.Destroyable;
 
 import com.wolfssl.wolfcrypt.Ecc;
 import com.wolfssl.wolfcrypt.Fips;
@@ -711,6 +713,50 @@ public class WolfCryptKeyAgreementTest {
         assertArrayEquals(secretA2, secretC);
     }
 
+    /**
+     * Test that one wolfJCE ECPublicKey can be used as the peer key by
+     * multiple KeyAgreement objects and repeated doPhase() calls, which
+     * share the native key decoded by the key object.
+     */
+    @Test
+    public void testECDHKeyAgreementReusesPeerPublicKey()
+        throws Exception {
+
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC", "wolfJCE");
+        keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+
+        KeyPair aPair = keyGen.generateKeyPair();
+        KeyPair bPair = keyGen.generateKeyPair();
+
+        /* Convert to wolfJCE key object */
+        KeyFactory kf = KeyFactory.getInstance("EC", "wolfJCE");
+        PublicKey bPub = kf.generatePublic(
+            new X509EncodedKeySpec(bPair.getPublic().getEncoded()));
+
+        KeyAgreement bKeyAgree = KeyAgreement.getInstance("ECDH", "wolfJCE");
+        bKeyAgree.init(bPair.getPrivate());
+        bKeyAgree.doPhase(aPair.getPublic(), true);
+        byte[] expected = bKeyAgree.generateSecret();
+
+        KeyAgreement a1 = KeyAgreement.getInstance("ECDH", "wolfJCE");
+        KeyAgreement a2 = KeyAgreement.getInstance("ECDH", "wolfJCE");
+        a1.init(aPair.getPrivate());
+        a2.init(aPair.getPrivate());
+
+        for (int i = 0; i < 3; i++) {
+            a1.doPhase(bPub, true);
+            a2.doPhase(bPub, true);
+            assertArrayEquals(expected, a1.generateSecret());
+            assertArrayEquals(expected, a2.generateSecret());
+        }
+
+        /* Destroying key after doPhase() should not affect the
+         * KeyAgreement object already using it */
+        a1.doPhase(bPub, true);
+        ((Destroyable)bPub).destroy();
+        assertArrayEquals(expected, a1.generateSecret());
+    }
+
     /**
      * Test that engineDoPhase() rejects ECC peer public keys that are not
      * valid points on the curve.
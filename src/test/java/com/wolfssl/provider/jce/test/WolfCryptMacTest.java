@@ -30,6 +30,8 @@ import org.junit.runner.Description;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 
+import java.nio.ByteBuffer;
+
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -158,6 +160,56 @@ public class WolfCryptMacTest {
         }
     }
 
+    @Test
+    public void testMacByteBufferUpdate()
+        throws NoSuchProviderException, NoSuchAlgorithmException,
+               InvalidKeyException, InvalidAlgorithmParameterException {
+
+        byte[] key = new byte[16];
+        byte[] iv = new byte[12];
+        byte[] data = new byte[777];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)i;
+        }
+        Arrays.fill(key, (byte)0x0b);
+
+        for (int i = 0; i < enabledAlgos.size(); i++) {
+
+            String algo = enabledAlgos.get(i);
+            Mac mac = Mac.getInstance(algo, "wolfJCE");
+            SecretKeySpec keySpec = new SecretKeySpec(key,
+                algo.startsWith("AES") ? "AES" : algo);
+
+            if (algo.equals("AESGMAC")) {
+                mac.init(keySpec, new GCMParameterSpec(128, iv));
+            } else {
+                mac.init(keySpec);
+            }
+
+            mac.update(data);
+            byte[] expected = mac.doFinal();
+
+            /* direct ByteBuffer, split across two updates */
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 8);
+            direct.position(8);
+            direct.put(data);
+            direct.position(8);
+            direct.limit(8 + 300);
+            mac.update(direct);
+            assertEquals(direct.limit(), direct.position());
+            direct.limit(8 + data.length);
+            mac.update(direct);
+            assertEquals(direct.limit(), direct.position());
+            assertArrayEquals("direct ByteBuffer MAC mismatch, algo = " +
+                algo, expected, mac.doFinal());
+
+            /* heap ByteBuffer */
+            mac.update(ByteBuffer.wrap(data));
+            assertArrayEquals("heap ByteBuffer MAC mismatch, algo = " +
+                algo, expected, mac.doFinal());
+        }
+    }
+
     @Test
     public void testMacMd5SingleUpdate()
         throws InvalidKeyException, NoSuchAlgorithmException,
@@ -38,6 +38,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import java.nio.ByteBuffer;
+
 import java.security.Security;
 import java.security.Provider;
 import java.security.MessageDigest;
@@ -230,6 +232,60 @@ public class WolfCryptMessageDigestSha256Test {
         assertArrayEquals(expected, output2);
     }
 
+    @Test
+    public void testSha256ThreadConfinedProperty()
+        throws NoSuchProviderException, NoSuchAlgorithmException,
+               CloneNotSupportedException, InterruptedException {
+
+        String prop = "wolfjce.engine.threadConfined";
+        byte[] input = "Hello World".getBytes();
+        byte[] expected;
+        final Throwable[] err = new Throwable[1];
+
+        expected = MessageDigest.getInstance("SHA-256", "wolfJCE")
+            .digest(input);
+
+        String origProp = Security.getProperty(prop);
+        try {
+            Security.setProperty(prop, "true");
+
+            final MessageDigest sha256 =
+                MessageDigest.getInstance("SHA-256", "wolfJCE");
+
+            /* digest, reset, clone on owner thread */
+            assertArrayEquals(expected, sha256.digest(input));
+            sha256.update(input);
+            sha256.reset();
+            sha256.update(input);
+            MessageDigest sha256Copy = (MessageDigest)sha256.clone();
+            assertArrayEquals(expected, sha256.digest());
+            assertArrayEquals(expected, sha256Copy.digest());
+
+            /* use from other thread should throw */
+            Thread t = new Thread(new Runnable() {
+                @Override public void run() {
+                    try {
+                        sha256.update(input);
+                    } catch (Throwable e) {
+                        err[0] = e;
+                    }
+                }
+            });
+            t.start();
+            t.join();
+            assertTrue(err[0] instanceof IllegalStateException);
+
+        } finally {
+            if (origProp == null) {
+                /* Security has no remove, empty leaves default behavior */
+                Security.setProperty(prop, "");
+            }
+            else {
+                Security.setProperty(prop, origProp);
+            }
+        }
+    }
+
     @Test
     public void testSha256Interop()
         throws NoSuchProviderException, NoSuchAlgorithmException {
@@ -283,6 +339,41 @@ public class WolfCryptMessageDigestSha256Test {
         assertEquals(Sha256.DIGEST_SIZE, sha256.getDigestLength());
     }
 
+    @Test
+    public void testSha256ByteBufferUpdate()
+        throws NoSuchProviderException, NoSuchAlgorithmException {
+
+        byte[] data = new byte[1000];
+        new Random().nextBytes(data);
+
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256", "wolfJCE");
+        byte[] expected = sha256.digest(data);
+
+        /* direct ByteBuffer, non-zero position and limit short of capacity */
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 32);
+        direct.position(16);
+        direct.put(data);
+        direct.flip();
+        direct.position(16);
+        sha256.update(direct);
+        assertEquals(direct.limit(), direct.position());
+        assertArrayEquals(expected, sha256.digest());
+
+        /* direct ByteBuffer split across multiple updates */
+        direct.position(16);
+        direct.limit(16 + 100);
+        sha256.update(direct);
+        direct.limit(16 + data.length);
+        sha256.update(direct);
+        assertArrayEquals(expected, sha256.digest());
+
+        /* heap ByteBuffer */
+        ByteBuffer heap = ByteBuffer.wrap(data);
+        sha256.update(heap);
+        assertEquals(heap.limit(), heap.position());
+        assertArrayEquals(expected, sha256.digest());
+    }
+
     @Test
     public void testSha256Threaded()
         throws NoSuchProviderException, NoSuchAlgorithmException,
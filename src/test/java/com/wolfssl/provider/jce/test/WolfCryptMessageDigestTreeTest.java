@@ -0,0 +1,117 @@
+/* WolfCryptMessageDigestTreeTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+import org.junit.Test;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import java.security.Security;
+import java.security.Provider;
+import java.security.MessageDigest;
+import java.security.NoSuchProviderException;
+import java.security.NoSuchAlgorithmException;
+
+import com.wolfssl.wolfcrypt.TreeHash;
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+
+public class WolfCryptMessageDigestTreeTest {
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule watcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void testProviderInstallationAtRuntime()
+        throws NoSuchProviderException {
+
+        System.out.println("JCE WolfCryptMessageDigestTree Class");
+
+        /* Install wolfJCE provider at runtime */
+        Security.insertProviderAt(new WolfCryptProvider(), 1);
+
+        Provider p = Security.getProvider("wolfJCE");
+        assertNotNull(p);
+
+        try {
+            MessageDigest.getInstance("SHA-256-TREE", "wolfJCE");
+
+        } catch (NoSuchAlgorithmException e) {
+            /* Compiled out, or FIPS mode, skip tests */
+            System.out.println("wolfJCE SHA-256-TREE Test skipped");
+            Assume.assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void testTreeHashMatchesTreeHashClass()
+        throws NoSuchProviderException, NoSuchAlgorithmException {
+
+        /* Larger than one 1 MiB chunk, last chunk partial */
+        byte[] in = new byte[(3 * TreeHash.DEFAULT_CHUNK_SIZE) + 12345];
+        new Random(7).nextBytes(in);
+
+        TreeHash th = new TreeHash("SHA-256");
+        th.update(in);
+        byte[] expected = th.digest();
+        th.releaseNativeStruct();
+
+        MessageDigest md = MessageDigest.getInstance("SHA-256-TREE",
+            "wolfJCE");
+        assertEquals(32, md.getDigestLength());
+
+        md.update(in);
+        assertArrayEquals(expected, md.digest());
+
+        /* Byte, array and direct ByteBuffer updates */
+        md.update(in[0]);
+        md.update(in, 1, 1000);
+        ByteBuffer direct = ByteBuffer.allocateDirect(in.length - 1001);
+        direct.put(in, 1001, in.length - 1001).flip();
+        md.update(direct);
+        assertArrayEquals(expected, md.digest());
+
+        /* Not the same as plain SHA-256 */
+        MessageDigest sha = MessageDigest.getInstance("SHA-256", "wolfJCE");
+        assertFalse(Arrays.equals(expected, sha.digest(in)));
+    }
+
+    @Test
+    public void testTreeHashReset()
+        throws NoSuchProviderException, NoSuchAlgorithmException {
+
+        MessageDigest md = MessageDigest.getInstance("SHA-256-TREE",
+            "wolfJCE");
+        byte[] empty = md.digest();
+
+        md.update(new byte[100]);
+        md.reset();
+        assertArrayEquals(empty, md.digest());
+    }
+}
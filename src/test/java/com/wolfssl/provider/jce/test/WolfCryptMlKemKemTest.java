@@ -35,6 +35,11 @@ import java.security.PrivateKey;
 import java.security.InvalidKeyException;
 import java.security.spec.X509EncodedKeySpec;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import javax.crypto.SecretKey;
 
@@ -427,4 +432,59 @@ public class WolfCryptMlKemKemTest {
             assertTrue(e.getCause() instanceof InvalidKeyException);
         }
     }
+    /* One Encapsulator and Decapsulator reused for many operations, both
+     * sequentially and from several threads at once, which exercises the
+     * native MlKem objects kept by each. */
+    @Test
+    public void testKemReuseEncapsulatorDecapsulator() throws Exception {
+        assumeWolfKem();
+
+        final int threads = 4;
+        final int iterations = 10;
+
+        KeyPair kp = KeyPairGenerator.getInstance("ML-KEM-768", "wolfJCE")
+            .generateKeyPair();
+        Object kem = kemGetInstance("ML-KEM", "wolfJCE");
+        final Object enc = newEncapsulator(kem, kp.getPublic());
+        final Object dec = newDecapsulator(kem, kp.getPrivate());
+        final Method encapsulate = enc.getClass().getMethod("encapsulate");
+        final Method decapsulate =
+            dec.getClass().getMethod("decapsulate", byte[].class);
+
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final AtomicIntegerArray failures = new AtomicIntegerArray(1);
+
+        for (int i = 0; i < threads; i++) {
+            service.submit(new Runnable() {
+                @Override public void run() {
+                    try {
+                        for (int j = 0; j < iterations; j++) {
+                            Object e = encapsulate.invoke(enc);
+                            SecretKey key = (SecretKey)e.getClass()
+                                .getMethod("key").invoke(e);
+                            byte[] ct = (byte[])e.getClass()
+                                .getMethod("encapsulation").invoke(e);
+                            SecretKey decKey = (SecretKey)decapsulate
+                                .invoke(dec, (Object)ct);
+                            if (!Arrays.equals(key.getEncoded(),
+                                    decKey.getEncoded())) {
+                                failures.incrementAndGet(0);
+                            }
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                        failures.incrementAndGet(0);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+
+        latch.await();
+        service.shutdown();
+
+        assertEquals(0, failures.get(0));
+    }
 }
@@ -2325,5 +2325,132 @@ public class WolfCryptPKIXCertPathValidatorTest {
             }
         }
     }
-}
 
+    /**
+     * Build RSA cert chain (server, intermediate 2, intermediate 1) from
+     * example certs, optionally with intermediates out of order.
+     */
+    private CertPath buildRsaIntermediateChain(CertificateFactory cf,
+        boolean outOfOrder) throws Exception {
+
+        List<Certificate> certList = new ArrayList<>();
+        String[] files;
+
+        if (outOfOrder) {
+            files = new String[] { intRsaServerCertDer, intRsaInt1CertDer,
+                intRsaInt2CertDer };
+        }
+        else {
+            files = new String[] { intRsaServerCertDer, intRsaInt2CertDer,
+                intRsaInt1CertDer };
+        }
+
+        for (String f : files) {
+            FileInputStream fis = new FileInputStream(f);
+            try {
+                certList.add(cf.generateCertificate(fis));
+            } finally {
+                fis.close();
+            }
+        }
+
+        return cf.generateCertPath(certList);
+    }
+
+    /**
+     * Repeated validations that may reuse a pooled native CertManager must
+     * give the same results as validating with a new CertManager: changing
+     * trust anchors or intermediate order must not be affected by earlier
+     * successful validations, intermediates from an earlier path must not
+     * stay loaded, and disabling the pool must still work.
+     */
+    @Test
+    public void testRepeatedValidationWithCertManagerPool() throws Exception {
+
+        String poolProp = "wolfjce.certpath.certManagerPoolSize";
+        String origPoolSize = Security.getProperty(poolProp);
+        CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        CertPathValidator cpv = CertPathValidator.getInstance("PKIX", provider);
+        X509Certificate caCert = null;
+
+        FileInputStream fis = new FileInputStream(caCertDer);
+        try {
+            caCert = (X509Certificate)cf.generateCertificate(fis);
+        } finally {
+            fis.close();
+        }
+
+        KeyStore rsaStore = createKeyStoreFromFile(jksCaServerRSA2048,
+            keyStorePass);
+        KeyStore eccStore = createKeyStoreFromFile(jksCaServerECC256,
+            keyStorePass);
+
+        CertPath path = buildRsaIntermediateChain(cf, false);
+        CertPath badPath = buildRsaIntermediateChain(cf, true);
+        CertPath noIntPath = cf.generateCertPath(
+            path.getCertificates().subList(0, 2));
+        PublicKey leafKey = path.getCertificates().get(0).getPublicKey();
+
+        try {
+            /* Same anchors and chain, validate several times */
+            for (int i = 0; i < 5; i++) {
+                PKIXParameters params = new PKIXParameters(rsaStore);
+                params.setRevocationEnabled(false);
+                checkPKIXCertPathValidatorResult(
+                    cpv.validate(path, params), caCert, leafKey);
+            }
+
+            /* Out of order intermediates still fail after pooled success */
+            PKIXParameters params = new PKIXParameters(rsaStore);
+            params.setRevocationEnabled(false);
+            try {
+                cpv.validate(badPath, params);
+                fail("Expected out of order cert chain to fail");
+            } catch (CertPathValidatorException e) {
+                /* expected */
+            }
+
+            /* Missing intermediate fails, even if same PKIXParameters were
+             * used to validate full chain with a pooled CertManager */
+            checkPKIXCertPathValidatorResult(
+                cpv.validate(path, params), caCert, leafKey);
+            try {
+                cpv.validate(noIntPath, params);
+                fail("Expected cert chain missing intermediate to fail");
+            } catch (CertPathValidatorException e) {
+                /* expected */
+            }
+
+            /* Different trust anchors must not reuse RSA CertManager */
+            params = new PKIXParameters(eccStore);
+            params.setRevocationEnabled(false);
+            try {
+                cpv.validate(path, params);
+                fail("Expected RSA chain to fail with ECC trust anchor");
+            } catch (CertPathValidatorException e) {
+                /* expected */
+            }
+
+            /* Original anchors validate again */
+            params = new PKIXParameters(rsaStore);
+            params.setRevocationEnabled(false);
+            checkPKIXCertPathValidatorResult(
+                cpv.validate(path, params), caCert, leafKey);
+
+            /* Pool disabled */
+            Security.setProperty(poolProp, "0");
+            params = new PKIXParameters(rsaStore);
+            params.setRevocationEnabled(false);
+            checkPKIXCertPathValidatorResult(
+                cpv.validate(path, params), caCert, leafKey);
+
+        } finally {
+            if (origPoolSize != null) {
+                Security.setProperty(poolProp, origPoolSize);
+            }
+            else {
+                Security.setProperty(poolProp, "");
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/* WolfCryptProviderTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.BeforeClass;
+
+import java.security.Provider;
+import java.security.Security;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.util.Set;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+
+/**
+ * Test suite for WolfCryptProvider service registration.
+ */
+public class WolfCryptProviderTest {
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("JCE WolfCryptProvider Test");
+    }
+
+    @Test
+    public void testAllServicesInstantiate()
+        throws NoSuchAlgorithmException {
+
+        Provider p = new WolfCryptProvider();
+        Set<Provider.Service> services = p.getServices();
+
+        assertFalse(services.isEmpty());
+
+        for (Provider.Service s : services) {
+            Object spi = s.newInstance(null);
+            assertNotNull(spi);
+            assertEquals("SPI class mismatch for " + s.getType() + "." +
+                s.getAlgorithm(), s.getClassName(), spi.getClass().getName());
+        }
+    }
+
+    @Test
+    public void testLegacyPropertiesAliasesAndAttributes()
+        throws NoSuchAlgorithmException, NoSuchProviderException {
+
+        Provider p = new WolfCryptProvider();
+
+        /* Property strings are still visible to getProperty() callers */
+        for (Provider.Service s : p.getServices()) {
+            assertEquals(s.getClassName(),
+                p.getProperty(s.getType() + "." + s.getAlgorithm()));
+        }
+
+        /* Attributes are carried on the Service */
+        Provider.Service rng = p.getService("SecureRandom", "DEFAULT");
+        assertNotNull(rng);
+        assertEquals("true", rng.getAttribute("ThreadSafe"));
+        assertEquals("true",
+            p.getProperty("SecureRandom.DEFAULT ThreadSafe"));
+
+        /* SecureRandom DEFAULT is first registered, used as JDK default */
+        for (Provider.Service s : p.getServices()) {
+            if (s.getType().equals("SecureRandom")) {
+                assertEquals("DEFAULT", s.getAlgorithm());
+                break;
+            }
+        }
+
+        /* Aliases resolve to same Service, including case differences */
+        Provider.Service sha256 = p.getService("MessageDigest", "SHA-256");
+        if (sha256 != null) {
+            assertSame(sha256, p.getService("MessageDigest",
+                "2.16.840.1.101.3.4.2.1"));
+            assertSame(sha256, p.getService("MessageDigest", "sha-256"));
+            assertEquals("SHA-256", p.getProperty(
+                "Alg.Alias.MessageDigest.2.16.840.1.101.3.4.2.1"));
+
+            if (Security.getProvider("wolfJCE") == null) {
+                Security.insertProviderAt(new WolfCryptProvider(), 1);
+            }
+            MessageDigest md = MessageDigest.getInstance(
+                "2.16.840.1.101.3.4.2.1", "wolfJCE");
+            assertEquals("wolfJCE", md.getProvider().getName());
+        }
+    }
+
+    @Test
+    public void testRefreshServicesKeepsServices() {
+
+        WolfCryptProvider p = new WolfCryptProvider();
+        int count = p.getServices().size();
+
+        p.refreshServices();
+        assertEquals(count, p.getServices().size());
+
+        p.refreshServices();
+        assertEquals(count, p.getServices().size());
+    }
+}
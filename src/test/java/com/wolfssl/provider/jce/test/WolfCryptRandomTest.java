@@ -30,6 +30,7 @@ import org.junit.Test;
 import org.junit.BeforeClass;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
@@ -352,6 +353,87 @@ public class WolfCryptRandomTest {
         assertEquals(0, seed.length);
     }
 
+    @Test
+    public void testThreadSafeAttributeRegistered() {
+
+        Provider p = Security.getProvider("wolfJCE");
+        String[] algs = { "DEFAULT", "HashDRBG", "Hash_DRBG", "DRBG" };
+
+        for (String alg : algs) {
+            Provider.Service svc = p.getService("SecureRandom", alg);
+            assertNotNull(svc);
+            assertEquals("ThreadSafe attribute not set for " + alg,
+                "true", svc.getAttribute("ThreadSafe"));
+        }
+    }
+
+    @Test
+    public void testBufferedNextBytes()
+        throws NoSuchProviderException, NoSuchAlgorithmException,
+               InterruptedException {
+
+        String origProp = Security.getProperty(
+            "wolfjce.securerandom.bufferSize");
+
+        try {
+            Security.setProperty("wolfjce.securerandom.bufferSize", "256");
+            final SecureRandom rand =
+                SecureRandom.getInstance("HashDRBG", "wolfJCE");
+
+            int numThreads = 8;
+            ExecutorService service = Executors.newFixedThreadPool(numThreads);
+            final CountDownLatch latch = new CountDownLatch(numThreads);
+            final LinkedBlockingQueue<byte[]> results =
+                new LinkedBlockingQueue<>();
+
+            /* Mix of buffered (12, 16, 128) and unbuffered (129, 512)
+             * request sizes, crossing buffer refill boundaries */
+            final int[] sizes = { 12, 16, 128, 129, 512 };
+
+            for (int i = 0; i < numThreads; i++) {
+                service.submit(new Runnable() {
+                    @Override public void run() {
+                        try {
+                            for (int j = 0; j < 500; j++) {
+                                byte[] tmp = new byte[sizes[j % sizes.length]];
+                                rand.nextBytes(tmp);
+                                results.add(tmp);
+                            }
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+
+            latch.await();
+            service.shutdown();
+
+            assertEquals(numThreads * 500, results.size());
+
+            /* No output should repeat or be all zeros */
+            HashSet<String> seen = new HashSet<>();
+            byte[] zero16 = new byte[16];
+            for (byte[] r : results) {
+                assertTrue("Found duplicate random output in buffered mode",
+                    seen.add(Util.b2h(r)));
+                if (r.length >= 16) {
+                    assertFalse("Buffered random output was all zeros",
+                        Arrays.equals(zero16, Arrays.copyOf(r, 16)));
+                }
+            }
+
+        } finally {
+            if (origProp == null) {
+                Security.setProperty("wolfjce.securerandom.bufferSize", "");
+            }
+            else {
+                Security.setProperty("wolfjce.securerandom.bufferSize",
+                    origProp);
+            }
+        }
+    }
+
     @Test
     public void testSerializationDeserialization()
         throws NoSuchProviderException, NoSuchAlgorithmException,
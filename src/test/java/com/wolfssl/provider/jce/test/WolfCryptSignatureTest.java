@@ -30,7 +30,10 @@ import org.junit.Test;
 import org.junit.BeforeClass;
 import org.junit.Assume;
 
+import java.nio.ByteBuffer;
+
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
@@ -54,6 +57,10 @@ import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.spec.RSAKeyGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.KeyFactory;
+import javax.security.auth.Destroyable;
 import java.io.Closeable;
 import java.math.BigInteger;
 
@@ -67,6 +74,7 @@ import com.wolfssl.wolfcrypt.Rsa;
 import com.wolfssl.wolfcrypt.Fips;
 import com.wolfssl.wolfcrypt.FeatureDetect;
 import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.provider.jce.WolfCryptSignatureBatch;
 import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
 
 public class WolfCryptSignatureTest {
@@ -253,6 +261,66 @@ public class WolfCryptSignatureTest {
         }
     }
 
+    @Test
+    public void testWolfSignWolfVerifyByteBuffer()
+        throws NoSuchProviderException, NoSuchAlgorithmException,
+               SignatureException, InvalidKeyException,
+               InvalidAlgorithmParameterException {
+
+        byte[] data = new byte[1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte)(i * 7);
+        }
+
+        for (int i = 0; i < enabledAlgos.size(); i++) {
+
+            String algo = enabledAlgos.get(i);
+            Signature signer = Signature.getInstance(algo, "wolfJCE");
+            Signature verifier = Signature.getInstance(algo, "wolfJCE");
+
+            if (algo.equals("RSASSA-PSS")) {
+                java.security.spec.PSSParameterSpec pssSpec =
+                    new java.security.spec.PSSParameterSpec(
+                        "SHA-256", "MGF1",
+                        java.security.spec.MGF1ParameterSpec.SHA256,
+                        32, 1);
+                signer.setParameter(pssSpec);
+                verifier.setParameter(pssSpec);
+            }
+
+            KeyPair pair = algo.contains("RSA") ? rsaPair : ecPair;
+            assertNotNull(pair);
+
+            /* sign using direct ByteBuffer split across two updates */
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+            direct.put(data);
+            direct.flip();
+            signer.initSign(pair.getPrivate());
+            direct.limit(100);
+            signer.update(direct);
+            direct.limit(data.length);
+            signer.update(direct);
+            assertEquals(direct.limit(), direct.position());
+            byte[] signature = signer.sign();
+
+            /* verify using byte array */
+            verifier.initVerify(pair.getPublic());
+            verifier.update(data, 0, data.length);
+            assertTrue("direct ByteBuffer signature failed to verify, " +
+                "algo = " + algo, verifier.verify(signature));
+
+            /* verify using direct and heap ByteBuffers */
+            direct.rewind();
+            verifier.initVerify(pair.getPublic());
+            verifier.update(direct);
+            assertTrue(verifier.verify(signature));
+
+            verifier.initVerify(pair.getPublic());
+            verifier.update(ByteBuffer.wrap(data));
+            assertTrue(verifier.verify(signature));
+        }
+    }
+
     @Test
     public void testWolfSignInitMulti()
         throws NoSuchProviderException, NoSuchAlgorithmException,
@@ -1040,6 +1108,139 @@ public class WolfCryptSignatureTest {
         }
     }
 
+    @Test
+    public void testThreadedShortLivedSignersShareRngPool() throws Exception {
+
+        final byte[] toSignBuf = "Hello World".getBytes();
+        final int numThreads = 8;
+        final int iterations = 20;
+        final ArrayList<String> algos = new ArrayList<String>();
+
+        /* Native Rng objects are shared between Signature objects from the
+         * provider-wide Rng pool. Create many more short-lived Signature
+         * objects than there are pool stripes, signing concurrently. */
+        if (enabledAlgos.contains("SHA256withECDSA") && ecPair != null) {
+            algos.add("SHA256withECDSA");
+        }
+        if (enabledAlgos.contains("SHA256withRSA/PSS") && rsaPair != null) {
+            algos.add("SHA256withRSA/PSS");
+        }
+        Assume.assumeTrue(algos.size() > 0);
+
+        ExecutorService service = Executors.newFixedThreadPool(numThreads);
+        final CountDownLatch latch = new CountDownLatch(numThreads);
+        final AtomicIntegerArray failures = new AtomicIntegerArray(1);
+
+        for (int i = 0; i < numThreads; i++) {
+            final String algo = algos.get(i % algos.size());
+            final KeyPair pair = algo.contains("RSA") ? rsaPair : ecPair;
+
+            service.submit(new Runnable() {
+                @Override public void run() {
+                    try {
+                        for (int j = 0; j < iterations; j++) {
+                            Signature signer =
+                                Signature.getInstance(algo, "wolfJCE");
+                            signer.initSign(pair.getPrivate());
+                            signer.update(toSignBuf, 0, toSignBuf.length);
+                            byte[] sig = signer.sign();
+
+                            Signature verifier =
+                                Signature.getInstance(algo, "wolfJCE");
+                            verifier.initVerify(pair.getPublic());
+                            verifier.update(toSignBuf, 0, toSignBuf.length);
+                            if (!verifier.verify(sig)) {
+                                throw new Exception(
+                                    "verify() returned false: " + algo);
+                            }
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                        failures.incrementAndGet(0);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+
+        boolean returnWithoutTimeout = latch.await(60, TimeUnit.SECONDS);
+        service.shutdown();
+
+        assertTrue("Signature threads timed out", returnWithoutTimeout);
+        assertEquals("Signature threading failures", 0, failures.get(0));
+    }
+
+    @Test
+    public void testThreadedSignersUseOneKeyObject() throws Exception {
+
+        final byte[] toSignBuf = "Hello World".getBytes();
+        final int numThreads = 8;
+        final int iterations = 20;
+        final ArrayList<String> algos = new ArrayList<String>();
+
+        /* Each thread keeps one Signature object initialized with the same
+         * wolfJCE key object and signs repeatedly. Every signer is given
+         * its own native key taken from the one shared by the key object,
+         * so signatures made concurrently must all verify. */
+        if (enabledAlgos.contains("SHA256withECDSA") && ecPair != null) {
+            algos.add("SHA256withECDSA");
+        }
+        if (enabledAlgos.contains("SHA256withRSA") && rsaPair != null) {
+            algos.add("SHA256withRSA");
+        }
+        Assume.assumeTrue(algos.size() > 0);
+
+        for (final String algo : algos) {
+            final KeyPair pair = algo.contains("RSA") ? rsaPair : ecPair;
+            ExecutorService service = Executors.newFixedThreadPool(numThreads);
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch latch = new CountDownLatch(numThreads);
+            final AtomicIntegerArray failures = new AtomicIntegerArray(1);
+
+            for (int i = 0; i < numThreads; i++) {
+                service.submit(new Runnable() {
+                    @Override public void run() {
+                        try {
+                            Signature signer =
+                                Signature.getInstance(algo, "wolfJCE");
+                            Signature verifier =
+                                Signature.getInstance(algo, "wolfJCE");
+                            signer.initSign(pair.getPrivate());
+                            verifier.initVerify(pair.getPublic());
+                            start.await();
+
+                            for (int j = 0; j < iterations; j++) {
+                                signer.update(toSignBuf, 0, toSignBuf.length);
+                                byte[] sig = signer.sign();
+                                verifier.update(toSignBuf, 0,
+                                    toSignBuf.length);
+                                if (!verifier.verify(sig)) {
+                                    throw new Exception(
+                                        "verify() returned false: " + algo);
+                                }
+                            }
+                        } catch (Exception e) {
+                            e.printStackTrace();
+                            failures.incrementAndGet(0);
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+
+            start.countDown();
+            boolean returnWithoutTimeout = latch.await(60, TimeUnit.SECONDS);
+            service.shutdown();
+
+            assertTrue("Signature threads timed out: " + algo,
+                returnWithoutTimeout);
+            assertEquals("Signature threading failures: " + algo, 0,
+                failures.get(0));
+        }
+    }
+
     @Test
     public void testRsaPssSignatureWithParameters()
         throws NoSuchProviderException, NoSuchAlgorithmException,
@@ -2673,5 +2874,136 @@ public class WolfCryptSignatureTest {
             scope.close();
         }
     }
-}
+    /* Signature objects initialized with the same wolfJCE RSA or EC key
+     * object share the native key decoded by that key. Signing and
+     * verifying from several objects, and re-initializing them, should
+     * produce verifiable signatures. Destroying the key should not break
+     * Signature objects already initialized with it. */
+    @Test
+    public void testSignVerifyReusesWolfJCEKeyObjects()
+        throws Exception {
+
+        String[][] algs = {
+            { "SHA256withRSA", "RSA" },
+            { "SHA256withECDSA", "EC" }
+        };
+        byte[] msg = "shared native key".getBytes();
+
+        for (String[] alg : algs) {
+            KeyPair pair = null;
+
+            if (!enabledAlgos.contains(alg[0])) {
+                continue;
+            }
+            pair = alg[1].equals("RSA") ? rsaPair : ecPair;
+            assertNotNull(pair);
+
+            /* Convert to wolfJCE key objects */
+            KeyFactory kf = KeyFactory.getInstance(alg[1], "wolfJCE");
+            PrivateKey priv = kf.generatePrivate(
+                new PKCS8EncodedKeySpec(pair.getPrivate().getEncoded()));
+            PublicKey pub = kf.generatePublic(
+                new X509EncodedKeySpec(pair.getPublic().getEncoded()));
+
+            Signature signer1 = Signature.getInstance(alg[0], "wolfJCE");
+            Signature signer2 = Signature.getInstance(alg[0], "wolfJCE");
+            Signature verifier1 = Signature.getInstance(alg[0], "wolfJCE");
+            Signature verifier2 = Signature.getInstance(alg[0], "wolfJCE");
+
+            for (int i = 0; i < 3; i++) {
+                signer1.initSign(priv);
+                signer2.initSign(priv);
+                verifier1.initVerify(pub);
+                verifier2.initVerify(pub);
+
+                signer1.update(msg);
+                signer2.update(msg);
+                byte[] sig1 = signer1.sign();
+                byte[] sig2 = signer2.sign();
+
+                verifier1.update(msg);
+                assertTrue(alg[0], verifier1.verify(sig2));
+                verifier2.update(msg);
+                assertTrue(alg[0], verifier2.verify(sig1));
+            }
 
+            /* Verify signature against the original key pair too */
+            signer1.initSign(priv);
+            signer1.update(msg);
+            byte[] sig = signer1.sign();
+            Signature verifier3 = Signature.getInstance(alg[0], "wolfJCE");
+            verifier3.initVerify(pair.getPublic());
+            verifier3.update(msg);
+            assertTrue(alg[0], verifier3.verify(sig));
+
+            /* Destroy keys, already initialized objects keep working */
+            signer1.initSign(priv);
+            verifier1.initVerify(pub);
+            ((Destroyable)priv).destroy();
+            ((Destroyable)pub).destroy();
+
+            signer1.update(msg);
+            sig = signer1.sign();
+            verifier1.update(msg);
+            assertTrue(alg[0], verifier1.verify(sig));
+        }
+    }
+
+    @Test
+    public void testSignatureBatchVerifyECDSA() throws Exception {
+
+        String alg = "SHA256withECDSA";
+        int count = 10;
+        PublicKey[] keys = new PublicKey[count];
+        byte[][] msgs = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        if (!enabledAlgos.contains(alg)) {
+            return;
+        }
+        assertNotNull(ecPair);
+
+        /* Mix of wolfJCE key object and foreign key of same key pair */
+        KeyFactory kf = KeyFactory.getInstance("EC", "wolfJCE");
+        PublicKey wolfPub = kf.generatePublic(
+            new X509EncodedKeySpec(ecPair.getPublic().getEncoded()));
+
+        Signature signer = Signature.getInstance(alg, "wolfJCE");
+        signer.initSign(ecPair.getPrivate());
+
+        for (int i = 0; i < count; i++) {
+            keys[i] = (i % 2 == 0) ? wolfPub : ecPair.getPublic();
+            msgs[i] = ("batch verify " + i).getBytes();
+            signer.update(msgs[i]);
+            sigs[i] = signer.sign();
+        }
+        msgs[4] = "tampered".getBytes();
+
+        try {
+            BitSet res = WolfCryptSignatureBatch.verify(alg, keys, msgs,
+                sigs, pool, 4);
+            for (int i = 0; i < count; i++) {
+                assertEquals("item " + i, i != 4, res.get(i));
+            }
+            assertEquals(res,
+                WolfCryptSignatureBatch.verify(alg, keys, msgs, sigs));
+
+            /* wolfJCE key still usable by Signature after batch */
+            Signature verifier = Signature.getInstance(alg, "wolfJCE");
+            verifier.initVerify(wolfPub);
+            verifier.update(msgs[0]);
+            assertTrue(verifier.verify(sigs[0]));
+
+        } finally {
+            pool.shutdown();
+        }
+
+        try {
+            WolfCryptSignatureBatch.verify("SHA256withRSA", keys, msgs, sigs);
+            fail("Batch verify should not support SHA256withRSA");
+        } catch (NoSuchAlgorithmException e) {
+            /* expected */
+        }
+    }
+}
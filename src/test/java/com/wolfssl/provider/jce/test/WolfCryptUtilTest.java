@@ -1162,6 +1162,62 @@ public class WolfCryptUtilTest {
         }
     }
 
+    @Test
+    public void testIsAlgorithmDisabledPropertyChanges() {
+
+        String origProperty = Security.getProperty(
+            "jdk.certpath.disabledAlgorithms");
+        String origCurves = Security.getProperty(
+            "jdk.disabled.namedCurves");
+
+        try {
+            Security.setProperty("jdk.disabled.namedCurves", "secp112r1");
+            Security.setProperty("jdk.certpath.disabledAlgorithms",
+                "MD2, RSA keySize < 1024, include jdk.disabled.namedCurves");
+
+            assertTrue(WolfCryptUtil.isAlgorithmDisabled(
+                "MD2", "jdk.certpath.disabledAlgorithms"));
+            assertTrue(WolfCryptUtil.isAlgorithmDisabled(
+                "secp112r1", "jdk.certpath.disabledAlgorithms"));
+            assertEquals(1024, WolfCryptUtil.getDisabledAlgorithmsKeySizeLimit(
+                "RSA", "jdk.certpath.disabledAlgorithms"));
+
+            /* Changing top level property is picked up on next check */
+            Security.setProperty("jdk.certpath.disabledAlgorithms",
+                "MD5, RSA keySize < 2048, include jdk.disabled.namedCurves");
+            assertFalse("MD2 no longer disabled after property change",
+                WolfCryptUtil.isAlgorithmDisabled(
+                    "MD2", "jdk.certpath.disabledAlgorithms"));
+            assertTrue("MD5 disabled after property change",
+                WolfCryptUtil.isAlgorithmDisabled(
+                    "MD5", "jdk.certpath.disabledAlgorithms"));
+            assertEquals(2048, WolfCryptUtil.getDisabledAlgorithmsKeySizeLimit(
+                "RSA", "jdk.certpath.disabledAlgorithms"));
+
+            /* Changing an included property is picked up too */
+            Security.setProperty("jdk.disabled.namedCurves", "sect113r1");
+            assertFalse("Curve removed from included property is allowed",
+                WolfCryptUtil.isAlgorithmDisabled(
+                    "secp112r1", "jdk.certpath.disabledAlgorithms"));
+            assertTrue("Curve added to included property is disabled",
+                WolfCryptUtil.isAlgorithmDisabled(
+                    "sect113r1", "jdk.certpath.disabledAlgorithms"));
+        } finally {
+            if (origProperty != null) {
+                Security.setProperty("jdk.certpath.disabledAlgorithms",
+                    origProperty);
+            } else {
+                Security.setProperty("jdk.certpath.disabledAlgorithms", "");
+            }
+            if (origCurves != null) {
+                Security.setProperty("jdk.disabled.namedCurves",
+                    origCurves);
+            } else {
+                Security.setProperty("jdk.disabled.namedCurves", "");
+            }
+        }
+    }
+
     @Test
     public void testGetDisabledAlgorithmsKeySizeLimitNameMatch() {
 
@@ -0,0 +1,422 @@
+/* WolfCryptXdhKeyAgreementTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.security.Security;
+import java.security.Provider;
+import java.security.KeyPair;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.InvalidKeyException;
+import java.security.InvalidParameterException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import javax.crypto.KeyAgreement;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+import com.wolfssl.wolfcrypt.test.Util;
+
+/**
+ * JUnit tests for wolfJCE XDH (X25519) KeyAgreement and KeyPairGenerator,
+ * including interop with SunEC when available.
+ */
+public class WolfCryptXdhKeyAgreementTest {
+
+    private static boolean xdhEnabled = false;
+
+    /* RFC 7748 section 6.1 keys, RFC 8410 encoded */
+    private static final String ALICE_PKCS8 =
+        "302e020100300506032b656e04220420" +
+        "77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a";
+    private static final String BOB_PKCS8 =
+        "302e020100300506032b656e04220420" +
+        "5dab087e624a8a4b79e17f8b83800ee66f3bb1292618b6fd1c2f8b27ff88e0eb";
+    private static final String SPKI_PREFIX =
+        "302a300506032b656e032100";
+    private static final String ALICE_PUB =
+        "8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a";
+    private static final String BOB_PUB =
+        "de9edb7d7b7dc1b4d35b61c2ece435373f8343c85b78674dadfc7e146f882b4f";
+    private static final String SHARED =
+        "4a5d9d5ba4ce2de1728e3bf480350f25e07e21c947d19e3376f09b3c1e161742";
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void setUp() {
+        System.out.println("JCE WolfCryptXdhKeyAgreementTest Class");
+
+        Security.insertProviderAt(new WolfCryptProvider(), 1);
+
+        Provider p = Security.getProvider("wolfJCE");
+        if (p != null && p.getService("KeyAgreement", "XDH") != null) {
+            xdhEnabled = true;
+        }
+        else {
+            System.out.println("XDH KeyAgreement test skipped");
+        }
+    }
+
+    private void assumeEnabled() {
+        Assume.assumeTrue("XDH not compiled in", xdhEnabled);
+    }
+
+    private static PrivateKey privateKey(String pkcs8Hex, String provider)
+        throws Exception {
+
+        return KeyFactory.getInstance("XDH", provider).generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(pkcs8Hex)));
+    }
+
+    private static PublicKey publicKey(String rawHex, String provider)
+        throws Exception {
+
+        return KeyFactory.getInstance("XDH", provider).generatePublic(
+            new X509EncodedKeySpec(Util.h2b(SPKI_PREFIX + rawHex)));
+    }
+
+    private static byte[] agree(String provider, PrivateKey priv,
+        PublicKey peer) throws Exception {
+
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", provider);
+        ka.init(priv);
+        ka.doPhase(peer, true);
+
+        return ka.generateSecret();
+    }
+
+    /**
+     * Return SunEC provider if it supports XDH (JDK 11+), else skip test.
+     */
+    private static Provider assumeSunEC() {
+
+        Provider sun = Security.getProvider("SunEC");
+        Assume.assumeTrue("SunEC XDH not available",
+            sun != null && sun.getService("KeyAgreement", "XDH") != null);
+
+        return sun;
+    }
+
+    @Test
+    public void testGetKeyAgreementFromProvider() throws Exception {
+
+        assumeEnabled();
+
+        for (String alg : new String[] { "XDH", "X25519", "1.3.101.110" }) {
+            KeyAgreement ka = KeyAgreement.getInstance(alg, "wolfJCE");
+            assertNotNull(ka);
+            assertEquals("wolfJCE", ka.getProvider().getName());
+            assertNotNull(KeyPairGenerator.getInstance(alg, "wolfJCE"));
+            assertNotNull(KeyFactory.getInstance(alg, "wolfJCE"));
+        }
+    }
+
+    @Test
+    public void testRfc7748Vector() throws Exception {
+
+        assumeEnabled();
+
+        PrivateKey alice = privateKey(ALICE_PKCS8, "wolfJCE");
+        PrivateKey bob = privateKey(BOB_PKCS8, "wolfJCE");
+
+        assertArrayEquals(Util.h2b(SHARED),
+            agree("wolfJCE", alice, publicKey(BOB_PUB, "wolfJCE")));
+        assertArrayEquals(Util.h2b(SHARED),
+            agree("wolfJCE", bob, publicKey(ALICE_PUB, "wolfJCE")));
+    }
+
+    @Test
+    public void testKeyPairGeneratorAndAgreement() throws Exception {
+
+        assumeEnabled();
+
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("XDH", "wolfJCE");
+        KeyPair a = kpg.generateKeyPair();
+        KeyPair b = kpg.generateKeyPair();
+
+        assertEquals("XDH", a.getPublic().getAlgorithm());
+        assertEquals("X.509", a.getPublic().getFormat());
+        assertEquals("PKCS#8", a.getPrivate().getFormat());
+        assertEquals(44, a.getPublic().getEncoded().length);
+        assertEquals(48, a.getPrivate().getEncoded().length);
+
+        byte[] s1 = agree("wolfJCE", a.getPrivate(), b.getPublic());
+        byte[] s2 = agree("wolfJCE", b.getPrivate(), a.getPublic());
+
+        assertEquals(32, s1.length);
+        assertArrayEquals(s1, s2);
+    }
+
+    @Test
+    public void testKeyPairGeneratorKeySize() throws Exception {
+
+        assumeEnabled();
+
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("XDH", "wolfJCE");
+        kpg.initialize(255);
+        assertNotNull(kpg.generateKeyPair());
+
+        try {
+            kpg.initialize(448);
+            fail("X448 key size should be rejected");
+        } catch (InvalidParameterException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testKeyPairGeneratorNamedParameterSpec() throws Exception {
+
+        assumeEnabled();
+
+        Class<?> npsCls;
+        try {
+            npsCls = Class.forName("java.security.spec.NamedParameterSpec");
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        AlgorithmParameterSpec x25519 =
+            (AlgorithmParameterSpec) npsCls.getField("X25519").get(null);
+        AlgorithmParameterSpec x448 =
+            (AlgorithmParameterSpec) npsCls.getField("X448").get(null);
+
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("XDH", "wolfJCE");
+        kpg.initialize(x25519);
+        KeyPair kp = kpg.generateKeyPair();
+
+        /* keys implement the JDK 11 XEC interfaces, as SunJSSE casts
+         * them and reads getParams() and getU() */
+        Class<?> xecPub =
+            Class.forName("java.security.interfaces.XECPublicKey");
+        Class<?> xecPriv =
+            Class.forName("java.security.interfaces.XECPrivateKey");
+        assertTrue(xecPub.isInstance(kp.getPublic()));
+        assertTrue(xecPriv.isInstance(kp.getPrivate()));
+        assertEquals(x25519, xecPub.getMethod("getParams")
+            .invoke(kp.getPublic()));
+
+        BigInteger u = (BigInteger) xecPub.getMethod("getU")
+            .invoke(kp.getPublic());
+        byte[] raw = new byte[32];
+        byte[] enc = kp.getPublic().getEncoded();
+        System.arraycopy(enc, enc.length - 32, raw, 0, 32);
+        byte[] be = new byte[32];
+        for (int i = 0; i < 32; i++) {
+            be[i] = raw[31 - i];
+        }
+        assertEquals(new BigInteger(1, be), u);
+
+        /* wolfJCE KeyAgreement accepts wrapped keys with params */
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", "wolfJCE");
+        ka.init(kp.getPrivate(), x25519);
+        ka.doPhase(kpg.generateKeyPair().getPublic(), true);
+        assertEquals(32, ka.generateSecret().length);
+
+        try {
+            kpg.initialize(x448);
+            fail("X448 NamedParameterSpec should be rejected");
+        } catch (java.security.InvalidAlgorithmParameterException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testReuseAfterGenerateSecret() throws Exception {
+
+        assumeEnabled();
+
+        PrivateKey alice = privateKey(ALICE_PKCS8, "wolfJCE");
+        PublicKey bobPub = publicKey(BOB_PUB, "wolfJCE");
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("XDH", "wolfJCE");
+
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", "wolfJCE");
+        ka.init(alice);
+
+        /* one init(), many agreements with the same private key */
+        for (int i = 0; i < 5; i++) {
+            KeyPair peer = kpg.generateKeyPair();
+            ka.doPhase(peer.getPublic(), true);
+            assertArrayEquals(agree("wolfJCE", peer.getPrivate(),
+                publicKey(ALICE_PUB, "wolfJCE")), ka.generateSecret());
+        }
+
+        ka.doPhase(bobPub, true);
+        byte[] out = new byte[40];
+        assertEquals(32, ka.generateSecret(out, 8));
+        byte[] secret = new byte[32];
+        System.arraycopy(out, 8, secret, 0, 32);
+        assertArrayEquals(Util.h2b(SHARED), secret);
+
+        try {
+            ka.generateSecret();
+            fail("generateSecret() without doPhase() should fail");
+        } catch (IllegalStateException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testSharedPrivateKeyAcrossThreads() throws Exception {
+
+        assumeEnabled();
+
+        final PrivateKey alice = privateKey(ALICE_PKCS8, "wolfJCE");
+        final PublicKey bobPub = publicKey(BOB_PUB, "wolfJCE");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+
+        try {
+            for (int i = 0; i < 32; i++) {
+                results.add(pool.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return agree("wolfJCE", alice, bobPub);
+                    }
+                }));
+            }
+            for (Future<byte[]> f : results) {
+                assertArrayEquals(Util.h2b(SHARED), f.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSmallOrderPeerRejected() throws Exception {
+
+        assumeEnabled();
+
+        PrivateKey alice = privateKey(ALICE_PKCS8, "wolfJCE");
+        String[] badPeers = new String[] {
+            /* u = 0 */
+            "0000000000000000000000000000000000000000000000000000000000000000",
+            /* u = 1 */
+            "0100000000000000000000000000000000000000000000000000000000000000",
+            /* point of order 8 */
+            "e0eb7a7c3b41b8ae1656e3faf19fc46ada098deb9c32b1fd866205165f49b800"
+        };
+
+        for (String bad : badPeers) {
+            KeyAgreement ka = KeyAgreement.getInstance("XDH", "wolfJCE");
+            ka.init(alice);
+            try {
+                ka.doPhase(publicKey(bad, "wolfJCE"), true);
+                fail("Small order peer key should be rejected: " + bad);
+            } catch (InvalidKeyException e) {
+                /* expected */
+            }
+
+            /* still usable with a valid peer */
+            ka.doPhase(publicKey(BOB_PUB, "wolfJCE"), true);
+            assertArrayEquals(Util.h2b(SHARED), ka.generateSecret());
+        }
+    }
+
+    @Test
+    public void testWrongKeyTypesRejected() throws Exception {
+
+        assumeEnabled();
+
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", "wolfJCE");
+        KeyPair ec;
+        try {
+            ec = KeyPairGenerator.getInstance("EC").generateKeyPair();
+        } catch (Exception e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        try {
+            ka.init(ec.getPrivate());
+            fail("EC private key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+
+        ka.init(privateKey(ALICE_PKCS8, "wolfJCE"));
+        try {
+            ka.doPhase(ec.getPublic(), true);
+            fail("EC public key should be rejected");
+        } catch (InvalidKeyException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testInteropWithSunEC() throws Exception {
+
+        assumeEnabled();
+        Provider sun = assumeSunEC();
+
+        KeyPair wolf = KeyPairGenerator.getInstance("XDH", "wolfJCE")
+            .generateKeyPair();
+        KeyPair sunKp = KeyPairGenerator.getInstance("XDH", sun)
+            .generateKeyPair();
+
+        /* each provider with its own private key and the other's public */
+        byte[] s1 = agree("wolfJCE", wolf.getPrivate(), sunKp.getPublic());
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", sun);
+        ka.init(sunKp.getPrivate());
+        ka.doPhase(wolf.getPublic(), true);
+        byte[] s2 = ka.generateSecret();
+        assertArrayEquals(s1, s2);
+
+        /* wolfJCE engine with SunEC private key, and SunEC engine with
+         * wolfJCE private key */
+        byte[] s3 = agree("wolfJCE", sunKp.getPrivate(), wolf.getPublic());
+        ka = KeyAgreement.getInstance("XDH", sun);
+        ka.init(wolf.getPrivate());
+        ka.doPhase(sunKp.getPublic(), true);
+        byte[] s4 = ka.generateSecret();
+        assertArrayEquals(s1, s3);
+        assertArrayEquals(s1, s4);
+
+        /* encodings are interchangeable */
+        assertArrayEquals(wolf.getPublic().getEncoded(),
+            KeyFactory.getInstance("XDH", sun).generatePublic(
+                new X509EncodedKeySpec(wolf.getPublic().getEncoded()))
+                .getEncoded());
+    }
+}
@@ -0,0 +1,361 @@
+/* WolfCryptXdhKeyFactoryTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.provider.jce.test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.security.Security;
+import java.security.Provider;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Arrays;
+import javax.crypto.KeyAgreement;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.provider.jce.WolfCryptProvider;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+import com.wolfssl.wolfcrypt.test.Util;
+
+/**
+ * JUnit tests for wolfJCE XDH (X25519) KeyFactory.
+ */
+public class WolfCryptXdhKeyFactoryTest {
+
+    private static boolean xdhEnabled = false;
+
+    /* RFC 7748 section 6.1 Alice keys, RFC 8410 encoded */
+    private static final String ALICE_PKCS8 =
+        "302e020100300506032b656e04220420" +
+        "77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a";
+    private static final String ALICE_SPKI =
+        "302a300506032b656e032100" +
+        "8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a";
+    private static final String ALICE_PRIV =
+        "77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a";
+    private static final String ALICE_PUB =
+        "8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a";
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void setUp() {
+        System.out.println("JCE WolfCryptXdhKeyFactoryTest Class");
+
+        Security.insertProviderAt(new WolfCryptProvider(), 1);
+
+        Provider p = Security.getProvider("wolfJCE");
+        if (p != null && p.getService("KeyFactory", "XDH") != null) {
+            xdhEnabled = true;
+        }
+        else {
+            System.out.println("XDH KeyFactory test skipped");
+        }
+    }
+
+    private void assumeEnabled() {
+        Assume.assumeTrue("XDH not compiled in", xdhEnabled);
+    }
+
+    private static KeyFactory factory() throws Exception {
+        return KeyFactory.getInstance("XDH", "wolfJCE");
+    }
+
+    private static byte[] reverse(byte[] in) {
+        byte[] out = new byte[in.length];
+        for (int i = 0; i < in.length; i++) {
+            out[i] = in[in.length - 1 - i];
+        }
+        return out;
+    }
+
+    /**
+     * Load java.security.spec classes added in JDK 11, or skip test.
+     */
+    private static Class<?> assumeJdkClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            Assume.assumeNoException(e);
+            return null;
+        }
+    }
+
+    @Test
+    public void testEncodedRoundTrip() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        PrivateKey priv = kf.generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(ALICE_PKCS8)));
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(Util.h2b(ALICE_SPKI)));
+
+        assertEquals("XDH", priv.getAlgorithm());
+        assertEquals("PKCS#8", priv.getFormat());
+        assertArrayEquals(Util.h2b(ALICE_PKCS8), priv.getEncoded());
+        assertEquals("XDH", pub.getAlgorithm());
+        assertEquals("X.509", pub.getFormat());
+        assertArrayEquals(Util.h2b(ALICE_SPKI), pub.getEncoded());
+
+        PKCS8EncodedKeySpec privSpec =
+            kf.getKeySpec(priv, PKCS8EncodedKeySpec.class);
+        X509EncodedKeySpec pubSpec =
+            kf.getKeySpec(pub, X509EncodedKeySpec.class);
+        assertArrayEquals(Util.h2b(ALICE_PKCS8), privSpec.getEncoded());
+        assertArrayEquals(Util.h2b(ALICE_SPKI), pubSpec.getEncoded());
+
+        assertEquals(priv, kf.generatePrivate(privSpec));
+        assertEquals(pub, kf.generatePublic(pubSpec));
+        assertEquals(pub.hashCode(),
+            kf.generatePublic(pubSpec).hashCode());
+    }
+
+    @Test
+    public void testGeneratedKeysRoundTrip() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        KeyPair kp = KeyPairGenerator.getInstance("XDH", "wolfJCE")
+            .generateKeyPair();
+
+        PrivateKey priv = kf.generatePrivate(
+            new PKCS8EncodedKeySpec(kp.getPrivate().getEncoded()));
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(kp.getPublic().getEncoded()));
+
+        assertEquals(kp.getPrivate(), priv);
+        assertEquals(kp.getPublic(), pub);
+    }
+
+    @Test
+    public void testPkcs8WithPublicKeyAccepted() throws Exception {
+
+        assumeEnabled();
+
+        /* RFC 8410 OneAsymmetricKey v1 with trailing [1] public key */
+        String v1 = "3051020101300506032b656e04220420" + ALICE_PRIV +
+            "812100" + ALICE_PUB;
+
+        PrivateKey priv = factory().generatePrivate(
+            new PKCS8EncodedKeySpec(Util.h2b(v1)));
+
+        /* re-encoded as v0 without public key */
+        assertArrayEquals(Util.h2b(ALICE_PKCS8), priv.getEncoded());
+    }
+
+    @Test
+    public void testInvalidEncodingsRejected() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        String[] badPub = new String[] {
+            "",
+            /* truncated */
+            ALICE_SPKI.substring(0, ALICE_SPKI.length() - 2),
+            /* Ed25519 OID 1.3.101.112 */
+            "302a300506032b6570032100" + ALICE_PUB,
+            /* trailing data */
+            ALICE_SPKI + "00",
+        };
+        String[] badPriv = new String[] {
+            "",
+            ALICE_PKCS8.substring(0, ALICE_PKCS8.length() - 2),
+            "302e020100300506032b657004220420" + ALICE_PRIV,
+            /* 31 byte private key */
+            "302d020100300506032b656e0421041f" +
+                ALICE_PRIV.substring(2),
+        };
+
+        for (String bad : badPub) {
+            try {
+                kf.generatePublic(new X509EncodedKeySpec(Util.h2b(bad)));
+                fail("Invalid X.509 encoding should fail: " + bad);
+            } catch (InvalidKeySpecException e) {
+                /* expected */
+            }
+        }
+        for (String bad : badPriv) {
+            try {
+                kf.generatePrivate(new PKCS8EncodedKeySpec(Util.h2b(bad)));
+                fail("Invalid PKCS#8 encoding should fail: " + bad);
+            } catch (InvalidKeySpecException e) {
+                /* expected */
+            }
+        }
+
+        /* wrong KeySpec types */
+        try {
+            kf.generatePublic(new PKCS8EncodedKeySpec(Util.h2b(ALICE_PKCS8)));
+            fail("PKCS8EncodedKeySpec should fail for public key");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+        try {
+            kf.generatePrivate(new X509EncodedKeySpec(Util.h2b(ALICE_SPKI)));
+            fail("X509EncodedKeySpec should fail for private key");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testXecKeySpecs() throws Exception {
+
+        assumeEnabled();
+
+        Class<?> npsCls =
+            assumeJdkClass("java.security.spec.NamedParameterSpec");
+        Class<?> pubSpecCls =
+            assumeJdkClass("java.security.spec.XECPublicKeySpec");
+        Class<?> privSpecCls =
+            assumeJdkClass("java.security.spec.XECPrivateKeySpec");
+
+        AlgorithmParameterSpec x25519 =
+            (AlgorithmParameterSpec) npsCls.getField("X25519").get(null);
+        AlgorithmParameterSpec x448 =
+            (AlgorithmParameterSpec) npsCls.getField("X448").get(null);
+        BigInteger u = new BigInteger(1, reverse(Util.h2b(ALICE_PUB)));
+
+        KeyFactory kf = factory();
+        KeySpec pubSpec = (KeySpec) pubSpecCls.getConstructor(
+            AlgorithmParameterSpec.class, BigInteger.class)
+            .newInstance(x25519, u);
+        KeySpec privSpec = (KeySpec) privSpecCls.getConstructor(
+            AlgorithmParameterSpec.class, byte[].class)
+            .newInstance(x25519, Util.h2b(ALICE_PRIV));
+
+        PublicKey pub = kf.generatePublic(pubSpec);
+        PrivateKey priv = kf.generatePrivate(privSpec);
+        assertArrayEquals(Util.h2b(ALICE_SPKI), pub.getEncoded());
+        assertArrayEquals(Util.h2b(ALICE_PKCS8), priv.getEncoded());
+
+        /* and back to XEC key specs */
+        @SuppressWarnings("unchecked")
+        KeySpec outPub = kf.getKeySpec(pub,
+            (Class<KeySpec>) pubSpecCls);
+        @SuppressWarnings("unchecked")
+        KeySpec outPriv = kf.getKeySpec(priv,
+            (Class<KeySpec>) privSpecCls);
+        assertEquals(u, pubSpecCls.getMethod("getU").invoke(outPub));
+        assertArrayEquals(Util.h2b(ALICE_PRIV),
+            (byte[]) privSpecCls.getMethod("getScalar").invoke(outPriv));
+        assertEquals(x25519,
+            pubSpecCls.getMethod("getParams").invoke(outPub));
+
+        /* X448 params rejected */
+        try {
+            kf.generatePublic((KeySpec) pubSpecCls.getConstructor(
+                AlgorithmParameterSpec.class, BigInteger.class)
+                .newInstance(x448, u));
+            fail("X448 XECPublicKeySpec should be rejected");
+        } catch (InvalidKeySpecException e) {
+            /* expected */
+        }
+    }
+
+    @Test
+    public void testTranslateKey() throws Exception {
+
+        assumeEnabled();
+
+        KeyFactory kf = factory();
+        PublicKey pub = kf.generatePublic(
+            new X509EncodedKeySpec(Util.h2b(ALICE_SPKI)));
+
+        /* wolfJCE keys returned as-is */
+        assertSame(pub, kf.translateKey(pub));
+
+        Provider sun = Security.getProvider("SunEC");
+        Assume.assumeTrue("SunEC XDH not available",
+            sun != null && sun.getService("KeyFactory", "XDH") != null);
+
+        KeyPair sunKp = KeyPairGenerator.getInstance("XDH", sun)
+            .generateKeyPair();
+        Key tPub = kf.translateKey(sunKp.getPublic());
+        Key tPriv = kf.translateKey(sunKp.getPrivate());
+
+        assertArrayEquals(sunKp.getPublic().getEncoded(), tPub.getEncoded());
+        assertArrayEquals(sunKp.getPrivate().getEncoded(),
+            tPriv.getEncoded());
+
+        /* translated private key usable with wolfJCE KeyAgreement */
+        KeyPair peer = KeyPairGenerator.getInstance("XDH", "wolfJCE")
+            .generateKeyPair();
+        KeyAgreement ka = KeyAgreement.getInstance("XDH", "wolfJCE");
+        ka.init(tPriv);
+        ka.doPhase(peer.getPublic(), true);
+        byte[] s1 = ka.generateSecret();
+
+        ka = KeyAgreement.getInstance("XDH", sun);
+        ka.init(sunKp.getPrivate());
+        ka.doPhase(peer.getPublic(), true);
+        assertArrayEquals(ka.generateSecret(), s1);
+    }
+
+    @Test
+    public void testKeySerialization() throws Exception {
+
+        assumeEnabled();
+
+        KeyPair kp = KeyPairGenerator.getInstance("XDH", "wolfJCE")
+            .generateKeyPair();
+
+        for (Key k : new Key[] { kp.getPublic(), kp.getPrivate() }) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(k);
+            oos.close();
+
+            ObjectInputStream ois = new ObjectInputStream(
+                new ByteArrayInputStream(bos.toByteArray()));
+            Key out = (Key) ois.readObject();
+            ois.close();
+
+            assertEquals(k, out);
+            assertEquals(k.getAlgorithm(), out.getAlgorithm());
+            assertTrue(Arrays.equals(k.getEncoded(), out.getEncoded()));
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.junit.runners.Suite.SuiteClasses;
     WolfCryptMessageDigestSha384Test.class,
     WolfCryptMessageDigestSha512Test.class,
     WolfCryptMessageDigestSha3Test.class,
+    WolfCryptMessageDigestTreeTest.class,
     WolfCryptRandomTest.class,
     WolfCryptSecretKeyTest.class,
     WolfCryptSecretKeyFactoryTest.class,
@@ -60,6 +61,10 @@ import org.junit.runners.Suite.SuiteClasses;
     WolfCryptMlKemKeyPairGeneratorTest.class,
     WolfCryptMlKemKeyFactoryTest.class,
     WolfCryptMlKemKemTest.class,
+    WolfCryptXdhKeyAgreementTest.class,
+    WolfCryptXdhKeyFactoryTest.class,
+    WolfCryptEdDSASignatureTest.class,
+    WolfCryptEdDSAKeyFactoryTest.class,
     WolfCryptXmssSignatureTest.class,
     WolfCryptXmssKeyFactoryTest.class,
     WolfCryptLmsSignatureTest.class,
@@ -73,6 +78,7 @@ import org.junit.runners.Suite.SuiteClasses;
     WolfSSLKeyStoreTest.class,
     WolfCryptUtilTest.class,
     WolfCryptServiceLoaderTest.class,
+    WolfCryptProviderTest.class,
     WolfCryptProviderIOTimeoutTest.class
 })
 
@@ -729,6 +729,128 @@ public class AesCcmTest {
         dec.releaseNativeStruct();
     }
 
+    @Test
+    public void testStreamingMatchesOneShot() throws WolfCryptException {
+
+        Assume.assumeTrue(FeatureDetect.AesCcmStreamEnabled());
+
+        byte[] key = new byte[16];
+        byte[] nonce = new byte[13];
+        byte[] authIn = new byte[21];
+        int[] sizes = { 0, 1, 15, 16, 17, 100, 5000 };
+        int[] pieces = { 1, 7, 16, 333 };
+
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte)(i * 7);
+        }
+        for (int i = 0; i < nonce.length; i++) {
+            nonce[i] = (byte)(i + 0x10);
+        }
+        for (int i = 0; i < authIn.length; i++) {
+            authIn[i] = (byte)(i ^ 0x5a);
+        }
+
+        AesCcm oneShot = new AesCcm();
+        AesCcm stream = new AesCcm();
+        oneShot.setKey(key);
+        stream.setKey(key);
+
+        try {
+            for (int size : sizes) {
+                byte[] plaintext = new byte[size];
+                for (int i = 0; i < size; i++) {
+                    plaintext[i] = (byte)(i & 0xff);
+                }
+
+                byte[] expTag = new byte[16];
+                byte[] expCt = oneShot.encrypt(plaintext, nonce, expTag,
+                    authIn);
+
+                for (int piece : pieces) {
+                    byte[] ct = new byte[size];
+                    byte[] pt = new byte[size];
+                    byte[] tag = new byte[16];
+
+                    stream.encryptInit(nonce, tag.length, size, authIn);
+                    for (int off = 0; off < size; off += piece) {
+                        int len = Math.min(piece, size - off);
+                        byte[] out = stream.encryptUpdate(plaintext, off, len);
+                        System.arraycopy(out, 0, ct, off, out.length);
+                    }
+                    stream.encryptFinal(tag);
+
+                    assertArrayEquals(expCt, ct);
+                    assertArrayEquals(expTag, tag);
+
+                    stream.decryptInit(nonce, tag.length, size, authIn);
+                    for (int off = 0; off < size; off += piece) {
+                        int len = Math.min(piece, size - off);
+                        byte[] out = stream.decryptUpdate(ct, off, len);
+                        System.arraycopy(out, 0, pt, off, out.length);
+                    }
+                    stream.decryptFinal(tag);
+
+                    assertArrayEquals(plaintext, pt);
+                }
+            }
+        } finally {
+            oneShot.releaseNativeStruct();
+            stream.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void testStreamingBadTagAndLength() throws WolfCryptException {
+
+        Assume.assumeTrue(FeatureDetect.AesCcmStreamEnabled());
+
+        byte[] key = new byte[16];
+        byte[] nonce = new byte[12];
+        byte[] plaintext = new byte[40];
+        byte[] tag = new byte[16];
+
+        AesCcm aes = new AesCcm();
+        aes.setKey(key);
+
+        try {
+            aes.encryptInit(nonce, tag.length, plaintext.length, null);
+            byte[] ct = aes.encryptUpdate(plaintext, 0, plaintext.length);
+            aes.encryptFinal(tag);
+
+            /* Modified tag must be rejected */
+            tag[0] ^= 0x01;
+            aes.decryptInit(nonce, tag.length, ct.length, null);
+            aes.decryptUpdate(ct, 0, ct.length);
+            try {
+                aes.decryptFinal(tag);
+                fail("decryptFinal() with bad tag should fail");
+            } catch (WolfCryptException e) {
+                assertEquals(WolfCryptError.AES_CCM_AUTH_E, e.getError());
+            }
+
+            /* More input than declared length must be rejected */
+            aes.encryptInit(nonce, tag.length, 8, null);
+            try {
+                aes.encryptUpdate(plaintext, 0, 9);
+                fail("encryptUpdate() past data length should fail");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+
+            /* Less input than declared length must be rejected */
+            aes.encryptInit(nonce, tag.length, 8, null);
+            aes.encryptUpdate(plaintext, 0, 7);
+            try {
+                aes.encryptFinal(tag);
+                fail("encryptFinal() before data length should fail");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+        } finally {
+            aes.releaseNativeStruct();
+        }
+    }
+
     @Test
     public void testThreadedAes128() throws InterruptedException {
 
@@ -23,6 +23,7 @@ package com.wolfssl.wolfcrypt.test;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.Iterator;
@@ -32,6 +33,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import javax.crypto.ShortBufferException;
+
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -549,6 +552,150 @@ public class AesGcmTest {
         dec.releaseNativeStruct();
     }
 
+    @Test
+    public void testAesGcmStreamMatchesOneShot() throws WolfCryptException {
+
+        AesGcm enc = null;
+        AesGcm dec = null;
+        byte[] tag = new byte[t1.length];
+        byte[] badTag = null;
+        byte[] cipher = new byte[p.length];
+        byte[] plain = new byte[p.length];
+        byte[] tmp = null;
+        int split = 7;
+
+        /* skip test if AES-256 or native GCM streaming not compiled in */
+        if (!FeatureDetect.Aes256Enabled() ||
+            !FeatureDetect.AesGcmStreamEnabled()) {
+            return;
+        }
+
+        enc = new AesGcm();
+        dec = new AesGcm();
+
+        try {
+            enc.setKey(k1);
+            dec.setKey(k1);
+
+            try {
+                enc.encryptInit(iv1);
+            } catch (WolfCryptException e) {
+                if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                    /* streaming with external IV not allowed (FIPS) */
+                    return;
+                }
+                throw e;
+            }
+
+            /* encrypt in two chunks, AAD passed on first call */
+            tmp = enc.encryptUpdate(p, 0, split, a);
+            assertEquals(split, tmp.length);
+            System.arraycopy(tmp, 0, cipher, 0, tmp.length);
+            tmp = enc.encryptUpdate(p, split, p.length - split, null);
+            assertEquals(p.length - split, tmp.length);
+            System.arraycopy(tmp, 0, cipher, split, tmp.length);
+            enc.encryptFinal(tag);
+
+            assertArrayEquals(c1, cipher);
+            assertArrayEquals(t1, tag);
+
+            /* decrypt in two chunks */
+            dec.decryptInit(iv1);
+            tmp = dec.decryptUpdate(cipher, 0, split, a);
+            System.arraycopy(tmp, 0, plain, 0, tmp.length);
+            tmp = dec.decryptUpdate(cipher, split, cipher.length - split,
+                null);
+            System.arraycopy(tmp, 0, plain, split, tmp.length);
+            dec.decryptFinal(tag);
+
+            assertArrayEquals(p, plain);
+
+            /* bad tag should fail decrypt final */
+            badTag = tag.clone();
+            badTag[0] ^= 0x01;
+            dec.decryptInit(iv1);
+            dec.decryptUpdate(cipher, 0, cipher.length, a);
+            try {
+                dec.decryptFinal(badTag);
+                fail("decryptFinal() with bad tag should fail");
+            } catch (WolfCryptException e) {
+                assertEquals(WolfCryptError.AES_GCM_AUTH_E, e.getError());
+            }
+
+        } finally {
+            enc.releaseNativeStruct();
+            dec.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void testAesGcmDirectByteBuffer() throws Exception {
+
+        AesGcm enc = null;
+        AesGcm dec = null;
+        byte[] tag = new byte[t1.length];
+        byte[] out = null;
+
+        /* skip test if AES-256 is not compiled in native library */
+        if (!FeatureDetect.Aes256Enabled()) {
+            return;
+        }
+
+        enc = new AesGcm();
+        dec = new AesGcm();
+
+        try {
+            enc.setKey(k1);
+            dec.setKey(k1);
+
+            ByteBuffer in = ByteBuffer.allocateDirect(p.length);
+            in.put(p);
+            in.flip();
+            ByteBuffer ct = ByteBuffer.allocateDirect(p.length);
+
+            assertEquals(p.length, enc.encrypt(in, ct, iv1, tag, a));
+            assertEquals(0, in.remaining());
+            assertEquals(p.length, ct.position());
+            ct.flip();
+            out = new byte[ct.remaining()];
+            ct.get(out);
+            assertArrayEquals(c1, out);
+            assertArrayEquals(t1, tag);
+
+            /* in-place decrypt using duplicate() view of same memory */
+            ct.rewind();
+            ByteBuffer view = ct.duplicate();
+            assertEquals(p.length, dec.decrypt(ct, view, iv1, tag, a));
+            ct.rewind();
+            out = new byte[ct.remaining()];
+            ct.get(out);
+            assertArrayEquals(p, out);
+
+            /* heap buffers should be rejected */
+            try {
+                enc.encrypt(ByteBuffer.wrap(p), ByteBuffer.allocate(p.length),
+                    iv1, tag, a);
+                fail("encrypt() with heap ByteBuffers should fail");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+
+            /* short output buffer should be rejected */
+            in.rewind();
+            try {
+                enc.encrypt(in, ByteBuffer.allocateDirect(p.length - 1),
+                    iv1, tag, a);
+                fail("encrypt() with short output should fail");
+            } catch (ShortBufferException e) {
+                /* expected */
+            }
+
+        } finally {
+            enc.releaseNativeStruct();
+            dec.releaseNativeStruct();
+        }
+    }
+
     @Test
     public void testAesGcmFipsIvSizeRestriction() throws WolfCryptException {
 
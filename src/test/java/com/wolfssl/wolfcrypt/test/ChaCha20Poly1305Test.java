@@ -0,0 +1,270 @@
+/* ChaCha20Poly1305Test.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt.test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.wolfcrypt.ChaCha20Poly1305;
+import com.wolfssl.wolfcrypt.NativeStruct;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfCryptError;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+
+public class ChaCha20Poly1305Test {
+
+    /* RFC 8439 section 2.8.2 test vector */
+    private static final byte[] KEY = Util.h2b(
+        "808182838485868788898A8B8C8D8E8F" +
+        "909192939495969798999A9B9C9D9E9F");
+
+    private static final byte[] NONCE = Util.h2b("070000004041424344454647");
+
+    private static final byte[] AAD = Util.h2b("50515253C0C1C2C3C4C5C6C7");
+
+    private static final byte[] PLAINTEXT = ("Ladies and Gentlemen of the " +
+        "class of '99: If I could offer you only one tip for the future, " +
+        "sunscreen would be it.").getBytes();
+
+    private static final byte[] CIPHERTEXT = Util.h2b(
+        "D31A8D34648E60DB7B86AFBC53EF7EC2A4ADED51296E08FEA9E2B5A736EE62D6" +
+        "3DBEA45E8CA9671282FAFB69DA92728B1A71DE0A9E060B2905D6A5B67ECD3B36" +
+        "92DDBD7F2D778B8C9803AEE328091B58FAB324E4FAD675945585808B4831D7BC" +
+        "3FF4DEF08E4B7A9DE576D26586CEC64B6116");
+
+    private static final byte[] TAG = Util.h2b(
+        "1AE10B594F09E26A7E902ECBD0600691");
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void checkChaCha20Poly1305IsAvailable() {
+        try {
+            new ChaCha20Poly1305();
+            System.out.println("JNI ChaCha20Poly1305 Class");
+        } catch (WolfCryptException e) {
+            if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                System.out.println("ChaCha20Poly1305Test skipped: " +
+                    e.getError());
+                Assume.assumeTrue(false);
+            }
+        }
+    }
+
+    @Test
+    public void constructorShouldNotInitializeNativeStruct() {
+        assertEquals(NativeStruct.NULL,
+            new ChaCha20Poly1305().getNativeStruct());
+    }
+
+    @Test
+    public void oneShotShouldMatchTestVector() {
+
+        ChaCha20Poly1305 aead = new ChaCha20Poly1305();
+        byte[] tag = new byte[ChaCha20Poly1305.TAG_SIZE];
+
+        try {
+            aead.setKey(KEY);
+            byte[] ct = aead.encrypt(PLAINTEXT, NONCE, tag, AAD);
+            assertArrayEquals(CIPHERTEXT, ct);
+            assertArrayEquals(TAG, tag);
+
+            assertArrayEquals(PLAINTEXT,
+                aead.decrypt(CIPHERTEXT, NONCE, TAG, AAD));
+
+            /* Empty input and no AAD */
+            ct = aead.encrypt(new byte[0], NONCE, tag, null);
+            assertEquals(0, ct.length);
+            assertEquals(0, aead.decrypt(ct, NONCE, tag, null).length);
+
+        } finally {
+            aead.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void streamingShouldMatchTestVector() {
+
+        ChaCha20Poly1305 aead = new ChaCha20Poly1305();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] tag = new byte[ChaCha20Poly1305.TAG_SIZE];
+
+        try {
+            aead.setKey(KEY);
+
+            /* Odd sized updates, AAD only on first call */
+            aead.encryptInit(NONCE);
+            for (int off = 0; off < PLAINTEXT.length; off += 13) {
+                byte[] tmp = aead.encryptUpdate(PLAINTEXT, off,
+                    Math.min(13, PLAINTEXT.length - off),
+                    (off == 0) ? AAD : null);
+                out.write(tmp, 0, tmp.length);
+            }
+            aead.encryptFinal(tag);
+            assertArrayEquals(CIPHERTEXT, out.toByteArray());
+            assertArrayEquals(TAG, tag);
+
+            out.reset();
+            aead.decryptInit(NONCE);
+            for (int off = 0; off < CIPHERTEXT.length; off += 7) {
+                byte[] tmp = aead.decryptUpdate(CIPHERTEXT, off,
+                    Math.min(7, CIPHERTEXT.length - off),
+                    (off == 0) ? AAD : null);
+                out.write(tmp, 0, tmp.length);
+            }
+            aead.decryptFinal(TAG);
+            assertArrayEquals(PLAINTEXT, out.toByteArray());
+
+            /* Update without init should fail */
+            try {
+                aead.encryptUpdate(PLAINTEXT, 0, 1, null);
+                fail("encryptUpdate() without encryptInit() should fail");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+
+        } finally {
+            aead.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void directByteBufferShouldMatchTestVector() throws Exception {
+
+        ChaCha20Poly1305 aead = new ChaCha20Poly1305();
+        byte[] tag = new byte[ChaCha20Poly1305.TAG_SIZE];
+        ByteBuffer in = ByteBuffer.allocateDirect(PLAINTEXT.length);
+        ByteBuffer out = ByteBuffer.allocateDirect(PLAINTEXT.length);
+        byte[] tmp = new byte[PLAINTEXT.length];
+
+        try {
+            aead.setKey(KEY);
+
+            in.put(PLAINTEXT).flip();
+            assertEquals(PLAINTEXT.length,
+                aead.encrypt(in, out, NONCE, tag, AAD));
+            assertEquals(0, in.remaining());
+            out.flip();
+            out.get(tmp);
+            assertArrayEquals(CIPHERTEXT, tmp);
+            assertArrayEquals(TAG, tag);
+
+            /* In-place decrypt */
+            out.flip();
+            ByteBuffer inPlace = out.duplicate();
+            assertEquals(CIPHERTEXT.length,
+                aead.decrypt(out, inPlace, NONCE, TAG, AAD));
+            inPlace.flip();
+            inPlace.get(tmp);
+            assertArrayEquals(PLAINTEXT, tmp);
+
+            /* Heap buffers are rejected */
+            try {
+                aead.encrypt(ByteBuffer.wrap(PLAINTEXT),
+                    ByteBuffer.allocate(PLAINTEXT.length), NONCE, tag, AAD);
+                fail("Heap ByteBuffer should be rejected");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+
+        } finally {
+            aead.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void badTagShouldFailDecrypt() {
+
+        ChaCha20Poly1305 aead = new ChaCha20Poly1305();
+        byte[] badTag = TAG.clone();
+        badTag[0] ^= 0x01;
+
+        try {
+            aead.setKey(KEY);
+
+            try {
+                aead.decrypt(CIPHERTEXT, NONCE, badTag, AAD);
+                fail("Decrypt with bad tag should fail");
+            } catch (WolfCryptException e) {
+                assertEquals(WolfCryptError.MAC_CMP_FAILED_E, e.getError());
+            }
+
+            aead.decryptInit(NONCE);
+            aead.decryptUpdate(CIPHERTEXT, 0, CIPHERTEXT.length, AAD);
+            try {
+                aead.decryptFinal(badTag);
+                fail("Streaming decrypt with bad tag should fail");
+            } catch (WolfCryptException e) {
+                assertEquals(WolfCryptError.MAC_CMP_FAILED_E, e.getError());
+            }
+
+        } finally {
+            aead.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void streamingShouldMatchOneShotRandomSizes() {
+
+        ChaCha20Poly1305 aead = new ChaCha20Poly1305();
+        Random rand = new Random(2468);
+        byte[] tag = new byte[ChaCha20Poly1305.TAG_SIZE];
+        byte[] streamTag = new byte[ChaCha20Poly1305.TAG_SIZE];
+        int[] sizes = new int[] { 0, 1, 63, 64, 65, 1000, 4097 };
+
+        try {
+            aead.setKey(KEY);
+
+            for (int sz : sizes) {
+                byte[] in = new byte[sz];
+                rand.nextBytes(in);
+                byte[] expected = aead.encrypt(in, NONCE, tag, AAD);
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                aead.encryptInit(NONCE);
+                out.write(aead.encryptUpdate(new byte[0], 0, 0, AAD), 0, 0);
+                for (int off = 0; off < sz; off += 100) {
+                    byte[] tmp = aead.encryptUpdate(in, off,
+                        Math.min(100, sz - off), null);
+                    out.write(tmp, 0, tmp.length);
+                }
+                aead.encryptFinal(streamTag);
+
+                assertArrayEquals("size " + sz, expected, out.toByteArray());
+                assertArrayEquals("size " + sz, tag, streamTag);
+            }
+
+        } finally {
+            aead.releaseNativeStruct();
+        }
+    }
+}
@@ -210,5 +210,148 @@ public class Curve25519Test {
         origKey.releaseNativeStruct();
         importedKey.releaseNativeStruct();
     }
-}
 
+    /* RFC 7748 section 6.1 test vector, little endian */
+    private static final String RFC7748_ALICE_PRIV =
+        "77076d0a7318a57d3c16c17251b26645df4c2f87ebc0992ab177fba51db92c2a";
+    private static final String RFC7748_ALICE_PUB =
+        "8520f0098930a754748b7ddcb43ef75a0dbf3a0d26381af4eba4a98eaa9b4e6a";
+    private static final String RFC7748_BOB_PRIV =
+        "5dab087e624a8a4b79e17f8b83800ee66f3bb1292618b6fd1c2f8b27ff88e0eb";
+    private static final String RFC7748_BOB_PUB =
+        "de9edb7d7b7dc1b4d35b61c2ece435373f8343c85b78674dadfc7e146f882b4f";
+    private static final String RFC7748_SHARED =
+        "4a5d9d5ba4ce2de1728e3bf480350f25e07e21c947d19e3376f09b3c1e161742";
+
+    private static byte[] reverse(byte[] in) {
+
+        byte[] out = new byte[in.length];
+        for (int i = 0; i < in.length; i++) {
+            out[i] = in[in.length - 1 - i];
+        }
+
+        return out;
+    }
+
+    @Test
+    public void rawSharedSecretMatchesRfc7748Vector() {
+
+        assumeEnabled();
+
+        Curve25519 alice = new Curve25519();
+        Curve25519 bob = new Curve25519();
+
+        try {
+            alice.importPrivateOnly(Util.h2b(RFC7748_ALICE_PRIV),
+                Curve25519.LITTLE_ENDIAN);
+            bob.importPrivateOnly(Util.h2b(RFC7748_BOB_PRIV),
+                Curve25519.LITTLE_ENDIAN);
+
+            assertArrayEquals(Util.h2b(RFC7748_SHARED),
+                alice.makeSharedSecret(Util.h2b(RFC7748_BOB_PUB),
+                    Curve25519.LITTLE_ENDIAN));
+            assertArrayEquals(Util.h2b(RFC7748_SHARED),
+                bob.makeSharedSecret(Util.h2b(RFC7748_ALICE_PUB),
+                    Curve25519.LITTLE_ENDIAN));
+
+            /* private key is not consumed, same object can be reused */
+            assertArrayEquals(Util.h2b(RFC7748_SHARED),
+                alice.makeSharedSecret(Util.h2b(RFC7748_BOB_PUB),
+                    Curve25519.LITTLE_ENDIAN));
+
+            /* big endian peer key gives big endian secret */
+            assertArrayEquals(reverse(Util.h2b(RFC7748_SHARED)),
+                alice.makeSharedSecret(reverse(Util.h2b(RFC7748_BOB_PUB)),
+                    Curve25519.BIG_ENDIAN));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+
+        } finally {
+            alice.releaseNativeStruct();
+            bob.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void littleEndianExportMatchesBigEndian() {
+
+        assumeEnabled();
+
+        Curve25519 key = new Curve25519();
+        Curve25519 peer = new Curve25519();
+        Curve25519 imported = new Curve25519();
+
+        synchronized (rngLock) {
+            key.makeKey(rng, Curve25519.CURVE25519_KEY_SIZE);
+            peer.makeKey(rng, Curve25519.CURVE25519_KEY_SIZE);
+        }
+
+        try {
+            byte[] pubLE = key.exportPublic(Curve25519.LITTLE_ENDIAN);
+            byte[] privLE = key.exportPrivate(Curve25519.LITTLE_ENDIAN);
+
+            assertArrayEquals(reverse(key.exportPublic()), pubLE);
+            assertArrayEquals(reverse(key.exportPrivate()), privLE);
+
+            /* raw peer path matches shared secret from peer object */
+            byte[] peerLE = peer.exportPublic(Curve25519.LITTLE_ENDIAN);
+            assertArrayEquals(reverse(key.makeSharedSecret(peer)),
+                key.makeSharedSecret(peerLE, Curve25519.LITTLE_ENDIAN));
+
+            /* little endian public import round trips */
+            imported.importPublic(pubLE, Curve25519.LITTLE_ENDIAN);
+            assertArrayEquals(pubLE,
+                imported.exportPublic(Curve25519.LITTLE_ENDIAN));
+            assertArrayEquals(peer.makeSharedSecret(key),
+                peer.makeSharedSecret(imported));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+
+        } finally {
+            key.releaseNativeStruct();
+            peer.releaseNativeStruct();
+            imported.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void rawSharedSecretRejectsSmallOrderPeer() {
+
+        assumeEnabled();
+
+        Curve25519 key = new Curve25519();
+        byte[] zero = new byte[Curve25519.CURVE25519_KEY_SIZE];
+        byte[] one = new byte[Curve25519.CURVE25519_KEY_SIZE];
+        one[0] = 1;
+
+        try {
+            key.importPrivateOnly(Util.h2b(RFC7748_ALICE_PRIV),
+                Curve25519.LITTLE_ENDIAN);
+
+            for (byte[] bad : new byte[][] { zero, one }) {
+                try {
+                    key.makeSharedSecret(bad, Curve25519.LITTLE_ENDIAN);
+                    fail("Small order peer key should be rejected");
+                } catch (WolfCryptException e) {
+                    if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                        throw e;
+                    }
+                    /* expected */
+                }
+            }
+
+            /* key is still usable after a rejected peer */
+            assertArrayEquals(Util.h2b(RFC7748_SHARED),
+                key.makeSharedSecret(Util.h2b(RFC7748_BOB_PUB),
+                    Curve25519.LITTLE_ENDIAN));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+
+        } finally {
+            key.releaseNativeStruct();
+        }
+    }
+}
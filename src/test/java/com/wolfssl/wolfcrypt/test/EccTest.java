@@ -34,6 +34,7 @@ import org.junit.runner.Description;
 import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
@@ -996,5 +997,132 @@ public class EccTest {
                              firstResult, result);
         }
     }
+
+    @Test
+    public void verifyBatchShouldMatchSingleVerify() throws Exception {
+        Ecc alice = new Ecc();
+        Ecc bob = new Ecc();
+        int count = 16;
+        Ecc[] keys = new Ecc[count];
+        byte[][] hashes = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        synchronized (rngLock) {
+            alice.makeKey(rng, 32);
+            bob.makeKey(rng, 32);
+        }
+
+        for (int i = 0; i < count; i++) {
+            keys[i] = (i % 3 == 0) ? bob : alice;
+            hashes[i] = Arrays.copyOf(
+                ("Everyone gets Friday off. batch " + i).getBytes(), 32);
+            synchronized (rngLock) {
+                sigs[i] = keys[i].sign(hashes[i], rng);
+            }
+        }
+
+        /* Corrupt one hash, and verify one signature with the wrong key */
+        hashes[5][0] ^= 0x01;
+        keys[7] = bob;
+
+        try {
+            BitSet res = Ecc.verifyBatch(keys, hashes, sigs, pool, 4);
+            BitSet resSerial = Ecc.verifyBatch(keys, hashes, sigs, null, 1);
+            BitSet resDefault = Ecc.verifyBatch(keys, hashes, sigs);
+
+            for (int i = 0; i < count; i++) {
+                boolean expected = (i != 5 && i != 7);
+                assertEquals("item " + i, expected, res.get(i));
+                assertEquals(keys[i].verify(hashes[i], sigs[i]), res.get(i));
+            }
+            assertEquals(res, resSerial);
+            assertEquals(res, resDefault);
+
+            /* Keys passed in are still usable after batch */
+            assertTrue(alice.verify(hashes[1], sigs[1]));
+
+        } finally {
+            pool.shutdown();
+            alice.releaseNativeStruct();
+            bob.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void verifyBatchWithDistinctKeys() throws Exception {
+        /* More distinct keys than one native call takes, every item
+         * using its own key */
+        int count = 70;
+        Ecc[] keys = new Ecc[count];
+        byte[][] hashes = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                keys[i] = new Ecc();
+                hashes[i] = Arrays.copyOf(
+                    ("Everyone gets Friday off. key " + i).getBytes(), 32);
+                synchronized (rngLock) {
+                    keys[i].makeKey(rng, 32);
+                    sigs[i] = keys[i].sign(hashes[i], rng);
+                }
+            }
+
+            /* Corrupt one hash, and swap keys of two items */
+            hashes[10][0] ^= 0x01;
+            Ecc tmp = keys[20];
+            keys[20] = keys[21];
+            keys[21] = tmp;
+
+            BitSet res = Ecc.verifyBatch(keys, hashes, sigs, pool, 4);
+            BitSet resSerial = Ecc.verifyBatch(keys, hashes, sigs, null, 1);
+
+            for (int i = 0; i < count; i++) {
+                boolean expected = (i != 10 && i != 20 && i != 21);
+                assertEquals("item " + i, expected, res.get(i));
+            }
+            assertEquals(res, resSerial);
+
+        } finally {
+            pool.shutdown();
+            for (Ecc k : keys) {
+                if (k != null) {
+                    k.releaseNativeStruct();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyBatchShouldRejectBadArgs() {
+        Ecc key = new Ecc();
+
+        synchronized (rngLock) {
+            key.makeKey(rng, 32);
+        }
+
+        try {
+            Ecc.verifyBatch(new Ecc[] { key }, new byte[2][1],
+                new byte[1][1]);
+            fail("verifyBatch() should throw on mismatched array lengths");
+        } catch (IllegalArgumentException e) {
+            /* expected */
+        }
+
+        try {
+            Ecc.verifyBatch(new Ecc[] { new Ecc() }, new byte[1][1],
+                new byte[1][1]);
+            fail("verifyBatch() should throw when key not loaded");
+        } catch (IllegalStateException e) {
+            /* expected */
+        }
+
+        assertTrue(Ecc.verifyBatch(new Ecc[0], new byte[0][],
+            new byte[0][]).isEmpty());
+
+        key.releaseNativeStruct();
+    }
 }
 
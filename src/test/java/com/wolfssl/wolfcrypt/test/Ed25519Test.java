@@ -29,6 +29,11 @@ import org.junit.Test;
 import org.junit.Rule;
 import org.junit.rules.TestRule;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import com.wolfssl.wolfcrypt.Ed25519;
 import com.wolfssl.wolfcrypt.Rng;
 import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
@@ -326,5 +331,295 @@ public class Ed25519Test {
 
         key.releaseNativeStruct();
     }
+
+    @Test
+    public void importPrivateDerivePublicRfc8032Vector() {
+
+        assumeEnabled();
+
+        /* RFC 8032 section 7.1, TEST 1 */
+        byte[] priv = Util.h2b("9d61b19deffd5a60ba844af492ec2cc4" +
+                               "4449c5697b326919703bac031cae7f60");
+        byte[] pub = Util.h2b("d75a980182b10ab7d54bfed3c964073a" +
+                              "0ee172f3daa62325af021a68f707511a");
+        byte[] expSig = Util.h2b(
+            "e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e06522490155" +
+            "5fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b");
+
+        Ed25519 key = new Ed25519();
+        try {
+            key.importPrivateDerivePublic(priv);
+        } catch (WolfCryptException e) {
+            key.releaseNativeStruct();
+            skipIfNotCompiledIn(e);
+            return;
+        }
+
+        try {
+            assertArrayEquals(pub, key.exportPublic());
+            assertArrayEquals(expSig, key.sign_msg(new byte[0]));
+            assertArrayEquals(expSig, key.sign_msg(new byte[0], 0, 0,
+                Ed25519.TYPE_ED25519, null));
+            assertTrue(key.verify_msg(new byte[0], 0, 0, expSig,
+                Ed25519.TYPE_ED25519, null));
+        } finally {
+            key.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void signVerifyCtxRfc8032Vector() {
+
+        assumeEnabled();
+
+        /* RFC 8032 section 7.2, Ed25519ctx 'foo' */
+        byte[] priv = Util.h2b("0305334e381af78f141cb666f6199f57" +
+                               "bc3495335a256a95bd2a55bf546663f6");
+        byte[] msg = Util.h2b("f726936d19c800494e3fdaff20b276a8");
+        byte[] ctx = Util.h2b("666f6f");
+        byte[] expSig = Util.h2b(
+            "55a4cc2f70a54e04288c5f4cd1e45a7bb520b36292911876cada7323198dd87a" +
+            "8b36950b95130022907a7fb7c4e9b2d5f6cca685a587b4b21f4b888e4e7edb0d");
+
+        Ed25519 key = new Ed25519();
+        try {
+            key.importPrivateDerivePublic(priv);
+            assertArrayEquals(expSig, key.sign_msg(msg, 0, msg.length,
+                Ed25519.TYPE_ED25519_CTX, ctx));
+        } catch (WolfCryptException e) {
+            key.releaseNativeStruct();
+            skipIfNotCompiledIn(e);
+            return;
+        }
+
+        try {
+            assertTrue(key.verify_msg(msg, 0, msg.length, expSig,
+                Ed25519.TYPE_ED25519_CTX, ctx));
+            /* Different context must not verify */
+            assertFalse(key.verify_msg(msg, 0, msg.length, expSig,
+                Ed25519.TYPE_ED25519_CTX, Util.h2b("626172")));
+            /* Plain Ed25519 must not verify */
+            assertFalse(key.verify_msg(msg, 0, msg.length, expSig,
+                Ed25519.TYPE_ED25519, null));
+        } finally {
+            key.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void signVerifyPhRfc8032Vector() {
+
+        assumeEnabled();
+
+        /* RFC 8032 section 7.3, Ed25519ph 'abc', message passed as its
+         * SHA-512 hash */
+        byte[] priv = Util.h2b("833fe62409237b9d62ec77587520911e" +
+                               "9a759cec1d19755b7da901b96dca3d42");
+        byte[] hash = Util.h2b(
+            "ddaf35a193617abacc417349ae20413112e6fa4e89a97ea20a9eeee64b55d39a" +
+            "2192992a274fc1a836ba3c23a3feebbd454d4423643ce80e2a9ac94fa54ca49f");
+        byte[] expSig = Util.h2b(
+            "98a70222f0b8121aa9d30f813d683f809e462b469c7ff87639499bb94e6dae41" +
+            "31f85042463c2a355a2003d062adf5aaa10b8c61e636062aaad11c2a26083406");
+
+        Ed25519 key = new Ed25519();
+        try {
+            key.importPrivateDerivePublic(priv);
+            assertArrayEquals(expSig, key.sign_msg(hash, 0, hash.length,
+                Ed25519.TYPE_ED25519_PH, null));
+        } catch (WolfCryptException e) {
+            key.releaseNativeStruct();
+            skipIfNotCompiledIn(e);
+            return;
+        }
+
+        try {
+            assertTrue(key.verify_msg(hash, 0, hash.length, expSig,
+                Ed25519.TYPE_ED25519_PH, null));
+        } finally {
+            key.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void signVerifyWithOffsetShouldMatchCopy() {
+
+        assumeEnabled();
+
+        Ed25519 key = new Ed25519();
+
+        synchronized (rngLock) {
+            key.makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+        }
+
+        byte[] buf = "xxxxEveryone gets Friday off.yyyy".getBytes();
+        byte[] msg = Arrays.copyOfRange(buf, 4, buf.length - 4);
+
+        try {
+            byte[] sig = key.sign_msg(buf, 4, msg.length,
+                Ed25519.TYPE_ED25519, null);
+
+            /* Ed25519 is deterministic */
+            assertArrayEquals(key.sign_msg(msg), sig);
+            assertTrue(key.verify_msg(msg, sig));
+            assertTrue(key.verify_msg(buf, 4, msg.length, sig,
+                Ed25519.TYPE_ED25519, null));
+            assertFalse(key.verify_msg(buf, 3, msg.length, sig,
+                Ed25519.TYPE_ED25519, null));
+
+            /* Wrong length signature fails verification */
+            assertFalse(key.verify_msg(buf, 4, msg.length,
+                Arrays.copyOf(sig, 63), Ed25519.TYPE_ED25519, null));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+        } finally {
+            key.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void signWithInvalidArgsShouldThrow() {
+
+        assumeEnabled();
+
+        Ed25519 key = new Ed25519();
+        Ed25519 shortKey = new Ed25519();
+        byte[] msg = new byte[16];
+
+        synchronized (rngLock) {
+            key.makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+        }
+
+        try {
+            try {
+                key.sign_msg(msg, 8, 9, Ed25519.TYPE_ED25519, null);
+                fail("sign_msg() should fail with out of range length");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                key.sign_msg(msg, -1, 4, Ed25519.TYPE_ED25519, null);
+                fail("sign_msg() should fail with negative offset");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                key.sign_msg(msg, 0, msg.length, 3, null);
+                fail("sign_msg() should fail with invalid type");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                key.sign_msg(msg, 0, msg.length, Ed25519.TYPE_ED25519_CTX,
+                    new byte[Ed25519.ED25519_MAX_CTX_LEN + 1]);
+                fail("sign_msg() should fail with context over 255 bytes");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                shortKey.importPrivateDerivePublic(new byte[31]);
+                fail("importPrivateDerivePublic() should fail with " +
+                     "31 byte key");
+            } catch (WolfCryptException e) {
+                /* expected */
+            }
+        } finally {
+            key.releaseNativeStruct();
+            shortKey.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void verifyBatchShouldMatchSingleVerify() {
+
+        assumeEnabled();
+
+        Ed25519 key1 = new Ed25519();
+        Ed25519 key2 = new Ed25519();
+        int count = 12;
+        Ed25519[] keys = new Ed25519[count];
+        byte[][] msgs = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+
+        synchronized (rngLock) {
+            key1.makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+            key2.makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+        }
+
+        try {
+            for (int i = 0; i < count; i++) {
+                keys[i] = (i % 2 == 0) ? key1 : key2;
+                msgs[i] = ("Everyone gets Friday off. " + i).getBytes();
+                sigs[i] = keys[i].sign_msg(msgs[i]);
+            }
+
+            /* Corrupt one signature */
+            sigs[3] = sigs[3].clone();
+            sigs[3][0] ^= 0x01;
+
+            BitSet res = Ed25519.verifyBatch(keys, msgs, sigs, pool, 3);
+
+            for (int i = 0; i < count; i++) {
+                assertEquals("item " + i, i != 3, res.get(i));
+            }
+            assertEquals(res, Ed25519.verifyBatch(keys, msgs, sigs));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+        } finally {
+            pool.shutdown();
+            key1.releaseNativeStruct();
+            key2.releaseNativeStruct();
+        }
+    }
+
+    @Test
+    public void verifyBatchWithDistinctKeys() {
+
+        assumeEnabled();
+
+        /* More distinct keys than one native call takes, every item
+         * using its own key */
+        int count = 70;
+        Ed25519[] created = new Ed25519[count];
+        Ed25519[] keys = new Ed25519[count];
+        byte[][] msgs = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                created[i] = new Ed25519();
+                synchronized (rngLock) {
+                    created[i].makeKey(rng, Ed25519.ED25519_KEY_SIZE);
+                }
+                keys[i] = created[i];
+                msgs[i] = ("Everyone gets Friday off. key " + i).getBytes();
+                sigs[i] = keys[i].sign_msg(msgs[i]);
+            }
+
+            /* Verify one signature with the wrong key */
+            keys[40] = keys[41];
+
+            BitSet res = Ed25519.verifyBatch(keys, msgs, sigs, pool, 3);
+
+            for (int i = 0; i < count; i++) {
+                assertEquals("item " + i, i != 40, res.get(i));
+            }
+            assertEquals(res, Ed25519.verifyBatch(keys, msgs, sigs, null, 1));
+
+        } catch (WolfCryptException e) {
+            skipIfNotCompiledIn(e);
+        } finally {
+            pool.shutdown();
+            for (Ed25519 k : created) {
+                if (k != null) {
+                    k.releaseNativeStruct();
+                }
+            }
+        }
+    }
 }
 
@@ -0,0 +1,173 @@
+/* FileDigestTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.wolfcrypt.FileDigest;
+import com.wolfssl.wolfcrypt.Hmac;
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfCryptError;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+
+public class FileDigestTest {
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void checkSha256IsAvailable() {
+        try {
+            Sha256 sha = new Sha256();
+            assertNotNull(sha);
+            System.out.println("JNI FileDigest Class");
+        } catch (WolfCryptException e) {
+            if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                System.out.println("FileDigestTest skipped: " + e.getError());
+                Assume.assumeTrue(false);
+            }
+        }
+    }
+
+    private static File writeTempFile(byte[] data) throws Exception {
+        File f = File.createTempFile("wolfcrypt-filedigest", ".bin");
+        try (FileOutputStream out = new FileOutputStream(f)) {
+            out.write(data);
+        }
+        return f;
+    }
+
+    @Test
+    public void fileDigestShouldMatchArrayDigest() throws Exception {
+
+        int[] sizes = new int[] { 0, 1, 4096, 100001 };
+        Random rand = new Random(2024);
+
+        for (int sz : sizes) {
+            byte[] data = new byte[sz];
+            rand.nextBytes(data);
+            File f = writeTempFile(data);
+
+            try {
+                Sha256 expected = new Sha256();
+                expected.update(data);
+                byte[] exp = expected.digest();
+                expected.releaseNativeStruct();
+
+                Sha256 sha = new Sha256();
+                assertArrayEquals("size " + sz, exp,
+                    FileDigest.digest(sha, f.toPath()));
+
+                /* Small windows, region split across calls */
+                try (FileChannel ch = FileChannel.open(f.toPath(),
+                        StandardOpenOption.READ)) {
+                    int half = sz / 2;
+                    FileDigest.update(sha, ch, 0, half, 1000);
+                    FileDigest.update(sha, ch, half, sz - half, 333);
+                }
+                assertArrayEquals("size " + sz, exp, sha.digest());
+                sha.releaseNativeStruct();
+
+            } finally {
+                f.delete();
+            }
+        }
+    }
+
+    @Test
+    public void fileHmacShouldMatchArrayHmac() throws Exception {
+
+        byte[] key = new byte[32];
+        byte[] data = new byte[70000];
+        Random rand = new Random(77);
+        rand.nextBytes(key);
+        rand.nextBytes(data);
+        File f = writeTempFile(data);
+
+        try {
+            Hmac expected = new Hmac();
+            expected.setKey(Hmac.SHA256, key);
+            byte[] exp = expected.doFinal(data);
+            expected.releaseNativeStruct();
+
+            Hmac hmac = new Hmac();
+            hmac.setKey(Hmac.SHA256, key);
+            assertArrayEquals(exp, FileDigest.hmac(hmac, f.toPath()));
+
+            /* Same key reused after doFinal() */
+            try (FileChannel ch = FileChannel.open(f.toPath(),
+                    StandardOpenOption.READ)) {
+                FileDigest.update(hmac, ch, 0, data.length, 4096);
+            }
+            assertArrayEquals(exp, hmac.doFinal());
+            hmac.releaseNativeStruct();
+
+        } finally {
+            f.delete();
+        }
+    }
+
+    @Test
+    public void invalidArgumentsShouldThrow() throws Exception {
+
+        File f = writeTempFile(new byte[16]);
+        Sha256 sha = new Sha256();
+
+        try (FileChannel ch = FileChannel.open(f.toPath(),
+                StandardOpenOption.READ)) {
+            try {
+                FileDigest.update(sha, ch, -1, 8, 1024);
+                fail("update() should reject negative position");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                FileDigest.update(sha, ch, 0, 8, 0);
+                fail("update() should reject zero window size");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+            try {
+                FileDigest.update((Sha256)null, ch, 0, 8, 1024);
+                fail("update() should reject null MessageDigest");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+        } finally {
+            sha.releaseNativeStruct();
+            f.delete();
+        }
+    }
+}
@@ -200,6 +200,59 @@ public class HmacTest {
             keyCopy, key);
     }
 
+    @Test
+    public void threadConfinedHmac() throws InterruptedException {
+
+        /* RFC 4231 test case 2 */
+        byte[] key = "Jefe".getBytes();
+        byte[] data = "what do ya want for nothing?".getBytes();
+        byte[] expected = Util.h2b(
+            "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843");
+        final Hmac hmac = new Hmac(true);
+        final Throwable[] err = new Throwable[1];
+
+        assertTrue(hmac.isThreadConfined());
+        assertFalse(new Hmac().isThreadConfined());
+
+        try {
+            hmac.setKey(Hmac.SHA256, key);
+        } catch (WolfCryptException e) {
+            if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                return;
+            }
+            throw e;
+        }
+
+        hmac.update(data, 0, 4);
+        hmac.update(ByteBuffer.wrap(data, 4, 10));
+        hmac.update(data[14]);
+        assertArrayEquals(expected,
+            hmac.doFinal(Arrays.copyOfRange(data, 15, data.length)));
+
+        /* doFinal() leaves object ready for reuse with same key */
+        hmac.update(data);
+        assertArrayEquals(expected, hmac.doFinal());
+
+        /* use from other thread should throw */
+        Thread t = new Thread(new Runnable() {
+            @Override public void run() {
+                try {
+                    hmac.update(new byte[] { 0x00 });
+                } catch (Throwable e) {
+                    err[0] = e;
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertTrue(err[0] instanceof IllegalStateException);
+
+        /* owner thread can still use object */
+        assertArrayEquals(expected, hmac.doFinal(data));
+
+        hmac.releaseNativeStruct();
+    }
+
     @Test
     public void sha384HmacShouldMatch() {
         String[] keyVector = new String[] {
@@ -92,6 +92,43 @@ public class Md5Test {
         }
     }
 
+    @Test
+    public void digestManyShouldMatchSingleDigest()
+        throws ShortBufferException {
+
+        Random rand = new Random(4321);
+        byte[][] inputs = new byte[9][];
+        ByteBuffer[] bufs = new ByteBuffer[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[(i * 29) % 200];
+            rand.nextBytes(inputs[i]);
+            bufs[i] = ByteBuffer.allocateDirect(inputs[i].length);
+            bufs[i].put(inputs[i]);
+            bufs[i].flip();
+        }
+
+        Md5 md5 = new Md5();
+        int sz = md5.digestSize();
+        byte[] flat = md5.digestMany(inputs);
+        assertEquals(inputs.length * sz, flat.length);
+
+        for (int i = 0; i < inputs.length; i++) {
+            Md5 one = new Md5();
+            one.update(inputs[i]);
+            assertArrayEquals("input " + i, one.digest(),
+                Arrays.copyOfRange(flat, i * sz, (i + 1) * sz));
+            one.releaseNativeStruct();
+        }
+
+        /* Direct buffers are hashed in place */
+        ByteBuffer out = ByteBuffer.allocate(flat.length);
+        md5.digestMany(bufs, out);
+        assertArrayEquals(flat, out.array());
+
+        md5.releaseNativeStruct();
+    }
+
     @Test
     public void hashShouldMatchUsingByteBuffer() throws ShortBufferException {
         String[] dataVector = new String[] {
@@ -24,6 +24,9 @@ package com.wolfssl.wolfcrypt.test;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Assume;
 import org.junit.BeforeClass;
@@ -4417,4 +4420,54 @@ public class MlDsaTest {
                 NIST_MLDSA87_FAIL_MSG, NIST_MLDSA87_FAIL_SIG,
                 NIST_MLDSA87_FAIL_CTX));
     }
+
+    @Test
+    public void verifyBatchWithContextMatchesSingleVerify() {
+        assumeEnabled();
+
+        byte[] ctx = "batch-context".getBytes();
+        MlDsa key44 = makeKey(MlDsa.ML_DSA_44);
+        MlDsa key65 = makeKey(MlDsa.ML_DSA_65);
+        int count = 8;
+        MlDsa[] keys = new MlDsa[count];
+        byte[][] msgs = new byte[count][];
+        byte[][] sigs = new byte[count][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                keys[i] = (i < 5) ? key44 : key65;
+                msgs[i] = ("batch message " + i).getBytes();
+                synchronized (rngLock) {
+                    sigs[i] = keys[i].sign(msgs[i], ctx, rng);
+                }
+            }
+
+            /* Tamper one message */
+            msgs[2] = "tampered".getBytes();
+
+            BitSet res = MlDsa.verifyBatch(keys, msgs, sigs, ctx, pool, 4);
+            for (int i = 0; i < count; i++) {
+                assertEquals("item " + i, i != 2, res.get(i));
+                assertEquals(keys[i].verify(sigs[i], msgs[i], ctx),
+                    res.get(i));
+            }
+
+            /* Signatures made with a context do not verify without it */
+            assertTrue(MlDsa.verifyBatch(keys, msgs, sigs).isEmpty());
+
+            try {
+                MlDsa.verifyBatch(keys, msgs, sigs,
+                    new byte[MlDsa.ML_DSA_MAX_CTX_LEN + 1], null, 1);
+                fail("verifyBatch() should reject oversized context");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+        }
+        finally {
+            pool.shutdown();
+            key44.releaseNativeStruct();
+            key65.releaseNativeStruct();
+        }
+    }
 }
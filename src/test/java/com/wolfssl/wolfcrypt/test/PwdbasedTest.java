@@ -23,6 +23,12 @@ package com.wolfssl.wolfcrypt.test;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -182,4 +188,61 @@ public class PwdbasedTest {
             }
         }
     }
+
+    /**
+     * PBKDF2 called concurrently from multiple threads, each deriving
+     * with its own salt, must produce the same keys as sequential calls.
+     */
+    @Test
+    public void testPbkdf2ConcurrentCallers() throws InterruptedException {
+
+        Assume.assumeTrue("PBKDF2 not compiled in native wolfSSL",
+            FeatureDetect.Pbkdf2Enabled());
+
+        final int numThreads = 16;
+        final byte[] pass = makePassword();
+        final byte[][] salts = new byte[numThreads][];
+        final byte[][] expected = new byte[numThreads][];
+        final byte[][] actual = new byte[numThreads][];
+        final AtomicInteger failures = new AtomicInteger(0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(numThreads);
+        ExecutorService service = Executors.newFixedThreadPool(numThreads);
+
+        /* Derive expected keys sequentially */
+        for (int i = 0; i < numThreads; i++) {
+            salts[i] = new byte[16];
+            Arrays.fill(salts[i], (byte)i);
+            expected[i] = Pwdbased.PBKDF2(pass, salts[i], 2048, 32,
+                WolfCrypt.WC_HASH_TYPE_SHA256);
+        }
+
+        for (int i = 0; i < numThreads; i++) {
+            final int idx = i;
+            service.submit(new Runnable() {
+                @Override public void run() {
+                    try {
+                        start.await();
+                        actual[idx] = Pwdbased.PBKDF2(pass, salts[idx],
+                            2048, 32, WolfCrypt.WC_HASH_TYPE_SHA256);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        /* Release all threads at once to maximize overlap */
+        start.countDown();
+        done.await();
+        service.shutdown();
+
+        assertEquals("PBKDF2 threw in concurrent caller", 0, failures.get());
+        for (int i = 0; i < numThreads; i++) {
+            assertArrayEquals("concurrent PBKDF2 key mismatch, thread " + i,
+                expected[i], actual[i]);
+        }
+    }
 }
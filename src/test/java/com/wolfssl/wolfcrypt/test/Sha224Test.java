@@ -102,6 +102,43 @@ public class Sha224Test {
         }
     }
 
+    @Test
+    public void digestManyShouldMatchSingleDigest()
+        throws ShortBufferException {
+
+        Random rand = new Random(4321);
+        byte[][] inputs = new byte[9][];
+        ByteBuffer[] bufs = new ByteBuffer[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[(i * 29) % 200];
+            rand.nextBytes(inputs[i]);
+            bufs[i] = ByteBuffer.allocateDirect(inputs[i].length);
+            bufs[i].put(inputs[i]);
+            bufs[i].flip();
+        }
+
+        Sha224 sha224 = new Sha224();
+        int sz = sha224.digestSize();
+        byte[] flat = sha224.digestMany(inputs);
+        assertEquals(inputs.length * sz, flat.length);
+
+        for (int i = 0; i < inputs.length; i++) {
+            Sha224 one = new Sha224();
+            one.update(inputs[i]);
+            assertArrayEquals("input " + i, one.digest(),
+                Arrays.copyOfRange(flat, i * sz, (i + 1) * sz));
+            one.releaseNativeStruct();
+        }
+
+        /* Direct buffers are hashed in place */
+        ByteBuffer out = ByteBuffer.allocate(flat.length);
+        sha224.digestMany(bufs, out);
+        assertArrayEquals(flat, out.array());
+
+        sha224.releaseNativeStruct();
+    }
+
     @Test
     public void hashShouldMatchUsingByteBuffer() throws ShortBufferException {
 
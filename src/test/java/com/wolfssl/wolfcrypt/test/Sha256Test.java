@@ -75,6 +75,58 @@ public class Sha256Test {
         assertEquals(NativeStruct.NULL, new Sha256().getNativeStruct());
     }
 
+    @Test
+    public void closeShouldReleaseNativeStruct() {
+
+        Sha256 closed = null;
+        byte[] data = new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04 };
+        byte[] expected = Util.h2b("08BB5E5D6EAAC1049EDE0893D30ED022" +
+                                   "B1A4D9B5B48DB414871F51C9CB35283D");
+
+        try (Sha256 sha = new Sha256()) {
+            sha.update(data);
+            assertArrayEquals(expected, sha.digest());
+            assertNotEquals(NativeStruct.NULL, sha.getNativeStruct());
+            closed = sha;
+        }
+        assertEquals(NativeStruct.NULL, closed.getNativeStruct());
+
+        /* second close has no effect */
+        closed.close();
+        assertEquals(NativeStruct.NULL, closed.getNativeStruct());
+
+        /* object can be used again after close, same as after release */
+        closed.update(data);
+        assertArrayEquals(expected, closed.digest());
+        closed.close();
+    }
+
+    @Test
+    public void releasedNativeStructShouldBeReused() {
+
+        long allocs = NativeStruct.getNativeAllocCount();
+        long reuses = NativeStruct.getNativeReuseCount();
+
+        /* counters are 0 if native struct pool is not compiled in */
+        Assume.assumeTrue(allocs + reuses > 0);
+
+        Sha256 sha = new Sha256();
+        sha.init();
+        sha.releaseNativeStruct();
+
+        /* native struct of first object is zeroized and parked in pool,
+         * second object may get it back unless another thread took it */
+        sha = new Sha256();
+        sha.init();
+        assertNotEquals(NativeStruct.NULL, sha.getNativeStruct());
+        sha.releaseNativeStruct();
+
+        assertTrue(NativeStruct.getNativeAllocCount() >= allocs);
+        assertTrue(NativeStruct.getNativeReuseCount() >= reuses);
+        assertTrue(NativeStruct.getNativeReuseCount() +
+            NativeStruct.getNativeAllocCount() >= reuses + allocs + 2);
+    }
+
     @Test
     public void updateWithWrappedOffsetAndLenShouldThrow() {
         Sha256 sha = new Sha256();
@@ -222,6 +274,95 @@ public class Sha256Test {
         shaCopy.releaseNativeStruct();
     }
 
+    @Test
+    public void threadConfinedObject() throws InterruptedException {
+
+        final Sha256 sha = new Sha256(true);
+        Sha256 shaCopy = null;
+        byte[] data  = new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04 };
+        byte[] expected = Util.h2b("08BB5E5D6EAAC1049EDE0893D30ED022" +
+                                   "B1A4D9B5B48DB414871F51C9CB35283D");
+        final Throwable[] err = new Throwable[1];
+
+        assertTrue(sha.isThreadConfined());
+        assertFalse(new Sha256().isThreadConfined());
+
+        /* same result as default object, including after reuse */
+        for (int i = 0; i < 2; i++) {
+            sha.update(data);
+            assertArrayEquals(expected, sha.digest());
+        }
+
+        /* copy stays confined */
+        sha.update(data);
+        shaCopy = (Sha256)sha.clone();
+        assertTrue(shaCopy.isThreadConfined());
+        assertArrayEquals(expected, shaCopy.digest());
+        assertArrayEquals(expected, sha.digest());
+
+        /* use from other thread should throw */
+        Thread t = new Thread(new Runnable() {
+            @Override public void run() {
+                try {
+                    sha.update(new byte[] { 0x00 });
+                } catch (Throwable e) {
+                    err[0] = e;
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertTrue(err[0] instanceof IllegalStateException);
+
+        /* owner thread can still use object */
+        sha.update(data);
+        assertArrayEquals(expected, sha.digest());
+
+        sha.releaseNativeStruct();
+        shaCopy.releaseNativeStruct();
+    }
+
+    @Test
+    public void threadConfinedCloseFromOtherThreadShouldThrow()
+        throws InterruptedException {
+
+        final Sha256 sha = new Sha256(true);
+        byte[] data  = new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04 };
+        byte[] expected = Util.h2b("08BB5E5D6EAAC1049EDE0893D30ED022" +
+                                   "B1A4D9B5B48DB414871F51C9CB35283D");
+        final Throwable[] err = new Throwable[2];
+
+        sha.update(data);
+        assertNotEquals(NativeStruct.NULL, sha.getNativeStruct());
+
+        /* close() and releaseNativeStruct() from other thread throw */
+        Thread t = new Thread(new Runnable() {
+            @Override public void run() {
+                try {
+                    sha.close();
+                } catch (Throwable e) {
+                    err[0] = e;
+                }
+                try {
+                    sha.releaseNativeStruct();
+                } catch (Throwable e) {
+                    err[1] = e;
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertTrue(err[0] instanceof IllegalStateException);
+        assertTrue(err[1] instanceof IllegalStateException);
+
+        /* native struct and digest state left intact for owner */
+        assertNotEquals(NativeStruct.NULL, sha.getNativeStruct());
+        assertArrayEquals(expected, sha.digest());
+
+        sha.close();
+        assertEquals(NativeStruct.NULL, sha.getNativeStruct());
+    }
+
     @Test
     public void threadedHashTest() throws InterruptedException {
 
@@ -310,5 +451,87 @@ public class Sha256Test {
         /* Test with offset equal to array size */
         sha.update(data, 10, 1);
     }
+
+    @Test
+    public void digestManyShouldMatchSingleDigest()
+        throws ShortBufferException {
+
+        Random rand = new Random(1234);
+        byte[][] inputs = new byte[37][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[(i * 13) % 300];
+            rand.nextBytes(inputs[i]);
+        }
+
+        try {
+            Sha256 sha = new Sha256();
+            int sz = sha.digestSize();
+
+            /* Digest in progress must not be affected */
+            sha.update(inputs[3]);
+
+            byte[] flat = sha.digestMany(inputs);
+            byte[] flatParallel = sha.digestMany(inputs, pool, 4);
+            assertEquals(inputs.length * sz, flat.length);
+            assertArrayEquals(flat, flatParallel);
+
+            for (int i = 0; i < inputs.length; i++) {
+                Sha256 one = new Sha256();
+                one.update(inputs[i]);
+                assertArrayEquals("input " + i, one.digest(),
+                    Arrays.copyOfRange(flat, i * sz, (i + 1) * sz));
+                one.releaseNativeStruct();
+            }
+
+            assertArrayEquals(Arrays.copyOfRange(flat, 3 * sz, 4 * sz),
+                sha.digest());
+
+            /* ByteBuffer inputs, heap and direct, into direct output */
+            ByteBuffer[] bufs = new ByteBuffer[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                if (i % 2 == 0) {
+                    bufs[i] = ByteBuffer.wrap(inputs[i]);
+                }
+                else {
+                    /* direct buffer hashed in place from its position */
+                    bufs[i] = ByteBuffer.allocateDirect(inputs[i].length + 3);
+                    bufs[i].put(new byte[] { 1, 2, 3 });
+                    bufs[i].put(inputs[i]);
+                    bufs[i].flip();
+                    bufs[i].position(3);
+                }
+            }
+            ByteBuffer out = ByteBuffer.allocateDirect(flat.length + 1);
+            out.put((byte)0);
+            sha.digestMany(bufs, out);
+            assertEquals(flat.length + 1, out.position());
+            for (ByteBuffer b : bufs) {
+                assertEquals(0, b.remaining());
+            }
+            byte[] outArr = new byte[flat.length];
+            out.position(1);
+            out.get(outArr);
+            assertArrayEquals(flat, outArr);
+
+            /* Output offset and bounds */
+            byte[] offsetOut = new byte[flat.length + 5];
+            sha.digestMany(inputs, offsetOut, 5, null, 1);
+            assertArrayEquals(flat,
+                Arrays.copyOfRange(offsetOut, 5, offsetOut.length));
+            try {
+                sha.digestMany(inputs, new byte[flat.length - 1], 0, null, 1);
+                fail("digestMany() should throw with short output array");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+
+            assertEquals(0, sha.digestMany(new byte[0][]).length);
+
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
 
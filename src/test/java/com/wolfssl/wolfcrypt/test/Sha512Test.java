@@ -290,4 +290,83 @@ public class Sha512Test {
             }
         }
     }
+
+    @Test
+    public void digestManyShouldMatchSingleDigest()
+        throws ShortBufferException {
+
+        Random rand = new Random(1234);
+        byte[][] inputs = new byte[37][];
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[(i * 13) % 300];
+            rand.nextBytes(inputs[i]);
+        }
+
+        try {
+            Sha512 sha = new Sha512();
+            int sz = sha.digestSize();
+
+            /* Digest in progress must not be affected */
+            sha.update(inputs[3]);
+
+            byte[] flat = sha.digestMany(inputs);
+            byte[] flatParallel = sha.digestMany(inputs, pool, 4);
+            assertEquals(inputs.length * sz, flat.length);
+            assertArrayEquals(flat, flatParallel);
+
+            for (int i = 0; i < inputs.length; i++) {
+                Sha512 one = new Sha512();
+                one.update(inputs[i]);
+                assertArrayEquals("input " + i, one.digest(),
+                    Arrays.copyOfRange(flat, i * sz, (i + 1) * sz));
+                one.releaseNativeStruct();
+            }
+
+            assertArrayEquals(Arrays.copyOfRange(flat, 3 * sz, 4 * sz),
+                sha.digest());
+
+            /* ByteBuffer inputs, heap and direct, into direct output */
+            ByteBuffer[] bufs = new ByteBuffer[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                if (i % 2 == 0) {
+                    bufs[i] = ByteBuffer.wrap(inputs[i]);
+                }
+                else {
+                    bufs[i] = ByteBuffer.allocateDirect(inputs[i].length);
+                    bufs[i].put(inputs[i]);
+                    bufs[i].flip();
+                }
+            }
+            ByteBuffer out = ByteBuffer.allocateDirect(flat.length + 1);
+            out.put((byte)0);
+            sha.digestMany(bufs, out);
+            assertEquals(flat.length + 1, out.position());
+            for (ByteBuffer b : bufs) {
+                assertEquals(0, b.remaining());
+            }
+            byte[] outArr = new byte[flat.length];
+            out.position(1);
+            out.get(outArr);
+            assertArrayEquals(flat, outArr);
+
+            /* Output offset and bounds */
+            byte[] offsetOut = new byte[flat.length + 5];
+            sha.digestMany(inputs, offsetOut, 5, null, 1);
+            assertArrayEquals(flat,
+                Arrays.copyOfRange(offsetOut, 5, offsetOut.length));
+            try {
+                sha.digestMany(inputs, new byte[flat.length - 1], 0, null, 1);
+                fail("digestMany() should throw with short output array");
+            } catch (IllegalArgumentException e) {
+                /* expected */
+            }
+
+            assertEquals(0, sha.digestMany(new byte[0][]).length);
+
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,221 @@
+/* TreeHashTest.java
+ *
+ * Copyright (C) 2006-2026 wolfSSL Inc.
+ *
+ * This file is part of wolfSSL.
+ *
+ * wolfSSL is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * wolfSSL is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1335, USA
+ */
+
+package com.wolfssl.wolfcrypt.test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.rules.TestRule;
+
+import com.wolfssl.wolfcrypt.Sha256;
+import com.wolfssl.wolfcrypt.TreeHash;
+import com.wolfssl.wolfcrypt.WolfCryptException;
+import com.wolfssl.wolfcrypt.WolfCryptError;
+import com.wolfssl.wolfcrypt.test.TimedTestWatcher;
+
+public class TreeHashTest {
+
+    @Rule(order = Integer.MIN_VALUE)
+    public TestRule testWatcher = TimedTestWatcher.create();
+
+    @BeforeClass
+    public static void checkSha256IsAvailable() {
+        try {
+            Sha256 sha = new Sha256();
+            assertNotNull(sha);
+            System.out.println("JNI TreeHash Class");
+        } catch (WolfCryptException e) {
+            if (e.getError() == WolfCryptError.NOT_COMPILED_IN) {
+                System.out.println("TreeHashTest skipped: " + e.getError());
+                Assume.assumeTrue(false);
+            }
+        }
+    }
+
+    private static byte[] sha256(byte[] in, int off, int len) {
+        Sha256 sha = new Sha256();
+        sha.update(in, off, len);
+        byte[] out = sha.digest();
+        sha.releaseNativeStruct();
+        return out;
+    }
+
+    /* Reference tree hash following the documented TreeHash format */
+    private static byte[] referenceTreeHash(byte[] in, int chunkSize) {
+
+        List<byte[]> level = new ArrayList<byte[]>();
+
+        for (int off = 0; off < in.length || level.isEmpty();
+             off += chunkSize) {
+            level.add(sha256(in, off, Math.min(chunkSize, in.length - off)));
+        }
+
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<byte[]>();
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                byte[] node = ByteBuffer.allocate(65).put((byte)0x01)
+                    .put(level.get(i)).put(level.get(i + 1)).array();
+                next.add(sha256(node, 0, node.length));
+            }
+            if (level.size() % 2 != 0) {
+                next.add(level.get(level.size() - 1));
+            }
+            level = next;
+        }
+
+        byte[] root = ByteBuffer.allocate(1 + 8 + 4 + 32).put((byte)0x02)
+            .putLong(in.length).putInt(chunkSize).put(level.get(0)).array();
+        return sha256(root, 0, root.length);
+    }
+
+    @Test
+    public void treeHashShouldMatchReference() {
+
+        Random rand = new Random(4321);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        int[] sizes = new int[] { 0, 1, 63, 64, 65, 128, 640, 1000, 4097 };
+
+        try {
+            for (int sz : sizes) {
+                byte[] in = new byte[sz];
+                rand.nextBytes(in);
+                byte[] expected = referenceTreeHash(in, 64);
+
+                /* One update, serial and parallel */
+                TreeHash serial = new TreeHash("SHA-256", 64, null, 1);
+                serial.update(in);
+                assertArrayEquals("size " + sz, expected, serial.digest());
+
+                TreeHash th = new TreeHash("SHA-256", 64, pool, 4);
+                assertEquals(Sha256.DIGEST_SIZE, th.digestSize());
+                th.update(in);
+                assertArrayEquals("size " + sz, expected, th.digest());
+
+                /* Odd sized updates, object reset after digest() */
+                for (int off = 0; off < sz; off += 37) {
+                    th.update(in, off, Math.min(37, sz - off));
+                }
+                assertArrayEquals("size " + sz, expected, th.digest());
+
+                /* Direct ByteBuffer, split off chunk boundary */
+                ByteBuffer direct = ByteBuffer.allocateDirect(sz);
+                direct.put(in).flip();
+                int split = Math.min(sz, 10);
+                th.update(new byte[0]);
+                th.update(in, 0, split);
+                direct.position(split);
+                th.update(direct);
+                assertEquals(sz, direct.position());
+                assertArrayEquals("size " + sz, expected, th.digest());
+
+                serial.releaseNativeStruct();
+                th.releaseNativeStruct();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void treeHashShouldDependOnChunkSize() {
+
+        byte[] in = new byte[1000];
+        new Random(1).nextBytes(in);
+
+        TreeHash a = new TreeHash("SHA-256", 64, null, 1);
+        TreeHash b = new TreeHash("SHA-256", 128, null, 1);
+        a.update(in);
+        b.update(in);
+
+        byte[] outA = a.digest();
+        assertFalse(java.util.Arrays.equals(outA, b.digest()));
+        assertFalse(java.util.Arrays.equals(outA, sha256(in, 0, in.length)));
+
+        a.releaseNativeStruct();
+        b.releaseNativeStruct();
+    }
+
+    @Test
+    public void digestFileShouldMatchReference() throws Exception {
+
+        byte[] in = new byte[70000];
+        new Random(99).nextBytes(in);
+        File f = File.createTempFile("wolfcrypt-treehash", ".bin");
+
+        try {
+            try (FileOutputStream out = new FileOutputStream(f)) {
+                out.write(in);
+            }
+
+            assertArrayEquals(referenceTreeHash(in, 4096),
+                TreeHash.digestFile(f.toPath(), "SHA-256", 4096, null));
+
+            TreeHash th = new TreeHash("SHA-256");
+            th.update(in);
+            assertArrayEquals(th.digest(),
+                TreeHash.digestFile(f.toPath(), "SHA-256"));
+            th.releaseNativeStruct();
+
+        } finally {
+            f.delete();
+        }
+    }
+
+    @Test
+    public void invalidArgumentsShouldThrow() {
+
+        try {
+            new TreeHash("MD5");
+            fail("TreeHash should reject unsupported algorithm");
+        } catch (WolfCryptException e) {
+            /* expected */
+        }
+
+        try {
+            new TreeHash("SHA-256", 0, null, 1);
+            fail("TreeHash should reject zero chunk size");
+        } catch (IllegalArgumentException e) {
+            /* expected */
+        }
+
+        TreeHash th = new TreeHash("SHA-256", 64, null, 1);
+        try {
+            th.update(new byte[8], 4, 8);
+            fail("update() should reject invalid length");
+        } catch (IllegalArgumentException e) {
+            /* expected */
+        }
+        th.releaseNativeStruct();
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.rules.TestRule;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyPairGenerator;
@@ -42,6 +43,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.wolfssl.wolfcrypt.WolfCrypt;
+import com.wolfssl.wolfcrypt.WolfCryptCleaner;
 import com.wolfssl.wolfcrypt.WolfCryptError;
 import com.wolfssl.wolfcrypt.WolfCryptException;
 
@@ -111,6 +113,47 @@ public class WolfCryptTest {
         System.out.println("Base16 enabled: " + enabled);
     }
 
+    @Test
+    public void testDirectBuffersOverlap() {
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(64);
+        ByteBuffer other = ByteBuffer.allocateDirect(64);
+        ByteBuffer a = buf.duplicate();
+        ByteBuffer b = buf.duplicate();
+
+        /* same buffer and position */
+        assertTrue(WolfCrypt.directBuffersOverlap(a, b));
+        assertTrue(WolfCrypt.directBuffersInPlace(a, b));
+
+        /* slice() view at same address as duplicate() position */
+        a.position(8);
+        b.position(8);
+        ByteBuffer slice = b.slice();
+        assertTrue(WolfCrypt.directBuffersInPlace(a, slice));
+
+        /* partial overlap, both directions */
+        b.position(12);
+        assertTrue(WolfCrypt.directBuffersOverlap(a, b));
+        assertFalse(WolfCrypt.directBuffersInPlace(a, b));
+        assertTrue(WolfCrypt.directBuffersOverlap(b, a));
+
+        /* adjacent regions do not overlap */
+        a.position(0);
+        a.limit(16);
+        b.position(16);
+        b.limit(32);
+        assertFalse(WolfCrypt.directBuffersOverlap(a, b));
+        assertFalse(WolfCrypt.directBuffersInPlace(a, b));
+
+        /* different buffers, heap buffers and empty buffers */
+        assertFalse(WolfCrypt.directBuffersOverlap(buf, other));
+        assertFalse(WolfCrypt.directBuffersOverlap(buf,
+            ByteBuffer.allocate(64)));
+        a.position(a.limit());
+        assertFalse(WolfCrypt.directBuffersOverlap(a, buf));
+        assertFalse(WolfCrypt.directBuffersOverlap(null, buf));
+    }
+
     @Test
     public void testToHexStringBasic() throws Exception {
 
@@ -1324,5 +1367,50 @@ public class WolfCryptTest {
             /* Expected */
         }
     }
+
+    @Test
+    public void testCleanerCleanRunsTaskOnce() {
+
+        final AtomicInteger runs = new AtomicInteger(0);
+        Object obj = new Object();
+
+        WolfCryptCleaner.Cleanable c = WolfCryptCleaner.register(obj,
+            new Runnable() {
+                @Override public void run() {
+                    runs.incrementAndGet();
+                }
+            });
+
+        c.clean();
+        c.clean();
+        assertEquals(1, runs.get());
+        assertNotNull(obj);
+    }
+
+    @Test
+    public void testCleanerRunsTaskForUnreachableObject()
+        throws InterruptedException {
+
+        final CountDownLatch ran = new CountDownLatch(1);
+
+        WolfCryptCleaner.register(new Object(), new Runnable() {
+            @Override public void run() {
+                ran.countDown();
+            }
+        });
+
+        /* GC is not guaranteed to run on request, retry for a while */
+        for (int i = 0; i < 50 && ran.getCount() > 0; i++) {
+            System.gc();
+            ran.await(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("Cleanup task should run once object is unreachable",
+            0, ran.getCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testCleanerRejectsNullTask() {
+        WolfCryptCleaner.register(new Object(), null);
+    }
 }
 
@@ -39,6 +39,7 @@ import org.junit.runners.Suite.SuiteClasses;
     AsnTest.class,
     Des3Test.class,
     ChachaTest.class,
+    ChaCha20Poly1305Test.class,
     Md5Test.class,
     ShaTest.class,
     Sha224Test.class,
@@ -46,6 +47,8 @@ import org.junit.runners.Suite.SuiteClasses;
     Sha384Test.class,
     Sha512Test.class,
     Sha3Test.class,
+    TreeHashTest.class,
+    FileDigestTest.class,
     HmacTest.class,
     PwdbasedTest.class,
     RngTest.class,